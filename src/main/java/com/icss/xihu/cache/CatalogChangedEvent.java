@@ -0,0 +1,44 @@
+// 定义包路径，标识该类属于com.icss.xihu.cache包
+package com.icss.xihu.cache;
+
+/**
+ * 目录数据变更事件
+ * 功能概述：酒店评分更新、餐厅目录重建、地址层级树重新加载等写操作完成后由ApplicationEventPublisher发布，
+ * 监听方（如JsonResponseCache）按领域清理由这些数据生成的缓存
+ */
+// 目录数据变更事件类
+public class CatalogChangedEvent {
+
+    // 酒店领域
+    public static final String HOTELS = "hotels";
+    // 餐厅领域
+    public static final String RESTAURANTS = "restaurants";
+    // 地址领域
+    public static final String ADDRESS = "address";
+
+    // 发生变更的领域
+    private final String domain;
+
+    /**
+     * 构造方法
+     * @param {String} domain - 发生变更的领域，取值为本类中的常量
+     */
+    // 构造方法
+    public CatalogChangedEvent(String domain) {
+        // 保存领域
+        this.domain = domain;
+    }
+
+    // 获取发生变更的领域
+    public String getDomain() {
+        // 返回domain字段的值
+        return domain;
+    }
+
+    // 重写toString方法，便于日志输出
+    @Override
+    public String toString() {
+        // 返回事件描述
+        return "CatalogChangedEvent{domain=" + domain + "}";
+    }
+}
@@ -0,0 +1,113 @@
+// 定义包路径，标识该类属于com.icss.xihu.cache包
+package com.icss.xihu.cache;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+// 导入CopyOnWriteArrayList类
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 内嵌共享二级缓存
+ * 功能概述：SharedCacheStore的进程内实现，没有配置外部共享缓存时使用，也可在测试中让多个缓存管理器共用一个实例，
+ * 模拟多个节点共享同一个二级缓存；值按引用保存，过期条目在读取时移除
+ */
+// 内嵌共享二级缓存类，实现SharedCacheStore接口
+public class EmbeddedSharedCacheStore implements SharedCacheStore {
+
+    // 各缓存的条目
+    private final Map<String, Map<Object, Entry>> caches = new ConcurrentHashMap<>();
+    // 失效通知监听器
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    // 重写接口中的get方法
+    @Override
+    // 读取缓存值
+    public Object get(String cacheName, Object key) {
+        // 缓存条目
+        Map<Object, Entry> entries = caches.get(cacheName);
+        // 查找条目
+        Entry entry = entries == null ? null : entries.get(key);
+        // 不存在时返回null
+        if (entry == null) {
+            // 返回null
+            return null;
+        }
+        // 已过期时移除
+        if (entry.expireAt <= System.currentTimeMillis()) {
+            // 移除条目（只移除这一个过期条目）
+            entries.remove(key, entry);
+            // 返回null
+            return null;
+        }
+        // 返回缓存值
+        return entry.value;
+    }
+
+    // 重写接口中的put方法
+    @Override
+    // 写入缓存值
+    public void put(String cacheName, Object key, Object value, long ttlMs) {
+        // 写入条目
+        caches.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>())
+                .put(key, new Entry(value, System.currentTimeMillis() + ttlMs));
+    }
+
+    // 重写接口中的evict方法
+    @Override
+    // 移除缓存值并通知所有节点
+    public void evict(String cacheName, Object key) {
+        // 缓存条目
+        Map<Object, Entry> entries = caches.get(cacheName);
+        // 存在时移除
+        if (entries != null) {
+            // 移除条目
+            entries.remove(key);
+        }
+        // 通知监听器
+        for (InvalidationListener listener : listeners) {
+            // 回调
+            listener.onInvalidate(cacheName, key);
+        }
+    }
+
+    // 重写接口中的clear方法
+    @Override
+    // 清空缓存并通知所有节点
+    public void clear(String cacheName) {
+        // 移除整个缓存
+        caches.remove(cacheName);
+        // 通知监听器
+        for (InvalidationListener listener : listeners) {
+            // 回调，key为null表示清空
+            listener.onInvalidate(cacheName, null);
+        }
+    }
+
+    // 重写接口中的addInvalidationListener方法
+    @Override
+    // 注册失效通知监听器
+    public void addInvalidationListener(InvalidationListener listener) {
+        // 添加监听器
+        listeners.add(listener);
+    }
+
+    // 缓存条目
+    private static final class Entry {
+        // 缓存值
+        private final Object value;
+        // 过期时间（毫秒时间戳）
+        private final long expireAt;
+
+        // 构造方法
+        private Entry(Object value, long expireAt) {
+            // 保存缓存值
+            this.value = value;
+            // 保存过期时间
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+// 定义包路径，标识该类属于com.icss.xihu.cache包
+package com.icss.xihu.cache;
+
+// 导入Jackson的对象映射器，用于序列化JSON
+import com.fasterxml.jackson.databind.ObjectMapper;
+// 导入预序列化JSON响应实体类
+import com.icss.xihu.model.JsonPayload;
+// 导入请求合并组
+import com.icss.xihu.util.SingleFlightGroup;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的配置值注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的事件监听注解
+import org.springframework.context.event.EventListener;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+// 导入Spring的摘要工具类，用于计算ETag
+import org.springframework.util.DigestUtils;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入TreeMap类
+import java.util.TreeMap;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+// 导入AtomicLong类
+import java.util.concurrent.atomic.AtomicLong;
+// 导入LongAdder类，高并发下的计数器
+import java.util.concurrent.atomic.LongAdder;
+// 导入Supplier函数式接口
+import java.util.function.Supplier;
+
+/**
+ * JSON响应缓存
+ * 功能概述：为读多写少的接口缓存序列化后的JSON字节数组、ETag和Last-Modified，命中时不再组装对象和调用Jackson；
+ * 条目按领域分组，收到CatalogChangedEvent时把该领域的条目标记为过期，下一次请求重新生成；
+ * 另有最长存活时间兜底，覆盖直接修改数据库等不发布事件的变更；
+ * 重新生成的内容与旧内容相同时沿用旧的Last-Modified，客户端的条件请求仍然得到304
+ */
+// 使用Spring的组件注解，由容器创建单例
+@Component
+// JSON响应缓存类
+public class JsonResponseCache {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(JsonResponseCache.class);
+
+    // 自动注入Spring容器中的ObjectMapper，与接口返回的JSON格式保持一致
+    @Autowired
+    // JSON对象映射器
+    private ObjectMapper objectMapper;
+
+    // 条目最长存活时间（秒），兜底不发布事件的数据变更
+    @Value("${json-response-cache.max-age-seconds:300}")
+    // 条目最长存活时间
+    private long maxAgeSeconds;
+
+    // 缓存条目，键为接口标识
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 各领域的失效代数，每次失效加1，用于丢弃失效前开始生成的结果
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    // 合并同一接口并发的重新生成
+    private final SingleFlightGroup builds = new SingleFlightGroup();
+
+    // 命中次数
+    private final LongAdder hits = new LongAdder();
+    // 未命中次数
+    private final LongAdder misses = new LongAdder();
+    // 重新生成次数
+    private final LongAdder rebuilds = new LongAdder();
+    // 失效次数
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * 获取预序列化的JSON响应
+     * 功能概述：条目存在、未过期且未被失效时直接返回，否则调用生成函数、序列化并计算ETag后保存；
+     * 同一接口并发未命中时只生成一次
+     * @param {String} domain - 数据所属领域，取值为CatalogChangedEvent中的常量
+     * @param {String} key - 接口标识
+     * @param {Supplier<?>} builder - 生成响应对象的函数
+     * @return {JsonPayload} 返回预序列化JSON响应
+     */
+    // 获取预序列化JSON响应方法
+    public JsonPayload get(String domain, String key, Supplier<?> builder) {
+        // 查找条目
+        Entry entry = entries.get(key);
+        // 条目有效时直接返回
+        if (entry != null && !entry.stale && System.currentTimeMillis() - entry.builtAt < maxAgeSeconds * 1000L) {
+            // 条目命中次数加1
+            entry.hits.increment();
+            // 命中次数加1
+            hits.increment();
+            // 返回预序列化JSON
+            return entry.payload;
+        }
+        // 未命中次数加1
+        misses.increment();
+        // 使用try-catch把加载异常转换为运行时异常
+        try {
+            // 合并并发的重新生成
+            return (JsonPayload) builds.execute(key, () -> build(domain, key, builder));
+        // 运行时异常原样抛出
+        } catch (RuntimeException e) {
+            // 抛出异常
+            throw e;
+        // 其他异常包装后抛出
+        } catch (Throwable e) {
+            // 抛出运行时异常
+            throw new IllegalStateException("生成JSON响应失败：" + key, e);
+        }
+    }
+
+    /**
+     * 处理目录数据变更事件
+     * @param {CatalogChangedEvent} event - 目录数据变更事件
+     */
+    // 监听目录数据变更事件
+    @EventListener
+    // 处理目录数据变更事件方法
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // 失效该领域的条目
+        int count = invalidate(event.getDomain());
+        // 记录日志
+        logger.debug("收到{}，失效JSON响应缓存 {} 条", event, count);
+    }
+
+    /**
+     * 失效缓存条目
+     * 功能概述：把条目标记为过期而不是删除，重新生成时仍能比较新旧内容决定是否沿用Last-Modified
+     * @param {String} domain - 领域，为空时失效全部
+     * @return {int} 返回失效的条目数量
+     */
+    // 失效缓存条目方法
+    public int invalidate(String domain) {
+        // 是否失效全部
+        boolean all = domain == null || domain.isBlank();
+        // 推进失效代数，使正在生成的结果不再保存
+        for (Map.Entry<String, AtomicLong> generation : generations.entrySet()) {
+            // 领域匹配时推进
+            if (all || generation.getKey().equals(domain)) {
+                // 代数加1
+                generation.getValue().incrementAndGet();
+            }
+        }
+        // 失效数量
+        int count = 0;
+        // 遍历条目
+        for (Entry entry : entries.values()) {
+            // 领域匹配且尚未失效时标记
+            if ((all || entry.domain.equals(domain)) && !entry.stale) {
+                // 标记为过期
+                entry.stale = true;
+                // 数量加1
+                count++;
+            }
+        }
+        // 失效次数加1
+        invalidations.increment();
+        // 返回失效数量
+        return count;
+    }
+
+    /**
+     * 获取统计信息
+     * @return {Map<String, Object>} 返回命中次数、命中率、重新生成次数和各条目的大小、ETag、生成时间
+     */
+    // 获取统计信息方法
+    public Map<String, Object> getStats() {
+        // 命中次数
+        long hit = hits.sum();
+        // 未命中次数
+        long miss = misses.sum();
+        // 创建结果Map
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 命中次数
+        stats.put("hits", hit);
+        // 未命中次数
+        stats.put("misses", miss);
+        // 命中率
+        stats.put("hitRatio", hit + miss == 0 ? 0.0 : Math.round(hit * 10000.0 / (hit + miss)) / 10000.0);
+        // 重新生成次数
+        stats.put("rebuilds", rebuilds.sum());
+        // 失效次数
+        stats.put("invalidations", invalidations.sum());
+        // 条目最长存活时间（秒）
+        stats.put("maxAgeSeconds", maxAgeSeconds);
+        // 各条目信息
+        List<Map<String, Object>> list = new ArrayList<>();
+        // 按接口标识排序遍历
+        for (Map.Entry<String, Entry> item : new TreeMap<>(entries).entrySet()) {
+            // 条目
+            Entry entry = item.getValue();
+            // 条目信息
+            Map<String, Object> info = new LinkedHashMap<>();
+            // 接口标识
+            info.put("key", item.getKey());
+            // 领域
+            info.put("domain", entry.domain);
+            // JSON字节数
+            info.put("bytes", entry.payload.getBody().length);
+            // 实体标签
+            info.put("etag", entry.payload.getEtag());
+            // 内容最近变化时间
+            info.put("lastModified", entry.payload.getLastModified());
+            // 生成时间
+            info.put("builtAt", entry.builtAt);
+            // 是否已失效
+            info.put("stale", entry.stale);
+            // 命中次数
+            info.put("hits", entry.hits.sum());
+            // 加入列表
+            list.add(info);
+        }
+        // 条目列表
+        stats.put("entries", list);
+        // 返回统计信息
+        return stats;
+    }
+
+    // 生成并保存预序列化JSON
+    private JsonPayload build(String domain, String key, Supplier<?> builder) throws Exception {
+        // 领域的失效代数
+        AtomicLong generation = generations.computeIfAbsent(domain, d -> new AtomicLong());
+        // 生成前的代数
+        long before = generation.get();
+        // 生成响应对象并序列化
+        byte[] body = objectMapper.writeValueAsBytes(builder.get());
+        // 以内容摘要作为ETag，内容不变时ETag不变
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        // 当前时间
+        long now = System.currentTimeMillis();
+        // 旧条目
+        Entry previous = entries.get(key);
+        // 内容未变时沿用旧的Last-Modified，否则取当前时间（截到秒，与HTTP日期精度一致）
+        long lastModified = previous != null && previous.payload.getEtag().equals(etag)
+                ? previous.payload.getLastModified() : now / 1000 * 1000;
+        // 创建预序列化JSON
+        JsonPayload payload = new JsonPayload(body, etag, lastModified);
+        // 生成期间没有发生失效时才保存，否则本次结果只返回给当前请求
+        if (generation.get() == before) {
+            // 保存条目
+            entries.put(key, new Entry(domain, payload, now));
+        }
+        // 重新生成次数加1
+        rebuilds.increment();
+        // 返回预序列化JSON
+        return payload;
+    }
+
+    // 缓存条目
+    private static final class Entry {
+        // 领域
+        private final String domain;
+        // 预序列化JSON
+        private final JsonPayload payload;
+        // 生成时间（毫秒时间戳）
+        private final long builtAt;
+        // 是否已被失效
+        private volatile boolean stale;
+        // 命中次数
+        private final LongAdder hits = new LongAdder();
+
+        // 构造方法
+        private Entry(String domain, JsonPayload payload, long builtAt) {
+            // 保存领域
+            this.domain = domain;
+            // 保存预序列化JSON
+            this.payload = payload;
+            // 保存生成时间
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+// 定义包路径，标识该类属于com.icss.xihu.cache包
+package com.icss.xihu.cache;
+
+// 导入Iterator接口
+import java.util.Iterator;
+// 导入LinkedHashMap类，按访问顺序维护条目以实现LRU淘汰
+import java.util.LinkedHashMap;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 进程内一级缓存
+ * 功能概述：按访问顺序维护的LRU缓存，每个条目带过期时间，超过容量时淘汰最久未访问的条目；
+ * 读写在同一把锁内完成，缓存的是少量热点查询结果，锁竞争可以忽略
+ */
+// 进程内一级缓存类
+public class LocalCache {
+
+    // 条目存活时间（毫秒）
+    private final long ttlMs;
+    // 最大条目数
+    private final int maxSize;
+    // 缓存条目，accessOrder为true时get会把条目移到末尾
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 因容量淘汰的条目数
+    private long evictions;
+    // 因过期移除的条目数
+    private long expirations;
+
+    /**
+     * 构造方法
+     * @param {long} ttlMs - 条目存活时间（毫秒）
+     * @param {int} maxSize - 最大条目数
+     */
+    // 构造方法
+    public LocalCache(long ttlMs, int maxSize) {
+        // 保存存活时间
+        this.ttlMs = ttlMs;
+        // 保存最大条目数，至少为1
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * 读取条目
+     * @param {Object} key - 键
+     * @return {Object} 返回缓存值，不存在或已过期时返回null
+     */
+    // 读取条目方法
+    public synchronized Object get(Object key) {
+        // 查找条目
+        Entry entry = entries.get(key);
+        // 不存在时返回null
+        if (entry == null) {
+            // 返回null
+            return null;
+        }
+        // 已过期时移除
+        if (entry.expireAt <= System.currentTimeMillis()) {
+            // 移除条目
+            entries.remove(key);
+            // 过期数加1
+            expirations++;
+            // 返回null
+            return null;
+        }
+        // 返回缓存值
+        return entry.value;
+    }
+
+    /**
+     * 写入条目
+     * 功能概述：写入后超过容量时先清理已过期的条目，仍超过时按LRU淘汰
+     * @param {Object} key - 键
+     * @param {Object} value - 值
+     */
+    // 写入条目方法
+    public synchronized void put(Object key, Object value) {
+        // 写入条目
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMs));
+        // 未超过容量时直接返回
+        if (entries.size() <= maxSize) {
+            // 直接返回
+            return;
+        }
+        // 当前时间
+        long now = System.currentTimeMillis();
+        // 先清理已过期的条目
+        entries.values().removeIf(e -> e.expireAt <= now);
+        // 按访问顺序淘汰最久未访问的条目
+        Iterator<Map.Entry<Object, Entry>> it = entries.entrySet().iterator();
+        // 超过容量时继续淘汰
+        while (entries.size() > maxSize && it.hasNext()) {
+            // 移动到下一个条目
+            it.next();
+            // 淘汰条目
+            it.remove();
+            // 淘汰数加1
+            evictions++;
+        }
+    }
+
+    /**
+     * 移除条目
+     * @param {Object} key - 键
+     */
+    // 移除条目方法
+    public synchronized void evict(Object key) {
+        // 移除条目
+        entries.remove(key);
+    }
+
+    /**
+     * 清空缓存
+     */
+    // 清空缓存方法
+    public synchronized void clear() {
+        // 清空条目
+        entries.clear();
+    }
+
+    // 获取当前条目数（可能包含尚未清理的过期条目）
+    public synchronized int size() {
+        // 返回条目数
+        return entries.size();
+    }
+
+    // 获取因容量淘汰的条目数
+    public synchronized long getEvictions() {
+        // 返回淘汰数
+        return evictions;
+    }
+
+    // 获取因过期移除的条目数
+    public synchronized long getExpirations() {
+        // 返回过期数
+        return expirations;
+    }
+
+    // 获取条目存活时间（毫秒）
+    public long getTtlMs() {
+        // 返回存活时间
+        return ttlMs;
+    }
+
+    // 获取最大条目数
+    public int getMaxSize() {
+        // 返回最大条目数
+        return maxSize;
+    }
+
+    // 缓存条目
+    private static final class Entry {
+        // 缓存值
+        private final Object value;
+        // 过期时间（毫秒时间戳）
+        private final long expireAt;
+
+        // 构造方法
+        private Entry(Object value, long expireAt) {
+            // 保存缓存值
+            this.value = value;
+            // 保存过期时间
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// 定义包路径，标识该接口属于com.icss.xihu.cache包
+package com.icss.xihu.cache;
+
+/**
+ * 共享二级缓存接口
+ * 功能概述：多个应用节点共用的二级缓存扩展点，可以由Redis等外部缓存实现（实现方负责值的序列化），
+ * 测试或单机部署时使用内嵌实现EmbeddedSharedCacheStore；
+ * 移除和清空需要通知所有节点，各节点收到通知后清理自己的一级缓存，使水平扩展的节点保持一致
+ */
+// 共享二级缓存接口
+public interface SharedCacheStore {
+
+    /**
+     * 读取缓存值
+     * @param {String} cacheName - 缓存名称
+     * @param {Object} key - 键
+     * @return {Object} 返回缓存值，不存在或已过期时返回null
+     */
+    // 读取缓存值方法
+    Object get(String cacheName, Object key);
+
+    /**
+     * 写入缓存值
+     * @param {String} cacheName - 缓存名称
+     * @param {Object} key - 键
+     * @param {Object} value - 值
+     * @param {long} ttlMs - 存活时间（毫秒）
+     */
+    // 写入缓存值方法
+    void put(String cacheName, Object key, Object value, long ttlMs);
+
+    /**
+     * 移除缓存值并通知所有节点
+     * @param {String} cacheName - 缓存名称
+     * @param {Object} key - 键
+     */
+    // 移除缓存值方法
+    void evict(String cacheName, Object key);
+
+    /**
+     * 清空缓存并通知所有节点
+     * @param {String} cacheName - 缓存名称
+     */
+    // 清空缓存方法
+    void clear(String cacheName);
+
+    /**
+     * 注册失效通知监听器
+     * @param {InvalidationListener} listener - 监听器
+     */
+    // 注册失效通知监听器方法
+    void addInvalidationListener(InvalidationListener listener);
+
+    /**
+     * 失效通知监听器
+     * 功能概述：任一节点移除或清空缓存时回调，key为null表示清空整个缓存
+     */
+    // 失效通知监听器接口
+    @FunctionalInterface
+    interface InvalidationListener {
+        // 收到失效通知
+        void onInvalidate(String cacheName, Object key);
+    }
+}
@@ -0,0 +1,269 @@
+// 定义包路径，标识该类属于com.icss.xihu.cache包
+package com.icss.xihu.cache;
+
+// 导入Spring缓存抽象的值适配基类
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入Map接口
+import java.util.Map;
+// 导入Callable接口
+import java.util.concurrent.Callable;
+// 导入LongAdder类，高并发下的计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 两级缓存
+ * 功能概述：Spring缓存抽象的实现，读取时依次查一级缓存（进程内LRU）和二级缓存（共享缓存，可选），
+ * 二级命中时回填一级；写入同时写两级；移除和清空同时作用于两级，并经二级缓存通知其他节点清理一级缓存；
+ * null结果以NullValue保存，避免不存在的数据反复穿透到数据库
+ */
+// 两级缓存类，继承AbstractValueAdaptingCache
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    // 缓存名称
+    private final String name;
+    // 一级缓存
+    private final LocalCache local;
+    // 二级缓存，未启用时为null
+    private final SharedCacheStore shared;
+    // 二级缓存条目存活时间（毫秒）
+    private final long sharedTtlMs;
+
+    // 一级缓存命中次数
+    private final LongAdder l1Hits = new LongAdder();
+    // 二级缓存命中次数
+    private final LongAdder l2Hits = new LongAdder();
+    // 未命中次数
+    private final LongAdder misses = new LongAdder();
+    // 写入次数
+    private final LongAdder puts = new LongAdder();
+    // 移除和清空次数
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * 构造方法
+     * @param {String} name - 缓存名称
+     * @param {LocalCache} local - 一级缓存
+     * @param {SharedCacheStore} shared - 二级缓存，可为null
+     * @param {long} sharedTtlMs - 二级缓存条目存活时间（毫秒）
+     */
+    // 构造方法
+    public TwoTierCache(String name, LocalCache local, SharedCacheStore shared, long sharedTtlMs) {
+        // 允许缓存null结果
+        super(true);
+        // 保存缓存名称
+        this.name = name;
+        // 保存一级缓存
+        this.local = local;
+        // 保存二级缓存
+        this.shared = shared;
+        // 保存二级缓存存活时间
+        this.sharedTtlMs = sharedTtlMs;
+    }
+
+    // 重写getName方法
+    @Override
+    // 获取缓存名称
+    public String getName() {
+        // 返回缓存名称
+        return name;
+    }
+
+    // 重写getNativeCache方法
+    @Override
+    // 获取底层缓存对象（一级缓存）
+    public Object getNativeCache() {
+        // 返回一级缓存
+        return local;
+    }
+
+    /**
+     * 查找缓存值
+     * 功能概述：先查一级缓存，未命中时查二级缓存并回填一级
+     * @param {Object} key - 键
+     * @return {Object} 返回存储形式的缓存值，未命中时返回null
+     */
+    // 重写lookup方法
+    @Override
+    // 查找缓存值方法
+    protected Object lookup(Object key) {
+        // 查一级缓存
+        Object value = local.get(key);
+        // 一级命中
+        if (value != null) {
+            // 命中次数加1
+            l1Hits.increment();
+            // 返回缓存值
+            return value;
+        }
+        // 启用二级缓存时查二级
+        if (shared != null) {
+            // 查二级缓存
+            value = shared.get(name, key);
+            // 二级命中
+            if (value != null) {
+                // 命中次数加1
+                l2Hits.increment();
+                // 回填一级缓存
+                local.put(key, value);
+                // 返回缓存值
+                return value;
+            }
+        }
+        // 未命中次数加1
+        misses.increment();
+        // 返回null
+        return null;
+    }
+
+    /**
+     * 读取缓存值，未命中时调用加载函数并写入
+     * @param {Object} key - 键
+     * @param {Callable<T>} valueLoader - 加载函数
+     * @return {T} 返回缓存值或加载结果
+     */
+    // 重写get方法
+    @Override
+    // 读取或加载方法
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // 查找缓存
+        Object stored = lookup(key);
+        // 命中时返回
+        if (stored != null) {
+            // 转换为用户值
+            return (T) fromStoreValue(stored);
+        }
+        // 加载结果
+        T value;
+        // 使用try-catch包装加载异常
+        try {
+            // 调用加载函数
+            value = valueLoader.call();
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 按Spring缓存抽象的约定抛出
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        // 写入缓存
+        put(key, value);
+        // 返回加载结果
+        return value;
+    }
+
+    // 重写put方法
+    @Override
+    // 写入两级缓存
+    public void put(Object key, Object value) {
+        // 转换为存储形式
+        Object stored = toStoreValue(value);
+        // 写入一级缓存
+        local.put(key, stored);
+        // 启用二级缓存时写入二级
+        if (shared != null) {
+            // 写入二级缓存
+            shared.put(name, key, stored, sharedTtlMs);
+        }
+        // 写入次数加1
+        puts.increment();
+    }
+
+    // 重写evict方法
+    @Override
+    // 移除两级缓存中的条目
+    public void evict(Object key) {
+        // 移除一级缓存条目
+        local.evict(key);
+        // 启用二级缓存时移除并通知其他节点
+        if (shared != null) {
+            // 移除二级缓存条目
+            shared.evict(name, key);
+        }
+        // 失效次数加1
+        invalidations.increment();
+    }
+
+    // 重写clear方法
+    @Override
+    // 清空两级缓存
+    public void clear() {
+        // 清空一级缓存
+        local.clear();
+        // 启用二级缓存时清空并通知其他节点
+        if (shared != null) {
+            // 清空二级缓存
+            shared.clear(name);
+        }
+        // 失效次数加1
+        invalidations.increment();
+    }
+
+    /**
+     * 处理其他节点的失效通知
+     * 功能概述：只清理本节点的一级缓存，二级缓存已由发起方处理
+     * @param {Object} key - 键，为null时清空
+     */
+    // 处理失效通知方法
+    void onRemoteInvalidate(Object key) {
+        // key为null时清空
+        if (key == null) {
+            // 清空一级缓存
+            local.clear();
+        } else {
+            // 移除一级缓存条目
+            local.evict(key);
+        }
+    }
+
+    /**
+     * 获取统计信息
+     * @return {Map<String, Object>} 返回命中次数、未命中次数、命中率、条目数和配置
+     */
+    // 获取统计信息方法
+    public Map<String, Object> getStats() {
+        // 一级命中次数
+        long hit1 = l1Hits.sum();
+        // 二级命中次数
+        long hit2 = l2Hits.sum();
+        // 未命中次数
+        long miss = misses.sum();
+        // 总请求次数
+        long requests = hit1 + hit2 + miss;
+        // 创建结果Map
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 缓存名称
+        stats.put("name", name);
+        // 总请求次数
+        stats.put("requests", requests);
+        // 一级命中次数
+        stats.put("l1Hits", hit1);
+        // 二级命中次数
+        stats.put("l2Hits", hit2);
+        // 未命中次数
+        stats.put("misses", miss);
+        // 总命中率
+        stats.put("hitRatio", requests == 0 ? 0.0 : Math.round((hit1 + hit2) * 10000.0 / requests) / 10000.0);
+        // 写入次数
+        stats.put("puts", puts.sum());
+        // 失效次数
+        stats.put("invalidations", invalidations.sum());
+        // 一级缓存条目数
+        stats.put("l1Size", local.size());
+        // 一级缓存最大条目数
+        stats.put("l1MaxSize", local.getMaxSize());
+        // 一级缓存存活时间（秒）
+        stats.put("l1TtlSeconds", local.getTtlMs() / 1000);
+        // 一级缓存容量淘汰数
+        stats.put("l1Evictions", local.getEvictions());
+        // 一级缓存过期数
+        stats.put("l1Expirations", local.getExpirations());
+        // 是否启用二级缓存
+        stats.put("l2Enabled", shared != null);
+        // 二级缓存存活时间（秒）
+        stats.put("l2TtlSeconds", shared == null ? 0 : sharedTtlMs / 1000);
+        // 返回统计信息
+        return stats;
+    }
+}
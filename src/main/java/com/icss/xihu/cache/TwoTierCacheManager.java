@@ -0,0 +1,136 @@
+// 定义包路径，标识该类属于com.icss.xihu.cache包
+package com.icss.xihu.cache;
+
+// 导入两级缓存配置类
+import com.icss.xihu.config.TwoTierCacheConfig;
+// 导入Spring缓存抽象的Cache接口
+import org.springframework.cache.Cache;
+// 导入Spring缓存抽象的CacheManager接口
+import org.springframework.cache.CacheManager;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Collection接口
+import java.util.Collection;
+// 导入Collections工具类
+import java.util.Collections;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入TreeMap类
+import java.util.TreeMap;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级缓存管理器
+ * 功能概述：按名称创建TwoTierCache，每个缓存的一级存活时间、一级容量和二级存活时间取自two-tier-cache.caches.<名称>，
+ * 未单独配置的使用默认值；注册二级缓存的失效通知，其他节点移除或清空缓存时清理本节点的一级缓存
+ */
+// 两级缓存管理器类，实现CacheManager接口
+public class TwoTierCacheManager implements CacheManager {
+
+    // 两级缓存配置
+    private final TwoTierCacheConfig config;
+    // 二级缓存，未启用时为null
+    private final SharedCacheStore shared;
+    // 已创建的缓存
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 构造方法
+     * @param {TwoTierCacheConfig} config - 两级缓存配置
+     * @param {SharedCacheStore} shared - 二级缓存，可为null
+     */
+    // 构造方法
+    public TwoTierCacheManager(TwoTierCacheConfig config, SharedCacheStore shared) {
+        // 保存配置
+        this.config = config;
+        // 保存二级缓存
+        this.shared = shared;
+        // 启用二级缓存时注册失效通知
+        if (shared != null) {
+            // 收到通知时清理本节点对应缓存的一级缓存
+            shared.addInvalidationListener((cacheName, key) -> {
+                // 查找缓存
+                TwoTierCache cache = caches.get(cacheName);
+                // 已创建时处理
+                if (cache != null) {
+                    // 清理一级缓存
+                    cache.onRemoteInvalidate(key);
+                }
+            });
+        }
+    }
+
+    // 重写getCache方法
+    @Override
+    // 获取缓存，不存在时按配置创建
+    public Cache getCache(String name) {
+        // 按名称创建或获取
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    // 重写getCacheNames方法
+    @Override
+    // 获取已创建的缓存名称
+    public Collection<String> getCacheNames() {
+        // 返回只读视图
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * 获取所有缓存的统计信息
+     * @return {List<Map<String, Object>>} 返回各缓存的统计信息（按名称排序）
+     */
+    // 获取所有缓存的统计信息方法
+    public List<Map<String, Object>> getStats() {
+        // 结果列表
+        List<Map<String, Object>> result = new ArrayList<>();
+        // 按名称排序遍历
+        for (TwoTierCache cache : new TreeMap<>(caches).values()) {
+            // 加入统计信息
+            result.add(cache.getStats());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 清空缓存
+     * @param {String} name - 缓存名称，为空时清空全部
+     * @return {int} 返回清空的缓存数量
+     */
+    // 清空缓存方法
+    public int clear(String name) {
+        // 清空数量
+        int count = 0;
+        // 遍历缓存
+        for (TwoTierCache cache : caches.values()) {
+            // 名称为空或匹配时清空
+            if (name == null || name.isBlank() || cache.getName().equals(name)) {
+                // 清空缓存
+                cache.clear();
+                // 数量加1
+                count++;
+            }
+        }
+        // 返回清空数量
+        return count;
+    }
+
+    // 按配置创建缓存
+    private TwoTierCache createCache(String name) {
+        // 该缓存的单独配置
+        TwoTierCacheConfig.CacheSpec spec = config.getCaches().get(name);
+        // 一级存活时间（秒）
+        long l1Ttl = spec != null && spec.getL1TtlSeconds() != null ? spec.getL1TtlSeconds() : config.getDefaultL1TtlSeconds();
+        // 一级最大条目数
+        int l1Max = spec != null && spec.getL1MaxSize() != null ? spec.getL1MaxSize() : config.getDefaultL1MaxSize();
+        // 二级存活时间（秒）
+        long l2Ttl = spec != null && spec.getL2TtlSeconds() != null ? spec.getL2TtlSeconds() : config.getDefaultL2TtlSeconds();
+        // 创建缓存
+        return new TwoTierCache(name, new LocalCache(l1Ttl * 1000L, l1Max), shared, l2Ttl * 1000L);
+    }
+}
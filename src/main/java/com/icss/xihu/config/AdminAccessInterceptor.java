@@ -0,0 +1,107 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入用户实体类
+import com.icss.xihu.model.User;
+// 导入Servlet请求类
+import jakarta.servlet.http.HttpServletRequest;
+// 导入Servlet响应类
+import jakarta.servlet.http.HttpServletResponse;
+// 导入Servlet会话类
+import jakarta.servlet.http.HttpSession;
+// 导入SLF4J日志接口
+import org.slf4j.Logger;
+// 导入SLF4J日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的配置值注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+// 导入Spring MVC的处理器拦截器接口
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// 导入IOException类
+import java.io.IOException;
+// 导入Arrays工具类
+import java.util.Arrays;
+// 导入Set接口
+import java.util.Set;
+// 导入Collectors类
+import java.util.stream.Collectors;
+
+/**
+ * 管理接口访问拦截器
+ * 功能概述：拦截/admin下的所有请求，只允许admin.usernames中配置的已登录用户访问；
+ * 未登录返回401，已登录但不是管理员返回403。admin.usernames为空时所有管理接口都不可访问
+ */
+// 标识该类为Spring组件
+@Component
+// 管理接口访问拦截器类，实现Spring MVC的HandlerInterceptor接口
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(AdminAccessInterceptor.class);
+
+    // 管理员用户名集合
+    private final Set<String> adminUsernames;
+
+    /**
+     * 构造方法
+     * 功能概述：解析逗号分隔的管理员用户名，忽略空白项
+     * @param {String} usernames - admin.usernames配置，逗号分隔
+     */
+    // 构造方法，读取管理员用户名配置，默认为空
+    public AdminAccessInterceptor(@Value("${admin.usernames:}") String usernames) {
+        // 按逗号拆分并去除空白
+        this.adminUsernames = Arrays.stream(usernames.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 请求处理前校验
+     * 功能概述：从会话中读取登录用户，用户名在管理员集合中时放行，否则写入JSON错误响应并拦截
+     * @param {HttpServletRequest} request - 请求对象
+     * @param {HttpServletResponse} response - 响应对象
+     * @param {Object} handler - 处理器
+     * @return {boolean} 管理员返回true，否则返回false
+     */
+    // 重写HandlerInterceptor接口中的preHandle方法
+    @Override
+    // 请求处理前校验方法
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // 读取已有会话，不创建新会话
+        HttpSession session = request.getSession(false);
+        // 会话中的登录用户
+        Object user = session == null ? null : session.getAttribute("user");
+        // 未登录
+        if (!(user instanceof User)) {
+            // 返回401
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "请先登录");
+            // 拦截请求
+            return false;
+        }
+        // 已登录但不是管理员
+        if (!adminUsernames.contains(((User) user).getUsername())) {
+            // 记录警告日志
+            logger.warn("非管理员用户{}访问管理接口：{} {}", ((User) user).getUsername(), request.getMethod(), request.getRequestURI());
+            // 返回403
+            reject(response, HttpServletResponse.SC_FORBIDDEN, "没有管理权限");
+            // 拦截请求
+            return false;
+        }
+        // 放行
+        return true;
+    }
+
+    // 写入JSON错误响应
+    private void reject(HttpServletResponse response, int status, String message) throws IOException {
+        // 设置状态码
+        response.setStatus(status);
+        // 设置响应类型
+        response.setContentType("application/json;charset=UTF-8");
+        // 写入与管理接口一致的结果格式
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message + "\"}");
+    }
+}
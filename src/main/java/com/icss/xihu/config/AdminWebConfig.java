@@ -0,0 +1,34 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+// 导入Spring MVC的拦截器注册表
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+// 导入Spring MVC的配置接口
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 管理接口访问配置类
+ * 功能概述：把AdminAccessInterceptor注册到/admin/**，运维管理接口都要求管理员登录
+ */
+// 标识该类为Spring配置类
+@Configuration
+// 管理接口访问配置类，实现Spring MVC的WebMvcConfigurer接口
+public class AdminWebConfig implements WebMvcConfigurer {
+
+    // 自动注入管理接口访问拦截器
+    @Autowired
+    // 管理接口访问拦截器对象
+    private AdminAccessInterceptor adminAccessInterceptor;
+
+    // 重写WebMvcConfigurer接口中的addInterceptors方法
+    @Override
+    // 注册拦截器方法
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 拦截/admin下的所有请求
+        registry.addInterceptor(adminAccessInterceptor).addPathPatterns("/admin/**");
+    }
+}
@@ -0,0 +1,104 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 地理位置索引配置类
+ * 功能概述：读取application.properties中geo-index开头的配置项，控制网格单元大小、查询半径和数量上限以及索引刷新间隔
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 绑定配置属性，前缀为"geo-index"，会自动读取application.properties中的geo-index.*配置
+@ConfigurationProperties(prefix = "geo-index")
+// 地理位置索引配置类，封装附近查询的配置信息
+public class GeoIndexConfig {
+
+    // 是否启用地理位置索引，默认为true
+    private boolean enabled = true;
+    // 网格单元边长（度），0.1度约等于11公里，默认0.1
+    private double cellDegrees = 0.1;
+    // 查询半径上限（公里），默认200公里
+    private double maxRadiusKm = 200;
+    // 默认返回数量，默认10条
+    private int defaultK = 10;
+    // 返回数量上限，默认50条
+    private int maxK = 50;
+    // 索引重建间隔（毫秒），默认10分钟
+    private long refreshIntervalMs = 600000;
+
+    // 获取是否启用地理位置索引
+    public boolean isEnabled() {
+        // 返回enabled字段的值
+        return enabled;
+    }
+
+    // 设置是否启用地理位置索引
+    public void setEnabled(boolean enabled) {
+        // 将参数值赋给enabled字段
+        this.enabled = enabled;
+    }
+
+    // 获取网格单元边长（度）
+    public double getCellDegrees() {
+        // 返回cellDegrees字段的值
+        return cellDegrees;
+    }
+
+    // 设置网格单元边长（度）
+    public void setCellDegrees(double cellDegrees) {
+        // 将参数值赋给cellDegrees字段
+        this.cellDegrees = cellDegrees;
+    }
+
+    // 获取查询半径上限（公里）
+    public double getMaxRadiusKm() {
+        // 返回maxRadiusKm字段的值
+        return maxRadiusKm;
+    }
+
+    // 设置查询半径上限（公里）
+    public void setMaxRadiusKm(double maxRadiusKm) {
+        // 将参数值赋给maxRadiusKm字段
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    // 获取默认返回数量
+    public int getDefaultK() {
+        // 返回defaultK字段的值
+        return defaultK;
+    }
+
+    // 设置默认返回数量
+    public void setDefaultK(int defaultK) {
+        // 将参数值赋给defaultK字段
+        this.defaultK = defaultK;
+    }
+
+    // 获取返回数量上限
+    public int getMaxK() {
+        // 返回maxK字段的值
+        return maxK;
+    }
+
+    // 设置返回数量上限
+    public void setMaxK(int maxK) {
+        // 将参数值赋给maxK字段
+        this.maxK = maxK;
+    }
+
+    // 获取索引重建间隔（毫秒）
+    public long getRefreshIntervalMs() {
+        // 返回refreshIntervalMs字段的值
+        return refreshIntervalMs;
+    }
+
+    // 设置索引重建间隔（毫秒）
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        // 将参数值赋给refreshIntervalMs字段
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+}
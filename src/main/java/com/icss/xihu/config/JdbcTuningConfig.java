@@ -0,0 +1,154 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入HikariCP连接池数据源
+import com.zaxxer.hikari.HikariDataSource;
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * JDBC性能调优配置类
+ * 功能概述：读取application.properties中jdbc-tuning开头的配置项，启用后由JdbcTuningPostProcessor应用到容器中的Hikari连接池：
+ * 1. 驱动参数：客户端和服务端预编译语句缓存、批量语句改写为多值INSERT、在本地跟踪会话状态以省去多余的往返等；
+ * 2. 连接池大小：按"CPU核数 × 每核连接数 + 有效磁盘数"计算，并限制在最大值以内，覆盖固定的maximum-pool-size；
+ * 默认不启用，使用perf配置文件（--spring.profiles.active=perf）时启用；未启用时驱动参数也用作基准对比中调优连接池的参数
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 绑定配置属性，前缀为"jdbc-tuning"，会自动读取application.properties中的jdbc-tuning.*配置
+@ConfigurationProperties(prefix = "jdbc-tuning")
+// JDBC性能调优配置类，封装驱动参数和连接池大小的计算规则
+public class JdbcTuningConfig {
+
+    // 是否把调优应用到容器中的连接池，默认不启用
+    private boolean enabled = false;
+    // 每个CPU核对应的连接数，默认2
+    private int connectionsPerCore = 2;
+    // 有效磁盘数（数据全部在内存中时为0），默认1
+    private int effectiveSpindles = 1;
+    // 连接池大小上限，默认50
+    private int maxPoolSize = 50;
+    // MySQL驱动参数，可通过jdbc-tuning.driver-properties.<名称>覆盖或追加
+    private Map<String, String> driverProperties = defaultDriverProperties();
+
+    // 默认的MySQL驱动调优参数
+    private static Map<String, String> defaultDriverProperties() {
+        // 驱动参数
+        Map<String, String> properties = new LinkedHashMap<>();
+        // 启用客户端预编译语句缓存
+        properties.put("cachePrepStmts", "true");
+        // 每个连接缓存的预编译语句数量
+        properties.put("prepStmtCacheSize", "250");
+        // 可缓存的SQL最大长度
+        properties.put("prepStmtCacheSqlLimit", "2048");
+        // 使用服务端预编译语句，重复执行时只传参数
+        properties.put("useServerPrepStmts", "true");
+        // 批量执行时改写为多值INSERT，一次往返写入多行
+        properties.put("rewriteBatchedStatements", "true");
+        // 在本地跟踪自动提交和隔离级别，状态未变时不再发送SET语句
+        properties.put("useLocalSessionState", "true");
+        // 在本地跟踪事务状态，没有语句时跳过提交和回滚
+        properties.put("useLocalTransactionState", "true");
+        // 缓存结果集元数据
+        properties.put("cacheResultSetMetadata", "true");
+        // 缓存服务端配置，新建连接时不再查询
+        properties.put("cacheServerConfiguration", "true");
+        // 自动提交状态未变时不发送SET autocommit
+        properties.put("elideSetAutoCommits", "true");
+        // 不统计每条语句的耗时
+        properties.put("maintainTimeStats", "false");
+        // 返回驱动参数
+        return properties;
+    }
+
+    /**
+     * 计算连接池大小
+     * 功能概述：CPU核数 × 每核连接数 + 有效磁盘数，至少为1，不超过上限
+     * @return {int} 返回连接池大小
+     */
+    // 计算连接池大小方法
+    public int derivePoolSize() {
+        // CPU核数
+        int cores = Runtime.getRuntime().availableProcessors();
+        // 按公式计算并限制范围
+        return Math.max(1, Math.min(maxPoolSize, cores * connectionsPerCore + effectiveSpindles));
+    }
+
+    /**
+     * 把驱动参数应用到连接池
+     * 功能概述：只能在连接池启动（第一次取连接）之前调用
+     * @param {HikariDataSource} dataSource - 连接池
+     */
+    // 应用驱动参数方法
+    public void applyDriverProperties(HikariDataSource dataSource) {
+        // 遍历驱动参数
+        driverProperties.forEach(dataSource::addDataSourceProperty);
+    }
+
+    // 获取是否启用
+    public boolean isEnabled() {
+        // 返回enabled字段的值
+        return enabled;
+    }
+
+    // 设置是否启用
+    public void setEnabled(boolean enabled) {
+        // 将参数值赋给enabled字段
+        this.enabled = enabled;
+    }
+
+    // 获取每核连接数
+    public int getConnectionsPerCore() {
+        // 返回connectionsPerCore字段的值
+        return connectionsPerCore;
+    }
+
+    // 设置每核连接数
+    public void setConnectionsPerCore(int connectionsPerCore) {
+        // 将参数值赋给connectionsPerCore字段
+        this.connectionsPerCore = connectionsPerCore;
+    }
+
+    // 获取有效磁盘数
+    public int getEffectiveSpindles() {
+        // 返回effectiveSpindles字段的值
+        return effectiveSpindles;
+    }
+
+    // 设置有效磁盘数
+    public void setEffectiveSpindles(int effectiveSpindles) {
+        // 将参数值赋给effectiveSpindles字段
+        this.effectiveSpindles = effectiveSpindles;
+    }
+
+    // 获取连接池大小上限
+    public int getMaxPoolSize() {
+        // 返回maxPoolSize字段的值
+        return maxPoolSize;
+    }
+
+    // 设置连接池大小上限
+    public void setMaxPoolSize(int maxPoolSize) {
+        // 将参数值赋给maxPoolSize字段
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    // 获取驱动参数
+    public Map<String, String> getDriverProperties() {
+        // 返回driverProperties字段的值
+        return driverProperties;
+    }
+
+    // 设置驱动参数
+    public void setDriverProperties(Map<String, String> driverProperties) {
+        // 将参数值赋给driverProperties字段
+        this.driverProperties = driverProperties;
+    }
+}
@@ -0,0 +1,80 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入HikariCP连接池数据源
+import com.zaxxer.hikari.HikariDataSource;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的对象提供者，用于延迟获取Bean
+import org.springframework.beans.factory.ObjectProvider;
+// 导入Spring的Bean后置处理器接口
+import org.springframework.beans.factory.config.BeanPostProcessor;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+/**
+ * JDBC性能调优后置处理器
+ * 功能概述：jdbc-tuning.enabled=true时，在Hikari连接池Bean完成spring.datasource.hikari.*绑定之后、第一次取连接之前，
+ * 追加驱动调优参数并按CPU核数重新设置连接池大小；对默认的单一数据源和读写分离的主库连接池都生效，
+ * 读库连接池沿用主库的驱动参数
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// JDBC性能调优后置处理器，实现BeanPostProcessor接口
+public class JdbcTuningPostProcessor implements BeanPostProcessor {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTuningPostProcessor.class);
+
+    // JDBC性能调优配置（延迟获取，避免后置处理器提前创建配置Bean）
+    private final ObjectProvider<JdbcTuningConfig> tuningConfig;
+
+    /**
+     * 构造方法
+     * @param {ObjectProvider<JdbcTuningConfig>} tuningConfig - JDBC性能调优配置
+     */
+    // 构造方法
+    public JdbcTuningPostProcessor(ObjectProvider<JdbcTuningConfig> tuningConfig) {
+        // 保存配置提供者
+        this.tuningConfig = tuningConfig;
+    }
+
+    /**
+     * Bean初始化后应用调优
+     * @param {Object} bean - Bean对象
+     * @param {String} beanName - Bean名称
+     * @return {Object} 返回原Bean
+     */
+    // 重写BeanPostProcessor的postProcessAfterInitialization方法
+    @Override
+    // Bean初始化后应用调优方法
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // 只处理Hikari连接池
+        if (!(bean instanceof HikariDataSource dataSource)) {
+            // 返回原Bean
+            return bean;
+        }
+        // 调优配置
+        JdbcTuningConfig config = tuningConfig.getIfAvailable();
+        // 未启用时不处理
+        if (config == null || !config.isEnabled()) {
+            // 返回原Bean
+            return bean;
+        }
+        // 追加驱动参数
+        config.applyDriverProperties(dataSource);
+        // 按CPU核数计算的连接池大小
+        int poolSize = config.derivePoolSize();
+        // 设置最大连接数
+        dataSource.setMaximumPoolSize(poolSize);
+        // 固定大小的连接池：最小空闲连接数等于最大连接数，避免高峰时临时建连
+        dataSource.setMinimumIdle(poolSize);
+        // 记录日志
+        logger.info("连接池 {} 已应用JDBC调优：连接池大小 {}（{} 核），驱动参数 {}",
+                beanName, poolSize, Runtime.getRuntime().availableProcessors(), config.getDriverProperties().keySet());
+        // 返回原Bean
+        return bean;
+    }
+}
@@ -0,0 +1,62 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 省份热力统计配置类
+ * 功能概述：读取application.properties中province-stats开头的配置项，控制增量刷新间隔和全量重算时间
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 绑定配置属性，前缀为"province-stats"，会自动读取application.properties中的province-stats.*配置
+@ConfigurationProperties(prefix = "province-stats")
+// 省份热力统计配置类，封装省份统计的配置信息
+public class ProvinceStatsConfig {
+
+    // 是否启用定时刷新，默认为true（关闭后只在首次访问时计算一次）
+    private boolean enabled = true;
+    // 增量刷新间隔（毫秒），默认30秒
+    private long refreshIntervalMs = 30000;
+    // 全量重算的cron表达式，用于修正删除订单等增量无法感知的变化，默认每小时第5分钟
+    private String fullRefreshCron = "0 5 * * * ?";
+
+    // 获取是否启用定时刷新
+    public boolean isEnabled() {
+        // 返回enabled字段的值
+        return enabled;
+    }
+
+    // 设置是否启用定时刷新
+    public void setEnabled(boolean enabled) {
+        // 将参数值赋给enabled字段
+        this.enabled = enabled;
+    }
+
+    // 获取增量刷新间隔（毫秒）
+    public long getRefreshIntervalMs() {
+        // 返回refreshIntervalMs字段的值
+        return refreshIntervalMs;
+    }
+
+    // 设置增量刷新间隔（毫秒）
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        // 将参数值赋给refreshIntervalMs字段
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    // 获取全量重算的cron表达式
+    public String getFullRefreshCron() {
+        // 返回fullRefreshCron字段的值
+        return fullRefreshCron;
+    }
+
+    // 设置全量重算的cron表达式
+    public void setFullRefreshCron(String fullRefreshCron) {
+        // 将参数值赋给fullRefreshCron字段
+        this.fullRefreshCron = fullRefreshCron;
+    }
+}
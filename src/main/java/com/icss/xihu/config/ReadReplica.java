@@ -0,0 +1,25 @@
+// 定义包路径，标识该注解属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入ElementType枚举
+import java.lang.annotation.ElementType;
+// 导入Retention注解
+import java.lang.annotation.Retention;
+// 导入RetentionPolicy枚举
+import java.lang.annotation.RetentionPolicy;
+// 导入Target注解
+import java.lang.annotation.Target;
+
+/**
+ * 读库查询注解
+ * 功能概述：标注在目录类服务实现类或其只读查询方法上，调用期间不在读写事务中的查询走读库
+ * （由ReadReplicaPostProcessor在服务Bean外层织入）；标注在类上时类中的全部方法都走读库，
+ * 因此只能标注在没有写操作的服务实现类上，含写操作的类只标注查询方法
+ */
+// 可以标注在类和方法上
+@Target({ElementType.TYPE, ElementType.METHOD})
+// 运行时保留，供后置处理器读取
+@Retention(RetentionPolicy.RUNTIME)
+// 读库查询注解
+public @interface ReadReplica {
+}
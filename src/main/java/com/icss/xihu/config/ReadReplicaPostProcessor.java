@@ -0,0 +1,116 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入数据源路由上下文
+import com.icss.xihu.datasource.RoutingContext;
+// 导入AOP联盟的方法拦截器接口
+import org.aopalliance.intercept.MethodInterceptor;
+// 导入AOP联盟的方法调用接口
+import org.aopalliance.intercept.MethodInvocation;
+// 导入Spring AOP的代理工厂
+import org.springframework.aop.framework.ProxyFactory;
+// 导入Spring AOP工具类
+import org.springframework.aop.support.AopUtils;
+// 导入Spring的Bean后置处理器接口
+import org.springframework.beans.factory.config.BeanPostProcessor;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+// 导入Spring的类工具类
+import org.springframework.util.ClassUtils;
+// 导入Spring的反射工具类
+import org.springframework.util.ReflectionUtils;
+
+// 导入Method类
+import java.lang.reflect.Method;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读库查询后置处理器
+ * 功能概述：为类上或方法上有@ReadReplica的服务Bean创建基于接口的代理，代理在调用期间把当前线程标记为优先读库，
+ * 调用结束后恢复；未启用读写分离时标记不起作用，查询照常走唯一的数据源
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// 读库查询后置处理器，实现BeanPostProcessor和MethodInterceptor接口
+public class ReadReplicaPostProcessor implements BeanPostProcessor, MethodInterceptor {
+
+    // 接口方法是否走读库的缓存，键为代理收到的方法和目标类
+    private final Map<List<Object>, Boolean> replicaMethods = new ConcurrentHashMap<>();
+
+    /**
+     * Bean初始化后创建代理
+     * 功能概述：目标类或其方法有@ReadReplica时返回实现其全部接口的代理，否则返回原Bean
+     * @param {Object} bean - Bean对象
+     * @param {String} beanName - Bean名称
+     * @return {Object} 返回代理或原Bean
+     */
+    // 重写BeanPostProcessor的postProcessAfterInitialization方法
+    @Override
+    // Bean初始化后创建代理方法
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // 目标类
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        // 是否有走读库的方法（类上有注解时全部方法都走读库）
+        boolean[] found = {targetClass.isAnnotationPresent(ReadReplica.class)};
+        // 类上没有注解时检查方法
+        if (!found[0]) {
+            // 遍历目标类的方法
+            ReflectionUtils.doWithMethods(targetClass, method -> found[0] = true,
+                    method -> method.isAnnotationPresent(ReadReplica.class));
+        }
+        // 没有走读库的方法或没有接口时返回原Bean
+        if (!found[0] || ClassUtils.getAllInterfacesForClass(targetClass).length == 0) {
+            // 返回原Bean
+            return bean;
+        }
+        // 创建代理工厂
+        ProxyFactory factory = new ProxyFactory(bean);
+        // 使用基于接口的JDK代理
+        factory.setInterfaces(ClassUtils.getAllInterfacesForClass(targetClass));
+        // 添加拦截器
+        factory.addAdvice(this);
+        // 返回代理
+        return factory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * 拦截服务方法调用
+     * 功能概述：实现方法或其所在类带@ReadReplica时在调用期间标记优先读库，否则直接调用
+     * @param {MethodInvocation} invocation - 方法调用
+     * @return {Object} 返回调用结果
+     * @throws Throwable 服务方法抛出的异常
+     */
+    // 重写MethodInterceptor的invoke方法
+    @Override
+    // 拦截服务方法调用方法
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // 代理收到的方法（接口方法）
+        Method method = invocation.getMethod();
+        // 目标类
+        Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+        // 查询实现方法或目标类上是否有注解（结果缓存）
+        boolean replica = replicaMethods.computeIfAbsent(List.of(method, targetClass),
+                k -> targetClass.isAnnotationPresent(ReadReplica.class)
+                        || AopUtils.getMostSpecificMethod(method, targetClass).isAnnotationPresent(ReadReplica.class));
+        // 不走读库时直接调用
+        if (!replica) {
+            // 调用目标方法
+            return invocation.proceed();
+        }
+        // 标记优先读库
+        boolean previous = RoutingContext.preferReplica();
+        // 使用try-finally确保恢复标记
+        try {
+            // 调用目标方法
+            return invocation.proceed();
+        } finally {
+            // 恢复标记
+            RoutingContext.restoreReplicaPreferred(previous);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入读写分离路由数据源
+import com.icss.xihu.datasource.ReadWriteRoutingDataSource;
+// 导入HikariCP连接池数据源
+import com.zaxxer.hikari.HikariDataSource;
+// 导入Spring Boot的条件注解，按配置项决定是否加载
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+// 导入Spring Boot的数据源配置属性
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring的Bean注解
+import org.springframework.context.annotation.Bean;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+// 导入Spring的首选Bean注解
+import org.springframework.context.annotation.Primary;
+// 导入Spring JDBC的延迟取连接数据源代理
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// 导入数据源接口
+import javax.sql.DataSource;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 读写分离配置类
+ * 功能概述：read-write-routing.enabled=true时加载，读取read-write-routing开头的配置项，用spring.datasource.*创建主库连接池，
+ * 为每个read-write-routing.replicas[n]创建只读的读库连接池，注册路由数据源并用LazyConnectionDataSourceProxy包装为首选数据源，
+ * MyBatis和事务管理器都使用这个首选数据源；未启用时不加载，使用Spring Boot默认的单一数据源
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 只在read-write-routing.enabled=true时加载
+@ConditionalOnProperty(prefix = "read-write-routing", name = "enabled", havingValue = "true")
+// 绑定配置属性，前缀为"read-write-routing"，会自动读取application.properties中的read-write-routing.*配置
+@ConfigurationProperties(prefix = "read-write-routing")
+// 读写分离配置类，封装读库配置并注册数据源
+public class ReadWriteRoutingConfig {
+
+    // 是否启用读写分离，默认不启用
+    private boolean enabled = false;
+    // 每个读库连接池的最大连接数，默认20
+    private int replicaPoolSize = 20;
+    // 读库列表
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 注册主库连接池
+     * 功能概述：连接信息来自spring.datasource.*，连接池参数来自spring.datasource.hikari.*，与未启用读写分离时一致
+     * @param {DataSourceProperties} properties - Spring Boot的数据源配置属性
+     * @return {HikariDataSource} 返回主库连接池
+     */
+    // 注册主库连接池Bean
+    @Bean
+    // 绑定spring.datasource.hikari.*连接池参数
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    // 主库连接池
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        // 按spring.datasource.*创建连接池
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // 设置连接池名称，便于在日志中区分
+        dataSource.setPoolName("primary");
+        // 返回连接池
+        return dataSource;
+    }
+
+    /**
+     * 注册读写分离路由数据源
+     * 功能概述：读库的账号、密码、驱动未单独配置时沿用主库配置，超时参数和驱动参数沿用主库连接池；读库连接池设置为只读，
+     * 误路由到读库的写操作会直接失败而不是静默写入读库
+     * @param {HikariDataSource} primaryDataSource - 主库连接池
+     * @param {DataSourceProperties} properties - Spring Boot的数据源配置属性
+     * @return {ReadWriteRoutingDataSource} 返回路由数据源
+     */
+    // 注册路由数据源Bean
+    @Bean
+    // 读写分离路由数据源
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties) {
+        // 读库连接池列表
+        List<DataSource> replicaDataSources = new ArrayList<>();
+        // 遍历读库配置
+        for (int i = 0; i < replicas.size(); i++) {
+            // 读库配置
+            Replica replica = replicas.get(i);
+            // 创建连接池
+            HikariDataSource dataSource = new HikariDataSource();
+            // 设置连接池名称
+            dataSource.setPoolName(ReadWriteRoutingDataSource.REPLICA_PREFIX + i);
+            // 设置连接地址
+            dataSource.setJdbcUrl(replica.getUrl());
+            // 设置账号，未配置时沿用主库
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername());
+            // 设置密码，未配置时沿用主库
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword());
+            // 设置驱动类
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            // 设置最大连接数
+            dataSource.setMaximumPoolSize(replicaPoolSize);
+            // 沿用主库的取连接超时
+            dataSource.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            // 沿用主库的校验超时
+            dataSource.setValidationTimeout(primaryDataSource.getValidationTimeout());
+            // 沿用主库的空闲超时
+            dataSource.setIdleTimeout(primaryDataSource.getIdleTimeout());
+            // 沿用主库的驱动参数（含JDBC调优参数）
+            dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            // 读库连接只读
+            dataSource.setReadOnly(true);
+            // 读库不可用时不阻止应用启动，取连接失败时回退到主库
+            dataSource.setInitializationFailTimeout(-1);
+            // 加入列表
+            replicaDataSources.add(dataSource);
+        }
+        // 创建路由数据源
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSources);
+    }
+
+    /**
+     * 注册首选数据源
+     * 功能概述：延迟到第一条SQL执行时才取实际连接，此时事务的只读标记已经生效，路由数据源才能据此选择读库
+     * @param {ReadWriteRoutingDataSource} routingDataSource - 路由数据源
+     * @return {DataSource} 返回包装后的数据源
+     */
+    // 注册数据源Bean
+    @Bean
+    // 设为首选数据源，MyBatis、事务管理器等按类型注入时使用它
+    @Primary
+    // 首选数据源
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        // 包装为延迟取连接的数据源
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // 获取是否启用读写分离
+    public boolean isEnabled() {
+        // 返回enabled字段的值
+        return enabled;
+    }
+
+    // 设置是否启用读写分离
+    public void setEnabled(boolean enabled) {
+        // 将参数值赋给enabled字段
+        this.enabled = enabled;
+    }
+
+    // 获取每个读库连接池的最大连接数
+    public int getReplicaPoolSize() {
+        // 返回replicaPoolSize字段的值
+        return replicaPoolSize;
+    }
+
+    // 设置每个读库连接池的最大连接数
+    public void setReplicaPoolSize(int replicaPoolSize) {
+        // 将参数值赋给replicaPoolSize字段
+        this.replicaPoolSize = replicaPoolSize;
+    }
+
+    // 获取读库列表
+    public List<Replica> getReplicas() {
+        // 返回replicas字段的值
+        return replicas;
+    }
+
+    // 设置读库列表
+    public void setReplicas(List<Replica> replicas) {
+        // 将参数值赋给replicas字段
+        this.replicas = replicas;
+    }
+
+    /**
+     * 单个读库的配置
+     * 功能概述：账号和密码未设置时沿用spring.datasource的配置
+     */
+    // 单个读库配置类
+    public static class Replica {
+
+        // 连接地址
+        private String url;
+        // 账号
+        private String username;
+        // 密码
+        private String password;
+
+        // 获取连接地址
+        public String getUrl() {
+            // 返回url字段的值
+            return url;
+        }
+
+        // 设置连接地址
+        public void setUrl(String url) {
+            // 将参数值赋给url字段
+            this.url = url;
+        }
+
+        // 获取账号
+        public String getUsername() {
+            // 返回username字段的值
+            return username;
+        }
+
+        // 设置账号
+        public void setUsername(String username) {
+            // 将参数值赋给username字段
+            this.username = username;
+        }
+
+        // 获取密码
+        public String getPassword() {
+            // 返回password字段的值
+            return password;
+        }
+
+        // 设置密码
+        public void setPassword(String password) {
+            // 将参数值赋给password字段
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 餐厅分面筛选配置类
+ * 功能概述：读取application.properties中restaurant-facet开头的配置项，控制餐厅目录的刷新间隔、人均价格分桶边界和返回数量上限
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 绑定配置属性，前缀为"restaurant-facet"，会自动读取application.properties中的restaurant-facet.*配置
+@ConfigurationProperties(prefix = "restaurant-facet")
+// 餐厅分面筛选配置类，封装餐厅筛选引擎的配置信息
+public class RestaurantFacetConfig {
+
+    // 目录刷新间隔（毫秒），默认5分钟
+    private long refreshIntervalMs = 300000;
+    // 人均价格分桶边界（元），默认分为0-50、50-100、100-200、200-500、500+五档
+    private int[] priceBuckets = {50, 100, 200, 500};
+    // 单次返回数量上限，默认1000条
+    private int maxLimit = 1000;
+
+    // 获取目录刷新间隔（毫秒）
+    public long getRefreshIntervalMs() {
+        // 返回refreshIntervalMs字段的值
+        return refreshIntervalMs;
+    }
+
+    // 设置目录刷新间隔（毫秒）
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        // 将参数值赋给refreshIntervalMs字段
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    // 获取人均价格分桶边界（元）
+    public int[] getPriceBuckets() {
+        // 返回priceBuckets字段的值
+        return priceBuckets;
+    }
+
+    // 设置人均价格分桶边界（元）
+    public void setPriceBuckets(int[] priceBuckets) {
+        // 将参数值赋给priceBuckets字段
+        this.priceBuckets = priceBuckets;
+    }
+
+    // 获取单次返回数量上限
+    public int getMaxLimit() {
+        // 返回maxLimit字段的值
+        return maxLimit;
+    }
+
+    // 设置单次返回数量上限
+    public void setMaxLimit(int maxLimit) {
+        // 将参数值赋给maxLimit字段
+        this.maxLimit = maxLimit;
+    }
+}
@@ -0,0 +1,25 @@
+// 定义包路径，标识该注解属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入ElementType枚举
+import java.lang.annotation.ElementType;
+// 导入Retention注解
+import java.lang.annotation.Retention;
+// 导入RetentionPolicy枚举
+import java.lang.annotation.RetentionPolicy;
+// 导入Target注解
+import java.lang.annotation.Target;
+
+/**
+ * 请求合并注解
+ * 功能概述：标注在服务实现类的只读查询方法上，同一方法、相同参数的并发调用只执行一次，
+ * 其余调用等待并共享这一次的结果（由SingleFlightPostProcessor在服务Bean外层织入）；
+ * 只适用于参数为字符串、数字等可比较值且结果与调用者无关的方法
+ */
+// 只能标注在方法上
+@Target(ElementType.METHOD)
+// 运行时保留，供后置处理器读取
+@Retention(RetentionPolicy.RUNTIME)
+// 请求合并注解
+public @interface SingleFlight {
+}
@@ -0,0 +1,120 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入请求合并组
+import com.icss.xihu.util.SingleFlightGroup;
+// 导入AOP联盟的方法拦截器接口
+import org.aopalliance.intercept.MethodInterceptor;
+// 导入AOP联盟的方法调用接口
+import org.aopalliance.intercept.MethodInvocation;
+// 导入Spring AOP的代理工厂
+import org.springframework.aop.framework.ProxyFactory;
+// 导入Spring AOP工具类
+import org.springframework.aop.support.AopUtils;
+// 导入Spring的Bean后置处理器接口
+import org.springframework.beans.factory.config.BeanPostProcessor;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+// 导入Spring的类工具类
+import org.springframework.util.ClassUtils;
+// 导入Spring的反射工具类
+import org.springframework.util.ReflectionUtils;
+
+// 导入Method类
+import java.lang.reflect.Method;
+// 导入Arrays工具类
+import java.util.Arrays;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 请求合并后置处理器
+ * 功能概述：为含有@SingleFlight方法的服务Bean创建基于接口的代理，代理按"方法+参数列表"合并并发的相同调用；
+ * 控制器和其他服务都通过接口注入服务，因此合并发生在服务边界上，服务实现类本身不需要改动调用逻辑
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// 请求合并后置处理器，实现BeanPostProcessor和MethodInterceptor接口
+public class SingleFlightPostProcessor implements BeanPostProcessor, MethodInterceptor {
+
+    // 请求合并组，所有服务共享
+    private final SingleFlightGroup group = new SingleFlightGroup();
+    // 接口方法是否需要合并的缓存，键为代理收到的方法和目标类
+    private final Map<List<Object>, Boolean> coalescedMethods = new ConcurrentHashMap<>();
+
+    /**
+     * Bean初始化后创建代理
+     * 功能概述：目标类有@SingleFlight方法时返回实现其全部接口的代理，否则返回原Bean
+     * @param {Object} bean - Bean对象
+     * @param {String} beanName - Bean名称
+     * @return {Object} 返回代理或原Bean
+     */
+    // 重写BeanPostProcessor的postProcessAfterInitialization方法
+    @Override
+    // Bean初始化后创建代理方法
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // 目标类
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        // 是否有需要合并的方法
+        boolean[] found = {false};
+        // 遍历目标类的方法
+        ReflectionUtils.doWithMethods(targetClass, method -> found[0] = true,
+                method -> method.isAnnotationPresent(SingleFlight.class));
+        // 没有需要合并的方法或没有接口时返回原Bean
+        if (!found[0] || ClassUtils.getAllInterfacesForClass(targetClass).length == 0) {
+            // 返回原Bean
+            return bean;
+        }
+        // 创建代理工厂
+        ProxyFactory factory = new ProxyFactory(bean);
+        // 使用基于接口的JDK代理
+        factory.setInterfaces(ClassUtils.getAllInterfacesForClass(targetClass));
+        // 添加拦截器
+        factory.addAdvice(this);
+        // 返回代理
+        return factory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * 拦截服务方法调用
+     * 功能概述：实现方法带@SingleFlight时按"目标类+方法+参数列表"合并，否则直接调用
+     * @param {MethodInvocation} invocation - 方法调用
+     * @return {Object} 返回调用结果
+     * @throws Throwable 服务方法抛出的异常
+     */
+    // 重写MethodInterceptor的invoke方法
+    @Override
+    // 拦截服务方法调用方法
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // 代理收到的方法（接口方法）
+        Method method = invocation.getMethod();
+        // 目标类
+        Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+        // 查询实现方法上是否有注解（结果缓存）
+        boolean coalesce = coalescedMethods.computeIfAbsent(List.of(method, targetClass),
+                k -> AopUtils.getMostSpecificMethod(method, targetClass).isAnnotationPresent(SingleFlight.class));
+        // 不需要合并时直接调用
+        if (!coalesce) {
+            // 调用目标方法
+            return invocation.proceed();
+        }
+        // 调用键：目标类、方法和参数列表
+        List<Object> key = Arrays.asList(targetClass, method, Arrays.asList(invocation.getArguments()));
+        // 合并执行
+        return group.execute(key, invocation::proceed);
+    }
+
+    /**
+     * 获取请求合并统计信息
+     * @return {Map<String, Object>} 返回调用次数、执行次数、合并次数等
+     */
+    // 获取请求合并统计信息方法
+    public Map<String, Object> getStats() {
+        // 返回统计信息
+        return group.getStats();
+    }
+}
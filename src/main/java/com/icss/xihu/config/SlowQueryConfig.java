@@ -0,0 +1,118 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 慢查询检测配置类
+ * 功能概述：读取application.properties中slow-query开头的配置项，控制慢SQL阈值、环形缓冲区容量和EXPLAIN采集行为
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 绑定配置属性，前缀为"slow-query"，会自动读取application.properties中的slow-query.*配置
+@ConfigurationProperties(prefix = "slow-query")
+// 慢查询检测配置类，封装慢查询检测的配置信息
+public class SlowQueryConfig {
+
+    // 是否启用慢查询检测，默认为true
+    private boolean enabled = true;
+    // 慢查询阈值（毫秒），执行耗时超过该值的SQL会被记录，默认200毫秒
+    private long thresholdMs = 200;
+    // 最近慢查询环形缓冲区容量，默认200条
+    private int capacity = 200;
+    // 最慢语句排行保留的语句数量，默认50条
+    private int worstSize = 50;
+    // 是否自动采集EXPLAIN FORMAT=JSON执行计划，默认为true
+    private boolean explainEnabled = true;
+    // 同一语句两次采集执行计划的最小间隔（秒），避免EXPLAIN风暴，默认300秒
+    private long explainIntervalSeconds = 300;
+    // 等待采集执行计划的任务队列长度，队列满时丢弃新任务，默认100
+    private int explainQueueSize = 100;
+
+    // 获取是否启用慢查询检测
+    public boolean isEnabled() {
+        // 返回enabled字段的值
+        return enabled;
+    }
+
+    // 设置是否启用慢查询检测
+    public void setEnabled(boolean enabled) {
+        // 将参数值赋给enabled字段
+        this.enabled = enabled;
+    }
+
+    // 获取慢查询阈值（毫秒）
+    public long getThresholdMs() {
+        // 返回thresholdMs字段的值
+        return thresholdMs;
+    }
+
+    // 设置慢查询阈值（毫秒）
+    public void setThresholdMs(long thresholdMs) {
+        // 将参数值赋给thresholdMs字段
+        this.thresholdMs = thresholdMs;
+    }
+
+    // 获取环形缓冲区容量
+    public int getCapacity() {
+        // 返回capacity字段的值
+        return capacity;
+    }
+
+    // 设置环形缓冲区容量
+    public void setCapacity(int capacity) {
+        // 将参数值赋给capacity字段
+        this.capacity = capacity;
+    }
+
+    // 获取最慢语句排行保留数量
+    public int getWorstSize() {
+        // 返回worstSize字段的值
+        return worstSize;
+    }
+
+    // 设置最慢语句排行保留数量
+    public void setWorstSize(int worstSize) {
+        // 将参数值赋给worstSize字段
+        this.worstSize = worstSize;
+    }
+
+    // 获取是否自动采集执行计划
+    public boolean isExplainEnabled() {
+        // 返回explainEnabled字段的值
+        return explainEnabled;
+    }
+
+    // 设置是否自动采集执行计划
+    public void setExplainEnabled(boolean explainEnabled) {
+        // 将参数值赋给explainEnabled字段
+        this.explainEnabled = explainEnabled;
+    }
+
+    // 获取同一语句采集执行计划的最小间隔（秒）
+    public long getExplainIntervalSeconds() {
+        // 返回explainIntervalSeconds字段的值
+        return explainIntervalSeconds;
+    }
+
+    // 设置同一语句采集执行计划的最小间隔（秒）
+    public void setExplainIntervalSeconds(long explainIntervalSeconds) {
+        // 将参数值赋给explainIntervalSeconds字段
+        this.explainIntervalSeconds = explainIntervalSeconds;
+    }
+
+    // 获取执行计划采集任务队列长度
+    public int getExplainQueueSize() {
+        // 返回explainQueueSize字段的值
+        return explainQueueSize;
+    }
+
+    // 设置执行计划采集任务队列长度
+    public void setExplainQueueSize(int explainQueueSize) {
+        // 将参数值赋给explainQueueSize字段
+        this.explainQueueSize = explainQueueSize;
+    }
+}
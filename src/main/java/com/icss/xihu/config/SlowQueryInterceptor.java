@@ -0,0 +1,186 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入慢查询服务接口
+import com.icss.xihu.service.SlowQueryService;
+// 导入MyBatis的缓存键类
+import org.apache.ibatis.cache.CacheKey;
+// 导入MyBatis的执行器接口
+import org.apache.ibatis.executor.Executor;
+// 导入MyBatis的绑定SQL类
+import org.apache.ibatis.mapping.BoundSql;
+// 导入MyBatis的映射语句类
+import org.apache.ibatis.mapping.MappedStatement;
+// 导入MyBatis的参数映射类
+import org.apache.ibatis.mapping.ParameterMapping;
+// 导入MyBatis的参数模式枚举
+import org.apache.ibatis.mapping.ParameterMode;
+// 导入MyBatis的插件相关类
+import org.apache.ibatis.plugin.Interceptor;
+// 导入MyBatis的拦截器注解
+import org.apache.ibatis.plugin.Intercepts;
+// 导入MyBatis的拦截调用对象
+import org.apache.ibatis.plugin.Invocation;
+// 导入MyBatis的拦截签名注解
+import org.apache.ibatis.plugin.Signature;
+// 导入MyBatis的元对象类，用于读取参数对象的属性
+import org.apache.ibatis.reflection.MetaObject;
+// 导入MyBatis的结果处理器接口
+import org.apache.ibatis.session.ResultHandler;
+// 导入MyBatis的分页参数类
+import org.apache.ibatis.session.RowBounds;
+// 导入MyBatis的全局配置类
+import org.apache.ibatis.session.Configuration;
+// 导入MyBatis的类型处理器注册表
+import org.apache.ibatis.type.TypeHandlerRegistry;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 慢查询拦截器
+ * 功能概述：拦截MyBatis执行器的查询和更新方法，统计每条SQL的执行耗时，
+ * 超过阈值时解析出实际SQL和按顺序排列的绑定参数，交给SlowQueryService记录（只保存参数的类型形态）并异步采集执行计划
+ * 注册为Spring Bean后，mybatis-spring-boot-starter会自动把它加入SqlSessionFactory的插件链
+ */
+// 声明拦截执行器的两种查询方法和更新方法
+@Intercepts({
+        // 拦截四个参数的query方法
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        // 拦截六个参数的query方法（已传入BoundSql）
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        // 拦截update方法（INSERT/UPDATE/DELETE都会走这里）
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+// 标识该类为Spring组件
+@Component
+// 慢查询拦截器类，实现MyBatis的Interceptor接口
+public class SlowQueryInterceptor implements Interceptor {
+
+    // 自动注入慢查询服务
+    @Autowired
+    // 慢查询服务对象，用于判断阈值和记录慢查询
+    private SlowQueryService slowQueryService;
+
+    /**
+     * 拦截方法
+     * 功能概述：执行原方法并统计耗时，只有超过阈值时才解析SQL和参数，正常请求只多两次System.nanoTime调用
+     * @param {Invocation} invocation - 拦截调用对象
+     * @return {Object} 返回原方法的执行结果
+     */
+    // 重写Interceptor接口中的intercept方法
+    @Override
+    // 拦截方法
+    public Object intercept(Invocation invocation) throws Throwable {
+        // 记录开始时间
+        long start = System.nanoTime();
+        // 使用try-finally保证无论成功失败都统计耗时
+        try {
+            // 执行原方法并返回结果
+            return invocation.proceed();
+        } finally {
+            // 计算耗时（毫秒）
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            // 超过阈值时记录慢查询
+            if (slowQueryService.isSlow(elapsedMs)) {
+                // 记录慢查询，内部异常不影响业务结果
+                recordSlowQuery(invocation, elapsedMs);
+            }
+        }
+    }
+
+    /**
+     * 记录慢查询
+     * 功能概述：解析映射语句、BoundSql和绑定参数，交给慢查询服务记录
+     * @param {Invocation} invocation - 拦截调用对象
+     * @param {long} elapsedMs - 执行耗时（毫秒）
+     */
+    // 记录慢查询方法
+    private void recordSlowQuery(Invocation invocation, long elapsedMs) {
+        // 使用try-catch捕获异常，记录失败不影响业务
+        try {
+            // 获取方法参数
+            Object[] args = invocation.getArgs();
+            // 第一个参数为映射语句
+            MappedStatement ms = (MappedStatement) args[0];
+            // 第二个参数为参数对象
+            Object parameterObject = args[1];
+            // 六个参数的query方法已传入BoundSql，否则重新生成
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameterObject);
+            // 解析按占位符顺序排列的参数值
+            List<Object> parameters = resolveParameters(ms.getConfiguration(), boundSql, parameterObject);
+            // 交给慢查询服务记录
+            slowQueryService.record(ms.getId(), ms.getSqlCommandType().name(), boundSql.getSql(),
+                    parameters, elapsedMs);
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录失败时忽略，不能影响业务请求
+        }
+    }
+
+    /**
+     * 解析绑定参数
+     * 功能概述：与MyBatis的DefaultParameterHandler取值规则一致，按ParameterMapping顺序取出参数值
+     * @param {Configuration} configuration - MyBatis全局配置
+     * @param {BoundSql} boundSql - 绑定SQL
+     * @param {Object} parameterObject - 参数对象
+     * @return {List<Object>} 返回参数值列表
+     */
+    // 解析绑定参数方法
+    private List<Object> resolveParameters(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+        // 创建参数值列表
+        List<Object> values = new ArrayList<>();
+        // 获取类型处理器注册表
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        // 参数对象的元对象，延迟创建
+        MetaObject metaObject = null;
+        // 遍历参数映射
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            // 跳过存储过程的OUT参数
+            if (mapping.getMode() == ParameterMode.OUT) {
+                // 继续下一个参数
+                continue;
+            }
+            // 获取参数属性名
+            String property = mapping.getProperty();
+            // 参数值
+            Object value;
+            // foreach等动态SQL生成的附加参数
+            if (boundSql.hasAdditionalParameter(property)) {
+                // 从附加参数中取值
+                value = boundSql.getAdditionalParameter(property);
+            // 参数对象为空
+            } else if (parameterObject == null) {
+                // 参数值为空
+                value = null;
+            // 参数对象本身是简单类型（如Integer、String）
+            } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+                // 参数值就是参数对象本身
+                value = parameterObject;
+            // 参数对象是实体类或@Param生成的Map
+            } else {
+                // 第一次使用时创建元对象
+                if (metaObject == null) {
+                    // 创建参数对象的元对象
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                // 通过属性名读取参数值
+                value = metaObject.getValue(property);
+            }
+            // 添加到参数值列表
+            values.add(value);
+        }
+        // 返回参数值列表
+        return values;
+    }
+}
@@ -0,0 +1,48 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 旅游信息并行加载配置类
+ * 功能概述：读取application.properties中travel-fanout开头的配置项，控制旅游信息页面各分支查询的超时时间和并发上限
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 绑定配置属性，前缀为"travel-fanout"，会自动读取application.properties中的travel-fanout.*配置
+@ConfigurationProperties(prefix = "travel-fanout")
+// 旅游信息并行加载配置类，封装并行加载的配置信息
+public class TravelFanoutConfig {
+
+    // 单个分支的超时时间（毫秒），超时的分支使用降级结果，默认800毫秒
+    private long branchTimeoutMs = 800;
+    // 同时执行的分支数量上限（所有请求共享），应小于数据库连接池大小，默认8个
+    private int maxConcurrentBranches = 8;
+
+    // 获取单个分支的超时时间（毫秒）
+    public long getBranchTimeoutMs() {
+        // 返回branchTimeoutMs字段的值
+        return branchTimeoutMs;
+    }
+
+    // 设置单个分支的超时时间（毫秒）
+    public void setBranchTimeoutMs(long branchTimeoutMs) {
+        // 将参数值赋给branchTimeoutMs字段
+        this.branchTimeoutMs = branchTimeoutMs;
+    }
+
+    // 获取同时执行的分支数量上限
+    public int getMaxConcurrentBranches() {
+        // 返回maxConcurrentBranches字段的值
+        return maxConcurrentBranches;
+    }
+
+    // 设置同时执行的分支数量上限
+    public void setMaxConcurrentBranches(int maxConcurrentBranches) {
+        // 将参数值赋给maxConcurrentBranches字段
+        this.maxConcurrentBranches = maxConcurrentBranches;
+    }
+}
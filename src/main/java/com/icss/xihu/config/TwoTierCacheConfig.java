@@ -0,0 +1,177 @@
+// 定义包路径，标识该类属于com.icss.xihu.config包
+package com.icss.xihu.config;
+
+// 导入内嵌共享二级缓存
+import com.icss.xihu.cache.EmbeddedSharedCacheStore;
+// 导入共享二级缓存接口
+import com.icss.xihu.cache.SharedCacheStore;
+// 导入两级缓存管理器
+import com.icss.xihu.cache.TwoTierCacheManager;
+// 导入Spring的对象提供者，用于获取可选的Bean
+import org.springframework.beans.factory.ObjectProvider;
+// 导入Spring Boot的配置属性绑定注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// 导入Spring缓存注解开关
+import org.springframework.cache.annotation.EnableCaching;
+// 导入Spring的Bean注解
+import org.springframework.context.annotation.Bean;
+// 导入Spring的配置类注解
+import org.springframework.context.annotation.Configuration;
+
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 两级缓存配置类
+ * 功能概述：读取application.properties中two-tier-cache开头的配置项，启用Spring缓存注解并注册两级缓存管理器；
+ * 每个缓存可以通过two-tier-cache.caches.<名称>.*单独设置一级存活时间、一级容量和二级存活时间；
+ * 启用二级缓存时优先使用容器中的SharedCacheStore实现（如Redis），没有时使用内嵌实现
+ */
+// 标识该类为Spring配置类，会被Spring容器扫描并加载
+@Configuration
+// 启用Spring缓存注解（@Cacheable、@CacheEvict）
+@EnableCaching
+// 绑定配置属性，前缀为"two-tier-cache"，会自动读取application.properties中的two-tier-cache.*配置
+@ConfigurationProperties(prefix = "two-tier-cache")
+// 两级缓存配置类，封装缓存策略并注册缓存管理器
+public class TwoTierCacheConfig {
+
+    // 是否启用二级缓存，默认不启用（单节点部署只使用一级缓存）
+    private boolean l2Enabled = false;
+    // 一级缓存默认存活时间（秒），也是其他节点在未收到失效通知时可能读到旧数据的最长时间，默认60秒
+    private long defaultL1TtlSeconds = 60;
+    // 一级缓存默认最大条目数，默认1000条
+    private int defaultL1MaxSize = 1000;
+    // 二级缓存默认存活时间（秒），默认10分钟
+    private long defaultL2TtlSeconds = 600;
+    // 各缓存的单独配置，键为缓存名称
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    /**
+     * 注册两级缓存管理器
+     * @param {ObjectProvider<SharedCacheStore>} sharedStores - 容器中的共享二级缓存实现（可选）
+     * @return {TwoTierCacheManager} 返回两级缓存管理器
+     */
+    // 注册缓存管理器Bean
+    @Bean
+    // 两级缓存管理器
+    public TwoTierCacheManager cacheManager(ObjectProvider<SharedCacheStore> sharedStores) {
+        // 启用二级缓存时取容器中的实现，没有时使用内嵌实现
+        SharedCacheStore shared = l2Enabled ? sharedStores.getIfAvailable(EmbeddedSharedCacheStore::new) : null;
+        // 创建缓存管理器
+        return new TwoTierCacheManager(this, shared);
+    }
+
+    // 获取是否启用二级缓存
+    public boolean isL2Enabled() {
+        // 返回l2Enabled字段的值
+        return l2Enabled;
+    }
+
+    // 设置是否启用二级缓存
+    public void setL2Enabled(boolean l2Enabled) {
+        // 将参数值赋给l2Enabled字段
+        this.l2Enabled = l2Enabled;
+    }
+
+    // 获取一级缓存默认存活时间（秒）
+    public long getDefaultL1TtlSeconds() {
+        // 返回defaultL1TtlSeconds字段的值
+        return defaultL1TtlSeconds;
+    }
+
+    // 设置一级缓存默认存活时间（秒）
+    public void setDefaultL1TtlSeconds(long defaultL1TtlSeconds) {
+        // 将参数值赋给defaultL1TtlSeconds字段
+        this.defaultL1TtlSeconds = defaultL1TtlSeconds;
+    }
+
+    // 获取一级缓存默认最大条目数
+    public int getDefaultL1MaxSize() {
+        // 返回defaultL1MaxSize字段的值
+        return defaultL1MaxSize;
+    }
+
+    // 设置一级缓存默认最大条目数
+    public void setDefaultL1MaxSize(int defaultL1MaxSize) {
+        // 将参数值赋给defaultL1MaxSize字段
+        this.defaultL1MaxSize = defaultL1MaxSize;
+    }
+
+    // 获取二级缓存默认存活时间（秒）
+    public long getDefaultL2TtlSeconds() {
+        // 返回defaultL2TtlSeconds字段的值
+        return defaultL2TtlSeconds;
+    }
+
+    // 设置二级缓存默认存活时间（秒）
+    public void setDefaultL2TtlSeconds(long defaultL2TtlSeconds) {
+        // 将参数值赋给defaultL2TtlSeconds字段
+        this.defaultL2TtlSeconds = defaultL2TtlSeconds;
+    }
+
+    // 获取各缓存的单独配置
+    public Map<String, CacheSpec> getCaches() {
+        // 返回caches字段的值
+        return caches;
+    }
+
+    // 设置各缓存的单独配置
+    public void setCaches(Map<String, CacheSpec> caches) {
+        // 将参数值赋给caches字段
+        this.caches = caches;
+    }
+
+    /**
+     * 单个缓存的配置
+     * 功能概述：未设置的项使用默认值
+     */
+    // 单个缓存配置类
+    public static class CacheSpec {
+
+        // 一级缓存存活时间（秒）
+        private Long l1TtlSeconds;
+        // 一级缓存最大条目数
+        private Integer l1MaxSize;
+        // 二级缓存存活时间（秒）
+        private Long l2TtlSeconds;
+
+        // 获取一级缓存存活时间（秒）
+        public Long getL1TtlSeconds() {
+            // 返回l1TtlSeconds字段的值
+            return l1TtlSeconds;
+        }
+
+        // 设置一级缓存存活时间（秒）
+        public void setL1TtlSeconds(Long l1TtlSeconds) {
+            // 将参数值赋给l1TtlSeconds字段
+            this.l1TtlSeconds = l1TtlSeconds;
+        }
+
+        // 获取一级缓存最大条目数
+        public Integer getL1MaxSize() {
+            // 返回l1MaxSize字段的值
+            return l1MaxSize;
+        }
+
+        // 设置一级缓存最大条目数
+        public void setL1MaxSize(Integer l1MaxSize) {
+            // 将参数值赋给l1MaxSize字段
+            this.l1MaxSize = l1MaxSize;
+        }
+
+        // 获取二级缓存存活时间（秒）
+        public Long getL2TtlSeconds() {
+            // 返回l2TtlSeconds字段的值
+            return l2TtlSeconds;
+        }
+
+        // 设置二级缓存存活时间（秒）
+        public void setL2TtlSeconds(Long l2TtlSeconds) {
+            // 将参数值赋给l2TtlSeconds字段
+            this.l2TtlSeconds = l2TtlSeconds;
+        }
+    }
+}
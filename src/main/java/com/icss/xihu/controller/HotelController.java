@@ -1,6 +1,10 @@
 // 定义包路径，标识该类属于com.icss.xihu.controller包
 package com.icss.xihu.controller;
 
+// 导入目录数据变更事件
+import com.icss.xihu.cache.CatalogChangedEvent;
+// 导入JSON响应缓存
+import com.icss.xihu.cache.JsonResponseCache;
 // 导入地址实体类
 import com.icss.xihu.model.Address;
 // 导入酒店实体类
@@ -23,13 +27,21 @@ import com.icss.xihu.service.HotelOrderService;
 import com.icss.xihu.service.HotelService;
 // 导入统一订单新服务接口
 import com.icss.xihu.service.UnifiedOrderNewService;
+// 导入条件请求响应工具类
+import com.icss.xihu.util.ConditionalResponses;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的事件发布接口
+import org.springframework.context.ApplicationEventPublisher;
+// 导入响应实体类
+import org.springframework.http.ResponseEntity;
 // 导入Spring MVC的控制器注解
 import org.springframework.stereotype.Controller;
 // 导入Spring MVC的请求映射相关注解
 import org.springframework.web.bind.annotation.*;
 
+// 导入HTTP请求对象
+import jakarta.servlet.http.HttpServletRequest;
 // 导入HTTP会话对象
 import jakarta.servlet.http.HttpSession;
 // 导入HashMap集合类
@@ -78,6 +90,16 @@ public class HotelController {
     // 酒店Mapper对象，用于调用数据库操作方法
     private HotelMapper hotelMapper;
 
+    // 自动注入JSON响应缓存
+    @Autowired
+    // JSON响应缓存对象，用于输出预序列化的酒店列表
+    private JsonResponseCache jsonResponseCache;
+
+    // 自动注入事件发布器
+    @Autowired
+    // 事件发布器对象，酒店评分变化后发布目录数据变更事件
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * 创建酒店预订订单
      * 功能概述：处理酒店预订请求，包括生成订单号、创建酒店订单、创建订单详情、创建统一订单并建立关联关系
@@ -530,31 +552,30 @@ public class HotelController {
 
     /**
      * 获取热门酒店
-     * 功能概述：获取系统中的热门酒店列表，通常按评分或预订量排序，返回JSON格式数据
+     * 功能概述：获取系统中的热门酒店列表，通常按评分或预订量排序，返回预序列化的JSON，
+     * 酒店评分变化时失效，支持条件请求（304）
      */
     // 新增：获取热门酒店
     // 处理获取热门酒店请求，映射路径"/hotHotels"
     @RequestMapping("/hotHotels")
-    // 返回JSON格式的响应体
-    @ResponseBody
-    // 获取热门酒店处理方法，返回热门酒店列表
-    public List<Hotel> getHotHotels() {
-        // 调用酒店服务的getHotHotels方法获取热门酒店列表
-        return hs.getHotHotels();
+    // 获取热门酒店处理方法，返回热门酒店列表的JSON字节
+    public ResponseEntity<Object> getHotHotels(HttpServletRequest request) {
+        // 调用酒店服务的getHotHotels方法获取热门酒店列表，序列化结果由JSON响应缓存保存
+        return ConditionalResponses.of(request,
+                jsonResponseCache.get(CatalogChangedEvent.HOTELS, "hc:hotHotels", hs::getHotHotels));
     }
 
     /**
      * 查询所有活跃酒店
-     * 功能概述：获取系统中所有状态为活跃的酒店列表，返回JSON格式数据
+     * 功能概述：获取系统中所有状态为活跃的酒店列表，返回预序列化的JSON，酒店评分变化时失效，支持条件请求（304）
      */
     // 处理查询所有活跃酒店请求，映射路径"/allHotels"
     @RequestMapping("/allHotels")
-    // 返回JSON格式的响应体
-    @ResponseBody
-    // 查询所有活跃酒店处理方法，返回活跃酒店列表
-    public List<Hotel> findAllActive(){
-        // 调用酒店服务的findAllActive方法获取所有活跃酒店列表
-        return hs.findAllActive();
+    // 查询所有活跃酒店处理方法，返回活跃酒店列表的JSON字节
+    public ResponseEntity<Object> findAllActive(HttpServletRequest request){
+        // 调用酒店服务的findAllActive方法获取所有活跃酒店列表，序列化结果由JSON响应缓存保存
+        return ConditionalResponses.of(request,
+                jsonResponseCache.get(CatalogChangedEvent.HOTELS, "hc:allHotels", hs::findAllActive));
     }
 
     /**
@@ -627,6 +648,8 @@ public class HotelController {
                     }
                     // 更新酒店表中的评分字段
                     hotelMapper.updateHotelScore(hotelId, avgRating);
+                    // 评分变化后通知缓存的酒店列表失效
+                    eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.HOTELS));
                 }
                 // 插入成功，返回成功信息
                 result.put("success", true);
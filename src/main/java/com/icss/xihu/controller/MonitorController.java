@@ -0,0 +1,944 @@
+// 定义包路径，标识该类属于com.icss.xihu.controller包
+package com.icss.xihu.controller;
+
+// 导入JSON响应缓存
+import com.icss.xihu.cache.JsonResponseCache;
+// 导入两级缓存管理器
+import com.icss.xihu.cache.TwoTierCacheManager;
+// 导入请求合并后置处理器
+import com.icss.xihu.config.SingleFlightPostProcessor;
+// 导入用户实体类
+import com.icss.xihu.model.User;
+// 导入读写分离路由数据源
+import com.icss.xihu.datasource.ReadWriteRoutingDataSource;
+// 导入读己之写跟踪器
+import com.icss.xihu.datasource.ReadYourWritesTracker;
+// 导入地址服务接口
+import com.icss.xihu.service.AddressService;
+// 导入账单到期时间轮服务接口
+import com.icss.xihu.service.BillDueWheelService;
+// 导入账期账单生成服务接口
+import com.icss.xihu.service.BillingCycleService;
+// 导入景点服务接口
+import com.icss.xihu.service.AttractionService;
+// 导入地理位置索引服务接口
+import com.icss.xihu.service.GeoIndexService;
+// 导入JDBC调优基准对比服务接口
+import com.icss.xihu.service.JdbcBenchmarkService;
+// 导入订单过期服务接口
+import com.icss.xihu.service.OrderExpiryService;
+// 导入订单历史服务接口
+import com.icss.xihu.service.OrderHistoryService;
+// 导入发件箱分发服务接口
+import com.icss.xihu.service.OutboxService;
+// 导入逾期账单扫描服务接口
+import com.icss.xihu.service.OverdueBillSweepService;
+// 导入价格索引服务接口
+import com.icss.xihu.service.PriceIndexService;
+// 导入餐厅分面筛选服务接口
+import com.icss.xihu.service.RestaurantFacetService;
+// 导入慢查询服务接口
+import com.icss.xihu.service.SlowQueryService;
+// 导入用户统计服务接口
+import com.icss.xihu.service.UserStatsService;
+// 导入Servlet会话类
+import jakarta.servlet.http.HttpSession;
+// 导入Spring的对象提供者，用于获取可选的Bean
+import org.springframework.beans.factory.ObjectProvider;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring MVC的控制器注解
+import org.springframework.stereotype.Controller;
+// 导入Spring MVC的请求映射相关注解
+import org.springframework.web.bind.annotation.*;
+
+// 导入YearMonth类，用于解析账期
+import java.time.YearMonth;
+// 导入日期解析异常
+import java.time.format.DateTimeParseException;
+// 导入HashMap集合类
+import java.util.HashMap;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 运行监控控制器
+ * 功能概述：提供运维管理接口，包括慢查询及其执行计划的查看和清理、数据访问方案的基准对比、地理位置索引的查看和重建、地址层级树的重新加载、餐厅筛选目录的查看和重建、价格字段的同步、请求合并统计的查看、两级缓存命中率的查看和清空、JSON响应缓存的查看和失效、读写分离路由的查看、JDBC驱动调优的基准对比、逾期账单扫描进度的查看和手动启动、账单到期时间轮的查看、账期账单生成进度的查看和手动启动、用户统计校对进度的查看和手动启动、订单过期时间轮的查看和手动装载、订单历史投影的查看和手动补投影、发件箱的查看和重试已放弃的消息
+ * 访问控制：/admin下的所有接口由AdminAccessInterceptor校验，只有admin.usernames中配置的已登录用户可以访问
+ */
+// 标识该类为Spring MVC控制器，处理HTTP请求
+@Controller
+// 指定该控制器的请求路径前缀为"/admin"
+@RequestMapping("/admin")
+// 运行监控控制器类
+public class MonitorController {
+
+    // 自动注入慢查询服务，Spring容器会自动查找并注入SlowQueryService的实现类
+    @Autowired
+    // 慢查询服务对象，用于获取慢查询记录
+    private SlowQueryService slowQueryService;
+
+    // 自动注入景点服务
+    @Autowired
+    // 景点服务对象，用于执行景点详情加载基准对比
+    private AttractionService attractionService;
+
+    // 自动注入地理位置索引服务
+    @Autowired
+    // 地理位置索引服务对象，用于查看和重建附近查询索引
+    private GeoIndexService geoIndexService;
+
+    // 自动注入地址服务
+    @Autowired
+    // 地址服务对象，用于重新加载内存地址层级树
+    private AddressService addressService;
+
+    // 自动注入餐厅分面筛选服务
+    @Autowired
+    // 餐厅分面筛选服务对象，用于查看和重建餐厅筛选目录
+    private RestaurantFacetService restaurantFacetService;
+
+    // 自动注入价格索引服务
+    @Autowired
+    // 价格索引服务对象，用于手动同步价格数值字段
+    private PriceIndexService priceIndexService;
+
+    // 自动注入请求合并后置处理器
+    @Autowired
+    // 请求合并后置处理器对象，用于查看请求合并统计
+    private SingleFlightPostProcessor singleFlightPostProcessor;
+
+    // 自动注入两级缓存管理器
+    @Autowired
+    // 两级缓存管理器对象，用于查看缓存命中率和清空缓存
+    private TwoTierCacheManager cacheManager;
+
+    // 自动注入JSON响应缓存
+    @Autowired
+    // JSON响应缓存对象，用于查看和失效预序列化的接口响应
+    private JsonResponseCache jsonResponseCache;
+
+    // 自动注入读写分离路由数据源（未启用读写分离时不存在）
+    @Autowired
+    // 读写分离路由数据源提供者，用于查看主库和读库的取连接统计
+    private ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+    // 自动注入读己之写跟踪器
+    @Autowired
+    // 读己之写跟踪器对象，用于查看粘滞窗口和跟踪记录数
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    // 自动注入JDBC调优基准对比服务
+    @Autowired
+    // JDBC调优基准对比服务对象，用于对比驱动调优前后的下单和目录读取耗时
+    private JdbcBenchmarkService jdbcBenchmarkService;
+
+    // 自动注入逾期账单扫描服务
+    @Autowired
+    // 逾期账单扫描服务对象，用于查看扫描进度和手动启动扫描
+    private OverdueBillSweepService overdueBillSweepService;
+
+    // 自动注入账单到期时间轮服务
+    @Autowired
+    // 账单到期时间轮服务对象，用于查看登记和到期统计
+    private BillDueWheelService billDueWheelService;
+
+    // 自动注入账期账单生成服务
+    @Autowired
+    // 账期账单生成服务对象，用于查看进度和手动生成账单
+    private BillingCycleService billingCycleService;
+
+    // 自动注入用户统计服务
+    @Autowired
+    // 用户统计服务对象，用于查看校对进度和手动校对
+    private UserStatsService userStatsService;
+
+    // 自动注入订单过期服务
+    @Autowired
+    // 订单过期服务对象，用于查看时间轮和手动装载
+    private OrderExpiryService orderExpiryService;
+
+    // 自动注入订单历史服务
+    @Autowired
+    // 订单历史服务对象，用于查看投影进度和手动补投影
+    private OrderHistoryService orderHistoryService;
+
+    // 自动注入发件箱分发服务
+    @Autowired
+    // 发件箱分发服务对象，用于查看发件箱和重试已放弃的消息
+    private OutboxService outboxService;
+
+    /**
+     * 获取慢查询列表
+     * 功能概述：返回慢查询统计概览、按耗时倒序的最慢语句排行（含执行计划）和最近的慢查询记录
+     */
+    // 处理获取慢查询列表请求，映射路径"/admin/slowQueries"，只接受GET请求
+    @GetMapping("/slowQueries")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取慢查询列表处理方法
+    public Map<String, Object> getSlowQueries() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 慢查询统计概览
+            result.put("summary", slowQueryService.getSummary());
+            // 最慢语句排行
+            result.put("worst", slowQueryService.getWorstSlowQueries());
+            // 最近的慢查询
+            result.put("recent", slowQueryService.getRecentSlowQueries());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "获取慢查询失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 清空慢查询记录
+     * 功能概述：清空环形缓冲区和最慢语句排行，用于发布新索引后重新观察
+     */
+    // 处理清空慢查询记录请求，映射路径"/admin/slowQueries/clear"，只接受POST请求
+    @PostMapping("/slowQueries/clear")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 清空慢查询记录处理方法
+    public Map<String, Object> clearSlowQueries() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 清空慢查询记录
+        slowQueryService.clear();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 设置提示消息
+        result.put("message", "慢查询记录已清空");
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 景点详情加载基准对比
+     * 功能概述：对比旧版五表LEFT JOIN和批量加载方案的传输行数与耗时，并校验结果一致
+     * @param {int} rounds - 每种方案的执行轮数，默认5轮
+     * @return {Map<String, Object>} 返回对比结果
+     */
+    // 处理景点详情加载基准对比请求，映射路径"/admin/benchmark/attractionDetails"，只接受POST请求（会对数据库施加负载）
+    @PostMapping("/benchmark/attractionDetails")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 景点详情加载基准对比处理方法
+    public Map<String, Object> benchmarkAttractionDetails(@RequestParam(defaultValue = "5") int rounds) {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 基准对比结果
+            result.put("data", attractionService.benchmarkDetailLoading(rounds));
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "基准对比失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * JDBC驱动调优基准对比
+     * 功能概述：对比不带驱动调优参数和带jdbc-tuning驱动参数的连接池在目录读取、逐条下单、批量下单上的耗时，测试订单全部回滚
+     * @param {int} rounds - 每种连接池的执行轮数，默认5轮
+     * @param {Integer} userId - 测试订单使用的用户编号，默认1
+     * @return {Map<String, Object>} 返回对比结果
+     */
+    // 处理JDBC驱动调优基准对比请求，映射路径"/admin/benchmark/jdbcTuning"，只接受POST请求（会对数据库施加负载）
+    @PostMapping("/benchmark/jdbcTuning")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // JDBC驱动调优基准对比处理方法
+    public Map<String, Object> benchmarkJdbcTuning(@RequestParam(defaultValue = "5") int rounds,
+                                                   @RequestParam(defaultValue = "1") Integer userId) {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 基准对比结果
+            result.put("data", jdbcBenchmarkService.benchmark(rounds, userId));
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "基准对比失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取地理位置索引统计
+     * 功能概述：返回各类型地点数量、网格数量、缺少坐标未进入索引的数量和最近一次重建时间
+     */
+    // 处理获取地理位置索引统计请求，映射路径"/admin/geoIndex"，只接受GET请求
+    @GetMapping("/geoIndex")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取地理位置索引统计处理方法
+    public Map<String, Object> getGeoIndexStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 索引统计信息
+        result.put("data", geoIndexService.getIndexStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 重建地理位置索引
+     * 功能概述：批量导入坐标后立即重建索引，不必等待定时任务
+     */
+    // 处理重建地理位置索引请求，映射路径"/admin/geoIndex/rebuild"，只接受POST请求
+    @PostMapping("/geoIndex/rebuild")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 重建地理位置索引处理方法
+    public Map<String, Object> rebuildGeoIndex() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 重建索引
+            geoIndexService.rebuild();
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 索引统计信息
+            result.put("data", geoIndexService.getIndexStats());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "重建地理位置索引失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 重新加载地址层级树
+     * 功能概述：维护address表之后重新整表加载内存地址层级树，省市列表和地区名称解析立即使用新数据
+     */
+    // 处理重新加载地址层级树请求，映射路径"/admin/addressTree/reload"，只接受POST请求
+    @PostMapping("/addressTree/reload")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 重新加载地址层级树处理方法
+    public Map<String, Object> reloadAddressTree() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 重新加载并获取节点数量
+            int size = addressService.reloadAddressTree();
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 地址节点数量
+            result.put("size", size);
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "重新加载地址层级树失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取餐厅筛选目录统计
+     * 功能概述：返回餐厅数量、各维度取值数量、人均价格分桶和最近一次重建时间
+     */
+    // 处理获取餐厅筛选目录统计请求，映射路径"/admin/restaurantFacet"，只接受GET请求
+    @GetMapping("/restaurantFacet")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取餐厅筛选目录统计处理方法
+    public Map<String, Object> getRestaurantFacetStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 目录统计信息
+        result.put("data", restaurantFacetService.getIndexStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 重建餐厅筛选目录
+     * 功能概述：批量维护餐厅数据后立即重建，不必等待定时任务
+     */
+    // 处理重建餐厅筛选目录请求，映射路径"/admin/restaurantFacet/rebuild"，只接受POST请求
+    @PostMapping("/restaurantFacet/rebuild")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 重建餐厅筛选目录处理方法
+    public Map<String, Object> rebuildRestaurantFacet() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 重建目录
+            restaurantFacetService.rebuild();
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 目录统计信息
+            result.put("data", restaurantFacetService.getIndexStats());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "重建餐厅筛选目录失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 同步价格数值字段
+     * 功能概述：批量修改餐厅或景点的价格文本后立即回填price_min、price_max并重建餐厅筛选目录，不必等待定时任务
+     */
+    // 处理同步价格字段请求，映射路径"/admin/priceIndex/sync"，只接受POST请求
+    @PostMapping("/priceIndex/sync")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 同步价格字段处理方法
+    public Map<String, Object> syncPriceIndex() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 同步价格字段
+            Map<String, Object> stats = priceIndexService.syncPriceColumns();
+            // 重建餐厅筛选目录，使其使用新的价格
+            restaurantFacetService.rebuild();
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 同步统计信息
+            result.put("data", stats);
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "同步价格字段失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取请求合并统计
+     * 功能概述：返回带@SingleFlight的服务方法的调用次数、实际执行次数和被合并的次数
+     */
+    // 处理获取请求合并统计请求，映射路径"/admin/singleFlight"，只接受GET请求
+    @GetMapping("/singleFlight")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取请求合并统计处理方法
+    public Map<String, Object> getSingleFlightStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 请求合并统计信息
+        result.put("data", singleFlightPostProcessor.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取两级缓存统计
+     * 功能概述：返回每个缓存的一级命中、二级命中、未命中次数和命中率，以及条目数、淘汰数和存活时间配置
+     */
+    // 处理获取两级缓存统计请求，映射路径"/admin/caches"，只接受GET请求
+    @GetMapping("/caches")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取两级缓存统计处理方法
+    public Map<String, Object> getCacheStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 各缓存统计信息
+        result.put("data", cacheManager.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 清空两级缓存
+     * 功能概述：直接修改数据库后清空指定缓存（不传name时清空全部），二级缓存会通知其他节点清理一级缓存
+     * @param {String} name - 缓存名称，可为空
+     */
+    // 处理清空两级缓存请求，映射路径"/admin/caches/clear"，只接受POST请求
+    @PostMapping("/caches/clear")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 清空两级缓存处理方法
+    public Map<String, Object> clearCaches(@RequestParam(value = "name", required = false) String name) {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 清空缓存
+        int count = cacheManager.clear(name);
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 清空的缓存数量
+        result.put("cleared", count);
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取JSON响应缓存统计
+     * 功能概述：返回预序列化接口响应的命中次数、命中率、重新生成次数，以及各条目的大小、ETag和生成时间
+     */
+    // 处理获取JSON响应缓存统计请求，映射路径"/admin/jsonResponses"，只接受GET请求
+    @GetMapping("/jsonResponses")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取JSON响应缓存统计处理方法
+    public Map<String, Object> getJsonResponseStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // JSON响应缓存统计信息
+        result.put("data", jsonResponseCache.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 失效JSON响应缓存
+     * 功能概述：直接修改数据库后失效指定领域（hotels、restaurants、address）的缓存响应，不传domain时失效全部
+     * @param {String} domain - 领域，可为空
+     */
+    // 处理失效JSON响应缓存请求，映射路径"/admin/jsonResponses/invalidate"，只接受POST请求
+    @PostMapping("/jsonResponses/invalidate")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 失效JSON响应缓存处理方法
+    public Map<String, Object> invalidateJsonResponses(@RequestParam(value = "domain", required = false) String domain) {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 失效缓存条目
+        int count = jsonResponseCache.invalidate(domain);
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 失效的条目数量
+        result.put("invalidated", count);
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取读写分离路由统计
+     * 功能概述：返回是否启用读写分离、主库和读库的取连接次数、读库回退次数以及读己之写跟踪信息
+     */
+    // 处理获取读写分离路由统计请求，映射路径"/admin/dataSourceRouting"，只接受GET请求
+    @GetMapping("/dataSourceRouting")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取读写分离路由统计处理方法
+    public Map<String, Object> getDataSourceRoutingStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 路由数据源（未启用时为null）
+        ReadWriteRoutingDataSource routing = routingDataSource.getIfAvailable();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 是否启用读写分离
+        result.put("enabled", routing != null);
+        // 路由统计信息
+        result.put("routing", routing != null ? routing.getStats() : null);
+        // 读己之写跟踪信息
+        result.put("readYourWrites", readYourWritesTracker.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取逾期账单扫描进度
+     * 功能概述：返回是否有扫描在执行、当前轮次的批次数、读取数、更新数和游标、上一轮结果以及累计统计
+     */
+    // 处理获取逾期账单扫描进度请求，映射路径"/admin/overdueSweep"，只接受GET请求
+    @GetMapping("/overdueSweep")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取逾期账单扫描进度处理方法
+    public Map<String, Object> getOverdueSweepStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 扫描进度
+        result.put("data", overdueBillSweepService.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 手动启动逾期账单扫描
+     * 功能概述：在后台启动一轮扫描并立即返回，进度通过/admin/overdueSweep查看；已有扫描在执行时不重复启动
+     */
+    // 处理启动逾期账单扫描请求，映射路径"/admin/overdueSweep/run"，只接受POST请求
+    @PostMapping("/overdueSweep/run")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 启动逾期账单扫描处理方法
+    public Map<String, Object> runOverdueSweep() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 在后台启动扫描
+        boolean started = overdueBillSweepService.startSweep("admin");
+        // 设置返回结果
+        result.put("success", started);
+        // 设置提示消息
+        result.put("message", started ? "已在后台启动逾期账单扫描" : "已有逾期账单扫描在执行");
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取账单到期时间轮统计
+     * 功能概述：返回装载范围、时间轮中尚未到期的账单数、等待更新的账单数以及累计到期和变为逾期的账单数
+     */
+    // 处理获取账单到期时间轮统计请求，映射路径"/admin/billDueWheel"，只接受GET请求
+    @GetMapping("/billDueWheel")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取账单到期时间轮统计处理方法
+    public Map<String, Object> getBillDueWheelStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 时间轮统计信息
+        result.put("data", billDueWheelService.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取账期账单生成进度
+     * 功能概述：返回是否有生成在执行、当前轮次读取的账户数、插入和跳过的账单数、上一轮结果以及累计统计
+     */
+    // 处理获取账期账单生成进度请求，映射路径"/admin/billingCycle"，只接受GET请求
+    @GetMapping("/billingCycle")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取账期账单生成进度处理方法
+    public Map<String, Object> getBillingCycleStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 生成进度
+        result.put("data", billingCycleService.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 手动启动账期账单生成
+     * 功能概述：在后台为所有有效账户生成指定账期的账单并立即返回，进度通过/admin/billingCycle查看；
+     * 已生成的账单不会重复生成，可以重复执行补齐；只有管理员可以调用（AdminAccessInterceptor），不接受当前月之后的账期，
+     * 触发来源记录为操作的管理员
+     * @param {String} period - 账期（yyyy-MM），为空时为上个月
+     * @param {HttpSession} session - 会话对象，用于读取操作的管理员
+     */
+    // 处理启动账期账单生成请求，映射路径"/admin/billingCycle/run"，只接受POST请求
+    @PostMapping("/billingCycle/run")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 启动账期账单生成处理方法
+    public Map<String, Object> runBillingCycle(@RequestParam(required = false) String period, HttpSession session) {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 账期
+        YearMonth billingPeriod;
+        // 使用try-catch处理账期格式错误
+        try {
+            // 未指定时为上个月
+            billingPeriod = period == null || period.isBlank() ? YearMonth.now().minusMonths(1) : YearMonth.parse(period.trim());
+        // 捕获日期解析异常
+        } catch (DateTimeParseException e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置提示消息
+            result.put("message", "账期格式错误，应为yyyy-MM");
+            // 返回结果
+            return result;
+        }
+        // 不为未来的账期生成账单
+        if (billingPeriod.isAfter(YearMonth.now())) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置提示消息
+            result.put("message", "不能生成当前月之后的账期 " + billingPeriod);
+            // 返回结果
+            return result;
+        }
+        // 操作的管理员（拦截器已校验登录和管理权限）
+        User operator = (User) session.getAttribute("user");
+        // 在后台启动生成
+        boolean started = billingCycleService.startGeneration(billingPeriod, "admin:" + operator.getUsername());
+        // 设置返回结果
+        result.put("success", started);
+        // 设置提示消息
+        result.put("message", started ? "已在后台启动账期 " + billingPeriod + " 的账单生成" : "已有账期账单生成在执行");
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取用户统计校对进度
+     * 功能概述：返回计数表是否可用、统计行重建次数、当前轮次检查和修正的用户数、上一轮结果以及累计统计
+     */
+    // 处理获取用户统计校对进度请求，映射路径"/admin/userStats"，只接受GET请求
+    @GetMapping("/userStats")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取用户统计校对进度处理方法
+    public Map<String, Object> getUserStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 校对进度
+        result.put("data", userStatsService.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 手动启动用户统计校对
+     * 功能概述：在后台比较各用户的缴费统计、订单统计与明细，不一致的用户从明细重建并立即返回，进度通过/admin/userStats查看
+     */
+    // 处理启动用户统计校对请求，映射路径"/admin/userStats/reconcile"，只接受POST请求
+    @PostMapping("/userStats/reconcile")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 启动用户统计校对处理方法
+    public Map<String, Object> reconcileUserStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 在后台启动校对
+        boolean started = userStatsService.startReconcile("admin");
+        // 设置返回结果
+        result.put("success", started);
+        // 设置提示消息
+        result.put("message", started ? "已在后台启动用户统计校对" : "已有用户统计校对在执行");
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取订单过期时间轮统计
+     * 功能概述：返回有效期、装载范围、时间轮中待过期的订单数、等待取消的订单数、累计到期数、取消数、补登记数和上一次装载的结果
+     */
+    // 处理获取订单过期时间轮统计请求，映射路径"/admin/orderExpiry"，只接受GET请求
+    @GetMapping("/orderExpiry")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取订单过期时间轮统计处理方法
+    public Map<String, Object> getOrderExpiryStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 时间轮统计
+        result.put("data", orderExpiryService.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 手动装载订单过期时间轮
+     * 功能概述：装载即将过期的订单，已登记的订单跳过
+     */
+    // 处理装载订单过期时间轮请求，映射路径"/admin/orderExpiry/reload"，只接受POST请求
+    @PostMapping("/orderExpiry/reload")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 装载订单过期时间轮处理方法
+    public Map<String, Object> reloadOrderExpiry() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获装载异常
+        try {
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 装载结果
+            result.put("data", orderExpiryService.reload());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "装载失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 手动补登记订单过期时间
+     * 功能概述：为尚未登记的待支付订单（如在应用之外新建的订单）补登记过期时间，需要扫描整个统一订单表；
+     * 补登记的订单由下一次装载登记到时间轮
+     */
+    // 处理补登记订单过期时间请求，映射路径"/admin/orderExpiry/backfill"，只接受POST请求
+    @PostMapping("/orderExpiry/backfill")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 补登记订单过期时间处理方法
+    public Map<String, Object> backfillOrderExpiry() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获补登记异常
+        try {
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 补登记结果
+            result.put("data", orderExpiryService.backfill());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "补登记失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取订单历史投影统计
+     * 功能概述：返回投影检查点、检查点之后已投影的事件数、累计读取的事件数、投影数、读取前补齐次数和上一次补投影的结果
+     */
+    // 处理获取订单历史投影统计请求，映射路径"/admin/orderHistory"，只接受GET请求
+    @GetMapping("/orderHistory")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取订单历史投影统计处理方法
+    public Map<String, Object> getOrderHistoryStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 投影统计
+        result.put("data", orderHistoryService.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 手动补投影订单历史
+     * 功能概述：为还没有订单历史的统一订单投影订单历史，如直接向unified_order导入数据之后；已有订单历史的订单跳过
+     */
+    // 处理补投影订单历史请求，映射路径"/admin/orderHistory/backfill"，只接受POST请求
+    @PostMapping("/orderHistory/backfill")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 补投影订单历史处理方法
+    public Map<String, Object> backfillOrderHistory() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获补投影异常
+        try {
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 补投影结果
+            result.put("data", orderHistoryService.backfill());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "补投影失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取发件箱统计
+     * 功能概述：返回待处理和已放弃的消息数、累计领取数、成功数、失败数、放弃数和上一次错误
+     */
+    // 处理获取发件箱统计请求，映射路径"/admin/outbox"，只接受GET请求
+    @GetMapping("/outbox")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 获取发件箱统计处理方法
+    public Map<String, Object> getOutboxStats() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 发件箱统计
+        result.put("data", outboxService.getStats());
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 重试已放弃的消息
+     * 功能概述：把超过最大尝试次数而放弃的发件箱消息恢复为待处理，如修复模块订单表或短信服务之后；下一次分发时立即处理
+     */
+    // 处理重试已放弃消息请求，映射路径"/admin/outbox/retry"，只接受POST请求
+    @PostMapping("/outbox/retry")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 重试已放弃消息处理方法
+    public Map<String, Object> retryOutbox() {
+        // 创建结果Map对象
+        Map<String, Object> result = new HashMap<>();
+        // 使用try-catch捕获异常
+        try {
+            // 恢复已放弃的消息
+            int revived = outboxService.reviveDead();
+            // 设置返回结果为成功
+            result.put("success", true);
+            // 设置提示消息
+            result.put("message", "已恢复" + revived + "条消息");
+            // 恢复的消息数
+            result.put("data", revived);
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "重试失败：" + e.getMessage());
+        }
+        // 返回结果
+        return result;
+    }
+}
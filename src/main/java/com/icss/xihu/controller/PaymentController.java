@@ -9,18 +9,32 @@ import com.icss.xihu.model.PaymentType;
 import com.icss.xihu.model.User;
 // 导入统一订单新实体类
 import com.icss.xihu.model.UnifiedOrderNew;
+// 导入数据导出服务接口
+import com.icss.xihu.service.ExportService;
 // 导入缴费服务接口
 import com.icss.xihu.service.PaymentService;
 // 导入统一订单新服务接口
 import com.icss.xihu.service.UnifiedOrderNewService;
+// 导入流式导出写出器
+import com.icss.xihu.util.StreamingExporter;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入HTTP响应头常量
+import org.springframework.http.HttpHeaders;
+// 导入HTTP状态码枚举
+import org.springframework.http.HttpStatus;
+// 导入媒体类型类
+import org.springframework.http.MediaType;
+// 导入响应实体类
+import org.springframework.http.ResponseEntity;
 // 导入Spring MVC的控制器注解
 import org.springframework.stereotype.Controller;
 // 导入Spring MVC的模型对象，用于向视图传递数据
 import org.springframework.ui.Model;
 // 导入Spring MVC的请求映射相关注解
 import org.springframework.web.bind.annotation.*;
+// 导入流式响应体接口
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 // 导入HTTP会话对象
 import jakarta.servlet.http.HttpSession;
@@ -52,6 +66,11 @@ public class PaymentController {
     // 统一订单新服务对象，用于调用统一订单相关的业务逻辑
     private UnifiedOrderNewService unifiedOrderNewService;
 
+    // 自动注入数据导出服务，Spring容器会自动查找并注入ExportService的实现类
+    @Autowired
+    // 数据导出服务对象，用于流式导出账单
+    private ExportService exportService;
+
     /**
      * 生活缴费首页
      * 功能概述：处理生活缴费首页的请求，需要用户登录，返回缴费类型列表
@@ -305,6 +324,67 @@ public class PaymentController {
         return result;
     }
 
+    /**
+     * 导出账单
+     * 功能概述：以JSON数组、NDJSON或CSV格式导出当前用户的全部历史账单，可按账单状态过滤，
+     * 账单从数据库流式读取后立即写出，响应分块传输，服务端内存占用与账单数量无关
+     * @param {String} format - 导出格式（json、ndjson、csv），默认json
+     * @param {Integer} status - 账单状态，可选
+     * @return {ResponseEntity<?>} 返回导出文件，未登录返回401，格式无法识别返回400
+     */
+    // 处理导出账单请求，映射路径"/bills/export"，只接受GET请求
+    @GetMapping("/bills/export")
+    // 导出账单处理方法，返回流式响应
+    public ResponseEntity<?> exportBills(@RequestParam(value = "format", required = false) String format,
+                                         @RequestParam(value = "status", required = false) Integer status,
+                                         HttpSession session) {
+        // 创建结果Map对象，用于封装错误信息
+        Map<String, Object> result = new HashMap<>();
+
+        // 从会话中获取当前登录的用户对象
+        User user = (User) session.getAttribute("user");
+        // 判断用户是否已登录
+        if (user == null) {
+            // 如果未登录，设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "请先登录");
+            // 设置错误码
+            result.put("code", "NOT_LOGIN");
+            // 返回401
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(result);
+        }
+
+        // 导出格式
+        StreamingExporter.Format exportFormat;
+        // 使用try-catch解析导出格式
+        try {
+            // 解析导出格式
+            exportFormat = StreamingExporter.Format.parse(format);
+        // 捕获格式无法识别的异常
+        } catch (IllegalArgumentException e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "不支持的导出格式：" + format);
+            // 返回400
+            return ResponseEntity.badRequest().body(result);
+        }
+
+        // 当前用户编号（响应体在请求线程之外写出，不再访问会话）
+        Integer userId = user.getId();
+        // 流式响应体，写出时才执行查询
+        StreamingResponseBody body = out -> exportService.exportBills(userId, status, exportFormat, out);
+        // 返回附件形式的流式响应
+        return ResponseEntity.ok()
+                // 设置下载文件名
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bills." + exportFormat.getExtension())
+                // 设置内容类型
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                // 设置响应体
+                .body(body);
+    }
+
     /**
      * 获取缴费统计信息
      * 功能概述：获取当前用户的缴费统计信息，包括缴费总额、缴费次数等，返回JSON格式数据
@@ -1,8 +1,14 @@
 // 定义包路径，标识该类属于com.icss.xihu.controller包
 package com.icss.xihu.controller;
 
+// 导入目录数据变更事件
+import com.icss.xihu.cache.CatalogChangedEvent;
+// 导入JSON响应缓存
+import com.icss.xihu.cache.JsonResponseCache;
 // 导入餐厅实体类
 import com.icss.xihu.model.Restaurant;
+// 导入餐厅分面筛选条件实体类
+import com.icss.xihu.model.RestaurantFacetQuery;
 // 导入餐厅订单实体类
 import com.icss.xihu.model.RestaurantOrder;
 // 导入餐厅评价实体类
@@ -15,12 +21,18 @@ import com.icss.xihu.model.UnifiedOrderNew;
 import com.icss.xihu.model.User;
 // 导入餐厅Mapper接口
 import com.icss.xihu.mapper.RestaurantMapper;
+// 导入餐厅分面筛选服务接口
+import com.icss.xihu.service.RestaurantFacetService;
 // 导入餐厅服务接口
 import com.icss.xihu.service.RestaurantService;
 // 导入统一订单新服务接口
 import com.icss.xihu.service.UnifiedOrderNewService;
+// 导入条件请求响应工具类
+import com.icss.xihu.util.ConditionalResponses;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入响应实体类
+import org.springframework.http.ResponseEntity;
 // 导入Spring MVC的控制器注解
 import org.springframework.stereotype.Controller;
 // 导入Spring MVC的模型对象，用于向视图传递数据
@@ -28,6 +40,8 @@ import org.springframework.ui.Model;
 // 导入Spring MVC的请求映射相关注解
 import org.springframework.web.bind.annotation.*;
 
+// 导入HTTP请求对象
+import jakarta.servlet.http.HttpServletRequest;
 // 导入HTTP会话对象
 import jakarta.servlet.http.HttpSession;
 // 导入BigDecimal类，用于精确的金额计算
@@ -65,6 +79,16 @@ public class RestaurantController {
     // 餐厅Mapper对象，用于直接调用数据库操作方法
     private RestaurantMapper restaurantMapper;
 
+    // 自动注入餐厅分面筛选服务，Spring容器会自动查找并注入RestaurantFacetService的实现类
+    @Autowired
+    // 餐厅分面筛选服务对象，用于在内存位图上组合筛选餐厅并计算分面计数
+    private RestaurantFacetService restaurantFacetService;
+
+    // 自动注入JSON响应缓存
+    @Autowired
+    // JSON响应缓存对象，用于输出预序列化的菜系统计
+    private JsonResponseCache jsonResponseCache;
+
     /**
      * 美食首页
      * 功能概述：处理美食首页的请求，支持关键词搜索和分类筛选，返回餐厅列表、菜系、城市和统计数据
@@ -118,54 +142,30 @@ public class RestaurantController {
 
     /**
      * 餐厅列表（支持筛选）
-     * 功能概述：处理餐厅列表页面的请求，支持多种筛选条件（关键词、分类、城市、省份、价格区间、评分），返回餐厅列表视图
+     * 功能概述：处理餐厅列表页面的请求，关键词、分类、城市、省份、价格区间、评分可以任意组合（同一参数传多个值时为"或"），
+     * 在内存位图上完成筛选和分面计数，返回餐厅列表视图
      */
     // 处理餐厅列表请求，映射路径"/list"，只接受GET请求
     @GetMapping("/list")
     // 餐厅列表处理方法，接收多种筛选参数（均为可选）
-    public String restaurantList(@RequestParam(required = false) String category,
-                                @RequestParam(required = false) String city,
-                                @RequestParam(required = false) String province,
+    public String restaurantList(@RequestParam(required = false) List<String> category,
+                                @RequestParam(required = false) List<String> city,
+                                @RequestParam(required = false) List<String> province,
                                 @RequestParam(required = false) String priceRange,
                                 @RequestParam(required = false) Double minRating,
                                 @RequestParam(required = false) String keyword,
+                                @RequestParam(required = false) String sort,
                                 Model model) {
-        // 声明餐厅列表变量
-        List<Restaurant> restaurants;
-        
-        // 根据筛选条件查询餐厅
-        // 判断关键词是否不为空
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            // 如果关键词不为空，调用餐厅服务的searchRestaurants方法，根据关键词搜索餐厅
-            restaurants = restaurantService.searchRestaurants(keyword);
-        // 判断分类是否不为空
-        } else if (category != null && !category.trim().isEmpty()) {
-            // 如果分类不为空，调用餐厅服务的getRestaurantsByCategory方法，根据分类查询餐厅
-            restaurants = restaurantService.getRestaurantsByCategory(category);
-        // 判断城市是否不为空
-        } else if (city != null && !city.trim().isEmpty()) {
-            // 如果城市不为空，调用餐厅服务的getRestaurantsByCity方法，根据城市查询餐厅
-            restaurants = restaurantService.getRestaurantsByCity(city);
-        // 判断省份是否不为空
-        } else if (province != null && !province.trim().isEmpty()) {
-            // 如果省份不为空，调用餐厅服务的getRestaurantsByProvince方法，根据省份查询餐厅
-            restaurants = restaurantService.getRestaurantsByProvince(province);
-        // 判断价格区间是否不为空
-        } else if (priceRange != null && !priceRange.trim().isEmpty()) {
-            // 如果价格区间不为空，调用餐厅服务的getRestaurantsByPriceRange方法，根据价格区间查询餐厅
-            restaurants = restaurantService.getRestaurantsByPriceRange(priceRange);
-        // 判断最低评分是否不为空
-        } else if (minRating != null) {
-            // 如果最低评分不为空，调用餐厅服务的getRestaurantsByRating方法，根据最低评分查询餐厅
-            restaurants = restaurantService.getRestaurantsByRating(minRating);
-        // 如果所有筛选条件都为空
-        } else {
-            // 调用餐厅服务的findAllRestaurants方法，获取所有餐厅列表
-            restaurants = restaurantService.findAllRestaurants();
-        }
-        
+        // 根据请求参数创建筛选条件，调用餐厅分面筛选服务的search方法筛选餐厅并计算分面计数
+        Map<String, Object> result = restaurantFacetService.search(
+                buildFacetQuery(category, city, province, priceRange, minRating, keyword, sort, null));
+
         // 将餐厅列表添加到模型中，供前端模板使用，键名为"restaurants"
-        model.addAttribute("restaurants", restaurants);
+        model.addAttribute("restaurants", result.get("restaurants"));
+        // 将满足条件的餐厅总数添加到模型中，键名为"total"
+        model.addAttribute("total", result.get("total"));
+        // 将分面计数添加到模型中，键名为"facets"
+        model.addAttribute("facets", result.get("facets"));
         // 将菜系列表添加到模型中，供前端模板使用，键名为"categories"
         model.addAttribute("categories", restaurantService.getAllCategories());
         // 将城市列表添加到模型中，供前端模板使用，键名为"cities"
@@ -177,6 +177,54 @@ public class RestaurantController {
         return "foodIndex";
     }
 
+    /**
+     * 餐厅列表接口（支持筛选，JSON格式）
+     * 功能概述：与/food/list使用相同的筛选条件，返回餐厅列表、总数、各维度的分面计数和查询耗时，供前端异步筛选使用
+     */
+    // 处理餐厅列表接口请求，映射路径"/api/list"，只接受GET请求
+    @GetMapping("/api/list")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 餐厅列表接口处理方法，接收多种筛选参数（均为可选）
+    public Map<String, Object> restaurantListApi(@RequestParam(required = false) List<String> category,
+                                                 @RequestParam(required = false) List<String> city,
+                                                 @RequestParam(required = false) List<String> province,
+                                                 @RequestParam(required = false) String priceRange,
+                                                 @RequestParam(required = false) Double minRating,
+                                                 @RequestParam(required = false) String keyword,
+                                                 @RequestParam(required = false) String sort,
+                                                 @RequestParam(required = false) Integer limit) {
+        // 根据请求参数创建筛选条件，调用餐厅分面筛选服务的search方法并返回结果
+        return restaurantFacetService.search(
+                buildFacetQuery(category, city, province, priceRange, minRating, keyword, sort, limit));
+    }
+
+    // 根据请求参数创建餐厅分面筛选条件
+    private RestaurantFacetQuery buildFacetQuery(List<String> category, List<String> city, List<String> province,
+                                                 String priceRange, Double minRating, String keyword,
+                                                 String sort, Integer limit) {
+        // 创建筛选条件
+        RestaurantFacetQuery query = new RestaurantFacetQuery();
+        // 设置菜系列表
+        query.setCategories(category);
+        // 设置城市列表
+        query.setCities(city);
+        // 设置省份列表
+        query.setProvinces(province);
+        // 设置人均价格区间
+        query.setPriceRange(priceRange);
+        // 设置最低评分
+        query.setMinRating(minRating);
+        // 设置关键词
+        query.setKeyword(keyword);
+        // 设置排序方式
+        query.setSort(sort);
+        // 设置返回数量上限
+        query.setLimit(limit);
+        // 返回筛选条件
+        return query;
+    }
+
     /**
      * 餐厅详情
      * 功能概述：处理餐厅详情页面的请求，根据餐厅ID查询餐厅信息、评价、菜单等，返回餐厅详情视图
@@ -669,16 +717,16 @@ public class RestaurantController {
 
     /**
      * 获取菜系统计数据（用于词云）
-     * 功能概述：获取所有菜系的统计数据，用于词云可视化，返回JSON格式数据
+     * 功能概述：获取所有菜系的统计数据，用于词云可视化，返回预序列化的JSON，
+     * 餐厅目录重建时失效，支持条件请求（304）
      */
     // 处理获取菜系统计数据请求，映射路径"/statistics/categories"，只接受GET请求
     @GetMapping("/statistics/categories")
-    // 返回JSON格式的响应体
-    @ResponseBody
-    // 获取菜系统计数据处理方法，返回菜系统计数据列表
-    public List<Map<String, Object>> getCategoryStatistics() {
-        // 调用餐厅服务的getCategoryStatistics方法获取菜系统计数据
-        return restaurantService.getCategoryStatistics();
+    // 获取菜系统计数据处理方法，返回菜系统计数据列表的JSON字节
+    public ResponseEntity<Object> getCategoryStatistics(HttpServletRequest request) {
+        // 调用餐厅服务的getCategoryStatistics方法获取菜系统计数据，序列化结果由JSON响应缓存保存
+        return ConditionalResponses.of(request, jsonResponseCache.get(CatalogChangedEvent.RESTAURANTS,
+                "food:statistics:categories", restaurantService::getCategoryStatistics));
     }
 
     /**
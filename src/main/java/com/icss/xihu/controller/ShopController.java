@@ -1,6 +1,8 @@
 // 定义包路径，标识该类属于com.icss.xihu.controller包
 package com.icss.xihu.controller;
 
+// 导入分页结果记录
+import com.icss.xihu.model.PageResult;
 // 导入商品实体类
 import com.icss.xihu.model.Product;
 // 导入统一订单新实体类
@@ -81,7 +83,7 @@ public class ShopController {
     // 返回JSON格式的响应体，而不是视图
     @ResponseBody
     // 获取商品列表处理方法，接收分页参数、关键词和分类参数
-    public Map<String, Object> list(@RequestParam(defaultValue = "1") int page,
+    public PageResult<Product> list(@RequestParam(defaultValue = "1") int page,
                                     @RequestParam(defaultValue = "12") int pageSize,
                                     @RequestParam(required = false) String keyword,
                                     @RequestParam(required = false) String category) {
@@ -1,12 +1,30 @@
 // 定义包路径，标识该类属于com.icss.xihu.controller包
 package com.icss.xihu.controller;
 
+// 导入目录数据变更事件
+import com.icss.xihu.cache.CatalogChangedEvent;
+// 导入JSON响应缓存
+import com.icss.xihu.cache.JsonResponseCache;
+// 导入预序列化JSON响应实体类
+import com.icss.xihu.model.JsonPayload;
+// 导入地区景点响应记录
+import com.icss.xihu.model.RegionAttractions;
 // 导入旅游目的地实体类
 import com.icss.xihu.model.TravelDestination;
 // 导入统一订单新实体类
 import com.icss.xihu.model.UnifiedOrderNew;
 // 导入旅游订单实体类
 import com.icss.xihu.model.TravelOrder;
+// 导入地址服务接口
+import com.icss.xihu.service.AddressService;
+// 导入数据导出服务接口
+import com.icss.xihu.service.ExportService;
+// 导入地理位置索引服务接口
+import com.icss.xihu.service.GeoIndexService;
+// 导入价格索引服务接口
+import com.icss.xihu.service.PriceIndexService;
+// 导入省份统计服务接口
+import com.icss.xihu.service.ProvinceStatsService;
 // 导入旅游服务接口
 import com.icss.xihu.service.TravelService;
 // 导入统一订单新服务接口
@@ -15,15 +33,29 @@ import com.icss.xihu.service.UnifiedOrderNewService;
 import com.icss.xihu.service.TravelOrderService;
 // 导入字符集修复工具类
 import com.icss.xihu.util.CharsetFixUtil;
+// 导入条件请求响应工具类
+import com.icss.xihu.util.ConditionalResponses;
+// 导入流式导出写出器
+import com.icss.xihu.util.StreamingExporter;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入HTTP响应头常量
+import org.springframework.http.HttpHeaders;
+// 导入媒体类型类
+import org.springframework.http.MediaType;
+// 导入响应实体类
+import org.springframework.http.ResponseEntity;
 // 导入Spring MVC的控制器注解
 import org.springframework.stereotype.Controller;
 // 导入Spring MVC的模型对象，用于向视图传递数据
 import org.springframework.ui.Model;
 // 导入Spring MVC的请求映射相关注解
 import org.springframework.web.bind.annotation.*;
+// 导入流式响应体接口
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+// 导入HTTP请求对象
+import jakarta.servlet.http.HttpServletRequest;
 // 导入HTTP会话对象
 import jakarta.servlet.http.HttpSession;
 
@@ -67,6 +99,36 @@ public class TravelController {
     // 统一订单新服务对象，用于调用统一订单相关的业务逻辑
     private UnifiedOrderNewService unifiedOrderNewService;
 
+    // 自动注入地理位置索引服务，Spring容器会自动查找并注入GeoIndexService的实现类
+    @Autowired
+    // 地理位置索引服务对象，用于附近查询
+    private GeoIndexService geoIndexService;
+
+    // 自动注入省份统计服务，Spring容器会自动查找并注入ProvinceStatsService的实现类
+    @Autowired
+    // 省份统计服务对象，用于输出预序列化的省份地图数据
+    private ProvinceStatsService provinceStatsService;
+
+    // 自动注入地址服务，Spring容器会自动查找并注入AddressService的实现类
+    @Autowired
+    // 地址服务对象，用于按前缀搜索地区
+    private AddressService addressService;
+
+    // 自动注入数据导出服务，Spring容器会自动查找并注入ExportService的实现类
+    @Autowired
+    // 数据导出服务对象，用于流式导出景点目录
+    private ExportService exportService;
+
+    // 自动注入价格索引服务
+    @Autowired
+    // 价格索引服务对象，用于按价格区间查询景点
+    private PriceIndexService priceIndexService;
+
+    // 自动注入JSON响应缓存
+    @Autowired
+    // JSON响应缓存对象，用于输出预序列化的省份列表
+    private JsonResponseCache jsonResponseCache;
+
     /**
      * 旅游首页 - 显示中国地图
      * 功能概述：处理旅游首页的请求，返回旅游首页视图，显示中国地图
@@ -100,18 +162,19 @@ public class TravelController {
 
     /**
      * 获取省份地图数据（用于ECharts）
-     * 功能概述：获取所有省份的地图数据，用于ECharts地图可视化，返回JSON格式数据
+     * 功能概述：直接输出预先序列化好的省份统计JSON（景点数量、平均评分、订单量），
+     * 携带ETag和Last-Modified，客户端带If-None-Match或If-Modified-Since且数据未变化时返回304，不再传输响应体
      */
     // 处理获取省份地图数据请求，映射路径"/api/provinces"，只接受GET请求
     @GetMapping("/api/provinces")
-    // 返回JSON格式的响应体
-    @ResponseBody
-    // 获取省份地图数据处理方法，返回省份地图数据
-    public Map<String, Object> getProvinceMapData() {
+    // 获取省份地图数据处理方法，正常时返回预序列化的JSON字节，出错时返回错误Map
+    public ResponseEntity<Object> getProvinceMapData(HttpServletRequest request) {
         // 使用try-catch捕获异常
         try {
-            // 调用旅游服务的getProvinceMapData方法获取省份地图数据
-            return travelService.getProvinceMapData();
+            // 获取预序列化的省份地图数据
+            JsonPayload payload = provinceStatsService.getProvinceMapPayload();
+            // 客户端缓存仍然有效时返回304，否则返回JSON字节
+            return ConditionalResponses.of(request, payload);
         // 捕获所有异常
         } catch (Exception e) {
             // 创建错误结果Map对象
@@ -120,8 +183,8 @@ public class TravelController {
             error.put("success", false);
             // 设置错误消息，包含异常信息
             error.put("message", "获取省份数据失败：" + e.getMessage());
-            // 返回错误结果
-            return error;
+            // 返回错误结果，由Jackson序列化
+            return ResponseEntity.ok(error);
         }
     }
 
@@ -316,23 +379,28 @@ public class TravelController {
     // 基于attractions表的地区查询接口
     /**
      * 获取所有省份（从address表）
-     * 功能概述：从address表中获取所有省份数据（deep=0），不限制是否有景点数据
+     * 功能概述：从address表中获取所有省份数据（deep=0），不限制是否有景点数据；
+     * 响应经JsonResponseCache预序列化，地址层级树重新加载时失效，支持条件请求（304）
      */
     @GetMapping("/api/addressProvinces")
-    @ResponseBody
-    public Map<String, Object> getProvincesFromAddress() {
-        Map<String, Object> result = new HashMap<>();
+    public ResponseEntity<Object> getProvincesFromAddress(HttpServletRequest request) {
         try {
-            List<String> provinces = travelService.getProvincesFromAddress();
-            result.put("success", true);
-            result.put("provinces", provinces);
-            result.put("total", provinces.size());
+            JsonPayload payload = jsonResponseCache.get(CatalogChangedEvent.ADDRESS, "travel:addressProvinces", () -> {
+                List<String> provinces = travelService.getProvincesFromAddress();
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", true);
+                result.put("provinces", provinces);
+                result.put("total", provinces.size());
+                return result;
+            });
+            return ConditionalResponses.of(request, payload);
         } catch (Exception e) {
+            Map<String, Object> result = new HashMap<>();
             result.put("success", false);
             result.put("message", "获取省份失败：" + e.getMessage());
             result.put("provinces", Collections.emptyList());
+            return ResponseEntity.ok(result);
         }
-        return result;
     }
 
     /**
@@ -357,6 +425,50 @@ public class TravelController {
         return result;
     }
 
+    /**
+     * 按前缀搜索地区（从内存地址层级树）
+     * 功能概述：按名称前缀搜索省、市、区县，返回编号、名称、层级和完整路径，用于地区输入框的联想提示
+     */
+    @GetMapping("/api/addressSearch")
+    @ResponseBody
+    public Map<String, Object> searchAddressByPrefix(@RequestParam("prefix") String prefix,
+                                                     @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            List<Map<String, Object>> regions = addressService.searchByPrefix(prefix, limit);
+            result.put("success", true);
+            result.put("regions", regions);
+            result.put("total", regions.size());
+            result.put("prefix", prefix);
+        } catch (Exception e) {
+            result.put("success", false);
+            result.put("message", "搜索地区失败：" + e.getMessage());
+            result.put("regions", Collections.emptyList());
+        }
+        return result;
+    }
+
+    /**
+     * 按价格区间查询景点
+     * 功能概述：使用price_min、price_max数值字段及其索引查询，priceRange如"50-100"、"100+"，也可传minPrice、maxPrice
+     */
+    @GetMapping("/api/attractionsByPrice")
+    @ResponseBody
+    public Map<String, Object> getAttractionsByPrice(@RequestParam(value = "priceRange", required = false) String priceRange,
+                                                     @RequestParam(value = "minPrice", required = false) Integer minPrice,
+                                                     @RequestParam(value = "maxPrice", required = false) Integer maxPrice,
+                                                     @RequestParam(value = "limit", defaultValue = "50") Integer limit) {
+        try {
+            return priceIndexService.findAttractionsByPrice(priceRange, minPrice, maxPrice, limit);
+        } catch (Exception e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("message", "按价格查询景点失败：" + e.getMessage());
+            result.put("attractions", Collections.emptyList());
+            return result;
+        }
+    }
+
     /**
      * 根据省份和城市获取完整旅游信息
      */
@@ -368,13 +480,80 @@ public class TravelController {
         return travelService.getTravelInfoByLocation(province, city);
     }
 
+    /**
+     * 查询附近的景点、酒店、餐厅
+     * 功能概述：基于内存网格索引，按距离由近到远返回坐标附近最多k个地点，不访问数据库
+     * @param {double} lat - 纬度
+     * @param {double} lng - 经度
+     * @param {Double} radius - 查询半径（公里），可选
+     * @param {String} type - 地点类型（attraction、hotel、restaurant、all），可选
+     * @param {Integer} k - 返回数量，可选
+     * @return {Map<String, Object>} 返回附近地点列表
+     */
+    @GetMapping("/api/nearby")
+    @ResponseBody
+    public Map<String, Object> getNearby(
+            @RequestParam("lat") double lat,
+            @RequestParam("lng") double lng,
+            @RequestParam(value = "radius", required = false) Double radius,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "k", required = false) Integer k) {
+        return geoIndexService.findNearby(lat, lng, radius, type, k);
+    }
+
+    /**
+     * 查询酒店附近的景点、酒店、餐厅
+     * 功能概述：以酒店坐标为中心查询附近地点，用于"酒店周边"推荐
+     * @param {Long} hotelId - 酒店编号
+     * @param {Double} radius - 查询半径（公里），可选
+     * @param {String} type - 地点类型（attraction、hotel、restaurant、all），可选
+     * @param {Integer} k - 返回数量，可选
+     * @return {Map<String, Object>} 返回附近地点列表
+     */
+    @GetMapping("/api/hotelNearby")
+    @ResponseBody
+    public Map<String, Object> getHotelNearby(
+            @RequestParam("hotelId") Long hotelId,
+            @RequestParam(value = "radius", required = false) Double radius,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "k", required = false) Integer k) {
+        return geoIndexService.findNearbyHotel(hotelId, radius, type, k);
+    }
+
     /**
      * 根据省份获取所有景点
+     * 功能概述：省份景点列表可能很大，以流式JSON写出，景点边从数据库逐行读取边写出，JSON结构不变
      */
     @GetMapping("/api/provinceAttractions")
-    @ResponseBody
-    public Map<String, Object> getAttractionsByProvince(@RequestParam("province") String province) {
-        return travelService.getAttractionsByProvince(province);
+    public ResponseEntity<StreamingResponseBody> getAttractionsByProvince(@RequestParam("province") String province) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> travelService.writeAttractionsByProvince(province, out));
+    }
+
+    /**
+     * 导出全部景点
+     * 功能概述：以JSON数组、NDJSON或CSV格式导出全部景点目录，景点从数据库流式读取后立即写出，
+     * 响应分块传输，服务端内存占用与景点数量无关
+     * @param {String} format - 导出格式（json、ndjson、csv），默认json
+     * @return {ResponseEntity<?>} 返回导出文件，格式无法识别时返回400和错误信息
+     */
+    @GetMapping("/api/export/attractions")
+    public ResponseEntity<?> exportAttractions(@RequestParam(value = "format", required = false) String format) {
+        StreamingExporter.Format exportFormat;
+        try {
+            exportFormat = StreamingExporter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("message", "不支持的导出格式：" + format);
+            return ResponseEntity.badRequest().body(result);
+        }
+        StreamingResponseBody body = out -> exportService.exportAttractions(exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=attractions." + exportFormat.getExtension())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
     }
 
     /**
@@ -382,7 +561,7 @@ public class TravelController {
      */
     @GetMapping("/api/cityAttractions")
     @ResponseBody
-    public Map<String, Object> getAttractionsByCity(
+    public RegionAttractions getAttractionsByCity(
             @RequestParam("province") String province,
             @RequestParam("city") String city) {
         return travelService.getAttractionsByProvinceAndCity(province, city);
@@ -1,10 +1,16 @@
 // 定义包路径，标识该类属于com.icss.xihu.controller包
 package com.icss.xihu.controller;
 
+// 导入订单历史实体类
+import com.icss.xihu.model.OrderHistory;
+// 导入分页结果
+import com.icss.xihu.model.PageResult;
 // 导入统一订单实体类（旧版）
 import com.icss.xihu.model.UnifiedOrder;
 // 导入用户实体类
 import com.icss.xihu.model.User;
+// 导入订单历史服务接口
+import com.icss.xihu.service.OrderHistoryService;
 // 导入统一订单服务接口（旧版）
 import com.icss.xihu.service.UnifiedOrderService;
 // 导入Spring的自动注入注解
@@ -20,8 +26,6 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpSession;
 // 导入HashMap集合类
 import java.util.HashMap;
-// 导入List集合接口
-import java.util.List;
 // 导入Map接口
 import java.util.Map;
 
@@ -41,6 +45,11 @@ public class UnifiedPaymentController {
     // 统一订单服务对象（旧版），用于调用统一订单相关的业务逻辑
     private UnifiedOrderService unifiedOrderService;
 
+    // 自动注入订单历史服务
+    @Autowired
+    // 订单历史服务对象，订单列表从订单历史读模型分页读取
+    private OrderHistoryService orderHistoryService;
+
     /**
      * 统一支付页面（旧版）
      * 功能概述：处理统一支付页面的请求，需要用户登录，验证订单归属，返回支付页面视图
@@ -187,15 +196,17 @@ public class UnifiedPaymentController {
 
     /**
      * 获取订单列表（旧版）
-     * 功能概述：根据用户ID、订单类型和支付状态查询订单列表，支持筛选，返回JSON格式数据
+     * 功能概述：根据用户ID、订单类型和支付状态分页查询订单列表，支持筛选，返回JSON格式数据；订单从订单历史读模型读取
      */
     // 处理获取订单列表请求，映射路径"/order/list"，只接受GET请求
     @GetMapping("/order/list")
     // 返回JSON格式的响应体
     @ResponseBody
-    // 获取订单列表处理方法，接收订单类型和支付状态筛选参数（均为可选）
+    // 获取订单列表处理方法，接收订单类型、支付状态筛选参数和分页参数（均为可选）
     public Map<String, Object> getOrderList(@RequestParam(required = false) String orderType,
                                            @RequestParam(required = false) Integer paymentStatus,
+                                           @RequestParam(defaultValue = "1") int page,
+                                           @RequestParam(defaultValue = "0") int pageSize,
                                            HttpSession session) {
         // 创建结果Map对象，用于封装返回数据
         Map<String, Object> result = new HashMap<>();
@@ -214,14 +225,20 @@ public class UnifiedPaymentController {
             return result;
         }
 
-        // 调用统一订单服务的getOrdersByUserId方法，根据用户ID、订单类型和支付状态查询订单列表
-        List<UnifiedOrder> orders = unifiedOrderService.getOrdersByUserId(
-            user.getId(), orderType, paymentStatus);
+        // 调用订单历史服务的getOrderPage方法，根据用户ID、订单类型和支付状态读取一页订单
+        PageResult<OrderHistory> orders = orderHistoryService.getOrderPage(
+            user.getId(), orderType, paymentStatus, page, pageSize);
 
         // 设置返回结果为成功
         result.put("success", true);
-        // 将订单列表添加到返回结果中
-        result.put("list", orders);
+        // 将本页订单添加到返回结果中（包含状态文本）
+        result.put("list", orders.list());
+        // 设置订单总数
+        result.put("total", orders.total());
+        // 设置当前页码
+        result.put("page", orders.page());
+        // 设置总页数
+        result.put("totalPages", orders.totalPages());
         // 返回结果
         return result;
     }
@@ -304,21 +321,21 @@ public class UnifiedPaymentController {
         // 从请求参数中获取订单号
         String orderNo = params.get("orderNo");
 
-        // 验证订单归属
-        // 根据订单号查询统一订单信息（旧版）
-        UnifiedOrder order = unifiedOrderService.getOrderByOrderNo(orderNo);
-        // 判断订单是否存在且属于当前用户
-        if (order == null || !order.getUserId().equals(user.getId())) {
-            // 如果订单不存在或不属于当前用户，设置返回结果为失败
+        // 取消是否成功
+        boolean success;
+        // 使用try-catch捕获异常，模块订单取消失败时整个取消已回滚
+        try {
+            // 调用统一订单服务的cancelOrder方法取消订单，服务在锁定订单后校验归属和状态，返回是否成功
+            success = unifiedOrderService.cancelOrder(orderNo, user.getId());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
             result.put("success", false);
             // 设置错误消息
-            result.put("message", "订单不存在或无权访问");
+            result.put("message", "订单取消失败，请稍后重试");
             // 返回结果
             return result;
         }
-
-        // 调用统一订单服务的cancelOrder方法取消订单，返回是否成功
-        boolean success = unifiedOrderService.cancelOrder(orderNo);
         // 判断取消是否成功
         if (success) {
             // 设置返回结果为成功
@@ -330,7 +347,7 @@ public class UnifiedPaymentController {
             // 设置返回结果为失败
             result.put("success", false);
             // 设置错误消息
-            result.put("message", "取消订单失败");
+            result.put("message", "订单不存在、无权访问或当前状态不可取消");
         }
 
         // 返回结果
@@ -1,12 +1,18 @@
 // 定义包路径，标识该类属于com.icss.xihu.controller包
 package com.icss.xihu.controller;
 
+// 导入订单历史实体类
+import com.icss.xihu.model.OrderHistory;
+// 导入分页结果
+import com.icss.xihu.model.PageResult;
 // 导入统一订单新实体类
 import com.icss.xihu.model.UnifiedOrderNew;
 // 导入用户实体类
 import com.icss.xihu.model.User;
 // 导入统一订单新服务接口
 import com.icss.xihu.service.UnifiedOrderNewService;
+// 导入订单历史服务接口
+import com.icss.xihu.service.OrderHistoryService;
 // 导入酒店订单服务接口
 import com.icss.xihu.service.HotelOrderService;
 // 导入购物订单服务接口
@@ -57,6 +63,11 @@ public class UnifiedPaymentNewController {
     // 酒店订单服务对象，用于调用酒店订单相关的业务逻辑
     private HotelOrderService hotelOrderService;
 
+    // 自动注入订单历史服务
+    @Autowired
+    // 订单历史服务对象，订单列表从订单历史读模型分页读取
+    private OrderHistoryService orderHistoryService;
+
     /**
      * 订单中心页面
      * 功能概述：处理订单中心页面的请求，需要用户登录，返回订单中心视图
@@ -78,15 +89,18 @@ public class UnifiedPaymentNewController {
 
     /**
      * 获取订单列表
-     * 功能概述：根据用户ID、订单类型和支付状态查询订单列表，支持筛选，返回JSON格式数据
+     * 功能概述：根据用户ID、订单类型和支付状态分页查询订单列表，支持筛选，返回JSON格式数据；
+     * 订单从订单历史读模型读取，每个订单已包含模块订单明细和缩略图
      */
     // 处理获取订单列表请求，映射路径"/order/list"，只接受GET请求
     @GetMapping("/order/list")
     // 返回JSON格式的响应体，而不是视图
     @ResponseBody
-    // 获取订单列表处理方法，接收订单类型和支付状态筛选参数（均为可选）
+    // 获取订单列表处理方法，接收订单类型、支付状态筛选参数和分页参数（均为可选）
     public Map<String, Object> getOrderList(@RequestParam(required = false) String orderType,
                                            @RequestParam(required = false) Integer paymentStatus,
+                                           @RequestParam(defaultValue = "1") int page,
+                                           @RequestParam(defaultValue = "0") int pageSize,
                                            HttpSession session) {
         // 创建结果Map对象，用于封装返回数据
         Map<String, Object> result = new HashMap<>();
@@ -107,16 +121,22 @@ public class UnifiedPaymentNewController {
 
         // 使用try-catch捕获异常
         try {
-            // 调用统一订单新服务的getOrdersByUserId方法，根据用户ID、订单类型和支付状态查询订单列表
-            List<UnifiedOrderNew> orders = unifiedOrderNewService.getOrdersByUserId(
-                user.getId(), orderType, paymentStatus);
+            // 调用订单历史服务的getOrderPage方法，根据用户ID、订单类型和支付状态读取一页订单
+            PageResult<OrderHistory> orders = orderHistoryService.getOrderPage(
+                user.getId(), orderType, paymentStatus, page, pageSize);
             
             // 设置返回结果为成功
             result.put("success", true);
-            // 将订单列表添加到返回结果中
-            result.put("data", orders);
+            // 将本页订单添加到返回结果中
+            result.put("data", orders.list());
             // 设置订单总数
-            result.put("total", orders.size());
+            result.put("total", orders.total());
+            // 设置当前页码
+            result.put("page", orders.page());
+            // 设置每页条数
+            result.put("pageSize", orders.pageSize());
+            // 设置总页数
+            result.put("totalPages", orders.totalPages());
         // 捕获所有异常
         } catch (Exception e) {
             // 设置返回结果为失败
@@ -629,6 +649,110 @@ public class UnifiedPaymentNewController {
         return result;
     }
 
+    /**
+     * 批量取消订单
+     * 功能概述：处理订单中心的批量取消请求，需要用户登录；一个事务内校验归属并取消其中待支付的订单，返回每个订单的结果
+     */
+    // 处理批量取消订单请求，映射路径"/order/batchCancel"，只接受POST请求
+    @PostMapping("/order/batchCancel")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 批量取消订单处理方法，接收订单号列表参数
+    public Map<String, Object> batchCancelOrders(@RequestParam List<String> orderNos, HttpSession session) {
+        // 创建结果Map对象，用于封装返回数据
+        Map<String, Object> result = new HashMap<>();
+
+        // 从会话中获取当前登录的用户对象
+        User user = (User) session.getAttribute("user");
+        // 判断用户是否已登录
+        if (user == null) {
+            // 如果未登录，设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "请先登录");
+            // 返回结果
+            return result;
+        }
+
+        // 使用try-catch捕获异常
+        try {
+            // 调用统一订单新服务的cancelOrders方法批量取消订单，返回每个订单的结果
+            List<Map<String, Object>> outcomes = unifiedOrderNewService.cancelOrders(orderNos, user.getId());
+            // 汇总结果
+            putBatchResult(result, outcomes, "已取消");
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息，包含异常信息
+            result.put("message", "批量取消失败: " + e.getMessage());
+        }
+
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 批量删除订单
+     * 功能概述：处理订单中心的批量删除请求，需要用户登录；一个事务内校验归属并删除其中已取消的订单，返回每个订单的结果
+     */
+    // 处理批量删除订单请求，映射路径"/order/batchDelete"，只接受POST请求
+    @PostMapping("/order/batchDelete")
+    // 返回JSON格式的响应体
+    @ResponseBody
+    // 批量删除订单处理方法，接收订单号列表参数
+    public Map<String, Object> batchDeleteOrders(@RequestParam List<String> orderNos, HttpSession session) {
+        // 创建结果Map对象，用于封装返回数据
+        Map<String, Object> result = new HashMap<>();
+
+        // 从会话中获取当前登录的用户对象
+        User user = (User) session.getAttribute("user");
+        // 判断用户是否已登录
+        if (user == null) {
+            // 如果未登录，设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "请先登录");
+            // 返回结果
+            return result;
+        }
+
+        // 使用try-catch捕获异常
+        try {
+            // 调用统一订单新服务的deleteOrders方法批量删除订单，返回每个订单的结果
+            List<Map<String, Object>> outcomes = unifiedOrderNewService.deleteOrders(orderNos, user.getId());
+            // 汇总结果
+            putBatchResult(result, outcomes, "已删除");
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息，包含异常信息
+            result.put("message", "批量删除失败: " + e.getMessage());
+        }
+
+        // 返回结果
+        return result;
+    }
+
+    // 汇总批量操作的结果：请求已处理即success为true，逐个订单的成败在results中
+    private void putBatchResult(Map<String, Object> result, List<Map<String, Object>> outcomes, String action) {
+        // 统计成功的订单数
+        int succeeded = 0;
+        for (Map<String, Object> outcome : outcomes) {
+            if (Boolean.TRUE.equals(outcome.get("success"))) {
+                succeeded++;
+            }
+        }
+        // 设置返回结果
+        result.put("success", true);
+        result.put("successCount", succeeded);
+        result.put("failCount", outcomes.size() - succeeded);
+        result.put("results", outcomes);
+        result.put("message", action + succeeded + "个订单" + (succeeded < outcomes.size()
+                ? "，" + (outcomes.size() - succeeded) + "个未处理" : ""));
+    }
+
     /**
      * 获取订单统计
      * 功能概述：获取当前用户的订单统计信息，包括订单总数、各状态订单数量等，返回JSON格式数据
@@ -0,0 +1,238 @@
+// 定义包路径，标识该类属于com.icss.xihu.datasource包
+package com.icss.xihu.datasource;
+
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的销毁回调接口
+import org.springframework.beans.factory.DisposableBean;
+// 导入Spring JDBC的路由数据源基类
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+// 导入Spring的事务同步管理器，用于读取当前事务状态
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 导入数据源接口
+import javax.sql.DataSource;
+// 导入数据库连接接口
+import java.sql.Connection;
+// 导入SQL异常类
+import java.sql.SQLException;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入原子整数类，用于轮询读库
+import java.util.concurrent.atomic.AtomicInteger;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离路由数据源
+ * 功能概述：每次取连接时按以下顺序决定走主库还是读库：
+ * 1. 当前线程被读己之写跟踪固定到主库时走主库；
+ * 2. 处于实际事务中时，只读事务（@Transactional(readOnly = true)）走读库，其他事务走主库；
+ * 3. 不在事务中时，@ReadReplica标注的目录类查询走读库，其余（订单、缴费等写入和未标注的查询）走主库；
+ * 多个读库之间轮询；读库取连接失败时记录日志并回退到主库，读库故障不影响浏览；
+ * 需要包在LazyConnectionDataSourceProxy外层使用，这样事务开始时不立即取连接，
+ * 等第一条SQL执行时事务的只读标记已经生效，才能路由到正确的数据源
+ */
+// 读写分离路由数据源类，继承AbstractRoutingDataSource并实现DisposableBean接口
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    // 主库的查找键
+    public static final String PRIMARY = "primary";
+    // 读库查找键的前缀
+    public static final String REPLICA_PREFIX = "replica-";
+
+    // 主库数据源
+    private final DataSource primary;
+    // 读库数据源列表
+    private final List<DataSource> replicas;
+    // 读库查找键列表
+    private final List<String> replicaKeys = new ArrayList<>();
+    // 轮询读库的计数器
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // 主库取连接次数
+    private final LongAdder primaryConnections = new LongAdder();
+    // 读库取连接次数
+    private final LongAdder replicaConnections = new LongAdder();
+    // 读库取连接失败后回退到主库的次数
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * 构造方法
+     * @param {DataSource} primary - 主库数据源
+     * @param {List<DataSource>} replicas - 读库数据源列表，为空时全部走主库
+     */
+    // 构造方法
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        // 保存主库
+        this.primary = primary;
+        // 保存读库
+        this.replicas = List.copyOf(replicas);
+        // 遍历读库
+        for (int i = 0; i < this.replicas.size(); i++) {
+            // 记录读库查找键
+            replicaKeys.add(REPLICA_PREFIX + i);
+        }
+    }
+
+    /**
+     * 登记目标数据源
+     * 功能概述：由Spring在Bean初始化时调用，先登记主库和读库再交给父类解析；
+     * 不在构造方法中调用可被重写的setTargetDataSources，避免对象未构造完成时this逸出
+     */
+    // 重写afterPropertiesSet方法
+    @Override
+    // 登记目标数据源方法
+    public void afterPropertiesSet() {
+        // 查找键到数据源的映射
+        Map<Object, Object> targets = new HashMap<>();
+        // 登记主库
+        targets.put(PRIMARY, primary);
+        // 遍历读库
+        for (int i = 0; i < replicas.size(); i++) {
+            // 登记读库
+            targets.put(replicaKeys.get(i), replicas.get(i));
+        }
+        // 设置目标数据源
+        setTargetDataSources(targets);
+        // 找不到查找键时使用主库
+        setDefaultTargetDataSource(primary);
+        // 由父类解析目标数据源
+        super.afterPropertiesSet();
+    }
+
+    /**
+     * 决定当前取连接使用的数据源
+     * @return {Object} 返回主库或某个读库的查找键
+     */
+    // 重写determineCurrentLookupKey方法
+    @Override
+    // 决定查找键方法
+    protected Object determineCurrentLookupKey() {
+        // 不走读库时返回主库
+        if (!shouldUseReplica()) {
+            // 返回主库
+            return PRIMARY;
+        }
+        // 轮询选择读库（floorMod避免计数器溢出后为负数）
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // 判断当前取连接是否应当走读库
+    private boolean shouldUseReplica() {
+        // 没有读库或被固定到主库时不走读库
+        if (replicaKeys.isEmpty() || RoutingContext.isPrimaryPinned()) {
+            // 不走读库
+            return false;
+        }
+        // 处于实际事务中时按事务的只读标记决定
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 只读事务走读库
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+        // 不在事务中时按目录类查询标记决定
+        return RoutingContext.isReplicaPreferred();
+    }
+
+    /**
+     * 获取连接
+     * 功能概述：按路由结果取连接，读库取连接失败时回退到主库
+     * @return {Connection} 返回数据库连接
+     * @throws SQLException 主库取连接失败时抛出
+     */
+    // 重写getConnection方法
+    @Override
+    // 获取连接方法
+    public Connection getConnection() throws SQLException {
+        // 查找键
+        Object key = determineCurrentLookupKey();
+        // 走主库
+        if (PRIMARY.equals(key)) {
+            // 主库计数
+            primaryConnections.increment();
+            // 从主库取连接
+            return primary.getConnection();
+        }
+        // 使用try-catch处理读库不可用
+        try {
+            // 从读库取连接
+            Connection connection = getResolvedDataSources().get(key).getConnection();
+            // 读库计数
+            replicaConnections.increment();
+            // 返回连接
+            return connection;
+        // 捕获读库取连接失败
+        } catch (SQLException e) {
+            // 回退计数
+            fallbacks.increment();
+            // 记录警告日志
+            logger.warn("读库 {} 取连接失败，回退到主库：{}", key, e.getMessage());
+            // 主库计数
+            primaryConnections.increment();
+            // 从主库取连接
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * 获取连接（指定用户名和密码）
+     * 功能概述：读写分离的各连接池各自持有账号，不支持按调用指定账号，直接使用getConnection()
+     */
+    // 重写getConnection方法
+    @Override
+    // 获取连接方法
+    public Connection getConnection(String username, String password) throws SQLException {
+        // 使用连接池的账号取连接
+        return getConnection();
+    }
+
+    /**
+     * 获取路由统计信息
+     * @return {Map<String, Object>} 返回读库数量、主库和读库取连接次数、回退次数
+     */
+    // 获取路由统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 读库数量
+        stats.put("replicas", replicaKeys.size());
+        // 主库取连接次数
+        stats.put("primaryConnections", primaryConnections.sum());
+        // 读库取连接次数
+        stats.put("replicaConnections", replicaConnections.sum());
+        // 回退到主库的次数
+        stats.put("replicaFallbacks", fallbacks.sum());
+        // 返回统计信息
+        return stats;
+    }
+
+    /**
+     * 关闭读库连接池
+     * 功能概述：读库连接池由路由数据源创建和持有，随路由数据源一起关闭；主库连接池是独立的Bean，由容器关闭
+     */
+    // 重写destroy方法
+    @Override
+    // 关闭读库连接池方法
+    public void destroy() throws Exception {
+        // 遍历读库
+        for (DataSource replica : replicas) {
+            // 可关闭时关闭
+            if (replica instanceof AutoCloseable closeable) {
+                // 关闭连接池
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+// 定义包路径，标识该类属于com.icss.xihu.datasource包
+package com.icss.xihu.datasource;
+
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的定时任务注解
+import org.springframework.scheduling.annotation.Scheduled;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入Map接口
+import java.util.Map;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+// 导入Supplier函数式接口
+import java.util.function.Supplier;
+
+/**
+ * 读己之写跟踪器
+ * 功能概述：记录刚写入的统一订单（以及订单所属用户）和写入时间，在粘滞窗口内对它们的读取固定走主库，
+ * 避免下单、支付、取消后立刻查询时读到尚未同步到读库的旧数据；窗口应大于读库的最大复制延迟；
+ * 未启用读写分离时所有查询本来就走主库，跟踪不影响结果
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// 读己之写跟踪器类
+public class ReadYourWritesTracker {
+
+    // 订单键前缀
+    private static final String ORDER_PREFIX = "order:";
+    // 用户键前缀
+    private static final String USER_PREFIX = "user:";
+
+    // 粘滞窗口（毫秒），默认5秒
+    @Value("${read-write-routing.sticky-window-ms:5000}")
+    // 粘滞窗口字段
+    private long stickyWindowMs;
+
+    // 键到粘滞截止时间（毫秒时间戳）的映射
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * 记录统一订单写入
+     * 功能概述：订单号和用户在粘滞窗口内的读取都固定走主库
+     * @param {String} orderNo - 统一订单号，可为null
+     * @param {Integer} userId - 用户编号，可为null
+     */
+    // 记录统一订单写入方法
+    public void recordOrderWrite(String orderNo, Integer userId) {
+        // 粘滞截止时间
+        long until = System.currentTimeMillis() + stickyWindowMs;
+        // 有订单号时记录订单
+        if (orderNo != null) {
+            // 记录订单
+            pinnedUntil.put(ORDER_PREFIX + orderNo, until);
+        }
+        // 有用户编号时记录用户
+        if (userId != null) {
+            // 记录用户
+            pinnedUntil.put(USER_PREFIX + userId, until);
+        }
+    }
+
+    /**
+     * 读取订单
+     * 功能概述：订单在粘滞窗口内有写入时固定在主库上执行查询，否则按正常路由执行
+     * @param {String} orderNo - 统一订单号
+     * @param {Supplier<T>} query - 查询
+     * @return {T} 返回查询结果
+     */
+    // 读取订单方法
+    public <T> T readOrder(String orderNo, Supplier<T> query) {
+        // 按订单键读取
+        return read(ORDER_PREFIX + orderNo, query);
+    }
+
+    /**
+     * 读取用户的订单数据
+     * 功能概述：用户在粘滞窗口内有订单写入时固定在主库上执行查询，否则按正常路由执行
+     * @param {Integer} userId - 用户编号
+     * @param {Supplier<T>} query - 查询
+     * @return {T} 返回查询结果
+     */
+    // 读取用户的订单数据方法
+    public <T> T readUser(Integer userId, Supplier<T> query) {
+        // 按用户键读取
+        return read(USER_PREFIX + userId, query);
+    }
+
+    /**
+     * 用户是否在粘滞窗口内
+     * 功能概述：用户刚写入订单时，订单历史等异步维护的读模型可能尚未包含这次写入，调用方据此先补齐再读取
+     * @param {Integer} userId - 用户编号
+     * @return {boolean} 返回用户在粘滞窗口内是否有订单写入
+     */
+    // 判断用户是否在粘滞窗口内方法
+    public boolean isUserPinned(Integer userId) {
+        // 粘滞截止时间
+        Long until = userId == null ? null : pinnedUntil.get(USER_PREFIX + userId);
+        // 仍在窗口内时返回true
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    // 按键读取，粘滞窗口内固定走主库
+    private <T> T read(String key, Supplier<T> query) {
+        // 粘滞截止时间
+        Long until = pinnedUntil.get(key);
+        // 仍在窗口内时固定走主库
+        if (until != null && until > System.currentTimeMillis()) {
+            // 在主库上执行
+            return RoutingContext.callOnPrimary(query);
+        }
+        // 按正常路由执行
+        return query.get();
+    }
+
+    /**
+     * 清理过期记录
+     * 功能概述：定时删除已过粘滞窗口的记录，防止映射无限增长
+     */
+    // 定时执行，默认每60秒一次
+    @Scheduled(fixedDelayString = "${read-write-routing.purge-interval-ms:60000}")
+    // 清理过期记录方法
+    public void purgeExpired() {
+        // 当前时间
+        long now = System.currentTimeMillis();
+        // 删除过期记录
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    /**
+     * 获取跟踪统计信息
+     * @return {Map<String, Object>} 返回粘滞窗口和当前跟踪的记录数
+     */
+    // 获取跟踪统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 粘滞窗口
+        stats.put("stickyWindowMs", stickyWindowMs);
+        // 当前跟踪的记录数（含尚未清理的过期记录）
+        stats.put("trackedKeys", pinnedUntil.size());
+        // 返回统计信息
+        return stats;
+    }
+}
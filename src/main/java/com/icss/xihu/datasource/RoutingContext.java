@@ -0,0 +1,100 @@
+// 定义包路径，标识该类属于com.icss.xihu.datasource包
+package com.icss.xihu.datasource;
+
+// 导入Supplier函数式接口
+import java.util.function.Supplier;
+
+/**
+ * 数据源路由上下文
+ * 功能概述：用线程变量记录当前调用对读库的偏好，供ReadWriteRoutingDataSource在取连接时判断走主库还是读库；
+ * "优先读库"由@ReadReplica标注的目录类查询设置，"固定主库"由读己之写跟踪在刚写入的数据上设置，固定主库优先；
+ * 两个标记都只在当前线程内有效，调用结束时恢复为进入前的值，支持嵌套调用
+ */
+// 数据源路由上下文类
+public final class RoutingContext {
+
+    // 当前线程是否优先使用读库
+    private static final ThreadLocal<Boolean> REPLICA_PREFERRED = new ThreadLocal<>();
+    // 当前线程是否固定使用主库
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    // 私有构造方法，禁止实例化
+    private RoutingContext() {
+    }
+
+    /**
+     * 判断当前线程是否优先使用读库
+     * @return {boolean} 返回是否优先使用读库
+     */
+    // 判断是否优先使用读库方法
+    public static boolean isReplicaPreferred() {
+        // 返回标记
+        return Boolean.TRUE.equals(REPLICA_PREFERRED.get());
+    }
+
+    /**
+     * 判断当前线程是否固定使用主库
+     * @return {boolean} 返回是否固定使用主库
+     */
+    // 判断是否固定使用主库方法
+    public static boolean isPrimaryPinned() {
+        // 返回标记
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    /**
+     * 标记当前线程优先使用读库
+     * 功能概述：返回标记前的值，调用结束后必须通过restoreReplicaPreferred恢复
+     * @return {boolean} 返回标记前是否已优先使用读库
+     */
+    // 标记优先使用读库方法
+    public static boolean preferReplica() {
+        // 标记前的值
+        boolean previous = isReplicaPreferred();
+        // 设置标记
+        REPLICA_PREFERRED.set(Boolean.TRUE);
+        // 返回标记前的值
+        return previous;
+    }
+
+    /**
+     * 恢复读库偏好标记
+     * @param {boolean} previous - preferReplica返回的标记前的值
+     */
+    // 恢复读库偏好标记方法
+    public static void restoreReplicaPreferred(boolean previous) {
+        // 进入前已标记时保持
+        if (previous) {
+            // 保持标记
+            REPLICA_PREFERRED.set(Boolean.TRUE);
+        } else {
+            // 清除标记，避免线程池复用线程时残留
+            REPLICA_PREFERRED.remove();
+        }
+    }
+
+    /**
+     * 固定在主库上执行查询
+     * 功能概述：执行期间该线程的所有取连接都走主库，不论是否处于只读事务或目录类查询中
+     * @param {Supplier<T>} query - 查询
+     * @return {T} 返回查询结果
+     */
+    // 固定在主库上执行查询方法
+    public static <T> T callOnPrimary(Supplier<T> query) {
+        // 进入前是否已固定
+        boolean previous = isPrimaryPinned();
+        // 设置标记
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        // 使用try-finally确保恢复标记
+        try {
+            // 执行查询
+            return query.get();
+        } finally {
+            // 进入前未固定时清除标记
+            if (!previous) {
+                // 清除标记
+                PRIMARY_PINNED.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// 定义包路径，标识该类属于com.icss.xihu.event包
+package com.icss.xihu.event;
+
+// 导入缴费账单实体类
+import com.icss.xihu.model.PaymentBill;
+
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 账单逾期事件
+ * 功能概述：一批账单从待缴费（0）变为逾期（2）时由PaymentService在同一事务中通过ApplicationEventPublisher发布，
+ * 只包含本次实际发生状态变化的账单；需要在事务提交后处理的监听方使用@TransactionalEventListener
+ */
+// 账单逾期事件类
+public class BillsOverdueEvent {
+
+    // 变为逾期的账单（包含id、userId、dueDate）
+    private final List<PaymentBill> bills;
+    // 触发来源（如due-wheel、sweep）
+    private final String source;
+
+    /**
+     * 构造方法
+     * @param {List<PaymentBill>} bills - 变为逾期的账单
+     * @param {String} source - 触发来源
+     */
+    // 构造方法
+    public BillsOverdueEvent(List<PaymentBill> bills, String source) {
+        // 保存账单
+        this.bills = List.copyOf(bills);
+        // 保存触发来源
+        this.source = source;
+    }
+
+    // 获取变为逾期的账单
+    public List<PaymentBill> getBills() {
+        // 返回bills字段的值
+        return bills;
+    }
+
+    // 获取触发来源
+    public String getSource() {
+        // 返回source字段的值
+        return source;
+    }
+
+    // 重写toString方法，便于日志输出
+    @Override
+    public String toString() {
+        // 返回事件描述
+        return "BillsOverdueEvent{source=" + source + ", bills=" + bills.size() + "}";
+    }
+}
@@ -50,37 +50,82 @@ public interface AttractionMapper {
     // 根据省份获取城市列表方法，接收省份名称参数，返回该省份下的所有城市名称列表（SQL在XML映射文件中定义）
     List<String> getCitiesByProvince(@Param("province") String province);
 
-    // 多表连查景点信息
+    // 景点基础信息查询（只关联一对一的分类，一对多的图片、标签、推荐由AttractionService批量加载）
     /**
-     * 获取带完整信息的景点列表（包含分类、图片、标签）
-     * 功能概述：从数据库中查询所有景点信息，包含分类、图片、标签等关联信息
-     * @return {List<Attraction>} 返回带完整信息的景点列表
+     * 获取所有景点基础信息（含分类）
+     * 功能概述：查询所有有效景点及其分类，不关联图片、标签、推荐，避免多个一对多LEFT JOIN产生笛卡尔积
+     * @return {List<Attraction>} 返回景点基础信息列表
      */
-    // 获取带完整信息的景点列表方法，返回包含分类、图片、标签等关联信息的景点列表（SQL在XML映射文件中定义）
-    List<Attraction> getAttractionsWithDetails();
+    // 获取所有景点基础信息方法（SQL在XML映射文件中定义）
+    List<Attraction> getAttractionBases();
 
     /**
-     * 根据省份获取景点列表（含完整信息）
-     * 功能概述：根据省份名称从数据库中查询该省份下的所有景点信息，包含分类、图片、标签等关联信息
+     * 根据省份获取景点基础信息（含分类）
+     * 功能概述：根据省份名称查询该省份下的有效景点及其分类，不关联一对多的子表
      * @param {String} province - 省份名称
-     * @return {List<Attraction>} 返回该省份下的所有景点列表
+     * @return {List<Attraction>} 返回该省份下的景点基础信息列表
      */
-    // 根据省份获取景点列表方法，接收省份名称参数，返回该省份下的所有景点列表（SQL在XML映射文件中定义）
-    List<Attraction> getAttractionsByProvince(@Param("province") String province);
+    // 根据省份获取景点基础信息方法，接收省份名称参数（SQL在XML映射文件中定义）
+    List<Attraction> getAttractionBasesByProvince(@Param("province") String province);
 
     /**
-     * 根据省份和城市获取景点列表（含完整信息）
-     * 功能概述：根据省份和城市名称从数据库中查询该地区的所有景点信息，包含分类、图片、标签等关联信息
+     * 根据省份和城市获取景点基础信息（含分类）
+     * 功能概述：根据省份和城市名称查询该地区的有效景点及其分类，不关联一对多的子表
      * @param {String} province - 省份名称
      * @param {String} city - 城市名称
-     * @return {List<Attraction>} 返回该地区的所有景点列表
+     * @return {List<Attraction>} 返回该地区的景点基础信息列表
      */
-    // 根据省份和城市获取景点列表方法，接收省份和城市名称参数，返回该地区的所有景点列表（SQL在XML映射文件中定义）
-    List<Attraction> getAttractionsByProvinceAndCity(
+    // 根据省份和城市获取景点基础信息方法，接收省份和城市名称参数（SQL在XML映射文件中定义）
+    List<Attraction> getAttractionBasesByProvinceAndCity(
             @Param("province") String province,  // 省份名称参数
             @Param("city") String city            // 城市名称参数
     );
 
+    // 按景点ID批量加载一对多关联信息
+    /**
+     * 根据景点ID列表批量获取图片
+     * 功能概述：使用IN (ids)一次查询多个景点的图片，结果按景点编号、封面优先、排序号排列
+     * @param {List<Long>} ids - 景点编号列表（不能为空）
+     * @return {List<AttractionImage>} 返回图片列表，通过attractionId归属到对应景点
+     */
+    // 根据景点ID列表批量获取图片方法（SQL在XML映射文件中定义）
+    List<AttractionImage> getImagesByAttractionIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 根据景点ID列表批量获取标签
+     * 功能概述：使用IN (ids)一次查询多个景点的标签，每条结果带上关联的景点编号
+     * @param {List<Long>} ids - 景点编号列表（不能为空）
+     * @return {List<AttractionTag>} 返回标签列表，通过attractionId归属到对应景点
+     */
+    // 根据景点ID列表批量获取标签方法（SQL在XML映射文件中定义）
+    List<AttractionTag> getTagsByAttractionIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 根据景点ID列表批量获取推荐信息
+     * 功能概述：使用IN (ids)一次查询多个景点的推荐信息，结果按景点编号和排序号排列
+     * @param {List<Long>} ids - 景点编号列表（不能为空）
+     * @return {List<AttractionRecommendation>} 返回推荐信息列表，通过attractionId归属到对应景点
+     */
+    // 根据景点ID列表批量获取推荐信息方法（SQL在XML映射文件中定义）
+    List<AttractionRecommendation> getRecommendationsByAttractionIds(@Param("ids") List<Long> ids);
+
+    // 旧版多表连查（仅用于基准对比）
+    /**
+     * 获取带完整信息的景点列表（旧版五表LEFT JOIN）
+     * 功能概述：一次LEFT JOIN分类、图片、标签、推荐，图片×标签×推荐会产生笛卡尔积，仅保留用于基准对比
+     * @return {List<Attraction>} 返回带完整信息的景点列表
+     */
+    // 旧版获取带完整信息的景点列表方法（SQL在XML映射文件中定义）
+    List<Attraction> getAttractionsWithDetailsJoined();
+
+    /**
+     * 统计旧版五表LEFT JOIN的结果行数
+     * 功能概述：返回旧版连查实际从数据库传输的行数，用于和批量加载方案对比
+     * @return {long} 返回连查结果行数
+     */
+    // 统计旧版连查结果行数方法（SQL在XML映射文件中定义）
+    long countAttractionsWithDetailsJoinedRows();
+
     /**
      * 根据分类获取景点列表（含完整信息）
      * 功能概述：根据分类编号从数据库中查询该分类下的所有景点信息，包含分类、图片、标签等关联信息
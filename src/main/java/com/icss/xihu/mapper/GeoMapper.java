@@ -0,0 +1,66 @@
+/**
+ * 地理位置Mapper接口
+ * 功能概述：从景点、酒店、餐厅表中查询构建地理位置索引所需的字段（编号、名称、地区、坐标、评分、图片）
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入地理位置点实体类
+import com.icss.xihu.model.GeoPoint;
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 地理位置数据访问层
+ * 功能概述：从景点、酒店、餐厅表中查询构建地理位置索引所需的字段（编号、名称、地区、坐标、评分、图片）
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 地理位置Mapper接口，定义地理位置索引的数据查询方法
+public interface GeoMapper {
+
+    /**
+     * 查询有坐标的景点
+     * 功能概述：查询所有有效且经纬度不为空的景点，用于构建景点网格索引
+     * @return {List<GeoPoint>} 返回景点地理位置点列表
+     */
+    // 使用MyBatis的Select注解，只查询索引需要的字段，过滤掉没有坐标的景点
+    @Select("SELECT 'attraction' AS type, id, name, province, city, latitude, longitude, rating, NULL AS img " +
+            "FROM attractions WHERE status = 1 AND latitude IS NOT NULL AND longitude IS NOT NULL")
+    List<GeoPoint> findAttractionGeoPoints();
+
+    /**
+     * 查询酒店
+     * 功能概述：查询所有酒店及其坐标（坐标可能为空，为空时由服务层排除并计入统计），将varchar类型的id转换为数字
+     * @return {List<GeoPoint>} 返回酒店地理位置点列表
+     */
+    // 使用MyBatis的Select注解，酒店评分字段为score，统一映射为rating
+    @Select("SELECT 'hotel' AS type, CAST(id AS UNSIGNED) AS id, name, province, city, latitude, longitude, " +
+            "score AS rating, img FROM hotel")
+    List<GeoPoint> findHotelGeoPoints();
+
+    /**
+     * 查询餐厅
+     * 功能概述：查询所有启用的餐厅及其坐标（坐标可能为空，为空时由服务层排除并计入统计）
+     * @return {List<GeoPoint>} 返回餐厅地理位置点列表
+     */
+    // 使用MyBatis的Select注解，只查询状态为启用的餐厅
+    @Select("SELECT 'restaurant' AS type, id, name, province, city, latitude, longitude, rating, img " +
+            "FROM restaurant WHERE status = 1")
+    List<GeoPoint> findRestaurantGeoPoints();
+
+    /**
+     * 统计表中指定列是否存在
+     * 功能概述：查询information_schema判断当前库中某张表是否已有某个字段，用于启动时检查db/schema-geo.sql是否已执行
+     * @param {String} tableName - 表名
+     * @param {String} columnName - 字段名
+     * @return {int} 字段存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的字段元数据
+    @Select("SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = #{tableName} AND COLUMN_NAME = #{columnName}")
+    int countColumn(@Param("tableName") String tableName, @Param("columnName") String columnName);
+}
@@ -21,6 +21,8 @@ import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Options;
 // 导入MyBatis的Param注解，用于指定参数名
 import org.apache.ibatis.annotations.Param;
+// 导入Spring缓存清除注解
+import org.springframework.cache.annotation.CacheEvict;
 
 // 导入List集合接口
 import java.util.List;
@@ -155,6 +157,8 @@ public interface HotelMapper {
      * @param {Double} score - 新的评分值
      * @return {int} 返回更新的记录数（通常为1）
      */
+    // 酒店数据变化，清空酒店缓存（两级，并通知其他节点）
+    @CacheEvict(cacheNames = "hotels", allEntries = true)
     // 使用MyBatis的Update注解，直接在方法上编写SQL更新语句，更新酒店评分
     @org.apache.ibatis.annotations.Update("UPDATE hotel SET score = #{score} WHERE id = #{hotelId}")
     // 更新酒店评分方法，接收酒店编号和评分参数，返回更新的记录数
@@ -5,6 +5,8 @@ package com.icss.xihu.mapper;
 import com.icss.xihu.model.HotelOrder;
 // 导入酒店订单详情实体类
 import com.icss.xihu.model.HotelOrderDetail;
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
 // 导入MyBatis的所有注解
 import org.apache.ibatis.annotations.*;
 
@@ -65,14 +67,32 @@ public interface HotelOrderMapper {
     int updateStatus(@Param("orderId") Long orderId, @Param("status") Integer status);
 
     /**
-     * 根据订单ID更新状态（用于统一支付）
-     * 功能概述：根据订单ID更新酒店订单状态，用于统一支付系统（使用XML映射文件实现）
-     * @param orderId 订单ID（Integer类型）
+     * 根据一批订单ID更新状态（用于统一支付）
+     * 功能概述：一条语句把一批酒店订单更新为同一状态，统一订单支付、取消时按类型批量同步（使用XML映射文件实现）
+     * @param orderIds 订单ID列表
      * @param status 订单状态（0=待支付，1=已支付，2=已取消）
      * @return 受影响的行数
      */
-    // 根据订单ID更新状态方法，接收订单ID和订单状态参数（使用XML映射文件实现）
-    int updateStatusByOrderNo(@Param("orderId") Integer orderId, @Param("status") Integer status);
+    // 根据一批订单ID更新状态方法，接收订单ID列表和订单状态参数（使用XML映射文件实现）
+    int updateStatusByIds(@Param("orderIds") List<Integer> orderIds, @Param("status") Integer status);
+
+    /**
+     * 把一批待支付的订单更新为已支付（用于统一支付）
+     * 功能概述：只更新仍为待支付（0）的酒店订单，已取消或已支付的订单不变，支付同步消息重复投递或晚到时不会把已取消的订单改回已支付（使用XML映射文件实现）
+     * @param orderIds 订单ID列表
+     * @return 受影响的行数，没有待支付的订单时为0
+     */
+    // 把一批待支付订单更新为已支付方法，接收订单ID列表参数（使用XML映射文件实现）
+    int markPaidByIds(@Param("orderIds") List<Integer> orderIds);
+
+    /**
+     * 根据一批订单ID查询订单摘要（用于订单历史）
+     * 功能概述：一条语句查询一批酒店订单的酒店名称、房型、入住离店日期和酒店图片（使用XML映射文件实现）
+     * @param orderIds 订单ID列表
+     * @return 模块订单摘要列表
+     */
+    // 根据一批订单ID查询订单摘要方法，接收订单ID列表参数（使用XML映射文件实现）
+    List<ModuleOrderSummary> findSummariesByIds(@Param("orderIds") List<Integer> orderIds);
 
     /**
      * 更新统一订单号
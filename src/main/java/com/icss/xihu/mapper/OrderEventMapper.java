@@ -0,0 +1,110 @@
+/**
+ * 订单事件Mapper接口
+ * 功能概述：维护order_event表，统一订单状态变化时在同一事务中追加事件，订单历史投影按事件编号顺序读取
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入订单事件实体类
+import com.icss.xihu.model.OrderEvent;
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 订单事件数据访问层
+ * 功能概述：事件只追加不修改；按主键顺序读取供投影使用，按(user_id, id)索引读取某个用户尚未投影的事件
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 订单事件Mapper接口
+public interface OrderEventMapper {
+
+    /**
+     * 统计订单事件表是否存在
+     * 功能概述：查询information_schema判断当前库中是否已有order_event表，表由db/schema-order-history.sql创建
+     * @return {int} 表存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的表元数据
+    @Select("SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_event'")
+    int countTable();
+
+    /**
+     * 为一批订单追加同一类型的事件
+     * 功能概述：在状态变化的事务中作为最后一条语句调用，用户编号和支付状态从统一订单的当前行读取（本事务刚写入的值）；
+     * 一条语句写入整批事件。INSERT…SELECT按批分配自增编号，多行时可能留下从未使用的编号
+     * @param {List<String>} orderNos - 统一订单号列表
+     * @param {String} eventType - 事件类型
+     * @return {int} 返回追加的事件数
+     */
+    // 使用MyBatis的Insert注解，从统一订单表读取用户和状态
+    @Insert("<script>" +
+            "INSERT INTO order_event (order_no, user_id, event_type, payment_status) " +
+            "SELECT order_no, user_id, #{eventType}, payment_status FROM unified_order WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach> " +
+            "ORDER BY order_no" +
+            "</script>")
+    int appendForOrders(@Param("orderNos") List<String> orderNos, @Param("eventType") String eventType);
+
+    /**
+     * 追加一批给定内容的事件
+     * 功能概述：订单行已删除时使用，用户编号和支付状态由调用方给出；一条语句写入整批事件
+     * @param {List<OrderEvent>} events - 事件（orderNo、userId、eventType、paymentStatus）
+     * @return {int} 返回追加的事件数
+     */
+    // 使用MyBatis的Insert注解，批量写入
+    @Insert("<script>" +
+            "INSERT INTO order_event (order_no, user_id, event_type, payment_status) VALUES " +
+            "<foreach collection='events' item='e' separator=','>" +
+            "(#{e.orderNo}, #{e.userId}, #{e.eventType}, #{e.paymentStatus})" +
+            "</foreach>" +
+            "</script>")
+    int appendEvents(@Param("events") List<OrderEvent> events);
+
+    /**
+     * 按事件编号顺序读取一段事件
+     * 功能概述：settled表示事件时间早于数据库当前时间减去沉淀秒数；自增编号按分配顺序而不是提交顺序递增，
+     * 编号不连续时缺口中可能是未提交的事件，投影等缺口之后的事件沉淀后才越过缺口，并按编号复查缺口
+     * @param {long} afterId - 上一段最后一个事件编号（不含）
+     * @param {int} settleSeconds - 沉淀秒数
+     * @param {int} limit - 读取条数
+     * @return {List<OrderEvent>} 返回事件，按事件编号升序
+     */
+    // 使用MyBatis的Select注解
+    @Select("SELECT id, order_no, user_id, event_type, payment_status, create_time, " +
+            "(create_time <= DATE_SUB(NOW(3), INTERVAL #{settleSeconds} SECOND)) AS settled " +
+            "FROM order_event WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<OrderEvent> findAfter(@Param("afterId") long afterId, @Param("settleSeconds") int settleSeconds,
+                               @Param("limit") int limit);
+
+    /**
+     * 按事件编号读取事件
+     * 功能概述：投影越过编号缺口后按主键复查缺口中的编号，晚提交的事件出现后补投影，回滚或从未使用的编号一直读不到
+     * @param {List<Long>} ids - 事件编号列表
+     * @return {List<OrderEvent>} 返回已提交的事件，按事件编号升序
+     */
+    // 使用MyBatis的Select注解，按主键IN查询
+    @Select("<script>" +
+            "SELECT id, order_no, user_id, event_type, payment_status, create_time FROM order_event WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "ORDER BY id" +
+            "</script>")
+    List<OrderEvent> findByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 读取某个用户在指定事件之后有事件的订单
+     * 功能概述：用户刚下单、支付或取消后立即查看订单时，先投影这些订单再读取，按(user_id, id)索引读取
+     * @param {Integer} userId - 用户编号
+     * @param {long} afterId - 事件编号下限（不含），通常为投影检查点
+     * @param {int} limit - 最多读取的订单数
+     * @return {List<OrderEvent>} 返回订单号和该订单最后一个事件的编号
+     */
+    // 使用MyBatis的Select注解，按订单号合并
+    @Select("SELECT order_no, MAX(id) AS id FROM order_event WHERE user_id = #{userId} AND id > #{afterId} " +
+            "GROUP BY order_no ORDER BY MAX(id) DESC LIMIT #{limit}")
+    List<OrderEvent> findOrdersAfterByUser(@Param("userId") Integer userId, @Param("afterId") long afterId,
+                                           @Param("limit") int limit);
+}
@@ -0,0 +1,151 @@
+/**
+ * 订单过期登记Mapper接口
+ * 功能概述：维护order_expiry表，每个待支付的统一订单一行，按(expire_time, order_no)索引读取即将过期的订单
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入订单过期登记实体类
+import com.icss.xihu.model.OrderExpiry;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入LocalDateTime类，用于处理日期时间
+import java.time.LocalDateTime;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 订单过期登记数据访问层
+ * 功能概述：订单创建时在同一事务中写入过期时间，支付或取消时在同一事务中删除，表中只保留待支付的订单；
+ * 应用内存中只登记即将过期的订单，重启后从该表重新装载
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 订单过期登记Mapper接口
+public interface OrderExpiryMapper {
+
+    /**
+     * 统计订单过期登记表是否存在
+     * 功能概述：查询information_schema判断当前库中是否已有order_expiry表，表由db/schema-order-expiry.sql创建
+     * @return {int} 表存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的表元数据
+    @Select("SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_expiry'")
+    int countTable();
+
+    /**
+     * 登记订单的过期时间
+     * 功能概述：过期时间为数据库当前时间加上有效期，已登记时覆盖
+     * @param {String} orderNo - 统一订单号
+     * @param {int} ttlMinutes - 有效期（分钟）
+     * @return {int} 返回影响的行数
+     */
+    // 使用MyBatis的Insert注解，已登记时覆盖过期时间
+    @Insert("INSERT INTO order_expiry (order_no, expire_time) " +
+            "VALUES (#{orderNo}, DATE_ADD(NOW(), INTERVAL #{ttlMinutes} MINUTE)) " +
+            "ON DUPLICATE KEY UPDATE expire_time = VALUES(expire_time)")
+    int upsert(@Param("orderNo") String orderNo, @Param("ttlMinutes") int ttlMinutes);
+
+    /**
+     * 批量登记订单的过期时间
+     * 功能概述：补登记时使用，已登记的订单不覆盖；没有过期时间的订单按数据库当前时间加有效期登记
+     * @param {List<OrderExpiry>} expiries - 订单号和过期时间，不能为空
+     * @param {int} ttlMinutes - 有效期（分钟）
+     * @return {int} 返回插入的行数
+     */
+    // 使用MyBatis的Insert注解，动态拼接多行VALUES
+    @Insert("<script>" +
+            "INSERT IGNORE INTO order_expiry (order_no, expire_time) VALUES " +
+            "<foreach collection='expiries' item='e' separator=','>" +
+            "(#{e.orderNo}, COALESCE(#{e.expireTime}, DATE_ADD(NOW(), INTERVAL #{ttlMinutes} MINUTE)))" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("expiries") List<OrderExpiry> expiries, @Param("ttlMinutes") int ttlMinutes);
+
+    /**
+     * 读取数据库当前时间
+     * 功能概述：过期时间按数据库时钟计算，装载时用于确定装载范围和测量本机时钟的偏差
+     * @return {LocalDateTime} 返回数据库当前时间（毫秒精度）
+     */
+    // 使用MyBatis的Select注解
+    @Select("SELECT NOW(3)")
+    LocalDateTime currentTime();
+
+    /**
+     * 延长订单的过期时间
+     * 功能概述：订单仍在使用（如购物车继续加购）时调用，过期时间重新从数据库当前时间计算；未登记的订单不做任何操作
+     * @param {String} orderNo - 统一订单号
+     * @param {int} ttlMinutes - 有效期（分钟）
+     * @return {int} 返回更新的行数
+     */
+    // 使用MyBatis的Update注解
+    @Update("UPDATE order_expiry SET expire_time = DATE_ADD(NOW(), INTERVAL #{ttlMinutes} MINUTE) " +
+            "WHERE order_no = #{orderNo}")
+    int extend(@Param("orderNo") String orderNo, @Param("ttlMinutes") int ttlMinutes);
+
+    /**
+     * 删除一批订单的过期登记
+     * 功能概述：订单支付、取消或过期处理后在同一事务中调用
+     * @param {List<String>} orderNos - 统一订单号列表
+     * @return {int} 返回删除的行数
+     */
+    // 使用MyBatis的Delete注解，动态拼接IN条件
+    @Delete("<script>" +
+            "DELETE FROM order_expiry WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach>" +
+            "</script>")
+    int deleteByOrderNos(@Param("orderNos") List<String> orderNos);
+
+    /**
+     * 锁定一批订单中已到过期时间的登记
+     * 功能概述：在已锁定统一订单之后调用，加锁顺序与支付、取消一致（先统一订单，后过期登记）；
+     * 与登记时相同，用数据库当前时间判断是否过期，过期时间晚于当前时间的登记（如被延长的购物车订单）不返回
+     * @param {List<String>} orderNos - 统一订单号列表
+     * @return {List<String>} 返回已到过期时间的订单号
+     */
+    // 使用MyBatis的Select注解，动态拼接IN条件
+    @Select("<script>" +
+            "SELECT order_no FROM order_expiry WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach> " +
+            "AND expire_time &lt;= NOW() FOR UPDATE" +
+            "</script>")
+    List<String> lockExpiredOrderNos(@Param("orderNos") List<String> orderNos);
+
+    /**
+     * 按过期时间顺序读取一段即将过期的登记
+     * 功能概述：装载时分批读取过期时间不晚于上限的登记，按(expire_time, order_no)游标翻页，落在idx_order_expiry_time索引上
+     * @param {LocalDateTime} to - 过期时间上限（含）
+     * @param {LocalDateTime} afterTime - 游标的过期时间，从头开始时为null
+     * @param {String} afterOrderNo - 游标的订单号
+     * @param {int} limit - 读取条数
+     * @return {List<OrderExpiry>} 返回过期登记，按过期时间和订单号排序
+     */
+    // 使用MyBatis的Select注解和动态SQL
+    @Select("<script>" +
+            "SELECT order_no, expire_time FROM order_expiry WHERE expire_time &lt;= #{to} " +
+            "<if test='afterTime != null'>" +
+            "AND (expire_time &gt; #{afterTime} OR (expire_time = #{afterTime} AND order_no &gt; #{afterOrderNo})) " +
+            "</if>" +
+            "ORDER BY expire_time, order_no LIMIT #{limit}" +
+            "</script>")
+    List<OrderExpiry> findExpiringChunk(@Param("to") LocalDateTime to, @Param("afterTime") LocalDateTime afterTime,
+                                        @Param("afterOrderNo") String afterOrderNo, @Param("limit") int limit);
+
+    /**
+     * 读取一段尚未登记过期时间的待支付订单
+     * 功能概述：补登记上线之前创建的订单和在应用之外创建的订单，按统一订单主键游标翻页
+     * @param {int} afterId - 上一段最后一个订单主键（不含），从头开始时为0
+     * @param {int} limit - 读取条数
+     * @return {List<UnifiedOrderNew>} 返回订单（只包含id、orderNo、createTime、updateTime）
+     */
+    // 使用MyBatis的Select注解，反连接找出未登记的待支付订单
+    @Select("SELECT uo.id, uo.order_no, uo.create_time, uo.update_time FROM unified_order uo " +
+            "LEFT JOIN order_expiry e ON e.order_no = uo.order_no " +
+            "WHERE uo.payment_status = 0 AND e.order_no IS NULL AND uo.id > #{afterId} " +
+            "ORDER BY uo.id LIMIT #{limit}")
+    List<UnifiedOrderNew> findUnregisteredUnpaidOrders(@Param("afterId") int afterId, @Param("limit") int limit);
+}
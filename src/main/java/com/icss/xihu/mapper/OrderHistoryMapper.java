@@ -0,0 +1,133 @@
+/**
+ * 订单历史Mapper接口
+ * 功能概述：维护order_history读模型表，订单中心和我的订单页面按(user_id, create_time, order_no)索引一次读取一页
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入订单历史实体类
+import com.icss.xihu.model.OrderHistory;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 订单历史数据访问层
+ * 功能概述：订单历史投影按事件批量写入和删除，写入时按last_event_id比较，较旧的投影不覆盖较新的投影；
+ * 页面读取时按用户和可选的订单类型、支付状态筛选
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 订单历史Mapper接口
+public interface OrderHistoryMapper {
+
+    /**
+     * 统计订单历史表是否存在
+     * 功能概述：查询information_schema判断当前库中是否已有order_history表，表由db/schema-order-history.sql创建
+     * @return {int} 表存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的表元数据
+    @Select("SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_history'")
+    int countTable();
+
+    /**
+     * 批量写入订单历史
+     * 功能概述：一条语句写入一批订单，已存在时只有新的last_event_id不小于已投影的编号才覆盖；
+     * last_event_id放在最后赋值，前面的比较使用的是覆盖前的值
+     * @param {List<OrderHistory>} histories - 订单历史
+     * @return {int} 返回影响的行数
+     */
+    // 使用MyBatis的Insert注解，动态拼接多行VALUES
+    @Insert("<script>" +
+            "INSERT INTO order_history (order_no, user_id, order_type, module_order_id, order_title, order_description, " +
+            "total_amount, payment_status, payment_method, payment_time, create_time, module_detail, thumbnail, last_event_id) VALUES " +
+            "<foreach collection='histories' item='h' separator=','>" +
+            "(#{h.orderNo}, #{h.userId}, #{h.orderType}, #{h.moduleOrderId}, #{h.orderTitle}, #{h.orderDescription}, " +
+            "#{h.totalAmount}, #{h.paymentStatus}, #{h.paymentMethod}, #{h.paymentTime}, #{h.createTime}, " +
+            "#{h.moduleDetail}, #{h.thumbnail}, #{h.lastEventId})" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE " +
+            "order_type = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(order_type), order_type), " +
+            "module_order_id = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(module_order_id), module_order_id), " +
+            "order_title = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(order_title), order_title), " +
+            "order_description = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(order_description), order_description), " +
+            "total_amount = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(total_amount), total_amount), " +
+            "payment_status = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(payment_status), payment_status), " +
+            "payment_method = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(payment_method), payment_method), " +
+            "payment_time = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(payment_time), payment_time), " +
+            "module_detail = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(module_detail), module_detail), " +
+            "thumbnail = IF(VALUES(last_event_id) &gt;= last_event_id, VALUES(thumbnail), thumbnail), " +
+            "last_event_id = GREATEST(last_event_id, VALUES(last_event_id))" +
+            "</script>")
+    int upsertBatch(@Param("histories") List<OrderHistory> histories);
+
+    /**
+     * 删除一批订单的历史
+     * 功能概述：统一订单已被删除时调用，订单号不会复用，直接删除
+     * @param {List<String>} orderNos - 统一订单号列表
+     * @return {int} 返回删除的行数
+     */
+    // 使用MyBatis的Delete注解，动态拼接IN条件
+    @Delete("<script>" +
+            "DELETE FROM order_history WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach>" +
+            "</script>")
+    int deleteByOrderNos(@Param("orderNos") List<String> orderNos);
+
+    /**
+     * 读取用户的一页订单历史
+     * 功能概述：按下单时间倒序，订单类型和支付状态为空时不筛选；每行已包含页面展示需要的全部字段
+     * @param {Integer} userId - 用户编号
+     * @param {String} orderType - 订单类型（可选）
+     * @param {Integer} paymentStatus - 支付状态（可选）
+     * @param {int} offset - 跳过的行数
+     * @param {int} limit - 每页行数
+     * @return {List<OrderHistory>} 返回本页订单历史
+     */
+    // 使用MyBatis的Select注解和动态SQL
+    @Select("<script>" +
+            "SELECT order_no, user_id, order_type, module_order_id, order_title, order_description, total_amount, " +
+            "payment_status, payment_method, payment_time, create_time, module_detail, thumbnail, last_event_id, update_time " +
+            "FROM order_history WHERE user_id = #{userId} " +
+            "<if test='orderType != null'>AND order_type = #{orderType} </if>" +
+            "<if test='paymentStatus != null'>AND payment_status = #{paymentStatus} </if>" +
+            "ORDER BY create_time DESC, order_no DESC LIMIT #{offset}, #{limit}" +
+            "</script>")
+    List<OrderHistory> findPage(@Param("userId") Integer userId, @Param("orderType") String orderType,
+                                @Param("paymentStatus") Integer paymentStatus,
+                                @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * 统计用户的订单历史数
+     * @param {Integer} userId - 用户编号
+     * @param {String} orderType - 订单类型（可选）
+     * @param {Integer} paymentStatus - 支付状态（可选）
+     * @return {int} 返回满足筛选条件的订单数
+     */
+    // 使用MyBatis的Select注解和动态SQL
+    @Select("<script>" +
+            "SELECT COUNT(*) FROM order_history WHERE user_id = #{userId} " +
+            "<if test='orderType != null'>AND order_type = #{orderType} </if>" +
+            "<if test='paymentStatus != null'>AND payment_status = #{paymentStatus} </if>" +
+            "</script>")
+    int countByUser(@Param("userId") Integer userId, @Param("orderType") String orderType,
+                    @Param("paymentStatus") Integer paymentStatus);
+
+    /**
+     * 读取一段尚未投影的统一订单
+     * 功能概述：补投影上线之前创建的订单，按统一订单主键游标翻页
+     * @param {int} afterId - 上一段最后一个订单主键（不含），从头开始时为0
+     * @param {int} limit - 读取条数
+     * @return {List<UnifiedOrderNew>} 返回订单（只包含id、orderNo）
+     */
+    // 使用MyBatis的Select注解，反连接找出没有历史的订单
+    @Select("SELECT uo.id, uo.order_no FROM unified_order uo " +
+            "LEFT JOIN order_history h ON h.order_no = uo.order_no " +
+            "WHERE h.order_no IS NULL AND uo.id > #{afterId} ORDER BY uo.id LIMIT #{limit}")
+    List<UnifiedOrderNew> findUnprojectedOrders(@Param("afterId") int afterId, @Param("limit") int limit);
+}
@@ -0,0 +1,151 @@
+/**
+ * 发件箱Mapper接口
+ * 功能概述：维护order_outbox表，支付事务中写入后续操作消息，发件箱分发器按(status, message_type, next_attempt_time)索引逐类型领取到期的消息
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入发件箱消息实体类
+import com.icss.xihu.model.OutboxMessage;
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 发件箱数据访问层
+ * 功能概述：领取消息用一条带LIMIT的UPDATE把某个类型到期的消息标记为本轮的领取令牌并推迟到租约结束，处理期间定期延长租约，
+ * 多个实例同时领取时行锁保证每条消息只被一个实例领到；处理完成或失败时按领取令牌条件更新，租约过期后被其他实例重新领取的消息不会被覆盖
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 发件箱Mapper接口
+public interface OutboxMapper {
+
+    /**
+     * 统计发件箱表是否存在
+     * 功能概述：查询information_schema判断当前库中是否已有order_outbox表，表及其索引由db/schema-order-outbox.sql创建
+     * @return {int} 表存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的表元数据
+    @Select("SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_outbox'")
+    int countTable();
+
+    /**
+     * 批量写入消息
+     * 功能概述：在支付事务中调用，一条语句写入；幂等键已存在时忽略，同一订单的同一后续操作只写入一次
+     * @param {List<OutboxMessage>} messages - 消息（需要包含messageKey、messageType、orderNo）
+     * @return {int} 返回写入的消息数
+     */
+    // 使用MyBatis的Insert注解，动态拼接多行VALUES
+    @Insert("<script>" +
+            "INSERT IGNORE INTO order_outbox (message_key, message_type, order_no) VALUES " +
+            "<foreach collection='messages' item='m' separator=','>(#{m.messageKey}, #{m.messageType}, #{m.orderNo})</foreach>" +
+            "</script>")
+    int insertBatch(@Param("messages") List<OutboxMessage> messages);
+
+    /**
+     * 领取一批某个类型到期的消息
+     * 功能概述：把该类型到期的待处理消息按到期时间顺序标记为本轮的领取令牌，并把下一次处理时间推迟到租约结束，
+     * 处理过程中实例宕机时租约过期后被重新领取；各类型分别领取，慢的类型不占用快的类型的批次
+     * @param {String} claimToken - 本轮的领取令牌
+     * @param {String} messageType - 消息类型
+     * @param {int} leaseSeconds - 租约秒数
+     * @param {int} limit - 最多领取条数
+     * @return {int} 返回领取的消息数
+     */
+    // 使用MyBatis的Update注解，单表UPDATE支持ORDER BY和LIMIT
+    @Update("UPDATE order_outbox SET claim_token = #{claimToken}, " +
+            "next_attempt_time = DATE_ADD(NOW(3), INTERVAL #{leaseSeconds} SECOND) " +
+            "WHERE status = 0 AND message_type = #{messageType} AND next_attempt_time <= NOW(3) " +
+            "ORDER BY next_attempt_time, id LIMIT #{limit}")
+    int claimDue(@Param("claimToken") String claimToken, @Param("messageType") String messageType,
+                 @Param("leaseSeconds") int leaseSeconds, @Param("limit") int limit);
+
+    /**
+     * 延长本轮领取的租约
+     * 功能概述：处理期间定期调用，把仍由本轮领取令牌持有的待处理消息的下一次处理时间推迟到新的租约结束，
+     * 慢的处理器（如逐条发送短信）处理整批的时间超过租约时长时不会被其他实例重新领取
+     * @param {String} claimToken - 本轮的领取令牌
+     * @param {int} leaseSeconds - 租约秒数
+     * @return {int} 返回仍由本轮持有的消息数，0表示已全部处理完或已被其他实例重新领取
+     */
+    // 使用MyBatis的Update注解
+    @Update("UPDATE order_outbox SET next_attempt_time = DATE_ADD(NOW(3), INTERVAL #{leaseSeconds} SECOND) " +
+            "WHERE claim_token = #{claimToken} AND status = 0")
+    int extendClaim(@Param("claimToken") String claimToken, @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * 读取本轮领取的消息
+     * @param {String} claimToken - 本轮的领取令牌
+     * @return {List<OutboxMessage>} 返回消息，按消息编号升序
+     */
+    // 使用MyBatis的Select注解
+    @Select("SELECT id, message_key, message_type, order_no, status, attempts, next_attempt_time, last_error, create_time " +
+            "FROM order_outbox WHERE claim_token = #{claimToken} AND status = 0 ORDER BY id")
+    List<OutboxMessage> findClaimed(@Param("claimToken") String claimToken);
+
+    /**
+     * 把一批消息标记为已完成
+     * 功能概述：只更新仍由本轮领取令牌持有的消息，下一次处理时间改为完成时间，供清理已完成的消息使用
+     * @param {List<Long>} ids - 消息编号
+     * @param {String} claimToken - 本轮的领取令牌
+     * @return {int} 返回更新的消息数
+     */
+    // 使用MyBatis的Update注解，动态拼接IN条件
+    @Update("<script>" +
+            "UPDATE order_outbox SET status = 1, attempts = attempts + 1, next_attempt_time = NOW(3), " +
+            "claim_token = NULL, last_error = NULL WHERE claim_token = #{claimToken} AND id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markDone(@Param("ids") List<Long> ids, @Param("claimToken") String claimToken);
+
+    /**
+     * 记录一条消息的处理失败
+     * 功能概述：尝试次数加1，按退避毫秒数推迟下一次处理；达到最大尝试次数时标记为已放弃
+     * @param {Long} id - 消息编号
+     * @param {String} claimToken - 本轮的领取令牌
+     * @param {long} delayMs - 退避毫秒数
+     * @param {String} lastError - 失败原因
+     * @param {int} maxAttempts - 最大尝试次数
+     * @return {int} 返回更新的消息数
+     */
+    // 使用MyBatis的Update注解，status在attempts之前赋值，比较使用的是加1之前的值
+    @Update("UPDATE order_outbox SET status = IF(attempts + 1 >= #{maxAttempts}, 2, 0), attempts = attempts + 1, " +
+            "next_attempt_time = DATE_ADD(NOW(3), INTERVAL #{delayMs} * 1000 MICROSECOND), " +
+            "claim_token = NULL, last_error = #{lastError} WHERE id = #{id} AND claim_token = #{claimToken}")
+    int markFailed(@Param("id") Long id, @Param("claimToken") String claimToken, @Param("delayMs") long delayMs,
+                   @Param("lastError") String lastError, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 把已放弃的消息恢复为待处理
+     * 功能概述：排除故障（如短信通道恢复）后由运维手动调用，尝试次数清零并立即到期
+     * @return {int} 返回恢复的消息数
+     */
+    // 使用MyBatis的Update注解
+    @Update("UPDATE order_outbox SET status = 0, attempts = 0, next_attempt_time = NOW(3) WHERE status = 2")
+    int reviveDead();
+
+    /**
+     * 删除一批过期的已完成消息
+     * 功能概述：按(status, next_attempt_time)索引删除完成时间早于保留天数的消息，每次最多删除limit条
+     * @param {int} retentionDays - 保留天数
+     * @param {int} limit - 最多删除条数
+     * @return {int} 返回删除的消息数
+     */
+    // 使用MyBatis的Delete注解
+    @Delete("DELETE FROM order_outbox WHERE status = 1 AND next_attempt_time < DATE_SUB(NOW(3), INTERVAL #{retentionDays} DAY) " +
+            "ORDER BY next_attempt_time LIMIT #{limit}")
+    int purgeDone(@Param("retentionDays") int retentionDays, @Param("limit") int limit);
+
+    /**
+     * 统计某个状态的消息数
+     * @param {int} status - 处理状态
+     * @return {int} 返回消息数
+     */
+    // 使用MyBatis的Select注解
+    @Select("SELECT COUNT(*) FROM order_outbox WHERE status = #{status}")
+    int countByStatus(@Param("status") int status);
+}
@@ -5,14 +5,20 @@
 // 定义包路径，标识该接口属于com.icss.xihu.mapper包
 package com.icss.xihu.mapper;
 
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
 // 导入缴费账单实体类
 import com.icss.xihu.model.PaymentBill;
 // 导入缴费类型实体类
 import com.icss.xihu.model.PaymentType;
+// 导入用户缴费账户实体类
+import com.icss.xihu.model.UserPaymentAccount;
 // 导入MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
 import org.apache.ibatis.annotations.Mapper;
 // 导入MyBatis的Param注解，用于方法参数映射
 import org.apache.ibatis.annotations.Param;
+// 导入MyBatis的结果回调接口，用于逐行处理流式查询结果
+import org.apache.ibatis.session.ResultHandler;
 
 // 导入List集合接口
 import java.util.List;
@@ -53,6 +59,18 @@ public interface PaymentMapper {
     // 根据用户ID和状态获取缴费账单方法，接收用户编号和账单状态参数，返回该用户指定状态的所有账单列表（SQL在XML映射文件中定义）
     List<PaymentBill> getBillsByUserIdAndStatus(@Param("userId") Integer userId, @Param("status") Integer status);
     
+    /**
+     * 流式读取用户账单
+     * 功能概述：条件与getBillsByUserIdAndStatus相同（status为null时不过滤），使用流式结果集逐行读取，
+     * 每行映射后立即交给handler，用于导出全部历史账单而不把整个列表放在内存中
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} status - 账单状态，可为null
+     * @param {ResultHandler<PaymentBill>} handler - 逐行处理结果的回调
+     */
+    // 流式读取用户账单方法（SQL在XML映射文件中定义）
+    void streamBillsByUserId(@Param("userId") Integer userId, @Param("status") Integer status,
+                             ResultHandler<PaymentBill> handler);
+    
     /**
      * 根据账单ID获取账单详情
      * 功能概述：根据账单编号从数据库中查询指定缴费账单的详细信息
@@ -62,6 +80,16 @@ public interface PaymentMapper {
     // 根据账单ID获取账单详情方法，接收账单编号参数，返回账单对象（SQL在XML映射文件中定义）
     PaymentBill getBillById(@Param("billId") Integer billId);
     
+    /**
+     * 锁定账单
+     * 功能概述：按主键锁定账单（SELECT ... FOR UPDATE），必须在事务中调用；缴费前加锁，并发的缴费和逾期更新互斥，
+     * 读到的状态就是更新前的状态，用于计入用户缴费统计
+     * @param {Integer} billId - 账单编号
+     * @return {PaymentBill} 返回锁定的账单（只包含id、userId、billAmount、billStatus、dueDate），不存在时返回null
+     */
+    // 锁定账单方法（SQL在XML映射文件中定义）
+    PaymentBill lockBillById(@Param("billId") Integer billId);
+    
     /**
      * 更新账单状态
      * 功能概述：根据账单编号更新缴费账单的状态、已缴金额和缴费时间
@@ -77,16 +105,33 @@ public interface PaymentMapper {
                         @Param("paidTime") java.time.LocalDateTime paidTime);
 
     /**
-     * 根据账单ID更新支付状态(用于统一支付)
-     * 功能概述：根据账单编号更新缴费账单的支付状态和缴费时间，用于统一支付系统
-     * @param {Integer} billId - 账单编号
-     * @param {Integer} status - 账单状态（0-未缴费，1-已缴费，2-逾期）
+     * 锁定一批未缴费的账单(用于统一支付)
+     * 功能概述：按主键锁定一批账单中尚未缴费的账单（SELECT ... FOR UPDATE），必须在事务中调用；
+     * 读到的状态就是更新前的状态，用于计入用户缴费统计
+     * @param {List<Integer>} ids - 账单编号
+     * @return {List<PaymentBill>} 返回锁定的账单（只包含id、userId、billAmount、billStatus、dueDate）
+     */
+    // 锁定一批未缴费的账单方法（SQL在XML映射文件中定义）
+    List<PaymentBill> lockUnpaidBillsByIds(@Param("ids") List<Integer> ids);
+
+    /**
+     * 把一批账单更新为已缴费(用于统一支付)
+     * 功能概述：按主键把一批账单更新为已缴费并设置缴费时间，已缴费的账单不重复更新
+     * @param {List<Integer>} ids - 账单编号
      * @param {LocalDateTime} paidTime - 缴费时间
-     * @return {int} 返回更新的记录数（通常为1）
+     * @return {int} 返回更新的记录数
+     */
+    // 把一批账单更新为已缴费方法（SQL在XML映射文件中定义）
+    int markBillsPaid(@Param("ids") List<Integer> ids, @Param("paidTime") java.time.LocalDateTime paidTime);
+
+    /**
+     * 查询一批账单的摘要(用于订单历史)
+     * 功能概述：一条语句查询一批账单的缴费类型、户名和账期，缩略图取缴费类型图标
+     * @param {List<Integer>} ids - 账单编号
+     * @return {List<ModuleOrderSummary>} 返回模块订单摘要列表
      */
-    // 根据账单ID更新支付状态方法（用于统一支付），接收账单编号、账单状态和缴费时间参数，返回更新的记录数（SQL在XML映射文件中定义）
-    int updatePaymentBillStatus(@Param("billId") Integer billId, @Param("status") Integer status,
-                               @Param("paidTime") java.time.LocalDateTime paidTime);
+    // 查询一批账单的摘要方法（SQL在XML映射文件中定义）
+    List<ModuleOrderSummary> findBillSummariesByIds(@Param("ids") List<Integer> ids);
     
     /**
      * 创建缴费记录
@@ -111,13 +156,97 @@ public interface PaymentMapper {
      */
     // 获取用户缴费统计方法，接收用户编号参数，返回缴费统计结果（SQL在XML映射文件中定义）
     java.util.Map<String, Object> getPaymentStats(@Param("userId") Integer userId);
-    
+
     /**
-     * 自动更新过期账单状态
-     * 功能概述：将状态为0（待缴费）且到期日期已过的账单自动更新为2（逾期）
-     * @param {Integer} userId - 用户编号（可选，如果为null则更新所有用户的过期账单）
+     * 统计账单表上的索引是否存在
+     * 功能概述：查询information_schema判断payment_bills表是否已有指定名称的索引，用于启动时检查db/schema-overdue-sweep.sql和db/schema-billing-cycle.sql中的索引是否已建立
+     * @param {String} indexName - 索引名称
+     * @return {int} 索引存在时返回索引包含的字段数，不存在返回0
+     */
+    // 统计索引是否存在方法（SQL在XML映射文件中定义）
+    int countIndex(@Param("indexName") String indexName);
+
+    /**
+     * 读取下一批待逾期账单
+     * 功能概述：按(due_date, id)游标顺序读取状态为0且到期日期早于截止日期的账单，只返回id和dueDate
+     * @param {LocalDate} cutoff - 截止日期（不含），到期日期早于该日期的账单为逾期
+     * @param {LocalDate} afterDueDate - 游标的到期日期，为null时从头读取
+     * @param {Integer} afterId - 游标的账单编号
+     * @param {int} shards - 分片总数，大于1时只读取账单编号按分片总数取模等于shard的账单（id在索引中，不需要回表）
+     * @param {int} shard - 分片序号（从0开始）
+     * @param {int} limit - 本批最多读取的数量
+     * @return {List<PaymentBill>} 返回本批账单，按到期日期和编号升序
+     */
+    // 读取下一批待逾期账单方法（SQL在XML映射文件中定义）
+    List<PaymentBill> findOverdueBillChunk(@Param("cutoff") java.time.LocalDate cutoff,
+                                           @Param("afterDueDate") java.time.LocalDate afterDueDate,
+                                           @Param("afterId") Integer afterId,
+                                           @Param("shards") int shards,
+                                           @Param("shard") int shard,
+                                           @Param("limit") int limit);
+
+    /**
+     * 读取下一批即将到期的待缴费账单
+     * 功能概述：按(due_date, id)游标顺序读取状态为0且到期日期在[fromDate, toDate]之间的账单，用于装载到期时间轮和补齐已过期的账单
+     * @param {LocalDate} fromDate - 到期日期下限（含），为null时不限下限
+     * @param {LocalDate} toDate - 到期日期上限（含）
+     * @param {LocalDate} afterDueDate - 游标的到期日期，为null时从头读取
+     * @param {Integer} afterId - 游标的账单编号
+     * @param {int} limit - 本批最多读取的数量
+     * @return {List<PaymentBill>} 返回本批账单（只包含id、userId、dueDate），按到期日期和编号升序
+     */
+    // 读取下一批即将到期的待缴费账单方法（SQL在XML映射文件中定义）
+    List<PaymentBill> findPendingBillChunk(@Param("fromDate") java.time.LocalDate fromDate,
+                                           @Param("toDate") java.time.LocalDate toDate,
+                                           @Param("afterDueDate") java.time.LocalDate afterDueDate,
+                                           @Param("afterId") Integer afterId,
+                                           @Param("limit") int limit);
+
+    /**
+     * 锁定一批待逾期账单
+     * 功能概述：按主键锁定仍为待缴费且到期日期早于截止日期的账单（SELECT ... FOR UPDATE），必须在事务中调用
+     * @param {List<Integer>} ids - 账单编号列表，不能为空
+     * @param {LocalDate} cutoff - 截止日期（不含）
+     * @return {List<PaymentBill>} 返回锁定的账单（只包含id、userId、billAmount、billStatus、dueDate）
+     */
+    // 锁定一批待逾期账单方法（SQL在XML映射文件中定义）
+    List<PaymentBill> lockPendingOverdueBills(@Param("ids") List<Integer> ids, @Param("cutoff") java.time.LocalDate cutoff);
+
+    /**
+     * 按编号把一批账单更新为逾期
+     * 功能概述：按主键更新，只锁定本批账单；仍为待缴费且到期日期早于截止日期的账单才会更新
+     * @param {List<Integer>} ids - 账单编号列表，不能为空
+     * @param {LocalDate} cutoff - 截止日期（不含）
      * @return {int} 返回更新的记录数
      */
-    // 自动更新过期账单状态方法，接收用户编号参数（可选），返回更新的记录数（SQL在XML映射文件中定义）
-    int updateOverdueBills(@Param("userId") Integer userId);
+    // 按编号更新逾期账单方法（SQL在XML映射文件中定义）
+    int markBillsOverdue(@Param("ids") List<Integer> ids, @Param("cutoff") java.time.LocalDate cutoff);
+
+    /**
+     * 流式读取有效的缴费账户
+     * 功能概述：按主键顺序读取status=1的账户，使用流式结果集逐行读取，每行映射后立即交给handler，
+     * 百万级账户也不会把整个列表放在内存中
+     * @param {ResultHandler<UserPaymentAccount>} handler - 逐行处理结果的回调，调用ResultContext.stop()可提前结束
+     */
+    // 流式读取有效的缴费账户方法（SQL在XML映射文件中定义）
+    void streamActiveAccounts(ResultHandler<UserPaymentAccount> handler);
+
+    /**
+     * 查询一批账户中已有指定账期账单的账户
+     * @param {String} billPeriod - 账期（如"2024年01月"）
+     * @param {List<Integer>} accountIds - 账户编号列表，不能为空
+     * @return {List<Integer>} 返回已有该账期账单的账户编号
+     */
+    // 查询已生成账期账单的账户方法（SQL在XML映射文件中定义）
+    List<Integer> findBilledAccountIds(@Param("billPeriod") String billPeriod, @Param("accountIds") List<Integer> accountIds);
+
+    /**
+     * 批量插入账单
+     * 功能概述：一条多行INSERT插入整批账单（驱动不开启批量改写时也只有一次往返），按顺序回填自增主键；
+     * 有账单与(account_id, bill_period)唯一索引冲突时整条语句失败，抛出DuplicateKeyException
+     * @param {List<PaymentBill>} bills - 账单列表，不能为空
+     * @return {int} 返回插入的记录数
+     */
+    // 批量插入账单方法（SQL在XML映射文件中定义）
+    int insertBills(List<PaymentBill> bills);
 }
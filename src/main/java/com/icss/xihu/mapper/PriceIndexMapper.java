@@ -0,0 +1,83 @@
+/**
+ * 价格索引Mapper接口
+ * 功能概述：检查餐厅表和景点表的price_min、price_max数值字段，回填由price_range文本解析出的价格，
+ * 并按数值字段做景点价格区间查询
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map集合接口
+import java.util.Map;
+
+/**
+ * 价格索引数据访问层
+ * 功能概述：检查餐厅表和景点表的price_min、price_max数值字段，回填由price_range文本解析出的价格，
+ * 并按数值字段做景点价格区间查询；表名只允许由服务层传入固定值
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 价格索引Mapper接口，定义价格字段检查、回填和价格区间查询方法
+public interface PriceIndexMapper {
+
+    /**
+     * 统计表中指定列是否存在
+     * 功能概述：查询information_schema判断当前库中某张表是否已有某个字段，用于同步前检查db/schema-price-index.sql是否已执行
+     * @param {String} tableName - 表名
+     * @param {String} columnName - 字段名
+     * @return {int} 字段存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的字段元数据
+    @Select("SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = #{tableName} AND COLUMN_NAME = #{columnName}")
+    int countColumn(@Param("tableName") String tableName, @Param("columnName") String columnName);
+
+    /**
+     * 查询价格文本和已解析的价格
+     * 功能概述：查询表中每条记录的price_range和price_min、price_max，由服务层解析后只回填有变化的记录
+     * @param {String} tableName - 表名（restaurant或attractions）
+     * @return {List<Map<String, Object>>} 返回记录列表，包含id、priceRange、priceMin、priceMax
+     */
+    // 使用MyBatis的Select注解，表名使用${}拼接，调用方只传入固定表名
+    @Select("SELECT id, price_range AS priceRange, price_min AS priceMin, price_max AS priceMax FROM ${tableName}")
+    List<Map<String, Object>> findPriceRows(@Param("tableName") String tableName);
+
+    /**
+     * 回填价格数值字段
+     * @param {String} tableName - 表名（restaurant或attractions）
+     * @param {Long} id - 记录编号
+     * @param {Integer} priceMin - 最低价格
+     * @param {Integer} priceMax - 最高价格
+     * @return {int} 返回更新的记录数
+     */
+    // 使用MyBatis的Update注解，表名使用${}拼接，调用方只传入固定表名
+    @Update("UPDATE ${tableName} SET price_min = #{priceMin}, price_max = #{priceMax} WHERE id = #{id}")
+    int updatePrice(@Param("tableName") String tableName, @Param("id") Long id,
+                    @Param("priceMin") Integer priceMin, @Param("priceMax") Integer priceMax);
+
+    /**
+     * 按价格区间查询景点
+     * 功能概述：查询价格区间与[minPrice, maxPrice)有交集的景点（只有起价的景点按起价判断），
+     * 条件落在(price_min, price_max)联合索引上，按最低价格升序、评分倒序排列
+     * @param {Integer} minPrice - 最低价格（含）
+     * @param {Integer} maxPrice - 最高价格（不含）
+     * @param {Integer} limit - 返回数量上限
+     * @return {List<Map<String, Object>>} 返回景点信息列表（Map格式，字段与旅游页面的景点查询一致）
+     */
+    // 使用MyBatis的Select注解，省份和城市名称按主键关联address表取得
+    @Select("SELECT a.id, a.name, a.description, a.rating, a.price_range, a.price_min, a.price_max, a.opening_hours, " +
+            "a.features, a.tips, a.best_season, a.visit_duration, ad_province.ext_name AS province, ad_city.ext_name AS city, " +
+            "a.district, a.full_address, a.image_url, a.recommend_score, a.view_count, a.like_count, 'attractions' AS source_type " +
+            "FROM attractions a " +
+            "INNER JOIN address ad_province ON ad_province.id = a.province_id " +
+            "INNER JOIN address ad_city ON ad_city.id = a.city_id " +
+            "WHERE a.status = 1 AND a.price_min < #{maxPrice} AND IFNULL(a.price_max, a.price_min) >= #{minPrice} " +
+            "ORDER BY a.price_min ASC, a.rating DESC LIMIT #{limit}")
+    List<Map<String, Object>> findAttractionsByPrice(@Param("minPrice") Integer minPrice,
+                                                     @Param("maxPrice") Integer maxPrice,
+                                                     @Param("limit") Integer limit);
+}
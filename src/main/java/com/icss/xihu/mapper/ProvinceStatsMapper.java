@@ -0,0 +1,109 @@
+/**
+ * 省份统计Mapper接口
+ * 功能概述：按省份聚合景点数量、城市数量、平均评分，以及旅游、酒店、餐厅订单数量，用于省份热力地图
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map集合接口
+import java.util.Map;
+
+/**
+ * 省份统计数据访问层
+ * 功能概述：按省份聚合景点数量、城市数量、平均评分，以及旅游、酒店、餐厅订单数量，用于省份热力地图
+ * 订单统计使用(afterId, maxId]的编号区间，配合服务层保存的水位线实现增量累加
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 省份统计Mapper接口，定义省份聚合查询方法
+public interface ProvinceStatsMapper {
+
+    /**
+     * 按省份聚合景点
+     * 功能概述：按景点所属省份（address表）统计有效景点数量、覆盖城市数量和平均评分
+     * @return {List<Map<String, Object>>} 返回聚合结果，包含province、attractionCount、cityCount、avgRating
+     */
+    // 使用MyBatis的Select注解，与旅游页面一致通过province_id关联address表取省份名称
+    @Select("SELECT ad.ext_name AS province, COUNT(*) AS attractionCount, COUNT(DISTINCT a.city_id) AS cityCount, " +
+            "AVG(a.rating) AS avgRating FROM attractions a INNER JOIN address ad ON ad.id = a.province_id " +
+            "WHERE a.status = 1 GROUP BY ad.ext_name")
+    List<Map<String, Object>> aggregateAttractionsByProvince();
+
+    /**
+     * 查询景点表的变更签名
+     * 功能概述：返回景点数量和最近更新时间拼接的字符串，签名不变时无需重新聚合景点
+     * @return {String} 返回变更签名
+     */
+    // 使用MyBatis的Select注解，COUNT和MAX(update_time)可以走索引或很快完成
+    @Select("SELECT CONCAT(COUNT(*), '|', IFNULL(MAX(update_time), '')) FROM attractions")
+    String getAttractionSignature();
+
+    /**
+     * 查询旅游订单最大编号
+     * 功能概述：返回当前旅游订单的最大编号，作为本次增量统计的上界
+     * @return {long} 返回最大编号，没有订单时返回0
+     */
+    // 使用MyBatis的Select注解，查询旅游订单最大编号
+    @Select("SELECT IFNULL(MAX(id), 0) FROM travel_order")
+    long getMaxTravelOrderId();
+
+    /**
+     * 按省份统计旅游订单数量
+     * 功能概述：统计编号在(afterId, maxId]区间内的旅游订单，按景点所属省份分组
+     * @param {long} afterId - 上次统计的水位线（不含）
+     * @param {long} maxId - 本次统计的上界（含）
+     * @return {List<Map<String, Object>>} 返回统计结果，包含province、orderCount
+     */
+    // 使用MyBatis的Select注解，旅游订单通过景点关联到省份
+    @Select("SELECT ad.ext_name AS province, COUNT(*) AS orderCount FROM travel_order o " +
+            "INNER JOIN attractions a ON a.id = o.attraction_id INNER JOIN address ad ON ad.id = a.province_id " +
+            "WHERE o.id > #{afterId} AND o.id <= #{maxId} GROUP BY ad.ext_name")
+    List<Map<String, Object>> countTravelOrdersByProvince(@Param("afterId") long afterId, @Param("maxId") long maxId);
+
+    /**
+     * 查询酒店订单最大编号
+     * 功能概述：返回当前酒店订单的最大编号，作为本次增量统计的上界
+     * @return {long} 返回最大编号，没有订单时返回0
+     */
+    // 使用MyBatis的Select注解，查询酒店订单最大编号
+    @Select("SELECT IFNULL(MAX(id), 0) FROM hotel_order")
+    long getMaxHotelOrderId();
+
+    /**
+     * 按省份统计酒店订单数量
+     * 功能概述：统计编号在(afterId, maxId]区间内的酒店订单，按酒店所在省份分组
+     * @param {long} afterId - 上次统计的水位线（不含）
+     * @param {long} maxId - 本次统计的上界（含）
+     * @return {List<Map<String, Object>>} 返回统计结果，包含province、orderCount
+     */
+    // 使用MyBatis的Select注解，酒店订单通过hid关联酒店表取省份
+    @Select("SELECT h.province AS province, COUNT(*) AS orderCount FROM hotel_order o " +
+            "INNER JOIN hotel h ON h.id = o.hid WHERE o.id > #{afterId} AND o.id <= #{maxId} GROUP BY h.province")
+    List<Map<String, Object>> countHotelOrdersByProvince(@Param("afterId") long afterId, @Param("maxId") long maxId);
+
+    /**
+     * 查询餐厅订单最大编号
+     * 功能概述：返回当前餐厅订单的最大编号，作为本次增量统计的上界
+     * @return {long} 返回最大编号，没有订单时返回0
+     */
+    // 使用MyBatis的Select注解，查询餐厅订单最大编号
+    @Select("SELECT IFNULL(MAX(id), 0) FROM restaurant_order")
+    long getMaxRestaurantOrderId();
+
+    /**
+     * 按省份统计餐厅订单数量
+     * 功能概述：统计编号在(afterId, maxId]区间内的餐厅订单，按餐厅所在省份分组
+     * @param {long} afterId - 上次统计的水位线（不含）
+     * @param {long} maxId - 本次统计的上界（含）
+     * @return {List<Map<String, Object>>} 返回统计结果，包含province、orderCount
+     */
+    // 使用MyBatis的Select注解，餐厅订单通过restaurant_id关联餐厅表取省份
+    @Select("SELECT r.province AS province, COUNT(*) AS orderCount FROM restaurant_order o " +
+            "INNER JOIN restaurant r ON r.id = o.restaurant_id WHERE o.id > #{afterId} AND o.id <= #{maxId} GROUP BY r.province")
+    List<Map<String, Object>> countRestaurantOrdersByProvince(@Param("afterId") long afterId, @Param("maxId") long maxId);
+}
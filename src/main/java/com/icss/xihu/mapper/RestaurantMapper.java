@@ -5,6 +5,8 @@
 // 定义包路径，标识该接口属于com.icss.xihu.mapper包
 package com.icss.xihu.mapper;
 
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
 // 导入餐厅实体类
 import com.icss.xihu.model.Restaurant;
 // 导入餐厅订单实体类
@@ -15,6 +17,8 @@ import com.icss.xihu.model.RestaurantReview;
 import com.icss.xihu.model.RestaurantMenu;
 // 导入MyBatis的所有注解
 import org.apache.ibatis.annotations.*;
+// 导入Spring的缓存失效注解
+import org.springframework.cache.annotation.CacheEvict;
 
 // 导入List集合接口
 import java.util.List;
@@ -268,6 +272,52 @@ public interface RestaurantMapper {
     // 更新订单状态方法，接收订单编号和订单状态参数，返回更新的记录数
     int updateOrderStatus(@Param("orderId") Long orderId, @Param("orderStatus") Integer orderStatus);
 
+    /**
+     * 根据一批订单ID更新状态（用于统一支付）
+     * 功能概述：一条语句把一批餐厅订单更新为同一状态，统一订单支付、取消时按类型批量同步
+     * @param {List<Integer>} orderIds - 订单编号列表
+     * @param {Integer} orderStatus - 订单状态
+     * @return {int} 返回更新的记录数
+     */
+    // 使用MyBatis的Update注解，动态拼接IN条件
+    @Update("<script>" +
+            "UPDATE restaurant_order SET order_status = #{orderStatus} WHERE id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 根据一批订单ID更新状态方法，接收订单编号列表和订单状态参数，返回更新的记录数
+    int updateOrderStatusByIds(@Param("orderIds") List<Integer> orderIds, @Param("orderStatus") Integer orderStatus);
+
+    /**
+     * 把一批待支付的订单更新为已支付（用于统一支付）
+     * 功能概述：只更新仍为待支付（0）的餐厅订单，已取消、已支付或已完成的订单不变，支付同步消息重复投递或晚到时不会把已取消的订单改回已支付
+     * @param {List<Integer>} orderIds - 订单编号列表
+     * @return {int} 返回更新的记录数，没有待支付的订单时为0
+     */
+    // 使用MyBatis的Update注解，动态拼接IN条件
+    @Update("<script>" +
+            "UPDATE restaurant_order SET order_status = 1 WHERE order_status = 0 AND id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 把一批待支付订单更新为已支付方法，接收订单编号列表参数，返回更新的记录数
+    int markPaidByIds(@Param("orderIds") List<Integer> orderIds);
+
+    /**
+     * 根据一批订单ID查询订单摘要（用于订单历史）
+     * 功能概述：一条语句查询一批餐厅订单的餐厅名称和用餐人数，缩略图取餐厅图片
+     * @param {List<Integer>} orderIds - 订单编号列表
+     * @return {List<ModuleOrderSummary>} 返回模块订单摘要列表
+     */
+    // 使用MyBatis的Select注解，动态拼接IN条件
+    @Select("<script>" +
+            "SELECT o.id AS moduleOrderId, " +
+            "CONCAT_WS(' · ', COALESCE(r.name, o.restaurant_name), CONCAT(o.people_count, '人')) AS moduleDetail, " +
+            "r.img AS thumbnail " +
+            "FROM restaurant_order o LEFT JOIN restaurant r ON r.id = o.restaurant_id WHERE o.id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 根据一批订单ID查询订单摘要方法，接收订单编号列表参数，返回模块订单摘要列表
+    List<ModuleOrderSummary> findOrderSummariesByIds(@Param("orderIds") List<Integer> orderIds);
+
     /**
      * 根据订单号查询订单
      * 功能概述：根据订单号从数据库中查询指定餐厅订单的信息
@@ -286,6 +336,8 @@ public interface RestaurantMapper {
      * @param {RestaurantReview} review - 餐厅评价对象
      * @return {int} 返回插入的记录数（通常为1）
      */
+    // 餐厅评价变化，清空餐厅缓存（两级，并通知其他节点）
+    @CacheEvict(cacheNames = "restaurants", allEntries = true)
     // 使用MyBatis的Insert注解，直接在方法上编写SQL插入语句，插入评价信息
     @Insert("INSERT INTO restaurant_review (restaurant_id, user_id, username, user_avatar, rating, content, images) " +
             "VALUES (#{restaurantId}, #{userId}, #{username}, #{userAvatar}, #{rating}, #{content}, #{images})")
@@ -299,6 +351,8 @@ public interface RestaurantMapper {
      * 功能概述：向数据库中插入一条餐厅评价记录（包含创建时间）
      * @param {RestaurantReview} review - 餐厅评价对象
      */
+    // 餐厅评价变化，清空餐厅缓存（两级，并通知其他节点）
+    @CacheEvict(cacheNames = "restaurants", allEntries = true)
     // 使用MyBatis的Insert注解，直接在方法上编写SQL插入语句，插入评价信息（包含创建时间）
     @Insert("INSERT INTO restaurant_review (restaurant_id, user_id, username, user_avatar, rating, content, images, create_time) " +
             "VALUES (#{restaurantId}, #{userId}, #{username}, #{userAvatar}, #{rating}, #{content}, #{images}, #{createTime})")
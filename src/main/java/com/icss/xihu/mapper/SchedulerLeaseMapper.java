@@ -0,0 +1,92 @@
+/**
+ * 调度租约Mapper接口
+ * 功能概述：维护scheduler_lease表，多个应用实例通过该表争抢同一个定时任务（或任务分片）的执行权
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+/**
+ * 调度租约数据访问层
+ * 功能概述：租约的过期时间按数据库时钟计算，不受各实例时钟偏差影响；每次获得租约时围栏令牌加1，
+ * 续约和释放都要求持有者和令牌同时匹配，租约过期后被他人取得的旧持有者无法再续约
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 调度租约Mapper接口
+public interface SchedulerLeaseMapper {
+
+    /**
+     * 统计租约表是否存在
+     * 功能概述：查询information_schema判断当前库中是否已有scheduler_lease表，表由db/schema-scheduler-lease.sql创建
+     * @return {int} 表存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的表元数据
+    @Select("SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'scheduler_lease'")
+    int countTable();
+
+    /**
+     * 登记租约
+     * 功能概述：租约名称不存在时插入一条未被持有的记录，已存在时忽略
+     * @param {String} leaseName - 租约名称
+     * @return {int} 返回插入的记录数
+     */
+    // 使用MyBatis的Insert注解，主键冲突时忽略
+    @Insert("INSERT IGNORE INTO scheduler_lease (lease_name, fencing_token, update_time) VALUES (#{leaseName}, 0, NOW(3))")
+    int insertIfAbsent(@Param("leaseName") String leaseName);
+
+    /**
+     * 获得租约
+     * 功能概述：租约未被持有或已过期时设置持有者和过期时间并把围栏令牌加1，单条UPDATE保证同一时刻只有一个实例成功
+     * @param {String} leaseName - 租约名称
+     * @param {String} owner - 持有者
+     * @param {long} leaseMicros - 租约时长（微秒）
+     * @return {int} 获得租约返回1，否则返回0
+     */
+    // 使用MyBatis的Update注解，只有未被持有或已过期的租约会被更新
+    @Update("UPDATE scheduler_lease SET owner = #{owner}, fencing_token = fencing_token + 1, " +
+            "expires_at = DATE_ADD(NOW(3), INTERVAL #{leaseMicros} MICROSECOND), update_time = NOW(3) " +
+            "WHERE lease_name = #{leaseName} AND (owner IS NULL OR expires_at IS NULL OR expires_at < NOW(3))")
+    int tryAcquire(@Param("leaseName") String leaseName, @Param("owner") String owner, @Param("leaseMicros") long leaseMicros);
+
+    /**
+     * 查询持有者的围栏令牌
+     * @param {String} leaseName - 租约名称
+     * @param {String} owner - 持有者
+     * @return {Long} 返回围栏令牌，租约不由该持有者持有时返回null
+     */
+    // 使用MyBatis的Select注解，查询围栏令牌
+    @Select("SELECT fencing_token FROM scheduler_lease WHERE lease_name = #{leaseName} AND owner = #{owner}")
+    Long findToken(@Param("leaseName") String leaseName, @Param("owner") String owner);
+
+    /**
+     * 续约
+     * 功能概述：持有者和围栏令牌都匹配时延长过期时间；租约过期后尚未被他人取得时仍可续约
+     * @param {String} leaseName - 租约名称
+     * @param {String} owner - 持有者
+     * @param {long} fencingToken - 围栏令牌
+     * @param {long} leaseMicros - 租约时长（微秒）
+     * @return {int} 续约成功返回1，租约已被他人取得返回0
+     */
+    // 使用MyBatis的Update注解，持有者和令牌都匹配时延长过期时间
+    @Update("UPDATE scheduler_lease SET expires_at = DATE_ADD(NOW(3), INTERVAL #{leaseMicros} MICROSECOND), update_time = NOW(3) " +
+            "WHERE lease_name = #{leaseName} AND owner = #{owner} AND fencing_token = #{fencingToken}")
+    int renew(@Param("leaseName") String leaseName, @Param("owner") String owner,
+              @Param("fencingToken") long fencingToken, @Param("leaseMicros") long leaseMicros);
+
+    /**
+     * 释放租约
+     * 功能概述：持有者和围栏令牌都匹配时清空持有者，其他实例可以立即取得
+     * @param {String} leaseName - 租约名称
+     * @param {String} owner - 持有者
+     * @param {long} fencingToken - 围栏令牌
+     * @return {int} 释放成功返回1，租约已被他人取得返回0
+     */
+    // 使用MyBatis的Update注解，持有者和令牌都匹配时清空持有者
+    @Update("UPDATE scheduler_lease SET owner = NULL, expires_at = NULL, update_time = NOW(3) " +
+            "WHERE lease_name = #{leaseName} AND owner = #{owner} AND fencing_token = #{fencingToken}")
+    int release(@Param("leaseName") String leaseName, @Param("owner") String owner, @Param("fencingToken") long fencingToken);
+}
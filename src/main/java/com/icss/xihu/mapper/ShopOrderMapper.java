@@ -1,6 +1,8 @@
 // 定义包路径，标识该接口属于com.icss.xihu.mapper包
 package com.icss.xihu.mapper;
 
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
 // 导入购物订单实体类
 import com.icss.xihu.model.ShopOrder;
 // 导入购物订单详情实体类
@@ -123,6 +125,56 @@ public interface ShopOrderMapper {
     @Update("UPDATE shop_order SET order_status = #{status}, update_time = NOW() WHERE id = #{orderId}")
     // 更新订单状态，返回受影响的行数
     int updateStatusById(@Param("orderId") Integer orderId, @Param("status") Integer status);
+
+    /**
+     * 根据一批订单ID更新状态（用于统一支付）
+     * 功能概述：一条语句把一批购物订单更新为同一状态，统一订单支付、取消时按类型批量同步
+     * @param orderIds 订单ID列表
+     * @param status 订单状态（0=待支付，1=已支付，2=已取消，3=已完成）
+     * @return 受影响的行数
+     */
+    // 使用MyBatis的Update注解，动态拼接IN条件
+    @Update("<script>" +
+            "UPDATE shop_order SET order_status = #{status}, update_time = NOW() WHERE id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 根据一批订单ID更新状态，返回受影响的行数
+    int updateStatusByIds(@Param("orderIds") List<Integer> orderIds, @Param("status") Integer status);
+
+    /**
+     * 把一批待支付的订单更新为已支付（用于统一支付）
+     * 功能概述：只更新仍为待支付（0）的购物订单，已取消、已支付或已完成的订单不变，支付同步消息重复投递或晚到时不会把已取消的订单改回已支付
+     * @param orderIds 订单ID列表
+     * @return 受影响的行数，没有待支付的订单时为0
+     */
+    // 使用MyBatis的Update注解，动态拼接IN条件
+    @Update("<script>" +
+            "UPDATE shop_order SET order_status = 1, update_time = NOW() WHERE order_status = 0 AND id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 把一批待支付订单更新为已支付，返回受影响的行数
+    int markPaidByIds(@Param("orderIds") List<Integer> orderIds);
+
+    /**
+     * 根据一批订单ID查询订单摘要（用于订单历史）
+     * 功能概述：一条语句查询一批购物订单的商品名称和数量，缩略图取第一件商品的封面
+     * @param orderIds 订单ID列表
+     * @return 模块订单摘要列表
+     */
+    // 使用MyBatis的Select注解，按订单分组拼接商品明细
+    @Select("<script>" +
+            "SELECT so.id AS moduleOrderId, " +
+            "GROUP_CONCAT(CONCAT(sod.product_name, ' ×', sod.quantity) ORDER BY sod.id SEPARATOR '，') AS moduleDetail, " +
+            "SUBSTRING_INDEX(GROUP_CONCAT(p.cover ORDER BY sod.id SEPARATOR '|'), '|', 1) AS thumbnail " +
+            "FROM shop_order so " +
+            "INNER JOIN shop_order_detail sod ON sod.order_no = so.order_no " +
+            "LEFT JOIN product p ON p.id = sod.product_id " +
+            "WHERE so.id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "GROUP BY so.id" +
+            "</script>")
+    // 根据一批订单ID查询订单摘要，返回模块订单摘要列表
+    List<ModuleOrderSummary> findSummariesByIds(@Param("orderIds") List<Integer> orderIds);
     
     /**
      * 更新订单总金额
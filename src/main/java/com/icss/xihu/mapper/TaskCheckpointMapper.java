@@ -0,0 +1,65 @@
+/**
+ * 批处理任务检查点Mapper接口
+ * 功能概述：维护task_checkpoint表，供分批执行的后台任务保存和读取进度
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入批处理任务检查点实体类
+import com.icss.xihu.model.TaskCheckpoint;
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+/**
+ * 批处理任务检查点数据访问层
+ * 功能概述：启动时检查表是否存在，按任务名称读取检查点，按围栏令牌条件写入检查点
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 批处理任务检查点Mapper接口
+public interface TaskCheckpointMapper {
+
+    /**
+     * 统计检查点表是否存在
+     * 功能概述：查询information_schema判断当前库中是否已有task_checkpoint表，表由db/schema-overdue-sweep.sql创建
+     * @return {int} 表存在返回1，不存在返回0
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的表元数据
+    @Select("SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'task_checkpoint'")
+    int countTable();
+
+    /**
+     * 按任务名称查询检查点
+     * @param {String} taskName - 任务名称
+     * @return {TaskCheckpoint} 返回检查点，不存在时返回null
+     */
+    // 使用MyBatis的Select注解，查询检查点
+    @Select("SELECT task_name AS taskName, run_key AS runKey, cursor_value AS cursorValue, processed, finished, " +
+            "fencing_token AS fencingToken, update_time AS updateTime FROM task_checkpoint WHERE task_name = #{taskName}")
+    TaskCheckpoint findByTaskName(@Param("taskName") String taskName);
+
+    /**
+     * 按围栏令牌条件更新检查点
+     * 功能概述：只有检查点中的令牌不大于写入者的令牌时才覆盖；MySQL驱动默认返回匹配的记录数，
+     * 内容未变化时也返回1，返回0表示检查点不存在或已被令牌更大的写入者覆盖
+     * @param {TaskCheckpoint} checkpoint - 检查点
+     * @return {int} 返回匹配的记录数
+     */
+    // 使用MyBatis的Update注解，按令牌条件更新
+    @Update("UPDATE task_checkpoint SET run_key = #{runKey}, cursor_value = #{cursorValue}, processed = #{processed}, " +
+            "finished = #{finished}, fencing_token = #{fencingToken}, update_time = NOW() " +
+            "WHERE task_name = #{taskName} AND fencing_token <= #{fencingToken}")
+    int updateFenced(TaskCheckpoint checkpoint);
+
+    /**
+     * 插入检查点
+     * 功能概述：任务名称已存在时忽略
+     * @param {TaskCheckpoint} checkpoint - 检查点
+     * @return {int} 返回插入的记录数
+     */
+    // 使用MyBatis的Insert注解，主键冲突时忽略
+    @Insert("INSERT IGNORE INTO task_checkpoint (task_name, run_key, cursor_value, processed, finished, fencing_token, update_time) " +
+            "VALUES (#{taskName}, #{runKey}, #{cursorValue}, #{processed}, #{finished}, #{fencingToken}, NOW())")
+    int insertIfAbsent(TaskCheckpoint checkpoint);
+}
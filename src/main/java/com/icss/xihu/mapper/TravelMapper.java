@@ -5,6 +5,8 @@
 // 定义包路径，标识该接口属于com.icss.xihu.mapper包
 package com.icss.xihu.mapper;
 
+// 导入景点摘要记录
+import com.icss.xihu.model.AttractionSummary;
 // 导入旅游目的地实体类
 import com.icss.xihu.model.TravelDestination;
 // 导入旅游推荐实体类
@@ -15,6 +17,8 @@ import com.icss.xihu.model.TravelHotel;
 import org.apache.ibatis.annotations.Mapper;
 // 导入MyBatis的Param注解，用于方法参数映射
 import org.apache.ibatis.annotations.Param;
+// 导入MyBatis的结果回调接口，用于逐行处理流式查询结果
+import org.apache.ibatis.session.ResultHandler;
 
 // 导入List集合接口
 import java.util.List;
@@ -108,23 +112,6 @@ public interface TravelMapper {
     List<TravelHotel> getHotelsByDestinationCode(@Param("destinationCode") String destinationCode);
 
     // 基于attractions表的地区查询方法
-    /**
-     * 从address表获取所有省份（去重）
-     * 功能概述：从address表中查询所有不重复的省份名称（deep=0），不限制是否有景点数据
-     * @return {List<String>} 返回所有省份名称的列表
-     */
-    // 从address表获取所有省份方法，返回所有不重复的省份名称列表（SQL在XML映射文件中定义）
-    List<String> getProvincesFromAddress();
-
-    /**
-     * 从address表根据省份获取城市列表（去重）
-     * 功能概述：根据省份名称从address表中查询该省份下的所有不重复的城市名称（deep=1），不限制是否有景点数据
-     * @param {String} province - 省份名称
-     * @return {List<String>} 返回该省份下的所有城市名称列表
-     */
-    // 从address表根据省份获取城市列表方法，接收省份名称参数，返回该省份下的所有不重复的城市名称列表（SQL在XML映射文件中定义）
-    List<String> getCitiesFromAddressByProvince(@Param("province") String province);
-
     /**
      * 根据省份名称获取目的地信息（从travel_destinations表）
      * 功能概述：根据省份名称从目的地表中查询指定目的地的信息
@@ -158,52 +145,74 @@ public interface TravelMapper {
 
     /**
      * 根据地区获取address表中的景点
-     * 功能概述：根据省份和城市名称从address表中查询该地区的景点信息
-     * @param {String} province - 省份名称
-     * @param {String} city - 城市名称
-     * @return {List<Map<String, Object>>} 返回该地区的景点信息列表（Map格式）
+     * 功能概述：按省份编号和城市编号查询该地区的景点信息，编号由服务层在内存地址树中解析得到
+     * @param {Long} provinceId - 省份编号，为null时不按省份过滤
+     * @param {List<Long>} cityIds - 城市编号列表，为空时不按城市过滤
+     * @return {List<AttractionSummary>} 返回该地区的景点摘要列表
      */
-    // 根据地区获取address表中的景点方法，接收省份和城市名称参数，返回该地区的景点信息列表（SQL在XML映射文件中定义）
-    List<Map<String, Object>> getAttractionsFromAddress(
-            @Param("province") String province,  // 省份名称参数
-            @Param("city") String city            // 城市名称参数
+    // 根据地区获取address表中的景点方法，接收省份编号和城市编号参数，返回该地区的景点摘要列表（SQL在XML映射文件中定义）
+    List<AttractionSummary> getAttractionsFromAddress(
+            @Param("provinceId") Long provinceId,  // 省份编号参数
+            @Param("cityIds") List<Long> cityIds    // 城市编号列表参数
+    );
+
+    /**
+     * 按地区流式读取景点
+     * 功能概述：与getAttractionsFromAddress条件相同，但使用流式结果集逐行读取，每行映射后立即交给handler，
+     * 调用方可以边读边写出响应，不需要把整个列表放在内存中
+     * @param {Long} provinceId - 省份编号，为null时不按省份过滤
+     * @param {List<Long>} cityIds - 城市编号列表，为空时不按城市过滤
+     * @param {ResultHandler<AttractionSummary>} handler - 逐行处理结果的回调
+     */
+    // 按地区流式读取景点方法（SQL在XML映射文件中定义）
+    void streamAttractionsFromAddress(
+            @Param("provinceId") Long provinceId,  // 省份编号参数
+            @Param("cityIds") List<Long> cityIds,  // 城市编号列表参数
+            ResultHandler<AttractionSummary> handler  // 结果回调
     );
 
     /**
      * 从attractions表根据地区获取景点
-     * 功能概述：根据省份和城市名称从景点表中查询该地区的景点信息
-     * @param {String} province - 省份名称
-     * @param {String} city - 城市名称
-     * @return {List<Map<String, Object>>} 返回该地区的景点信息列表（Map格式）
+     * 功能概述：按省份编号和城市编号从景点表中查询该地区的景点信息
+     * @param {Long} provinceId - 省份编号，为null时不按省份过滤
+     * @param {List<Long>} cityIds - 城市编号列表，为空时不按城市过滤
+     * @return {List<AttractionSummary>} 返回该地区的景点摘要列表
      */
-    // 从attractions表根据地区获取景点方法，接收省份和城市名称参数，返回该地区的景点信息列表（SQL在XML映射文件中定义）
-    List<Map<String, Object>> getAttractionsByLocation(
-            @Param("province") String province,  // 省份名称参数
-            @Param("city") String city            // 城市名称参数
+    // 从attractions表根据地区获取景点方法，接收省份编号和城市编号参数，返回该地区的景点摘要列表（SQL在XML映射文件中定义）
+    List<AttractionSummary> getAttractionsByLocation(
+            @Param("provinceId") Long provinceId,  // 省份编号参数
+            @Param("cityIds") List<Long> cityIds    // 城市编号列表参数
     );
 
     /**
      * 模糊搜索景点 - 根据关键词搜索景点名称、描述、特色
-     * 功能概述：根据关键词从数据库中搜索匹配的景点信息，支持按名称、描述、特色模糊搜索
+     * 功能概述：根据关键词从数据库中搜索匹配的景点信息，支持按名称、描述、特色模糊搜索，
+     * 省份和城市名称包含关键词的地区编号由服务层在内存地址树中查出后传入
      * @param {String} keyword - 搜索关键词
+     * @param {List<Long>} provinceIds - 名称包含关键词的省份编号列表
+     * @param {List<Long>} cityIds - 名称包含关键词的城市编号列表
      * @return {List<Map<String, Object>>} 返回匹配的景点信息列表（Map格式）
      */
-    // 模糊搜索景点方法，接收搜索关键词参数，返回匹配的景点信息列表（SQL在XML映射文件中定义）
-    List<Map<String, Object>> searchAttractionsByKeyword(@Param("keyword") String keyword);
+    // 模糊搜索景点方法，接收搜索关键词和地区编号参数，返回匹配的景点信息列表（SQL在XML映射文件中定义）
+    List<Map<String, Object>> searchAttractionsByKeyword(
+            @Param("keyword") String keyword,             // 搜索关键词参数
+            @Param("provinceIds") List<Long> provinceIds,  // 省份编号列表参数
+            @Param("cityIds") List<Long> cityIds           // 城市编号列表参数
+    );
 
     /**
      * 模糊搜索景点 - 根据关键词和地区搜索
      * 功能概述：根据关键词和地区从数据库中搜索匹配的景点信息，支持按名称、描述、特色模糊搜索，并按地区筛选
      * @param {String} keyword - 搜索关键词
-     * @param {String} province - 省份名称
-     * @param {String} city - 城市名称
+     * @param {Long} provinceId - 省份编号，为null时不按省份过滤
+     * @param {List<Long>} cityIds - 城市编号列表，为空时不按城市过滤
      * @return {List<Map<String, Object>>} 返回匹配的景点信息列表（Map格式）
      */
-    // 模糊搜索景点方法（根据关键词和地区），接收搜索关键词、省份和城市名称参数，返回匹配的景点信息列表（SQL在XML映射文件中定义）
+    // 模糊搜索景点方法（根据关键词和地区），接收搜索关键词、省份编号和城市编号参数，返回匹配的景点信息列表（SQL在XML映射文件中定义）
     List<Map<String, Object>> searchAttractionsByKeywordAndLocation(
-            @Param("keyword") String keyword,    // 搜索关键词参数
-            @Param("province") String province,  // 省份名称参数
-            @Param("city") String city            // 城市名称参数
+            @Param("keyword") String keyword,        // 搜索关键词参数
+            @Param("provinceId") Long provinceId,    // 省份编号参数
+            @Param("cityIds") List<Long> cityIds      // 城市编号列表参数
     );
 
     /**
@@ -226,13 +235,13 @@ public interface TravelMapper {
 
     /**
      * 当选择某个省份但选择"所有城市"时，获取该省份下所有景点
-     * 功能概述：根据省份名称从数据库中查询该省份下的所有景点信息，限制返回数量，用于选择"所有城市"时的显示
-     * @param {String} province - 省份名称
+     * 功能概述：根据省份编号从数据库中查询该省份下的所有景点信息，限制返回数量，用于选择"所有城市"时的显示
+     * @param {Long} provinceId - 省份编号
      * @param {Integer} limit - 查询数量限制
      * @return {List<Map<String, Object>>} 返回该省份下的所有景点信息列表（Map格式）
      */
-    // 当选择某个省份但选择"所有城市"时获取该省份下所有景点方法，接收省份名称和查询数量限制参数，返回该省份下的所有景点信息列表（SQL在XML映射文件中定义）
-    List<Map<String, Object>> getProvinceAllCitiesAttractions(@Param("province") String province, @Param("limit") Integer limit);
+    // 当选择某个省份但选择"所有城市"时获取该省份下所有景点方法，接收省份编号和查询数量限制参数，返回该省份下的所有景点信息列表（SQL在XML映射文件中定义）
+    List<Map<String, Object>> getProvinceAllCitiesAttractions(@Param("provinceId") Long provinceId, @Param("limit") Integer limit);
 
     // 数据插入方法（用于后台管理）
     /**
@@ -5,6 +5,8 @@
 // 定义包路径，标识该接口属于com.icss.xihu.mapper包
 package com.icss.xihu.mapper;
 
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
 // 导入旅游订单实体类
 import com.icss.xihu.model.TravelOrder;
 // 导入MyBatis的所有注解
@@ -89,4 +91,57 @@ public interface TravelOrderMapper {
     @Update("UPDATE travel_order SET order_status = #{status}, update_time = NOW() WHERE id = #{orderId}")
     // 根据订单ID更新状态方法，接收订单编号和订单状态参数，返回更新的记录数
     int updateStatusById(@Param("orderId") Integer orderId, @Param("status") Integer status);
+
+    /**
+     * 根据一批订单ID更新状态（用于统一支付）
+     * 功能概述：一条语句把一批旅游订单更新为同一状态，统一订单支付、取消时按类型批量同步；支付时间不为空时一并设置
+     * @param {List<Integer>} orderIds - 订单编号列表
+     * @param {Integer} status - 订单状态
+     * @param {LocalDateTime} paymentTime - 支付时间（可选，取消时为空）
+     * @return {int} 返回更新的记录数
+     */
+    // 使用MyBatis的Update注解，动态拼接IN条件
+    @Update("<script>" +
+            "UPDATE travel_order SET order_status = #{status}, " +
+            "<if test='paymentTime != null'>payment_time = #{paymentTime}, </if>" +
+            "update_time = NOW() WHERE id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 根据一批订单ID更新状态方法，接收订单编号列表、订单状态和支付时间参数，返回更新的记录数
+    int updateStatusByIds(@Param("orderIds") List<Integer> orderIds, @Param("status") Integer status,
+                          @Param("paymentTime") java.time.LocalDateTime paymentTime);
+
+    /**
+     * 把一批待支付的订单更新为已支付（用于统一支付）
+     * 功能概述：只更新仍为待支付（0）的旅游订单并设置支付时间，已取消、已支付或已完成的订单不变，
+     * 支付同步消息重复投递或晚到时不会把已取消的订单改回已支付
+     * @param {List<Integer>} orderIds - 订单编号列表
+     * @param {LocalDateTime} paymentTime - 支付时间
+     * @return {int} 返回更新的记录数，没有待支付的订单时为0
+     */
+    // 使用MyBatis的Update注解，动态拼接IN条件
+    @Update("<script>" +
+            "UPDATE travel_order SET order_status = 1, payment_time = #{paymentTime}, update_time = NOW() " +
+            "WHERE order_status = 0 AND id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 把一批待支付订单更新为已支付方法，接收订单编号列表和支付时间参数，返回更新的记录数
+    int markPaidByIds(@Param("orderIds") List<Integer> orderIds, @Param("paymentTime") java.time.LocalDateTime paymentTime);
+
+    /**
+     * 根据一批订单ID查询订单摘要（用于订单历史）
+     * 功能概述：一条语句查询一批旅游订单的景点名称、门票类型、张数和游玩日期，缩略图取景点图片
+     * @param {List<Integer>} orderIds - 订单编号列表
+     * @return {List<ModuleOrderSummary>} 返回模块订单摘要列表
+     */
+    // 使用MyBatis的Select注解，动态拼接IN条件
+    @Select("<script>" +
+            "SELECT o.id AS moduleOrderId, " +
+            "CONCAT_WS(' · ', o.attraction_name, o.ticket_type, CONCAT(o.ticket_count, '张'), o.visit_date) AS moduleDetail, " +
+            "a.image_url AS thumbnail " +
+            "FROM travel_order o LEFT JOIN attractions a ON a.id = o.attraction_id WHERE o.id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    // 根据一批订单ID查询订单摘要方法，接收订单编号列表参数，返回模块订单摘要列表
+    List<ModuleOrderSummary> findSummariesByIds(@Param("orderIds") List<Integer> orderIds);
 }
@@ -50,6 +50,81 @@ public interface UnifiedOrderNewMapper {
     // 根据订单号查询订单，返回统一订单对象
     UnifiedOrderNew findByOrderNo(@Param("orderNo") String orderNo);
 
+    /**
+     * 根据订单号锁定订单
+     * 功能概述：SELECT ... FOR UPDATE，必须在事务中调用；支付、取消、删除前加锁，读到的状态就是更新前的状态，用于计入用户订单统计
+     * @param orderNo 统一订单号
+     * @return 统一订单对象，不存在返回null
+     */
+    // 根据订单号锁定订单方法，接收订单号参数
+    @Select("SELECT * FROM unified_order WHERE order_no = #{orderNo} FOR UPDATE")
+    // 根据订单号锁定订单，返回统一订单对象
+    UnifiedOrderNew lockByOrderNo(@Param("orderNo") String orderNo);
+
+    /**
+     * 根据一批订单号锁定订单
+     * 功能概述：一条IN查询读取并锁定一批订单（SELECT ... FOR UPDATE），必须在事务中调用；过期取消时用于校验状态，不限用户
+     * @param orderNos 统一订单号列表
+     * @return 存在的订单，不存在的订单号没有对应元素
+     */
+    // 根据一批订单号锁定订单方法
+    @Select("<script>" +
+            "SELECT * FROM unified_order WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach> " +
+            "FOR UPDATE" +
+            "</script>")
+    // 根据一批订单号锁定订单，返回统一订单列表
+    List<UnifiedOrderNew> lockByOrderNos(@Param("orderNos") List<String> orderNos);
+
+    /**
+     * 根据一批订单号查询某个用户的订单编号
+     * 功能概述：一条IN查询读取一批订单中属于该用户的订单主键，普通一致性读，不加锁；
+     * 批量取消、删除时先用它筛出归属该用户的订单，再只对这些主键加锁，请求中混入的其他用户的订单不会被锁定
+     * @param orderNos 统一订单号列表
+     * @param userId 用户ID
+     * @return 存在且属于该用户的订单主键
+     */
+    // 根据一批订单号查询某个用户的订单编号方法
+    @Select("<script>" +
+            "SELECT id FROM unified_order WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach> " +
+            "AND user_id = #{userId}" +
+            "</script>")
+    // 根据一批订单号查询某个用户的订单编号，返回主键列表
+    List<Integer> findOwnedIds(@Param("orderNos") List<String> orderNos, @Param("userId") Integer userId);
+
+    /**
+     * 根据一批主键锁定某个用户的订单
+     * 功能概述：一条按主键的IN查询读取并锁定订单（SELECT ... FOR UPDATE），必须在事务中调用；
+     * 按主键等值加锁，只锁定这些订单行，不会锁住IN查询扫描到的其他用户的订单；再次校验归属，锁定前已被删除的订单不返回
+     * @param ids 订单主键列表，不能为空
+     * @param userId 用户ID
+     * @return 仍然存在且属于该用户的订单
+     */
+    // 根据一批主键锁定某个用户的订单方法
+    @Select("<script>" +
+            "SELECT * FROM unified_order WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "AND user_id = #{userId} " +
+            "FOR UPDATE" +
+            "</script>")
+    // 根据一批主键锁定某个用户的订单，返回统一订单列表
+    List<UnifiedOrderNew> lockByIdsAndUserId(@Param("ids") List<Integer> ids, @Param("userId") Integer userId);
+
+    /**
+     * 根据一批订单号查询订单
+     * 功能概述：一条IN查询读取一批订单，不加锁；订单历史投影按事件中的订单号读取订单的当前状态
+     * @param orderNos 统一订单号列表
+     * @return 存在的订单，不存在（已删除）的订单号没有对应元素
+     */
+    // 根据一批订单号查询订单方法
+    @Select("<script>" +
+            "SELECT * FROM unified_order WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach>" +
+            "</script>")
+    // 根据一批订单号查询订单，返回统一订单列表
+    List<UnifiedOrderNew> findByOrderNos(@Param("orderNos") List<String> orderNos);
+
     /**
      * 根据用户ID获取订单列表
      * 功能概述：根据用户ID查询订单列表，支持按订单类型和支付状态筛选，使用动态SQL实现
@@ -106,6 +181,21 @@ public interface UnifiedOrderNewMapper {
     // 取消订单，返回受影响的行数
     int cancelOrder(@Param("orderNo") String orderNo);
 
+    /**
+     * 批量取消订单
+     * 功能概述：一条语句取消一批订单，更新订单状态为已取消（2），只取消待支付（0）状态的订单
+     * @param orderNos 统一订单号列表
+     * @return 受影响的行数
+     */
+    // 批量取消订单方法
+    @Update("<script>" +
+            "UPDATE unified_order SET payment_status = 2, update_time = NOW() WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach> " +
+            "AND payment_status = 0" +
+            "</script>")
+    // 批量取消订单，返回受影响的行数
+    int cancelOrders(@Param("orderNos") List<String> orderNos);
+
     /**
      * 删除订单
      * 功能概述：删除统一订单，只能删除属于该用户的订单
@@ -118,6 +208,22 @@ public interface UnifiedOrderNewMapper {
     // 删除订单，返回受影响的行数
     int deleteOrder(@Param("orderNo") String orderNo, @Param("userId") Integer userId);
 
+    /**
+     * 批量删除订单
+     * 功能概述：一条语句删除一批属于该用户的订单，只删除已取消（2）状态的订单
+     * @param orderNos 统一订单号列表
+     * @param userId 用户ID（用于验证订单归属）
+     * @return 受影响的行数
+     */
+    // 批量删除订单方法
+    @Delete("<script>" +
+            "DELETE FROM unified_order WHERE order_no IN " +
+            "<foreach collection='orderNos' item='no' open='(' separator=',' close=')'>#{no}</foreach> " +
+            "AND user_id = #{userId} AND payment_status = 2" +
+            "</script>")
+    // 批量删除订单，返回受影响的行数
+    int deleteOrders(@Param("orderNos") List<String> orderNos, @Param("userId") Integer userId);
+
     /**
      * 获取订单统计
      * 功能概述：获取用户的订单统计数据，包括订单总数、待支付数量、已支付数量、已取消数量、已完成数量
@@ -0,0 +1,251 @@
+/**
+ * 用户统计Mapper接口
+ * 功能概述：维护user_payment_stats和user_order_stats两张按用户汇总的计数表，缴费统计和订单统计按主键读取一行，
+ * 不再每次对用户的全部账单和订单做COUNT/SUM
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.mapper包
+package com.icss.xihu.mapper;
+
+// 导入用户缴费统计增量实体类
+import com.icss.xihu.model.PaymentStatsDelta;
+// 导入MyBatis的所有注解
+import org.apache.ibatis.annotations.*;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 用户统计数据访问层
+ * 功能概述：计数在账单和订单状态变化的同一事务中按增量累加；用户的统计行不存在时由后台校对用一条INSERT ... SELECT从明细表重建，
+ * INSERT ... SELECT对读到的明细行加共享锁，与正在修改这些行的事务互斥，重建结果不会漏掉并发提交的变化；
+ * 增量只累加到已存在的统计行，统计行不存在时不做任何操作，等下一轮校对时重建，读取时不重建
+ */
+// 使用MyBatis的Mapper注解，标识该接口为MyBatis的Mapper接口
+@Mapper
+// 用户统计Mapper接口
+public interface UserStatsMapper {
+
+    /**
+     * 统计计数表是否存在
+     * 功能概述：查询information_schema判断当前库中已有几张计数表，两张表都由db/schema-user-stats.sql创建
+     * @return {int} 返回已存在的计数表数量，两张都存在时返回2
+     */
+    // 使用MyBatis的Select注解，查询当前数据库的表元数据
+    @Select("SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME IN ('user_payment_stats', 'user_order_stats')")
+    int countTables();
+
+    /**
+     * 读取用户缴费统计
+     * 功能概述：按主键读取一行，字段名与原来的汇总查询一致
+     * @param {Integer} userId - 用户编号
+     * @return {Map<String, Object>} 返回缴费统计，统计行不存在时返回null
+     */
+    // 使用MyBatis的Select注解，按主键读取
+    @Select("SELECT total_bills AS totalBills, unpaid_bills AS unpaidBills, paid_bills AS paidBills, " +
+            "overdue_bills AS overdueBills, total_paid_amount AS totalPaidAmount, total_unpaid_amount AS totalUnpaidAmount " +
+            "FROM user_payment_stats WHERE user_id = #{userId}")
+    Map<String, Object> findPaymentStats(@Param("userId") Integer userId);
+
+    /**
+     * 读取用户订单统计
+     * 功能概述：按主键读取一行，字段名与原来的汇总查询一致
+     * @param {Integer} userId - 用户编号
+     * @return {Map<String, Object>} 返回订单统计，统计行不存在时返回null
+     */
+    // 使用MyBatis的Select注解，按主键读取
+    @Select("SELECT total, unpaid, paid, cancelled, completed FROM user_order_stats WHERE user_id = #{userId}")
+    Map<String, Object> findOrderStats(@Param("userId") Integer userId);
+
+    /**
+     * 从账单明细重建用户缴费统计
+     * 功能概述：汇总该用户的全部账单写入统计行，已存在时覆盖；用户没有账单时写入全0的一行
+     * @param {Integer} userId - 用户编号
+     * @return {int} 返回受影响的行数
+     */
+    // 使用MyBatis的Insert注解，INSERT ... SELECT对读到的账单加共享锁，主键冲突时覆盖
+    @Insert("INSERT INTO user_payment_stats (user_id, total_bills, unpaid_bills, paid_bills, overdue_bills, " +
+            "total_paid_amount, total_unpaid_amount, update_time) " +
+            "SELECT #{userId}, COUNT(*), " +
+            "COALESCE(SUM(CASE WHEN bill_status = 0 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN bill_status = 1 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN bill_status = 2 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN bill_status = 1 THEN bill_amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN bill_status = 0 THEN bill_amount ELSE 0 END), 0), NOW() " +
+            "FROM payment_bills WHERE user_id = #{userId} " +
+            "ON DUPLICATE KEY UPDATE total_bills = VALUES(total_bills), unpaid_bills = VALUES(unpaid_bills), " +
+            "paid_bills = VALUES(paid_bills), overdue_bills = VALUES(overdue_bills), " +
+            "total_paid_amount = VALUES(total_paid_amount), total_unpaid_amount = VALUES(total_unpaid_amount), " +
+            "update_time = VALUES(update_time)")
+    int rebuildPaymentStats(@Param("userId") Integer userId);
+
+    /**
+     * 从订单明细重建用户订单统计
+     * 功能概述：汇总该用户的全部统一订单写入统计行，已存在时覆盖；已退款（4）的订单只计入总数
+     * @param {Integer} userId - 用户编号
+     * @return {int} 返回受影响的行数
+     */
+    // 使用MyBatis的Insert注解，INSERT ... SELECT对读到的订单加共享锁，主键冲突时覆盖
+    @Insert("INSERT INTO user_order_stats (user_id, total, unpaid, paid, cancelled, completed, update_time) " +
+            "SELECT #{userId}, COUNT(*), " +
+            "COALESCE(SUM(CASE WHEN payment_status = 0 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN payment_status = 1 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN payment_status = 2 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN payment_status = 3 THEN 1 ELSE 0 END), 0), NOW() " +
+            "FROM unified_order WHERE user_id = #{userId} " +
+            "ON DUPLICATE KEY UPDATE total = VALUES(total), unpaid = VALUES(unpaid), paid = VALUES(paid), " +
+            "cancelled = VALUES(cancelled), completed = VALUES(completed), update_time = VALUES(update_time)")
+    int rebuildOrderStats(@Param("userId") Integer userId);
+
+    /**
+     * 累加一批用户的缴费统计增量
+     * 功能概述：把各用户的增量拼成派生表，用一条多表UPDATE累加到已存在的统计行；
+     * 多表UPDATE中每行只更新一次，调用方需先按用户合并增量，同一用户在列表中只能出现一次
+     * @param {List<PaymentStatsDelta>} deltas - 各用户的增量
+     * @return {int} 返回更新的统计行数
+     */
+    // 使用MyBatis的Update注解，动态拼接派生表
+    @Update("<script>" +
+            "UPDATE user_payment_stats s JOIN (" +
+            "<foreach collection='deltas' item='d' separator=' UNION ALL '>" +
+            "SELECT #{d.userId} AS user_id, #{d.totalBills} AS total_bills, #{d.unpaidBills} AS unpaid_bills, " +
+            "#{d.paidBills} AS paid_bills, #{d.overdueBills} AS overdue_bills, " +
+            "#{d.paidAmount} AS paid_amount, #{d.unpaidAmount} AS unpaid_amount" +
+            "</foreach>" +
+            ") d ON s.user_id = d.user_id " +
+            "SET s.total_bills = s.total_bills + d.total_bills, s.unpaid_bills = s.unpaid_bills + d.unpaid_bills, " +
+            "s.paid_bills = s.paid_bills + d.paid_bills, s.overdue_bills = s.overdue_bills + d.overdue_bills, " +
+            "s.total_paid_amount = s.total_paid_amount + d.paid_amount, " +
+            "s.total_unpaid_amount = s.total_unpaid_amount + d.unpaid_amount, s.update_time = NOW()" +
+            "</script>")
+    int applyPaymentDeltas(@Param("deltas") List<PaymentStatsDelta> deltas);
+
+    /**
+     * 累加一个用户的订单统计增量
+     * 功能概述：统计行不存在时不做任何操作
+     * @param {Integer} userId - 用户编号
+     * @param {int} total - 订单总数的变化量
+     * @param {int} unpaid - 待支付订单数的变化量
+     * @param {int} paid - 已支付订单数的变化量
+     * @param {int} cancelled - 已取消订单数的变化量
+     * @param {int} completed - 已完成订单数的变化量
+     * @return {int} 返回更新的统计行数
+     */
+    // 使用MyBatis的Update注解，按主键累加
+    @Update("UPDATE user_order_stats SET total = total + #{total}, unpaid = unpaid + #{unpaid}, paid = paid + #{paid}, " +
+            "cancelled = cancelled + #{cancelled}, completed = completed + #{completed}, update_time = NOW() " +
+            "WHERE user_id = #{userId}")
+    int applyOrderDelta(@Param("userId") Integer userId, @Param("total") int total, @Param("unpaid") int unpaid,
+                        @Param("paid") int paid, @Param("cancelled") int cancelled, @Param("completed") int completed);
+
+    /**
+     * 删除一批用户的缴费统计
+     * 功能概述：无法确定增量时删除统计行，下一轮校对时从明细重建，在此之前读取时按明细汇总
+     * @param {List<Integer>} userIds - 用户编号列表
+     * @return {int} 返回删除的行数
+     */
+    // 使用MyBatis的Delete注解，动态拼接IN条件
+    @Delete("<script>" +
+            "DELETE FROM user_payment_stats WHERE user_id IN " +
+            "<foreach collection='userIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deletePaymentStats(@Param("userIds") List<Integer> userIds);
+
+    /**
+     * 按用户编号顺序读取一段缴费统计的用户
+     * @param {Integer} afterUserId - 上一段最后一个用户编号（不含），从头开始时为0
+     * @param {int} limit - 最多返回的用户数
+     * @return {List<Integer>} 返回用户编号，按升序排列
+     */
+    // 使用MyBatis的Select注解，按主键顺序读取
+    @Select("SELECT user_id FROM user_payment_stats WHERE user_id > #{afterUserId} ORDER BY user_id LIMIT #{limit}")
+    List<Integer> findPaymentStatsUserIds(@Param("afterUserId") Integer afterUserId, @Param("limit") int limit);
+
+    /**
+     * 按用户编号顺序读取一段订单统计的用户
+     * @param {Integer} afterUserId - 上一段最后一个用户编号（不含），从头开始时为0
+     * @param {int} limit - 最多返回的用户数
+     * @return {List<Integer>} 返回用户编号，按升序排列
+     */
+    // 使用MyBatis的Select注解，按主键顺序读取
+    @Select("SELECT user_id FROM user_order_stats WHERE user_id > #{afterUserId} ORDER BY user_id LIMIT #{limit}")
+    List<Integer> findOrderStatsUserIds(@Param("afterUserId") Integer afterUserId, @Param("limit") int limit);
+
+    /**
+     * 按用户编号顺序读取一段有账单但没有缴费统计行的用户
+     * 功能概述：校对时用于补建统计行，普通一致性读，不加锁；没有账单的用户读取时按明细汇总即可，不建统计行
+     * @param {Integer} afterUserId - 上一段最后一个用户编号（不含），从头开始时为0
+     * @param {int} limit - 最多返回的用户数
+     * @return {List<Integer>} 返回用户编号，按升序排列
+     */
+    // 使用MyBatis的Select注解，按账单的用户编号顺序读取
+    @Select("SELECT DISTINCT b.user_id FROM payment_bills b WHERE b.user_id > #{afterUserId} " +
+            "AND NOT EXISTS (SELECT 1 FROM user_payment_stats s WHERE s.user_id = b.user_id) " +
+            "ORDER BY b.user_id LIMIT #{limit}")
+    List<Integer> findUsersMissingPaymentStats(@Param("afterUserId") Integer afterUserId, @Param("limit") int limit);
+
+    /**
+     * 按用户编号顺序读取一段有订单但没有订单统计行的用户
+     * 功能概述：校对时用于补建统计行，普通一致性读，不加锁；没有订单的用户读取时按明细汇总即可，不建统计行
+     * @param {Integer} afterUserId - 上一段最后一个用户编号（不含），从头开始时为0
+     * @param {int} limit - 最多返回的用户数
+     * @return {List<Integer>} 返回用户编号，按升序排列
+     */
+    // 使用MyBatis的Select注解，按订单的用户编号顺序读取
+    @Select("SELECT DISTINCT o.user_id FROM unified_order o WHERE o.user_id > #{afterUserId} " +
+            "AND NOT EXISTS (SELECT 1 FROM user_order_stats s WHERE s.user_id = o.user_id) " +
+            "ORDER BY o.user_id LIMIT #{limit}")
+    List<Integer> findUsersMissingOrderStats(@Param("afterUserId") Integer afterUserId, @Param("limit") int limit);
+
+    /**
+     * 查找缴费统计与账单明细不一致的用户
+     * 功能概述：对这批用户的账单按用户汇总，与统计行逐项比较，不加锁
+     * @param {List<Integer>} userIds - 用户编号列表
+     * @return {List<Integer>} 返回不一致的用户编号
+     */
+    // 使用MyBatis的Select注解，动态拼接IN条件
+    @Select("<script>" +
+            "SELECT s.user_id FROM user_payment_stats s LEFT JOIN (" +
+            "SELECT user_id, COUNT(*) AS total_bills, " +
+            "SUM(CASE WHEN bill_status = 0 THEN 1 ELSE 0 END) AS unpaid_bills, " +
+            "SUM(CASE WHEN bill_status = 1 THEN 1 ELSE 0 END) AS paid_bills, " +
+            "SUM(CASE WHEN bill_status = 2 THEN 1 ELSE 0 END) AS overdue_bills, " +
+            "SUM(CASE WHEN bill_status = 1 THEN bill_amount ELSE 0 END) AS paid_amount, " +
+            "SUM(CASE WHEN bill_status = 0 THEN bill_amount ELSE 0 END) AS unpaid_amount " +
+            "FROM payment_bills WHERE user_id IN " +
+            "<foreach collection='userIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "GROUP BY user_id) a ON a.user_id = s.user_id " +
+            "WHERE s.user_id IN " +
+            "<foreach collection='userIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "AND (s.total_bills != COALESCE(a.total_bills, 0) OR s.unpaid_bills != COALESCE(a.unpaid_bills, 0) " +
+            "OR s.paid_bills != COALESCE(a.paid_bills, 0) OR s.overdue_bills != COALESCE(a.overdue_bills, 0) " +
+            "OR s.total_paid_amount != COALESCE(a.paid_amount, 0) OR s.total_unpaid_amount != COALESCE(a.unpaid_amount, 0))" +
+            "</script>")
+    List<Integer> findPaymentStatsDrift(@Param("userIds") List<Integer> userIds);
+
+    /**
+     * 查找订单统计与订单明细不一致的用户
+     * 功能概述：对这批用户的统一订单按用户汇总，与统计行逐项比较，不加锁
+     * @param {List<Integer>} userIds - 用户编号列表
+     * @return {List<Integer>} 返回不一致的用户编号
+     */
+    // 使用MyBatis的Select注解，动态拼接IN条件
+    @Select("<script>" +
+            "SELECT s.user_id FROM user_order_stats s LEFT JOIN (" +
+            "SELECT user_id, COUNT(*) AS total, " +
+            "SUM(CASE WHEN payment_status = 0 THEN 1 ELSE 0 END) AS unpaid, " +
+            "SUM(CASE WHEN payment_status = 1 THEN 1 ELSE 0 END) AS paid, " +
+            "SUM(CASE WHEN payment_status = 2 THEN 1 ELSE 0 END) AS cancelled, " +
+            "SUM(CASE WHEN payment_status = 3 THEN 1 ELSE 0 END) AS completed " +
+            "FROM unified_order WHERE user_id IN " +
+            "<foreach collection='userIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "GROUP BY user_id) a ON a.user_id = s.user_id " +
+            "WHERE s.user_id IN " +
+            "<foreach collection='userIds' item='id' open='(' separator=',' close=')'>#{id}</foreach> " +
+            "AND (s.total != COALESCE(a.total, 0) OR s.unpaid != COALESCE(a.unpaid, 0) OR s.paid != COALESCE(a.paid, 0) " +
+            "OR s.cancelled != COALESCE(a.cancelled, 0) OR s.completed != COALESCE(a.completed, 0))" +
+            "</script>")
+    List<Integer> findOrderStatsDrift(@Param("userIds") List<Integer> userIds);
+}
@@ -40,6 +40,10 @@ public class Attraction {
     private BigDecimal rating;
     // 价格范围，对应数据库中的price_range字段，景点的门票价格范围
     private String priceRange;
+    // 最低价格，对应数据库中的price_min字段，由price_range解析得到（元）
+    private Integer priceMin;
+    // 最高价格，对应数据库中的price_max字段，由price_range解析得到（元），只有起价时为空
+    private Integer priceMax;
     // 开放时间，对应数据库中的opening_hours字段，景点的开放时间
     private String openingHours;
     // 联系电话，对应数据库中的phone字段，景点的联系电话
@@ -336,6 +340,50 @@ public class Attraction {
         this.priceRange = priceRange;
     }
 
+    /**
+     * 获取最低价格
+     * 功能概述：返回从价格范围文本解析出的景点最低价格（元）
+     * @return {Integer} 返回最低价格，未解析时为null
+     */
+    // 获取最低价格方法
+    public Integer getPriceMin() {
+        // 返回最低价格
+        return priceMin;
+    }
+
+    /**
+     * 设置最低价格
+     * 功能概述：设置景点的最低价格（元）
+     * @param {Integer} priceMin - 最低价格
+     */
+    // 设置最低价格方法，接收最低价格参数
+    public void setPriceMin(Integer priceMin) {
+        // 将传入的最低价格赋值给当前对象的priceMin字段
+        this.priceMin = priceMin;
+    }
+
+    /**
+     * 获取最高价格
+     * 功能概述：返回从价格范围文本解析出的景点最高价格（元）
+     * @return {Integer} 返回最高价格，未解析或只有起价时为null
+     */
+    // 获取最高价格方法
+    public Integer getPriceMax() {
+        // 返回最高价格
+        return priceMax;
+    }
+
+    /**
+     * 设置最高价格
+     * 功能概述：设置景点的最高价格（元）
+     * @param {Integer} priceMax - 最高价格
+     */
+    // 设置最高价格方法，接收最高价格参数
+    public void setPriceMax(Integer priceMax) {
+        // 将传入的最高价格赋值给当前对象的priceMax字段
+        this.priceMax = priceMax;
+    }
+
     /**
      * 获取开放时间
      * 功能概述：返回景点的开放时间
@@ -0,0 +1,58 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入Jackson的空值处理注解
+import com.fasterxml.jackson.annotation.JsonInclude;
+// 导入Jackson的属性名注解
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 导入BigDecimal类，用于精确的评分
+import java.math.BigDecimal;
+
+/**
+ * 景点摘要记录
+ * 功能概述：地区景点列表的一行，由MyBatis按构造方法参数顺序直接映射（resultMap attractionSummaryResultMap），
+ * 替代原先resultType="map"的查询结果；JSON属性名沿用原先Map的列名（下划线形式），
+ * 空值字段不输出，与原先Map中不包含空列的结果一致
+ * @param {Long} id - 景点编号
+ * @param {String} name - 景点名称
+ * @param {String} description - 景点描述
+ * @param {BigDecimal} rating - 评分
+ * @param {String} priceRange - 价格区间
+ * @param {String} openingHours - 开放时间
+ * @param {String} features - 特色
+ * @param {String} tips - 游玩提示
+ * @param {String} bestSeason - 最佳季节
+ * @param {String} visitDuration - 建议游玩时长
+ * @param {String} province - 省份名称
+ * @param {String} city - 城市名称
+ * @param {String} district - 区县
+ * @param {String} fullAddress - 详细地址
+ * @param {String} imageUrl - 图片地址
+ * @param {Integer} recommendScore - 推荐分
+ * @param {Integer} viewCount - 浏览次数
+ * @param {Integer} likeCount - 点赞次数
+ */
+// 空值字段不输出
+@JsonInclude(JsonInclude.Include.NON_NULL)
+// 景点摘要记录
+public record AttractionSummary(
+        Long id,
+        String name,
+        String description,
+        BigDecimal rating,
+        @JsonProperty("price_range") String priceRange,
+        @JsonProperty("opening_hours") String openingHours,
+        String features,
+        String tips,
+        @JsonProperty("best_season") String bestSeason,
+        @JsonProperty("visit_duration") String visitDuration,
+        String province,
+        String city,
+        String district,
+        @JsonProperty("full_address") String fullAddress,
+        @JsonProperty("image_url") String imageUrl,
+        @JsonProperty("recommend_score") Integer recommendScore,
+        @JsonProperty("view_count") Integer viewCount,
+        @JsonProperty("like_count") Integer likeCount) {
+}
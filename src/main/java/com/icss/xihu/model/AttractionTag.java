@@ -28,6 +28,8 @@ public class AttractionTag {
     private LocalDateTime createTime;
     // 更新时间，对应数据库中的update_time字段，标签的最后更新时间
     private LocalDateTime updateTime;
+    // 关联景点编号，来自attraction_tag_relations表，仅在按景点ID批量查询标签时填充，用于在内存中归组
+    private Long attractionId;
 
     /**
      * 无参构造函数
@@ -189,4 +191,26 @@ public class AttractionTag {
         // 将传入的更新时间赋值给当前对象的updateTime字段
         this.updateTime = updateTime;
     }
+
+    /**
+     * 获取关联景点编号
+     * 功能概述：返回该标签所属的景点编号（仅批量查询时有值）
+     * @return {Long} 返回关联景点编号
+     */
+    // 获取关联景点编号方法，返回该标签所属的景点编号
+    public Long getAttractionId() {
+        // 返回关联景点编号
+        return attractionId;
+    }
+
+    /**
+     * 设置关联景点编号
+     * 功能概述：设置该标签所属的景点编号
+     * @param {Long} attractionId - 关联景点编号
+     */
+    // 设置关联景点编号方法，接收关联景点编号参数
+    public void setAttractionId(Long attractionId) {
+        // 将传入的关联景点编号赋值给当前对象的attractionId字段
+        this.attractionId = attractionId;
+    }
 }
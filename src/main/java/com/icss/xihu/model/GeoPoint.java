@@ -0,0 +1,163 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+/**
+ * 地理位置点实体类
+ * 功能概述：封装景点、酒店、餐厅在地理位置索引中的一条记录，包括类型、编号、名称、所在地区、坐标和评分
+ * 该类只保存在内存中，由GeoMapper从各业务表查询得到
+ */
+// 地理位置点实体类，用于附近查询的网格索引
+public class GeoPoint {
+    // 景点类型常量
+    public static final String TYPE_ATTRACTION = "attraction";
+    // 酒店类型常量
+    public static final String TYPE_HOTEL = "hotel";
+    // 餐厅类型常量
+    public static final String TYPE_RESTAURANT = "restaurant";
+
+    // 类型，attraction=景点，hotel=酒店，restaurant=餐厅
+    private String type;
+    // 业务编号（景点ID、酒店ID或餐厅ID）
+    private Long id;
+    // 名称
+    private String name;
+    // 所在省份
+    private String province;
+    // 所在城市
+    private String city;
+    // 纬度
+    private Double latitude;
+    // 经度
+    private Double longitude;
+    // 评分
+    private Double rating;
+    // 图片地址
+    private String img;
+
+    // 获取类型
+    public String getType() {
+        // 返回type字段的值
+        return type;
+    }
+
+    // 设置类型
+    public void setType(String type) {
+        // 将参数值赋给type字段
+        this.type = type;
+    }
+
+    // 获取业务编号
+    public Long getId() {
+        // 返回id字段的值
+        return id;
+    }
+
+    // 设置业务编号
+    public void setId(Long id) {
+        // 将参数值赋给id字段
+        this.id = id;
+    }
+
+    // 获取名称
+    public String getName() {
+        // 返回name字段的值
+        return name;
+    }
+
+    // 设置名称
+    public void setName(String name) {
+        // 将参数值赋给name字段
+        this.name = name;
+    }
+
+    // 获取所在省份
+    public String getProvince() {
+        // 返回province字段的值
+        return province;
+    }
+
+    // 设置所在省份
+    public void setProvince(String province) {
+        // 将参数值赋给province字段
+        this.province = province;
+    }
+
+    // 获取所在城市
+    public String getCity() {
+        // 返回city字段的值
+        return city;
+    }
+
+    // 设置所在城市
+    public void setCity(String city) {
+        // 将参数值赋给city字段
+        this.city = city;
+    }
+
+    // 获取纬度
+    public Double getLatitude() {
+        // 返回latitude字段的值
+        return latitude;
+    }
+
+    // 设置纬度
+    public void setLatitude(Double latitude) {
+        // 将参数值赋给latitude字段
+        this.latitude = latitude;
+    }
+
+    // 获取经度
+    public Double getLongitude() {
+        // 返回longitude字段的值
+        return longitude;
+    }
+
+    // 设置经度
+    public void setLongitude(Double longitude) {
+        // 将参数值赋给longitude字段
+        this.longitude = longitude;
+    }
+
+    // 获取评分
+    public Double getRating() {
+        // 返回rating字段的值
+        return rating;
+    }
+
+    // 设置评分
+    public void setRating(Double rating) {
+        // 将参数值赋给rating字段
+        this.rating = rating;
+    }
+
+    // 获取图片地址
+    public String getImg() {
+        // 返回img字段的值
+        return img;
+    }
+
+    // 设置图片地址
+    public void setImg(String img) {
+        // 将参数值赋给img字段
+        this.img = img;
+    }
+
+    /**
+     * 重写toString方法
+     * 功能概述：将地理位置点转换为字符串格式，用于日志输出
+     * @return {String} 返回地理位置点的字符串表示
+     */
+    // 重写Object类的toString方法
+    @Override
+    // toString方法，将地理位置点转换为字符串格式
+    public String toString() {
+        // 返回地理位置点的字符串表示
+        return "GeoPoint{" +
+                "type='" + type + '\'' +        // 类型
+                ", id=" + id +                   // 业务编号
+                ", name='" + name + '\'' +      // 名称
+                ", latitude=" + latitude +       // 纬度
+                ", longitude=" + longitude +     // 经度
+                '}';
+    }
+}
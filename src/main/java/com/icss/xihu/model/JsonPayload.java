@@ -0,0 +1,84 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+/**
+ * 预序列化JSON响应实体类
+ * 功能概述：封装已经序列化好的JSON字节数组及其ETag和生成时间，控制器直接写出字节并支持条件请求（304）
+ * 该类只保存在内存中，创建后不再修改
+ */
+// 预序列化JSON响应实体类
+public class JsonPayload {
+    // JSON字节数组（UTF-8编码）
+    private final byte[] body;
+    // 实体标签，带双引号，例如"5d41402abc4b2a76b9719d911017c592"
+    private final String etag;
+    // 生成时间（毫秒时间戳），用于Last-Modified响应头
+    private final long lastModified;
+
+    /**
+     * 构造方法
+     * 功能概述：创建预序列化JSON响应
+     * @param {byte[]} body - JSON字节数组
+     * @param {String} etag - 实体标签
+     * @param {long} lastModified - 生成时间（毫秒时间戳）
+     */
+    // 构造方法
+    public JsonPayload(byte[] body, String etag, long lastModified) {
+        // 保存JSON字节数组
+        this.body = body;
+        // 保存实体标签
+        this.etag = etag;
+        // 保存生成时间
+        this.lastModified = lastModified;
+    }
+
+    // 获取JSON字节数组
+    public byte[] getBody() {
+        // 返回body字段的值
+        return body;
+    }
+
+    // 获取实体标签
+    public String getEtag() {
+        // 返回etag字段的值
+        return etag;
+    }
+
+    // 获取生成时间
+    public long getLastModified() {
+        // 返回lastModified字段的值
+        return lastModified;
+    }
+
+    /**
+     * 判断客户端缓存是否仍然有效
+     * 功能概述：比较请求头If-None-Match中的实体标签，支持逗号分隔的多个值、弱标签和*
+     * @param {String} ifNoneMatch - 请求头If-None-Match的值
+     * @return {boolean} 客户端缓存有效返回true，否则返回false
+     */
+    // 判断客户端缓存是否有效方法
+    public boolean matches(String ifNoneMatch) {
+        // 请求头为空时无效
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            // 返回false
+            return false;
+        }
+        // 遍历逗号分隔的实体标签
+        for (String tag : ifNoneMatch.split(",")) {
+            // 去掉空白
+            String t = tag.trim();
+            // 去掉弱标签前缀
+            if (t.startsWith("W/")) {
+                // 截掉前缀
+                t = t.substring(2);
+            }
+            // 匹配*或当前实体标签
+            if ("*".equals(t) || etag.equals(t)) {
+                // 返回true
+                return true;
+            }
+        }
+        // 都不匹配时返回false
+        return false;
+    }
+}
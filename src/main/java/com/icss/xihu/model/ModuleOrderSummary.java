@@ -0,0 +1,53 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+/**
+ * 模块订单摘要实体类
+ * 功能概述：订单历史读模型中展示的模块订单信息，由各模块订单适配器按一批模块订单ID一条语句查询，
+ * 包含模块订单主键、明细文本（如酒店和房型、商品和数量、景点和门票）和缩略图地址
+ */
+// 模块订单摘要实体类
+public class ModuleOrderSummary {
+    // 模块订单主键，对应各模块订单表的id字段
+    private Integer moduleOrderId;
+    // 明细文本，由各模块订单表和关联的目录表拼接
+    private String moduleDetail;
+    // 缩略图地址，取自酒店、商品、景点、餐厅图片或缴费类型图标
+    private String thumbnail;
+
+    // 获取模块订单主键
+    public Integer getModuleOrderId() {
+        // 返回moduleOrderId字段的值
+        return moduleOrderId;
+    }
+
+    // 设置模块订单主键
+    public void setModuleOrderId(Integer moduleOrderId) {
+        // 将参数值赋给moduleOrderId字段
+        this.moduleOrderId = moduleOrderId;
+    }
+
+    // 获取明细文本
+    public String getModuleDetail() {
+        // 返回moduleDetail字段的值
+        return moduleDetail;
+    }
+
+    // 设置明细文本
+    public void setModuleDetail(String moduleDetail) {
+        // 将参数值赋给moduleDetail字段
+        this.moduleDetail = moduleDetail;
+    }
+
+    // 获取缩略图地址
+    public String getThumbnail() {
+        // 返回thumbnail字段的值
+        return thumbnail;
+    }
+
+    // 设置缩略图地址
+    public void setThumbnail(String thumbnail) {
+        // 将参数值赋给thumbnail字段
+        this.thumbnail = thumbnail;
+    }
+}
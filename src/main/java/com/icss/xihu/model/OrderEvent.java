@@ -0,0 +1,124 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入LocalDateTime类，用于处理日期时间
+import java.time.LocalDateTime;
+
+/**
+ * 订单事件实体类
+ * 功能概述：对应数据库中的order_event表，统一订单每次状态变化追加一行，只追加不修改；
+ * 事件在状态变化的同一事务中写入，订单历史投影按事件编号顺序读取
+ */
+// 订单事件实体类
+public class OrderEvent {
+
+    // 事件类型：订单创建
+    public static final String TYPE_CREATED = "CREATED";
+    // 事件类型：订单支付
+    public static final String TYPE_PAID = "PAID";
+    // 事件类型：订单取消（包括超时自动取消）
+    public static final String TYPE_CANCELLED = "CANCELLED";
+    // 事件类型：订单删除
+    public static final String TYPE_DELETED = "DELETED";
+    // 事件类型：订单金额或关联的模块订单变化
+    public static final String TYPE_UPDATED = "UPDATED";
+
+    // 事件编号，对应id字段，自增主键
+    private Long id;
+    // 统一订单号，对应order_no字段
+    private String orderNo;
+    // 用户编号，对应user_id字段
+    private Integer userId;
+    // 事件类型，对应event_type字段
+    private String eventType;
+    // 事件发生后的支付状态（删除事件为删除前的状态），对应payment_status字段
+    private Integer paymentStatus;
+    // 事件时间，对应create_time字段
+    private LocalDateTime createTime;
+    // 事件是否已过沉淀时间（查询时计算，不对应表字段）
+    private Boolean settled;
+
+    // 获取事件编号
+    public Long getId() {
+        // 返回id字段的值
+        return id;
+    }
+
+    // 设置事件编号
+    public void setId(Long id) {
+        // 将参数值赋给id字段
+        this.id = id;
+    }
+
+    // 获取统一订单号
+    public String getOrderNo() {
+        // 返回orderNo字段的值
+        return orderNo;
+    }
+
+    // 设置统一订单号
+    public void setOrderNo(String orderNo) {
+        // 将参数值赋给orderNo字段
+        this.orderNo = orderNo;
+    }
+
+    // 获取用户编号
+    public Integer getUserId() {
+        // 返回userId字段的值
+        return userId;
+    }
+
+    // 设置用户编号
+    public void setUserId(Integer userId) {
+        // 将参数值赋给userId字段
+        this.userId = userId;
+    }
+
+    // 获取事件类型
+    public String getEventType() {
+        // 返回eventType字段的值
+        return eventType;
+    }
+
+    // 设置事件类型
+    public void setEventType(String eventType) {
+        // 将参数值赋给eventType字段
+        this.eventType = eventType;
+    }
+
+    // 获取支付状态
+    public Integer getPaymentStatus() {
+        // 返回paymentStatus字段的值
+        return paymentStatus;
+    }
+
+    // 设置支付状态
+    public void setPaymentStatus(Integer paymentStatus) {
+        // 将参数值赋给paymentStatus字段
+        this.paymentStatus = paymentStatus;
+    }
+
+    // 获取事件时间
+    public LocalDateTime getCreateTime() {
+        // 返回createTime字段的值
+        return createTime;
+    }
+
+    // 设置事件时间
+    public void setCreateTime(LocalDateTime createTime) {
+        // 将参数值赋给createTime字段
+        this.createTime = createTime;
+    }
+
+    // 获取是否已过沉淀时间
+    public Boolean getSettled() {
+        // 返回settled字段的值
+        return settled;
+    }
+
+    // 设置是否已过沉淀时间
+    public void setSettled(Boolean settled) {
+        // 将参数值赋给settled字段
+        this.settled = settled;
+    }
+}
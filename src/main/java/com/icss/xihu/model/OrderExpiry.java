@@ -0,0 +1,54 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入LocalDateTime类，用于处理日期时间
+import java.time.LocalDateTime;
+
+/**
+ * 订单过期登记实体类
+ * 功能概述：对应数据库中的order_expiry表，每个待支付的统一订单一行，记录订单的过期时间；
+ * 订单支付或取消时在同一事务中删除，应用重启后从该表重新装载，过期时间到达时仍未支付的订单被自动取消
+ */
+// 订单过期登记实体类
+public class OrderExpiry {
+    // 统一订单号，对应order_no字段，主键
+    private String orderNo;
+    // 过期时间，对应expire_time字段
+    private LocalDateTime expireTime;
+
+    // 无参构造方法
+    public OrderExpiry() {
+    }
+
+    // 带订单号和过期时间的构造方法
+    public OrderExpiry(String orderNo, LocalDateTime expireTime) {
+        // 将参数值赋给orderNo字段
+        this.orderNo = orderNo;
+        // 将参数值赋给expireTime字段
+        this.expireTime = expireTime;
+    }
+
+    // 获取统一订单号
+    public String getOrderNo() {
+        // 返回orderNo字段的值
+        return orderNo;
+    }
+
+    // 设置统一订单号
+    public void setOrderNo(String orderNo) {
+        // 将参数值赋给orderNo字段
+        this.orderNo = orderNo;
+    }
+
+    // 获取过期时间
+    public LocalDateTime getExpireTime() {
+        // 返回expireTime字段的值
+        return expireTime;
+    }
+
+    // 设置过期时间
+    public void setExpireTime(LocalDateTime expireTime) {
+        // 将参数值赋给expireTime字段
+        this.expireTime = expireTime;
+    }
+}
@@ -0,0 +1,232 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入BigDecimal类，用于精确的金额计算
+import java.math.BigDecimal;
+// 导入LocalDateTime类，用于处理日期时间
+import java.time.LocalDateTime;
+
+/**
+ * 订单历史实体类
+ * 功能概述：对应数据库中的order_history表，是订单中心和我的订单页面的读模型，每个统一订单一行；
+ * 由订单历史投影根据订单事件从统一订单和各模块订单组装，包含标题、金额、模块订单明细和缩略图，页面按页读取时不再关联查询
+ */
+// 订单历史实体类
+public class OrderHistory {
+    // 统一订单号，对应order_no字段，主键
+    private String orderNo;
+    // 用户编号，对应user_id字段
+    private Integer userId;
+    // 订单类型，对应order_type字段
+    private String orderType;
+    // 模块订单编号，对应module_order_id字段
+    private Integer moduleOrderId;
+    // 订单标题，对应order_title字段
+    private String orderTitle;
+    // 订单描述，对应order_description字段
+    private String orderDescription;
+    // 订单总金额，对应total_amount字段
+    private BigDecimal totalAmount;
+    // 支付状态，对应payment_status字段
+    private Integer paymentStatus;
+    // 支付方式，对应payment_method字段
+    private String paymentMethod;
+    // 支付时间，对应payment_time字段
+    private LocalDateTime paymentTime;
+    // 下单时间，对应create_time字段
+    private LocalDateTime createTime;
+    // 模块订单明细，对应module_detail字段
+    private String moduleDetail;
+    // 缩略图地址，对应thumbnail字段
+    private String thumbnail;
+    // 已投影的最后一个事件编号，对应last_event_id字段
+    private Long lastEventId;
+    // 投影时间，对应update_time字段
+    private LocalDateTime updateTime;
+
+    // 获取统一订单号
+    public String getOrderNo() {
+        // 返回orderNo字段的值
+        return orderNo;
+    }
+
+    // 设置统一订单号
+    public void setOrderNo(String orderNo) {
+        // 将参数值赋给orderNo字段
+        this.orderNo = orderNo;
+    }
+
+    // 获取用户编号
+    public Integer getUserId() {
+        // 返回userId字段的值
+        return userId;
+    }
+
+    // 设置用户编号
+    public void setUserId(Integer userId) {
+        // 将参数值赋给userId字段
+        this.userId = userId;
+    }
+
+    // 获取订单类型
+    public String getOrderType() {
+        // 返回orderType字段的值
+        return orderType;
+    }
+
+    // 设置订单类型
+    public void setOrderType(String orderType) {
+        // 将参数值赋给orderType字段
+        this.orderType = orderType;
+    }
+
+    // 获取模块订单编号
+    public Integer getModuleOrderId() {
+        // 返回moduleOrderId字段的值
+        return moduleOrderId;
+    }
+
+    // 设置模块订单编号
+    public void setModuleOrderId(Integer moduleOrderId) {
+        // 将参数值赋给moduleOrderId字段
+        this.moduleOrderId = moduleOrderId;
+    }
+
+    // 获取订单标题
+    public String getOrderTitle() {
+        // 返回orderTitle字段的值
+        return orderTitle;
+    }
+
+    // 设置订单标题
+    public void setOrderTitle(String orderTitle) {
+        // 将参数值赋给orderTitle字段
+        this.orderTitle = orderTitle;
+    }
+
+    // 获取订单描述
+    public String getOrderDescription() {
+        // 返回orderDescription字段的值
+        return orderDescription;
+    }
+
+    // 设置订单描述
+    public void setOrderDescription(String orderDescription) {
+        // 将参数值赋给orderDescription字段
+        this.orderDescription = orderDescription;
+    }
+
+    // 获取订单总金额
+    public BigDecimal getTotalAmount() {
+        // 返回totalAmount字段的值
+        return totalAmount;
+    }
+
+    // 设置订单总金额
+    public void setTotalAmount(BigDecimal totalAmount) {
+        // 将参数值赋给totalAmount字段
+        this.totalAmount = totalAmount;
+    }
+
+    // 获取支付状态
+    public Integer getPaymentStatus() {
+        // 返回paymentStatus字段的值
+        return paymentStatus;
+    }
+
+    // 设置支付状态
+    public void setPaymentStatus(Integer paymentStatus) {
+        // 将参数值赋给paymentStatus字段
+        this.paymentStatus = paymentStatus;
+    }
+
+    // 获取支付方式
+    public String getPaymentMethod() {
+        // 返回paymentMethod字段的值
+        return paymentMethod;
+    }
+
+    // 设置支付方式
+    public void setPaymentMethod(String paymentMethod) {
+        // 将参数值赋给paymentMethod字段
+        this.paymentMethod = paymentMethod;
+    }
+
+    // 获取支付时间
+    public LocalDateTime getPaymentTime() {
+        // 返回paymentTime字段的值
+        return paymentTime;
+    }
+
+    // 设置支付时间
+    public void setPaymentTime(LocalDateTime paymentTime) {
+        // 将参数值赋给paymentTime字段
+        this.paymentTime = paymentTime;
+    }
+
+    // 获取下单时间
+    public LocalDateTime getCreateTime() {
+        // 返回createTime字段的值
+        return createTime;
+    }
+
+    // 设置下单时间
+    public void setCreateTime(LocalDateTime createTime) {
+        // 将参数值赋给createTime字段
+        this.createTime = createTime;
+    }
+
+    // 获取模块订单明细
+    public String getModuleDetail() {
+        // 返回moduleDetail字段的值
+        return moduleDetail;
+    }
+
+    // 设置模块订单明细
+    public void setModuleDetail(String moduleDetail) {
+        // 将参数值赋给moduleDetail字段
+        this.moduleDetail = moduleDetail;
+    }
+
+    // 获取缩略图地址
+    public String getThumbnail() {
+        // 返回thumbnail字段的值
+        return thumbnail;
+    }
+
+    // 设置缩略图地址
+    public void setThumbnail(String thumbnail) {
+        // 将参数值赋给thumbnail字段
+        this.thumbnail = thumbnail;
+    }
+
+    // 获取已投影的最后一个事件编号
+    public Long getLastEventId() {
+        // 返回lastEventId字段的值
+        return lastEventId;
+    }
+
+    // 设置已投影的最后一个事件编号
+    public void setLastEventId(Long lastEventId) {
+        // 将参数值赋给lastEventId字段
+        this.lastEventId = lastEventId;
+    }
+
+    // 获取投影时间
+    public LocalDateTime getUpdateTime() {
+        // 返回updateTime字段的值
+        return updateTime;
+    }
+
+    // 设置投影时间
+    public void setUpdateTime(LocalDateTime updateTime) {
+        // 将参数值赋给updateTime字段
+        this.updateTime = updateTime;
+    }
+
+    // 获取支付状态文本（不对应表字段）
+    public String getPaymentStatusText() {
+        // 调用UnifiedOrder的静态方法getStatusText，根据支付状态码获取状态文本
+        return UnifiedOrder.getStatusText(paymentStatus);
+    }
+}
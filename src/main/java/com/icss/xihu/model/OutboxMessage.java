@@ -0,0 +1,172 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入LocalDateTime类，用于处理日期时间
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱消息实体类
+ * 功能概述：对应数据库中的order_outbox表，统一订单支付后需要执行的后续操作（同步模块订单、发送支付通知）
+ * 在支付事务中写入一行，由发件箱分发器在事务提交后分批处理，失败时按退避时间重试
+ */
+// 发件箱消息实体类
+public class OutboxMessage {
+
+    // 消息类型：把模块订单同步为已支付
+    public static final String TYPE_MODULE_PAID = "MODULE_PAID";
+    // 消息类型：发送支付成功通知短信
+    public static final String TYPE_PAYMENT_NOTICE = "PAYMENT_NOTICE";
+
+    // 处理状态：待处理（包括等待重试）
+    public static final int STATUS_PENDING = 0;
+    // 处理状态：已完成
+    public static final int STATUS_DONE = 1;
+    // 处理状态：超过最大尝试次数后放弃
+    public static final int STATUS_DEAD = 2;
+
+    // 消息编号，对应id字段，自增主键
+    private Long id;
+    // 幂等键，对应message_key字段，消息类型加订单号，重复写入时忽略
+    private String messageKey;
+    // 消息类型，对应message_type字段
+    private String messageType;
+    // 统一订单号，对应order_no字段
+    private String orderNo;
+    // 处理状态，对应status字段（0待处理，1已完成，2已放弃）
+    private Integer status;
+    // 已尝试次数，对应attempts字段
+    private Integer attempts;
+    // 下一次处理时间，对应next_attempt_time字段，已完成的消息为完成时间
+    private LocalDateTime nextAttemptTime;
+    // 上一次失败原因，对应last_error字段
+    private String lastError;
+    // 写入时间，对应create_time字段
+    private LocalDateTime createTime;
+
+    // 无参构造函数
+    public OutboxMessage() {
+    }
+
+    /**
+     * 创建待写入的消息
+     * @param {String} messageType - 消息类型
+     * @param {String} orderNo - 统一订单号
+     */
+    // 带参构造函数，幂等键为消息类型加订单号
+    public OutboxMessage(String messageType, String orderNo) {
+        // 设置幂等键
+        this.messageKey = messageType + ":" + orderNo;
+        // 设置消息类型
+        this.messageType = messageType;
+        // 设置统一订单号
+        this.orderNo = orderNo;
+    }
+
+    // 获取消息编号
+    public Long getId() {
+        // 返回id字段的值
+        return id;
+    }
+
+    // 设置消息编号
+    public void setId(Long id) {
+        // 将参数值赋给id字段
+        this.id = id;
+    }
+
+    // 获取幂等键
+    public String getMessageKey() {
+        // 返回messageKey字段的值
+        return messageKey;
+    }
+
+    // 设置幂等键
+    public void setMessageKey(String messageKey) {
+        // 将参数值赋给messageKey字段
+        this.messageKey = messageKey;
+    }
+
+    // 获取消息类型
+    public String getMessageType() {
+        // 返回messageType字段的值
+        return messageType;
+    }
+
+    // 设置消息类型
+    public void setMessageType(String messageType) {
+        // 将参数值赋给messageType字段
+        this.messageType = messageType;
+    }
+
+    // 获取统一订单号
+    public String getOrderNo() {
+        // 返回orderNo字段的值
+        return orderNo;
+    }
+
+    // 设置统一订单号
+    public void setOrderNo(String orderNo) {
+        // 将参数值赋给orderNo字段
+        this.orderNo = orderNo;
+    }
+
+    // 获取处理状态
+    public Integer getStatus() {
+        // 返回status字段的值
+        return status;
+    }
+
+    // 设置处理状态
+    public void setStatus(Integer status) {
+        // 将参数值赋给status字段
+        this.status = status;
+    }
+
+    // 获取已尝试次数
+    public Integer getAttempts() {
+        // 返回attempts字段的值
+        return attempts;
+    }
+
+    // 设置已尝试次数
+    public void setAttempts(Integer attempts) {
+        // 将参数值赋给attempts字段
+        this.attempts = attempts;
+    }
+
+    // 获取下一次处理时间
+    public LocalDateTime getNextAttemptTime() {
+        // 返回nextAttemptTime字段的值
+        return nextAttemptTime;
+    }
+
+    // 设置下一次处理时间
+    public void setNextAttemptTime(LocalDateTime nextAttemptTime) {
+        // 将参数值赋给nextAttemptTime字段
+        this.nextAttemptTime = nextAttemptTime;
+    }
+
+    // 获取上一次失败原因
+    public String getLastError() {
+        // 返回lastError字段的值
+        return lastError;
+    }
+
+    // 设置上一次失败原因
+    public void setLastError(String lastError) {
+        // 将参数值赋给lastError字段
+        this.lastError = lastError;
+    }
+
+    // 获取写入时间
+    public LocalDateTime getCreateTime() {
+        // 返回createTime字段的值
+        return createTime;
+    }
+
+    // 设置写入时间
+    public void setCreateTime(LocalDateTime createTime) {
+        // 将参数值赋给createTime字段
+        this.createTime = createTime;
+    }
+}
@@ -0,0 +1,33 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 分页结果记录
+ * 功能概述：分页查询的通用结果，替代原先的Map结果，JSON结构与原先一致（list、total、page、pageSize、totalPages）
+ * @param {List<T>} list - 当前页数据
+ * @param {int} total - 总记录数
+ * @param {int} page - 当前页码（从1开始）
+ * @param {int} pageSize - 每页记录数
+ * @param {int} totalPages - 总页数
+ */
+// 分页结果记录
+public record PageResult<T>(List<T> list, int total, int page, int pageSize, int totalPages) {
+
+    /**
+     * 创建分页结果
+     * 功能概述：按总记录数和每页记录数向上取整计算总页数
+     * @param {List<T>} list - 当前页数据
+     * @param {int} total - 总记录数
+     * @param {int} page - 当前页码
+     * @param {int} pageSize - 每页记录数
+     * @return {PageResult<T>} 返回分页结果
+     */
+    // 创建分页结果方法
+    public static <T> PageResult<T> of(List<T> list, int total, int page, int pageSize) {
+        // 总页数 = 向上取整(总数 ÷ 每页记录数)
+        return new PageResult<>(list, total, page, pageSize, (int) Math.ceil((double) total / pageSize));
+    }
+}
@@ -0,0 +1,160 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入BigDecimal类，用于表示金额
+import java.math.BigDecimal;
+
+/**
+ * 用户缴费统计增量实体类
+ * 功能概述：一个用户的缴费统计在一次事务中的变化量，账单新建或状态变化时按用户合并后一次性累加到user_payment_stats表
+ */
+// 用户缴费统计增量实体类
+public class PaymentStatsDelta {
+    // 用户编号
+    private Integer userId;
+    // 账单总数的变化量
+    private int totalBills;
+    // 待缴费账单数的变化量
+    private int unpaidBills;
+    // 已缴费账单数的变化量
+    private int paidBills;
+    // 逾期账单数的变化量
+    private int overdueBills;
+    // 已缴费金额的变化量
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+    // 待缴费金额的变化量
+    private BigDecimal unpaidAmount = BigDecimal.ZERO;
+
+    // 无参构造方法
+    public PaymentStatsDelta() {
+    }
+
+    // 带用户编号的构造方法
+    public PaymentStatsDelta(Integer userId) {
+        // 将参数值赋给userId字段
+        this.userId = userId;
+    }
+
+    /**
+     * 计入一张某状态的账单
+     * 功能概述：sign为1时计入，为-1时移出；状态0计入待缴费数和待缴费金额，1计入已缴费数和已缴费金额，2计入逾期数
+     * @param {Integer} status - 账单状态（0-待缴费，1-已缴费，2-逾期）
+     * @param {BigDecimal} amount - 账单金额
+     * @param {int} sign - 1计入，-1移出
+     */
+    // 计入一张某状态的账单方法
+    public void add(Integer status, BigDecimal amount, int sign) {
+        // 金额为空时按0计算
+        BigDecimal signed = amount == null ? BigDecimal.ZERO : (sign < 0 ? amount.negate() : amount);
+        // 按状态累加
+        if (status != null && status == 0) {
+            // 待缴费数
+            unpaidBills += sign;
+            // 待缴费金额
+            unpaidAmount = unpaidAmount.add(signed);
+        } else if (status != null && status == 1) {
+            // 已缴费数
+            paidBills += sign;
+            // 已缴费金额
+            paidAmount = paidAmount.add(signed);
+        } else if (status != null && status == 2) {
+            // 逾期数
+            overdueBills += sign;
+        }
+    }
+
+    /**
+     * 判断是否没有变化
+     * @return {boolean} 各项变化量都为0时返回true
+     */
+    // 判断是否没有变化方法
+    public boolean isEmpty() {
+        // 各项变化量都为0
+        return totalBills == 0 && unpaidBills == 0 && paidBills == 0 && overdueBills == 0
+                && paidAmount.signum() == 0 && unpaidAmount.signum() == 0;
+    }
+
+    // 获取用户编号
+    public Integer getUserId() {
+        // 返回userId字段的值
+        return userId;
+    }
+
+    // 设置用户编号
+    public void setUserId(Integer userId) {
+        // 将参数值赋给userId字段
+        this.userId = userId;
+    }
+
+    // 获取账单总数的变化量
+    public int getTotalBills() {
+        // 返回totalBills字段的值
+        return totalBills;
+    }
+
+    // 设置账单总数的变化量
+    public void setTotalBills(int totalBills) {
+        // 将参数值赋给totalBills字段
+        this.totalBills = totalBills;
+    }
+
+    // 获取待缴费账单数的变化量
+    public int getUnpaidBills() {
+        // 返回unpaidBills字段的值
+        return unpaidBills;
+    }
+
+    // 设置待缴费账单数的变化量
+    public void setUnpaidBills(int unpaidBills) {
+        // 将参数值赋给unpaidBills字段
+        this.unpaidBills = unpaidBills;
+    }
+
+    // 获取已缴费账单数的变化量
+    public int getPaidBills() {
+        // 返回paidBills字段的值
+        return paidBills;
+    }
+
+    // 设置已缴费账单数的变化量
+    public void setPaidBills(int paidBills) {
+        // 将参数值赋给paidBills字段
+        this.paidBills = paidBills;
+    }
+
+    // 获取逾期账单数的变化量
+    public int getOverdueBills() {
+        // 返回overdueBills字段的值
+        return overdueBills;
+    }
+
+    // 设置逾期账单数的变化量
+    public void setOverdueBills(int overdueBills) {
+        // 将参数值赋给overdueBills字段
+        this.overdueBills = overdueBills;
+    }
+
+    // 获取已缴费金额的变化量
+    public BigDecimal getPaidAmount() {
+        // 返回paidAmount字段的值
+        return paidAmount;
+    }
+
+    // 设置已缴费金额的变化量
+    public void setPaidAmount(BigDecimal paidAmount) {
+        // 将参数值赋给paidAmount字段
+        this.paidAmount = paidAmount;
+    }
+
+    // 获取待缴费金额的变化量
+    public BigDecimal getUnpaidAmount() {
+        // 返回unpaidAmount字段的值
+        return unpaidAmount;
+    }
+
+    // 设置待缴费金额的变化量
+    public void setUnpaidAmount(BigDecimal unpaidAmount) {
+        // 将参数值赋给unpaidAmount字段
+        this.unpaidAmount = unpaidAmount;
+    }
+}
@@ -0,0 +1,67 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+/**
+ * 价格区间实体类
+ * 功能概述：保存从餐厅、景点的price_range文本解析出的最低价和最高价，对应数据库中的price_min、price_max字段，
+ * 文本只在加载或写入时解析一次，下单估价和区间查询直接使用数值
+ */
+// 价格区间实体类
+public class PriceRange {
+    // 最低价格（元），免费时为0
+    private Integer minPrice;
+    // 最高价格（元），只有"起"价时为null
+    private Integer maxPrice;
+
+    // 无参构造方法
+    public PriceRange() {
+    }
+
+    // 带参构造方法
+    public PriceRange(Integer minPrice, Integer maxPrice) {
+        // 保存最低价格
+        this.minPrice = minPrice;
+        // 保存最高价格
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * 获取人均价格
+     * 功能概述：有最高价时取最低价和最高价的中点（整数除法，与原先的估价规则一致），否则取最低价
+     * @return {Integer} 返回人均价格（元），最低价为空时返回null
+     */
+    // 获取人均价格方法
+    public Integer getPerCapita() {
+        // 最低价为空时无法计算
+        if (minPrice == null) {
+            // 返回null
+            return null;
+        }
+        // 有最高价时取中点，否则取最低价
+        return maxPrice == null ? minPrice : (minPrice + maxPrice) / 2;
+    }
+
+    // 获取最低价格（元）
+    public Integer getMinPrice() {
+        // 返回minPrice字段的值
+        return minPrice;
+    }
+
+    // 设置最低价格（元）
+    public void setMinPrice(Integer minPrice) {
+        // 将参数值赋给minPrice字段
+        this.minPrice = minPrice;
+    }
+
+    // 获取最高价格（元）
+    public Integer getMaxPrice() {
+        // 返回maxPrice字段的值
+        return maxPrice;
+    }
+
+    // 设置最高价格（元）
+    public void setMaxPrice(Integer maxPrice) {
+        // 将参数值赋给maxPrice字段
+        this.maxPrice = maxPrice;
+    }
+}
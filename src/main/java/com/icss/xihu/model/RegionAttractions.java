@@ -0,0 +1,77 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入Jackson的空值处理注解
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// 导入Collections工具类
+import java.util.Collections;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 地区景点响应记录
+ * 功能概述：按省份或省份加城市查询景点的结果，替代原先的Map结果，JSON结构与原先一致
+ * （province、city、cities、attractions、recommendations、success、message、total），空值字段不输出
+ * @param {Boolean} success - 是否成功
+ * @param {String} message - 失败时的错误信息
+ * @param {TravelDestination} province - 省份目的地信息，按城市查询时为null
+ * @param {TravelDestination} city - 城市目的地信息，按省份查询时为null
+ * @param {List<String>} cities - 省份下的城市名称，按城市查询时为null
+ * @param {List<AttractionSummary>} attractions - 景点列表
+ * @param {List<TravelRecommendation>} recommendations - 推荐信息
+ * @param {Integer} total - 景点总数
+ */
+// 空值字段不输出
+@JsonInclude(JsonInclude.Include.NON_NULL)
+// 地区景点响应记录
+public record RegionAttractions(
+        Boolean success,
+        String message,
+        TravelDestination province,
+        TravelDestination city,
+        List<String> cities,
+        List<AttractionSummary> attractions,
+        List<TravelRecommendation> recommendations,
+        Integer total) {
+
+    /**
+     * 创建省份查询结果
+     * @param {TravelDestination} province - 省份目的地信息
+     * @param {List<String>} cities - 省份下的城市名称
+     * @param {List<AttractionSummary>} attractions - 景点列表
+     * @param {List<TravelRecommendation>} recommendations - 推荐信息
+     * @return {RegionAttractions} 返回成功结果
+     */
+    // 创建省份查询结果方法
+    public static RegionAttractions ofProvince(TravelDestination province, List<String> cities,
+                                               List<AttractionSummary> attractions, List<TravelRecommendation> recommendations) {
+        // 返回成功结果
+        return new RegionAttractions(true, null, province, null, cities, attractions, recommendations, attractions.size());
+    }
+
+    /**
+     * 创建城市查询结果
+     * @param {TravelDestination} city - 城市目的地信息
+     * @param {List<AttractionSummary>} attractions - 景点列表
+     * @param {List<TravelRecommendation>} recommendations - 推荐信息
+     * @return {RegionAttractions} 返回成功结果
+     */
+    // 创建城市查询结果方法
+    public static RegionAttractions ofCity(TravelDestination city, List<AttractionSummary> attractions,
+                                           List<TravelRecommendation> recommendations) {
+        // 返回成功结果
+        return new RegionAttractions(true, null, null, city, null, attractions, recommendations, attractions.size());
+    }
+
+    /**
+     * 创建失败结果
+     * @param {String} message - 错误信息
+     * @return {RegionAttractions} 返回失败结果（景点为空列表，总数为0）
+     */
+    // 创建失败结果方法
+    public static RegionAttractions failure(String message) {
+        // 返回失败结果
+        return new RegionAttractions(false, message, null, null, null, Collections.emptyList(), null, 0);
+    }
+}
@@ -0,0 +1,134 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 餐厅分面筛选条件实体类
+ * 功能概述：封装/food/list的筛选条件，同一维度内的多个取值为"或"关系，不同维度之间为"与"关系；
+ * 人均价格区间格式为"50-100"（含下限不含上限）或"500+"，排序方式支持rating（默认）、price_asc、price_desc
+ */
+// 餐厅分面筛选条件实体类
+public class RestaurantFacetQuery {
+
+    // 排序方式：按评分（默认，与数据库查询顺序一致）
+    public static final String SORT_RATING = "rating";
+    // 排序方式：按人均价格从低到高
+    public static final String SORT_PRICE_ASC = "price_asc";
+    // 排序方式：按人均价格从高到低
+    public static final String SORT_PRICE_DESC = "price_desc";
+
+    // 菜系列表（任一匹配）
+    private List<String> categories;
+    // 城市列表（任一匹配）
+    private List<String> cities;
+    // 省份列表（任一匹配）
+    private List<String> provinces;
+    // 人均价格区间，如"50-100"、"500+"
+    private String priceRange;
+    // 最低评分
+    private Double minRating;
+    // 关键词，匹配名称、描述和特色
+    private String keyword;
+    // 排序方式
+    private String sort;
+    // 返回数量上限，为空时返回全部（不超过配置上限）
+    private Integer limit;
+
+    // 获取菜系列表
+    public List<String> getCategories() {
+        // 返回categories字段的值
+        return categories;
+    }
+
+    // 设置菜系列表
+    public void setCategories(List<String> categories) {
+        // 将参数值赋给categories字段
+        this.categories = categories;
+    }
+
+    // 获取城市列表
+    public List<String> getCities() {
+        // 返回cities字段的值
+        return cities;
+    }
+
+    // 设置城市列表
+    public void setCities(List<String> cities) {
+        // 将参数值赋给cities字段
+        this.cities = cities;
+    }
+
+    // 获取省份列表
+    public List<String> getProvinces() {
+        // 返回provinces字段的值
+        return provinces;
+    }
+
+    // 设置省份列表
+    public void setProvinces(List<String> provinces) {
+        // 将参数值赋给provinces字段
+        this.provinces = provinces;
+    }
+
+    // 获取人均价格区间
+    public String getPriceRange() {
+        // 返回priceRange字段的值
+        return priceRange;
+    }
+
+    // 设置人均价格区间
+    public void setPriceRange(String priceRange) {
+        // 将参数值赋给priceRange字段
+        this.priceRange = priceRange;
+    }
+
+    // 获取最低评分
+    public Double getMinRating() {
+        // 返回minRating字段的值
+        return minRating;
+    }
+
+    // 设置最低评分
+    public void setMinRating(Double minRating) {
+        // 将参数值赋给minRating字段
+        this.minRating = minRating;
+    }
+
+    // 获取关键词
+    public String getKeyword() {
+        // 返回keyword字段的值
+        return keyword;
+    }
+
+    // 设置关键词
+    public void setKeyword(String keyword) {
+        // 将参数值赋给keyword字段
+        this.keyword = keyword;
+    }
+
+    // 获取排序方式
+    public String getSort() {
+        // 返回sort字段的值
+        return sort;
+    }
+
+    // 设置排序方式
+    public void setSort(String sort) {
+        // 将参数值赋给sort字段
+        this.sort = sort;
+    }
+
+    // 获取返回数量上限
+    public Integer getLimit() {
+        // 返回limit字段的值
+        return limit;
+    }
+
+    // 设置返回数量上限
+    public void setLimit(Integer limit) {
+        // 将参数值赋给limit字段
+        this.limit = limit;
+    }
+}
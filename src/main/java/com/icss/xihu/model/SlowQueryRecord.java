@@ -0,0 +1,155 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入LocalDateTime类，用于处理日期时间
+import java.time.LocalDateTime;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 慢查询记录实体类
+ * 功能概述：封装一次超过阈值的SQL执行信息，包括语句ID、SQL文本、绑定参数的类型形态、耗时以及异步采集到的执行计划
+ * 该类只保存在内存中，不对应数据库表
+ */
+// 慢查询记录实体类，用于慢查询环形缓冲区和最慢语句排行
+public class SlowQueryRecord {
+    // MyBatis语句ID，格式为Mapper全限定名.方法名
+    private String statementId;
+    // SQL命令类型，SELECT、UPDATE、INSERT、DELETE等
+    private String commandType;
+    // 实际执行的SQL文本（包含?占位符）
+    private String sql;
+    // 按占位符顺序排列的绑定参数类型形态（如String(11)、Integer，不保存参数值）
+    private List<String> parameters;
+    // 执行耗时（毫秒）
+    private long elapsedMs;
+    // 发生时间
+    private LocalDateTime occurTime;
+    // 执行计划采集状态，PENDING=等待采集，DONE=已采集，SKIPPED=跳过，FAILED=采集失败
+    private String planStatus;
+    // EXPLAIN FORMAT=JSON返回的执行计划
+    private String plan;
+
+    // 执行计划等待采集状态常量
+    public static final String PLAN_PENDING = "PENDING";
+    // 执行计划已采集状态常量
+    public static final String PLAN_DONE = "DONE";
+    // 执行计划跳过采集状态常量（未启用、间隔内已采集或队列已满）
+    public static final String PLAN_SKIPPED = "SKIPPED";
+    // 执行计划采集失败状态常量
+    public static final String PLAN_FAILED = "FAILED";
+
+    // 获取语句ID
+    public String getStatementId() {
+        // 返回statementId字段的值
+        return statementId;
+    }
+
+    // 设置语句ID
+    public void setStatementId(String statementId) {
+        // 将参数值赋给statementId字段
+        this.statementId = statementId;
+    }
+
+    // 获取SQL命令类型
+    public String getCommandType() {
+        // 返回commandType字段的值
+        return commandType;
+    }
+
+    // 设置SQL命令类型
+    public void setCommandType(String commandType) {
+        // 将参数值赋给commandType字段
+        this.commandType = commandType;
+    }
+
+    // 获取SQL文本
+    public String getSql() {
+        // 返回sql字段的值
+        return sql;
+    }
+
+    // 设置SQL文本
+    public void setSql(String sql) {
+        // 将参数值赋给sql字段
+        this.sql = sql;
+    }
+
+    // 获取绑定参数
+    public List<String> getParameters() {
+        // 返回parameters字段的值
+        return parameters;
+    }
+
+    // 设置绑定参数
+    public void setParameters(List<String> parameters) {
+        // 将参数值赋给parameters字段
+        this.parameters = parameters;
+    }
+
+    // 获取执行耗时（毫秒）
+    public long getElapsedMs() {
+        // 返回elapsedMs字段的值
+        return elapsedMs;
+    }
+
+    // 设置执行耗时（毫秒）
+    public void setElapsedMs(long elapsedMs) {
+        // 将参数值赋给elapsedMs字段
+        this.elapsedMs = elapsedMs;
+    }
+
+    // 获取发生时间
+    public LocalDateTime getOccurTime() {
+        // 返回occurTime字段的值
+        return occurTime;
+    }
+
+    // 设置发生时间
+    public void setOccurTime(LocalDateTime occurTime) {
+        // 将参数值赋给occurTime字段
+        this.occurTime = occurTime;
+    }
+
+    // 获取执行计划采集状态
+    public String getPlanStatus() {
+        // 返回planStatus字段的值
+        return planStatus;
+    }
+
+    // 设置执行计划采集状态
+    public void setPlanStatus(String planStatus) {
+        // 将参数值赋给planStatus字段
+        this.planStatus = planStatus;
+    }
+
+    // 获取执行计划
+    public String getPlan() {
+        // 返回plan字段的值
+        return plan;
+    }
+
+    // 设置执行计划
+    public void setPlan(String plan) {
+        // 将参数值赋给plan字段
+        this.plan = plan;
+    }
+
+    /**
+     * 重写toString方法
+     * 功能概述：将慢查询记录转换为字符串格式，用于日志输出
+     * @return {String} 返回慢查询记录的字符串表示
+     */
+    // 重写Object类的toString方法
+    @Override
+    // toString方法，将慢查询记录转换为字符串格式
+    public String toString() {
+        // 返回慢查询记录的字符串表示，不包含较长的执行计划
+        return "SlowQueryRecord{" +
+                "statementId='" + statementId + '\'' +   // 语句ID
+                ", elapsedMs=" + elapsedMs +               // 执行耗时
+                ", occurTime=" + occurTime +               // 发生时间
+                ", planStatus='" + planStatus + '\'' +     // 执行计划采集状态
+                '}';
+    }
+}
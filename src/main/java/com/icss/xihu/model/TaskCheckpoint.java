@@ -0,0 +1,113 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+// 导入LocalDateTime类，用于处理日期时间
+import java.time.LocalDateTime;
+
+/**
+ * 批处理任务检查点实体类
+ * 功能概述：对应数据库中的task_checkpoint表，记录分批执行的后台任务本轮的批次标识、已处理到的位置和累计处理数，
+ * 任务中断（应用重启、异常）后从记录的位置继续，而不是从头开始；
+ * 多实例部署时写入带上调度租约的围栏令牌，租约已被他人取得的旧持有者不能覆盖新持有者的进度
+ */
+// 批处理任务检查点实体类
+public class TaskCheckpoint {
+    // 任务名称，对应task_name字段，主键
+    private String taskName;
+    // 本轮批次标识，对应run_key字段（如逾期账单扫描的截止日期），批次变化时从头开始
+    private String runKey;
+    // 已处理到的位置，对应cursor_value字段，格式由任务自行定义，为空表示尚未开始
+    private String cursorValue;
+    // 本轮累计处理数，对应processed字段
+    private Long processed;
+    // 本轮是否已完成，对应finished字段
+    private Boolean finished;
+    // 写入者的围栏令牌，对应fencing_token字段，令牌更小的写入者不能覆盖
+    private Long fencingToken;
+    // 更新时间，对应update_time字段
+    private LocalDateTime updateTime;
+
+    // 获取任务名称
+    public String getTaskName() {
+        // 返回taskName字段的值
+        return taskName;
+    }
+
+    // 设置任务名称
+    public void setTaskName(String taskName) {
+        // 将参数值赋给taskName字段
+        this.taskName = taskName;
+    }
+
+    // 获取本轮批次标识
+    public String getRunKey() {
+        // 返回runKey字段的值
+        return runKey;
+    }
+
+    // 设置本轮批次标识
+    public void setRunKey(String runKey) {
+        // 将参数值赋给runKey字段
+        this.runKey = runKey;
+    }
+
+    // 获取已处理到的位置
+    public String getCursorValue() {
+        // 返回cursorValue字段的值
+        return cursorValue;
+    }
+
+    // 设置已处理到的位置
+    public void setCursorValue(String cursorValue) {
+        // 将参数值赋给cursorValue字段
+        this.cursorValue = cursorValue;
+    }
+
+    // 获取本轮累计处理数
+    public Long getProcessed() {
+        // 返回processed字段的值
+        return processed;
+    }
+
+    // 设置本轮累计处理数
+    public void setProcessed(Long processed) {
+        // 将参数值赋给processed字段
+        this.processed = processed;
+    }
+
+    // 获取本轮是否已完成
+    public Boolean getFinished() {
+        // 返回finished字段的值
+        return finished;
+    }
+
+    // 设置本轮是否已完成
+    public void setFinished(Boolean finished) {
+        // 将参数值赋给finished字段
+        this.finished = finished;
+    }
+
+    // 获取写入者的围栏令牌
+    public Long getFencingToken() {
+        // 返回fencingToken字段的值
+        return fencingToken;
+    }
+
+    // 设置写入者的围栏令牌
+    public void setFencingToken(Long fencingToken) {
+        // 将参数值赋给fencingToken字段
+        this.fencingToken = fencingToken;
+    }
+
+    // 获取更新时间
+    public LocalDateTime getUpdateTime() {
+        // 返回updateTime字段的值
+        return updateTime;
+    }
+
+    // 设置更新时间
+    public void setUpdateTime(LocalDateTime updateTime) {
+        // 将参数值赋给updateTime字段
+        this.updateTime = updateTime;
+    }
+}
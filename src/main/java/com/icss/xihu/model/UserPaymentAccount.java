@@ -0,0 +1,95 @@
+// 定义包路径，标识该类属于com.icss.xihu.model包
+package com.icss.xihu.model;
+
+/**
+ * 用户缴费账户实体类
+ * 功能概述：对应数据库中的user_payment_accounts表，一个账户属于一个用户和一种缴费类型，
+ * 账期账单生成时逐个账户读取并生成本期账单
+ */
+// 用户缴费账户实体类
+public class UserPaymentAccount {
+    // 账户编号，对应id字段，主键
+    private Integer id;
+    // 用户编号，对应user_id字段
+    private Integer userId;
+    // 账户名称，对应account_name字段
+    private String accountName;
+    // 账户号码，对应account_number字段
+    private String accountNumber;
+    // 缴费类型编号，对应payment_type_id字段
+    private Integer paymentTypeId;
+    // 账户状态，对应status字段（1-有效）
+    private Integer status;
+
+    // 获取账户编号
+    public Integer getId() {
+        // 返回id字段的值
+        return id;
+    }
+
+    // 设置账户编号
+    public void setId(Integer id) {
+        // 将参数值赋给id字段
+        this.id = id;
+    }
+
+    // 获取用户编号
+    public Integer getUserId() {
+        // 返回userId字段的值
+        return userId;
+    }
+
+    // 设置用户编号
+    public void setUserId(Integer userId) {
+        // 将参数值赋给userId字段
+        this.userId = userId;
+    }
+
+    // 获取账户名称
+    public String getAccountName() {
+        // 返回accountName字段的值
+        return accountName;
+    }
+
+    // 设置账户名称
+    public void setAccountName(String accountName) {
+        // 将参数值赋给accountName字段
+        this.accountName = accountName;
+    }
+
+    // 获取账户号码
+    public String getAccountNumber() {
+        // 返回accountNumber字段的值
+        return accountNumber;
+    }
+
+    // 设置账户号码
+    public void setAccountNumber(String accountNumber) {
+        // 将参数值赋给accountNumber字段
+        this.accountNumber = accountNumber;
+    }
+
+    // 获取缴费类型编号
+    public Integer getPaymentTypeId() {
+        // 返回paymentTypeId字段的值
+        return paymentTypeId;
+    }
+
+    // 设置缴费类型编号
+    public void setPaymentTypeId(Integer paymentTypeId) {
+        // 将参数值赋给paymentTypeId字段
+        this.paymentTypeId = paymentTypeId;
+    }
+
+    // 获取账户状态
+    public Integer getStatus() {
+        // 返回status字段的值
+        return status;
+    }
+
+    // 设置账户状态
+    public void setStatus(Integer status) {
+        // 将参数值赋给status字段
+        this.status = status;
+    }
+}
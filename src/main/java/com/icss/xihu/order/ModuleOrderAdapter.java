@@ -0,0 +1,54 @@
+// 定义包路径，标识该接口属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
+
+// 导入LocalDateTime类，用于表示支付时间
+import java.time.LocalDateTime;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 模块订单适配器接口
+ * 功能概述：统一订单引擎通过该接口把支付、取消同步到各业务模块的订单，每个订单类型一个实现；
+ * 方法接收同一类型的一批模块订单ID，实现用一条语句完成更新或查询，状态同步在调用方的事务中执行
+ */
+// 模块订单适配器接口，定义订单类型和批量状态同步的方法
+public interface ModuleOrderAdapter {
+
+    /**
+     * 获取适配的订单类型
+     * @return {String} 返回统一订单的订单类型（如HOTEL、SHOPPING、TRAVEL、PAYMENT、FOOD）
+     */
+    // 获取适配的订单类型方法
+    String getOrderType();
+
+    /**
+     * 把一批模块订单标记为已支付
+     * 功能概述：只更新仍为待支付的模块订单，已取消或已支付的不变；支付同步消息至少投递一次，
+     * 重复或晚到的消息更新0行，调用方按成功处理
+     * @param {List<Integer>} moduleOrderIds - 模块订单ID，非空且不含null
+     * @param {LocalDateTime} paymentTime - 支付时间
+     * @return {int} 返回更新的模块订单数，没有待支付的模块订单时为0
+     */
+    // 把一批模块订单标记为已支付方法
+    int markPaid(List<Integer> moduleOrderIds, LocalDateTime paymentTime);
+
+    /**
+     * 把一批模块订单标记为已取消
+     * @param {List<Integer>} moduleOrderIds - 模块订单ID，非空且不含null
+     * @return {int} 返回更新的模块订单数，不支持取消的模块返回0
+     */
+    // 把一批模块订单标记为已取消方法
+    int markCancelled(List<Integer> moduleOrderIds);
+
+    /**
+     * 查询一批模块订单的摘要
+     * 功能概述：订单历史投影组装读模型时调用，返回明细文本和缩略图
+     * @param {List<Integer>} moduleOrderIds - 模块订单ID，非空且不含null
+     * @return {List<ModuleOrderSummary>} 返回模块订单摘要，不存在的模块订单不返回
+     */
+    // 查询一批模块订单的摘要方法
+    List<ModuleOrderSummary> summarize(List<Integer> moduleOrderIds);
+}
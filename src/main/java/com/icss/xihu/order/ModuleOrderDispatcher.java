@@ -0,0 +1,208 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入Bean初始化回调注解
+import jakarta.annotation.PostConstruct;
+
+// 导入LocalDateTime类，用于表示支付时间
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Collection集合接口
+import java.util.Collection;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入TreeMap类，按订单类型排序
+import java.util.TreeMap;
+// 导入TreeSet类，模块订单ID去重并排序
+import java.util.TreeSet;
+
+/**
+ * 模块订单分发器
+ * 功能概述：统一订单状态变化后，把一批统一订单按订单类型分组，每个类型调用一次对应的ModuleOrderAdapter，
+ * 不再逐个订单按类型分支更新；类型按名称排序、模块订单ID升序，并发的批量操作以相同顺序加锁。
+ * 取消在取消事务中同步，某个类型失败时异常抛给调用方，整个取消事务回滚；支付由发件箱在支付提交后异步同步，失败的类型返回给发件箱处理器重试；
+ * 订单历史投影也通过本类按类型批量查询模块订单摘要
+ */
+// 标识该类为Spring组件
+@Component
+// 模块订单分发器类
+public class ModuleOrderDispatcher {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(ModuleOrderDispatcher.class);
+
+    // 自动注入所有模块订单适配器
+    @Autowired
+    // 模块订单适配器列表
+    private List<ModuleOrderAdapter> adapterList;
+
+    // 订单类型到适配器的映射
+    private final Map<String, ModuleOrderAdapter> adapters = new HashMap<>();
+
+    /**
+     * 按订单类型登记适配器
+     * 功能概述：同一订单类型有多个适配器时启动失败
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 登记适配器方法
+    public void init() {
+        // 遍历适配器
+        for (ModuleOrderAdapter adapter : adapterList) {
+            // 按订单类型登记，重复时启动失败
+            ModuleOrderAdapter previous = adapters.put(adapter.getOrderType(), adapter);
+            if (previous != null) {
+                throw new IllegalStateException("订单类型" + adapter.getOrderType() + "有多个模块订单适配器: "
+                        + previous.getClass().getSimpleName() + ", " + adapter.getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * 把一批统一订单的模块订单同步为已支付
+     * 功能概述：按订单类型分组，每个类型一条语句；在调用方的事务中执行，某个类型失败时不影响其他类型，由调用方决定是否回滚重试。
+     * 适配器只更新仍待支付的模块订单，更新0行（已同步过或模块订单已取消）按成功处理
+     * @param {Collection<UnifiedOrderNew>} orders - 已支付的统一订单（需要包含orderType和moduleOrderId）
+     * @param {LocalDateTime} paymentTime - 支付时间
+     * @return {List<String>} 返回同步失败的订单类型，全部成功时返回空列表
+     */
+    // 同步已支付方法
+    public List<String> propagatePaid(Collection<UnifiedOrderNew> orders, LocalDateTime paymentTime) {
+        // 同步失败的订单类型
+        List<String> failedTypes = new ArrayList<>();
+        // 按订单类型分组后逐类型同步
+        for (Map.Entry<String, List<Integer>> entry : groupByType(orders).entrySet()) {
+            // 查找适配器
+            ModuleOrderAdapter adapter = adapters.get(entry.getKey());
+            // 未知订单类型不处理
+            if (adapter == null) {
+                logger.warn("没有订单类型{}的模块订单适配器，跳过{}个模块订单", entry.getKey(), entry.getValue().size());
+                continue;
+            }
+            // 使用try-catch捕获异常
+            try {
+                // 一条语句更新该类型的模块订单
+                adapter.markPaid(entry.getValue(), paymentTime);
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 统一订单已经更新成功，这里不抛出异常，记录失败的类型
+                logger.error("同步模块订单支付状态失败: orderType={}, moduleOrderIds={}", entry.getKey(), entry.getValue(), e);
+                failedTypes.add(entry.getKey());
+            }
+        }
+        // 返回同步失败的订单类型
+        return failedTypes;
+    }
+
+    /**
+     * 把一批统一订单的模块订单同步为已取消
+     * 功能概述：按订单类型分组，每个类型一条语句；在调用方的事务中执行，某个类型失败时直接抛出异常，
+     * 不在事务内吞掉异常：MySQL死锁等错误发生时InnoDB已回滚整个事务，继续执行后续语句会让统一订单和模块订单不一致，
+     * 由调用方的事务回滚整个取消（用户重试，过期取消在下一次推进时重试）
+     * @param {Collection<UnifiedOrderNew>} orders - 已取消的统一订单（需要包含orderType和moduleOrderId）
+     */
+    // 同步已取消方法
+    public void propagateCancelled(Collection<UnifiedOrderNew> orders) {
+        // 按订单类型分组后逐类型同步
+        for (Map.Entry<String, List<Integer>> entry : groupByType(orders).entrySet()) {
+            // 查找适配器
+            ModuleOrderAdapter adapter = adapters.get(entry.getKey());
+            // 未知订单类型不处理
+            if (adapter == null) {
+                logger.warn("没有订单类型{}的模块订单适配器，跳过{}个模块订单", entry.getKey(), entry.getValue().size());
+                continue;
+            }
+            // 一条语句更新该类型的模块订单，失败时异常抛给调用方回滚事务
+            adapter.markCancelled(entry.getValue());
+        }
+    }
+
+    /**
+     * 查询一批统一订单的模块订单摘要
+     * 功能概述：按订单类型分组，每个类型一条查询；某个类型查询失败只记录日志，这些订单没有摘要
+     * @param {Collection<UnifiedOrderNew>} orders - 统一订单（需要包含orderNo、orderType和moduleOrderId）
+     * @return {Map<String, ModuleOrderSummary>} 返回统一订单号到模块订单摘要的映射，没有摘要的订单不包含在内
+     */
+    // 查询模块订单摘要方法
+    public Map<String, ModuleOrderSummary> summarize(Collection<UnifiedOrderNew> orders) {
+        // 按订单类型和模块订单ID索引的摘要
+        Map<String, Map<Integer, ModuleOrderSummary>> byType = new HashMap<>();
+        // 按订单类型分组后逐类型查询
+        for (Map.Entry<String, List<Integer>> entry : groupByType(orders).entrySet()) {
+            // 查找适配器
+            ModuleOrderAdapter adapter = adapters.get(entry.getKey());
+            // 未知订单类型不查询
+            if (adapter == null) {
+                continue;
+            }
+            // 使用try-catch捕获异常
+            try {
+                // 一条语句查询该类型的模块订单摘要
+                Map<Integer, ModuleOrderSummary> summaries = new HashMap<>();
+                for (ModuleOrderSummary summary : adapter.summarize(entry.getValue())) {
+                    summaries.put(summary.getModuleOrderId(), summary);
+                }
+                byType.put(entry.getKey(), summaries);
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 摘要只用于展示，查询失败时这些订单没有摘要
+                logger.error("查询模块订单摘要失败: orderType={}, moduleOrderIds={}", entry.getKey(), entry.getValue(), e);
+            }
+        }
+        // 按统一订单号组装
+        Map<String, ModuleOrderSummary> result = new HashMap<>();
+        for (UnifiedOrderNew order : orders) {
+            Map<Integer, ModuleOrderSummary> summaries = byType.get(order.getOrderType());
+            ModuleOrderSummary summary = summaries == null ? null : summaries.get(order.getModuleOrderId());
+            if (summary != null) {
+                result.put(order.getOrderNo(), summary);
+            }
+        }
+        // 返回摘要
+        return result;
+    }
+
+    /**
+     * 按订单类型分组模块订单ID
+     * 功能概述：没有模块订单ID的统一订单（如直接创建的统一订单）不参与同步
+     * @param {Collection<UnifiedOrderNew>} orders - 统一订单
+     * @return {Map<String, List<Integer>>} 返回按类型名称排序的分组，组内ID去重升序
+     */
+    // 按订单类型分组方法
+    private Map<String, List<Integer>> groupByType(Collection<UnifiedOrderNew> orders) {
+        // 按类型名称排序的分组
+        Map<String, TreeSet<Integer>> groups = new TreeMap<>();
+        // 遍历统一订单
+        for (UnifiedOrderNew order : orders) {
+            // 跳过没有模块订单或类型的订单
+            if (order.getModuleOrderId() == null || order.getOrderType() == null) {
+                continue;
+            }
+            // 加入所属类型的分组
+            groups.computeIfAbsent(order.getOrderType(), k -> new TreeSet<>()).add(order.getModuleOrderId());
+        }
+        // 转换为列表
+        Map<String, List<Integer>> result = new TreeMap<>();
+        groups.forEach((type, ids) -> result.put(type, new ArrayList<>(ids)));
+        // 返回分组
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入统一订单新Mapper接口
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+// 导入发件箱消息实体类
+import com.icss.xihu.model.OutboxMessage;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+// 导入Spring的事务注解
+import org.springframework.transaction.annotation.Transactional;
+
+// 导入LocalDateTime类，用于表示支付时间
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashMap类，保持分组顺序
+import java.util.LinkedHashMap;
+// 导入LinkedHashSet类，订单号去重
+import java.util.LinkedHashSet;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 模块订单支付同步处理器
+ * 功能概述：处理MODULE_PAID消息，在支付提交后把统一订单对应的模块订单同步为已支付，不再占用支付事务的时间；
+ * 一条IN查询读取这批统一订单，按支付时间分组后交给模块订单分发器，每个订单类型一条语句。
+ * 各适配器只把未支付的模块订单更新为已支付，重复处理没有副作用；整批在一个事务中执行，任何类型失败时整批回滚并重试
+ */
+// 标识该类为Spring组件
+@Component
+// 模块订单支付同步处理器类，实现OutboxHandler接口
+public class ModulePaidOutboxHandler implements OutboxHandler {
+
+    // 自动注入统一订单新Mapper
+    @Autowired
+    // 统一订单新Mapper对象，用于读取这批统一订单
+    private UnifiedOrderNewMapper unifiedOrderNewMapper;
+
+    // 自动注入模块订单分发器
+    @Autowired
+    // 模块订单分发器对象，按订单类型批量同步模块订单
+    private ModuleOrderDispatcher moduleOrderDispatcher;
+
+    // 每批领取的消息数，每批一次IN查询和每个订单类型一条语句，默认100
+    @Value("${outbox.batch-size:100}")
+    // 每批消息数字段
+    private int batchSize;
+
+    // 重写接口中的getMessageType方法
+    @Override
+    // 获取处理的消息类型方法
+    public String getMessageType() {
+        // 返回模块订单支付同步消息类型
+        return OutboxMessage.TYPE_MODULE_PAID;
+    }
+
+    // 重写接口中的getBatchSize方法
+    @Override
+    // 获取每批领取的消息数方法
+    public int getBatchSize() {
+        // 返回每批消息数
+        return batchSize;
+    }
+
+    /**
+     * 处理一批模块订单支付同步消息
+     * 功能概述：不存在或不是已支付状态的统一订单没有需要同步的模块订单，直接视为完成
+     * @param {List<OutboxMessage>} messages - 消息
+     * @return {Map<Long, String>} 返回空Map，失败时抛出异常
+     */
+    // 重写接口中的handle方法
+    @Override
+    // 开启事务，整批同步的原子性
+    @Transactional
+    // 处理一批消息方法
+    public Map<Long, String> handle(List<OutboxMessage> messages) {
+        // 去重后的订单号
+        LinkedHashSet<String> orderNos = new LinkedHashSet<>();
+        for (OutboxMessage message : messages) {
+            orderNos.add(message.getOrderNo());
+        }
+        // 已支付的统一订单按支付时间分组，各模块订单记录的支付时间与统一订单一致
+        Map<LocalDateTime, List<UnifiedOrderNew>> byPaymentTime = new LinkedHashMap<>();
+        for (UnifiedOrderNew order : unifiedOrderNewMapper.findByOrderNos(new ArrayList<>(orderNos))) {
+            if (order.getPaymentStatus() != null && order.getPaymentStatus() == UnifiedOrderNew.STATUS_PAID) {
+                byPaymentTime.computeIfAbsent(order.getPaymentTime(), k -> new ArrayList<>()).add(order);
+            }
+        }
+        // 逐组同步
+        List<String> failedTypes = new ArrayList<>();
+        byPaymentTime.forEach((paymentTime, orders) ->
+                failedTypes.addAll(moduleOrderDispatcher.propagatePaid(orders, paymentTime)));
+        // 有类型失败时整批回滚
+        if (!failedTypes.isEmpty()) {
+            throw new IllegalStateException("同步模块订单支付状态失败: " + failedTypes);
+        }
+        // 全部成功
+        return new HashMap<>();
+    }
+}
@@ -0,0 +1,129 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入订单事件Mapper接口
+import com.icss.xihu.mapper.OrderEventMapper;
+// 导入订单事件实体类
+import com.icss.xihu.model.OrderEvent;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 订单事件日志
+ * 功能概述：统一订单引擎在订单创建、支付、取消、删除和修改的事务中通过本类追加order_event，事件与订单状态一起提交或回滚；
+ * 追加事件是事务中最后一条语句，事件编号分配之后立即提交，投影遇到的编号缺口（未提交的事务）尽量短；
+ * 订单历史投影按事件编号读取事件并更新订单历史读模型。本类不依赖统一订单引擎，避免相互依赖；
+ * 事件表由db/schema-order-history.sql创建，表不存在时不追加事件，订单历史退回到直接查询统一订单
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// 订单事件日志类
+public class OrderEventJournal {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventJournal.class);
+
+    // 自动注入订单事件Mapper
+    @Autowired
+    // 订单事件Mapper对象
+    private OrderEventMapper orderEventMapper;
+
+    // 事件表是否可用
+    private volatile boolean available = false;
+
+    /**
+     * 检查事件表
+     * 功能概述：在启动时检查表是否存在，表由db/schema-order-history.sql创建，应用运行时不修改表结构；
+     * 表不存在或检查失败时记录警告，此后不再追加事件
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 检查事件表方法
+    public void init() {
+        // 使用try-catch捕获异常
+        try {
+            // 表存在时标记可用
+            if (orderEventMapper.countTable() > 0) {
+                // 标记可用
+                available = true;
+            } else {
+                // 记录警告日志
+                logger.warn("缺少 order_event 表，订单历史将直接查询统一订单，请先执行 db/schema-order-history.sql");
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查订单事件表失败，订单历史将直接查询统一订单：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 为一批订单追加事件
+     * 功能概述：在状态变化的事务中作为最后一条语句调用，用户和状态从本事务刚写入的订单行读取，一条语句写入整批事件；
+     * 订单已删除时读不到订单行，删除事件使用appendDeleted
+     * @param {List<String>} orderNos - 统一订单号
+     * @param {String} eventType - 事件类型（OrderEvent.TYPE_*）
+     */
+    // 追加事件方法
+    public void append(List<String> orderNos, String eventType) {
+        // 事件表不可用或没有订单时不追加
+        if (!available || orderNos == null || orderNos.isEmpty()) {
+            // 返回
+            return;
+        }
+        // 一条语句追加
+        orderEventMapper.appendForOrders(orderNos, eventType);
+    }
+
+    /**
+     * 为一批已删除的订单追加删除事件
+     * 功能概述：在删除订单的事务中作为最后一条语句调用，用户和删除前的状态取自事务开始时锁定的订单，一条语句写入整批事件
+     * @param {List<UnifiedOrderNew>} orders - 已删除的统一订单
+     */
+    // 追加删除事件方法
+    public void appendDeleted(List<UnifiedOrderNew> orders) {
+        // 事件表不可用或没有订单时不追加
+        if (!available || orders == null || orders.isEmpty()) {
+            // 返回
+            return;
+        }
+        // 按锁定时的订单组装事件
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        for (UnifiedOrderNew order : orders) {
+            OrderEvent event = new OrderEvent();
+            event.setOrderNo(order.getOrderNo());
+            event.setUserId(order.getUserId());
+            event.setEventType(OrderEvent.TYPE_DELETED);
+            event.setPaymentStatus(order.getPaymentStatus());
+            events.add(event);
+        }
+        // 一条语句追加
+        orderEventMapper.appendEvents(events);
+    }
+
+    /**
+     * 事件表是否可用
+     * @return {boolean} 返回事件表是否已创建
+     */
+    // 判断事件表是否可用方法
+    public boolean isAvailable() {
+        // 返回可用标记
+        return available;
+    }
+}
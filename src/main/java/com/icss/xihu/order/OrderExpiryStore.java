@@ -0,0 +1,185 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入订单过期登记Mapper接口
+import com.icss.xihu.mapper.OrderExpiryMapper;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Collection集合接口
+import java.util.Collection;
+// 导入List集合接口
+import java.util.List;
+// 导入并发队列
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 订单过期登记存储
+ * 功能概述：统一订单引擎在订单创建、支付、取消的事务中通过本类维护order_expiry表，表中只保留待支付的订单及其过期时间；
+ * 新登记的订单同时放入内存队列，由订单过期服务取出后登记到时间轮，不需要等待下一次装载。
+ * 本类不依赖统一订单引擎，引擎和订单过期服务都依赖本类，避免相互依赖；
+ * 过期登记表由db/schema-order-expiry.sql创建，表不存在时不登记，待支付订单不会自动过期
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// 订单过期登记存储类
+public class OrderExpiryStore {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpiryStore.class);
+
+    // 自动注入订单过期登记Mapper
+    @Autowired
+    // 订单过期登记Mapper对象
+    private OrderExpiryMapper orderExpiryMapper;
+
+    // 待支付订单的有效期（分钟），默认30分钟
+    @Value("${order-expiry.ttl-minutes:30}")
+    // 有效期字段
+    private int ttlMinutes;
+
+    // 过期登记表是否可用
+    private volatile boolean available = false;
+    // 新登记的订单，等待订单过期服务登记到时间轮
+    private final ConcurrentLinkedQueue<Scheduled> scheduled = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 检查过期登记表
+     * 功能概述：在启动时检查表是否存在，表由db/schema-order-expiry.sql创建，应用运行时不修改表结构；
+     * 表不存在或检查失败时记录警告，此后不再登记
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 检查过期登记表方法
+    public void init() {
+        // 使用try-catch捕获异常
+        try {
+            // 表存在时标记可用
+            if (orderExpiryMapper.countTable() > 0) {
+                // 标记可用
+                available = true;
+            } else {
+                // 记录警告日志
+                logger.warn("缺少 order_expiry 表，待支付订单不会自动过期，请先执行 db/schema-order-expiry.sql");
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查订单过期登记表失败，待支付订单不会自动过期：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 登记新建订单的过期时间
+     * 功能概述：在创建订单的事务中写入过期登记，并放入内存队列；事务回滚时队列中的订单在过期处理时找不到登记，直接跳过
+     * @param {String} orderNo - 统一订单号
+     */
+    // 登记过期时间方法
+    public void schedule(String orderNo) {
+        // 过期登记表不可用时不登记
+        if (!isAvailable()) {
+            // 返回
+            return;
+        }
+        // 写入过期登记
+        orderExpiryMapper.upsert(orderNo, ttlMinutes);
+        // 放入内存队列，过期时刻按本机时钟估算，以表中的过期时间为准
+        scheduled.add(new Scheduled(orderNo, System.currentTimeMillis() + ttlMinutes * 60_000L));
+    }
+
+    /**
+     * 延长订单的过期时间
+     * 功能概述：待支付订单仍在使用（如购物车继续加购）时调用；时间轮中原有的登记到期时发现尚未过期会跳过，
+     * 由下一次装载按新的过期时间重新登记
+     * @param {String} orderNo - 统一订单号
+     */
+    // 延长过期时间方法
+    public void touch(String orderNo) {
+        // 过期登记表不可用时不处理
+        if (!isAvailable()) {
+            // 返回
+            return;
+        }
+        // 更新过期时间，未登记的订单不做任何操作
+        orderExpiryMapper.extend(orderNo, ttlMinutes);
+    }
+
+    /**
+     * 删除订单的过期登记
+     * 功能概述：订单支付、取消或过期处理后在同一事务中调用，表中不再保留已离开待支付状态的订单
+     * @param {Collection<String>} orderNos - 统一订单号
+     */
+    // 删除过期登记方法
+    public void remove(Collection<String> orderNos) {
+        // 过期登记表不可用或没有订单时不处理
+        if (!isAvailable() || orderNos == null || orderNos.isEmpty()) {
+            // 返回
+            return;
+        }
+        // 一条语句删除
+        orderExpiryMapper.deleteByOrderNos(new ArrayList<>(orderNos));
+    }
+
+    /**
+     * 锁定一批订单中已到过期时间的登记
+     * 功能概述：在已锁定统一订单的事务中调用，按数据库当前时间判断；过期登记表不可用时返回空列表
+     * @param {List<String>} orderNos - 统一订单号
+     * @return {List<String>} 返回过期时间不晚于数据库当前时间的订单号
+     */
+    // 锁定已过期登记方法
+    public List<String> lockExpired(List<String> orderNos) {
+        // 过期登记表不可用或没有订单时返回空列表
+        if (!isAvailable() || orderNos.isEmpty()) {
+            // 返回空列表
+            return new ArrayList<>();
+        }
+        // 锁定并返回已到过期时间的订单号
+        return orderExpiryMapper.lockExpiredOrderNos(orderNos);
+    }
+
+    /**
+     * 取出新登记的订单
+     * @return {List<Scheduled>} 返回自上次取出以来新登记的订单和估算的过期时刻
+     */
+    // 取出新登记订单方法
+    public List<Scheduled> drainScheduled() {
+        // 取出的订单
+        List<Scheduled> drained = new ArrayList<>();
+        // 逐个取出
+        for (Scheduled item = scheduled.poll(); item != null; item = scheduled.poll()) {
+            // 加入结果
+            drained.add(item);
+        }
+        // 返回结果
+        return drained;
+    }
+
+    // 过期登记表是否可用
+    public boolean isAvailable() {
+        // 返回available字段的值
+        return available;
+    }
+
+    // 获取有效期（分钟）
+    public int getTtlMinutes() {
+        // 返回ttlMinutes字段的值
+        return ttlMinutes;
+    }
+
+    // 新登记的订单和按本机时钟估算的过期时刻（毫秒时间戳）
+    public record Scheduled(String orderNo, long expireAtMs) {
+    }
+}
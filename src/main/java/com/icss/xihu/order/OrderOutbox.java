@@ -0,0 +1,140 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入发件箱Mapper接口
+import com.icss.xihu.mapper.OutboxMapper;
+// 导入发件箱消息实体类
+import com.icss.xihu.model.OutboxMessage;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+// 导入事务同步回调接口
+import org.springframework.transaction.support.TransactionSynchronization;
+// 导入事务同步管理器
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入List集合接口
+import java.util.List;
+// 导入原子布尔类
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 统一订单发件箱
+ * 功能概述：统一订单引擎在支付事务中通过本类把后续操作（同步模块订单、发送支付通知）写入order_outbox，消息与支付一起提交或回滚；
+ * 事务提交后设置唤醒标记，发件箱分发器在下一次检查时立即领取，不需要等到定期扫描。
+ * 本类不依赖统一订单引擎和分发器，避免相互依赖；发件箱表由db/schema-order-outbox.sql创建，表不存在时不写入，调用方在事务中直接执行后续操作
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// 统一订单发件箱类
+public class OrderOutbox {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutbox.class);
+
+    // 自动注入发件箱Mapper
+    @Autowired
+    // 发件箱Mapper对象
+    private OutboxMapper outboxMapper;
+
+    // 发件箱表是否可用
+    private volatile boolean available = false;
+    // 唤醒标记：有新消息提交后设置，分发器取走后清除
+    private final AtomicBoolean signal = new AtomicBoolean(false);
+
+    /**
+     * 检查发件箱表
+     * 功能概述：在启动时检查表是否存在，表及其索引由db/schema-order-outbox.sql创建，应用运行时不修改表结构；
+     * 表不存在或检查失败时记录警告，此后不再写入
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 检查发件箱表方法
+    public void init() {
+        // 使用try-catch捕获异常
+        try {
+            // 表存在时标记可用
+            if (outboxMapper.countTable() > 0) {
+                // 标记可用
+                available = true;
+            } else {
+                // 记录警告日志
+                logger.warn("缺少 order_outbox 表，支付后续操作将在支付事务中同步执行，请先执行 db/schema-order-outbox.sql");
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查统一订单发件箱表失败，支付后续操作将在支付事务中同步执行：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 为一个订单写入后续操作消息
+     * 功能概述：在支付事务中调用，一条语句写入全部消息；事务提交后唤醒分发器，没有事务时立即唤醒
+     * @param {String} orderNo - 统一订单号
+     * @param {String...} messageTypes - 消息类型（OutboxMessage.TYPE_*）
+     * @return {boolean} 返回是否已写入，发件箱表不可用时返回false，由调用方直接执行后续操作
+     */
+    // 写入后续操作消息方法
+    public boolean enqueue(String orderNo, String... messageTypes) {
+        // 发件箱表不可用时不写入
+        if (!available) {
+            // 返回false
+            return false;
+        }
+        // 组装消息
+        List<OutboxMessage> messages = new ArrayList<>(messageTypes.length);
+        for (String messageType : messageTypes) {
+            messages.add(new OutboxMessage(messageType, orderNo));
+        }
+        // 一条语句写入，重复的消息忽略
+        outboxMapper.insertBatch(messages);
+        // 在事务中时等提交后再唤醒，回滚时不唤醒
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 注册提交后回调
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // 事务提交后调用
+                @Override
+                public void afterCommit() {
+                    // 设置唤醒标记
+                    signal.set(true);
+                }
+            });
+        } else {
+            // 没有事务时立即唤醒
+            signal.set(true);
+        }
+        // 返回已写入
+        return true;
+    }
+
+    /**
+     * 取走唤醒标记
+     * @return {boolean} 返回上一次取走之后是否有新消息提交
+     */
+    // 取走唤醒标记方法
+    public boolean takeSignal() {
+        // 读取并清除标记
+        return signal.getAndSet(false);
+    }
+
+    /**
+     * 发件箱表是否可用
+     * @return {boolean} 返回发件箱表是否已创建
+     */
+    // 判断发件箱表是否可用方法
+    public boolean isAvailable() {
+        // 返回可用标记
+        return available;
+    }
+}
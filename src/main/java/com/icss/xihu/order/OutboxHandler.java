@@ -0,0 +1,44 @@
+// 定义包路径，标识该接口属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入发件箱消息实体类
+import com.icss.xihu.model.OutboxMessage;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 发件箱消息处理器接口
+ * 功能概述：发件箱分发器把领取到的消息按类型分组，每个类型调用一次对应的处理器；每个消息类型一个实现。
+ * 消息至少投递一次（处理成功但标记完成之前宕机、租约过期后被其他实例重新领取时会再次处理），实现必须幂等
+ */
+// 发件箱消息处理器接口，定义消息类型和批量处理的方法
+public interface OutboxHandler {
+
+    /**
+     * 获取处理的消息类型
+     * @return {String} 返回消息类型（OutboxMessage.TYPE_*）
+     */
+    // 获取处理的消息类型方法
+    String getMessageType();
+
+    /**
+     * 获取每批领取的消息数
+     * 功能概述：按处理一条消息的耗时确定，慢的处理器（如逐条发送短信）使用小批次，整批处理时间远小于领取租约
+     * @return {int} 返回每批最多领取的消息数
+     */
+    // 获取每批领取的消息数方法
+    int getBatchSize();
+
+    /**
+     * 处理一批同类型的消息
+     * 功能概述：逐条失败的消息通过返回值报告，其余消息视为处理成功；抛出异常表示整批失败，
+     * 分发器随后逐条重新处理这批消息，找出具体失败的消息
+     * @param {List<OutboxMessage>} messages - 消息，非空
+     * @return {Map<Long, String>} 返回处理失败的消息编号及失败原因，全部成功时返回空Map
+     */
+    // 处理一批消息方法
+    Map<Long, String> handle(List<OutboxMessage> messages);
+}
@@ -0,0 +1,150 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入统一订单新Mapper接口
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+// 导入用户Mapper接口
+import com.icss.xihu.mapper.UserMapper;
+// 导入发件箱消息实体类
+import com.icss.xihu.model.OutboxMessage;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入用户实体类
+import com.icss.xihu.model.User;
+// 导入短信服务接口
+import com.icss.xihu.service.SmsService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashSet类，订单号去重
+import java.util.LinkedHashSet;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 支付通知处理器
+ * 功能概述：处理PAYMENT_NOTICE消息，在支付提交后给下单用户发送支付成功通知短信，短信通道的延迟和故障不再影响支付；
+ * 逐条发送，发送失败的消息报告给分发器按退避时间重试，已发送的消息不会因为同批其他消息失败而重复发送。
+ * 每个订单只写入一条通知消息（幂等键），只有处理成功后标记完成之前宕机时才可能重复发送一次
+ */
+// 标识该类为Spring组件
+@Component
+// 支付通知处理器类，实现OutboxHandler接口
+public class PaymentNoticeOutboxHandler implements OutboxHandler {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(PaymentNoticeOutboxHandler.class);
+
+    // 自动注入统一订单新Mapper
+    @Autowired
+    // 统一订单新Mapper对象，用于读取这批统一订单
+    private UnifiedOrderNewMapper unifiedOrderNewMapper;
+
+    // 自动注入用户Mapper
+    @Autowired
+    // 用户Mapper对象，用于读取用户手机号
+    private UserMapper userMapper;
+
+    // 自动注入短信服务
+    @Autowired
+    // 短信服务对象，用于发送通知短信
+    private SmsService smsService;
+
+    // 每批领取的消息数，逐条发送短信，每条可能耗时数百毫秒，默认10
+    @Value("${outbox.notice-batch-size:10}")
+    // 每批消息数字段
+    private int batchSize;
+
+    // 重写接口中的getMessageType方法
+    @Override
+    // 获取处理的消息类型方法
+    public String getMessageType() {
+        // 返回支付通知消息类型
+        return OutboxMessage.TYPE_PAYMENT_NOTICE;
+    }
+
+    // 重写接口中的getBatchSize方法
+    @Override
+    // 获取每批领取的消息数方法
+    public int getBatchSize() {
+        // 返回每批消息数
+        return batchSize;
+    }
+
+    /**
+     * 处理一批支付通知消息
+     * 功能概述：订单不存在、不是已支付状态或用户没有手机号时不发送，直接视为完成
+     * @param {List<OutboxMessage>} messages - 消息
+     * @return {Map<Long, String>} 返回发送失败的消息编号及失败原因
+     */
+    // 重写接口中的handle方法
+    @Override
+    // 处理一批消息方法
+    public Map<Long, String> handle(List<OutboxMessage> messages) {
+        // 去重后的订单号
+        LinkedHashSet<String> orderNos = new LinkedHashSet<>();
+        for (OutboxMessage message : messages) {
+            orderNos.add(message.getOrderNo());
+        }
+        // 一条IN查询读取这批统一订单，按订单号索引
+        Map<String, UnifiedOrderNew> orders = new HashMap<>();
+        for (UnifiedOrderNew order : unifiedOrderNewMapper.findByOrderNos(new ArrayList<>(orderNos))) {
+            orders.put(order.getOrderNo(), order);
+        }
+        // 用户编号到用户的缓存，同一用户只查询一次
+        Map<Integer, User> users = new HashMap<>();
+        // 发送失败的消息
+        Map<Long, String> failures = new HashMap<>();
+        // 逐条发送
+        for (OutboxMessage message : messages) {
+            // 统一订单
+            UnifiedOrderNew order = orders.get(message.getOrderNo());
+            // 订单不存在或未支付时不发送
+            if (order == null || order.getPaymentStatus() == null || order.getPaymentStatus() != UnifiedOrderNew.STATUS_PAID) {
+                continue;
+            }
+            // 下单用户
+            User user = users.computeIfAbsent(order.getUserId(), userMapper::findById);
+            // 用户不存在或没有手机号时不发送
+            if (user == null || user.getPhone() == null || user.getPhone().isBlank()) {
+                logger.debug("订单{}的用户没有手机号，跳过支付通知", order.getOrderNo());
+                continue;
+            }
+            // 使用try-catch捕获发送异常
+            try {
+                // 发送通知短信，返回false时按失败重试
+                if (!smsService.sendNotification(user.getPhone(), buildMessage(order))) {
+                    failures.put(message.getId(), "短信发送失败");
+                }
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 记录失败原因
+                failures.put(message.getId(), "短信发送异常: " + e.getMessage());
+            }
+        }
+        // 返回发送失败的消息
+        return failures;
+    }
+
+    // 组装支付成功通知内容
+    private static String buildMessage(UnifiedOrderNew order) {
+        // 订单标题，没有时使用订单号
+        String title = order.getOrderTitle() != null ? order.getOrderTitle() : order.getOrderNo();
+        // 返回通知内容
+        return "您的订单" + order.getOrderNo() + "（" + title + "）已支付成功，支付金额" + order.getTotalAmount() + "元，感谢使用游市生活。";
+    }
+}
@@ -0,0 +1,73 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入生活缴费Mapper接口
+import com.icss.xihu.mapper.PaymentMapper;
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入生活缴费服务接口
+import com.icss.xihu.service.PaymentService;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入LocalDateTime类，用于表示支付时间
+import java.time.LocalDateTime;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 缴费订单适配器
+ * 功能概述：统一订单类型为PAYMENT时，moduleOrderId是payment_bills的主键；支付时由PaymentService锁定账单、批量更新为已缴费并计入用户缴费统计，
+ * 缴费账单不支持取消
+ */
+// 标识该类为Spring组件，由ModuleOrderDispatcher按订单类型收集
+@Component
+// 缴费订单适配器类，实现ModuleOrderAdapter接口
+public class PaymentOrderAdapter implements ModuleOrderAdapter {
+
+    // 自动注入生活缴费服务
+    @Autowired
+    // 生活缴费服务对象
+    private PaymentService paymentService;
+
+    // 自动注入生活缴费Mapper
+    @Autowired
+    // 生活缴费Mapper对象，用于查询账单摘要
+    private PaymentMapper paymentMapper;
+
+    // 重写接口中的getOrderType方法
+    @Override
+    // 返回适配的订单类型
+    public String getOrderType() {
+        // PAYMENT类型
+        return UnifiedOrderNew.TYPE_PAYMENT;
+    }
+
+    // 重写接口中的markPaid方法
+    @Override
+    // 把一批账单标记为已缴费方法
+    public int markPaid(List<Integer> moduleOrderIds, LocalDateTime paymentTime) {
+        // 锁定未缴费的账单后一条语句更新为已缴费，同时计入用户缴费统计
+        return paymentService.markBillsPaid(moduleOrderIds, paymentTime);
+    }
+
+    // 重写接口中的markCancelled方法
+    @Override
+    // 把一批账单标记为已取消方法
+    public int markCancelled(List<Integer> moduleOrderIds) {
+        // 缴费账单不支持取消，账单保持原状态
+        return 0;
+    }
+
+    // 重写接口中的summarize方法
+    @Override
+    // 查询一批账单的摘要方法
+    public List<ModuleOrderSummary> summarize(List<Integer> moduleOrderIds) {
+        // 一条语句查询缴费类型、户名、账期和图标
+        return paymentMapper.findBillSummariesByIds(moduleOrderIds);
+    }
+}
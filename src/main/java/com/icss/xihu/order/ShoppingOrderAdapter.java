@@ -0,0 +1,65 @@
+// 定义包路径，标识该类属于com.icss.xihu.order包
+package com.icss.xihu.order;
+
+// 导入购物订单Mapper接口
+import com.icss.xihu.mapper.ShopOrderMapper;
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入LocalDateTime类，用于表示支付时间
+import java.time.LocalDateTime;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 购物订单适配器
+ * 功能概述：统一订单类型为SHOPPING时，moduleOrderId是shop_order的主键，更新order_status字段
+ */
+// 标识该类为Spring组件，由ModuleOrderDispatcher按订单类型收集
+@Component
+// 购物订单适配器类，实现ModuleOrderAdapter接口
+public class ShoppingOrderAdapter implements ModuleOrderAdapter {
+
+    // 自动注入购物订单Mapper接口
+    @Autowired
+    // 购物订单Mapper接口对象
+    private ShopOrderMapper shopOrderMapper;
+
+    // 重写接口中的getOrderType方法
+    @Override
+    // 返回适配的订单类型
+    public String getOrderType() {
+        // SHOPPING类型
+        return UnifiedOrderNew.TYPE_SHOPPING;
+    }
+
+    // 重写接口中的markPaid方法
+    @Override
+    // 把一批模块订单标记为已支付方法
+    public int markPaid(List<Integer> moduleOrderIds, LocalDateTime paymentTime) {
+        // 一条语句把仍待支付的订单更新为已支付（1），已取消的订单不变
+        return shopOrderMapper.markPaidByIds(moduleOrderIds);
+    }
+
+    // 重写接口中的markCancelled方法
+    @Override
+    // 把一批模块订单标记为已取消方法
+    public int markCancelled(List<Integer> moduleOrderIds) {
+        // 一条语句更新为已取消（2）
+        return shopOrderMapper.updateStatusByIds(moduleOrderIds, 2);
+    }
+
+    // 重写接口中的summarize方法
+    @Override
+    // 查询一批模块订单的摘要方法
+    public List<ModuleOrderSummary> summarize(List<Integer> moduleOrderIds) {
+        // 一条语句查询明细和缩略图
+        return shopOrderMapper.findSummariesByIds(moduleOrderIds);
+    }
+}
@@ -0,0 +1,14 @@
+// 定义包路径，标识该类属于com.icss.xihu.scheduling包
+package com.icss.xihu.scheduling;
+
+/**
+ * 调度租约
+ * 功能概述：表示当前实例取得的一个租约，围栏令牌随每次获得租约单调递增，
+ * 持有者把令牌带到受保护的写操作（如检查点）中，令牌比已写入的小的写操作会被拒绝
+ * @param {String} name - 租约名称
+ * @param {String} owner - 持有者（实例标识）
+ * @param {long} fencingToken - 围栏令牌
+ */
+// 调度租约记录类
+public record SchedulerLease(String name, String owner, long fencingToken) {
+}
@@ -0,0 +1,240 @@
+// 定义包路径，标识该类属于com.icss.xihu.scheduling包
+package com.icss.xihu.scheduling;
+
+// 导入调度租约Mapper接口
+import com.icss.xihu.mapper.SchedulerLeaseMapper;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的组件注解
+import org.springframework.stereotype.Component;
+
+// 导入网络地址类，用于获取主机名
+import java.net.InetAddress;
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入Map接口
+import java.util.Map;
+// 导入UUID类
+import java.util.UUID;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 调度租约管理器
+ * 功能概述：多个应用实例部署时，定时任务在每个实例上都会触发，由租约决定谁来执行：
+ * 租约保存在scheduler_lease表中，过期时间按数据库时钟计算，持有者在执行期间定期续约，实例宕机时租约到期后由其他实例接手；
+ * 每次获得租约时围栏令牌加1，长时间停顿后租约已被他人取得的旧持有者续约失败，带着旧令牌的写操作也会被拒绝；
+ * 租约表由db/schema-scheduler-lease.sql创建，表不存在时退化为单实例模式，任务不加锁直接执行
+ */
+// 标识该类为Spring组件，会被Spring容器扫描并注册为Bean
+@Component
+// 调度租约管理器类
+public class SchedulerLeaseManager {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseManager.class);
+
+    // 自动注入调度租约Mapper
+    @Autowired
+    // 调度租约Mapper对象
+    private SchedulerLeaseMapper schedulerLeaseMapper;
+
+    // 租约时长（毫秒），默认60秒，持有者需要在此时间内续约
+    @Value("${scheduler-lease.lease-ms:60000}")
+    // 租约时长字段
+    private long leaseMs;
+
+    // 当前实例标识：主机名、进程号和随机后缀，同一台机器上的多个实例也能区分
+    private final String nodeId = resolveNodeId();
+    // 是否已检查过租约表
+    private volatile boolean tableChecked = false;
+    // 租约表是否可用
+    private volatile boolean available = false;
+
+    // 获得租约次数
+    private final LongAdder acquired = new LongAdder();
+    // 租约被他人持有、未获得的次数
+    private final LongAdder contended = new LongAdder();
+    // 续约失败（租约已被他人取得）的次数
+    private final LongAdder lost = new LongAdder();
+
+    /**
+     * 尝试获得租约
+     * 功能概述：租约未被持有或已过期时获得并返回，不等待；租约表不可用时返回null，调用方按单实例模式执行
+     * @param {String} leaseName - 租约名称
+     * @return {SchedulerLease} 返回获得的租约，被其他实例持有或租约表不可用时返回null（用isAvailable区分）
+     */
+    // 尝试获得租约方法
+    public SchedulerLease tryAcquire(String leaseName) {
+        // 首次使用时创建租约表
+        ensureTable();
+        // 租约表不可用时返回null
+        if (!available) {
+            // 返回null
+            return null;
+        }
+        // 登记租约
+        schedulerLeaseMapper.insertIfAbsent(leaseName);
+        // 尝试获得租约
+        if (schedulerLeaseMapper.tryAcquire(leaseName, nodeId, leaseMs * 1000) == 0) {
+            // 被其他实例持有
+            contended.increment();
+            // 返回null
+            return null;
+        }
+        // 查询围栏令牌
+        Long token = schedulerLeaseMapper.findToken(leaseName, nodeId);
+        // 获得后立即被他人取得（本实例停顿超过租约时长）时视为未获得
+        if (token == null) {
+            // 被其他实例持有
+            contended.increment();
+            // 返回null
+            return null;
+        }
+        // 获得次数加1
+        acquired.increment();
+        // 返回租约
+        return new SchedulerLease(leaseName, nodeId, token);
+    }
+
+    /**
+     * 续约
+     * @param {SchedulerLease} lease - 租约
+     * @return {boolean} 续约成功返回true，租约已被其他实例取得返回false，调用方应立即停止受保护的工作
+     */
+    // 续约方法
+    public boolean renew(SchedulerLease lease) {
+        // 续约
+        boolean renewed = schedulerLeaseMapper.renew(lease.name(), lease.owner(), lease.fencingToken(), leaseMs * 1000) > 0;
+        // 续约失败时计数并记录日志
+        if (!renewed) {
+            // 失去租约次数加1
+            lost.increment();
+            // 记录警告日志
+            logger.warn("租约 {}（令牌 {}）已被其他实例取得", lease.name(), lease.fencingToken());
+        }
+        // 返回续约结果
+        return renewed;
+    }
+
+    /**
+     * 释放租约
+     * 功能概述：工作完成后立即释放，其他实例不必等到过期；释放失败只记录日志
+     * @param {SchedulerLease} lease - 租约
+     */
+    // 释放租约方法
+    public void release(SchedulerLease lease) {
+        // 使用try-catch捕获异常
+        try {
+            // 释放租约
+            schedulerLeaseMapper.release(lease.name(), lease.owner(), lease.fencingToken());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志，租约到期后自动失效
+            logger.warn("释放租约 {} 失败：{}", lease.name(), e.getMessage());
+        }
+    }
+
+    /**
+     * 判断租约表是否可用
+     * @return {boolean} 可用返回true，不可用时任务按单实例模式执行
+     */
+    // 判断租约表是否可用方法
+    public boolean isAvailable() {
+        // 首次使用时创建租约表
+        ensureTable();
+        // 返回是否可用
+        return available;
+    }
+
+    /**
+     * 获取当前实例标识
+     * @return {String} 返回实例标识
+     */
+    // 获取当前实例标识方法
+    public String getNodeId() {
+        // 返回实例标识
+        return nodeId;
+    }
+
+    /**
+     * 获取租约统计信息
+     * @return {Map<String, Object>} 返回实例标识、租约时长、获得次数、被占用次数和失去租约次数
+     */
+    // 获取租约统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 实例标识
+        stats.put("nodeId", nodeId);
+        // 租约表是否可用
+        stats.put("available", available);
+        // 租约时长
+        stats.put("leaseMs", leaseMs);
+        // 获得次数
+        stats.put("acquired", acquired.sum());
+        // 被占用次数
+        stats.put("contended", contended.sum());
+        // 失去租约次数
+        stats.put("lost", lost.sum());
+        // 返回统计信息
+        return stats;
+    }
+
+    // 首次使用时检查租约表，表由db/schema-scheduler-lease.sql创建，不存在或检查失败时记录警告并退化为单实例模式
+    private void ensureTable() {
+        // 已检查过时直接返回
+        if (tableChecked) {
+            // 返回
+            return;
+        }
+        // 同步检查，避免并发重复查询
+        synchronized (this) {
+            // 双重检查
+            if (tableChecked) {
+                // 返回
+                return;
+            }
+            // 使用try-catch捕获异常
+            try {
+                // 表存在时标记可用
+                if (schedulerLeaseMapper.countTable() > 0) {
+                    // 标记可用
+                    available = true;
+                } else {
+                    // 记录警告日志
+                    logger.warn("缺少 scheduler_lease 表，定时任务按单实例模式执行，请先执行 db/schema-scheduler-lease.sql");
+                }
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 记录警告日志
+                logger.warn("检查调度租约表失败，定时任务按单实例模式执行：{}", e.getMessage());
+            }
+            // 标记已检查
+            tableChecked = true;
+        }
+    }
+
+    // 生成实例标识
+    private static String resolveNodeId() {
+        // 主机名
+        String host;
+        // 使用try-catch处理主机名解析失败
+        try {
+            // 获取主机名
+            host = InetAddress.getLocalHost().getHostName();
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 解析失败时使用默认值
+            host = "unknown";
+        }
+        // 拼接主机名、进程号和随机后缀
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -7,9 +7,13 @@ package com.icss.xihu.service;
 
 // 导入地址实体类
 import com.icss.xihu.model.Address;
+// 导入地址层级树
+import com.icss.xihu.util.AddressTree;
 
 // 导入List集合接口
 import java.util.List;
+// 导入Map接口
+import java.util.Map;
 
 /**
  * 地址服务接口
@@ -33,4 +37,74 @@ public interface AddressService {
      */
     // 根据省ID查询城市方法，接收省份编号参数，返回该省份下的所有城市列表
     List<Address> getCitiesByProvinceId(Integer provinceId);
+
+    /**
+     * 获取地址层级树
+     * 功能概述：返回内存中的不可变地址层级树，第一次调用时从address表整表加载
+     * @return {AddressTree} 返回地址层级树
+     */
+    // 获取地址层级树方法
+    AddressTree getAddressTree();
+
+    /**
+     * 重新加载地址层级树
+     * 功能概述：重新读取address表并整体替换内存中的地址层级树，用于地址数据维护之后
+     * @return {int} 返回加载的地址节点数量
+     */
+    // 重新加载地址层级树方法
+    int reloadAddressTree();
+
+    /**
+     * 查询所有省份名称
+     * 功能概述：从地址层级树中获取所有省份的扩展名称（排除"国外"），按名称排序
+     * @return {List<String>} 返回省份名称列表
+     */
+    // 查询所有省份名称方法
+    List<String> getProvinceNames();
+
+    /**
+     * 根据省份名称查询城市名称
+     * 功能概述：从地址层级树中获取指定省份下所有城市的扩展名称，按名称排序
+     * @param {String} province - 省份名称（扩展名称或全称）
+     * @return {List<String>} 返回城市名称列表，省份不存在时返回空列表
+     */
+    // 根据省份名称查询城市名称方法
+    List<String> getCityNames(String province);
+
+    /**
+     * 根据省份名称查找省份编号
+     * @param {String} province - 省份名称（扩展名称或全称）
+     * @return {Long} 返回省份编号，不存在时返回null
+     */
+    // 根据省份名称查找省份编号方法
+    Long findProvinceId(String province);
+
+    /**
+     * 根据城市名称查找城市编号
+     * 功能概述：省份编号不为空时只在该省份下查找，否则返回所有同名城市的编号
+     * @param {Long} provinceId - 省份编号，可为null
+     * @param {String} city - 城市名称（扩展名称或全称）
+     * @return {List<Long>} 返回城市编号列表，不存在时返回空列表
+     */
+    // 根据城市名称查找城市编号方法
+    List<Long> findCityIds(Long provinceId, String city);
+
+    /**
+     * 查找名称包含关键词的地区编号
+     * @param {String} keyword - 关键词
+     * @param {int} deep - 层级，0=省，1=市
+     * @return {List<Long>} 返回地区编号列表
+     */
+    // 查找名称包含关键词的地区编号方法
+    List<Long> findRegionIdsContaining(String keyword, int deep);
+
+    /**
+     * 按前缀搜索地区
+     * 功能概述：按名称前缀搜索省、市、区县，返回编号、名称、层级和完整路径
+     * @param {String} prefix - 名称前缀
+     * @param {int} limit - 最多返回数量
+     * @return {List<Map<String, Object>>} 返回匹配的地区列表
+     */
+    // 按前缀搜索地区方法
+    List<Map<String, Object>> searchByPrefix(String prefix, int limit);
 }
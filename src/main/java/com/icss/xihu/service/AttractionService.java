@@ -0,0 +1,67 @@
+/**
+ * 景点服务接口
+ * 功能概述：定义景点详情相关的业务逻辑方法，景点基础信息和一对多的图片、标签、推荐分多次查询后在内存中拼装
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入景点实体类
+import com.icss.xihu.model.Attraction;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 景点服务接口
+ * 功能概述：定义景点详情相关的业务逻辑方法，景点基础信息和一对多的图片、标签、推荐分多次查询后在内存中拼装
+ */
+// 景点服务接口，定义景点详情相关的业务逻辑方法
+public interface AttractionService {
+
+    /**
+     * 获取带完整信息的景点列表
+     * 功能概述：查询所有有效景点（含分类），再按景点ID批量加载图片、标签和推荐信息
+     * @return {List<Attraction>} 返回带完整信息的景点列表
+     */
+    // 获取带完整信息的景点列表方法
+    List<Attraction> getAttractionsWithDetails();
+
+    /**
+     * 根据省份获取景点列表（含完整信息）
+     * 功能概述：查询该省份下的有效景点（含分类），再按景点ID批量加载图片、标签和推荐信息
+     * @param {String} province - 省份名称
+     * @return {List<Attraction>} 返回该省份下的景点列表
+     */
+    // 根据省份获取景点列表方法，接收省份名称参数
+    List<Attraction> getAttractionsByProvince(String province);
+
+    /**
+     * 根据省份和城市获取景点列表（含完整信息）
+     * 功能概述：查询该地区的有效景点（含分类），再按景点ID批量加载图片、标签和推荐信息
+     * @param {String} province - 省份名称
+     * @param {String} city - 城市名称
+     * @return {List<Attraction>} 返回该地区的景点列表
+     */
+    // 根据省份和城市获取景点列表方法，接收省份和城市名称参数
+    List<Attraction> getAttractionsByProvinceAndCity(String province, String city);
+
+    /**
+     * 批量加载景点的关联信息
+     * 功能概述：对已查询出的景点列表，按IN (ids)分别查询图片、标签、推荐并归属到对应景点，查询次数与景点数量无关
+     * @param {List<Attraction>} attractions - 景点基础信息列表
+     * @return {int} 返回从数据库加载的子表行数
+     */
+    // 批量加载景点关联信息方法，接收景点列表参数
+    int loadDetails(List<Attraction> attractions);
+
+    /**
+     * 景点详情加载基准对比
+     * 功能概述：分别执行旧版五表LEFT JOIN和批量加载方案，对比传输行数和平均耗时，并校验两种方案结果一致
+     * @param {int} rounds - 每种方案的执行轮数
+     * @return {Map<String, Object>} 返回对比结果
+     */
+    // 景点详情加载基准对比方法，接收执行轮数参数
+    Map<String, Object> benchmarkDetailLoading(int rounds);
+}
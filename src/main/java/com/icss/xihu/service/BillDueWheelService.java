@@ -0,0 +1,41 @@
+/**
+ * 账单到期时间轮服务接口
+ * 功能概述：把未来若干天内到期的待缴费账单登记到内存中的分层时间轮，在到期时刻（到期日期次日零点）准点把账单更新为逾期
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 账单到期时间轮服务接口
+ * 功能概述：把未来若干天内到期的待缴费账单登记到内存中的分层时间轮，在到期时刻（到期日期次日零点）准点把账单更新为逾期
+ */
+// 账单到期时间轮服务接口，定义装载、推进时钟和获取统计信息的方法
+public interface BillDueWheelService {
+
+    /**
+     * 装载即将到期的账单
+     * 功能概述：先把到期日期早于今天、仍为待缴费的账单立即更新为逾期（如应用停机期间到期的账单），
+     * 再按(bill_status, due_date, id)索引分批读取到期日期在今天到今天加装载天数之间的待缴费账单并登记，已登记的账单跳过；
+     * 新建账单的到期日期通常在装载范围之外，进入范围后由定期装载登记
+     * @return {Map<String, Object>} 返回补齐的逾期账单数、装载范围、读取数和新登记数
+     */
+    // 装载即将到期的账单方法
+    Map<String, Object> reload();
+
+    /**
+     * 推进时钟
+     * 功能概述：取出已到期的账单，按批次在短事务中更新为逾期并发布账单逾期事件；更新失败的批次保留到下一次推进重试
+     */
+    // 推进时钟方法
+    void advance();
+
+    /**
+     * 获取时间轮统计信息
+     * @return {Map<String, Object>} 返回登记数、待更新数、装载范围、到期数和实际更新数等
+     */
+    // 获取时间轮统计信息方法
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,47 @@
+/**
+ * 账期账单生成服务接口
+ * 功能概述：为所有有效的缴费账户生成指定账期的账单，每个账户一张、缴费类型与账户一致，替代直接连接数据库的AddPaymentBills工具类
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入YearMonth类，用于表示账期
+import java.time.YearMonth;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 账期账单生成服务接口
+ * 功能概述：为所有有效的缴费账户生成指定账期的账单，每个账户一张、缴费类型与账户一致，替代直接连接数据库的AddPaymentBills工具类
+ */
+// 账期账单生成服务接口，定义启动生成、执行生成和获取进度的方法
+public interface BillingCycleService {
+
+    /**
+     * 在后台启动一轮账单生成
+     * 功能概述：立即返回，不等待生成完成；已有生成在执行时不重复启动
+     * @param {YearMonth} period - 账期
+     * @param {String} trigger - 触发来源（如schedule、admin），用于日志和进度信息
+     * @return {boolean} 已启动返回true，已有生成在执行返回false
+     */
+    // 在后台启动账单生成方法
+    boolean startGeneration(YearMonth period, String trigger);
+
+    /**
+     * 在当前线程执行一轮账单生成
+     * 功能概述：流式读取有效账户，按账户分区并行计算账单，每个分区攒满一批后用一条多行INSERT写入；
+     * 同一账户同一账期只生成一张账单，重复执行或中断后重新执行只补齐缺少的账单；已有生成在执行时直接返回
+     * @param {YearMonth} period - 账期
+     * @param {String} trigger - 触发来源
+     * @return {Map<String, Object>} 返回本轮读取的账户数、插入和跳过的账单数、批次数和耗时
+     */
+    // 执行账单生成方法
+    Map<String, Object> generate(YearMonth period, String trigger);
+
+    /**
+     * 获取账单生成进度
+     * @return {Map<String, Object>} 返回是否在执行、当前轮次的进度、上一轮的结果和累计统计
+     */
+    // 获取账单生成进度方法
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,46 @@
+/**
+ * 数据导出服务接口
+ * 功能概述：把全量景点目录和用户的全部历史账单以JSON、NDJSON或CSV格式流式写出，
+ * 数据从数据库逐行读取后立即写出，内存占用与导出行数无关
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入流式导出写出器
+import com.icss.xihu.util.StreamingExporter;
+
+// 导入IO异常类
+import java.io.IOException;
+// 导入输出流类
+import java.io.OutputStream;
+
+/**
+ * 数据导出服务接口
+ * 功能概述：把全量景点目录和用户的全部历史账单以JSON、NDJSON或CSV格式流式写出，
+ * 数据从数据库逐行读取后立即写出，内存占用与导出行数无关
+ */
+// 数据导出服务接口，定义景点和账单的导出方法
+public interface ExportService {
+
+    /**
+     * 导出全部景点
+     * 功能概述：导出所有启用的景点（按推荐分、评分、浏览量倒序），字段与景点列表接口一致
+     * @param {StreamingExporter.Format} format - 导出格式
+     * @param {OutputStream} out - 输出流
+     * @return {long} 返回导出的行数
+     */
+    // 导出全部景点方法
+    long exportAttractions(StreamingExporter.Format format, OutputStream out) throws IOException;
+
+    /**
+     * 导出用户账单
+     * 功能概述：导出用户的全部历史账单（按到期日期倒序），可按账单状态过滤，状态2同时包含已过期未缴费的账单
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} status - 账单状态，可为null
+     * @param {StreamingExporter.Format} format - 导出格式
+     * @param {OutputStream} out - 输出流
+     * @return {long} 返回导出的行数
+     */
+    // 导出用户账单方法
+    long exportBills(Integer userId, Integer status, StreamingExporter.Format format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,57 @@
+/**
+ * 地理位置索引服务接口
+ * 功能概述：在内存中为景点、酒店、餐厅建立网格空间索引，提供按坐标或按酒店查询附近K个最近点的能力，不需要扫描数据库表
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 地理位置索引服务接口
+ * 功能概述：在内存中为景点、酒店、餐厅建立网格空间索引，提供按坐标或按酒店查询附近K个最近点的能力，不需要扫描数据库表
+ */
+// 地理位置索引服务接口，定义附近查询和索引维护的方法
+public interface GeoIndexService {
+
+    /**
+     * 查询坐标附近的地点
+     * 功能概述：以指定坐标为中心，在半径范围内按距离由近到远返回最多k个地点
+     * @param {double} lat - 纬度
+     * @param {double} lng - 经度
+     * @param {Double} radiusKm - 查询半径（公里），为空时使用配置的上限
+     * @param {String} type - 地点类型，attraction、hotel、restaurant，为空或all表示全部类型
+     * @param {Integer} k - 返回数量，为空时使用配置的默认值
+     * @return {Map<String, Object>} 返回查询结果，包含success、data、count、tookMicros
+     */
+    // 查询坐标附近地点方法
+    Map<String, Object> findNearby(double lat, double lng, Double radiusKm, String type, Integer k);
+
+    /**
+     * 查询酒店附近的地点
+     * 功能概述：以指定酒店在索引中的坐标为中心查询附近地点，结果中排除该酒店本身
+     * @param {Long} hotelId - 酒店编号
+     * @param {Double} radiusKm - 查询半径（公里），为空时使用配置的上限
+     * @param {String} type - 地点类型，attraction、hotel、restaurant，为空或all表示全部类型
+     * @param {Integer} k - 返回数量，为空时使用配置的默认值
+     * @return {Map<String, Object>} 返回查询结果，包含success、hotel、data、count、tookMicros
+     */
+    // 查询酒店附近地点方法
+    Map<String, Object> findNearbyHotel(Long hotelId, Double radiusKm, String type, Integer k);
+
+    /**
+     * 重建索引
+     * 功能概述：从数据库重新加载景点、酒店、餐厅的坐标，构建新的网格索引后整体替换旧索引，查询不受影响
+     */
+    // 重建索引方法
+    void rebuild();
+
+    /**
+     * 获取索引统计信息
+     * 功能概述：返回各类型索引的地点数量、网格数量、缺少坐标未进入索引的数量和最近一次重建时间
+     * @return {Map<String, Object>} 返回索引统计信息
+     */
+    // 获取索引统计信息方法
+    Map<String, Object> getIndexStats();
+}
@@ -0,0 +1,29 @@
+/**
+ * JDBC调优基准对比服务接口
+ * 功能概述：用相同的连接地址分别创建不带驱动调优参数和带jdbc-tuning驱动参数的临时连接池，
+ * 在下单写入和目录读取两条路径上执行相同的SQL，对比平均耗时
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * JDBC调优基准对比服务接口
+ * 功能概述：用相同的连接地址分别创建不带驱动调优参数和带jdbc-tuning驱动参数的临时连接池，
+ * 在下单写入和目录读取两条路径上执行相同的SQL，对比平均耗时
+ */
+// JDBC调优基准对比服务接口
+public interface JdbcBenchmarkService {
+
+    /**
+     * JDBC调优基准对比
+     * 功能概述：目录读取路径逐条执行酒店详情查询；下单路径逐条插入和批量插入统一订单，每轮结束后回滚，不留下数据
+     * @param {int} rounds - 每种连接池的执行轮数
+     * @param {Integer} userId - 测试订单使用的用户编号
+     * @return {Map<String, Object>} 返回对比结果
+     */
+    // JDBC调优基准对比方法
+    Map<String, Object> benchmark(int rounds, Integer userId);
+}
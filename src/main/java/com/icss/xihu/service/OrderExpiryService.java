@@ -0,0 +1,50 @@
+/**
+ * 订单过期服务接口
+ * 功能概述：把即将过期的待支付统一订单登记到内存中的分层时间轮，在过期时刻把仍未支付的订单按批次自动取消；
+ * 过期时间持久化在order_expiry表中，应用重启后重新装载
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 订单过期服务接口
+ * 功能概述：把即将过期的待支付统一订单登记到内存中的分层时间轮，在过期时刻把仍未支付的订单按批次自动取消；
+ * 过期时间持久化在order_expiry表中，应用重启后重新装载
+ */
+// 订单过期服务接口，定义装载、推进时钟和获取统计信息的方法
+public interface OrderExpiryService {
+
+    /**
+     * 装载即将过期的订单
+     * 功能概述：按(expire_time, order_no)索引分批读取装载范围内的过期登记并登记到时间轮，已登记的订单跳过；
+     * 装载范围和过期时刻按数据库时钟计算
+     * @return {Map<String, Object>} 返回时钟偏差、读取数和新登记数
+     */
+    // 装载即将过期的订单方法
+    Map<String, Object> reload();
+
+    /**
+     * 为尚未登记的待支付订单补登记过期时间
+     * 功能概述：需要扫描整个统一订单表，只在应用启动时或手动执行；多实例部署时由调度租约保证只有一个实例在补登记
+     * @return {Map<String, Object>} 返回补登记数、是否完成和耗时，其他实例正在补登记时返回跳过原因
+     */
+    // 补登记方法
+    Map<String, Object> backfill();
+
+    /**
+     * 推进时钟
+     * 功能概述：登记新建的订单，取出已过期的订单，按批次在短事务中取消；取消失败的批次保留到下一次推进重试
+     */
+    // 推进时钟方法
+    void advance();
+
+    /**
+     * 获取订单过期统计信息
+     * @return {Map<String, Object>} 返回登记数、待取消数、到期数和实际取消数等
+     */
+    // 获取订单过期统计信息方法
+    Map<String, Object> getStats();
+}
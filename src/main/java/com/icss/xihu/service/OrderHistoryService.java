@@ -0,0 +1,61 @@
+/**
+ * 订单历史服务接口
+ * 功能概述：按订单事件把统一订单和模块订单明细投影到order_history读模型，订单中心和我的订单页面一次索引查询读取一页
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入订单历史实体类
+import com.icss.xihu.model.OrderHistory;
+// 导入分页结果
+import com.icss.xihu.model.PageResult;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 订单历史服务接口
+ * 功能概述：按订单事件把统一订单和模块订单明细投影到order_history读模型，订单中心和我的订单页面一次索引查询读取一页；
+ * 用户刚写入订单时先补齐该用户尚未投影的事件，读取结果包含用户自己的写入
+ */
+// 订单历史服务接口，定义分页读取、投影、补投影和获取统计信息的方法
+public interface OrderHistoryService {
+
+    /**
+     * 读取用户的一页订单历史
+     * 功能概述：从订单历史读模型按(user_id, create_time)索引读取一页，不再逐个订单查询模块订单；
+     * 订单历史表不可用时退回到查询统一订单
+     * @param {Integer} userId - 用户编号
+     * @param {String} orderType - 订单类型（可选）
+     * @param {Integer} paymentStatus - 支付状态（可选）
+     * @param {int} page - 页码，从1开始
+     * @param {int} pageSize - 每页条数
+     * @return {PageResult<OrderHistory>} 返回本页订单历史和总数
+     */
+    // 读取用户的一页订单历史方法
+    PageResult<OrderHistory> getOrderPage(Integer userId, String orderType, Integer paymentStatus, int page, int pageSize);
+
+    /**
+     * 投影新事件
+     * 功能概述：持有投影租约时从读取位置之后按事件编号分段读取订单事件，每段合并为订单后一次投影；
+     * 读取位置沿连续的编号推进，越过的编号缺口每轮复查，检查点带着租约的围栏令牌保存
+     * @return {int} 返回本次投影的订单数，租约被其他实例持有时返回0
+     */
+    // 投影新事件方法
+    int project();
+
+    /**
+     * 补投影
+     * 功能概述：为还没有订单历史的统一订单（如事件日志上线之前创建的订单）投影订单历史，按统一订单主键分段执行
+     * @return {Map<String, Object>} 返回补投影的订单数和耗时
+     */
+    // 补投影方法
+    Map<String, Object> backfill();
+
+    /**
+     * 获取订单历史统计信息
+     * @return {Map<String, Object>} 返回检查点、投影数、补齐数和上一次错误等
+     */
+    // 获取订单历史统计信息方法
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,58 @@
+/**
+ * 发件箱分发服务接口
+ * 功能概述：在后台领取统一订单发件箱中到期的消息，按消息类型分批交给处理器，失败的消息按指数退避重试，超过最大尝试次数后放弃
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 发件箱分发服务接口
+ * 功能概述：在后台领取统一订单发件箱中到期的消息，按消息类型分批交给处理器，失败的消息按指数退避重试，超过最大尝试次数后放弃；
+ * 支付事务只写入消息，模块订单同步和支付通知不再计入支付耗时
+ */
+// 发件箱分发服务接口，定义分发、恢复已放弃的消息、清理和获取统计信息的方法
+public interface OutboxService {
+
+    /**
+     * 分发到期的消息
+     * 功能概述：有新消息提交或距上一次扫描超过扫描间隔时，唤醒各消息类型的分发线程在后台领取并处理；否则不访问数据库
+     * @return {int} 返回本次启动的分发线程数
+     */
+    // 分发到期的消息方法
+    int dispatch();
+
+    /**
+     * 分发某个类型到期的消息
+     * 功能概述：按该类型处理器的批次分批领取并处理，直到没有该类型到期的消息；处理期间定期延长领取的租约
+     * @param {String} messageType - 消息类型（OutboxMessage.TYPE_*）
+     * @return {int} 返回本次处理的消息数
+     */
+    // 分发某个类型到期的消息方法
+    int dispatch(String messageType);
+
+    /**
+     * 恢复已放弃的消息
+     * 功能概述：把超过最大尝试次数而放弃的消息恢复为待处理，尝试次数清零，下一次分发时立即处理
+     * @return {int} 返回恢复的消息数
+     */
+    // 恢复已放弃的消息方法
+    int reviveDead();
+
+    /**
+     * 清理已完成的消息
+     * 功能概述：分批删除完成时间早于保留天数的消息
+     * @return {int} 返回删除的消息数
+     */
+    // 清理已完成的消息方法
+    int purge();
+
+    /**
+     * 获取发件箱统计信息
+     * @return {Map<String, Object>} 返回待处理数、已放弃数、累计领取数、成功数、失败数和上一次错误等
+     */
+    // 获取发件箱统计信息方法
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,43 @@
+/**
+ * 逾期账单扫描服务接口
+ * 功能概述：把到期日期已过的待缴费账单分批更新为逾期，替代一次性的全表UPDATE
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 逾期账单扫描服务接口
+ * 功能概述：把到期日期已过的待缴费账单分批更新为逾期，替代一次性的全表UPDATE
+ */
+// 逾期账单扫描服务接口，定义启动扫描、执行扫描和获取进度的方法
+public interface OverdueBillSweepService {
+
+    /**
+     * 在后台启动一轮扫描
+     * 功能概述：立即返回，不等待扫描完成；已有扫描在执行时不重复启动
+     * @param {String} trigger - 触发来源（如startup、schedule、admin），用于日志和进度信息
+     * @return {boolean} 已启动返回true，已有扫描在执行返回false
+     */
+    // 在后台启动扫描方法
+    boolean startSweep(String trigger);
+
+    /**
+     * 在当前线程执行一轮扫描
+     * 功能概述：按(bill_status, due_date, id)索引分批读取待逾期账单，每批按主键更新后保存检查点并暂停，
+     * 同一天内中断的扫描从检查点继续；已有扫描在执行时直接返回
+     * @param {String} trigger - 触发来源
+     * @return {Map<String, Object>} 返回本轮的批次数、读取数、更新数和耗时
+     */
+    // 执行扫描方法
+    Map<String, Object> sweep(String trigger);
+
+    /**
+     * 获取扫描进度
+     * @return {Map<String, Object>} 返回是否在执行、当前轮次的进度、上一轮的结果和累计统计
+     */
+    // 获取扫描进度方法
+    Map<String, Object> getStats();
+}
@@ -60,17 +60,49 @@ public interface PaymentService {
      * @param billId 账单ID
      * @param paymentMethod 支付方式（微信、支付宝、银行卡等）
      * @param transactionId 交易流水号
-     * @return 是否缴费成功
+     * @return 是否缴费成功，数据库异常时抛出异常并回滚
      */
     // 处理缴费方法，接收账单ID、支付方式和交易流水号参数
     boolean processPayment(Integer billId, String paymentMethod, String transactionId);
     
     /**
      * 获取用户缴费统计
-     * 功能概述：获取用户的缴费统计数据，包括账单总数、已缴费数量、待缴费数量等
+     * 功能概述：获取用户的缴费统计数据，包括账单总数、已缴费数量、待缴费数量等，从按用户汇总的统计表读取一行
      * @param userId 用户ID
      * @return 缴费统计数据Map
      */
     // 获取用户缴费统计方法，接收用户ID参数
     Map<String, Object> getPaymentStats(Integer userId);
+    
+    /**
+     * 把一批到期账单更新为逾期
+     * 功能概述：在一个短事务中按主键锁定仍为待缴费且到期日期早于截止日期的账单并更新为逾期，
+     * 发布BillsOverdueEvent，已缴费或已逾期的账单不受影响
+     * @param billIds 账单ID列表
+     * @param cutoff 截止日期（不含），到期日期早于该日期的账单为逾期
+     * @param source 触发来源（如due-wheel、sweep），随事件发布
+     * @return 实际变为逾期的账单（只包含id、userId、billAmount、billStatus、dueDate）
+     */
+    // 把一批到期账单更新为逾期方法
+    List<PaymentBill> markBillsOverdue(List<Integer> billIds, java.time.LocalDate cutoff, String source);
+    
+    /**
+     * 批量新建账单
+     * 功能概述：在一个事务中用一条多行INSERT写入账单并计入用户缴费统计；已存在相同账户账期的账单时
+     * 抛出DuplicateKeyException并整批回滚
+     * @param bills 账单列表
+     * @return 插入的账单数
+     */
+    // 批量新建账单方法
+    int createBills(List<PaymentBill> bills);
+    
+    /**
+     * 把一批账单标记为已缴费（用于统一支付）
+     * 功能概述：锁定这批账单中未缴费的账单后一条语句更新为已缴费并计入用户缴费统计，已缴费的账单不重复处理；在调用方的事务中执行
+     * @param billIds 账单ID
+     * @param paidTime 缴费时间
+     * @return 状态发生变化的账单数
+     */
+    // 把一批账单标记为已缴费方法
+    int markBillsPaid(List<Integer> billIds, java.time.LocalDateTime paidTime);
 }
@@ -0,0 +1,37 @@
+/**
+ * 价格索引服务接口
+ * 功能概述：把餐厅和景点的price_range文本一次性解析为price_min、price_max数值字段，并提供按价格区间查询景点的方法
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 价格索引服务接口
+ * 功能概述：把餐厅和景点的price_range文本一次性解析为price_min、price_max数值字段，并提供按价格区间查询景点的方法
+ */
+// 价格索引服务接口，定义价格字段同步和价格区间查询方法
+public interface PriceIndexService {
+
+    /**
+     * 同步价格数值字段
+     * 功能概述：首次调用时补齐字段和索引，然后逐条解析price_range，只回填解析结果与已保存值不同的记录
+     * @return {Map<String, Object>} 返回各表的扫描数、更新数和无法解析的数量
+     */
+    // 同步价格数值字段方法
+    Map<String, Object> syncPriceColumns();
+
+    /**
+     * 按价格区间查询景点
+     * 功能概述：区间格式与餐厅筛选一致，如"50-100"（含下限不含上限）、"100+"，也可以直接传入最低价和最高价
+     * @param {String} priceRange - 价格区间文本，可为空
+     * @param {Integer} minPrice - 最低价格（含），priceRange为空时使用
+     * @param {Integer} maxPrice - 最高价格（不含），priceRange为空时使用
+     * @param {Integer} limit - 返回数量上限
+     * @return {Map<String, Object>} 返回查询结果（包含success、attractions、total、minPrice、maxPrice）
+     */
+    // 按价格区间查询景点方法
+    Map<String, Object> findAttractionsByPrice(String priceRange, Integer minPrice, Integer maxPrice, Integer limit);
+}
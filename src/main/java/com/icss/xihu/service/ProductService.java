@@ -5,10 +5,10 @@
 // 定义包路径，标识该接口属于com.icss.xihu.service包
 package com.icss.xihu.service;
 
+// 导入分页结果记录
+import com.icss.xihu.model.PageResult;
 // 导入商品实体类
 import com.icss.xihu.model.Product;
-// 导入Map接口
-import java.util.Map;
 
 /**
  * 商品服务接口
@@ -24,10 +24,10 @@ public interface ProductService {
      * @param {int} pageSize - 每页记录数
      * @param {String} keyword - 搜索关键词（可选，用于搜索商品名称或标签）
      * @param {String} category - 商品分类（可选，用于筛选分类）
-     * @return {Map<String, Object>} 返回分页结果（包含商品列表和总数）
+     * @return {PageResult<Product>} 返回分页结果（包含商品列表和总数）
      */
     // 分页查询商品方法，接收页码、每页记录数、搜索关键词和分类参数，返回分页结果
-    Map<String, Object> getProductsWithPagination(int page, int pageSize, String keyword, String category);
+    PageResult<Product> getProductsWithPagination(int page, int pageSize, String keyword, String category);
     
     /**
      * 根据ID查询商品
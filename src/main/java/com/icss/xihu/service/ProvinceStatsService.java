@@ -0,0 +1,50 @@
+/**
+ * 省份统计服务接口
+ * 功能概述：在内存中维护按省份聚合的景点数量、平均评分和订单量，并预先序列化为带ETag的JSON，供全国地图直接输出
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入预序列化JSON响应实体类
+import com.icss.xihu.model.JsonPayload;
+
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 省份统计服务接口
+ * 功能概述：在内存中维护按省份聚合的景点数量、平均评分和订单量，并预先序列化为带ETag的JSON，供全国地图直接输出
+ */
+// 省份统计服务接口，定义省份热力数据的查询和刷新方法
+public interface ProvinceStatsService {
+
+    /**
+     * 获取预序列化的省份地图数据
+     * 功能概述：返回当前的JSON字节数组和ETag，尚未计算过时先做一次全量计算
+     * @return {JsonPayload} 返回预序列化JSON响应
+     */
+    // 获取预序列化省份地图数据方法
+    JsonPayload getProvinceMapPayload();
+
+    /**
+     * 获取省份地图数据
+     * 功能概述：返回与预序列化JSON内容相同的Map结构，供需要对象形式的调用方使用
+     * @return {Map<String, Object>} 返回省份地图数据（包含success、provinces、total、maxValue等）
+     */
+    // 获取省份地图数据方法
+    Map<String, Object> getProvinceMapData();
+
+    /**
+     * 增量刷新
+     * 功能概述：景点表变更签名变化时重新聚合景点，订单只统计上次水位线之后的新订单并累加，有变化时重新序列化
+     */
+    // 增量刷新方法
+    void refreshIncremental();
+
+    /**
+     * 全量重算
+     * 功能概述：清空水位线和累加值后重新统计全部景点和订单，用于修正删除、迁移等增量无法感知的变化
+     */
+    // 全量重算方法
+    void rebuildAll();
+}
@@ -0,0 +1,82 @@
+/**
+ * 餐厅分面筛选服务接口
+ * 功能概述：把餐厅目录加载到内存并按城市、省份、菜系、人均价格档和评分档预先建立位图，支持多条件组合筛选、分面计数和排序输出
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入餐厅实体类
+import com.icss.xihu.model.Restaurant;
+// 导入餐厅分面筛选条件实体类
+import com.icss.xihu.model.RestaurantFacetQuery;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 餐厅分面筛选服务接口
+ * 功能概述：把餐厅目录加载到内存并按城市、省份、菜系、人均价格档和评分档预先建立位图，支持多条件组合筛选、分面计数和排序输出
+ */
+// 餐厅分面筛选服务接口，定义餐厅筛选、分面计数和目录重建方法
+public interface RestaurantFacetService {
+
+    /**
+     * 筛选餐厅并计算分面计数
+     * 功能概述：同一维度内的取值按"或"合并位图，不同维度之间按"与"求交；每个维度的分面计数只应用其他维度的条件，
+     * 便于前端展示"再选这一项会剩多少家"
+     * @param {RestaurantFacetQuery} query - 筛选条件
+     * @return {Map<String, Object>} 返回筛选结果（包含restaurants、total、facets、tookMicros）
+     */
+    // 筛选餐厅并计算分面计数方法
+    Map<String, Object> search(RestaurantFacetQuery query);
+
+    /**
+     * 筛选餐厅
+     * 功能概述：只返回满足条件的餐厅列表，不计算分面计数
+     * @param {RestaurantFacetQuery} query - 筛选条件
+     * @return {List<Restaurant>} 返回餐厅列表
+     */
+    // 筛选餐厅方法
+    List<Restaurant> filter(RestaurantFacetQuery query);
+
+    /**
+     * 获取所有城市
+     * 功能概述：返回餐厅目录中出现过的所有城市，按名称排序
+     * @return {List<String>} 返回城市名称列表
+     */
+    // 获取所有城市方法
+    List<String> getCities();
+
+    /**
+     * 获取所有省份
+     * 功能概述：返回餐厅目录中出现过的所有省份，按名称排序
+     * @return {List<String>} 返回省份名称列表
+     */
+    // 获取所有省份方法
+    List<String> getProvinces();
+
+    /**
+     * 获取餐厅人均价格
+     * 功能概述：返回目录构建时由价格区间算出的人均价格（区间取中点，只有起价时取起价），用于下单时估算金额
+     * @param {Long} restaurantId - 餐厅ID
+     * @return {Integer} 返回人均价格（元），餐厅不在目录中或价格未知时返回null
+     */
+    // 获取餐厅人均价格方法
+    Integer getPerCapitaPrice(Long restaurantId);
+
+    /**
+     * 重建餐厅目录
+     * 功能概述：重新查询所有启用的餐厅，构建新的位图索引后整体替换，替换前的查询继续使用旧索引
+     */
+    // 重建餐厅目录方法
+    void rebuild();
+
+    /**
+     * 获取索引统计信息
+     * @return {Map<String, Object>} 返回餐厅数量、各维度取值数量和最近一次重建时间
+     */
+    // 获取索引统计信息方法
+    Map<String, Object> getIndexStats();
+}
@@ -0,0 +1,71 @@
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入慢查询记录实体类
+import com.icss.xihu.model.SlowQueryRecord;
+
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 慢查询服务接口
+ * 功能概述：收集超过阈值的SQL执行记录，异步采集执行计划，并提供最近慢查询和最慢语句排行的查询能力
+ */
+// 慢查询服务接口，定义慢查询记录、查询和清理的方法
+public interface SlowQueryService {
+
+    /**
+     * 判断是否需要记录
+     * 功能概述：根据配置判断慢查询检测是否启用，以及耗时是否超过阈值
+     * @param {long} elapsedMs - SQL执行耗时（毫秒）
+     * @return {boolean} 需要记录返回true，否则返回false
+     */
+    // 判断是否需要记录方法，接收执行耗时参数
+    boolean isSlow(long elapsedMs);
+
+    /**
+     * 记录一次慢查询
+     * 功能概述：将慢查询放入环形缓冲区，更新最慢语句排行，并按需提交异步EXPLAIN任务；
+     * 记录中只保存参数的类型形态，参数值只在内存中交给EXPLAIN任务使用
+     * @param {String} statementId - MyBatis语句ID
+     * @param {String} commandType - SQL命令类型
+     * @param {String} sql - 实际执行的SQL文本
+     * @param {List<Object>} parameters - 按占位符顺序排列的绑定参数
+     * @param {long} elapsedMs - 执行耗时（毫秒）
+     */
+    // 记录慢查询方法，接收语句ID、命令类型、SQL、绑定参数和耗时
+    void record(String statementId, String commandType, String sql, List<Object> parameters, long elapsedMs);
+
+    /**
+     * 获取最近的慢查询
+     * 功能概述：按发生时间倒序返回环形缓冲区中的慢查询记录
+     * @return {List<SlowQueryRecord>} 返回最近的慢查询列表
+     */
+    // 获取最近慢查询方法
+    List<SlowQueryRecord> getRecentSlowQueries();
+
+    /**
+     * 获取最慢语句排行
+     * 功能概述：每个语句ID只保留耗时最长的一次记录（含执行计划），按耗时倒序返回
+     * @return {List<SlowQueryRecord>} 返回最慢语句排行列表
+     */
+    // 获取最慢语句排行方法
+    List<SlowQueryRecord> getWorstSlowQueries();
+
+    /**
+     * 获取慢查询统计概览
+     * 功能概述：返回阈值、累计慢查询次数、执行计划采集次数等统计信息
+     * @return {Map<String, Object>} 返回统计概览
+     */
+    // 获取慢查询统计概览方法
+    Map<String, Object> getSummary();
+
+    /**
+     * 清空慢查询记录
+     * 功能概述：清空环形缓冲区、最慢语句排行和执行计划采集时间记录
+     */
+    // 清空慢查询记录方法
+    void clear();
+}
@@ -1,6 +1,8 @@
 // 定义包路径，标识该接口属于com.icss.xihu.service包
 package com.icss.xihu.service;
 
+// 导入地区景点响应记录
+import com.icss.xihu.model.RegionAttractions;
 // 导入旅游目的地实体类
 import com.icss.xihu.model.TravelDestination;
 // 导入旅游推荐实体类
@@ -8,6 +10,10 @@ import com.icss.xihu.model.TravelRecommendation;
 // 导入旅游酒店实体类
 import com.icss.xihu.model.TravelHotel;
 
+// 导入IO异常类
+import java.io.IOException;
+// 导入输出流类
+import java.io.OutputStream;
 // 导入List集合接口
 import java.util.List;
 // 导入Map接口
@@ -118,12 +124,18 @@ public interface TravelService {
     /**
      * 根据省份获取该省份的所有景点信息
      */
-    Map<String, Object> getAttractionsByProvince(String province);
+    RegionAttractions getAttractionsByProvince(String province);
+
+    /**
+     * 以流式JSON写出省份的所有景点信息
+     * 功能概述：JSON结构与getAttractionsByProvince相同，景点列表边从数据库逐行读取边写出，不在内存中保留整个列表
+     */
+    void writeAttractionsByProvince(String province, OutputStream out) throws IOException;
 
     /**
      * 根据省份和城市获取景点信息
      */
-    Map<String, Object> getAttractionsByProvinceAndCity(String province, String city);
+    RegionAttractions getAttractionsByProvinceAndCity(String province, String city);
 
     /**
      * 模糊搜索景点 - 根据关键词搜索
@@ -55,7 +55,7 @@ public interface UnifiedOrderNewService {
 
     /**
      * 处理支付
-     * 功能概述：处理订单支付，更新统一订单状态，同步更新各模块订单状态
+     * 功能概述：处理订单支付，更新统一订单状态，并写入发件箱消息，提交后异步同步各模块订单状态和发送支付通知
      * @param orderNo 统一订单号
      * @param paymentMethod 支付方式（微信、支付宝、银行卡等）
      * @return 是否支付成功
@@ -83,6 +83,37 @@ public interface UnifiedOrderNewService {
     // 删除订单方法，接收订单号和用户ID参数
     boolean deleteOrder(String orderNo, Integer userId);
 
+    /**
+     * 批量取消订单
+     * 功能概述：一条IN查询锁定并校验这批订单的归属和状态，一条语句取消其中待支付的订单，各模块订单按类型批量同步，
+     * 整批在一个事务中执行；语句数与订单类型数成正比，与订单数无关
+     * @param orderNos 统一订单号列表（重复的订单号只处理一次）
+     * @param userId 用户ID（用于验证订单归属）
+     * @return 每个订单号一项结果，包含orderNo、success、message，顺序与请求一致
+     */
+    // 批量取消订单方法，接收订单号列表和用户ID参数
+    List<Map<String, Object>> cancelOrders(List<String> orderNos, Integer userId);
+
+    /**
+     * 批量删除订单
+     * 功能概述：一条IN查询锁定并校验这批订单的归属和状态，一条语句删除其中已取消的订单（不删除模块订单），整批在一个事务中执行
+     * @param orderNos 统一订单号列表（重复的订单号只处理一次）
+     * @param userId 用户ID（用于验证订单归属）
+     * @return 每个订单号一项结果，包含orderNo、success、message，顺序与请求一致
+     */
+    // 批量删除订单方法，接收订单号列表和用户ID参数
+    List<Map<String, Object>> deleteOrders(List<String> orderNos, Integer userId);
+
+    /**
+     * 取消一批已过期的待支付订单
+     * 功能概述：由订单过期服务调用，先锁定统一订单再锁定过期登记，只取消仍待支付且过期时间不晚于数据库当前时间的订单，
+     * 各模块订单按类型批量取消，整批在一个事务中执行；过期时间已被延长的订单不处理
+     * @param orderNos 统一订单号列表
+     * @return 实际取消的订单号
+     */
+    // 取消过期订单方法，接收订单号列表参数
+    List<String> expireOrders(List<String> orderNos);
+
     /**
      * 获取订单统计
      * 功能概述：获取用户的订单统计数据，包括订单总数、各状态订单数量等
@@ -49,29 +49,19 @@ public interface UnifiedOrderService {
     // 根据用户ID获取订单列表方法，接收用户编号、订单类型和支付状态参数，返回该用户的所有订单列表
     List<UnifiedOrder> getOrdersByUserId(Integer userId, String orderType, Integer paymentStatus);
 
-    /**
-     * 更新订单支付状态
-     * 功能概述：根据订单号更新统一订单的支付状态和支付方式
-     * @param {String} orderNo - 订单号
-     * @param {Integer} paymentStatus - 支付状态（0-待支付，1-已支付，2-已取消，3-已完成，4-已退款）
-     * @param {String} paymentMethod - 支付方式（如"微信"、"支付宝"等）
-     * @return {boolean} 返回是否更新成功（true-成功，false-失败）
-     */
-    // 更新订单支付状态方法，接收订单号、支付状态和支付方式参数，返回是否更新成功
-    boolean updatePaymentStatus(String orderNo, Integer paymentStatus, String paymentMethod);
-
     /**
      * 取消订单
-     * 功能概述：根据订单号取消统一订单（仅当订单状态为待支付时才能取消）
+     * 功能概述：根据订单号取消属于该用户的统一订单（仅当订单状态为待支付时才能取消），并同步取消各模块订单
      * @param {String} orderNo - 订单号
-     * @return {boolean} 返回是否取消成功（true-成功，false-失败）
+     * @param {Integer} userId - 用户编号
+     * @return {boolean} 返回是否取消成功（订单不存在、不属于该用户或不可取消时返回false）
      */
-    // 取消订单方法，接收订单号参数，返回是否取消成功
-    boolean cancelOrder(String orderNo);
+    // 取消订单方法，接收订单号和用户编号参数，返回是否取消成功
+    boolean cancelOrder(String orderNo, Integer userId);
 
     /**
      * 删除订单
-     * 功能概述：根据订单号和用户编号从数据库中物理删除统一订单记录
+     * 功能概述：根据订单号和用户编号从数据库中物理删除统一订单记录，只有已取消的订单可以删除
      * @param {String} orderNo - 订单号
      * @param {Integer} userId - 用户编号
      * @return {boolean} 返回是否删除成功（true-成功，false-失败）
@@ -0,0 +1,139 @@
+/**
+ * 用户统计服务接口
+ * 功能概述：维护按用户汇总的缴费统计和订单统计，统计接口按主键读取一行；账单和订单的状态变化在同一事务中累加计数，
+ * 定期校对任务修正计数与明细之间的偏差
+ */
+// 定义包路径，标识该接口属于com.icss.xihu.service包
+package com.icss.xihu.service;
+
+// 导入缴费账单实体类
+import com.icss.xihu.model.PaymentBill;
+
+// 导入Collection集合接口
+import java.util.Collection;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * 用户统计服务接口
+ * 功能概述：维护按用户汇总的缴费统计和订单统计，统计接口按主键读取一行；账单和订单的状态变化在同一事务中累加计数，
+ * 定期校对任务修正计数与明细之间的偏差
+ */
+// 用户统计服务接口，定义统计读取、计数累加和校对的方法
+public interface UserStatsService {
+
+    /**
+     * 获取用户缴费统计
+     * 功能概述：按主键读取一行，统计行不存在时返回账单明细的汇总结果，统计行由校对补建；字段与原来的汇总查询一致
+     * @param {Integer} userId - 用户编号
+     * @return {Map<String, Object>} 返回totalBills、unpaidBills、paidBills、overdueBills、totalPaidAmount、totalUnpaidAmount
+     */
+    // 获取用户缴费统计方法
+    Map<String, Object> getPaymentStats(Integer userId);
+
+    /**
+     * 获取用户订单统计
+     * 功能概述：按主键读取一行，统计行不存在时返回订单明细的汇总结果，统计行由校对补建；字段与原来的汇总查询一致
+     * @param {Integer} userId - 用户编号
+     * @return {Map<String, Object>} 返回total、unpaid、paid、cancelled、completed
+     */
+    // 获取用户订单统计方法
+    Map<String, Object> getOrderStats(Integer userId);
+
+    /**
+     * 计入新建的账单
+     * 功能概述：在插入账单的事务中调用，按用户合并后一条语句累加
+     * @param {List<PaymentBill>} bills - 新建的账单，需要包含userId、billAmount、billStatus
+     */
+    // 计入新建的账单方法
+    void billsCreated(List<PaymentBill> bills);
+
+    /**
+     * 计入账单的状态变化
+     * 功能概述：在更新账单状态的事务中调用，账单需已加锁并包含变化前的状态，按用户合并后一条语句累加
+     * @param {List<PaymentBill>} bills - 状态变化的账单，需要包含userId、billAmount和变化前的billStatus
+     * @param {int} newStatus - 变化后的状态
+     */
+    // 计入账单的状态变化方法
+    void billsChanged(List<PaymentBill> bills, int newStatus);
+
+    /**
+     * 作废一批用户的缴费统计
+     * 功能概述：无法确定增量时调用，删除统计行，下一轮校对时从明细重建
+     * @param {Collection<Integer>} userIds - 用户编号
+     */
+    // 作废一批用户的缴费统计方法
+    void invalidatePaymentStats(Collection<Integer> userIds);
+
+    /**
+     * 计入新建的订单
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} status - 订单状态
+     */
+    // 计入新建的订单方法
+    void orderCreated(Integer userId, Integer status);
+
+    /**
+     * 计入订单的状态变化
+     * 功能概述：在更新订单状态的事务中调用，订单需已加锁，变化前的状态才可靠
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} fromStatus - 变化前的状态
+     * @param {Integer} toStatus - 变化后的状态
+     */
+    // 计入订单的状态变化方法
+    void orderStatusChanged(Integer userId, Integer fromStatus, Integer toStatus);
+
+    /**
+     * 计入删除的订单
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} status - 删除前的状态
+     */
+    // 计入删除的订单方法
+    void orderDeleted(Integer userId, Integer status);
+
+    /**
+     * 计入同一用户一批订单的状态变化
+     * 功能概述：批量取消等操作使用，合并后一条语句累加；订单需已加锁
+     * @param {Integer} userId - 用户编号
+     * @param {List<Integer>} fromStatuses - 各订单变化前的状态
+     * @param {Integer} toStatus - 变化后的状态
+     */
+    // 计入一批订单的状态变化方法
+    void ordersStatusChanged(Integer userId, List<Integer> fromStatuses, Integer toStatus);
+
+    /**
+     * 计入同一用户删除的一批订单
+     * 功能概述：批量删除使用，合并后一条语句累加
+     * @param {Integer} userId - 用户编号
+     * @param {List<Integer>} statuses - 各订单删除前的状态
+     */
+    // 计入删除的一批订单方法
+    void ordersDeleted(Integer userId, List<Integer> statuses);
+
+    /**
+     * 在后台启动一轮校对
+     * 功能概述：立即返回，不等待校对完成；已有校对在执行时不重复启动
+     * @param {String} trigger - 触发来源（如schedule、admin）
+     * @return {boolean} 已启动返回true，已有校对在执行返回false
+     */
+    // 在后台启动校对方法
+    boolean startReconcile(String trigger);
+
+    /**
+     * 在当前线程执行一轮校对
+     * 功能概述：先为有明细但没有统计行的用户补建统计行，再按用户编号分段比较统计行与明细，不一致的用户从明细重建；多实例部署时由调度租约保证只有一个实例在校对
+     * @param {String} trigger - 触发来源
+     * @return {Map<String, Object>} 返回检查的用户数、修正的用户数和耗时
+     */
+    // 执行校对方法
+    Map<String, Object> reconcile(String trigger);
+
+    /**
+     * 获取统计信息
+     * @return {Map<String, Object>} 返回统计表是否可用、读取时汇总次数、补建行数、校对进度和上一轮校对结果
+     */
+    // 获取统计信息方法
+    Map<String, Object> getStats();
+}
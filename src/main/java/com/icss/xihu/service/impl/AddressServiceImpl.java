@@ -1,54 +1,153 @@
 /**
  * 地址服务实现类
- * 功能概述：实现AddressService接口，提供地址相关的业务逻辑实现，包括查询所有省份、根据省ID查询城市等
+ * 功能概述：实现AddressService接口，把address表一次性加载为内存中的不可变地址层级树，
+ * 省份、城市列表和名称到编号的解析都直接读取该树，不再访问数据库
  */
 // 定义包路径，标识该类属于com.icss.xihu.service.impl包
 package com.icss.xihu.service.impl;
 
+// 导入目录数据变更事件
+import com.icss.xihu.cache.CatalogChangedEvent;
+// 导入读库查询注解
+import com.icss.xihu.config.ReadReplica;
 // 导入地址Mapper接口
 import com.icss.xihu.mapper.AddressMapper;
 // 导入地址实体类
 import com.icss.xihu.model.Address;
 // 导入地址服务接口
 import com.icss.xihu.service.AddressService;
+// 导入地址层级树
+import com.icss.xihu.util.AddressTree;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的事件发布接口
+import org.springframework.context.ApplicationEventPublisher;
 // 导入Spring的服务注解，标识该类为服务层组件
 import org.springframework.stereotype.Service;
 
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Collections工具类
+import java.util.Collections;
+// 导入HashMap类
+import java.util.HashMap;
 // 导入List集合接口
 import java.util.List;
+// 导入Map接口
+import java.util.Map;
 
 /**
  * 地址服务实现类
- * 功能概述：实现AddressService接口，提供地址相关的业务逻辑实现，包括查询所有省份、根据省ID查询城市等
+ * 功能概述：实现AddressService接口，把address表一次性加载为内存中的不可变地址层级树，
+ * 省份、城市列表和名称到编号的解析都直接读取该树，不再访问数据库
  */
 // 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
 @Service
+// 目录类查询，不在读写事务中时走读库
+@ReadReplica
 // 地址服务实现类，实现AddressService接口
 public class AddressServiceImpl implements AddressService {
 
+    // 前缀搜索最多返回数量
+    private static final int MAX_PREFIX_LIMIT = 50;
+    // 不在省份列表中展示的地区名称
+    private static final String FOREIGN = "国外";
+
     // 自动注入地址Mapper，Spring容器会自动查找并注入AddressMapper的实现类
     @Autowired
     // 地址Mapper对象，用于调用数据库操作方法
     private AddressMapper addressMapper;
 
+    // 自动注入事件发布器
+    @Autowired
+    // 事件发布器对象，地址层级树重新加载后发布目录数据变更事件
+    private ApplicationEventPublisher eventPublisher;
+
+    // 当前的地址层级树，重新加载时整体替换，读取方无需加锁
+    private volatile AddressTree tree;
+
+    /**
+     * 获取地址层级树
+     * 功能概述：返回当前的地址层级树，尚未加载时加锁加载一次，避免并发请求重复整表读取
+     * @return {AddressTree} 返回地址层级树
+     */
+    // 重写接口中的getAddressTree方法
+    @Override
+    // 获取地址层级树方法
+    public AddressTree getAddressTree() {
+        // 读取当前的地址层级树
+        AddressTree current = tree;
+        // 已加载时直接返回
+        if (current != null) {
+            // 返回地址层级树
+            return current;
+        }
+        // 加锁，只允许一个线程加载
+        synchronized (this) {
+            // 再次检查，其他线程可能已加载完成
+            if (tree == null) {
+                // 整表读取并构建地址层级树
+                tree = AddressTree.build(addressMapper.selectAll());
+            }
+            // 返回地址层级树
+            return tree;
+        }
+    }
+
+    /**
+     * 重新加载地址层级树
+     * 功能概述：重新读取address表构建新树后整体替换，替换前的读取方继续使用旧树，
+     * 替换后发布地址变更事件，使由地址数据生成的缓存响应重新生成
+     * @return {int} 返回加载的地址节点数量
+     */
+    // 重写接口中的reloadAddressTree方法
+    @Override
+    // 重新加载地址层级树方法
+    public int reloadAddressTree() {
+        // 整表读取并构建新的地址层级树
+        AddressTree fresh = AddressTree.build(addressMapper.selectAll());
+        // 加锁替换，与首次加载互斥
+        synchronized (this) {
+            // 替换地址层级树
+            tree = fresh;
+        }
+        // 发布地址变更事件
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.ADDRESS));
+        // 返回节点数量
+        return fresh.size();
+    }
+
     /**
      * 查询所有省份
-     * 功能概述：调用Mapper层方法，查询所有省份信息
+     * 功能概述：从地址层级树中获取所有省份，返回字段与原数据库查询一致（province、id、name）
      * @return {List<Address>} 返回所有省份的列表
      */
     // 重写接口中的getProvinces方法
     @Override
     // 查询所有省份方法，返回所有省份的列表
     public List<Address> getProvinces() {
-        // 调用Mapper层的selectProvinces方法，查询所有省份信息并返回
-        return addressMapper.selectProvinces();
+        // 结果列表
+        List<Address> result = new ArrayList<>();
+        // 遍历省级节点
+        for (AddressTree.Node node : getAddressTree().getProvinces()) {
+            // 创建地址对象（每次新建，调用方修改不影响内存树）
+            Address address = new Address();
+            // 设置省份编号
+            address.setId(node.getId());
+            // 设置全称
+            address.setName(node.getName());
+            // 设置省份名称（扩展名称）
+            address.setProvince(node.getExtName());
+            // 加入结果
+            result.add(address);
+        }
+        // 返回结果
+        return result;
     }
 
     /**
      * 根据省ID查询城市
-     * 功能概述：调用Mapper层方法，根据省份编号查询该省份下的所有城市信息
+     * 功能概述：从地址层级树中获取省份下的所有城市，返回字段与原数据库查询一致（city、id、name）
      * @param {Integer} provinceId - 省份编号
      * @return {List<Address>} 返回该省份下的所有城市列表
      */
@@ -56,7 +155,182 @@ public class AddressServiceImpl implements AddressService {
     @Override
     // 根据省ID查询城市方法，接收省份编号参数，返回该省份下的所有城市列表
     public List<Address> getCitiesByProvinceId(Integer provinceId) {
-        // 调用Mapper层的selectCitiesByProvinceId方法，根据省份编号查询该省份下的所有城市信息并返回
-        return addressMapper.selectCitiesByProvinceId(provinceId);
+        // 结果列表
+        List<Address> result = new ArrayList<>();
+        // 省份编号为空时返回空列表
+        if (provinceId == null) {
+            // 返回空列表
+            return result;
+        }
+        // 遍历子节点
+        for (AddressTree.Node node : getAddressTree().getChildren(provinceId.longValue())) {
+            // 只返回市级且扩展名称不为空的节点
+            if (node.getDeep() != 1 || node.getExtName().isEmpty()) {
+                // 跳过
+                continue;
+            }
+            // 创建地址对象
+            Address address = new Address();
+            // 设置城市编号
+            address.setId(node.getId());
+            // 设置全称
+            address.setName(node.getName());
+            // 设置城市名称（扩展名称）
+            address.setCity(node.getExtName());
+            // 加入结果
+            result.add(address);
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 查询所有省份名称
+     * 功能概述：从地址层级树中获取所有省份的扩展名称，排除"国外"
+     * @return {List<String>} 返回省份名称列表
+     */
+    // 重写接口中的getProvinceNames方法
+    @Override
+    // 查询所有省份名称方法
+    public List<String> getProvinceNames() {
+        // 结果列表
+        List<String> result = new ArrayList<>();
+        // 遍历省级节点（已按扩展名称排序）
+        for (AddressTree.Node node : getAddressTree().getProvinces()) {
+            // 排除"国外"，且同名省份只保留一个
+            if (!FOREIGN.equals(node.getExtName()) && !result.contains(node.getExtName())) {
+                // 加入结果
+                result.add(node.getExtName());
+            }
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 根据省份名称查询城市名称
+     * 功能概述：在地址层级树中找到省份后读取其市级子节点的扩展名称
+     * @param {String} province - 省份名称（扩展名称或全称）
+     * @return {List<String>} 返回城市名称列表，省份不存在时返回空列表
+     */
+    // 重写接口中的getCityNames方法
+    @Override
+    // 根据省份名称查询城市名称方法
+    public List<String> getCityNames(String province) {
+        // 获取地址层级树
+        AddressTree current = getAddressTree();
+        // 查找省份编号
+        Long provinceId = current.findProvinceId(province);
+        // 省份不存在时返回空列表
+        if (provinceId == null) {
+            // 返回空列表
+            return new ArrayList<>();
+        }
+        // 结果列表
+        List<String> result = new ArrayList<>();
+        // 遍历子节点（已按扩展名称排序）
+        for (AddressTree.Node node : current.getChildren(provinceId)) {
+            // 只返回市级且扩展名称不为空的节点，同名城市只保留一个
+            if (node.getDeep() == 1 && !node.getExtName().isEmpty() && !result.contains(node.getExtName())) {
+                // 加入结果
+                result.add(node.getExtName());
+            }
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 根据省份名称查找省份编号
+     * @param {String} province - 省份名称（扩展名称或全称）
+     * @return {Long} 返回省份编号，不存在时返回null
+     */
+    // 重写接口中的findProvinceId方法
+    @Override
+    // 根据省份名称查找省份编号方法
+    public Long findProvinceId(String province) {
+        // 在地址层级树中查找
+        return getAddressTree().findProvinceId(province);
+    }
+
+    /**
+     * 根据城市名称查找城市编号
+     * 功能概述：省份编号不为空时只在该省份下查找，否则返回所有同名市级地区的编号
+     * @param {Long} provinceId - 省份编号，可为null
+     * @param {String} city - 城市名称（扩展名称或全称）
+     * @return {List<Long>} 返回城市编号列表，不存在时返回空列表
+     */
+    // 重写接口中的findCityIds方法
+    @Override
+    // 根据城市名称查找城市编号方法
+    public List<Long> findCityIds(Long provinceId, String city) {
+        // 城市名称为空时返回空列表
+        if (city == null || city.isBlank()) {
+            // 返回空列表
+            return new ArrayList<>();
+        }
+        // 获取地址层级树
+        AddressTree current = getAddressTree();
+        // 未指定省份时按名称查找所有市级地区
+        if (provinceId == null) {
+            // 返回同名城市编号
+            return current.findIdsByName(city, 1);
+        }
+        // 在省份下查找城市编号
+        Long cityId = current.findChildId(provinceId, city);
+        // 找到时返回单元素列表，否则返回空列表
+        return cityId == null ? new ArrayList<>() : new ArrayList<>(Collections.singletonList(cityId));
+    }
+
+    /**
+     * 查找名称包含关键词的地区编号
+     * @param {String} keyword - 关键词
+     * @param {int} deep - 层级，0=省，1=市
+     * @return {List<Long>} 返回地区编号列表
+     */
+    // 重写接口中的findRegionIdsContaining方法
+    @Override
+    // 查找名称包含关键词的地区编号方法
+    public List<Long> findRegionIdsContaining(String keyword, int deep) {
+        // 在地址层级树中查找
+        return getAddressTree().findIdsContaining(keyword, deep);
+    }
+
+    /**
+     * 按前缀搜索地区
+     * 功能概述：在地址层级树的有序名称索引中按前缀搜索，返回编号、名称、层级和完整路径
+     * @param {String} prefix - 名称前缀
+     * @param {int} limit - 最多返回数量，超出范围时取1到50之间
+     * @return {List<Map<String, Object>>} 返回匹配的地区列表
+     */
+    // 重写接口中的searchByPrefix方法
+    @Override
+    // 按前缀搜索地区方法
+    public List<Map<String, Object>> searchByPrefix(String prefix, int limit) {
+        // 获取地址层级树
+        AddressTree current = getAddressTree();
+        // 结果列表
+        List<Map<String, Object>> result = new ArrayList<>();
+        // 遍历匹配的节点
+        for (AddressTree.Node node : current.searchByPrefix(prefix, Math.max(1, Math.min(limit, MAX_PREFIX_LIMIT)))) {
+            // 创建结果Map
+            Map<String, Object> item = new HashMap<>();
+            // 地区编号
+            item.put("id", node.getId());
+            // 父级编号
+            item.put("pid", node.getPid());
+            // 层级
+            item.put("deep", node.getDeep());
+            // 全称
+            item.put("name", node.getName());
+            // 扩展名称
+            item.put("extName", node.getExtName());
+            // 完整路径
+            item.put("path", current.getPath(node));
+            // 加入结果
+            result.add(item);
+        }
+        // 返回结果
+        return result;
     }
 }
@@ -0,0 +1,332 @@
+/**
+ * 景点服务实现类
+ * 功能概述：实现AttractionService接口，景点基础信息（含一对一的分类）一次查询，
+ * 一对多的图片、标签、推荐按IN (ids)各查询一次后在内存中拼装，避免多个一对多LEFT JOIN产生的笛卡尔积
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入景点Mapper接口
+import com.icss.xihu.mapper.AttractionMapper;
+// 导入景点实体类
+import com.icss.xihu.model.Attraction;
+// 导入景点图片实体类
+import com.icss.xihu.model.AttractionImage;
+// 导入景点推荐实体类
+import com.icss.xihu.model.AttractionRecommendation;
+// 导入景点标签实体类
+import com.icss.xihu.model.AttractionTag;
+// 导入景点服务接口
+import com.icss.xihu.service.AttractionService;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Objects工具类
+import java.util.Objects;
+// 导入TreeSet类，用于结果一致性校验时对子记录编号排序
+import java.util.TreeSet;
+
+/**
+ * 景点服务实现类
+ * 功能概述：实现AttractionService接口，景点基础信息（含一对一的分类）一次查询，
+ * 一对多的图片、标签、推荐按IN (ids)各查询一次后在内存中拼装，避免多个一对多LEFT JOIN产生的笛卡尔积
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 景点服务实现类，实现AttractionService接口
+public class AttractionServiceImpl implements AttractionService {
+
+    // 每次IN查询的最大景点数量，避免SQL过长和超出max_allowed_packet
+    private static final int BATCH_SIZE = 500;
+
+    // 自动注入景点Mapper，Spring容器会自动查找并注入AttractionMapper的实现类
+    @Autowired
+    // 景点Mapper对象，用于调用数据库操作方法
+    private AttractionMapper attractionMapper;
+
+    /**
+     * 获取带完整信息的景点列表
+     * 功能概述：查询所有有效景点基础信息，再批量加载图片、标签和推荐信息
+     * @return {List<Attraction>} 返回带完整信息的景点列表
+     */
+    // 重写接口中的getAttractionsWithDetails方法
+    @Override
+    // 获取带完整信息的景点列表方法
+    public List<Attraction> getAttractionsWithDetails() {
+        // 查询景点基础信息
+        List<Attraction> attractions = attractionMapper.getAttractionBases();
+        // 批量加载关联信息
+        loadDetails(attractions);
+        // 返回景点列表
+        return attractions;
+    }
+
+    /**
+     * 根据省份获取景点列表（含完整信息）
+     * 功能概述：查询该省份下的有效景点基础信息，再批量加载图片、标签和推荐信息
+     * @param {String} province - 省份名称
+     * @return {List<Attraction>} 返回该省份下的景点列表
+     */
+    // 重写接口中的getAttractionsByProvince方法
+    @Override
+    // 根据省份获取景点列表方法，接收省份名称参数
+    public List<Attraction> getAttractionsByProvince(String province) {
+        // 查询该省份的景点基础信息
+        List<Attraction> attractions = attractionMapper.getAttractionBasesByProvince(province);
+        // 批量加载关联信息
+        loadDetails(attractions);
+        // 返回景点列表
+        return attractions;
+    }
+
+    /**
+     * 根据省份和城市获取景点列表（含完整信息）
+     * 功能概述：查询该地区的有效景点基础信息，再批量加载图片、标签和推荐信息
+     * @param {String} province - 省份名称
+     * @param {String} city - 城市名称
+     * @return {List<Attraction>} 返回该地区的景点列表
+     */
+    // 重写接口中的getAttractionsByProvinceAndCity方法
+    @Override
+    // 根据省份和城市获取景点列表方法，接收省份和城市名称参数
+    public List<Attraction> getAttractionsByProvinceAndCity(String province, String city) {
+        // 查询该地区的景点基础信息
+        List<Attraction> attractions = attractionMapper.getAttractionBasesByProvinceAndCity(province, city);
+        // 批量加载关联信息
+        loadDetails(attractions);
+        // 返回景点列表
+        return attractions;
+    }
+
+    /**
+     * 批量加载景点的关联信息
+     * 功能概述：按景点编号建立索引，分批执行三条IN查询，把图片、标签、推荐归属到对应景点，
+     * 景点原有顺序保持不变，没有关联数据的景点得到空列表
+     * @param {List<Attraction>} attractions - 景点基础信息列表
+     * @return {int} 返回从数据库加载的子表行数
+     */
+    // 重写接口中的loadDetails方法
+    @Override
+    // 批量加载景点关联信息方法
+    public int loadDetails(List<Attraction> attractions) {
+        // 景点列表为空时不需要查询
+        if (attractions == null || attractions.isEmpty()) {
+            // 返回0行
+            return 0;
+        }
+        // 按景点编号建立索引，LinkedHashMap保持查询结果的顺序
+        Map<Long, Attraction> byId = new LinkedHashMap<>();
+        // 遍历景点列表
+        for (Attraction attraction : attractions) {
+            // 初始化图片列表
+            attraction.setImages(new ArrayList<>());
+            // 初始化标签列表
+            attraction.setTags(new ArrayList<>());
+            // 初始化推荐列表
+            attraction.setRecommendations(new ArrayList<>());
+            // 以景点编号为键放入索引
+            byId.put(attraction.getId(), attraction);
+        }
+        // 加载的子表行数
+        int rows = 0;
+        // 所有景点编号
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        // 按批次遍历景点编号
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            // 截取当前批次
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            // 批量查询图片
+            List<AttractionImage> images = attractionMapper.getImagesByAttractionIds(batch);
+            // 遍历图片
+            for (AttractionImage image : images) {
+                // 找到图片所属景点
+                Attraction owner = byId.get(image.getAttractionId());
+                // 景点存在时加入其图片列表
+                if (owner != null) {
+                    // 添加图片
+                    owner.getImages().add(image);
+                }
+            }
+            // 批量查询标签
+            List<AttractionTag> tags = attractionMapper.getTagsByAttractionIds(batch);
+            // 遍历标签
+            for (AttractionTag tag : tags) {
+                // 找到标签所属景点
+                Attraction owner = byId.get(tag.getAttractionId());
+                // 景点存在时加入其标签列表
+                if (owner != null) {
+                    // 添加标签
+                    owner.getTags().add(tag);
+                }
+            }
+            // 批量查询推荐信息
+            List<AttractionRecommendation> recommendations = attractionMapper.getRecommendationsByAttractionIds(batch);
+            // 遍历推荐信息
+            for (AttractionRecommendation recommendation : recommendations) {
+                // 找到推荐信息所属景点
+                Attraction owner = byId.get(recommendation.getAttractionId());
+                // 景点存在时加入其推荐列表
+                if (owner != null) {
+                    // 添加推荐信息
+                    owner.getRecommendations().add(recommendation);
+                }
+            }
+            // 累加本批次加载的行数
+            rows += images.size() + tags.size() + recommendations.size();
+        }
+        // 返回加载的子表行数
+        return rows;
+    }
+
+    /**
+     * 景点详情加载基准对比
+     * 功能概述：两种方案各执行指定轮数，统计平均耗时、最大耗时和传输行数，
+     * 并逐个景点比较图片、标签、推荐编号集合，确认批量加载结果与旧版连查一致
+     * @param {int} rounds - 每种方案的执行轮数
+     * @return {Map<String, Object>} 返回对比结果
+     */
+    // 重写接口中的benchmarkDetailLoading方法
+    @Override
+    // 景点详情加载基准对比方法
+    public Map<String, Object> benchmarkDetailLoading(int rounds) {
+        // 轮数限制在1到50之间，避免误操作压垮数据库
+        int n = Math.max(1, Math.min(rounds, 50));
+        // 先各执行一次作为预热，同时用于结果一致性校验
+        List<Attraction> joined = attractionMapper.getAttractionsWithDetailsJoined();
+        // 批量加载方案的景点基础信息
+        List<Attraction> batched = attractionMapper.getAttractionBases();
+        // 批量加载关联信息，记录子表行数
+        int childRows = loadDetails(batched);
+
+        // 旧版连查累计耗时（纳秒）
+        long joinedTotal = 0;
+        // 旧版连查最大耗时（纳秒）
+        long joinedMax = 0;
+        // 批量加载累计耗时（纳秒）
+        long batchedTotal = 0;
+        // 批量加载最大耗时（纳秒）
+        long batchedMax = 0;
+        // 循环执行指定轮数
+        for (int i = 0; i < n; i++) {
+            // 记录开始时间
+            long start = System.nanoTime();
+            // 执行旧版连查
+            attractionMapper.getAttractionsWithDetailsJoined();
+            // 计算本轮耗时
+            long elapsed = System.nanoTime() - start;
+            // 累加耗时
+            joinedTotal += elapsed;
+            // 更新最大耗时
+            joinedMax = Math.max(joinedMax, elapsed);
+
+            // 记录开始时间
+            start = System.nanoTime();
+            // 执行批量加载方案
+            getAttractionsWithDetails();
+            // 计算本轮耗时
+            elapsed = System.nanoTime() - start;
+            // 累加耗时
+            batchedTotal += elapsed;
+            // 更新最大耗时
+            batchedMax = Math.max(batchedMax, elapsed);
+        }
+
+        // 旧版连查传输的行数
+        long joinedRows = attractionMapper.countAttractionsWithDetailsJoinedRows();
+        // 批量加载方案传输的行数（基础行 + 子表行）
+        long batchedRows = batched.size() + (long) childRows;
+        // 批量加载方案执行的SQL条数（1条基础查询 + 每批3条IN查询）
+        int batches = (batched.size() + BATCH_SIZE - 1) / BATCH_SIZE;
+
+        // 创建旧版连查结果Map
+        Map<String, Object> joinedResult = new LinkedHashMap<>();
+        // SQL条数
+        joinedResult.put("statements", 1);
+        // 传输行数
+        joinedResult.put("rows", joinedRows);
+        // 平均耗时（毫秒）
+        joinedResult.put("avgMs", joinedTotal / n / 1_000_000.0);
+        // 最大耗时（毫秒）
+        joinedResult.put("maxMs", joinedMax / 1_000_000.0);
+
+        // 创建批量加载结果Map
+        Map<String, Object> batchedResult = new LinkedHashMap<>();
+        // SQL条数
+        batchedResult.put("statements", 1 + batches * 3);
+        // 传输行数
+        batchedResult.put("rows", batchedRows);
+        // 平均耗时（毫秒）
+        batchedResult.put("avgMs", batchedTotal / n / 1_000_000.0);
+        // 最大耗时（毫秒）
+        batchedResult.put("maxMs", batchedMax / 1_000_000.0);
+
+        // 创建对比结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 执行轮数
+        result.put("rounds", n);
+        // 景点数量
+        result.put("attractions", batched.size());
+        // 旧版连查结果
+        result.put("joined", joinedResult);
+        // 批量加载结果
+        result.put("batched", batchedResult);
+        // 行数放大倍数（旧版行数 / 批量加载行数）
+        result.put("rowAmplification", batchedRows == 0 ? 0 : (double) joinedRows / batchedRows);
+        // 两种方案结果是否一致
+        result.put("consistent", fingerprint(joined).equals(fingerprint(batched)));
+        // 返回对比结果
+        return result;
+    }
+
+    /**
+     * 生成景点列表的结果指纹
+     * 功能概述：对每个景点记录其图片、标签、推荐的编号集合（排序后），用于比较两种加载方案的结果是否一致
+     * @param {List<Attraction>} attractions - 景点列表
+     * @return {Map<Long, String>} 返回景点编号到关联编号集合的映射
+     */
+    // 生成结果指纹方法
+    private Map<Long, String> fingerprint(List<Attraction> attractions) {
+        // 创建指纹Map
+        Map<Long, String> result = new HashMap<>();
+        // 遍历景点列表
+        for (Attraction attraction : attractions) {
+            // 图片编号集合
+            TreeSet<Long> imageIds = new TreeSet<>();
+            // 景点有图片时收集编号
+            if (attraction.getImages() != null) {
+                // 遍历图片
+                attraction.getImages().stream().map(AttractionImage::getId).filter(Objects::nonNull).forEach(imageIds::add);
+            }
+            // 标签编号集合
+            TreeSet<Long> tagIds = new TreeSet<>();
+            // 景点有标签时收集编号
+            if (attraction.getTags() != null) {
+                // 遍历标签
+                attraction.getTags().stream().map(AttractionTag::getId).filter(Objects::nonNull).forEach(tagIds::add);
+            }
+            // 推荐编号集合
+            TreeSet<Long> recommendationIds = new TreeSet<>();
+            // 景点有推荐信息时收集编号
+            if (attraction.getRecommendations() != null) {
+                // 遍历推荐信息
+                attraction.getRecommendations().stream().map(AttractionRecommendation::getId).filter(Objects::nonNull).forEach(recommendationIds::add);
+            }
+            // 记录该景点的指纹
+            result.put(attraction.getId(), imageIds + "|" + tagIds + "|" + recommendationIds);
+        }
+        // 返回指纹Map
+        return result;
+    }
+}
@@ -0,0 +1,414 @@
+/**
+ * 账单到期时间轮服务实现类
+ * 功能概述：实现BillDueWheelService接口，用分层时间轮登记未来若干天内到期的待缴费账单，到期时刻为到期日期次日零点，
+ * 推进时钟时把到期的账单按批次交给PaymentService在短事务中更新为逾期并发布账单逾期事件，
+ * 账单状态在到期时刻就是最新的，按状态查询账单时不再需要按当前日期判断
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入生活缴费Mapper接口
+import com.icss.xihu.mapper.PaymentMapper;
+// 导入缴费账单实体类
+import com.icss.xihu.model.PaymentBill;
+// 导入账单到期时间轮服务接口
+import com.icss.xihu.service.BillDueWheelService;
+// 导入生活缴费服务接口
+import com.icss.xihu.service.PaymentService;
+// 导入分层时间轮
+import com.icss.xihu.util.HierarchicalTimerWheel;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+
+// 导入LocalDate类，用于表示日期
+import java.time.LocalDate;
+// 导入LocalDateTime类，用于表示日期和时间
+import java.time.LocalDateTime;
+// 导入ZoneId类，用于把日期换算为时间戳
+import java.time.ZoneId;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Set接口
+import java.util.Set;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+// 导入并发队列
+import java.util.concurrent.ConcurrentLinkedQueue;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 账单到期时间轮服务实现类
+ * 功能概述：实现BillDueWheelService接口，用分层时间轮登记未来若干天内到期的待缴费账单，到期时刻为到期日期次日零点，
+ * 推进时钟时把到期的账单按批次交给PaymentService在短事务中更新为逾期并发布账单逾期事件；
+ * 每次装载前先把已过到期时刻的待缴费账单更新为逾期（如停机期间到期的账单），
+ * 账单状态在到期时刻就是最新的，按状态查询账单时不再需要按当前日期判断
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 账单到期时间轮服务实现类，实现BillDueWheelService接口
+public class BillDueWheelServiceImpl implements BillDueWheelService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(BillDueWheelServiceImpl.class);
+
+    // 账单逾期事件中的触发来源
+    private static final String SOURCE = "due-wheel";
+    // 时间轮每层的格数
+    private static final int WHEEL_SIZE = 60;
+    // 装载时每批读取的账单数
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    // 自动注入生活缴费Mapper
+    @Autowired
+    // 生活缴费Mapper对象，用于装载即将到期的账单
+    private PaymentMapper paymentMapper;
+
+    // 自动注入生活缴费服务
+    @Autowired
+    // 生活缴费服务对象，用于在短事务中更新逾期账单并发布账单逾期事件
+    private PaymentService paymentService;
+
+    // 装载未来多少天内到期的账单，默认7天
+    @Value("${bill-due-wheel.horizon-days:7}")
+    // 装载天数字段
+    private int horizonDays;
+
+    // 时间轮第一层每格的毫秒数，也是推进时钟的间隔，默认1000
+    @Value("${bill-due-wheel.tick-ms:1000}")
+    // 每格毫秒数字段
+    private long tickMs;
+
+    // 每批更新的账单数，默认200
+    @Value("${bill-due-wheel.batch-size:200}")
+    // 每批账单数字段
+    private int batchSize;
+
+    // 分层时间轮，条目为待到期的账单
+    private HierarchicalTimerWheel<DueBill> wheel;
+    // 已登记（尚未处理）的账单编号，避免重复登记
+    private final Set<Integer> scheduledIds = ConcurrentHashMap.newKeySet();
+    // 已到期、等待更新的账单
+    private final ConcurrentLinkedQueue<DueBill> dueBills = new ConcurrentLinkedQueue<>();
+    // 已装载到的到期日期（含），为null表示尚未装载
+    private volatile LocalDate loadedUntil;
+    // 上一次装载的结果
+    private volatile Map<String, Object> lastReload;
+    // 上一次更新失败的错误信息
+    private volatile String lastError;
+
+    // 累计登记的账单数
+    private final LongAdder scheduledCount = new LongAdder();
+    // 累计到期的账单数
+    private final LongAdder firedCount = new LongAdder();
+    // 累计实际变为逾期的账单数
+    private final LongAdder overdueCount = new LongAdder();
+    // 累计更新批次数
+    private final LongAdder batchCount = new LongAdder();
+    // 累计失败批次数
+    private final LongAdder failureCount = new LongAdder();
+
+    /**
+     * 创建时间轮
+     * 功能概述：时间轮从当前时间开始计时，第一层每格tickMs毫秒
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 创建时间轮方法
+    public void init() {
+        // 创建时间轮
+        wheel = new HierarchicalTimerWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    // 登记到时间轮，已过到期时刻的直接放入待更新队列
+    private boolean register(DueBill bill) {
+        // 已登记时跳过
+        if (!scheduledIds.add(bill.billId())) {
+            // 返回未登记
+            return false;
+        }
+        // 登记数加1
+        scheduledCount.increment();
+        // 登记到时间轮，已到期时放入待更新队列
+        if (!wheel.add(dueInstant(bill.dueDate()), bill)) {
+            // 放入待更新队列
+            dueBills.add(bill);
+            // 到期数加1
+            firedCount.increment();
+        }
+        // 返回已登记
+        return true;
+    }
+
+    /**
+     * 装载即将到期的账单
+     * 功能概述：先把到期日期早于今天、仍为待缴费的账单立即更新为逾期，使应用停机期间到期的账单不必等到凌晨的逾期扫描；
+     * 再按(bill_status, due_date, id)索引分批读取到期日期在今天到今天加装载天数之间的待缴费账单并登记，已登记的账单跳过
+     * @return {Map<String, Object>} 返回补齐的逾期账单数、装载范围、读取数和新登记数
+     */
+    // 重写接口中的reload方法
+    @Override
+    // 装载即将到期的账单方法
+    public Map<String, Object> reload() {
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 今天
+        LocalDate today = LocalDate.now();
+        // 装载范围的上限
+        LocalDate to = today.plusDays(horizonDays);
+        // 先补齐已过到期时刻的账单
+        int caughtUp = markPastDue(today);
+        // 记录装载范围
+        loadedUntil = to;
+        // 游标的到期日期
+        LocalDate afterDueDate = null;
+        // 游标的账单编号
+        Integer afterId = null;
+        // 读取数
+        int scanned = 0;
+        // 新登记数
+        int added = 0;
+        // 分批读取
+        while (true) {
+            // 读取下一批
+            List<PaymentBill> chunk = paymentMapper.findPendingBillChunk(today, to, afterDueDate, afterId, LOAD_CHUNK_SIZE);
+            // 遍历本批账单
+            for (PaymentBill bill : chunk) {
+                // 登记成功时计数
+                if (register(new DueBill(bill.getId(), bill.getDueDate()))) {
+                    // 新登记数加1
+                    added++;
+                }
+            }
+            // 累加读取数
+            scanned += chunk.size();
+            // 不足一整批说明已到末尾
+            if (chunk.size() < LOAD_CHUNK_SIZE) {
+                // 跳出循环
+                break;
+            }
+            // 本批最后一条账单作为新的游标
+            PaymentBill last = chunk.get(chunk.size() - 1);
+            // 游标的到期日期
+            afterDueDate = last.getDueDate();
+            // 游标的账单编号
+            afterId = last.getId();
+        }
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 补齐的逾期账单数
+        result.put("caughtUp", caughtUp);
+        // 装载范围下限
+        result.put("from", today);
+        // 装载范围上限
+        result.put("to", to);
+        // 读取数
+        result.put("scanned", scanned);
+        // 新登记数
+        result.put("added", added);
+        // 装载时间
+        result.put("time", LocalDateTime.now());
+        // 装载耗时（毫秒）
+        result.put("costMs", System.currentTimeMillis() - start);
+        // 保存装载结果
+        lastReload = result;
+        // 有新登记或补齐的账单时记录日志
+        if (added > 0 || caughtUp > 0) {
+            // 记录日志
+            logger.info("账单到期时间轮装载完成：{}", result);
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 补齐已过到期时刻的账单
+     * 功能概述：按(due_date, id)游标分批读取到期日期早于今天的待缴费账单，每batchSize条在短事务中更新为逾期并发布账单逾期事件；
+     * 某一批失败时停止，剩余账单由下一次装载或凌晨的逾期扫描处理
+     * @param {LocalDate} today - 今天，到期日期早于该日期的账单为逾期
+     * @return {int} 返回实际变为逾期的账单数
+     */
+    // 补齐已过到期时刻的账单方法
+    private int markPastDue(LocalDate today) {
+        // 实际变为逾期的账单数
+        int marked = 0;
+        // 游标的到期日期
+        LocalDate afterDueDate = null;
+        // 游标的账单编号
+        Integer afterId = null;
+        // 分批读取
+        while (true) {
+            // 读取下一批到期日期不晚于昨天的待缴费账单
+            List<PaymentBill> chunk = paymentMapper.findPendingBillChunk(null, today.minusDays(1), afterDueDate, afterId, LOAD_CHUNK_SIZE);
+            // 按batchSize分批更新
+            for (int from = 0; from < chunk.size(); from += batchSize) {
+                // 本批账单编号
+                List<Integer> ids = new ArrayList<>(batchSize);
+                for (PaymentBill bill : chunk.subList(from, Math.min(from + batchSize, chunk.size()))) {
+                    ids.add(bill.getId());
+                }
+                // 使用try-catch处理更新失败
+                try {
+                    // 更新为逾期
+                    List<PaymentBill> overdue = paymentService.markBillsOverdue(ids, today, SOURCE);
+                    // 累加实际变为逾期的账单数
+                    marked += overdue.size();
+                    overdueCount.add(overdue.size());
+                    // 批次数加1
+                    batchCount.increment();
+                // 捕获所有异常
+                } catch (Exception e) {
+                    // 失败批次数加1
+                    failureCount.increment();
+                    // 记录错误信息
+                    lastError = LocalDateTime.now() + " " + e.getMessage();
+                    // 记录警告日志
+                    logger.warn("补齐已过期账单失败，剩余账单由下一次装载或逾期扫描处理：{}", e.getMessage());
+                    // 停止补齐
+                    return marked;
+                }
+            }
+            // 不足一整批说明已到末尾
+            if (chunk.size() < LOAD_CHUNK_SIZE) {
+                // 返回实际变为逾期的账单数
+                return marked;
+            }
+            // 本批最后一条账单作为新的游标
+            PaymentBill last = chunk.get(chunk.size() - 1);
+            // 游标的到期日期
+            afterDueDate = last.getDueDate();
+            // 游标的账单编号
+            afterId = last.getId();
+        }
+    }
+
+    /**
+     * 推进时钟
+     * 功能概述：取出已到期的账单，按批次在短事务中更新为逾期并发布账单逾期事件；更新失败的批次保留到下一次推进重试
+     */
+    // 重写接口中的advance方法
+    @Override
+    // 推进时钟方法，同一时间只允许一个线程推进
+    public synchronized void advance() {
+        // 取出已到期的账单
+        List<DueBill> expired = wheel.advance(System.currentTimeMillis());
+        // 放入待更新队列
+        dueBills.addAll(expired);
+        // 到期数
+        firedCount.add(expired.size());
+        // 按批次更新
+        while (!dueBills.isEmpty()) {
+            // 本批账单
+            List<DueBill> batch = new ArrayList<>(batchSize);
+            // 从队列中取出一批
+            for (DueBill bill = dueBills.poll(); bill != null; bill = dueBills.poll()) {
+                // 加入本批
+                batch.add(bill);
+                // 满一批时停止
+                if (batch.size() >= batchSize) {
+                    // 跳出循环
+                    break;
+                }
+            }
+            // 本批账单编号
+            List<Integer> ids = new ArrayList<>(batch.size());
+            // 遍历本批账单
+            for (DueBill bill : batch) {
+                // 收集编号
+                ids.add(bill.billId());
+            }
+            // 使用try-catch处理更新失败
+            try {
+                // 截止日期为今天，到期日期早于今天的账单为逾期
+                List<PaymentBill> overdue = paymentService.markBillsOverdue(ids, LocalDate.now(), SOURCE);
+                // 实际变为逾期的账单数
+                overdueCount.add(overdue.size());
+                // 批次数加1
+                batchCount.increment();
+                // 处理完的账单不再登记（已缴费的账单不会被更新，直接移除）
+                ids.forEach(scheduledIds::remove);
+                // 记录调试日志
+                logger.debug("账单到期时间轮更新一批：到期 {} 条，变为逾期 {} 条", batch.size(), overdue.size());
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 失败批次数加1
+                failureCount.increment();
+                // 记录错误信息
+                lastError = LocalDateTime.now() + " " + e.getMessage();
+                // 放回队列，下一次推进时重试
+                dueBills.addAll(batch);
+                // 记录警告日志
+                logger.warn("账单到期时间轮更新逾期账单失败，{} 条账单将在下一次推进时重试：{}", batch.size(), e.getMessage());
+                // 停止本次推进
+                break;
+            }
+        }
+    }
+
+    // 账单的到期时刻：到期日期次日零点（此后到期日期早于当天，账单为逾期）
+    private static long dueInstant(LocalDate dueDate) {
+        // 换算为毫秒时间戳
+        return dueDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 获取时间轮统计信息
+     * @return {Map<String, Object>} 返回登记数、待更新数、装载范围、到期数和实际更新数等
+     */
+    // 重写接口中的getStats方法
+    @Override
+    // 获取时间轮统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 装载天数
+        stats.put("horizonDays", horizonDays);
+        // 已装载到的到期日期
+        stats.put("loadedUntil", loadedUntil);
+        // 每格毫秒数
+        stats.put("tickMs", tickMs);
+        // 时间轮层数
+        stats.put("levels", wheel.levels());
+        // 时间轮中尚未到期的账单数
+        stats.put("pending", wheel.size());
+        // 已到期、等待更新的账单数
+        stats.put("awaitingUpdate", dueBills.size());
+        // 累计登记数
+        stats.put("scheduled", scheduledCount.sum());
+        // 累计到期数
+        stats.put("fired", firedCount.sum());
+        // 累计变为逾期的账单数
+        stats.put("overdue", overdueCount.sum());
+        // 累计更新批次数
+        stats.put("batches", batchCount.sum());
+        // 累计失败批次数
+        stats.put("failures", failureCount.sum());
+        // 上一次失败的错误信息
+        stats.put("lastError", lastError);
+        // 上一次装载的结果
+        stats.put("lastReload", lastReload);
+        // 返回统计信息
+        return stats;
+    }
+
+    // 时间轮中的账单
+    private record DueBill(Integer billId, LocalDate dueDate) {
+    }
+}
@@ -0,0 +1,782 @@
+/**
+ * 账期账单生成服务实现类
+ * 功能概述：实现BillingCycleService接口，用流式查询按主键顺序逐行读取有效的缴费账户，按账户编号取模分到若干分区队列，
+ * 每个分区由一个写入线程并行计算本期账单，攒满一批（commit-size）后先查出本批中已有该账期账单的账户，
+ * 再用一条多行INSERT写入其余账户的账单，每批与用户缴费统计一起提交一次；(account_id, bill_period)唯一索引保证同一账户同一账期只有一张账单，
+ * 唯一索引由db/schema-billing-cycle.sql建立，不存在时拒绝生成；重复执行或中断后重新执行只补齐缺少的账单；多实例部署时同一账期由调度租约保证只有一个实例在生成。
+ * 每个账户每个账期生成一张该账户自身缴费类型的账单（账户本身就对应一种缴费类型）；
+ * 原AddPaymentBills工具为每个账户随机生成3-5张其他缴费类型的账单，挂在同一账户下，这种一户多类型的测试数据不再生成
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入生活缴费Mapper接口
+import com.icss.xihu.mapper.PaymentMapper;
+// 导入缴费账单实体类
+import com.icss.xihu.model.PaymentBill;
+// 导入用户缴费账户实体类
+import com.icss.xihu.model.UserPaymentAccount;
+// 导入调度租约
+import com.icss.xihu.scheduling.SchedulerLease;
+// 导入调度租约管理器
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+// 导入账期账单生成服务接口
+import com.icss.xihu.service.BillingCycleService;
+// 导入生活缴费服务接口
+import com.icss.xihu.service.PaymentService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入唯一键冲突异常
+import org.springframework.dao.DuplicateKeyException;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入Bean销毁前回调注解
+import jakarta.annotation.PreDestroy;
+
+// 导入BigDecimal类，用于表示金额
+import java.math.BigDecimal;
+// 导入LocalDate类，用于表示日期
+import java.time.LocalDate;
+// 导入LocalDateTime类，用于表示日期和时间
+import java.time.LocalDateTime;
+// 导入YearMonth类，用于表示账期
+import java.time.YearMonth;
+// 导入日期格式化类
+import java.time.format.DateTimeFormatter;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashSet类
+import java.util.HashSet;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Set集合接口
+import java.util.Set;
+// 导入可拆分随机数生成器，按种子生成确定的金额
+import java.util.SplittableRandom;
+// 导入有界阻塞队列
+import java.util.concurrent.ArrayBlockingQueue;
+// 导入阻塞队列接口
+import java.util.concurrent.BlockingQueue;
+// 导入执行异常
+import java.util.concurrent.ExecutionException;
+// 导入执行器服务接口
+import java.util.concurrent.ExecutorService;
+// 导入执行器工具类
+import java.util.concurrent.Executors;
+// 导入异步结果接口
+import java.util.concurrent.Future;
+// 导入任务被拒绝异常
+import java.util.concurrent.RejectedExecutionException;
+// 导入时间单位枚举
+import java.util.concurrent.TimeUnit;
+// 导入等待超时异常
+import java.util.concurrent.TimeoutException;
+// 导入原子布尔类
+import java.util.concurrent.atomic.AtomicBoolean;
+// 导入原子整数类
+import java.util.concurrent.atomic.AtomicInteger;
+// 导入原子引用类
+import java.util.concurrent.atomic.AtomicReference;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 账期账单生成服务实现类
+ * 功能概述：实现BillingCycleService接口，用流式查询按主键顺序逐行读取有效的缴费账户，按账户编号取模分到若干分区队列，
+ * 每个分区由一个写入线程并行计算本期账单，攒满一批（commit-size）后先查出本批中已有该账期账单的账户，
+ * 再用一条多行INSERT写入其余账户的账单，每批与用户缴费统计一起提交一次；(account_id, bill_period)唯一索引保证同一账户同一账期只有一张账单，
+ * 唯一索引由db/schema-billing-cycle.sql建立，不存在时拒绝生成；重复执行或中断后重新执行只补齐缺少的账单；多实例部署时同一账期由调度租约保证只有一个实例在生成。
+ * 每个账户每个账期生成一张该账户自身缴费类型的账单（账户本身就对应一种缴费类型）；
+ * 原AddPaymentBills工具为每个账户随机生成3-5张其他缴费类型的账单，挂在同一账户下，这种一户多类型的测试数据不再生成
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 账期账单生成服务实现类，实现BillingCycleService接口
+public class BillingCycleServiceImpl implements BillingCycleService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(BillingCycleServiceImpl.class);
+
+    // 租约名称的前缀，后接账期
+    private static final String LEASE_PREFIX = "billing-cycle#";
+    // 账户账期唯一索引名称
+    private static final String UNIQUE_INDEX = "uk_payment_bills_account_period";
+    // 账期在bill_period字段中的格式，与已有账单一致（如"2024年01月"）
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyy年MM月");
+    // 账单号中账期部分的格式
+    private static final DateTimeFormatter BILL_NUMBER_PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    // 每批最多的账单数，每行10个参数，保证一条INSERT的参数个数不超过MySQL预处理语句的上限
+    private static final int MAX_COMMIT_SIZE = 5000;
+    // 账单金额下限（分）
+    private static final long MIN_AMOUNT_CENTS = 5000;
+    // 账单金额上限（分，不含）
+    private static final long MAX_AMOUNT_CENTS = 50000;
+    // 续约间隔（毫秒），远小于租约时长
+    private static final long RENEW_INTERVAL_MS = 10000;
+    // 队列满或空时的等待时间（毫秒），等待期间检查是否已中止
+    private static final long QUEUE_WAIT_MS = 1000;
+    // 每读取多少个账户记录一次进度日志
+    private static final long PROGRESS_LOG_ACCOUNTS = 100000;
+    // 分区队列的结束标记
+    private static final UserPaymentAccount END = new UserPaymentAccount();
+
+    // 自动注入生活缴费Mapper
+    @Autowired
+    // 生活缴费Mapper对象
+    private PaymentMapper paymentMapper;
+
+    // 自动注入生活缴费服务
+    @Autowired
+    // 生活缴费服务对象，每批账单和用户缴费统计在同一事务中写入
+    private PaymentService paymentService;
+
+    // 自动注入调度租约管理器
+    @Autowired
+    // 调度租约管理器对象，保证同一账期只有一个实例在生成
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    // 每批写入的账单数，也是每次提交的账单数，默认1000
+    @Value("${billing-cycle.commit-size:1000}")
+    // 每批账单数字段
+    private int commitSize;
+
+    // 并行写入的分区数，默认4
+    @Value("${billing-cycle.partitions:4}")
+    // 分区数字段
+    private int partitions;
+
+    // 账单到期日：账期次月的第几天，默认20（超过28时按28计算）
+    @Value("${billing-cycle.due-day:20}")
+    // 到期日字段
+    private int dueDay;
+
+    // 后台生成线程（单线程，守护线程，不阻止JVM退出）
+    private final ExecutorService generationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        // 创建生成线程
+        Thread thread = new Thread(runnable, "billing-cycle");
+        // 设置为守护线程
+        thread.setDaemon(true);
+        // 返回线程
+        return thread;
+    });
+
+    // 是否有生成在执行
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // 应用是否正在关闭，关闭时停止读取账户
+    private volatile boolean stopping = false;
+    // 是否已检查过索引
+    private volatile boolean schemaChecked = false;
+    // 本轮中止的原因，为null表示未中止
+    private final AtomicReference<String> abortReason = new AtomicReference<>();
+    // 上一次续约的时间
+    private volatile long lastRenewAt;
+
+    // 当前（或最近一轮）生成的触发来源
+    private volatile String currentTrigger;
+    // 当前（或最近一轮）生成的账期
+    private volatile YearMonth currentPeriod;
+    // 当前（或最近一轮）生成的开始时间
+    private volatile LocalDateTime currentStartTime;
+    // 当前（或最近一轮）生成的已读取账户数
+    private final LongAdder currentScanned = new LongAdder();
+    // 当前（或最近一轮）生成的已插入账单数
+    private final LongAdder currentInserted = new LongAdder();
+    // 当前（或最近一轮）生成中已有账单而跳过的账户数
+    private final LongAdder currentSkipped = new LongAdder();
+    // 当前（或最近一轮）生成的已写入批次数
+    private final LongAdder currentBatches = new LongAdder();
+    // 上一轮生成的结果
+    private volatile Map<String, Object> lastResult;
+    // 上一次失败的错误信息
+    private volatile String lastError;
+
+    // 累计完成的生成轮数
+    private final LongAdder totalRuns = new LongAdder();
+    // 累计插入的账单数
+    private final LongAdder totalInserted = new LongAdder();
+    // 累计失败或中止的生成轮数
+    private final LongAdder totalFailures = new LongAdder();
+
+    /**
+     * 在后台启动一轮账单生成
+     * 功能概述：立即返回，不等待生成完成；已有生成在执行时不重复启动
+     * @param {YearMonth} period - 账期
+     * @param {String} trigger - 触发来源（如schedule、admin），用于日志和进度信息
+     * @return {boolean} 已启动返回true，已有生成在执行返回false
+     */
+    // 重写接口中的startGeneration方法
+    @Override
+    // 在后台启动账单生成方法
+    public boolean startGeneration(YearMonth period, String trigger) {
+        // 已有生成在执行时不重复启动
+        if (!running.compareAndSet(false, true)) {
+            // 返回未启动
+            return false;
+        }
+        // 使用try-catch处理应用关闭后无法提交的情况
+        try {
+            // 提交到后台线程
+            generationExecutor.execute(() -> runGeneration(period, trigger));
+            // 返回已启动
+            return true;
+        // 捕获任务被拒绝异常
+        } catch (RejectedExecutionException e) {
+            // 释放执行标记
+            running.set(false);
+            // 返回未启动
+            return false;
+        }
+    }
+
+    /**
+     * 在当前线程执行一轮账单生成
+     * 功能概述：流式读取有效账户，按账户分区并行计算账单，每个分区攒满一批后用一条多行INSERT写入；
+     * 同一账户同一账期只生成一张账单，重复执行或中断后重新执行只补齐缺少的账单；已有生成在执行时直接返回
+     * @param {YearMonth} period - 账期
+     * @param {String} trigger - 触发来源
+     * @return {Map<String, Object>} 返回本轮读取的账户数、插入和跳过的账单数、批次数和耗时
+     */
+    // 重写接口中的generate方法
+    @Override
+    // 执行账单生成方法
+    public Map<String, Object> generate(YearMonth period, String trigger) {
+        // 已有生成在执行时直接返回
+        if (!running.compareAndSet(false, true)) {
+            // 创建结果Map
+            Map<String, Object> result = new LinkedHashMap<>();
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置提示消息
+            result.put("message", "已有账期账单生成在执行");
+            // 返回结果
+            return result;
+        }
+        // 执行生成
+        return runGeneration(period, trigger);
+    }
+
+    // 执行一轮生成，调用前已设置执行标记，结束后释放
+    private Map<String, Object> runGeneration(YearMonth period, String trigger) {
+        // 使用try-catch-finally记录失败并释放执行标记
+        try {
+            // 执行生成
+            Map<String, Object> result = doGenerate(period, trigger);
+            // 保存本轮结果
+            lastResult = result;
+            // 返回结果
+            return result;
+        // 捕获所有运行时异常
+        } catch (RuntimeException e) {
+            // 失败计数
+            totalFailures.increment();
+            // 记录错误信息
+            lastError = LocalDateTime.now() + " " + e.getMessage();
+            // 记录错误日志，已写入的批次保留，重新执行时只补齐缺少的账单
+            logger.error("账期 {} 账单生成失败（触发来源：{}，已插入 {} 张）", period, trigger, currentInserted.sum(), e);
+            // 创建结果Map
+            Map<String, Object> result = progress();
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "账期账单生成失败：" + e.getMessage());
+            // 保存本轮结果
+            lastResult = result;
+            // 返回结果
+            return result;
+        } finally {
+            // 释放执行标记
+            running.set(false);
+        }
+    }
+
+    // 生成主体：检查索引，取得账期租约，启动分区写入线程，流式读取账户分发到各分区，结束后等待各分区写完
+    private Map<String, Object> doGenerate(YearMonth period, String trigger) {
+        // 首次生成时检查索引
+        ensureSchema();
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 每批账单数
+        int batchSize = Math.max(1, Math.min(commitSize, MAX_COMMIT_SIZE));
+        // 分区数
+        int partitionCount = Math.max(1, partitions);
+        // 账期字段的值
+        String billPeriod = period.format(PERIOD_FORMAT);
+        // 到期日期：账期次月的到期日
+        LocalDate dueDate = period.plusMonths(1).atDay(Math.max(1, Math.min(dueDay, 28)));
+        // 重置本轮进度
+        currentTrigger = trigger;
+        // 记录账期
+        currentPeriod = period;
+        // 记录开始时间
+        currentStartTime = LocalDateTime.now();
+        // 重置读取数
+        currentScanned.reset();
+        // 重置插入数
+        currentInserted.reset();
+        // 重置跳过数
+        currentSkipped.reset();
+        // 重置批次数
+        currentBatches.reset();
+        // 重置中止原因
+        abortReason.set(null);
+        // 账期租约，租约表不可用时按单实例模式执行
+        SchedulerLease lease = null;
+        // 租约表可用时尝试获得
+        if (schedulerLeaseManager.isAvailable()) {
+            // 尝试获得租约
+            lease = schedulerLeaseManager.tryAcquire(LEASE_PREFIX + period);
+            // 被其他实例持有时不执行
+            if (lease == null) {
+                // 创建结果Map
+                Map<String, Object> result = progress();
+                // 设置返回结果为失败
+                result.put("success", false);
+                // 设置提示消息
+                result.put("message", "账期 " + period + " 的账单正在由其他实例生成");
+                // 返回结果
+                return result;
+            }
+        }
+        // 记录续约时间
+        lastRenewAt = System.currentTimeMillis();
+        // 记录日志
+        logger.info("账期 {} 账单生成开始：触发来源 {}，{} 个分区，每批 {} 张，到期日期 {}", period, trigger, partitionCount, batchSize, dueDate);
+        // 各分区的队列，容量为两批，写入跟不上时读取等待
+        List<BlockingQueue<UserPaymentAccount>> queues = new ArrayList<>(partitionCount);
+        // 分区写入线程序号
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 创建分区写入线程池
+        ExecutorService writers = Executors.newFixedThreadPool(partitionCount, runnable -> {
+            // 创建写入线程
+            Thread thread = new Thread(runnable, "billing-cycle-writer-" + threadIndex.getAndIncrement());
+            // 设置为守护线程
+            thread.setDaemon(true);
+            // 返回线程
+            return thread;
+        });
+        // 各分区的执行结果
+        List<Future<?>> futures = new ArrayList<>(partitionCount);
+        // 启动各分区
+        for (int i = 0; i < partitionCount; i++) {
+            // 分区队列
+            BlockingQueue<UserPaymentAccount> queue = new ArrayBlockingQueue<>(batchSize * 2);
+            // 加入队列列表
+            queues.add(queue);
+            // 启动分区写入
+            futures.add(writers.submit(() -> writePartition(queue, period, billPeriod, dueDate, batchSize)));
+        }
+        // 供回调使用的租约
+        SchedulerLease heldLease = lease;
+        // 使用try-finally保证结束各分区并释放租约
+        try {
+            // 流式读取有效账户，逐个分发到分区队列
+            paymentMapper.streamActiveAccounts(context -> {
+                // 应用关闭或已中止时停止读取
+                if (stopping || abortReason.get() != null) {
+                    // 停止流式读取
+                    context.stop();
+                    // 返回
+                    return;
+                }
+                // 账户
+                UserPaymentAccount account = context.getResultObject();
+                // 按账户编号取模分到分区，分发失败（已中止）时停止读取
+                if (!dispatch(queues.get(Math.floorMod(account.getId(), partitionCount)), account, heldLease)) {
+                    // 停止流式读取
+                    context.stop();
+                    // 返回
+                    return;
+                }
+                // 读取数加1
+                currentScanned.increment();
+                // 定期记录进度日志
+                if (currentScanned.sum() % PROGRESS_LOG_ACCOUNTS == 0) {
+                    // 记录日志
+                    logger.info("账期 {} 账单生成进度：已读取 {} 个账户，插入 {} 张，跳过 {} 个", period,
+                            currentScanned.sum(), currentInserted.sum(), currentSkipped.sum());
+                }
+            });
+            // 应用关闭时记录中止原因
+            if (stopping) {
+                // 中止
+                abort("应用正在关闭");
+            }
+        } finally {
+            // 向各分区发送结束标记，分区写完剩余账户后退出
+            for (BlockingQueue<UserPaymentAccount> queue : queues) {
+                // 发送结束标记
+                dispatch(queue, END, heldLease);
+            }
+            // 不再接受新任务
+            writers.shutdown();
+            // 等待各分区退出，等待期间续约
+            awaitPartitions(futures, heldLease);
+            // 释放租约
+            if (heldLease != null) {
+                // 释放
+                schedulerLeaseManager.release(heldLease);
+            }
+        }
+        // 中止原因
+        String reason = abortReason.get();
+        // 完成或中止计数
+        if (reason == null) {
+            // 轮数计数
+            totalRuns.increment();
+        } else {
+            // 失败计数
+            totalFailures.increment();
+            // 记录错误信息
+            lastError = LocalDateTime.now() + " " + reason;
+        }
+        // 创建结果Map
+        Map<String, Object> result = progress();
+        // 未中止时为成功
+        result.put("success", reason == null);
+        // 设置提示消息
+        result.put("message", reason == null ? "账期账单生成完成" : "账期账单生成中止：" + reason + "，重新执行时补齐缺少的账单");
+        // 本轮耗时（毫秒）
+        result.put("costMs", System.currentTimeMillis() - start);
+        // 记录日志
+        logger.info("账期 {} 账单生成{}：读取 {} 个账户，插入 {} 张，跳过 {} 个，{} 批，耗时 {} ms", period, reason == null ? "完成" : "中止",
+                currentScanned.sum(), currentInserted.sum(), currentSkipped.sum(), currentBatches.sum(), result.get("costMs"));
+        // 返回结果
+        return result;
+    }
+
+    // 把账户放入分区队列，队列满时等待并按间隔续约；已中止（或放入结束标记前被中断）时返回false
+    private boolean dispatch(BlockingQueue<UserPaymentAccount> queue, UserPaymentAccount account, SchedulerLease lease) {
+        // 使用try-catch处理中断
+        try {
+            // 队列满时等待
+            while (!queue.offer(account, QUEUE_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                // 已中止时分区不再读取队列，放弃
+                if (abortReason.get() != null) {
+                    // 返回false
+                    return false;
+                }
+                // 等待期间续约
+                if (!keepLease(lease)) {
+                    // 返回false
+                    return false;
+                }
+            }
+            // 按间隔续约
+            return keepLease(lease);
+        // 捕获中断异常
+        } catch (InterruptedException e) {
+            // 恢复中断标记
+            Thread.currentThread().interrupt();
+            // 中止
+            abort("生成线程被中断");
+            // 返回false
+            return false;
+        }
+    }
+
+    // 距上次续约超过间隔时续约，租约已被其他实例取得时中止并返回false
+    private boolean keepLease(SchedulerLease lease) {
+        // 单实例模式或未到续约时间时直接返回
+        if (lease == null || System.currentTimeMillis() - lastRenewAt < RENEW_INTERVAL_MS) {
+            // 返回true
+            return true;
+        }
+        // 续约失败时中止
+        if (!schedulerLeaseManager.renew(lease)) {
+            // 中止
+            abort("账期租约已被其他实例取得");
+            // 返回false
+            return false;
+        }
+        // 记录续约时间
+        lastRenewAt = System.currentTimeMillis();
+        // 返回true
+        return true;
+    }
+
+    // 分区写入：从队列取出账户攒批写入，收到结束标记时写完剩余账户后退出，已中止时丢弃未写入的账户
+    private void writePartition(BlockingQueue<UserPaymentAccount> queue, YearMonth period, String billPeriod,
+                                LocalDate dueDate, int batchSize) {
+        // 本分区待写入的账户
+        List<UserPaymentAccount> buffer = new ArrayList<>(batchSize);
+        // 使用try-catch记录失败
+        try {
+            // 逐个取出账户
+            while (true) {
+                // 等待下一个账户
+                UserPaymentAccount account = queue.poll(QUEUE_WAIT_MS, TimeUnit.MILLISECONDS);
+                // 已中止时退出，重新执行时补齐
+                if (abortReason.get() != null) {
+                    // 返回
+                    return;
+                }
+                // 暂时没有账户时继续等待
+                if (account == null) {
+                    // 继续等待
+                    continue;
+                }
+                // 收到结束标记时退出循环
+                if (account == END) {
+                    // 跳出循环
+                    break;
+                }
+                // 加入本批
+                buffer.add(account);
+                // 攒满一批时写入
+                if (buffer.size() >= batchSize) {
+                    // 写入本批
+                    writeBatch(buffer, period, billPeriod, dueDate);
+                    // 清空本批
+                    buffer.clear();
+                }
+            }
+            // 写入剩余账户
+            if (!buffer.isEmpty()) {
+                // 写入本批
+                writeBatch(buffer, period, billPeriod, dueDate);
+            }
+        // 捕获中断异常
+        } catch (InterruptedException e) {
+            // 恢复中断标记
+            Thread.currentThread().interrupt();
+            // 中止
+            abort("写入线程被中断");
+        // 捕获所有运行时异常
+        } catch (RuntimeException e) {
+            // 记录错误日志
+            logger.error("账期 {} 账单写入失败", period, e);
+            // 中止，其他分区和读取随之停止
+            abort("写入失败：" + e.getMessage());
+        }
+    }
+
+    // 写入一批账户的账单：跳过已有该账期账单的账户，其余用一条多行INSERT写入；
+    // 查询和写入之间有其他来源写入了同一账户同一账期的账单时整批回滚，重新查询后再写入一次
+    private void writeBatch(List<UserPaymentAccount> accounts, YearMonth period, String billPeriod, LocalDate dueDate) {
+        // 本批账户编号
+        List<Integer> accountIds = new ArrayList<>(accounts.size());
+        // 遍历本批账户
+        for (UserPaymentAccount account : accounts) {
+            // 收集编号
+            accountIds.add(account.getId());
+        }
+        // 实际插入的账单数
+        int inserted;
+        // 使用try-catch处理唯一键冲突
+        try {
+            // 写入本批
+            inserted = insertUnbilled(accounts, accountIds, period, billPeriod, dueDate);
+        // 捕获唯一键冲突异常，本批事务已回滚
+        } catch (DuplicateKeyException e) {
+            // 记录日志
+            logger.info("账期 {} 有 {} 个账户的账单在写入前已由其他来源写入，重新查询后写入", period, accounts.size());
+            // 重新查询已有账单的账户后再写入一次，仍冲突时本轮中止
+            inserted = insertUnbilled(accounts, accountIds, period, billPeriod, dueDate);
+        }
+        // 累加插入数
+        currentInserted.add(inserted);
+        // 累加跳过数
+        currentSkipped.add(accounts.size() - inserted);
+        // 批次数加1
+        currentBatches.increment();
+        // 累计插入数
+        totalInserted.add(inserted);
+    }
+
+    // 查询本批中已有该账期账单的账户，为其余账户生成账单并写入，返回插入数
+    private int insertUnbilled(List<UserPaymentAccount> accounts, List<Integer> accountIds, YearMonth period,
+                               String billPeriod, LocalDate dueDate) {
+        // 已有该账期账单的账户
+        Set<Integer> billed = new HashSet<>(paymentMapper.findBilledAccountIds(billPeriod, accountIds));
+        // 本批要插入的账单
+        List<PaymentBill> bills = new ArrayList<>(accounts.size());
+        // 遍历本批账户
+        for (UserPaymentAccount account : accounts) {
+            // 没有该账期账单的账户生成账单
+            if (!billed.contains(account.getId())) {
+                // 计算账单
+                bills.add(buildBill(account, period, billPeriod, dueDate));
+            }
+        }
+        // 一条多行INSERT写入，与用户缴费统计在同一事务中提交
+        // 新账单的到期日期在下月，进入到期时间轮的装载范围后由定期装载登记
+        return paymentService.createBills(bills);
+    }
+
+    // 计算账户的本期账单
+    private PaymentBill buildBill(UserPaymentAccount account, YearMonth period, String billPeriod, LocalDate dueDate) {
+        // 创建账单
+        PaymentBill bill = new PaymentBill();
+        // 设置用户编号
+        bill.setUserId(account.getUserId());
+        // 设置账户编号
+        bill.setAccountId(account.getId());
+        // 设置缴费类型，与账户一致
+        bill.setPaymentTypeId(account.getPaymentTypeId());
+        // 账单号：账期加账户编号，同一账户同一账期的账单号固定
+        bill.setBillNumber(String.format("BILL%s%010d", period.format(BILL_NUMBER_PERIOD_FORMAT), account.getId()));
+        // 账单金额：50-500元，以账户和账期为种子生成，重新执行时与已生成的账单一致
+        long seed = account.getId() * 31L + period.getYear() * 12L + period.getMonthValue();
+        // 设置账单金额
+        bill.setBillAmount(BigDecimal.valueOf(new SplittableRandom(seed).nextLong(MIN_AMOUNT_CENTS, MAX_AMOUNT_CENTS), 2));
+        // 设置到期日期
+        bill.setDueDate(dueDate);
+        // 设置账期
+        bill.setBillPeriod(billPeriod);
+        // 设置状态为待缴费
+        bill.setBillStatus(0);
+        // 返回账单
+        return bill;
+    }
+
+    // 等待各分区退出并按间隔续约，续约失败时中止（各分区在下一次取账户时退出）；分区任务本身捕获了所有异常
+    private void awaitPartitions(List<Future<?>> futures, SchedulerLease lease) {
+        // 遍历各分区
+        for (Future<?> future : futures) {
+            // 使用try-catch处理等待异常
+            try {
+                // 分区未退出时按间隔等待并续约
+                while (true) {
+                    // 使用try-catch处理等待超时
+                    try {
+                        // 等待分区退出
+                        future.get(QUEUE_WAIT_MS, TimeUnit.MILLISECONDS);
+                        // 跳出循环
+                        break;
+                    // 捕获等待超时异常
+                    } catch (TimeoutException e) {
+                        // 等待期间续约
+                        keepLease(lease);
+                    }
+                }
+            // 捕获中断异常
+            } catch (InterruptedException e) {
+                // 恢复中断标记
+                Thread.currentThread().interrupt();
+                // 中止，各分区在下一次等待时退出
+                abort("生成线程被中断");
+            // 捕获执行异常
+            } catch (ExecutionException e) {
+                // 中止
+                abort("写入失败：" + e.getCause().getMessage());
+            }
+        }
+    }
+
+    // 记录中止原因，只保留第一个
+    private void abort(String reason) {
+        // 未中止时记录
+        abortReason.compareAndSet(null, reason);
+    }
+
+    // 首次生成时检查(account_id, bill_period)唯一索引；不存在时抛出异常，本轮生成失败，下次生成时重新检查
+    private void ensureSchema() {
+        // 已检查过时直接返回
+        if (schemaChecked) {
+            // 返回
+            return;
+        }
+        // 没有唯一索引时重复执行或并发写入会产生重复账单，拒绝生成
+        if (paymentMapper.countIndex(UNIQUE_INDEX) == 0) {
+            // 抛出异常，索引由迁移脚本建立
+            throw new IllegalStateException("payment_bills表缺少账户账期唯一索引 " + UNIQUE_INDEX
+                    + "，请先由DBA执行db/schema-billing-cycle.sql（会处理历史数据中同一账户同一账期的多张账单）");
+        }
+        // 标记已检查
+        schemaChecked = true;
+    }
+
+    // 当前（或最近一轮）生成的进度
+    private Map<String, Object> progress() {
+        // 创建进度Map
+        Map<String, Object> progress = new LinkedHashMap<>();
+        // 触发来源
+        progress.put("trigger", currentTrigger);
+        // 账期
+        progress.put("period", currentPeriod != null ? currentPeriod.toString() : null);
+        // 开始时间
+        progress.put("startTime", currentStartTime != null ? currentStartTime.toString() : null);
+        // 已读取账户数
+        progress.put("scanned", currentScanned.sum());
+        // 已插入账单数
+        progress.put("inserted", currentInserted.sum());
+        // 已有账单而跳过的账户数
+        progress.put("skipped", currentSkipped.sum());
+        // 已写入批次数
+        progress.put("batches", currentBatches.sum());
+        // 返回进度
+        return progress;
+    }
+
+    /**
+     * 获取账单生成进度
+     * @return {Map<String, Object>} 返回是否在执行、当前轮次的进度、上一轮的结果和累计统计
+     */
+    // 重写接口中的getStats方法
+    @Override
+    // 获取账单生成进度方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 是否有生成在执行
+        boolean active = running.get();
+        // 是否在执行
+        stats.put("running", active);
+        // 每批账单数
+        stats.put("commitSize", commitSize);
+        // 分区数
+        stats.put("partitions", partitions);
+        // 到期日
+        stats.put("dueDay", dueDay);
+        // 当前轮次的进度（未在执行时为null）
+        stats.put("current", active ? progress() : null);
+        // 上一轮的结果
+        stats.put("lastRun", lastResult);
+        // 累计完成的轮数
+        stats.put("totalRuns", totalRuns.sum());
+        // 累计插入数
+        stats.put("totalInserted", totalInserted.sum());
+        // 累计失败或中止轮数
+        stats.put("totalFailures", totalFailures.sum());
+        // 上一次失败的错误信息
+        stats.put("lastError", lastError);
+        // 返回统计信息
+        return stats;
+    }
+
+    /**
+     * 停止后台生成
+     * 功能概述：应用关闭时停止读取账户，已写入的批次保留，重新执行时只补齐缺少的账单
+     */
+    // Bean销毁前调用
+    @PreDestroy
+    // 停止生成方法
+    public void shutdown() {
+        // 标记正在关闭
+        stopping = true;
+        // 中止当前轮次
+        abort("应用正在关闭");
+        // 中断队列等待
+        generationExecutor.shutdownNow();
+        // 使用try-catch处理中断
+        try {
+            // 等待当前批结束
+            generationExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        // 捕获中断异常
+        } catch (InterruptedException e) {
+            // 恢复中断标记
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * 数据导出服务实现类
+ * 功能概述：实现ExportService接口，使用fetchSize为Integer.MIN_VALUE的流式查询逐行读取，
+ * 每行通过ResultHandler交给StreamingExporter立即写出，不在内存中保留结果列表
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入Jackson的对象映射器
+import com.fasterxml.jackson.databind.ObjectMapper;
+// 导入缴费Mapper接口
+import com.icss.xihu.mapper.PaymentMapper;
+// 导入旅游Mapper接口
+import com.icss.xihu.mapper.TravelMapper;
+// 导入景点摘要记录
+import com.icss.xihu.model.AttractionSummary;
+// 导入缴费账单实体类
+import com.icss.xihu.model.PaymentBill;
+// 导入数据导出服务接口
+import com.icss.xihu.service.ExportService;
+// 导入流式导出写出器
+import com.icss.xihu.util.StreamingExporter;
+// 导入流式导出写出器的列定义
+import com.icss.xihu.util.StreamingExporter.Column;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入IO异常类
+import java.io.IOException;
+// 导入输出流类
+import java.io.OutputStream;
+// 导入IO异常的非受检包装类
+import java.io.UncheckedIOException;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 数据导出服务实现类
+ * 功能概述：实现ExportService接口，使用fetchSize为Integer.MIN_VALUE的流式查询逐行读取，
+ * 每行通过ResultHandler交给StreamingExporter立即写出，不在内存中保留结果列表
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 数据导出服务实现类，实现ExportService接口
+public class ExportServiceImpl implements ExportService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    // 景点导出的CSV列
+    private static final List<Column<AttractionSummary>> ATTRACTION_COLUMNS = List.of(
+            new Column<>("编号", AttractionSummary::id),
+            new Column<>("名称", AttractionSummary::name),
+            new Column<>("省份", AttractionSummary::province),
+            new Column<>("城市", AttractionSummary::city),
+            new Column<>("区县", AttractionSummary::district),
+            new Column<>("详细地址", AttractionSummary::fullAddress),
+            new Column<>("评分", AttractionSummary::rating),
+            new Column<>("价格区间", AttractionSummary::priceRange),
+            new Column<>("开放时间", AttractionSummary::openingHours),
+            new Column<>("最佳季节", AttractionSummary::bestSeason),
+            new Column<>("建议游玩时长", AttractionSummary::visitDuration),
+            new Column<>("推荐分", AttractionSummary::recommendScore),
+            new Column<>("浏览次数", AttractionSummary::viewCount),
+            new Column<>("点赞次数", AttractionSummary::likeCount),
+            new Column<>("特色", AttractionSummary::features),
+            new Column<>("描述", AttractionSummary::description));
+
+    // 账单导出的CSV列
+    private static final List<Column<PaymentBill>> BILL_COLUMNS = List.of(
+            new Column<>("账单编号", PaymentBill::getId),
+            new Column<>("账单号", PaymentBill::getBillNumber),
+            new Column<>("缴费类型", PaymentBill::getPaymentTypeName),
+            new Column<>("账户名称", PaymentBill::getAccountName),
+            new Column<>("账户号码", PaymentBill::getAccountNumber),
+            new Column<>("账单周期", PaymentBill::getBillPeriod),
+            new Column<>("账单金额", PaymentBill::getBillAmount),
+            new Column<>("到期日期", PaymentBill::getDueDate),
+            new Column<>("账单状态", PaymentBill::getBillStatus),
+            new Column<>("已缴金额", PaymentBill::getPaidAmount),
+            new Column<>("缴费时间", PaymentBill::getPaidTime),
+            new Column<>("创建时间", PaymentBill::getCreateTime));
+
+    // 自动注入旅游Mapper
+    @Autowired
+    // 旅游Mapper对象，用于流式读取景点
+    private TravelMapper travelMapper;
+
+    // 自动注入缴费Mapper
+    @Autowired
+    // 缴费Mapper对象，用于流式读取账单
+    private PaymentMapper paymentMapper;
+
+    // 自动注入Spring容器中的ObjectMapper，与接口返回的JSON格式保持一致
+    @Autowired
+    // JSON对象映射器
+    private ObjectMapper objectMapper;
+
+    /**
+     * 导出全部景点
+     * 功能概述：不按地区过滤调用流式景点查询，每行立即写出
+     * @param {StreamingExporter.Format} format - 导出格式
+     * @param {OutputStream} out - 输出流
+     * @return {long} 返回导出的行数
+     */
+    // 重写接口中的exportAttractions方法
+    @Override
+    // 导出全部景点方法
+    public long exportAttractions(StreamingExporter.Format format, OutputStream out) throws IOException {
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 创建写出器
+        StreamingExporter<AttractionSummary> exporter = new StreamingExporter<>(format, out, objectMapper, ATTRACTION_COLUMNS);
+        // 使用try-catch还原写出时的IO异常
+        try {
+            // 流式查询全部启用的景点，每行立即写出
+            travelMapper.streamAttractionsFromAddress(null, null, context -> writeRow(exporter, context.getResultObject()));
+        // 捕获查询异常（写出时的IO异常会被MyBatis和Spring再包装）
+        } catch (RuntimeException e) {
+            // 由写出失败引起时抛出原始IO异常（通常是客户端断开）
+            rethrowIoCause(e);
+            // 其他异常原样抛出
+            throw e;
+        }
+        // 写出结尾
+        exporter.close();
+        // 记录日志
+        logger.info("景点导出完成：格式 {}，{} 行，耗时 {} ms", format, exporter.getCount(), System.currentTimeMillis() - start);
+        // 返回行数
+        return exporter.getCount();
+    }
+
+    /**
+     * 导出用户账单
+     * 功能概述：按用户和状态调用流式账单查询，每行立即写出
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} status - 账单状态，可为null
+     * @param {StreamingExporter.Format} format - 导出格式
+     * @param {OutputStream} out - 输出流
+     * @return {long} 返回导出的行数
+     */
+    // 重写接口中的exportBills方法
+    @Override
+    // 导出用户账单方法
+    public long exportBills(Integer userId, Integer status, StreamingExporter.Format format, OutputStream out) throws IOException {
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 创建写出器
+        StreamingExporter<PaymentBill> exporter = new StreamingExporter<>(format, out, objectMapper, BILL_COLUMNS);
+        // 使用try-catch还原写出时的IO异常
+        try {
+            // 流式查询用户账单，每行立即写出
+            paymentMapper.streamBillsByUserId(userId, status, context -> writeRow(exporter, context.getResultObject()));
+        // 捕获查询异常（写出时的IO异常会被MyBatis和Spring再包装）
+        } catch (RuntimeException e) {
+            // 由写出失败引起时抛出原始IO异常（通常是客户端断开）
+            rethrowIoCause(e);
+            // 其他异常原样抛出
+            throw e;
+        }
+        // 写出结尾
+        exporter.close();
+        // 记录日志
+        logger.info("账单导出完成：用户 {}，格式 {}，{} 行，耗时 {} ms", userId, format, exporter.getCount(), System.currentTimeMillis() - start);
+        // 返回行数
+        return exporter.getCount();
+    }
+
+    // 异常由写出失败引起时抛出原始IO异常
+    private static void rethrowIoCause(RuntimeException e) throws IOException {
+        // 沿异常链查找
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // 找到写出时包装的IO异常
+            if (cause instanceof UncheckedIOException io) {
+                // 抛出原始IO异常
+                throw io.getCause();
+            }
+        }
+    }
+
+    // 在结果回调中写出一行，IO异常包装为非受检异常以结束查询
+    private static <T> void writeRow(StreamingExporter<T> exporter, T row) {
+        // 使用try-catch包装IO异常
+        try {
+            // 写出一行
+            exporter.write(row);
+        // 捕获IO异常
+        } catch (IOException e) {
+            // 抛出非受检异常
+            throw new UncheckedIOException(e);
+        }
+    }
+}
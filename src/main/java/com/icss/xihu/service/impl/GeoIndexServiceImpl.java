@@ -0,0 +1,678 @@
+/**
+ * 地理位置索引服务实现类
+ * 功能概述：实现GeoIndexService接口，按类型把景点、酒店、餐厅放入固定边长的经纬度网格，
+ * 附近查询从中心网格开始逐圈向外扩展，用最大堆保留最近的k个点，当下一圈的最小可能距离超过半径或第k近距离时停止，
+ * 索引为不可变快照，重建时整体替换，查询无需加锁也不访问数据库
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入地理位置索引配置类
+import com.icss.xihu.config.GeoIndexConfig;
+// 导入地理位置Mapper接口
+import com.icss.xihu.mapper.GeoMapper;
+// 导入地理位置点实体类
+import com.icss.xihu.model.GeoPoint;
+// 导入地理位置索引服务接口
+import com.icss.xihu.service.GeoIndexService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入LocalDateTime类
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Collections工具类
+import java.util.Collections;
+// 导入Comparator比较器接口
+import java.util.Comparator;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入PriorityQueue类，用作保留最近k个点的最大堆
+import java.util.PriorityQueue;
+
+/**
+ * 地理位置索引服务实现类
+ * 功能概述：实现GeoIndexService接口，按类型把景点、酒店、餐厅放入固定边长的经纬度网格，
+ * 附近查询从中心网格开始逐圈向外扩展，用最大堆保留最近的k个点，当下一圈的最小可能距离超过半径或第k近距离时停止，
+ * 索引为不可变快照，重建时整体替换，查询无需加锁也不访问数据库
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 地理位置索引服务实现类，实现GeoIndexService接口
+public class GeoIndexServiceImpl implements GeoIndexService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(GeoIndexServiceImpl.class);
+
+    // 地球平均半径（公里）
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    // 每一纬度对应的距离（公里）
+    private static final double KM_PER_DEGREE = 111.195;
+    // 支持的地点类型
+    private static final String[] TYPES = {GeoPoint.TYPE_ATTRACTION, GeoPoint.TYPE_HOTEL, GeoPoint.TYPE_RESTAURANT};
+
+    // 自动注入地理位置索引配置
+    @Autowired
+    // 地理位置索引配置对象
+    private GeoIndexConfig geoIndexConfig;
+
+    // 自动注入地理位置Mapper
+    @Autowired
+    // 地理位置Mapper对象，用于加载坐标数据
+    private GeoMapper geoMapper;
+
+    // 当前索引快照，重建完成后整体替换
+    private volatile Snapshot snapshot = Snapshot.empty();
+    // 是否已检查过酒店和餐厅表的坐标字段
+    private volatile boolean columnsChecked = false;
+
+    /**
+     * 查询坐标附近的地点
+     * 功能概述：校验参数后在对应类型的网格中查询最近的k个点，全部类型时各取k个再合并取前k个
+     * @param {double} lat - 纬度
+     * @param {double} lng - 经度
+     * @param {Double} radiusKm - 查询半径（公里）
+     * @param {String} type - 地点类型
+     * @param {Integer} k - 返回数量
+     * @return {Map<String, Object>} 返回查询结果
+     */
+    // 重写接口中的findNearby方法
+    @Override
+    // 查询坐标附近地点方法
+    public Map<String, Object> findNearby(double lat, double lng, Double radiusKm, String type, Integer k) {
+        // 校验坐标范围
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            // 返回参数错误
+            return failure("经纬度超出范围");
+        }
+        // 在当前快照中查询
+        return query(snapshot, lat, lng, radiusKm, type, k, null);
+    }
+
+    /**
+     * 查询酒店附近的地点
+     * 功能概述：从索引中找到酒店坐标后查询附近地点，结果中排除该酒店本身
+     * @param {Long} hotelId - 酒店编号
+     * @param {Double} radiusKm - 查询半径（公里）
+     * @param {String} type - 地点类型
+     * @param {Integer} k - 返回数量
+     * @return {Map<String, Object>} 返回查询结果
+     */
+    // 重写接口中的findNearbyHotel方法
+    @Override
+    // 查询酒店附近地点方法
+    public Map<String, Object> findNearbyHotel(Long hotelId, Double radiusKm, String type, Integer k) {
+        // 读取当前快照，保证同一次查询使用同一份索引
+        Snapshot current = snapshot;
+        // 查找酒店在索引中的位置
+        GeoPoint hotel = hotelId == null ? null : current.hotels.get(hotelId);
+        // 酒店不在索引中
+        if (hotel == null) {
+            // 返回错误信息
+            return failure("酒店不存在或缺少位置信息");
+        }
+        // 以酒店坐标为中心查询，排除酒店本身
+        Map<String, Object> result = query(current, hotel.getLatitude(), hotel.getLongitude(), radiusKm, type, k, hotel);
+        // 附带酒店信息
+        result.put("hotel", toMap(hotel, 0));
+        // 返回查询结果
+        return result;
+    }
+
+    /**
+     * 重建索引
+     * 功能概述：首次重建时检查酒店和餐厅表是否已有坐标字段，然后加载三类地点，
+     * 没有坐标的酒店和餐厅不进入索引（不会以估算的坐标和距离出现在附近结果中），只计入统计，构建网格后替换当前快照
+     */
+    // 重写接口中的rebuild方法
+    @Override
+    // 重建索引方法，同一时间只允许一个线程重建
+    public synchronized void rebuild() {
+        // 未启用时不构建
+        if (!geoIndexConfig.isEnabled()) {
+            // 直接返回
+            return;
+        }
+        // 记录开始时间
+        long start = System.nanoTime();
+        // 首次重建时检查坐标字段
+        if (!columnsChecked) {
+            // 检查酒店表坐标字段
+            checkCoordinateColumns("hotel");
+            // 检查餐厅表坐标字段
+            checkCoordinateColumns("restaurant");
+            // 标记已检查
+            columnsChecked = true;
+        }
+        // 加载景点坐标
+        List<GeoPoint> attractions = load(GeoPoint.TYPE_ATTRACTION);
+        // 加载酒店坐标
+        List<GeoPoint> allHotels = load(GeoPoint.TYPE_HOTEL);
+        // 加载餐厅坐标
+        List<GeoPoint> allRestaurants = load(GeoPoint.TYPE_RESTAURANT);
+        // 只保留有坐标的酒店
+        List<GeoPoint> hotels = withCoordinates(allHotels);
+        // 只保留有坐标的餐厅
+        List<GeoPoint> restaurants = withCoordinates(allRestaurants);
+
+        // 网格边长
+        double cell = geoIndexConfig.getCellDegrees();
+        // 按类型构建网格
+        Map<String, Grid> grids = new HashMap<>();
+        // 景点网格，查询时已过滤掉没有坐标的景点
+        grids.put(GeoPoint.TYPE_ATTRACTION, new Grid(cell, attractions, 0));
+        // 酒店网格，记录缺少坐标的酒店数量
+        grids.put(GeoPoint.TYPE_HOTEL, new Grid(cell, hotels, allHotels.size() - hotels.size()));
+        // 餐厅网格，记录缺少坐标的餐厅数量
+        grids.put(GeoPoint.TYPE_RESTAURANT, new Grid(cell, restaurants, allRestaurants.size() - restaurants.size()));
+        // 酒店编号索引，用于"酒店附近"查询
+        Map<Long, GeoPoint> hotelById = new HashMap<>();
+        // 遍历酒店
+        for (GeoPoint hotel : hotels) {
+            // 以酒店编号为键放入索引
+            hotelById.put(hotel.getId(), hotel);
+        }
+        // 计算构建耗时（毫秒）
+        long buildMs = (System.nanoTime() - start) / 1_000_000L;
+        // 整体替换快照
+        snapshot = new Snapshot(grids, hotelById, LocalDateTime.now(), buildMs);
+        // 记录日志
+        logger.info("地理位置索引重建完成：景点 {} 个，酒店 {} 个（缺少坐标 {} 个），餐厅 {} 个（缺少坐标 {} 个），耗时 {} ms",
+                attractions.size(), hotels.size(), allHotels.size() - hotels.size(),
+                restaurants.size(), allRestaurants.size() - restaurants.size(), buildMs);
+    }
+
+    /**
+     * 获取索引统计信息
+     * 功能概述：返回各类型的地点数量、非空网格数量、因缺少坐标未进入索引的数量以及最近一次重建的时间和耗时
+     * @return {Map<String, Object>} 返回索引统计信息
+     */
+    // 重写接口中的getIndexStats方法
+    @Override
+    // 获取索引统计信息方法
+    public Map<String, Object> getIndexStats() {
+        // 读取当前快照
+        Snapshot current = snapshot;
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 是否启用
+        result.put("enabled", geoIndexConfig.isEnabled());
+        // 网格边长
+        result.put("cellDegrees", geoIndexConfig.getCellDegrees());
+        // 最近一次重建时间
+        result.put("builtAt", current.builtAt);
+        // 最近一次重建耗时
+        result.put("buildMs", current.buildMs);
+        // 遍历类型
+        for (String type : TYPES) {
+            // 获取该类型网格
+            Grid grid = current.grids.get(type);
+            // 创建该类型统计
+            Map<String, Object> stats = new LinkedHashMap<>();
+            // 地点数量
+            stats.put("points", grid == null ? 0 : grid.size);
+            // 非空网格数量
+            stats.put("cells", grid == null ? 0 : grid.cells.size());
+            // 缺少坐标未进入索引的数量
+            stats.put("missingCoordinates", grid == null ? 0 : grid.missingCoordinates);
+            // 放入结果
+            result.put(type, stats);
+        }
+        // 返回统计信息
+        return result;
+    }
+
+    /**
+     * 在快照中执行附近查询
+     * 功能概述：规范化半径、数量和类型参数，在一个或全部类型的网格中查询最近点并组装结果
+     * @param {Snapshot} current - 索引快照
+     * @param {double} lat - 纬度
+     * @param {double} lng - 经度
+     * @param {Double} radiusKm - 查询半径（公里）
+     * @param {String} type - 地点类型
+     * @param {Integer} k - 返回数量
+     * @param {GeoPoint} exclude - 需要排除的地点，可为空
+     * @return {Map<String, Object>} 返回查询结果
+     */
+    // 执行附近查询方法
+    private Map<String, Object> query(Snapshot current, double lat, double lng, Double radiusKm,
+                                      String type, Integer k, GeoPoint exclude) {
+        // 未启用时返回错误
+        if (!geoIndexConfig.isEnabled()) {
+            // 返回错误信息
+            return failure("附近查询未启用");
+        }
+        // 记录开始时间
+        long start = System.nanoTime();
+        // 半径为空或非正数时使用上限，否则不超过上限
+        double radius = radiusKm == null || radiusKm <= 0
+                ? geoIndexConfig.getMaxRadiusKm() : Math.min(radiusKm, geoIndexConfig.getMaxRadiusKm());
+        // 数量为空时使用默认值，并限制在1到上限之间
+        int limit = Math.max(1, Math.min(k == null ? geoIndexConfig.getDefaultK() : k, geoIndexConfig.getMaxK()));
+        // 需要查询的类型列表
+        List<String> types = new ArrayList<>();
+        // 类型为空或all时查询全部类型
+        if (type == null || type.isBlank() || "all".equalsIgnoreCase(type)) {
+            // 加入全部类型
+            Collections.addAll(types, TYPES);
+        // 指定了类型
+        } else {
+            // 统一转为小写
+            String t = type.trim().toLowerCase();
+            // 类型不受支持
+            if (!List.of(TYPES).contains(t)) {
+                // 返回错误信息
+                return failure("不支持的类型：" + type);
+            }
+            // 加入该类型
+            types.add(t);
+        }
+        // 合并后的最近点
+        List<Neighbor> neighbors = new ArrayList<>();
+        // 遍历类型
+        for (String t : types) {
+            // 获取该类型网格
+            Grid grid = current.grids.get(t);
+            // 网格存在时查询
+            if (grid != null) {
+                // 每个类型各取最近的limit个
+                neighbors.addAll(grid.nearest(lat, lng, radius, limit, exclude));
+            }
+        }
+        // 按距离升序排序
+        neighbors.sort(Comparator.comparingDouble(n -> n.distanceKm));
+        // 结果列表
+        List<Map<String, Object>> data = new ArrayList<>();
+        // 取前limit个
+        for (int i = 0; i < neighbors.size() && i < limit; i++) {
+            // 转换为Map
+            data.add(toMap(neighbors.get(i).point, neighbors.get(i).distanceKm));
+        }
+        // 创建结果Map
+        Map<String, Object> result = new HashMap<>();
+        // 设置成功
+        result.put("success", true);
+        // 查询结果
+        result.put("data", data);
+        // 结果数量
+        result.put("count", data.size());
+        // 实际使用的半径
+        result.put("radiusKm", radius);
+        // 查询耗时（微秒）
+        result.put("tookMicros", (System.nanoTime() - start) / 1000L);
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 加载某一类型的地点
+     * 功能概述：调用对应的Mapper方法加载坐标数据，加载失败时记录日志并返回空列表，不影响其他类型
+     * @param {String} type - 地点类型
+     * @return {List<GeoPoint>} 返回地点列表
+     */
+    // 加载地点方法
+    private List<GeoPoint> load(String type) {
+        // 使用try-catch捕获异常
+        try {
+            // 根据类型调用对应查询
+            List<GeoPoint> points = switch (type) {
+                // 景点
+                case GeoPoint.TYPE_ATTRACTION -> geoMapper.findAttractionGeoPoints();
+                // 酒店
+                case GeoPoint.TYPE_HOTEL -> geoMapper.findHotelGeoPoints();
+                // 餐厅
+                default -> geoMapper.findRestaurantGeoPoints();
+            };
+            // 查询结果为空时返回空列表
+            return points == null ? new ArrayList<>() : points;
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("加载{}坐标失败：{}", type, e.getMessage());
+            // 返回空列表
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 检查表的坐标字段
+     * 功能概述：表中没有longitude、latitude字段时记录警告，字段由db/schema-geo.sql添加，应用运行时不修改表结构
+     * @param {String} tableName - 表名
+     */
+    // 检查坐标字段方法
+    private void checkCoordinateColumns(String tableName) {
+        // 使用try-catch捕获异常
+        try {
+            // 字段不存在时提示执行脚本，该类型加载失败后索引为空
+            if (geoMapper.countColumn(tableName, "latitude") == 0) {
+                // 记录警告日志
+                logger.warn("{} 表缺少经纬度字段，附近查询不包含该类型，请先执行 db/schema-geo.sql", tableName);
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查 {} 表经纬度字段失败：{}", tableName, e.getMessage());
+        }
+    }
+
+    /**
+     * 过滤出有坐标的地点
+     * 功能概述：经纬度任一为空的地点不进入索引，不再用同城或同省景点的中心点估算坐标，避免返回编造的距离
+     * @param {List<GeoPoint>} points - 地点列表
+     * @return {List<GeoPoint>} 返回有坐标的地点列表
+     */
+    // 过滤有坐标地点方法
+    private static List<GeoPoint> withCoordinates(List<GeoPoint> points) {
+        // 结果列表
+        List<GeoPoint> result = new ArrayList<>(points.size());
+        // 遍历地点
+        for (GeoPoint p : points) {
+            // 有坐标时加入
+            if (p.getLatitude() != null && p.getLongitude() != null) {
+                // 加入结果
+                result.add(p);
+            }
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 将地点转换为Map
+     * 功能概述：组装接口返回的地点信息和距离，距离保留三位小数
+     * @param {GeoPoint} p - 地点
+     * @param {double} distanceKm - 距离（公里）
+     * @return {Map<String, Object>} 返回地点信息Map
+     */
+    // 地点转换为Map方法
+    private Map<String, Object> toMap(GeoPoint p, double distanceKm) {
+        // 创建有序Map
+        Map<String, Object> map = new LinkedHashMap<>();
+        // 类型
+        map.put("type", p.getType());
+        // 编号
+        map.put("id", p.getId());
+        // 名称
+        map.put("name", p.getName());
+        // 省份
+        map.put("province", p.getProvince());
+        // 城市
+        map.put("city", p.getCity());
+        // 纬度
+        map.put("latitude", p.getLatitude());
+        // 经度
+        map.put("longitude", p.getLongitude());
+        // 评分
+        map.put("rating", p.getRating());
+        // 图片
+        map.put("img", p.getImg());
+        // 距离（公里），保留三位小数
+        map.put("distanceKm", Math.round(distanceKm * 1000) / 1000.0);
+        // 返回Map
+        return map;
+    }
+
+    /**
+     * 构建失败结果
+     * 功能概述：返回success为false并带有错误消息的结果Map
+     * @param {String} message - 错误消息
+     * @return {Map<String, Object>} 返回失败结果
+     */
+    // 构建失败结果方法
+    private Map<String, Object> failure(String message) {
+        // 创建结果Map
+        Map<String, Object> result = new HashMap<>();
+        // 设置失败
+        result.put("success", false);
+        // 设置错误消息
+        result.put("message", message);
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 计算球面距离
+     * 功能概述：使用Haversine公式计算两点间的大圆距离
+     * @param {double} lat1 - 第一个点的纬度
+     * @param {double} lng1 - 第一个点的经度
+     * @param {double} lat2 - 第二个点的纬度
+     * @param {double} lng2 - 第二个点的经度
+     * @return {double} 返回距离（公里）
+     */
+    // 计算球面距离方法
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        // 纬度差（弧度）
+        double dLat = Math.toRadians(lat2 - lat1);
+        // 经度差（弧度）
+        double dLng = Math.toRadians(lng2 - lng1);
+        // Haversine公式中间值
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        // 返回距离
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * 索引快照
+     * 功能概述：保存一次重建得到的全部网格和酒店编号索引，创建后不再修改
+     */
+    // 索引快照类
+    private static final class Snapshot {
+        // 按类型划分的网格
+        private final Map<String, Grid> grids;
+        // 酒店编号到地点的索引
+        private final Map<Long, GeoPoint> hotels;
+        // 构建时间
+        private final LocalDateTime builtAt;
+        // 构建耗时（毫秒）
+        private final long buildMs;
+
+        // 构造方法
+        private Snapshot(Map<String, Grid> grids, Map<Long, GeoPoint> hotels, LocalDateTime builtAt, long buildMs) {
+            // 保存网格
+            this.grids = grids;
+            // 保存酒店索引
+            this.hotels = hotels;
+            // 保存构建时间
+            this.builtAt = builtAt;
+            // 保存构建耗时
+            this.buildMs = buildMs;
+        }
+
+        // 创建空快照，应用启动后首次重建前使用
+        private static Snapshot empty() {
+            // 返回空快照
+            return new Snapshot(Collections.emptyMap(), Collections.emptyMap(), null, 0);
+        }
+    }
+
+    /**
+     * 查询结果中的近邻点
+     * 功能概述：保存地点和它到查询中心的距离
+     */
+    // 近邻点类
+    private static final class Neighbor {
+        // 地点
+        private final GeoPoint point;
+        // 距离（公里）
+        private final double distanceKm;
+
+        // 构造方法
+        private Neighbor(GeoPoint point, double distanceKm) {
+            // 保存地点
+            this.point = point;
+            // 保存距离
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    /**
+     * 经纬度网格
+     * 功能概述：把地点按(floor(纬度/边长), floor(经度/边长))分桶，网格坐标打包为long作为键，
+     * 查询时按切比雪夫距离一圈一圈向外扫描，只访问可能包含结果的网格
+     */
+    // 经纬度网格类
+    static final class Grid {
+        // 网格边长（度）
+        private final double cell;
+        // 网格键到地点数组的映射
+        private final Map<Long, GeoPoint[]> cells;
+        // 地点总数
+        private final int size;
+        // 缺少坐标未进入网格的地点数量
+        private final int missingCoordinates;
+
+        // 构造方法，根据有坐标的地点列表构建网格
+        Grid(double cell, List<GeoPoint> points, int missingCoordinates) {
+            // 保存网格边长
+            this.cell = cell;
+            // 临时分桶
+            Map<Long, List<GeoPoint>> buckets = new HashMap<>();
+            // 遍历地点
+            for (GeoPoint p : points) {
+                // 计算网格键并放入对应桶
+                buckets.computeIfAbsent(key(row(p.getLatitude()), col(p.getLongitude())), x -> new ArrayList<>()).add(p);
+            }
+            // 转换为数组，减少查询时的迭代器开销
+            Map<Long, GeoPoint[]> frozen = new HashMap<>(buckets.size() * 2);
+            // 遍历临时分桶
+            for (Map.Entry<Long, List<GeoPoint>> entry : buckets.entrySet()) {
+                // 放入数组
+                frozen.put(entry.getKey(), entry.getValue().toArray(new GeoPoint[0]));
+            }
+            // 保存网格
+            this.cells = frozen;
+            // 保存地点总数
+            this.size = points.size();
+            // 保存缺少坐标的数量
+            this.missingCoordinates = missingCoordinates;
+        }
+
+        // 计算纬度所在的网格行号
+        private int row(double lat) {
+            // 向下取整
+            return (int) Math.floor(lat / cell);
+        }
+
+        // 计算经度所在的网格列号
+        private int col(double lng) {
+            // 向下取整
+            return (int) Math.floor(lng / cell);
+        }
+
+        // 把行号和列号打包为long键
+        private static long key(int row, int col) {
+            // 高32位为行号，低32位为列号
+            return ((long) row << 32) | (col & 0xffffffffL);
+        }
+
+        /**
+         * 查询最近的k个点
+         * 功能概述：从中心网格开始逐圈扫描，第r圈上任意点与中心的距离至少为(r-1)个网格边长，
+         * 该下界超过半径或已找到k个点且超过第k近距离时停止扫描
+         * @param {double} lat - 纬度
+         * @param {double} lng - 经度
+         * @param {double} radiusKm - 查询半径（公里）
+         * @param {int} k - 返回数量
+         * @param {GeoPoint} exclude - 需要排除的地点，可为空
+         * @return {List<Neighbor>} 返回按距离升序排列的近邻点
+         */
+        // 查询最近k个点方法
+        List<Neighbor> nearest(double lat, double lng, double radiusKm, int k, GeoPoint exclude) {
+            // 网格为空时直接返回
+            if (size == 0) {
+                // 返回空列表
+                return new ArrayList<>();
+            }
+            // 按距离倒序的最大堆，堆顶是当前第k近的点
+            PriorityQueue<Neighbor> heap = new PriorityQueue<>(k + 1,
+                    Comparator.comparingDouble((Neighbor n) -> n.distanceKm).reversed());
+            // 中心网格行号
+            int centerRow = row(lat);
+            // 中心网格列号
+            int centerCol = col(lng);
+            // 最大扫描圈数，防止极端参数导致死循环
+            int maxRing = (int) Math.ceil(180 / cell);
+            // 逐圈扫描
+            for (int r = 0; r <= maxRing; r++) {
+                // 从第1圈开始计算该圈的最小可能距离
+                if (r > 0) {
+                    // 经度方向每度对应的距离随纬度减小，按该圈可能到达的最高纬度取保守值
+                    double kmPerDegree = KM_PER_DEGREE * Math.cos(Math.toRadians(Math.min(89.9, Math.abs(lat) + (r + 1) * cell)));
+                    // 该圈任意点的最小可能距离
+                    double lowerBound = (r - 1) * cell * kmPerDegree;
+                    // 超过半径时停止
+                    if (lowerBound > radiusKm) {
+                        // 结束扫描
+                        break;
+                    }
+                    // 已找到k个点且该圈不可能更近时停止
+                    if (heap.size() == k && lowerBound > heap.peek().distanceKm) {
+                        // 结束扫描
+                        break;
+                    }
+                }
+                // 遍历该圈的行
+                for (int dr = -r; dr <= r; dr++) {
+                    // 首行和末行扫描整行，中间行只扫描两端
+                    int step = (dr == -r || dr == r) ? 1 : Math.max(1, 2 * r);
+                    // 遍历该圈的列
+                    for (int dc = -r; dc <= r; dc += step) {
+                        // 获取网格中的地点
+                        GeoPoint[] bucket = cells.get(key(centerRow + dr, centerCol + dc));
+                        // 空网格跳过
+                        if (bucket == null) {
+                            // 继续下一个网格
+                            continue;
+                        }
+                        // 遍历网格中的地点
+                        for (GeoPoint p : bucket) {
+                            // 跳过需要排除的地点
+                            if (p == exclude) {
+                                // 继续下一个地点
+                                continue;
+                            }
+                            // 计算距离
+                            double d = haversineKm(lat, lng, p.getLatitude(), p.getLongitude());
+                            // 超出半径跳过
+                            if (d > radiusKm) {
+                                // 继续下一个地点
+                                continue;
+                            }
+                            // 堆未满时直接加入
+                            if (heap.size() < k) {
+                                // 加入堆
+                                heap.add(new Neighbor(p, d));
+                            // 比堆顶更近时替换堆顶
+                            } else if (d < heap.peek().distanceKm) {
+                                // 移除堆顶
+                                heap.poll();
+                                // 加入堆
+                                heap.add(new Neighbor(p, d));
+                            }
+                        }
+                    }
+                }
+            }
+            // 转换为列表
+            List<Neighbor> result = new ArrayList<>(heap);
+            // 按距离升序排序
+            result.sort(Comparator.comparingDouble(n -> n.distanceKm));
+            // 返回结果
+            return result;
+        }
+    }
+}
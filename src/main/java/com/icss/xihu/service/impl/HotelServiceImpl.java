@@ -5,6 +5,10 @@
 // 定义包路径，标识该类属于com.icss.xihu.service.impl包
 package com.icss.xihu.service.impl;
 
+// 导入读库查询注解
+import com.icss.xihu.config.ReadReplica;
+// 导入请求合并注解
+import com.icss.xihu.config.SingleFlight;
 // 导入酒店Mapper接口
 import com.icss.xihu.mapper.HotelMapper;
 // 导入酒店实体类
@@ -15,6 +19,8 @@ import com.icss.xihu.model.HotelMany;
 import com.icss.xihu.service.HotelService;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring缓存注解
+import org.springframework.cache.annotation.Cacheable;
 // 导入Spring的服务注解，标识该类为服务层组件
 import org.springframework.stereotype.Service;
 
@@ -27,6 +33,8 @@ import java.util.List;
  */
 // 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
 @Service
+// 目录类查询，不在读写事务中时走读库
+@ReadReplica
 // 酒店服务实现类，实现HotelService接口
 public class HotelServiceImpl implements HotelService {
     // 实现类实现接口时必须重写接口中的抽象方法
@@ -43,6 +51,10 @@ public class HotelServiceImpl implements HotelService {
      */
     // 重写接口中的findAll方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（hotels）
+    @Cacheable(cacheNames = "hotels", key = "'all'")
     // 查询所有酒店方法，返回所有酒店的列表
     public List<Hotel> findAll() {
         // 调用Mapper层的findAll方法，查询所有酒店信息并返回
@@ -57,6 +69,10 @@ public class HotelServiceImpl implements HotelService {
      */
     // 重写接口中的findById方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（hotels）
+    @Cacheable(cacheNames = "hotels", key = "'id:' + #p0")
     // 根据ID查询酒店方法，接收酒店ID参数，返回酒店对象
     public Hotel findById(int id) {
         // 调用Mapper层的findById方法，根据酒店ID查询酒店信息并返回
@@ -71,6 +87,8 @@ public class HotelServiceImpl implements HotelService {
      */
     // 重写接口中的findByMany方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 多表查询方法，接收酒店ID参数，返回酒店及其房间信息的列表
     public List<HotelMany> findByMany(int id) {
         // 调用Mapper层的findByMany方法，根据酒店ID查询酒店及其房间信息并返回
@@ -84,6 +102,10 @@ public class HotelServiceImpl implements HotelService {
      */
     // 重写接口中的findIndex方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（hotels）
+    @Cacheable(cacheNames = "hotels", key = "'index'")
     // 查询首页显示的酒店方法，返回前3条酒店的列表
     public List<Hotel> findIndex() {
         // 调用Mapper层的findIndex方法，查询前3条酒店信息并返回
@@ -98,6 +120,8 @@ public class HotelServiceImpl implements HotelService {
      */
     // 重写接口中的searchByKeyword方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据关键词搜索酒店方法，接收关键词参数，返回匹配的酒店列表
     public List<Hotel> searchByKeyword(String keyword) {
         // 调用Mapper层的searchByKeyword方法，在关键词前后添加通配符%，实现模糊搜索
@@ -111,6 +135,10 @@ public class HotelServiceImpl implements HotelService {
      */
     // 重写接口中的getHotHotels方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（hotels）
+    @Cacheable(cacheNames = "hotels", key = "'hot'")
     // 获取热门酒店方法，返回热门酒店的列表
     public List<Hotel> getHotHotels() {
         // 调用Mapper层的getHotHotels方法，查询热门酒店信息并返回
@@ -124,6 +152,10 @@ public class HotelServiceImpl implements HotelService {
      */
     // 重写接口中的findAllActive方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（hotels）
+    @Cacheable(cacheNames = "hotels", key = "'active'")
     // 查询所有活跃的酒店方法，返回所有活跃酒店的列表
     public List<Hotel> findAllActive() {
         // 调用Mapper层的findAllActive方法，查询所有活跃酒店信息并返回
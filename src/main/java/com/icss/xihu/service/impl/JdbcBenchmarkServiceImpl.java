@@ -0,0 +1,343 @@
+/**
+ * JDBC调优基准对比服务实现类
+ * 功能概述：实现JdbcBenchmarkService接口，从MyBatis配置中取出酒店详情查询和统一订单插入的映射语句，
+ * 用MyBatis的参数处理器在临时连接池的连接上直接执行，保证两种连接池执行的SQL和参数与业务代码完全一致
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入JDBC性能调优配置类
+import com.icss.xihu.config.JdbcTuningConfig;
+// 导入酒店Mapper接口
+import com.icss.xihu.mapper.HotelMapper;
+// 导入统一订单新Mapper接口
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+// 导入酒店实体类
+import com.icss.xihu.model.Hotel;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入JDBC调优基准对比服务接口
+import com.icss.xihu.service.JdbcBenchmarkService;
+// 导入HikariCP连接池数据源
+import com.zaxxer.hikari.HikariDataSource;
+// 导入MyBatis的绑定SQL
+import org.apache.ibatis.mapping.BoundSql;
+// 导入MyBatis的映射语句
+import org.apache.ibatis.mapping.MappedStatement;
+// 导入MyBatis的默认参数处理器
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+// 导入MyBatis的会话工厂
+import org.apache.ibatis.session.SqlSessionFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring Boot的数据源配置属性
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入BigDecimal类
+import java.math.BigDecimal;
+// 导入数据库连接接口
+import java.sql.Connection;
+// 导入预编译语句接口
+import java.sql.PreparedStatement;
+// 导入结果集接口
+import java.sql.ResultSet;
+// 导入SQL异常类
+import java.sql.SQLException;
+// 导入语句接口，用于获取自增主键常量
+import java.sql.Statement;
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+
+/**
+ * JDBC调优基准对比服务实现类
+ * 功能概述：实现JdbcBenchmarkService接口，从MyBatis配置中取出酒店详情查询和统一订单插入的映射语句，
+ * 用MyBatis的参数处理器在临时连接池的连接上直接执行，保证两种连接池执行的SQL和参数与业务代码完全一致
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// JDBC调优基准对比服务实现类，实现JdbcBenchmarkService接口
+public class JdbcBenchmarkServiceImpl implements JdbcBenchmarkService {
+
+    // 目录读取路径使用的映射语句
+    private static final String CATALOG_STATEMENT = HotelMapper.class.getName() + ".findById";
+    // 下单路径使用的映射语句
+    private static final String ORDER_STATEMENT = UnifiedOrderNewMapper.class.getName() + ".insertOrder";
+    // 每轮目录读取的查询次数上限
+    private static final int CATALOG_READS_PER_ROUND = 100;
+    // 每轮插入的订单数
+    private static final int ORDERS_PER_ROUND = 100;
+
+    // 自动注入Spring Boot的数据源配置属性
+    @Autowired
+    // 数据源配置属性对象，用于创建临时连接池
+    private DataSourceProperties dataSourceProperties;
+
+    // 自动注入JDBC性能调优配置
+    @Autowired
+    // JDBC性能调优配置对象，提供调优连接池的驱动参数
+    private JdbcTuningConfig tuningConfig;
+
+    // 自动注入MyBatis会话工厂
+    @Autowired
+    // MyBatis会话工厂对象，用于取得映射语句
+    private SqlSessionFactory sqlSessionFactory;
+
+    // 自动注入酒店Mapper
+    @Autowired
+    // 酒店Mapper对象，用于取得目录读取使用的酒店编号
+    private HotelMapper hotelMapper;
+
+    /**
+     * JDBC调优基准对比
+     * 功能概述：两种连接池各自预热一轮后执行指定轮数，返回各路径每轮平均耗时和调优后的加速比
+     * @param {int} rounds - 每种连接池的执行轮数
+     * @param {Integer} userId - 测试订单使用的用户编号
+     * @return {Map<String, Object>} 返回对比结果
+     */
+    // 重写接口中的benchmark方法
+    @Override
+    // JDBC调优基准对比方法
+    public Map<String, Object> benchmark(int rounds, Integer userId) {
+        // 轮数限制在1到20之间，避免误操作压垮数据库
+        int n = Math.max(1, Math.min(rounds, 20));
+        // 目录读取使用的酒店编号
+        List<Integer> hotelIds = hotelMapper.findAll().stream()
+                .map(Hotel::getId)
+                .limit(CATALOG_READS_PER_ROUND)
+                .toList();
+        // 使用try-catch把SQL异常转换为运行时异常
+        try {
+            // 不带驱动调优参数的连接池
+            Map<String, Object> baseline = runVariant("benchmark-baseline", Map.of(), n, hotelIds, userId);
+            // 带驱动调优参数的连接池
+            Map<String, Object> tuned = runVariant("benchmark-tuned", tuningConfig.getDriverProperties(), n, hotelIds, userId);
+
+            // 加速比（基准耗时 ÷ 调优耗时）
+            Map<String, Object> speedup = new LinkedHashMap<>();
+            // 遍历各路径
+            for (String path : baseline.keySet()) {
+                // 调优后的耗时
+                double tunedMs = (double) tuned.get(path);
+                // 计算加速比
+                speedup.put(path, tunedMs == 0 ? 0 : (double) baseline.get(path) / tunedMs);
+            }
+
+            // 创建对比结果Map
+            Map<String, Object> result = new LinkedHashMap<>();
+            // 执行轮数
+            result.put("rounds", n);
+            // 每轮目录读取次数
+            result.put("catalogReadsPerRound", hotelIds.size());
+            // 每轮插入订单数
+            result.put("ordersPerRound", ORDERS_PER_ROUND);
+            // 调优使用的驱动参数
+            result.put("driverProperties", tuningConfig.getDriverProperties());
+            // 按CPU核数计算的连接池大小
+            result.put("derivedPoolSize", tuningConfig.derivePoolSize());
+            // 调优是否已应用到应用连接池
+            result.put("tuningEnabled", tuningConfig.isEnabled());
+            // 基准连接池每轮平均耗时（毫秒）
+            result.put("baseline", baseline);
+            // 调优连接池每轮平均耗时（毫秒）
+            result.put("tuned", tuned);
+            // 加速比
+            result.put("speedup", speedup);
+            // 返回对比结果
+            return result;
+        // 捕获SQL异常
+        } catch (SQLException e) {
+            // 转换为运行时异常
+            throw new IllegalStateException("JDBC基准对比执行失败：" + e.getMessage(), e);
+        }
+    }
+
+    // 在一个临时连接池上执行各路径，返回每轮平均耗时（毫秒）
+    private Map<String, Object> runVariant(String name, Map<String, String> driverProperties, int rounds,
+                                           List<Integer> hotelIds, Integer userId) throws SQLException {
+        // 创建临时连接池并取一个连接，结束后关闭
+        try (HikariDataSource pool = newPool(name, driverProperties); Connection connection = pool.getConnection()) {
+            // 预热：填充语句缓存和服务端预编译语句
+            runCatalogReads(connection, hotelIds);
+            // 预热逐条插入
+            runOrderInserts(connection, userId, false);
+            // 预热批量插入
+            runOrderInserts(connection, userId, true);
+
+            // 目录读取累计耗时（纳秒）
+            long catalogTotal = 0;
+            // 逐条插入累计耗时（纳秒）
+            long insertTotal = 0;
+            // 批量插入累计耗时（纳秒）
+            long batchTotal = 0;
+            // 循环执行指定轮数
+            for (int i = 0; i < rounds; i++) {
+                // 记录开始时间
+                long start = System.nanoTime();
+                // 目录读取
+                runCatalogReads(connection, hotelIds);
+                // 累加耗时
+                catalogTotal += System.nanoTime() - start;
+
+                // 记录开始时间
+                start = System.nanoTime();
+                // 逐条插入订单
+                runOrderInserts(connection, userId, false);
+                // 累加耗时
+                insertTotal += System.nanoTime() - start;
+
+                // 记录开始时间
+                start = System.nanoTime();
+                // 批量插入订单
+                runOrderInserts(connection, userId, true);
+                // 累加耗时
+                batchTotal += System.nanoTime() - start;
+            }
+
+            // 每轮平均耗时
+            Map<String, Object> result = new LinkedHashMap<>();
+            // 目录读取
+            result.put("catalogReadMs", catalogTotal / rounds / 1_000_000.0);
+            // 逐条插入订单
+            result.put("orderInsertMs", insertTotal / rounds / 1_000_000.0);
+            // 批量插入订单
+            result.put("orderBatchInsertMs", batchTotal / rounds / 1_000_000.0);
+            // 返回结果
+            return result;
+        }
+    }
+
+    // 创建只有一个连接的临时连接池，连接地址和账号与应用数据源相同
+    private HikariDataSource newPool(String name, Map<String, String> driverProperties) {
+        // 创建连接池
+        HikariDataSource pool = new HikariDataSource();
+        // 设置连接池名称
+        pool.setPoolName(name);
+        // 设置连接地址
+        pool.setJdbcUrl(dataSourceProperties.determineUrl());
+        // 设置账号
+        pool.setUsername(dataSourceProperties.determineUsername());
+        // 设置密码
+        pool.setPassword(dataSourceProperties.determinePassword());
+        // 设置驱动类
+        pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        // 只需要一个连接
+        pool.setMaximumPoolSize(1);
+        // 追加驱动参数
+        driverProperties.forEach(pool::addDataSourceProperty);
+        // 返回连接池
+        return pool;
+    }
+
+    // 目录读取：逐条执行酒店详情查询（与MyBatis默认执行器一样每次预编译新语句）
+    private void runCatalogReads(Connection connection, List<Integer> hotelIds) throws SQLException {
+        // 映射语句
+        MappedStatement statement = sqlSessionFactory.getConfiguration().getMappedStatement(CATALOG_STATEMENT);
+        // 遍历酒店编号
+        for (Integer id : hotelIds) {
+            // 绑定SQL
+            BoundSql boundSql = statement.getBoundSql(id);
+            // 预编译语句
+            try (PreparedStatement ps = connection.prepareStatement(boundSql.getSql())) {
+                // 设置参数
+                new DefaultParameterHandler(statement, id, boundSql).setParameters(ps);
+                // 执行查询并读完结果
+                try (ResultSet rs = ps.executeQuery()) {
+                    // 遍历结果
+                    while (rs.next()) {
+                        // 读取第一列
+                        rs.getObject(1);
+                    }
+                }
+            }
+        }
+    }
+
+    // 下单写入：逐条或批量插入统一订单，结束后回滚
+    private void runOrderInserts(Connection connection, Integer userId, boolean batch) throws SQLException {
+        // 映射语句
+        MappedStatement statement = sqlSessionFactory.getConfiguration().getMappedStatement(ORDER_STATEMENT);
+        // 开启事务
+        connection.setAutoCommit(false);
+        // 使用try-finally确保回滚
+        try {
+            // 批量插入
+            if (batch) {
+                // 批量插入共用一个预编译语句
+                PreparedStatement ps = null;
+                // 使用try-finally确保关闭语句
+                try {
+                    // 遍历订单
+                    for (int i = 0; i < ORDERS_PER_ROUND; i++) {
+                        // 测试订单
+                        UnifiedOrderNew order = newOrder(userId, i);
+                        // 绑定SQL
+                        BoundSql boundSql = statement.getBoundSql(order);
+                        // 第一行时预编译语句
+                        if (ps == null) {
+                            // 预编译语句，返回自增主键
+                            ps = connection.prepareStatement(boundSql.getSql(), Statement.RETURN_GENERATED_KEYS);
+                        }
+                        // 设置参数
+                        new DefaultParameterHandler(statement, order, boundSql).setParameters(ps);
+                        // 加入批量
+                        ps.addBatch();
+                    }
+                    // 执行批量
+                    ps.executeBatch();
+                } finally {
+                    // 关闭语句
+                    if (ps != null) {
+                        // 关闭
+                        ps.close();
+                    }
+                }
+            } else {
+                // 遍历订单
+                for (int i = 0; i < ORDERS_PER_ROUND; i++) {
+                    // 测试订单
+                    UnifiedOrderNew order = newOrder(userId, i);
+                    // 绑定SQL
+                    BoundSql boundSql = statement.getBoundSql(order);
+                    // 预编译语句，返回自增主键
+                    try (PreparedStatement ps = connection.prepareStatement(boundSql.getSql(), Statement.RETURN_GENERATED_KEYS)) {
+                        // 设置参数
+                        new DefaultParameterHandler(statement, order, boundSql).setParameters(ps);
+                        // 执行插入
+                        ps.executeUpdate();
+                    }
+                }
+            }
+        } finally {
+            // 回滚，不留下测试订单
+            connection.rollback();
+            // 恢复自动提交
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // 创建测试订单
+    private UnifiedOrderNew newOrder(Integer userId, int index) {
+        // 创建订单对象
+        UnifiedOrderNew order = new UnifiedOrderNew();
+        // 设置订单号（BM + 纳秒时间戳 + 序号，不与正式订单号冲突）
+        order.setOrderNo("BM" + System.nanoTime() + index);
+        // 设置用户编号
+        order.setUserId(userId);
+        // 设置订单类型
+        order.setOrderType(UnifiedOrderNew.TYPE_SHOPPING);
+        // 设置订单标题
+        order.setOrderTitle("基准对比测试订单");
+        // 设置订单总金额
+        order.setTotalAmount(BigDecimal.ONE);
+        // 设置支付状态为待支付
+        order.setPaymentStatus(UnifiedOrderNew.STATUS_UNPAID);
+        // 返回订单
+        return order;
+    }
+}
@@ -0,0 +1,515 @@
+/**
+ * 订单过期服务实现类
+ * 功能概述：实现OrderExpiryService接口，用分层时间轮登记未来一段时间内过期的待支付统一订单，
+ * 推进时钟时把过期的订单按批次交给统一订单引擎在短事务中取消，并按类型批量取消各模块订单
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入订单过期登记Mapper接口
+import com.icss.xihu.mapper.OrderExpiryMapper;
+// 导入订单过期登记实体类
+import com.icss.xihu.model.OrderExpiry;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入订单过期登记存储
+import com.icss.xihu.order.OrderExpiryStore;
+// 导入调度租约
+import com.icss.xihu.scheduling.SchedulerLease;
+// 导入调度租约管理器
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+// 导入订单过期服务接口
+import com.icss.xihu.service.OrderExpiryService;
+// 导入统一订单新服务接口
+import com.icss.xihu.service.UnifiedOrderNewService;
+// 导入分层时间轮
+import com.icss.xihu.util.HierarchicalTimerWheel;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+
+// 导入LocalDateTime类，用于表示日期和时间
+import java.time.LocalDateTime;
+// 导入ZoneId类，用于把日期时间换算为时间戳
+import java.time.ZoneId;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Set接口
+import java.util.Set;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+// 导入并发队列
+import java.util.concurrent.ConcurrentLinkedQueue;
+// 导入原子布尔类
+import java.util.concurrent.atomic.AtomicBoolean;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 订单过期服务实现类
+ * 功能概述：实现OrderExpiryService接口，用分层时间轮登记未来一段时间内过期的待支付统一订单，
+ * 推进时钟时把过期的订单按批次交给统一订单引擎在短事务中取消，并按类型批量取消各模块订单；
+ * 过期时间以order_expiry表为准，时间轮只是调度，取消前在事务中按数据库当前时间重新校验，重复登记、延长过期时间和多实例并发都不会误取消；
+ * 过期时间由数据库时钟计算，装载时测量数据库时钟与本机时钟的偏差，换算为本机时间后登记到时间轮
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 订单过期服务实现类，实现OrderExpiryService接口
+public class OrderExpiryServiceImpl implements OrderExpiryService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpiryServiceImpl.class);
+
+    // 时间轮每层的格数
+    private static final int WHEEL_SIZE = 60;
+    // 装载和补登记时每批读取的订单数
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    // 补登记的租约名称
+    private static final String BACKFILL_LEASE = "order-expiry-backfill";
+
+    // 自动注入订单过期登记Mapper
+    @Autowired
+    // 订单过期登记Mapper对象，用于装载即将过期的订单和补登记
+    private OrderExpiryMapper orderExpiryMapper;
+
+    // 自动注入订单过期登记存储
+    @Autowired
+    // 订单过期登记存储对象，用于取出新建订单的登记
+    private OrderExpiryStore orderExpiryStore;
+
+    // 自动注入统一订单新服务
+    @Autowired
+    // 统一订单引擎，用于在短事务中取消过期订单
+    private UnifiedOrderNewService unifiedOrderNewService;
+
+    // 自动注入调度租约管理器
+    @Autowired
+    // 调度租约管理器对象，保证补登记只在一个实例上执行
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    // 装载未来多少分钟内过期的订单，默认60分钟
+    @Value("${order-expiry.horizon-minutes:60}")
+    // 装载分钟数字段
+    private int horizonMinutes;
+
+    // 时间轮第一层每格的毫秒数，也是推进时钟的间隔，默认1000
+    @Value("${order-expiry.tick-ms:1000}")
+    // 每格毫秒数字段
+    private long tickMs;
+
+    // 每批取消的订单数，默认200
+    @Value("${order-expiry.batch-size:200}")
+    // 每批订单数字段
+    private int batchSize;
+
+    // 分层时间轮，条目为待过期的订单号
+    private HierarchicalTimerWheel<String> wheel;
+    // 已登记（尚未处理）的订单号，避免重复登记
+    private final Set<String> scheduledNos = ConcurrentHashMap.newKeySet();
+    // 已过期、等待取消的订单号
+    private final ConcurrentLinkedQueue<String> dueOrders = new ConcurrentLinkedQueue<>();
+    // 上一次装载的结果
+    private volatile Map<String, Object> lastReload;
+    // 上一次补登记的结果
+    private volatile Map<String, Object> lastBackfill;
+    // 数据库时钟减去本机时钟的毫秒数，每次装载时测量
+    private volatile long clockOffsetMs;
+    // 是否有补登记在执行
+    private final AtomicBoolean backfilling = new AtomicBoolean(false);
+    // 上一次取消失败的错误信息
+    private volatile String lastError;
+
+    // 累计登记的订单数
+    private final LongAdder scheduledCount = new LongAdder();
+    // 累计到期的订单数
+    private final LongAdder firedCount = new LongAdder();
+    // 累计实际取消的订单数
+    private final LongAdder expiredCount = new LongAdder();
+    // 累计补登记的订单数
+    private final LongAdder backfilledCount = new LongAdder();
+    // 累计取消批次数
+    private final LongAdder batchCount = new LongAdder();
+    // 累计失败批次数
+    private final LongAdder failureCount = new LongAdder();
+
+    /**
+     * 创建时间轮
+     * 功能概述：时间轮从当前时间开始计时，第一层每格tickMs毫秒
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 创建时间轮方法
+    public void init() {
+        // 创建时间轮
+        wheel = new HierarchicalTimerWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    // 登记到时间轮，已过过期时刻的直接放入待取消队列
+    private boolean register(String orderNo, long expireAtMs) {
+        // 已登记时跳过
+        if (!scheduledNos.add(orderNo)) {
+            // 返回未登记
+            return false;
+        }
+        // 登记数加1
+        scheduledCount.increment();
+        // 登记到时间轮，已过期时放入待取消队列
+        if (!wheel.add(expireAtMs, orderNo)) {
+            // 放入待取消队列
+            dueOrders.add(orderNo);
+            // 到期数加1
+            firedCount.increment();
+        }
+        // 返回已登记
+        return true;
+    }
+
+    /**
+     * 装载即将过期的订单
+     * 功能概述：测量数据库时钟与本机时钟的偏差，按(expire_time, order_no)索引分批读取装载范围内的过期登记，
+     * 过期时间换算为本机时间后登记到时间轮，已登记的订单跳过；不补登记，补登记由backfill在启动时执行一次
+     * @return {Map<String, Object>} 返回时钟偏差、读取数和新登记数
+     */
+    // 重写接口中的reload方法
+    @Override
+    // 装载即将过期的订单方法
+    public Map<String, Object> reload() {
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 过期登记表不可用时不装载
+        if (!orderExpiryStore.isAvailable()) {
+            // 标记不可用
+            result.put("available", false);
+            // 返回结果
+            return result;
+        }
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 数据库当前时间，过期时间由数据库时钟计算，装载范围也按数据库时钟计算
+        LocalDateTime dbNow = orderExpiryMapper.currentTime();
+        // 测量时钟偏差，取查询前后本机时间的中点
+        clockOffsetMs = toEpochMilli(dbNow) - (start + System.currentTimeMillis()) / 2;
+        // 装载范围的上限
+        LocalDateTime to = dbNow.plusMinutes(horizonMinutes);
+        // 游标的过期时间
+        LocalDateTime afterTime = null;
+        // 游标的订单号
+        String afterOrderNo = null;
+        // 读取数
+        int scanned = 0;
+        // 新登记数
+        int added = 0;
+        // 分批读取
+        while (true) {
+            // 读取下一批
+            List<OrderExpiry> chunk = orderExpiryMapper.findExpiringChunk(to, afterTime, afterOrderNo, LOAD_CHUNK_SIZE);
+            // 遍历本批登记
+            for (OrderExpiry expiry : chunk) {
+                // 过期时间换算为本机时间后登记，登记成功时计数
+                if (register(expiry.getOrderNo(), toEpochMilli(expiry.getExpireTime()) - clockOffsetMs)) {
+                    // 新登记数加1
+                    added++;
+                }
+            }
+            // 累加读取数
+            scanned += chunk.size();
+            // 不足一整批说明已到末尾
+            if (chunk.size() < LOAD_CHUNK_SIZE) {
+                // 跳出循环
+                break;
+            }
+            // 本批最后一条登记作为新的游标
+            OrderExpiry last = chunk.get(chunk.size() - 1);
+            // 游标的过期时间
+            afterTime = last.getExpireTime();
+            // 游标的订单号
+            afterOrderNo = last.getOrderNo();
+        }
+        // 装载范围上限（数据库时间）
+        result.put("to", to);
+        // 数据库时钟减去本机时钟的毫秒数
+        result.put("clockOffsetMs", clockOffsetMs);
+        // 读取数
+        result.put("scanned", scanned);
+        // 新登记数
+        result.put("added", added);
+        // 装载时间
+        result.put("time", LocalDateTime.now());
+        // 装载耗时（毫秒）
+        result.put("costMs", System.currentTimeMillis() - start);
+        // 保存装载结果
+        lastReload = result;
+        // 有新登记的订单时记录日志
+        if (added > 0) {
+            // 记录日志
+            logger.info("订单过期时间轮装载完成：{}", result);
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 为尚未登记的待支付订单补登记过期时间
+     * 功能概述：反连接按统一订单主键分批读取未登记的待支付订单，过期时间为最后一次更新时间加有效期；
+     * 需要扫描整个统一订单表，只在应用启动时（或手动）执行一次，在调度租约下执行，其他实例正在补登记时跳过
+     * @return {Map<String, Object>} 返回补登记数、是否完成和耗时
+     */
+    // 重写接口中的backfill方法
+    @Override
+    // 补登记方法，不与推进时钟共用锁，补登记期间时间轮照常推进
+    public Map<String, Object> backfill() {
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 过期登记表不可用时不补登记
+        if (!orderExpiryStore.isAvailable()) {
+            // 标记不可用
+            result.put("available", false);
+            // 返回结果
+            return result;
+        }
+        // 本实例已有补登记在执行时跳过
+        if (!backfilling.compareAndSet(false, true)) {
+            // 标记跳过
+            result.put("skipped", "已有补登记在执行");
+            // 返回结果
+            return result;
+        }
+        // 使用try-finally释放执行标记
+        try {
+            // 执行补登记
+            return doBackfill(result);
+        } finally {
+            // 释放执行标记
+            backfilling.set(false);
+        }
+    }
+
+    // 补登记主体：取得租约后按主键分批补登记，每批前续约
+    private Map<String, Object> doBackfill(Map<String, Object> result) {
+        // 补登记租约，租约表不可用时按单实例模式执行
+        SchedulerLease lease = null;
+        // 租约表可用时尝试获得
+        if (schedulerLeaseManager.isAvailable()) {
+            // 尝试获得租约
+            lease = schedulerLeaseManager.tryAcquire(BACKFILL_LEASE);
+            // 被其他实例持有时跳过
+            if (lease == null) {
+                // 标记跳过
+                result.put("skipped", "其他实例正在补登记");
+                // 返回结果
+                return result;
+            }
+        }
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 补登记数
+        int backfilled = 0;
+        // 是否完成
+        boolean completed = false;
+        // 使用try-finally保证释放租约
+        try {
+            // 有效期（分钟）
+            int ttlMinutes = orderExpiryStore.getTtlMinutes();
+            // 游标的订单主键
+            int afterId = 0;
+            // 分批读取
+            while (true) {
+                // 每批前续约，租约已被其他实例取得时停止
+                if (lease != null && !schedulerLeaseManager.renew(lease)) {
+                    // 未完成
+                    completed = false;
+                    // 跳出循环
+                    break;
+                }
+                // 读取下一批未登记的待支付订单
+                List<UnifiedOrderNew> chunk = orderExpiryMapper.findUnregisteredUnpaidOrders(afterId, LOAD_CHUNK_SIZE);
+                // 本批登记
+                List<OrderExpiry> expiries = new ArrayList<>(chunk.size());
+                // 遍历本批订单
+                for (UnifiedOrderNew order : chunk) {
+                    // 最后一次更新时间，没有时用创建时间（都是数据库时间）；都没有时不设置，写入时按数据库当前时间计算
+                    LocalDateTime touched = order.getUpdateTime() != null ? order.getUpdateTime() : order.getCreateTime();
+                    // 加入本批
+                    expiries.add(new OrderExpiry(order.getOrderNo(), touched != null ? touched.plusMinutes(ttlMinutes) : null));
+                }
+                // 一条语句写入，并发写入的登记不覆盖
+                if (!expiries.isEmpty()) {
+                    // 累加补登记数
+                    backfilled += orderExpiryMapper.insertBatch(expiries, ttlMinutes);
+                }
+                // 不足一整批说明已到末尾
+                if (chunk.size() < LOAD_CHUNK_SIZE) {
+                    // 已完成
+                    completed = true;
+                    // 跳出循环
+                    break;
+                }
+                // 本批最后一个订单主键作为新的游标
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } finally {
+            // 释放租约
+            if (lease != null) {
+                // 释放
+                schedulerLeaseManager.release(lease);
+            }
+        }
+        // 累计补登记数
+        backfilledCount.add(backfilled);
+        // 补登记数
+        result.put("backfilled", backfilled);
+        // 是否完成
+        result.put("completed", completed);
+        // 补登记时间
+        result.put("time", LocalDateTime.now());
+        // 补登记耗时（毫秒）
+        result.put("costMs", System.currentTimeMillis() - start);
+        // 保存补登记结果
+        lastBackfill = result;
+        // 有补登记的订单时记录日志
+        if (backfilled > 0) {
+            // 记录日志
+            logger.info("订单过期补登记完成：{}", result);
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 推进时钟
+     * 功能概述：登记新建的订单，取出已过期的订单，按批次在短事务中取消；取消失败的批次保留到下一次推进重试
+     */
+    // 重写接口中的advance方法
+    @Override
+    // 推进时钟方法，同一时间只允许一个线程推进
+    public synchronized void advance() {
+        // 当前时间
+        long now = System.currentTimeMillis();
+        // 装载范围的上限
+        long horizon = now + horizonMinutes * 60_000L;
+        // 登记新建的订单，超出装载范围的由定期装载登记
+        for (OrderExpiryStore.Scheduled item : orderExpiryStore.drainScheduled()) {
+            // 在装载范围内时登记
+            if (item.expireAtMs() <= horizon) {
+                // 登记到时间轮
+                register(item.orderNo(), item.expireAtMs());
+            }
+        }
+        // 取出已过期的订单
+        List<String> expired = wheel.advance(now);
+        // 放入待取消队列
+        dueOrders.addAll(expired);
+        // 到期数
+        firedCount.add(expired.size());
+        // 按批次取消
+        while (!dueOrders.isEmpty()) {
+            // 本批订单号
+            List<String> batch = new ArrayList<>(batchSize);
+            // 从队列中取出一批
+            for (String orderNo = dueOrders.poll(); orderNo != null; orderNo = dueOrders.poll()) {
+                // 加入本批
+                batch.add(orderNo);
+                // 满一批时停止
+                if (batch.size() >= batchSize) {
+                    // 跳出循环
+                    break;
+                }
+            }
+            // 使用try-catch处理取消失败
+            try {
+                // 过期时间不晚于数据库当前时间的订单被取消
+                List<String> cancelled = unifiedOrderNewService.expireOrders(batch);
+                // 实际取消的订单数
+                expiredCount.add(cancelled.size());
+                // 批次数加1
+                batchCount.increment();
+                // 处理完的订单不再登记（已支付的订单不会被取消，过期时间被延长的订单由下一次装载重新登记）
+                batch.forEach(scheduledNos::remove);
+                // 记录调试日志
+                logger.debug("订单过期时间轮取消一批：到期 {} 个，取消 {} 个", batch.size(), cancelled.size());
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 失败批次数加1
+                failureCount.increment();
+                // 记录错误信息
+                lastError = LocalDateTime.now() + " " + e.getMessage();
+                // 放回队列，下一次推进时重试
+                dueOrders.addAll(batch);
+                // 记录警告日志
+                logger.warn("订单过期时间轮取消过期订单失败，{} 个订单将在下一次推进时重试：{}", batch.size(), e.getMessage());
+                // 停止本次推进
+                break;
+            }
+        }
+    }
+
+    // 过期时间换算为毫秒时间戳
+    private static long toEpochMilli(LocalDateTime time) {
+        // 按系统时区换算
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 获取订单过期统计信息
+     * @return {Map<String, Object>} 返回登记数、待取消数、到期数和实际取消数等
+     */
+    // 重写接口中的getStats方法
+    @Override
+    // 获取订单过期统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 过期登记表是否可用
+        stats.put("available", orderExpiryStore.isAvailable());
+        // 有效期（分钟）
+        stats.put("ttlMinutes", orderExpiryStore.getTtlMinutes());
+        // 装载分钟数
+        stats.put("horizonMinutes", horizonMinutes);
+        // 每格毫秒数
+        stats.put("tickMs", tickMs);
+        // 时间轮层数
+        stats.put("levels", wheel.levels());
+        // 时间轮中尚未过期的订单数
+        stats.put("pending", wheel.size());
+        // 已过期、等待取消的订单数
+        stats.put("awaitingCancel", dueOrders.size());
+        // 累计登记数
+        stats.put("scheduled", scheduledCount.sum());
+        // 累计到期数
+        stats.put("fired", firedCount.sum());
+        // 累计实际取消数
+        stats.put("expired", expiredCount.sum());
+        // 累计补登记数
+        stats.put("backfilled", backfilledCount.sum());
+        // 累计取消批次数
+        stats.put("batches", batchCount.sum());
+        // 累计失败批次数
+        stats.put("failures", failureCount.sum());
+        // 上一次失败的错误信息
+        stats.put("lastError", lastError);
+        // 数据库时钟减去本机时钟的毫秒数
+        stats.put("clockOffsetMs", clockOffsetMs);
+        // 上一次装载的结果
+        stats.put("lastReload", lastReload);
+        // 上一次补登记的结果
+        stats.put("lastBackfill", lastBackfill);
+        // 返回统计信息
+        return stats;
+    }
+}
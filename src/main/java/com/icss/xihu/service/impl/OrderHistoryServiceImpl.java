@@ -0,0 +1,909 @@
+/**
+ * 订单历史服务实现类
+ * 功能概述：实现OrderHistoryService接口，按订单事件编号顺序把统一订单和模块订单摘要投影到order_history读模型，
+ * 订单中心和我的订单页面从读模型一次索引查询读取一页
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入读己之写跟踪器
+import com.icss.xihu.datasource.ReadYourWritesTracker;
+// 导入路由上下文
+import com.icss.xihu.datasource.RoutingContext;
+// 导入订单事件Mapper接口
+import com.icss.xihu.mapper.OrderEventMapper;
+// 导入订单历史Mapper接口
+import com.icss.xihu.mapper.OrderHistoryMapper;
+// 导入批处理任务检查点Mapper接口
+import com.icss.xihu.mapper.TaskCheckpointMapper;
+// 导入统一订单新Mapper接口
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+// 导入模块订单摘要实体类
+import com.icss.xihu.model.ModuleOrderSummary;
+// 导入订单事件实体类
+import com.icss.xihu.model.OrderEvent;
+// 导入订单历史实体类
+import com.icss.xihu.model.OrderHistory;
+// 导入分页结果
+import com.icss.xihu.model.PageResult;
+// 导入批处理任务检查点实体类
+import com.icss.xihu.model.TaskCheckpoint;
+// 导入统一订单新实体类
+import com.icss.xihu.model.UnifiedOrderNew;
+// 导入模块订单分发器
+import com.icss.xihu.order.ModuleOrderDispatcher;
+// 导入订单事件日志
+import com.icss.xihu.order.OrderEventJournal;
+// 导入调度租约
+import com.icss.xihu.scheduling.SchedulerLease;
+// 导入调度租约管理器
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+// 导入订单历史服务接口
+import com.icss.xihu.service.OrderHistoryService;
+// 导入统一订单新服务接口
+import com.icss.xihu.service.UnifiedOrderNewService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+// 导入Bean销毁前回调注解
+import jakarta.annotation.PreDestroy;
+
+// 导入LocalDateTime类，用于表示日期和时间
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashSet类
+import java.util.HashSet;
+// 导入Iterator接口
+import java.util.Iterator;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Set接口
+import java.util.Set;
+// 导入TreeMap类，按事件编号排序
+import java.util.TreeMap;
+// 导入TreeSet类，按事件编号排序
+import java.util.TreeSet;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 订单历史服务实现类
+ * 功能概述：实现OrderHistoryService接口。订单事件与订单状态在同一事务中提交，本类从检查点之后按编号分段读取事件，
+ * 每段按订单合并，一条IN查询读取订单当前状态、每个订单类型一条查询读取模块订单摘要，一条语句写入订单历史；
+ * 自增编号按分配顺序而不是提交顺序递增：读取位置沿连续的编号推进，遇到编号缺口时等缺口之后的事件沉淀后才越过，
+ * 缺口中的编号记在内存中、每轮按主键复查，晚提交的事件出现后补投影，超过保留时间仍未出现的视为已回滚；
+ * 保存的检查点是最小的未决缺口之前的编号，换实例或重启后从检查点重新读取，缺口重新识别；
+ * 投影在调度租约下执行，同一时间只有一个实例推进检查点，检查点带着租约的围栏令牌写入；
+ * 订单历史按last_event_id比较写入，重复投影和乱序投影都不会用旧状态覆盖新状态
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 订单历史服务实现类，实现OrderHistoryService接口
+public class OrderHistoryServiceImpl implements OrderHistoryService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(OrderHistoryServiceImpl.class);
+
+    // 检查点的任务名称
+    private static final String TASK_NAME = "order-history-projector";
+    // 每页条数上限
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 自动注入订单事件Mapper
+    @Autowired
+    // 订单事件Mapper对象，用于按编号读取事件
+    private OrderEventMapper orderEventMapper;
+
+    // 自动注入订单历史Mapper
+    @Autowired
+    // 订单历史Mapper对象，用于写入和读取读模型
+    private OrderHistoryMapper orderHistoryMapper;
+
+    // 自动注入批处理任务检查点Mapper
+    @Autowired
+    // 检查点Mapper对象，用于保存投影检查点
+    private TaskCheckpointMapper taskCheckpointMapper;
+
+    // 自动注入统一订单新Mapper
+    @Autowired
+    // 统一订单新Mapper对象，用于读取订单当前状态
+    private UnifiedOrderNewMapper unifiedOrderNewMapper;
+
+    // 自动注入模块订单分发器
+    @Autowired
+    // 模块订单分发器对象，用于按类型批量查询模块订单摘要
+    private ModuleOrderDispatcher moduleOrderDispatcher;
+
+    // 自动注入订单事件日志
+    @Autowired
+    // 订单事件日志对象，用于判断事件表是否可用
+    private OrderEventJournal orderEventJournal;
+
+    // 自动注入统一订单新服务
+    @Autowired
+    // 统一订单引擎，订单历史不可用时直接查询统一订单
+    private UnifiedOrderNewService unifiedOrderNewService;
+
+    // 自动注入读己之写跟踪器
+    @Autowired
+    // 读己之写跟踪器对象，用户刚写入订单时先补齐投影再在主库上读取
+    private ReadYourWritesTracker readYourWrites;
+
+    // 自动注入调度租约管理器
+    @Autowired
+    // 调度租约管理器对象，多实例部署时只有持有租约的实例投影
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    // 事件沉淀秒数，编号缺口之后的事件早于该时间时越过缺口，默认10秒
+    @Value("${order-history.settle-seconds:10}")
+    // 沉淀秒数字段
+    private int settleSeconds;
+
+    // 每段读取的事件数和补投影每段的订单数，默认500
+    @Value("${order-history.chunk-size:500}")
+    // 每段条数字段
+    private int chunkSize;
+
+    // 默认每页条数，默认20
+    @Value("${order-history.page-size:20}")
+    // 默认每页条数字段
+    private int defaultPageSize;
+
+    // 越过的编号缺口的复查时间（秒），超过后视为已回滚，默认300秒
+    @Value("${order-history.gap-retention-seconds:300}")
+    // 缺口复查时间字段
+    private int gapRetentionSeconds;
+
+    // 同时复查的缺口编号上限，超出时放弃最早的编号，默认5000
+    @Value("${order-history.max-gaps:5000}")
+    // 缺口编号上限字段
+    private int maxGaps;
+
+    // 续约间隔（毫秒），需要小于租约时长，默认10秒
+    @Value("${order-history.lease-renew-ms:10000}")
+    // 续约间隔字段
+    private long leaseRenewMs;
+
+    // 订单历史表是否可用
+    private volatile boolean available = false;
+    // 检查点表是否可用
+    private volatile boolean checkpointAvailable = false;
+    // 读取位置：该编号及之前的事件都已投影或记为缺口
+    private volatile long cursor = 0;
+    // 检查点：该编号及之前的事件都已投影或已放弃复查，即最小的未决缺口之前的编号
+    private volatile long watermark = 0;
+    // 上一次保存的检查点
+    private long savedWatermark = 0;
+    // 读取位置之后已投影的事件编号，下一轮跳过
+    private final TreeSet<Long> projectedAhead = new TreeSet<>();
+    // 读取位置之前未出现的事件编号及越过的时间（毫秒），每轮复查
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    // 当前持有的投影租约，租约表不可用时为null
+    private volatile SchedulerLease lease;
+    // 上一次续约的时间（毫秒）
+    private long leaseRenewedAt;
+    // 投影锁，后台投影与读取前的补齐串行写入订单历史
+    private final Object projectLock = new Object();
+    // 上一次补投影的结果
+    private volatile Map<String, Object> lastBackfill;
+    // 上一次失败的错误信息
+    private volatile String lastError;
+
+    // 累计读取的事件数
+    private final LongAdder eventCount = new LongAdder();
+    // 累计投影的订单数
+    private final LongAdder projectedCount = new LongAdder();
+    // 累计删除的订单历史数
+    private final LongAdder removedCount = new LongAdder();
+    // 累计读取前补齐的次数
+    private final LongAdder catchUpCount = new LongAdder();
+    // 累计退回到查询统一订单的次数
+    private final LongAdder fallbackCount = new LongAdder();
+    // 累计失败次数
+    private final LongAdder failureCount = new LongAdder();
+    // 累计复查后补投影的缺口事件数
+    private final LongAdder gapFilledCount = new LongAdder();
+    // 累计超过保留时间或数量上限放弃的缺口编号数
+    private final LongAdder gapExpiredCount = new LongAdder();
+
+    /**
+     * 检查订单历史表并读取检查点
+     * 功能概述：在启动时检查表是否存在，表由db/schema-order-history.sql和db/schema-overdue-sweep.sql创建，应用运行时不修改表结构；
+     * 订单历史表不存在时页面直接查询统一订单，检查点表不可用时检查点只保存在内存中
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 初始化方法
+    public void init() {
+        // 使用try-catch捕获异常
+        try {
+            // 表存在时标记可用
+            if (orderHistoryMapper.countTable() > 0) {
+                // 标记可用
+                available = true;
+            } else {
+                // 记录警告日志
+                logger.warn("缺少 order_history 表，订单列表将直接查询统一订单，请先执行 db/schema-order-history.sql");
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查订单历史表失败，订单列表将直接查询统一订单：{}", e.getMessage());
+        }
+        // 使用try-catch捕获异常
+        try {
+            // 检查点表由db/schema-overdue-sweep.sql创建，不存在时抛出异常，投影从头开始且不保存进度
+            if (taskCheckpointMapper.countTable() == 0) {
+                // 抛出异常
+                throw new IllegalStateException("缺少 task_checkpoint 表，请先执行 db/schema-overdue-sweep.sql");
+            }
+            // 标记检查点表可用
+            checkpointAvailable = true;
+            // 读取检查点
+            TaskCheckpoint checkpoint = taskCheckpointMapper.findByTaskName(TASK_NAME);
+            // 有检查点时从检查点继续
+            if (checkpoint != null && checkpoint.getCursorValue() != null) {
+                // 恢复检查点
+                cursor = Long.parseLong(checkpoint.getCursorValue());
+                watermark = cursor;
+                savedWatermark = cursor;
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("读取订单历史投影检查点失败，从头投影：{}", e.getMessage());
+        }
+    }
+
+    // 订单历史是否可以使用：订单历史表和事件表都可用
+    private boolean isUsable() {
+        // 两张表都可用时返回true
+        return available && orderEventJournal.isAvailable();
+    }
+
+    /**
+     * 读取用户的一页订单历史
+     * 功能概述：用户在读己之写窗口内时，先把该用户检查点之后的事件投影到订单历史，再在主库上读取；否则在读库上读取。
+     * 每页一次计数和一次按(user_id, create_time)索引的查询，行中已包含模块订单明细；订单历史不可用时退回到查询统一订单
+     * @param {Integer} userId - 用户编号
+     * @param {String} orderType - 订单类型（可选）
+     * @param {Integer} paymentStatus - 支付状态（可选）
+     * @param {int} page - 页码，从1开始
+     * @param {int} pageSize - 每页条数，不大于0时使用默认值
+     * @return {PageResult<OrderHistory>} 返回本页订单历史和总数
+     */
+    // 重写接口中的getOrderPage方法
+    @Override
+    // 读取用户的一页订单历史方法
+    public PageResult<OrderHistory> getOrderPage(Integer userId, String orderType, Integer paymentStatus, int page, int pageSize) {
+        // 规范化页码和每页条数
+        int size = pageSize <= 0 ? defaultPageSize : Math.min(pageSize, MAX_PAGE_SIZE);
+        int current = Math.max(page, 1);
+        // 订单历史不可用时直接查询统一订单
+        if (!isUsable()) {
+            // 退回次数加1
+            fallbackCount.increment();
+            // 查询统一订单并分页
+            return pageOfOrders(unifiedOrderNewService.getOrdersByUserId(userId, orderType, paymentStatus), current, size);
+        }
+        // 用户刚写入订单时先补齐尚未投影的事件
+        if (readYourWrites.isUserPinned(userId)) {
+            // 补齐该用户的投影
+            catchUp(userId);
+        }
+        // 偏移量
+        int offset = (current - 1) * size;
+        // 用户在窗口内时固定走主库，否则在读库上读取
+        return readYourWrites.readUser(userId, () -> {
+            // 标记优先读库
+            boolean previous = RoutingContext.preferReplica();
+            // 使用try-finally确保恢复标记
+            try {
+                // 总数
+                int total = orderHistoryMapper.countByUser(userId, orderType, paymentStatus);
+                // 本页数据，超出总数时不查询
+                List<OrderHistory> list = offset < total
+                        ? orderHistoryMapper.findPage(userId, orderType, paymentStatus, offset, size)
+                        : new ArrayList<>();
+                // 返回分页结果
+                return PageResult.of(list, total, current, size);
+            } finally {
+                // 恢复标记
+                RoutingContext.restoreReplicaPreferred(previous);
+            }
+        });
+    }
+
+    // 把该用户检查点之后有事件的订单投影到订单历史，失败时只记录警告，读取结果可能不包含最近的写入
+    private void catchUp(Integer userId) {
+        // 使用try-catch捕获异常
+        try {
+            // 该用户检查点之后有事件的订单及其最后一个事件，检查点之后的缺口中晚提交的事件也包含在内
+            Map<String, Long> latest = new LinkedHashMap<>();
+            for (OrderEvent event : orderEventMapper.findOrdersAfterByUser(userId, watermark, chunkSize)) {
+                latest.put(event.getOrderNo(), event.getId());
+            }
+            // 没有未投影的事件时返回
+            if (latest.isEmpty()) {
+                return;
+            }
+            // 与后台投影串行写入
+            synchronized (projectLock) {
+                // 投影这些订单
+                projectOrders(latest);
+            }
+            // 补齐次数加1
+            catchUpCount.increment();
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 失败次数加1
+            failureCount.increment();
+            // 记录错误信息
+            lastError = LocalDateTime.now() + " " + e.getMessage();
+            // 记录警告日志
+            logger.warn("补齐用户 {} 的订单历史失败：{}", userId, e.getMessage());
+        }
+    }
+
+    // 把统一订单列表转换为订单历史并截取一页，订单历史不可用时使用
+    private PageResult<OrderHistory> pageOfOrders(List<UnifiedOrderNew> orders, int page, int pageSize) {
+        // 本页的起止位置
+        int from = Math.min((page - 1) * pageSize, orders.size());
+        int to = Math.min(from + pageSize, orders.size());
+        // 本页订单
+        List<UnifiedOrderNew> slice = orders.subList(from, to);
+        // 查询本页的模块订单摘要
+        Map<String, ModuleOrderSummary> summaries = moduleOrderDispatcher.summarize(slice);
+        // 转换为订单历史
+        List<OrderHistory> list = new ArrayList<>(slice.size());
+        for (UnifiedOrderNew order : slice) {
+            list.add(toHistory(order, summaries.get(order.getOrderNo()), 0L));
+        }
+        // 返回分页结果
+        return PageResult.of(list, orders.size(), page, pageSize);
+    }
+
+    /**
+     * 投影新事件
+     * 功能概述：持有投影租约时，先按主键复查缺口中的编号，再从读取位置之后按事件编号分段读取事件，已投影的跳过，
+     * 每段按订单合并后一次投影；读取位置沿连续的编号推进，遇到编号缺口时缺口之后的事件已沉淀才越过并记下缺口，
+     * 否则本轮不再推进，之后投影的事件编号记在内存中；检查点变化时带着围栏令牌保存
+     * @return {int} 返回本次投影的订单数，租约被其他实例持有时返回0
+     */
+    // 重写接口中的project方法
+    @Override
+    // 投影新事件方法，同一时间只允许一个线程投影
+    public synchronized int project() {
+        // 订单历史不可用时不投影
+        if (!isUsable()) {
+            // 返回0
+            return 0;
+        }
+        // 没有租约时不投影，由持有租约的实例投影
+        if (!holdLease()) {
+            // 返回0
+            return 0;
+        }
+        // 本次投影的订单数
+        int projected = 0;
+        // 读取位置
+        long scanAfter = cursor;
+        // 本轮是否还能推进读取位置
+        boolean advancing = true;
+        // 使用try-catch捕获异常
+        try {
+            // 复查缺口中的编号
+            projected += recheckGaps();
+            // 分段读取
+            while (true) {
+                // 读取下一段事件
+                List<OrderEvent> events = orderEventMapper.findAfter(scanAfter, settleSeconds, chunkSize);
+                // 没有事件时结束
+                if (events.isEmpty()) {
+                    // 跳出循环
+                    break;
+                }
+                // 累加读取数
+                eventCount.add(events.size());
+                // 按订单合并，每个订单只保留最后一个事件
+                Map<String, Long> latest = new LinkedHashMap<>();
+                // 本段新投影的事件编号
+                List<Long> ids = new ArrayList<>();
+                for (OrderEvent event : events) {
+                    // 已投影的事件跳过
+                    if (projectedAhead.contains(event.getId())) {
+                        continue;
+                    }
+                    // 合并
+                    latest.merge(event.getOrderNo(), event.getId(), Math::max);
+                    ids.add(event.getId());
+                }
+                // 越过缺口的时间
+                long now = System.currentTimeMillis();
+                // 与读取前的补齐串行写入
+                synchronized (projectLock) {
+                    // 投影本段订单
+                    projected += projectOrders(latest);
+                    // 记录已投影的事件编号
+                    projectedAhead.addAll(ids);
+                    // 推进读取位置
+                    for (OrderEvent event : events) {
+                        // 本轮已停止推进
+                        if (!advancing) {
+                            break;
+                        }
+                        // 与读取位置之间有编号缺口
+                        if (event.getId() > cursor + 1) {
+                            // 缺口之后的事件未沉淀时缺口中的事务可能还未提交，本轮不再推进
+                            if (!Boolean.TRUE.equals(event.getSettled())) {
+                                advancing = false;
+                                break;
+                            }
+                            // 已沉淀时越过缺口，缺口中的编号之后每轮复查
+                            addGap(cursor + 1, event.getId() - 1, now);
+                        }
+                        // 推进到该事件
+                        cursor = event.getId();
+                    }
+                    // 丢弃读取位置及之前的编号
+                    projectedAhead.headSet(cursor, true).clear();
+                    // 更新检查点
+                    refreshWatermark();
+                }
+                // 本段最后一个事件作为新的读取位置
+                scanAfter = events.get(events.size() - 1).getId();
+                // 不足一整段说明已到末尾
+                if (events.size() < chunkSize) {
+                    // 跳出循环
+                    break;
+                }
+                // 续约，租约已被其他实例取得时停止，新持有者从检查点继续
+                if (!holdLease()) {
+                    // 返回本次投影的订单数，不保存检查点
+                    return projected;
+                }
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 失败次数加1
+            failureCount.increment();
+            // 记录错误信息
+            lastError = LocalDateTime.now() + " " + e.getMessage();
+            // 记录警告日志，检查点之后的事件下一轮重新投影
+            logger.warn("订单历史投影失败，将在下一轮重试：{}", e.getMessage());
+        }
+        // 检查点有变化时保存
+        if (watermark != savedWatermark) {
+            // 保存检查点
+            saveCheckpoint();
+        }
+        // 返回本次投影的订单数
+        return projected;
+    }
+
+    // 持有投影租约：未持有时尝试获得，获得或被其他实例持有时都从已保存的检查点重新开始；
+    // 持有时按续约间隔续约，租约已被其他实例取得时放弃；租约表不可用时按单实例模式投影
+    private boolean holdLease() {
+        // 租约表不可用时直接投影
+        if (!schedulerLeaseManager.isAvailable()) {
+            // 返回true
+            return true;
+        }
+        // 当前时间
+        long now = System.currentTimeMillis();
+        // 未持有租约时尝试获得
+        if (lease == null) {
+            // 尝试获得租约
+            SchedulerLease acquired = schedulerLeaseManager.tryAcquire(TASK_NAME);
+            // 从已保存的检查点重新开始：获得时接手上一个持有者的进度，未获得时跟随持有者的检查点供读取前补齐使用
+            resetProgress();
+            // 被其他实例持有时不投影
+            if (acquired == null) {
+                // 返回false
+                return false;
+            }
+            // 保存租约
+            lease = acquired;
+            leaseRenewedAt = now;
+            // 返回true
+            return true;
+        }
+        // 未到续约间隔时继续持有
+        if (now - leaseRenewedAt < leaseRenewMs) {
+            // 返回true
+            return true;
+        }
+        // 续约失败时放弃租约
+        if (!schedulerLeaseManager.renew(lease)) {
+            // 放弃租约
+            lease = null;
+            // 返回false
+            return false;
+        }
+        // 记录续约时间
+        leaseRenewedAt = now;
+        // 返回true
+        return true;
+    }
+
+    // 从已保存的检查点重新开始：丢弃内存中的读取位置、已投影编号和缺口，检查点之后的事件重新读取、缺口重新识别
+    private void resetProgress() {
+        // 重新开始的位置
+        long restart = watermark;
+        // 检查点表可用时读取已保存的检查点
+        if (checkpointAvailable) {
+            // 使用try-catch捕获异常
+            try {
+                // 读取检查点
+                TaskCheckpoint checkpoint = taskCheckpointMapper.findByTaskName(TASK_NAME);
+                // 有检查点时从检查点开始
+                if (checkpoint != null && checkpoint.getCursorValue() != null) {
+                    restart = Long.parseLong(checkpoint.getCursorValue());
+                }
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 记录警告日志，从内存中的检查点开始
+                logger.warn("读取订单历史投影检查点失败：{}", e.getMessage());
+            }
+        }
+        // 与读取前的补齐串行
+        synchronized (projectLock) {
+            // 丢弃内存中的进度
+            projectedAhead.clear();
+            gaps.clear();
+            // 从检查点开始
+            cursor = restart;
+            watermark = restart;
+            savedWatermark = restart;
+        }
+    }
+
+    // 记录越过的编号缺口，超过数量上限时放弃最早的编号
+    private void addGap(long first, long last, long now) {
+        // 缺口过大时只记录最后的编号
+        long from = Math.max(first, last - maxGaps + 1);
+        // 放弃的编号
+        gapExpiredCount.add(from - first);
+        // 逐个记录
+        for (long id = from; id <= last; id++) {
+            gaps.put(id, now);
+        }
+        // 超过数量上限时放弃最早的编号
+        while (gaps.size() > maxGaps) {
+            gaps.pollFirstEntry();
+            gapExpiredCount.increment();
+        }
+    }
+
+    // 按主键复查缺口中的编号：已提交的事件补投影，超过保留时间仍未出现的编号放弃
+    private int recheckGaps() {
+        // 没有缺口时返回
+        if (gaps.isEmpty()) {
+            // 返回0
+            return 0;
+        }
+        // 本次补投影的订单数
+        int projected = 0;
+        // 待复查的编号
+        List<Long> pending;
+        // 与读取前的补齐串行
+        synchronized (projectLock) {
+            // 放弃超过保留时间的编号
+            long expireBefore = System.currentTimeMillis() - gapRetentionSeconds * 1000L;
+            Iterator<Map.Entry<Long, Long>> it = gaps.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue() < expireBefore) {
+                    it.remove();
+                    gapExpiredCount.increment();
+                }
+            }
+            // 复制待复查的编号
+            pending = new ArrayList<>(gaps.keySet());
+            // 更新检查点
+            refreshWatermark();
+        }
+        // 分段按主键查询
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            // 本段出现的事件
+            List<OrderEvent> events = orderEventMapper.findByIds(pending.subList(from, Math.min(from + chunkSize, pending.size())));
+            // 没有出现时继续下一段
+            if (events.isEmpty()) {
+                continue;
+            }
+            // 按订单合并
+            Map<String, Long> latest = new LinkedHashMap<>();
+            for (OrderEvent event : events) {
+                latest.merge(event.getOrderNo(), event.getId(), Math::max);
+            }
+            // 与读取前的补齐串行写入
+            synchronized (projectLock) {
+                // 投影这些订单
+                projected += projectOrders(latest);
+                // 移出缺口
+                for (OrderEvent event : events) {
+                    gaps.remove(event.getId());
+                }
+                // 累加补投影的事件数
+                gapFilledCount.add(events.size());
+                // 更新检查点
+                refreshWatermark();
+            }
+        }
+        // 返回本次补投影的订单数
+        return projected;
+    }
+
+    // 检查点取最小的未决缺口之前的编号，没有缺口时等于读取位置；调用方持有投影锁
+    private void refreshWatermark() {
+        // 计算检查点
+        watermark = gaps.isEmpty() ? cursor : Math.min(cursor, gaps.firstKey() - 1);
+    }
+
+    /**
+     * 释放投影租约
+     * 功能概述：应用关闭时释放，其他实例不必等到租约过期即可接手
+     */
+    // Bean销毁前调用
+    @PreDestroy
+    // 释放投影租约方法
+    public void shutdown() {
+        // 持有租约时释放
+        SchedulerLease held = lease;
+        if (held != null) {
+            // 释放租约
+            schedulerLeaseManager.release(held);
+            // 清除租约
+            lease = null;
+        }
+    }
+
+    // 按订单号和最后一个事件编号投影订单历史：订单已不存在时删除订单历史，否则写入当前状态和模块订单摘要
+    private int projectOrders(Map<String, Long> latest) {
+        // 没有订单时返回
+        if (latest.isEmpty()) {
+            // 返回0
+            return 0;
+        }
+        // 一条IN查询读取订单当前状态
+        List<UnifiedOrderNew> orders = unifiedOrderNewMapper.findByOrderNos(new ArrayList<>(latest.keySet()));
+        // 存在的订单号
+        Set<String> existing = new HashSet<>();
+        for (UnifiedOrderNew order : orders) {
+            existing.add(order.getOrderNo());
+        }
+        // 已删除的订单号
+        List<String> removed = new ArrayList<>();
+        for (String orderNo : latest.keySet()) {
+            if (!existing.contains(orderNo)) {
+                removed.add(orderNo);
+            }
+        }
+        // 删除已删除订单的历史
+        if (!removed.isEmpty()) {
+            // 一条语句删除
+            removedCount.add(orderHistoryMapper.deleteByOrderNos(removed));
+        }
+        // 没有存在的订单时返回
+        if (orders.isEmpty()) {
+            // 返回删除数
+            return removed.size();
+        }
+        // 每个订单类型一条查询读取模块订单摘要
+        Map<String, ModuleOrderSummary> summaries = moduleOrderDispatcher.summarize(orders);
+        // 组装订单历史
+        List<OrderHistory> histories = new ArrayList<>(orders.size());
+        for (UnifiedOrderNew order : orders) {
+            histories.add(toHistory(order, summaries.get(order.getOrderNo()), latest.get(order.getOrderNo())));
+        }
+        // 一条语句写入
+        orderHistoryMapper.upsertBatch(histories);
+        // 累加投影数
+        projectedCount.add(latest.size());
+        // 返回投影的订单数
+        return latest.size();
+    }
+
+    // 统一订单和模块订单摘要组装为订单历史
+    private static OrderHistory toHistory(UnifiedOrderNew order, ModuleOrderSummary summary, Long lastEventId) {
+        // 创建订单历史并复制字段
+        OrderHistory history = new OrderHistory();
+        history.setOrderNo(order.getOrderNo());
+        history.setUserId(order.getUserId());
+        history.setOrderType(order.getOrderType());
+        history.setModuleOrderId(order.getModuleOrderId());
+        history.setOrderTitle(order.getOrderTitle());
+        history.setOrderDescription(order.getOrderDescription());
+        history.setTotalAmount(order.getTotalAmount());
+        history.setPaymentStatus(order.getPaymentStatus());
+        history.setPaymentMethod(order.getPaymentMethod());
+        history.setPaymentTime(order.getPaymentTime());
+        history.setCreateTime(order.getCreateTime());
+        history.setLastEventId(lastEventId);
+        // 有模块订单摘要时设置明细和缩略图
+        if (summary != null) {
+            history.setModuleDetail(summary.getModuleDetail());
+            history.setThumbnail(summary.getThumbnail());
+        }
+        // 返回订单历史
+        return history;
+    }
+
+    // 带着租约的围栏令牌保存检查点，检查点表不可用或保存失败时只保存在内存中；令牌已过期时放弃租约
+    private void saveCheckpoint() {
+        // 检查点表不可用时不保存
+        if (!checkpointAvailable) {
+            // 返回
+            return;
+        }
+        // 创建检查点
+        TaskCheckpoint checkpoint = new TaskCheckpoint();
+        // 设置任务名称
+        checkpoint.setTaskName(TASK_NAME);
+        // 设置游标
+        long value = watermark;
+        checkpoint.setCursorValue(String.valueOf(value));
+        // 设置累计投影数
+        checkpoint.setProcessed(projectedCount.sum());
+        // 投影持续进行，没有完成状态
+        checkpoint.setFinished(false);
+        // 租约的围栏令牌，租约表不可用时为0
+        SchedulerLease held = lease;
+        checkpoint.setFencingToken(held == null ? 0L : held.fencingToken());
+        // 使用try-catch捕获异常
+        try {
+            // 更新检查点，不存在时插入
+            if (taskCheckpointMapper.updateFenced(checkpoint) > 0 || taskCheckpointMapper.insertIfAbsent(checkpoint) > 0) {
+                // 记录已保存的检查点
+                savedWatermark = value;
+                // 返回
+                return;
+            }
+            // 检查点已被令牌更大的实例写入，本实例的租约已失效
+            logger.warn("订单历史投影检查点已被令牌更大的实例写入（本实例令牌 {}），放弃租约", checkpoint.getFencingToken());
+            // 放弃租约，下一轮重新获得后从检查点继续
+            lease = null;
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("保存订单历史投影检查点失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 补投影
+     * 功能概述：按统一订单主键分段读取还没有订单历史的订单，每段一次投影；补投影的订单历史事件编号为0，
+     * 之后该订单的任何事件都会覆盖它
+     * @return {Map<String, Object>} 返回补投影的订单数和耗时
+     */
+    // 重写接口中的backfill方法
+    @Override
+    // 补投影方法
+    public Map<String, Object> backfill() {
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 订单历史不可用时不补投影
+        if (!isUsable()) {
+            // 标记不可用
+            result.put("available", false);
+            // 返回结果
+            return result;
+        }
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 游标的订单主键
+        int afterId = 0;
+        // 补投影的订单数
+        int backfilled = 0;
+        // 分段读取
+        while (true) {
+            // 读取下一段没有订单历史的订单
+            List<UnifiedOrderNew> chunk = orderHistoryMapper.findUnprojectedOrders(afterId, chunkSize);
+            // 没有时结束
+            if (chunk.isEmpty()) {
+                // 跳出循环
+                break;
+            }
+            // 本段订单号，事件编号为0
+            Map<String, Long> latest = new LinkedHashMap<>();
+            for (UnifiedOrderNew order : chunk) {
+                latest.put(order.getOrderNo(), 0L);
+            }
+            // 与后台投影串行写入
+            synchronized (projectLock) {
+                // 投影本段订单
+                backfilled += projectOrders(latest);
+            }
+            // 不足一整段说明已到末尾
+            if (chunk.size() < chunkSize) {
+                // 跳出循环
+                break;
+            }
+            // 本段最后一个订单主键作为新的游标
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        // 补投影的订单数
+        result.put("backfilled", backfilled);
+        // 补投影时间
+        result.put("time", LocalDateTime.now());
+        // 补投影耗时（毫秒）
+        result.put("costMs", System.currentTimeMillis() - start);
+        // 保存补投影结果
+        lastBackfill = result;
+        // 有补投影的订单时记录日志
+        if (backfilled > 0) {
+            // 记录日志
+            logger.info("订单历史补投影完成：{}", result);
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取订单历史统计信息
+     * @return {Map<String, Object>} 返回检查点、投影数、补齐数和上一次错误等
+     */
+    // 重写接口中的getStats方法
+    @Override
+    // 获取订单历史统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 订单历史表是否可用
+        stats.put("available", available);
+        // 事件表是否可用
+        stats.put("journalAvailable", orderEventJournal.isAvailable());
+        // 读取位置
+        stats.put("cursor", cursor);
+        // 检查点
+        stats.put("watermark", watermark);
+        // 是否持有投影租约，租约表不可用时按单实例模式投影
+        SchedulerLease held = lease;
+        stats.put("leaseHeld", held != null || !schedulerLeaseManager.isAvailable());
+        // 围栏令牌
+        stats.put("fencingToken", held == null ? null : held.fencingToken());
+        // 读取位置之后已投影的事件数和待复查的缺口编号数
+        synchronized (projectLock) {
+            stats.put("projectedAhead", projectedAhead.size());
+            stats.put("gaps", gaps.size());
+        }
+        // 累计复查后补投影的缺口事件数
+        stats.put("gapsFilled", gapFilledCount.sum());
+        // 累计放弃的缺口编号数
+        stats.put("gapsExpired", gapExpiredCount.sum());
+        // 沉淀秒数
+        stats.put("settleSeconds", settleSeconds);
+        // 累计读取的事件数
+        stats.put("events", eventCount.sum());
+        // 累计投影的订单数
+        stats.put("projected", projectedCount.sum());
+        // 累计删除的订单历史数
+        stats.put("removed", removedCount.sum());
+        // 累计读取前补齐次数
+        stats.put("catchUps", catchUpCount.sum());
+        // 累计退回到查询统一订单的次数
+        stats.put("fallbacks", fallbackCount.sum());
+        // 累计失败次数
+        stats.put("failures", failureCount.sum());
+        // 上一次失败的错误信息
+        stats.put("lastError", lastError);
+        // 上一次补投影的结果
+        stats.put("lastBackfill", lastBackfill);
+        // 返回统计信息
+        return stats;
+    }
+}
@@ -0,0 +1,634 @@
+/**
+ * 发件箱分发服务实现类
+ * 功能概述：实现OutboxService接口，每个消息类型在各自的线程中用一条带LIMIT的UPDATE领取该类型到期的消息并交给OutboxHandler处理，
+ * 成功的消息一条语句标记完成，失败的消息按指数退避推迟下一次处理
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入发件箱Mapper接口
+import com.icss.xihu.mapper.OutboxMapper;
+// 导入发件箱消息实体类
+import com.icss.xihu.model.OutboxMessage;
+// 导入统一订单发件箱
+import com.icss.xihu.order.OrderOutbox;
+// 导入发件箱消息处理器接口
+import com.icss.xihu.order.OutboxHandler;
+// 导入发件箱分发服务接口
+import com.icss.xihu.service.OutboxService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+// 导入Bean销毁前回调注解
+import jakarta.annotation.PreDestroy;
+
+// 导入LocalDateTime类，用于记录错误时间
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Set接口
+import java.util.Set;
+// 导入UUID类，用于生成领取令牌
+import java.util.UUID;
+// 导入并发Map，用于登记处理中的领取令牌
+import java.util.concurrent.ConcurrentHashMap;
+// 导入线程池接口
+import java.util.concurrent.ExecutorService;
+// 导入线程池工厂
+import java.util.concurrent.Executors;
+// 导入任务被拒绝异常
+import java.util.concurrent.RejectedExecutionException;
+// 导入定时线程池接口
+import java.util.concurrent.ScheduledExecutorService;
+// 导入线程本地随机数，用于退避抖动
+import java.util.concurrent.ThreadLocalRandom;
+// 导入时间单位
+import java.util.concurrent.TimeUnit;
+// 导入原子布尔类
+import java.util.concurrent.atomic.AtomicBoolean;
+// 导入原子整数类，用于线程编号
+import java.util.concurrent.atomic.AtomicInteger;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 发件箱分发服务实现类
+ * 功能概述：实现OutboxService接口。支付事务提交后发件箱设置唤醒标记，定时任务每个检查间隔只读取内存中的标记，
+ * 有新消息或距上一次扫描超过扫描间隔（用于到期的重试和其他实例写入的消息）时才访问数据库，并唤醒各类型的分发线程。
+ * 每个类型按处理器给出的批次领取、在自己的线程中处理，逐条发送的短信不会推迟模块订单同步；
+ * 领取时把消息推迟到租约结束，处理期间由续约线程定期延长，处理过程中宕机的消息在租约过期后被重新领取；
+ * 标记完成或失败时核对更新行数，领取已被其他实例接手的消息计入staleClaims；处理器抛出异常时逐条重新处理，
+ * 一条无法处理的消息不会拖累同批的其他消息
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 发件箱分发服务实现类，实现OutboxService接口
+public class OutboxServiceImpl implements OutboxService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    // 失败原因的最大长度，与last_error字段一致
+    private static final int MAX_ERROR_LENGTH = 500;
+    // 清理时每批删除的消息数
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    // 自动注入发件箱Mapper
+    @Autowired
+    // 发件箱Mapper对象，用于领取和标记消息
+    private OutboxMapper outboxMapper;
+
+    // 自动注入统一订单发件箱
+    @Autowired
+    // 统一订单发件箱对象，用于读取唤醒标记和判断发件箱表是否可用
+    private OrderOutbox orderOutbox;
+
+    // 自动注入所有发件箱消息处理器
+    @Autowired
+    // 发件箱消息处理器列表
+    private List<OutboxHandler> handlerList;
+
+    // 领取租约秒数，超过该时间未完成也未续约的消息被重新领取，默认60秒
+    @Value("${outbox.lease-seconds:60}")
+    // 租约秒数字段
+    private int leaseSeconds;
+
+    // 处理中的领取的续约间隔毫秒数，需要小于租约时长，默认20000
+    @Value("${outbox.renew-ms:20000}")
+    // 续约间隔字段
+    private long renewMs;
+
+    // 最大尝试次数，默认10次
+    @Value("${outbox.max-attempts:10}")
+    // 最大尝试次数字段
+    private int maxAttempts;
+
+    // 第一次重试的退避毫秒数，之后每次翻倍，默认1000
+    @Value("${outbox.backoff-ms:1000}")
+    // 退避毫秒数字段
+    private long backoffMs;
+
+    // 退避毫秒数上限，默认10分钟
+    @Value("${outbox.max-backoff-ms:600000}")
+    // 退避上限字段
+    private long maxBackoffMs;
+
+    // 没有唤醒标记时的扫描间隔毫秒数，默认5000
+    @Value("${outbox.scan-interval-ms:5000}")
+    // 扫描间隔字段
+    private long scanIntervalMs;
+
+    // 已完成消息的保留天数，默认7天
+    @Value("${outbox.retention-days:7}")
+    // 保留天数字段
+    private int retentionDays;
+
+    // 消息类型到处理器的映射
+    private final Map<String, OutboxHandler> handlers = new HashMap<>();
+    // 各消息类型的分发线程是否在执行
+    private final Map<String, AtomicBoolean> running = new HashMap<>();
+    // 各消息类型的唤醒标记，分发线程处理完当前消息后再领取一轮
+    private final Map<String, AtomicBoolean> wakeups = new HashMap<>();
+    // 处理中的领取令牌，由续约线程定期延长租约
+    private final Set<String> activeClaims = ConcurrentHashMap.newKeySet();
+    // 分发线程池，每个消息类型最多占用一个线程
+    private ExecutorService dispatchExecutor;
+    // 续约线程
+    private ScheduledExecutorService claimRenewer;
+    // 上一次扫描的时间
+    private volatile long lastScanMs = 0;
+    // 上一次失败的错误信息
+    private volatile String lastError;
+
+    // 累计领取的消息数
+    private final LongAdder claimedCount = new LongAdder();
+    // 累计成功的消息数
+    private final LongAdder succeededCount = new LongAdder();
+    // 累计失败（将重试）的次数
+    private final LongAdder failedCount = new LongAdder();
+    // 累计放弃的消息数
+    private final LongAdder deadCount = new LongAdder();
+    // 累计处理批次数
+    private final LongAdder batchCount = new LongAdder();
+    // 累计续约次数
+    private final LongAdder renewedCount = new LongAdder();
+    // 累计标记时领取已失效的消息数（租约过期后被其他实例重新领取，可能重复处理）
+    private final LongAdder staleCount = new LongAdder();
+
+    /**
+     * 按消息类型登记处理器并启动分发和续约线程
+     * 功能概述：同一消息类型有多个处理器时启动失败；每个消息类型一个分发线程，续约线程按续约间隔延长处理中的领取
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 登记处理器方法
+    public void init() {
+        // 遍历处理器
+        for (OutboxHandler handler : handlerList) {
+            // 按消息类型登记，重复时启动失败
+            OutboxHandler previous = handlers.put(handler.getMessageType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("消息类型" + handler.getMessageType() + "有多个发件箱处理器: "
+                        + previous.getClass().getSimpleName() + ", " + handler.getClass().getSimpleName());
+            }
+            // 分发线程状态和唤醒标记
+            running.put(handler.getMessageType(), new AtomicBoolean(false));
+            wakeups.put(handler.getMessageType(), new AtomicBoolean(false));
+        }
+        // 分发线程编号
+        AtomicInteger threadIndex = new AtomicInteger(1);
+        // 分发线程池（守护线程，不阻止JVM退出）
+        dispatchExecutor = Executors.newFixedThreadPool(Math.max(1, handlers.size()), runnable -> {
+            // 创建分发线程
+            Thread thread = new Thread(runnable, "outbox-dispatch-" + threadIndex.getAndIncrement());
+            // 设置为守护线程
+            thread.setDaemon(true);
+            // 返回线程
+            return thread;
+        });
+        // 续约线程（单线程，守护线程）
+        claimRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            // 创建续约线程
+            Thread thread = new Thread(runnable, "outbox-claim-renewer");
+            // 设置为守护线程
+            thread.setDaemon(true);
+            // 返回线程
+            return thread;
+        });
+        // 按续约间隔延长处理中的领取
+        claimRenewer.scheduleWithFixedDelay(this::renewClaims, renewMs, renewMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止分发
+     * 功能概述：不再启动新的分发，等待处理中的批次结束（最多5秒），期间继续续约；未结束的消息在租约过期后被重新领取
+     */
+    // Bean销毁前调用
+    @PreDestroy
+    // 停止分发方法
+    public void shutdown() {
+        // 不再接受新的分发
+        dispatchExecutor.shutdown();
+        // 使用try-catch处理中断
+        try {
+            // 等待处理中的批次结束
+            dispatchExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        // 捕获中断异常
+        } catch (InterruptedException e) {
+            // 恢复中断标记
+            Thread.currentThread().interrupt();
+        }
+        // 停止续约
+        claimRenewer.shutdownNow();
+    }
+
+    /**
+     * 分发到期的消息
+     * 功能概述：有新消息提交或距上一次扫描超过扫描间隔时，唤醒每个消息类型的分发线程；分发线程在后台领取并处理该类型到期的消息，
+     * 正在执行的类型处理完当前消息后再领取一轮，本方法不等待处理完成
+     * @return {int} 返回本次启动的分发线程数
+     */
+    // 重写接口中的dispatch方法
+    @Override
+    // 分发到期的消息方法，同一时间只允许一个线程检查
+    public synchronized int dispatch() {
+        // 发件箱表不可用时不分发
+        if (!orderOutbox.isAvailable()) {
+            // 返回0
+            return 0;
+        }
+        // 当前时间
+        long now = System.currentTimeMillis();
+        // 没有新消息且未到扫描时间时不访问数据库
+        if (!orderOutbox.takeSignal() && now - lastScanMs < scanIntervalMs) {
+            // 返回0
+            return 0;
+        }
+        // 记录扫描时间
+        lastScanMs = now;
+        // 本次启动的分发线程数
+        int started = 0;
+        // 唤醒每个消息类型
+        for (String messageType : handlers.keySet()) {
+            // 设置唤醒标记
+            wakeups.get(messageType).set(true);
+            // 该类型没有在执行时启动分发线程
+            if (startWorker(messageType)) {
+                started++;
+            }
+        }
+        // 返回本次启动的分发线程数
+        return started;
+    }
+
+    // 该类型没有在执行时启动分发线程，返回是否已启动
+    private boolean startWorker(String messageType) {
+        // 已在执行时由执行中的线程处理唤醒标记
+        if (!running.get(messageType).compareAndSet(false, true)) {
+            // 返回false
+            return false;
+        }
+        // 使用try-catch处理应用关闭时线程池拒绝任务
+        try {
+            // 提交分发
+            dispatchExecutor.execute(() -> runWorker(messageType));
+            // 返回true
+            return true;
+        // 捕获任务被拒绝异常
+        } catch (RejectedExecutionException e) {
+            // 恢复未执行状态
+            running.get(messageType).set(false);
+            // 返回false
+            return false;
+        }
+    }
+
+    // 分发线程：有唤醒标记时领取并处理该类型到期的消息，退出前又被唤醒时重新启动
+    private void runWorker(String messageType) {
+        // 唤醒标记
+        AtomicBoolean wakeup = wakeups.get(messageType);
+        // 使用try-catch-finally保证恢复执行状态
+        try {
+            // 有唤醒标记时处理一轮
+            while (wakeup.getAndSet(false)) {
+                dispatch(messageType);
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录错误信息
+            lastError = LocalDateTime.now() + " " + messageType + " " + describe(e);
+            // 记录错误日志，下一次唤醒时重试
+            logger.error("分发发件箱消息失败：type={}", messageType, e);
+        } finally {
+            // 恢复未执行状态
+            running.get(messageType).set(false);
+        }
+        // 检查唤醒标记和恢复执行状态之间被唤醒时重新启动
+        if (wakeup.get()) {
+            startWorker(messageType);
+        }
+    }
+
+    /**
+     * 分发某个类型到期的消息
+     * 功能概述：按该类型处理器给出的批次，每批用新的领取令牌领取该类型到期的消息并处理，直到没有到期的消息；
+     * 处理期间领取令牌登记在续约列表中，由续约线程延长租约
+     * @param {String} messageType - 消息类型
+     * @return {int} 返回本次处理的消息数，没有该类型的处理器时返回0
+     */
+    // 重写接口中的dispatch方法
+    @Override
+    // 分发某个类型到期的消息方法
+    public int dispatch(String messageType) {
+        // 查找处理器
+        OutboxHandler handler = handlers.get(messageType);
+        // 发件箱表不可用或没有处理器时不分发，没有处理器的消息保持待处理，由部署了处理器的实例领取
+        if (!orderOutbox.isAvailable() || handler == null) {
+            // 返回0
+            return 0;
+        }
+        // 每批领取的消息数
+        int batchSize = Math.max(1, handler.getBatchSize());
+        // 本次处理的消息数
+        int processed = 0;
+        // 分批领取
+        while (true) {
+            // 本批的领取令牌
+            String claimToken = UUID.randomUUID().toString();
+            // 领取该类型到期的消息
+            int claimed = outboxMapper.claimDue(claimToken, messageType, leaseSeconds, batchSize);
+            // 没有到期的消息时结束
+            if (claimed == 0) {
+                // 跳出循环
+                break;
+            }
+            // 累加领取数
+            claimedCount.add(claimed);
+            // 登记续约
+            activeClaims.add(claimToken);
+            // 使用try-finally保证取消续约
+            try {
+                // 读取本批消息并处理
+                List<OutboxMessage> messages = outboxMapper.findClaimed(claimToken);
+                process(handler, messages, claimToken);
+                // 累加处理数
+                processed += messages.size();
+            } finally {
+                // 取消续约
+                activeClaims.remove(claimToken);
+            }
+            // 批次数加1
+            batchCount.increment();
+            // 不足一整批说明已没有到期的消息
+            if (claimed < batchSize) {
+                // 跳出循环
+                break;
+            }
+        }
+        // 返回本次处理的消息数
+        return processed;
+    }
+
+    // 延长处理中的领取的租约，续约失败只记录日志，下一个间隔再试
+    private void renewClaims() {
+        // 遍历处理中的领取令牌
+        for (String claimToken : activeClaims) {
+            // 使用try-catch捕获异常
+            try {
+                // 延长租约
+                if (outboxMapper.extendClaim(claimToken, leaseSeconds) > 0) {
+                    // 续约次数加1
+                    renewedCount.increment();
+                }
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 记录警告日志
+                logger.warn("延长发件箱领取租约失败：{}", e.getMessage());
+            }
+        }
+    }
+
+    // 交给处理器处理，成功的消息一条语句标记完成，失败的消息逐条按退避时间推迟；按领取令牌更新的行数少于消息数时计入领取失效
+    private void process(OutboxHandler handler, List<OutboxMessage> messages, String claimToken) {
+        // 处理失败的消息及原因
+        Map<Long, String> failures = handle(handler, messages);
+        // 成功的消息编号
+        List<Long> doneIds = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            if (!failures.containsKey(message.getId())) {
+                doneIds.add(message.getId());
+            }
+        }
+        // 一条语句标记完成
+        if (!doneIds.isEmpty()) {
+            // 按领取令牌条件更新
+            int done = outboxMapper.markDone(doneIds, claimToken);
+            // 累加成功数
+            succeededCount.add(done);
+            // 领取已失效的消息已被其他实例重新领取
+            if (done < doneIds.size()) {
+                stale(handler.getMessageType(), doneIds.size() - done);
+            }
+        }
+        // 逐条记录失败
+        for (OutboxMessage message : messages) {
+            String error = failures.get(message.getId());
+            if (error != null) {
+                fail(message, claimToken, error);
+            }
+        }
+    }
+
+    // 记录领取已失效的消息：处理期间租约过期、消息已被其他实例重新领取，可能被重复处理
+    private void stale(String messageType, int count) {
+        // 累加失效数
+        staleCount.add(count);
+        // 记录警告日志
+        logger.warn("发件箱{}条{}消息的领取已失效，可能已被其他实例重新领取并重复处理", count, messageType);
+    }
+
+    // 调用处理器，整批抛出异常时逐条重新处理
+    private Map<Long, String> handle(OutboxHandler handler, List<OutboxMessage> messages) {
+        // 使用try-catch捕获整批异常
+        try {
+            // 整批处理
+            return handler.handle(messages);
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 只有一条消息时直接失败
+            if (messages.size() == 1) {
+                // 返回失败
+                return Map.of(messages.get(0).getId(), describe(e));
+            }
+            // 记录警告日志
+            logger.warn("发件箱消息整批处理失败，逐条重试：type={}, size={}, error={}", handler.getMessageType(), messages.size(), e.getMessage());
+        }
+        // 逐条处理，找出具体失败的消息
+        Map<Long, String> failures = new HashMap<>();
+        for (OutboxMessage message : messages) {
+            // 使用try-catch捕获单条异常
+            try {
+                // 单条处理
+                failures.putAll(handler.handle(List.of(message)));
+            // 捕获所有异常
+            } catch (Exception e) {
+                // 记录失败原因
+                failures.put(message.getId(), describe(e));
+            }
+        }
+        // 返回失败
+        return failures;
+    }
+
+    // 记录一条消息的失败：尝试次数加1，按指数退避推迟，达到最大尝试次数时放弃；领取已失效时不记录
+    private void fail(OutboxMessage message, String claimToken, String error) {
+        // 本次是第几次尝试
+        int attempts = (message.getAttempts() == null ? 0 : message.getAttempts()) + 1;
+        // 截断失败原因
+        String lastErrorText = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        // 按领取令牌条件更新，领取已失效时由重新领取的实例记录结果
+        if (outboxMapper.markFailed(message.getId(), claimToken, backoff(attempts), lastErrorText, maxAttempts) == 0) {
+            // 计入领取失效
+            stale(message.getMessageType(), 1);
+            // 返回
+            return;
+        }
+        // 记录错误信息
+        lastError = LocalDateTime.now() + " " + message.getMessageKey() + " " + lastErrorText;
+        // 达到最大尝试次数时放弃
+        if (attempts >= maxAttempts) {
+            // 放弃数加1
+            deadCount.increment();
+            // 记录错误日志
+            logger.error("发件箱消息{}尝试{}次后放弃：{}", message.getMessageKey(), attempts, lastErrorText);
+        } else {
+            // 失败数加1
+            failedCount.increment();
+            // 记录警告日志
+            logger.warn("发件箱消息{}第{}次处理失败，稍后重试：{}", message.getMessageKey(), attempts, lastErrorText);
+        }
+    }
+
+    // 第attempts次失败后的退避毫秒数：backoffMs乘以2的(attempts-1)次方，不超过上限，加上最多20%的随机抖动
+    private long backoff(int attempts) {
+        // 指数退避，指数不超过20防止溢出
+        long delay = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 20));
+        // 加上随机抖动，多条同时失败的消息错开重试
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    // 异常描述，没有消息时使用异常类名
+    private static String describe(Exception e) {
+        // 返回异常消息
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * 恢复已放弃的消息
+     * 功能概述：把超过最大尝试次数而放弃的消息恢复为待处理，并立即唤醒下一次分发
+     * @return {int} 返回恢复的消息数
+     */
+    // 重写接口中的reviveDead方法
+    @Override
+    // 恢复已放弃的消息方法
+    public int reviveDead() {
+        // 发件箱表不可用时不处理
+        if (!orderOutbox.isAvailable()) {
+            // 返回0
+            return 0;
+        }
+        // 一条语句恢复
+        int revived = outboxMapper.reviveDead();
+        // 下一次检查时立即扫描
+        lastScanMs = 0;
+        // 返回恢复的消息数
+        return revived;
+    }
+
+    /**
+     * 清理已完成的消息
+     * 功能概述：每批最多删除PURGE_CHUNK_SIZE条，直到没有过期的已完成消息
+     * @return {int} 返回删除的消息数
+     */
+    // 重写接口中的purge方法
+    @Override
+    // 清理已完成的消息方法
+    public int purge() {
+        // 发件箱表不可用时不处理
+        if (!orderOutbox.isAvailable()) {
+            // 返回0
+            return 0;
+        }
+        // 删除的消息数
+        int purged = 0;
+        // 分批删除
+        while (true) {
+            // 删除一批
+            int deleted = outboxMapper.purgeDone(retentionDays, PURGE_CHUNK_SIZE);
+            // 累加删除数
+            purged += deleted;
+            // 不足一整批说明已删除完
+            if (deleted < PURGE_CHUNK_SIZE) {
+                // 跳出循环
+                break;
+            }
+        }
+        // 返回删除的消息数
+        return purged;
+    }
+
+    /**
+     * 获取发件箱统计信息
+     * @return {Map<String, Object>} 返回待处理数、已放弃数、累计领取数、成功数、失败数和上一次错误等
+     */
+    // 重写接口中的getStats方法
+    @Override
+    // 获取发件箱统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 发件箱表是否可用
+        stats.put("available", orderOutbox.isAvailable());
+        // 已登记处理器的消息类型
+        stats.put("messageTypes", new ArrayList<>(handlers.keySet()));
+        // 发件箱表可用时读取各状态的消息数
+        if (orderOutbox.isAvailable()) {
+            // 待处理（包括等待重试）的消息数
+            stats.put("pending", outboxMapper.countByStatus(OutboxMessage.STATUS_PENDING));
+            // 已放弃的消息数
+            stats.put("dead", outboxMapper.countByStatus(OutboxMessage.STATUS_DEAD));
+        }
+        // 各消息类型每批领取的消息数
+        Map<String, Integer> batchSizes = new LinkedHashMap<>();
+        handlers.forEach((type, handler) -> batchSizes.put(type, handler.getBatchSize()));
+        stats.put("batchSizes", batchSizes);
+        // 正在执行的消息类型
+        List<String> busy = new ArrayList<>();
+        running.forEach((type, flag) -> {
+            if (flag.get()) {
+                busy.add(type);
+            }
+        });
+        stats.put("running", busy);
+        // 处理中的领取数
+        stats.put("activeClaims", activeClaims.size());
+        // 最大尝试次数
+        stats.put("maxAttempts", maxAttempts);
+        // 累计领取数
+        stats.put("claimed", claimedCount.sum());
+        // 累计成功数
+        stats.put("succeeded", succeededCount.sum());
+        // 累计失败（将重试）次数
+        stats.put("failed", failedCount.sum());
+        // 累计放弃数
+        stats.put("abandoned", deadCount.sum());
+        // 累计批次数
+        stats.put("batches", batchCount.sum());
+        // 累计续约次数
+        stats.put("renewals", renewedCount.sum());
+        // 累计领取已失效的消息数
+        stats.put("staleClaims", staleCount.sum());
+        // 上一次失败的错误信息
+        stats.put("lastError", lastError);
+        // 返回统计信息
+        return stats;
+    }
+}
@@ -0,0 +1,737 @@
+/**
+ * 逾期账单扫描服务实现类
+ * 功能概述：实现OverdueBillSweepService接口，沿(bill_status, due_date, id)索引按(due_date, id)游标分批读取待逾期账单，
+ * 每批按主键更新为逾期（每批是一个独立的短事务，只锁定本批账单），批与批之间暂停，
+ * 避免一次性全表UPDATE长时间持有行锁阻塞缴费；每批之后把游标写入task_checkpoint表，同一天内中断的扫描从游标继续；
+ * 账单按账单编号取模分成若干分片（编号是索引的列，分片过滤不回表），每个分片由一个调度租约保护，多个实例同时触发时各自领取不同的分片并行执行，
+ * 实例宕机后其分片的租约到期，由其他实例从检查点接手
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入生活缴费Mapper接口
+import com.icss.xihu.mapper.PaymentMapper;
+// 导入批处理任务检查点Mapper接口
+import com.icss.xihu.mapper.TaskCheckpointMapper;
+// 导入缴费账单实体类
+import com.icss.xihu.model.PaymentBill;
+// 导入批处理任务检查点实体类
+import com.icss.xihu.model.TaskCheckpoint;
+// 导入逾期账单扫描服务接口
+import com.icss.xihu.service.OverdueBillSweepService;
+// 导入生活缴费服务接口
+import com.icss.xihu.service.PaymentService;
+// 导入调度租约
+import com.icss.xihu.scheduling.SchedulerLease;
+// 导入调度租约管理器
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入Bean销毁前回调注解
+import jakarta.annotation.PreDestroy;
+
+// 导入LocalDate类，用于表示日期
+import java.time.LocalDate;
+// 导入LocalDateTime类，用于表示日期和时间
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Iterator接口
+import java.util.Iterator;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入执行器服务接口
+import java.util.concurrent.ExecutorService;
+// 导入执行器工具类
+import java.util.concurrent.Executors;
+// 导入任务被拒绝异常
+import java.util.concurrent.RejectedExecutionException;
+// 导入时间单位枚举
+import java.util.concurrent.TimeUnit;
+// 导入原子布尔类
+import java.util.concurrent.atomic.AtomicBoolean;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 逾期账单扫描服务实现类
+ * 功能概述：实现OverdueBillSweepService接口，沿(bill_status, due_date, id)索引按(due_date, id)游标分批读取待逾期账单，
+ * 每批按主键更新为逾期（每批是一个独立的短事务，只锁定本批账单），批与批之间暂停，
+ * 避免一次性全表UPDATE长时间持有行锁阻塞缴费；每批之后把游标写入task_checkpoint表，同一天内中断的扫描从游标继续；
+ * 账单按账单编号取模分成若干分片（编号是索引的列，分片过滤不回表），每个分片由一个调度租约保护，多个实例同时触发时各自领取不同的分片并行执行，
+ * 实例宕机后其分片的租约到期，由其他实例从检查点接手
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 逾期账单扫描服务实现类，实现OverdueBillSweepService接口
+public class OverdueBillSweepServiceImpl implements OverdueBillSweepService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(OverdueBillSweepServiceImpl.class);
+
+    // 检查点和租约名称的前缀，后接分片序号
+    private static final String TASK_NAME = "overdue-bill-sweep#";
+    // 逾期扫描索引名称
+    private static final String SWEEP_INDEX = "idx_payment_bills_status_due";
+    // 账单逾期事件中的触发来源
+    private static final String SOURCE = "sweep";
+    // 游标中到期日期和账单编号的分隔符
+    private static final String CURSOR_SEPARATOR = "#";
+    // 每处理多少批记录一次进度日志
+    private static final int PROGRESS_LOG_CHUNKS = 20;
+    // 剩余分片都由其他实例执行时，等待多久再检查（毫秒）
+    private static final long WAIT_OTHERS_MS = 5000;
+
+    // 自动注入生活缴费Mapper
+    @Autowired
+    // 生活缴费Mapper对象
+    private PaymentMapper paymentMapper;
+
+    // 自动注入批处理任务检查点Mapper
+    @Autowired
+    // 批处理任务检查点Mapper对象
+    private TaskCheckpointMapper taskCheckpointMapper;
+
+    // 自动注入生活缴费服务
+    @Autowired
+    // 生活缴费服务对象，用于在短事务中更新逾期账单并发布账单逾期事件
+    private PaymentService paymentService;
+
+    // 自动注入调度租约管理器
+    @Autowired
+    // 调度租约管理器对象，用于在多个实例之间分配分片
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    // 每批读取和更新的账单数，默认500
+    @Value("${overdue-sweep.chunk-size:500}")
+    // 每批账单数字段
+    private int chunkSize;
+
+    // 批与批之间的暂停时间（毫秒），默认100，给缴费等写入让出行锁和连接
+    @Value("${overdue-sweep.pause-ms:100}")
+    // 暂停时间字段
+    private long pauseMs;
+
+    // 分片数，默认8，多个实例同时执行时最多有这么多个实例并行
+    @Value("${overdue-sweep.shards:8}")
+    // 分片数字段
+    private int shards;
+
+    // 后台扫描线程（单线程，守护线程，不阻止JVM退出）
+    private final ExecutorService sweepExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        // 创建扫描线程
+        Thread thread = new Thread(runnable, "overdue-bill-sweep");
+        // 设置为守护线程
+        thread.setDaemon(true);
+        // 返回线程
+        return thread;
+    });
+
+    // 是否有扫描在执行
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // 应用是否正在关闭，关闭时扫描在当前批结束后停止
+    private volatile boolean stopping = false;
+    // 是否已检查过索引和检查点表
+    private volatile boolean schemaChecked = false;
+    // 检查点表是否可用，不可用时只在内存中记录进度
+    private volatile boolean checkpointAvailable = false;
+
+    // 当前（或最近一轮）扫描的触发来源
+    private volatile String currentTrigger;
+    // 当前（或最近一轮）扫描的截止日期
+    private volatile LocalDate currentCutoff;
+    // 当前（或最近一轮）扫描中从检查点继续的分片数
+    private volatile long currentResumedShards;
+    // 当前（或最近一轮）扫描中由本实例完成的分片数
+    private volatile long currentCompletedShards;
+    // 当前（或最近一轮）扫描正在处理的分片
+    private volatile Integer currentShard;
+    // 当前（或最近一轮）扫描的开始时间
+    private volatile LocalDateTime currentStartTime;
+    // 当前（或最近一轮）扫描的已处理批次数
+    private volatile long currentChunks;
+    // 当前（或最近一轮）扫描的已读取账单数
+    private volatile long currentScanned;
+    // 当前（或最近一轮）扫描的已更新账单数
+    private volatile long currentUpdated;
+    // 当前（或最近一轮）扫描的游标
+    private volatile String currentCursor;
+    // 上一轮扫描的结果
+    private volatile Map<String, Object> lastResult;
+    // 上一次失败的错误信息
+    private volatile String lastError;
+
+    // 累计完成的扫描轮数
+    private final LongAdder totalRuns = new LongAdder();
+    // 累计更新为逾期的账单数
+    private final LongAdder totalUpdated = new LongAdder();
+    // 累计失败的扫描轮数
+    private final LongAdder totalFailures = new LongAdder();
+
+    /**
+     * 在后台启动一轮扫描
+     * 功能概述：立即返回，不等待扫描完成；已有扫描在执行时不重复启动
+     * @param {String} trigger - 触发来源（如startup、schedule、admin），用于日志和进度信息
+     * @return {boolean} 已启动返回true，已有扫描在执行返回false
+     */
+    // 重写接口中的startSweep方法
+    @Override
+    // 在后台启动扫描方法
+    public boolean startSweep(String trigger) {
+        // 已有扫描在执行时不重复启动
+        if (!running.compareAndSet(false, true)) {
+            // 返回未启动
+            return false;
+        }
+        // 使用try-catch处理应用关闭后无法提交的情况
+        try {
+            // 提交到后台线程
+            sweepExecutor.execute(() -> runSweep(trigger));
+            // 返回已启动
+            return true;
+        // 捕获任务被拒绝异常
+        } catch (RejectedExecutionException e) {
+            // 释放执行标记
+            running.set(false);
+            // 返回未启动
+            return false;
+        }
+    }
+
+    /**
+     * 在当前线程执行一轮扫描
+     * 功能概述：按(bill_status, due_date, id)索引分批读取待逾期账单，每批按主键更新后保存检查点并暂停，
+     * 同一天内中断的扫描从检查点继续；已有扫描在执行时直接返回
+     * @param {String} trigger - 触发来源
+     * @return {Map<String, Object>} 返回本轮的批次数、读取数、更新数和耗时
+     */
+    // 重写接口中的sweep方法
+    @Override
+    // 执行扫描方法
+    public Map<String, Object> sweep(String trigger) {
+        // 已有扫描在执行时直接返回
+        if (!running.compareAndSet(false, true)) {
+            // 创建结果Map
+            Map<String, Object> result = new LinkedHashMap<>();
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置提示消息
+            result.put("message", "已有逾期账单扫描在执行");
+            // 返回结果
+            return result;
+        }
+        // 执行扫描
+        return runSweep(trigger);
+    }
+
+    // 执行一轮扫描，调用前已设置执行标记，结束后释放
+    private Map<String, Object> runSweep(String trigger) {
+        // 使用try-catch-finally记录失败并释放执行标记
+        try {
+            // 执行扫描
+            Map<String, Object> result = doSweep(trigger);
+            // 保存本轮结果
+            lastResult = result;
+            // 返回结果
+            return result;
+        // 捕获所有运行时异常
+        } catch (RuntimeException e) {
+            // 失败计数
+            totalFailures.increment();
+            // 记录错误信息
+            lastError = LocalDateTime.now() + " " + e.getMessage();
+            // 记录错误日志，已更新的批次保留，下次扫描从检查点继续
+            logger.error("逾期账单扫描失败（触发来源：{}，已更新 {} 条）", trigger, currentUpdated, e);
+            // 创建结果Map
+            Map<String, Object> result = progress();
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "逾期账单扫描失败：" + e.getMessage());
+            // 保存本轮结果
+            lastResult = result;
+            // 返回结果
+            return result;
+        } finally {
+            // 释放执行标记
+            running.set(false);
+        }
+    }
+
+    // 扫描主体：补齐索引和表，逐个领取未完成的分片执行，剩余分片都由其他实例执行时等待其完成或租约过期
+    private Map<String, Object> doSweep(String trigger) {
+        // 首次扫描时补齐索引和检查点表
+        ensureSchema();
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 截止日期，整轮扫描使用同一个值，跨过零点的扫描不会把当天到期的账单改为逾期
+        LocalDate cutoff = LocalDate.now();
+        // 分片数
+        int shardCount = Math.max(1, shards);
+        // 本轮批次标识，包含分片数和分片方式，分片数或分片方式变化时从头开始
+        String runKey = cutoff + "/" + shardCount + "/id";
+        // 是否使用租约（租约表不可用时按单实例模式执行）
+        boolean leased = schedulerLeaseManager.isAvailable();
+        // 重置本轮进度
+        currentTrigger = trigger;
+        // 记录截止日期
+        currentCutoff = cutoff;
+        // 记录开始时间
+        currentStartTime = LocalDateTime.now();
+        // 重置从检查点继续的分片数
+        currentResumedShards = 0;
+        // 重置本实例完成的分片数
+        currentCompletedShards = 0;
+        // 重置正在处理的分片
+        currentShard = null;
+        // 重置批次数
+        currentChunks = 0;
+        // 重置读取数
+        currentScanned = 0;
+        // 重置更新数
+        currentUpdated = 0;
+        // 重置游标
+        currentCursor = null;
+        // 记录日志
+        logger.info("逾期账单扫描开始：触发来源 {}，截止日期 {}，分片数 {}，{}", trigger, cutoff, shardCount,
+                leased ? "按租约领取分片" : "单实例模式");
+        // 未完成的分片，从按实例标识错开的位置开始，减少多个实例同时争抢同一个分片
+        List<Integer> remaining = new ArrayList<>(shardCount);
+        // 起始分片
+        int offset = Math.floorMod(schedulerLeaseManager.getNodeId().hashCode(), shardCount);
+        // 按顺序加入分片
+        for (int i = 0; i < shardCount; i++) {
+            // 加入分片
+            remaining.add((offset + i) % shardCount);
+        }
+        // 逐轮领取分片，应用关闭时停止
+        while (!stopping && !remaining.isEmpty()) {
+            // 本轮是否执行过分片
+            boolean worked = false;
+            // 遍历未完成的分片
+            for (Iterator<Integer> it = remaining.iterator(); it.hasNext() && !stopping; ) {
+                // 分片序号
+                int shard = it.next();
+                // 检查点和租约名称
+                String taskName = TASK_NAME + shard;
+                // 本轮已完成的分片跳过
+                if (isFinished(loadCheckpoint(taskName), runKey)) {
+                    // 移除分片
+                    it.remove();
+                    // 继续下一个分片
+                    continue;
+                }
+                // 分片的租约
+                SchedulerLease lease = null;
+                // 使用租约时尝试获得
+                if (leased) {
+                    // 尝试获得租约
+                    lease = schedulerLeaseManager.tryAcquire(taskName);
+                    // 被其他实例持有时跳过
+                    if (lease == null) {
+                        // 继续下一个分片
+                        continue;
+                    }
+                }
+                // 使用try-finally保证释放租约
+                try {
+                    // 取得租约后重新读取检查点，上一个持有者可能刚刚完成
+                    TaskCheckpoint checkpoint = loadCheckpoint(taskName);
+                    // 已完成或执行到末尾时移除分片
+                    if (isFinished(checkpoint, runKey) || sweepShard(shard, shardCount, cutoff, runKey, checkpoint, lease)) {
+                        // 移除分片
+                        it.remove();
+                    }
+                    // 标记本轮执行过分片
+                    worked = true;
+                } finally {
+                    // 释放租约
+                    if (lease != null) {
+                        // 释放
+                        schedulerLeaseManager.release(lease);
+                    }
+                }
+            }
+            // 剩余分片都由其他实例执行时等待，它们完成后检查点为已完成，宕机时租约到期后由本实例接手
+            if (!remaining.isEmpty() && !worked && !pause(WAIT_OTHERS_MS)) {
+                // 被中断时停止
+                break;
+            }
+        }
+        // 所有分片都已完成
+        boolean finished = remaining.isEmpty();
+        // 清空正在处理的分片
+        currentShard = null;
+        // 完成时累计轮数
+        if (finished) {
+            // 轮数计数
+            totalRuns.increment();
+        }
+        // 创建结果Map
+        Map<String, Object> result = progress();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 是否所有分片都已完成
+        result.put("finished", finished);
+        // 本轮耗时（毫秒）
+        result.put("costMs", System.currentTimeMillis() - start);
+        // 记录日志
+        logger.info("逾期账单扫描{}：本实例完成 {} 个分片，{} 批，读取 {} 条，更新 {} 条，耗时 {} ms", finished ? "完成" : "中止",
+                currentCompletedShards, currentChunks, currentScanned, currentUpdated, result.get("costMs"));
+        // 返回结果
+        return result;
+    }
+
+    // 判断分片在本轮是否已完成
+    private boolean isFinished(TaskCheckpoint checkpoint, String runKey) {
+        // 批次相同且已完成
+        return checkpoint != null && runKey.equals(checkpoint.getRunKey()) && Boolean.TRUE.equals(checkpoint.getFinished());
+    }
+
+    // 执行一个分片：从检查点或头部开始逐批更新，每批前续约，每批后按围栏令牌保存检查点；执行到末尾返回true
+    private boolean sweepShard(int shard, int shardCount, LocalDate cutoff, String runKey,
+                               TaskCheckpoint checkpoint, SchedulerLease lease) {
+        // 检查点和租约名称
+        String taskName = TASK_NAME + shard;
+        // 围栏令牌，单实例模式时沿用检查点中的令牌，不被以前按租约写入的检查点拒绝
+        long token = lease != null ? lease.fencingToken()
+                : checkpoint != null && checkpoint.getFencingToken() != null ? checkpoint.getFencingToken() : 0;
+        // 游标的到期日期，为null表示从头开始
+        LocalDate afterDueDate = null;
+        // 游标的账单编号
+        Integer afterId = null;
+        // 检查点中已累计的更新数
+        long processedBefore = 0;
+        // 同一天内未完成的分片从游标继续；跨天时从头开始（已更新的账单不再是待缴费，不在索引范围内，重新扫描代价很小）
+        boolean resumed = checkpoint != null && runKey.equals(checkpoint.getRunKey()) && checkpoint.getCursorValue() != null;
+        // 游标
+        String cursor = resumed ? checkpoint.getCursorValue() : null;
+        // 从游标继续
+        if (resumed) {
+            // 拆分游标
+            String[] parts = cursor.split(CURSOR_SEPARATOR);
+            // 游标的到期日期
+            afterDueDate = LocalDate.parse(parts[0]);
+            // 游标的账单编号
+            afterId = Integer.valueOf(parts[1]);
+            // 已累计的更新数
+            processedBefore = checkpoint.getProcessed() != null ? checkpoint.getProcessed() : 0;
+            // 从检查点继续的分片数加1
+            currentResumedShards++;
+        }
+        // 本分片的更新数
+        long updatedInShard = 0;
+        // 记录正在处理的分片
+        currentShard = shard;
+        // 记录游标
+        currentCursor = cursor;
+        // 是否已扫描到末尾
+        boolean finished = false;
+        // 逐批处理，应用关闭时在当前批结束后停止
+        while (!stopping) {
+            // 续约，租约已被其他实例取得时停止，由新持有者从检查点继续
+            if (lease != null && !schedulerLeaseManager.renew(lease)) {
+                // 返回未完成
+                return false;
+            }
+            // 读取下一批
+            List<PaymentBill> chunk = paymentMapper.findOverdueBillChunk(cutoff, afterDueDate, afterId, shardCount, shard, chunkSize);
+            // 没有更多账单时结束
+            if (chunk.isEmpty()) {
+                // 标记已完成
+                finished = true;
+                // 跳出循环
+                break;
+            }
+            // 本批账单编号
+            List<Integer> ids = new ArrayList<>(chunk.size());
+            // 遍历本批账单
+            for (PaymentBill bill : chunk) {
+                // 收集编号
+                ids.add(bill.getId());
+            }
+            // 按主键更新本批账单，发布账单逾期事件（已是逾期或已缴费的账单不受影响，被接手后重复执行也不会重复更新）
+            int updated = paymentService.markBillsOverdue(ids, cutoff, SOURCE).size();
+            // 本批最后一条账单作为新的游标
+            PaymentBill last = chunk.get(chunk.size() - 1);
+            // 游标的到期日期
+            afterDueDate = last.getDueDate();
+            // 游标的账单编号
+            afterId = last.getId();
+            // 游标
+            cursor = afterDueDate + CURSOR_SEPARATOR + afterId;
+            // 累加本分片的更新数
+            updatedInShard += updated;
+            // 累加批次数
+            currentChunks++;
+            // 累加读取数
+            currentScanned += chunk.size();
+            // 累加更新数
+            currentUpdated += updated;
+            // 记录游标
+            currentCursor = cursor;
+            // 累计更新数
+            totalUpdated.add(updated);
+            // 保存检查点，已被令牌更大的实例接手时停止
+            if (!saveCheckpoint(taskName, runKey, cursor, processedBefore + updatedInShard, false, token)) {
+                // 返回未完成
+                return false;
+            }
+            // 定期记录进度日志
+            if (currentChunks % PROGRESS_LOG_CHUNKS == 0) {
+                // 记录日志
+                logger.info("逾期账单扫描进度：分片 {}，已处理 {} 批，读取 {} 条，更新 {} 条，游标 {}",
+                        shard, currentChunks, currentScanned, currentUpdated, cursor);
+            }
+            // 本批不足一整批说明已到末尾
+            if (chunk.size() < chunkSize) {
+                // 标记已完成
+                finished = true;
+                // 跳出循环
+                break;
+            }
+            // 批与批之间暂停，被中断（应用关闭）时停止
+            if (!pause(pauseMs)) {
+                // 跳出循环
+                break;
+            }
+        }
+        // 保存本分片最终的检查点，未完成时下次从游标继续
+        boolean saved = saveCheckpoint(taskName, runKey, cursor, processedBefore + updatedInShard, finished, token);
+        // 完成时计数
+        if (finished && saved) {
+            // 本实例完成的分片数加1
+            currentCompletedShards++;
+        }
+        // 返回是否完成
+        return finished && saved;
+    }
+
+    // 暂停指定的毫秒数，被中断时返回false
+    private boolean pause(long millis) {
+        // 未配置暂停时直接继续
+        if (millis <= 0) {
+            // 继续
+            return true;
+        }
+        // 使用try-catch处理中断
+        try {
+            // 暂停
+            Thread.sleep(millis);
+            // 继续
+            return true;
+        // 捕获中断异常
+        } catch (InterruptedException e) {
+            // 恢复中断标记
+            Thread.currentThread().interrupt();
+            // 停止
+            return false;
+        }
+    }
+
+    // 首次扫描时检查逾期扫描索引和检查点表，两者由db/schema-overdue-sweep.sql创建，缺失时记录警告并继续（没有索引时扫描仍然正确，只是更慢）
+    private void ensureSchema() {
+        // 已检查过时直接返回
+        if (schemaChecked) {
+            // 返回
+            return;
+        }
+        // 使用try-catch捕获异常
+        try {
+            // 索引不存在时提示执行脚本
+            if (paymentMapper.countIndex(SWEEP_INDEX) == 0) {
+                // 记录警告日志
+                logger.warn("payment_bills 表缺少逾期扫描索引 {}，扫描将按全表读取，请先执行 db/schema-overdue-sweep.sql", SWEEP_INDEX);
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查 payment_bills 表逾期扫描索引失败：{}", e.getMessage());
+        }
+        // 使用try-catch捕获异常
+        try {
+            // 检查点表不存在时提示执行脚本，进度只保存在内存中
+            if (taskCheckpointMapper.countTable() == 0) {
+                // 记录警告日志
+                logger.warn("缺少 task_checkpoint 表，逾期账单扫描进度只保存在内存中，请先执行 db/schema-overdue-sweep.sql");
+                // 标记已检查
+                schemaChecked = true;
+                // 返回
+                return;
+            }
+            // 标记检查点表可用
+            checkpointAvailable = true;
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查检查点表失败，逾期账单扫描进度只保存在内存中：{}", e.getMessage());
+        }
+        // 标记已检查
+        schemaChecked = true;
+    }
+
+    // 读取检查点，检查点表不可用或读取失败时返回null
+    private TaskCheckpoint loadCheckpoint(String taskName) {
+        // 检查点表不可用时返回null
+        if (!checkpointAvailable) {
+            // 返回null
+            return null;
+        }
+        // 使用try-catch捕获异常
+        try {
+            // 查询检查点
+            return taskCheckpointMapper.findByTaskName(taskName);
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("读取逾期账单扫描检查点 {} 失败，从头开始：{}", taskName, e.getMessage());
+            // 返回null
+            return null;
+        }
+    }
+
+    // 按围栏令牌保存检查点，检查点已被令牌更大的实例写入时返回false；其他失败只记录警告并返回true，继续扫描
+    private boolean saveCheckpoint(String taskName, String runKey, String cursor, long processed, boolean finished, long token) {
+        // 检查点表不可用时不保存
+        if (!checkpointAvailable) {
+            // 返回true
+            return true;
+        }
+        // 创建检查点
+        TaskCheckpoint checkpoint = new TaskCheckpoint();
+        // 设置任务名称
+        checkpoint.setTaskName(taskName);
+        // 设置批次标识
+        checkpoint.setRunKey(runKey);
+        // 设置游标
+        checkpoint.setCursorValue(cursor);
+        // 设置累计处理数
+        checkpoint.setProcessed(processed);
+        // 设置完成标记
+        checkpoint.setFinished(finished);
+        // 设置围栏令牌
+        checkpoint.setFencingToken(token);
+        // 使用try-catch捕获异常
+        try {
+            // 按令牌条件更新，检查点不存在时插入
+            if (taskCheckpointMapper.updateFenced(checkpoint) > 0 || taskCheckpointMapper.insertIfAbsent(checkpoint) > 0) {
+                // 返回true
+                return true;
+            }
+            // 记录警告日志
+            logger.warn("逾期账单扫描检查点 {} 已被令牌更大的实例写入，本实例（令牌 {}）停止该分片", taskName, token);
+            // 返回false
+            return false;
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("保存逾期账单扫描检查点 {} 失败：{}", taskName, e.getMessage());
+            // 返回true
+            return true;
+        }
+    }
+
+    // 当前（或最近一轮）扫描的进度
+    private Map<String, Object> progress() {
+        // 创建进度Map
+        Map<String, Object> progress = new LinkedHashMap<>();
+        // 触发来源
+        progress.put("trigger", currentTrigger);
+        // 截止日期
+        progress.put("cutoff", currentCutoff);
+        // 从检查点继续的分片数
+        progress.put("resumedShards", currentResumedShards);
+        // 本实例完成的分片数
+        progress.put("completedShards", currentCompletedShards);
+        // 正在处理的分片
+        progress.put("shard", currentShard);
+        // 开始时间
+        progress.put("startTime", currentStartTime);
+        // 已处理批次数
+        progress.put("chunks", currentChunks);
+        // 已读取账单数
+        progress.put("scanned", currentScanned);
+        // 已更新账单数
+        progress.put("updated", currentUpdated);
+        // 游标
+        progress.put("cursor", currentCursor);
+        // 返回进度
+        return progress;
+    }
+
+    /**
+     * 获取扫描进度
+     * @return {Map<String, Object>} 返回是否在执行、当前轮次的进度、上一轮的结果和累计统计
+     */
+    // 重写接口中的getStats方法
+    @Override
+    // 获取扫描进度方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 是否有扫描在执行
+        boolean active = running.get();
+        // 是否在执行
+        stats.put("running", active);
+        // 每批账单数
+        stats.put("chunkSize", chunkSize);
+        // 暂停时间
+        stats.put("pauseMs", pauseMs);
+        // 分片数
+        stats.put("shards", shards);
+        // 检查点是否持久化
+        stats.put("checkpointPersisted", checkpointAvailable);
+        // 当前轮次的进度（未在执行时为null）
+        stats.put("current", active ? progress() : null);
+        // 上一轮的结果
+        stats.put("lastRun", lastResult);
+        // 累计完成的轮数
+        stats.put("totalRuns", totalRuns.sum());
+        // 累计更新数
+        stats.put("totalUpdated", totalUpdated.sum());
+        // 累计失败轮数
+        stats.put("totalFailures", totalFailures.sum());
+        // 上一次失败的错误信息
+        stats.put("lastError", lastError);
+        // 调度租约统计
+        stats.put("lease", schedulerLeaseManager.getStats());
+        // 返回统计信息
+        return stats;
+    }
+
+    /**
+     * 停止后台扫描
+     * 功能概述：应用关闭时让扫描在当前批结束后停止并保存检查点，下次启动从检查点继续
+     */
+    // Bean销毁前调用
+    @PreDestroy
+    // 停止扫描方法
+    public void shutdown() {
+        // 标记正在关闭
+        stopping = true;
+        // 中断批间暂停
+        sweepExecutor.shutdownNow();
+        // 使用try-catch处理中断
+        try {
+            // 等待当前批结束
+            sweepExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        // 捕获中断异常
+        } catch (InterruptedException e) {
+            // 恢复中断标记
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,6 +5,8 @@
 // 定义包路径，标识该类属于com.icss.xihu.service.impl包
 package com.icss.xihu.service.impl;
 
+// 导入账单逾期事件
+import com.icss.xihu.event.BillsOverdueEvent;
 // 导入缴费Mapper接口
 import com.icss.xihu.mapper.PaymentMapper;
 // 导入缴费账单实体类
@@ -13,8 +15,12 @@ import com.icss.xihu.model.PaymentBill;
 import com.icss.xihu.model.PaymentType;
 // 导入缴费服务接口
 import com.icss.xihu.service.PaymentService;
+// 导入用户统计服务接口
+import com.icss.xihu.service.UserStatsService;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的事件发布接口
+import org.springframework.context.ApplicationEventPublisher;
 // 导入Spring的服务注解，标识该类为服务层组件
 import org.springframework.stereotype.Service;
 // 导入Spring的事务注解，用于声明式事务管理
@@ -22,12 +28,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 // 导入BigDecimal类，用于精确的金额计算
 import java.math.BigDecimal;
+// 导入LocalDate类，用于表示日期
+import java.time.LocalDate;
 // 导入LocalDateTime类，用于表示日期和时间
 import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
 // 导入List集合接口
 import java.util.List;
 // 导入Map接口
 import java.util.Map;
+// 导入Collectors类，用于收集流中的元素
+import java.util.stream.Collectors;
 
 /**
  * 生活缴费服务实现类
@@ -43,6 +55,16 @@ public class PaymentServiceImpl implements PaymentService {
     // 缴费Mapper对象，用于调用数据库操作方法
     private PaymentMapper paymentMapper;
     
+    // 自动注入事件发布器
+    @Autowired
+    // 事件发布器对象，用于发布账单逾期事件
+    private ApplicationEventPublisher eventPublisher;
+    
+    // 自动注入用户统计服务
+    @Autowired
+    // 用户统计服务对象，账单新建和状态变化时在同一事务中累加用户缴费统计
+    private UserStatsService userStatsService;
+    
     /**
      * 获取所有缴费类型
      * 功能概述：调用Mapper层方法，查询所有可用的缴费类型信息
@@ -85,7 +107,7 @@ public class PaymentServiceImpl implements PaymentService {
     // 根据用户ID和状态获取缴费账单方法，接收用户编号和缴费状态参数，返回该用户指定状态的所有账单列表
     public List<PaymentBill> getBillsByUserIdAndStatus(Integer userId, Integer status) {
         // 调用Mapper层的getBillsByUserIdAndStatus方法，根据用户编号和缴费状态查询该用户指定状态的所有账单信息并返回
-        // 注意：过期账单状态由定时任务自动更新，不在此处更新以提高查询性能
+        // 注意：账单到期时由到期时间轮准点更新为逾期，按状态字段直接查询，不再按当前日期判断
         return paymentMapper.getBillsByUserIdAndStatus(userId, status);
     }
     
@@ -105,11 +127,12 @@ public class PaymentServiceImpl implements PaymentService {
     
     /**
      * 处理缴费
-     * 功能概述：处理缴费账单的支付，更新账单状态和支付信息，创建缴费记录（使用事务管理）
+     * 功能概述：处理缴费账单的支付，锁定账单后更新账单状态和支付信息，创建缴费记录并计入用户缴费统计（使用事务管理）
      * @param {Integer} billId - 账单编号
      * @param {String} paymentMethod - 支付方式（微信、支付宝、银行卡等）
      * @param {String} transactionId - 交易流水号
-     * @return {boolean} 返回是否缴费成功（true-成功，false-失败）
+     * @return {boolean} 返回是否缴费成功（true-成功，账单不存在或已缴费时为false）；
+     * 数据库异常时向调用方抛出，账单状态、缴费记录和统计一起回滚，不会只提交其中一部分
      */
     // 重写接口中的processPayment方法
     @Override
@@ -117,54 +140,48 @@ public class PaymentServiceImpl implements PaymentService {
     @Transactional
     // 处理缴费方法，接收账单编号、支付方式和交易流水号参数，返回是否缴费成功
     public boolean processPayment(Integer billId, String paymentMethod, String transactionId) {
-        // 使用try-catch块捕获异常
-        try {
-            // 获取账单信息
-            // 调用Mapper层的getBillById方法，根据账单编号查询账单信息
-            PaymentBill bill = paymentMapper.getBillById(billId);
-            // 如果账单不存在或已缴费，返回false
-            if (bill == null || bill.getBillStatus() == 1) {
-                return false; // 账单不存在或已缴费
-            }
-            
-            // 更新账单状态
-            // 调用Mapper层的updateBillStatus方法，更新账单状态为已缴费（1），设置缴费金额和缴费时间
-            int updateResult = paymentMapper.updateBillStatus(
-                billId,                    // 账单编号
-                1,                         // 已缴费状态
-                bill.getBillAmount(),      // 缴费金额
-                LocalDateTime.now()        // 缴费时间
+        // 锁定账单，与并发的缴费和逾期更新互斥，读到的状态就是更新前的状态
+        // 调用Mapper层的lockBillById方法，根据账单编号锁定账单
+        PaymentBill bill = paymentMapper.lockBillById(billId);
+        // 如果账单不存在或已缴费，返回false
+        if (bill == null || bill.getBillStatus() == 1) {
+            return false; // 账单不存在或已缴费
+        }
+        
+        // 更新账单状态
+        // 调用Mapper层的updateBillStatus方法，更新账单状态为已缴费（1），设置缴费金额和缴费时间
+        int updateResult = paymentMapper.updateBillStatus(
+            billId,                    // 账单编号
+            1,                         // 已缴费状态
+            bill.getBillAmount(),      // 缴费金额
+            LocalDateTime.now()        // 缴费时间
+        );
+        
+        // 如果更新成功（更新记录数大于0），创建缴费记录
+        if (updateResult > 0) {
+            // 创建缴费记录
+            // 调用Mapper层的createPaymentRecord方法，创建缴费记录，记录缴费的详细信息
+            paymentMapper.createPaymentRecord(
+                bill.getUserId(),      // 用户编号
+                billId,                // 账单编号
+                paymentMethod,         // 支付方式
+                bill.getBillAmount(),  // 缴费金额
+                transactionId          // 交易流水号
             );
-            
-            // 如果更新成功（更新记录数大于0），创建缴费记录
-            if (updateResult > 0) {
-                // 创建缴费记录
-                // 调用Mapper层的createPaymentRecord方法，创建缴费记录，记录缴费的详细信息
-                paymentMapper.createPaymentRecord(
-                    bill.getUserId(),      // 用户编号
-                    billId,                // 账单编号
-                    paymentMethod,         // 支付方式
-                    bill.getBillAmount(),  // 缴费金额
-                    transactionId          // 交易流水号
-                );
-                // 返回true表示缴费成功
-                return true;
-            }
-            
-            // 如果更新失败，返回false
-            return false;
-        } catch (Exception e) {
-            // 如果发生异常，打印异常堆栈信息
-            e.printStackTrace();
-            // 返回false表示缴费失败
-            return false;
+            // 计入用户缴费统计：从原状态（待缴费或逾期）移到已缴费
+            userStatsService.billsChanged(List.of(bill), 1);
+            // 返回true表示缴费成功
+            return true;
         }
+        
+        // 如果更新失败，返回false
+        return false;
     }
     
     /**
      * 获取用户缴费统计
-     * 功能概述：调用Mapper层方法，根据用户编号统计该用户的缴费信息（总账单数、已缴费数、待缴费数等）
-     * 注意：过期账单状态由定时任务自动更新，不在此处更新以提高查询性能
+     * 功能概述：从按用户汇总的统计表按主键读取一行（总账单数、已缴费数、待缴费数等），不再对该用户的全部账单做汇总
+     * 注意：统计在账单新建、缴费和逾期的事务中累加，偏差由定期校对修正
      * @param {Integer} userId - 用户编号
      * @return {Map<String, Object>} 返回缴费统计结果（包含总账单数、已缴费数、待缴费数等）
      */
@@ -172,8 +189,116 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     // 获取用户缴费统计方法，接收用户编号参数，返回缴费统计结果
     public Map<String, Object> getPaymentStats(Integer userId) {
-        // 调用Mapper层的getPaymentStats方法，根据用户编号统计该用户的缴费信息并返回
-        // 注意：过期账单状态由定时任务自动更新，不在此处更新以提高查询性能
-        return paymentMapper.getPaymentStats(userId);
+        // 调用用户统计服务读取该用户的缴费统计并返回
+        return userStatsService.getPaymentStats(userId);
+    }
+    
+    /**
+     * 把一批到期账单更新为逾期
+     * 功能概述：在一个短事务中按主键锁定仍为待缴费且到期日期早于截止日期的账单并更新为逾期，只锁定本批账单；
+     * 锁定后再更新，与并发的缴费互斥，事件中只包含实际发生状态变化的账单；同一事务中计入用户缴费统计
+     * @param {List<Integer>} billIds - 账单编号列表
+     * @param {LocalDate} cutoff - 截止日期（不含）
+     * @param {String} source - 触发来源
+     * @return {List<PaymentBill>} 返回实际变为逾期的账单（只包含id、userId、billAmount、billStatus、dueDate）
+     */
+    // 重写接口中的markBillsOverdue方法
+    @Override
+    // 使用Spring的事务注解，锁定和更新在同一事务中执行
+    @Transactional
+    // 把一批到期账单更新为逾期方法
+    public List<PaymentBill> markBillsOverdue(List<Integer> billIds, LocalDate cutoff, String source) {
+        // 没有账单时直接返回
+        if (billIds == null || billIds.isEmpty()) {
+            // 返回空列表
+            return List.of();
+        }
+        // 锁定仍为待缴费的到期账单
+        List<PaymentBill> bills = paymentMapper.lockPendingOverdueBills(billIds, cutoff);
+        // 都已缴费或已逾期时直接返回
+        if (bills.isEmpty()) {
+            // 返回空列表
+            return bills;
+        }
+        // 锁定的账单编号
+        List<Integer> ids = new ArrayList<>(bills.size());
+        // 遍历锁定的账单
+        for (PaymentBill bill : bills) {
+            // 收集编号
+            ids.add(bill.getId());
+        }
+        // 更新为逾期
+        paymentMapper.markBillsOverdue(ids, cutoff);
+        // 计入用户缴费统计：从待缴费移到逾期
+        userStatsService.billsChanged(bills, 2);
+        // 遍历锁定的账单
+        for (PaymentBill bill : bills) {
+            // 事件和返回值中的状态为更新后的逾期
+            bill.setBillStatus(2);
+        }
+        // 发布账单逾期事件
+        eventPublisher.publishEvent(new BillsOverdueEvent(bills, source));
+        // 返回变为逾期的账单
+        return bills;
+    }
+    
+    /**
+     * 批量新建账单
+     * 功能概述：在一个事务中用一条多行INSERT写入账单并计入用户缴费统计，账单和统计同时提交；
+     * 已存在相同账户账期的账单时抛出DuplicateKeyException，整批回滚，由调用方重新查询后重试
+     * @param {List<PaymentBill>} bills - 账单列表，需要包含userId、billAmount、billStatus
+     * @return {int} 返回插入的账单数
+     */
+    // 重写接口中的createBills方法
+    @Override
+    // 使用Spring的事务注解，账单和统计在同一事务中提交
+    @Transactional
+    // 批量新建账单方法
+    public int createBills(List<PaymentBill> bills) {
+        // 没有账单时直接返回
+        if (bills == null || bills.isEmpty()) {
+            // 返回0
+            return 0;
+        }
+        // 一条多行INSERT写入，唯一键冲突时抛出异常，整批回滚
+        int inserted = paymentMapper.insertBills(bills);
+        // 计入新建的账单
+        userStatsService.billsCreated(bills);
+        // 返回插入数
+        return inserted;
+    }
+    
+    /**
+     * 把一批账单标记为已缴费（用于统一支付）
+     * 功能概述：锁定这批账单中未缴费的账单，一条语句更新为已缴费并按用户合并计入用户缴费统计，已缴费的账单不重复处理；
+     * 不单独开启事务，在调用方的事务中执行，失败时由调用方决定是否回滚
+     * @param {List<Integer>} billIds - 账单编号
+     * @param {LocalDateTime} paidTime - 缴费时间
+     * @return {int} 返回状态发生变化的账单数
+     */
+    // 重写接口中的markBillsPaid方法
+    @Override
+    // 把一批账单标记为已缴费方法
+    public int markBillsPaid(List<Integer> billIds, LocalDateTime paidTime) {
+        // 没有账单时不访问数据库
+        if (billIds == null || billIds.isEmpty()) {
+            return 0;
+        }
+        // 锁定其中未缴费的账单，读到的状态就是更新前的状态
+        List<PaymentBill> bills = paymentMapper.lockUnpaidBillsByIds(billIds);
+        // 都已缴费或不存在时不处理
+        if (bills.isEmpty()) {
+            return 0;
+        }
+        // 一条语句更新为已缴费，设置缴费时间
+        int updated = paymentMapper.markBillsPaid(
+                bills.stream().map(PaymentBill::getId).collect(Collectors.toList()), paidTime);
+        // 更新成功时计入统计
+        if (updated > 0) {
+            // 计入用户缴费统计：从原状态移到已缴费，账单已加锁，更新数与锁定数一致
+            userStatsService.billsChanged(bills, 1);
+        }
+        // 返回变化的账单数
+        return updated;
     }
 }
@@ -0,0 +1,271 @@
+/**
+ * 价格索引服务实现类
+ * 功能概述：实现PriceIndexService接口，把餐厅和景点的price_range文本解析为price_min、price_max数值字段，
+ * 解析只在同步时进行一次，之后的价格区间查询和金额估算直接使用数值字段
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入价格索引Mapper接口
+import com.icss.xihu.mapper.PriceIndexMapper;
+// 导入价格区间实体类
+import com.icss.xihu.model.PriceRange;
+// 导入价格索引服务接口
+import com.icss.xihu.service.PriceIndexService;
+// 导入价格区间解析工具类
+import com.icss.xihu.util.PriceRangeParser;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring缓存清除注解
+import org.springframework.cache.annotation.CacheEvict;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入HashSet类
+import java.util.HashSet;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Objects工具类
+import java.util.Objects;
+// 导入Set集合接口
+import java.util.Set;
+
+/**
+ * 价格索引服务实现类
+ * 功能概述：实现PriceIndexService接口，把餐厅和景点的price_range文本解析为price_min、price_max数值字段，
+ * 解析只在同步时进行一次，之后的价格区间查询和金额估算直接使用数值字段
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 价格索引服务实现类，实现PriceIndexService接口
+public class PriceIndexServiceImpl implements PriceIndexService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(PriceIndexServiceImpl.class);
+
+    // 需要维护价格字段的表
+    private static final String[] TABLES = {"restaurant", "attractions"};
+    // 默认返回数量
+    private static final int DEFAULT_LIMIT = 50;
+    // 最大返回数量
+    private static final int MAX_LIMIT = 500;
+
+    // 自动注入价格索引Mapper
+    @Autowired
+    // 价格索引Mapper对象
+    private PriceIndexMapper priceIndexMapper;
+
+    // 已确认有价格字段的表，字段缺失的表每次同步时重新检查
+    private final Set<String> readyTables = new HashSet<>();
+
+    /**
+     * 同步价格数值字段
+     * 功能概述：先检查价格字段是否存在（字段由db/schema-price-index.sql添加，应用运行时不修改表结构），
+     * 缺少字段的表跳过并返回提示；其余表逐条解析price_range，只回填解析结果与已保存值不同的记录
+     * @return {Map<String, Object>} 返回各表的扫描数、更新数和无法解析的数量
+     */
+    // 重写接口中的syncPriceColumns方法
+    @Override
+    // 餐厅的price_min、price_max可能变化，同步后清空餐厅缓存
+    @CacheEvict(cacheNames = "restaurants", allEntries = true)
+    // 同步价格数值字段方法，同一时间只允许一个线程同步
+    public synchronized Map<String, Object> syncPriceColumns() {
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 遍历表
+        for (String table : TABLES) {
+            // 缺少价格字段时跳过该表
+            if (!hasPriceColumns(table)) {
+                // 返回提示信息
+                result.put(table, Map.of("error", "缺少price_min、price_max字段，请先执行 db/schema-price-index.sql"));
+                // 继续下一张表
+                continue;
+            }
+            // 同步该表
+            result.put(table, syncTable(table));
+        }
+        // 同步耗时（毫秒）
+        result.put("costMs", System.currentTimeMillis() - start);
+        // 记录日志
+        logger.info("价格字段同步完成：{}", result);
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 按价格区间查询景点
+     * 功能概述：区间格式与餐厅筛选一致，如"50-100"（含下限不含上限）、"100+"，也可以直接传入最低价和最高价
+     * @param {String} priceRange - 价格区间文本，可为空
+     * @param {Integer} minPrice - 最低价格（含），priceRange为空时使用
+     * @param {Integer} maxPrice - 最高价格（不含），priceRange为空时使用
+     * @param {Integer} limit - 返回数量上限
+     * @return {Map<String, Object>} 返回查询结果（包含success、attractions、total、minPrice、maxPrice）
+     */
+    // 重写接口中的findAttractionsByPrice方法
+    @Override
+    // 按价格区间查询景点方法
+    public Map<String, Object> findAttractionsByPrice(String priceRange, Integer minPrice, Integer maxPrice, Integer limit) {
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 下限
+        int lo = minPrice == null ? 0 : Math.max(0, minPrice);
+        // 上限
+        int hi = maxPrice == null ? Integer.MAX_VALUE : maxPrice;
+        // 区间文本不为空时以文本为准
+        if (priceRange != null && !priceRange.isBlank()) {
+            // 解析区间文本
+            double[] range = PriceRangeParser.parseQuery(priceRange);
+            // 无法解析时返回错误
+            if (range == null) {
+                // 设置返回结果为失败
+                result.put("success", false);
+                // 设置错误消息
+                result.put("message", "价格区间格式不正确，应为如50-100或100+");
+                // 返回结果
+                return result;
+            }
+            // 下限取整
+            lo = (int) Math.ceil(range[0]);
+            // 上限取整，无穷大时不限
+            hi = Double.isInfinite(range[1]) ? Integer.MAX_VALUE : (int) Math.ceil(range[1]);
+        }
+        // 区间为空时返回错误
+        if (hi <= lo) {
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "最高价格必须大于最低价格");
+            // 返回结果
+            return result;
+        }
+        // 本次返回数量
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        // 查询景点
+        List<Map<String, Object>> attractions = priceIndexMapper.findAttractionsByPrice(lo, hi, size);
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 景点列表
+        result.put("attractions", attractions);
+        // 返回数量
+        result.put("total", attractions.size());
+        // 实际使用的下限
+        result.put("minPrice", lo);
+        // 实际使用的上限，不限时为null
+        result.put("maxPrice", hi == Integer.MAX_VALUE ? null : hi);
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 同步一张表的价格字段
+     * @param {String} tableName - 表名
+     * @return {Map<String, Object>} 返回扫描数、更新数和无法解析的数量
+     */
+    // 同步一张表的价格字段方法
+    private Map<String, Object> syncTable(String tableName) {
+        // 创建统计Map
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 扫描数
+        int scanned = 0;
+        // 更新数
+        int updated = 0;
+        // 无法解析的数量
+        int unparsed = 0;
+        // 使用try-catch捕获异常，单张表失败不影响其他表
+        try {
+            // 查询价格文本和已解析的价格
+            List<Map<String, Object>> rows = priceIndexMapper.findPriceRows(tableName);
+            // 遍历记录
+            for (Map<String, Object> row : rows) {
+                // 扫描数加1
+                scanned++;
+                // 解析价格文本
+                PriceRange range = PriceRangeParser.parse((String) row.get("priceRange"));
+                // 无法解析时计数
+                if (range == null) {
+                    // 无法解析的数量加1
+                    unparsed++;
+                }
+                // 解析出的最低价
+                Integer min = range == null ? null : range.getMinPrice();
+                // 解析出的最高价
+                Integer max = range == null ? null : range.getMaxPrice();
+                // 与已保存值相同时跳过
+                if (Objects.equals(min, toInteger(row.get("priceMin"))) && Objects.equals(max, toInteger(row.get("priceMax")))) {
+                    // 继续下一条
+                    continue;
+                }
+                // 回填价格字段
+                updated += priceIndexMapper.updatePrice(tableName, ((Number) row.get("id")).longValue(), min, max);
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录错误日志
+            logger.error("同步 {} 表价格字段失败", tableName, e);
+            // 错误信息
+            stats.put("error", e.getMessage());
+        }
+        // 扫描数
+        stats.put("scanned", scanned);
+        // 更新数
+        stats.put("updated", updated);
+        // 无法解析的数量
+        stats.put("unparsed", unparsed);
+        // 返回统计
+        return stats;
+    }
+
+    /**
+     * 检查表的价格字段
+     * 功能概述：表中没有price_min字段时记录警告并返回false，字段由db/schema-price-index.sql添加，应用运行时不修改表结构；
+     * 已确认存在的表不再重复查询字段元数据
+     * @param {String} tableName - 表名
+     * @return {boolean} 字段存在返回true，否则返回false
+     */
+    // 检查价格字段方法
+    private boolean hasPriceColumns(String tableName) {
+        // 已确认过时直接返回
+        if (readyTables.contains(tableName)) {
+            // 返回true
+            return true;
+        }
+        // 使用try-catch捕获异常
+        try {
+            // 字段不存在时提示执行脚本
+            if (priceIndexMapper.countColumn(tableName, "price_min") == 0) {
+                // 记录警告日志
+                logger.warn("{} 表缺少价格字段，跳过价格回填，请先执行 db/schema-price-index.sql", tableName);
+                // 返回false
+                return false;
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查 {} 表价格字段失败：{}", tableName, e.getMessage());
+            // 返回false
+            return false;
+        }
+        // 记录已确认的表
+        readyTables.add(tableName);
+        // 返回true
+        return true;
+    }
+
+    // 数据库返回的数字转换为Integer
+    private static Integer toInteger(Object value) {
+        // 为null时返回null，否则取整数值
+        return value == null ? null : ((Number) value).intValue();
+    }
+}
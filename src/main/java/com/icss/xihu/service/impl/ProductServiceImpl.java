@@ -5,23 +5,27 @@
 // 定义包路径，标识该类属于com.icss.xihu.service.impl包
 package com.icss.xihu.service.impl;
 
+// 导入读库查询注解
+import com.icss.xihu.config.ReadReplica;
+// 导入请求合并注解
+import com.icss.xihu.config.SingleFlight;
 // 导入商品Mapper接口
 import com.icss.xihu.mapper.ProductMapper;
+// 导入分页结果记录
+import com.icss.xihu.model.PageResult;
 // 导入商品实体类
 import com.icss.xihu.model.Product;
 // 导入商品服务接口
 import com.icss.xihu.service.ProductService;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring缓存注解
+import org.springframework.cache.annotation.Cacheable;
 // 导入Spring的服务注解，标识该类为服务层组件
 import org.springframework.stereotype.Service;
 
-// 导入HashMap类，用于创建Map对象
-import java.util.HashMap;
 // 导入List集合接口
 import java.util.List;
-// 导入Map接口
-import java.util.Map;
 
 /**
  * 商品服务实现类
@@ -29,6 +33,8 @@ import java.util.Map;
  */
 // 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
 @Service
+// 目录类查询，不在读写事务中时走读库
+@ReadReplica
 // 商品服务实现类，实现ProductService接口
 public class ProductServiceImpl implements ProductService {
 
@@ -44,12 +50,14 @@ public class ProductServiceImpl implements ProductService {
      * @param {int} pageSize - 每页记录数
      * @param {String} keyword - 搜索关键词（可选，用于搜索商品名称或标签）
      * @param {String} category - 商品分类（可选，用于筛选分类）
-     * @return {Map<String, Object>} 返回分页结果（包含商品列表、总数、当前页码、每页记录数、总页数）
+     * @return {PageResult<Product>} 返回分页结果（包含商品列表、总数、当前页码、每页记录数、总页数）
      */
     // 重写接口中的getProductsWithPagination方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 分页查询商品方法，接收页码、每页记录数、搜索关键词和分类参数，返回分页结果
-    public Map<String, Object> getProductsWithPagination(int page, int pageSize, String keyword, String category) {
+    public PageResult<Product> getProductsWithPagination(int page, int pageSize, String keyword, String category) {
         // 计算偏移量（跳过的记录数）= (页码 - 1) × 每页记录数
         int offset = (page - 1) * pageSize;
         
@@ -58,21 +66,8 @@ public class ProductServiceImpl implements ProductService {
         // 调用Mapper层的countAllProducts方法，统计商品总数
         int total = productMapper.countAllProducts(keyword, category);
         
-        // 创建结果Map对象，用于存储分页结果
-        Map<String, Object> result = new HashMap<>();
-        // 将商品列表放入结果Map中，键为"list"
-        result.put("list", products);
-        // 将商品总数放入结果Map中，键为"total"
-        result.put("total", total);
-        // 将当前页码放入结果Map中，键为"page"
-        result.put("page", page);
-        // 将每页记录数放入结果Map中，键为"pageSize"
-        result.put("pageSize", pageSize);
-        // 计算总页数 = 向上取整(总数 ÷ 每页记录数)，并将总页数放入结果Map中，键为"totalPages"
-        result.put("totalPages", (int) Math.ceil((double) total / pageSize));
-        
-        // 返回分页结果Map
-        return result;
+        // 返回分页结果，总页数 = 向上取整(总数 ÷ 每页记录数)
+        return PageResult.of(products, total, page, pageSize);
     }
 
     /**
@@ -83,6 +78,10 @@ public class ProductServiceImpl implements ProductService {
      */
     // 重写接口中的getProductById方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（products）
+    @Cacheable(cacheNames = "products", key = "#p0")
     // 根据ID查询商品方法，接收商品编号参数，返回商品对象
     public Product getProductById(Long id) {
         // 调用Mapper层的findProductById方法，根据商品编号查询商品信息并返回
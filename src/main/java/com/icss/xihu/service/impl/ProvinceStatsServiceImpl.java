@@ -0,0 +1,475 @@
+/**
+ * 省份统计服务实现类
+ * 功能概述：实现ProvinceStatsService接口，在内存中按省份维护景点数量、城市数量、平均评分和三类订单数量，
+ * 景点部分按变更签名判断是否需要重新聚合，订单部分按编号水位线只统计新增订单后累加，
+ * 每次数据变化后重新序列化为JSON字节数组并计算ETag，请求时直接输出，不再逐次查询和组装
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入Jackson的对象映射器，用于序列化JSON
+import com.fasterxml.jackson.databind.ObjectMapper;
+// 导入省份统计Mapper接口
+import com.icss.xihu.mapper.ProvinceStatsMapper;
+// 导入预序列化JSON响应实体类
+import com.icss.xihu.model.JsonPayload;
+// 导入地址服务接口
+import com.icss.xihu.service.AddressService;
+// 导入省份统计服务接口
+import com.icss.xihu.service.ProvinceStatsService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+// 导入Spring的摘要工具类，用于计算ETag
+import org.springframework.util.DigestUtils;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Arrays工具类
+import java.util.Arrays;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Objects工具类
+import java.util.Objects;
+// 导入TreeMap类，按省份名称排序输出
+import java.util.TreeMap;
+
+/**
+ * 省份统计服务实现类
+ * 功能概述：实现ProvinceStatsService接口，在内存中按省份维护景点数量、城市数量、平均评分和三类订单数量，
+ * 景点部分按变更签名判断是否需要重新聚合，订单部分按编号水位线只统计新增订单后累加，
+ * 每次数据变化后重新序列化为JSON字节数组并计算ETag，请求时直接输出，不再逐次查询和组装
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 省份统计服务实现类，实现ProvinceStatsService接口
+public class ProvinceStatsServiceImpl implements ProvinceStatsService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(ProvinceStatsServiceImpl.class);
+
+    // 省份名称需要去掉的后缀，按长度从长到短排列，使"广西壮族自治区"与地图上的"广西"一致
+    private static final String[] PROVINCE_SUFFIXES = {"特别行政区", "维吾尔自治区", "壮族自治区", "回族自治区", "自治区", "省", "市"};
+
+    // 自动注入省份统计Mapper
+    @Autowired
+    // 省份统计Mapper对象，用于执行聚合查询
+    private ProvinceStatsMapper provinceStatsMapper;
+
+    // 自动注入地址服务
+    @Autowired
+    // 地址服务对象，用于从内存地址层级树中获取省份名称列表
+    private AddressService addressService;
+
+    // 自动注入Spring容器中的ObjectMapper，与接口返回的JSON格式保持一致
+    @Autowired
+    // JSON对象映射器
+    private ObjectMapper objectMapper;
+
+    // 省份聚合数据，键为规范化后的省份名称，只在同步方法中修改
+    private final Map<String, ProvinceAggregate> aggregates = new TreeMap<>();
+    // 景点表变更签名，为空表示尚未计算
+    private String attractionSignature;
+    // 旅游订单水位线
+    private long travelWatermark;
+    // 酒店订单水位线
+    private long hotelWatermark;
+    // 餐厅订单水位线
+    private long restaurantWatermark;
+    // 是否已经完成过全量计算
+    private boolean initialized = false;
+
+    // 当前发布的预序列化JSON
+    private volatile JsonPayload payload;
+    // 当前发布的Map结构数据
+    private volatile Map<String, Object> mapData;
+
+    /**
+     * 获取预序列化的省份地图数据
+     * 功能概述：直接返回当前发布的JSON字节数组和ETag，尚未计算时先做一次全量计算
+     * @return {JsonPayload} 返回预序列化JSON响应
+     */
+    // 重写接口中的getProvinceMapPayload方法
+    @Override
+    // 获取预序列化省份地图数据方法
+    public JsonPayload getProvinceMapPayload() {
+        // 读取当前发布的数据
+        JsonPayload current = payload;
+        // 尚未计算时先全量计算
+        if (current == null) {
+            // 全量计算
+            rebuildAll();
+            // 重新读取
+            current = payload;
+        }
+        // 返回预序列化JSON
+        return current;
+    }
+
+    /**
+     * 获取省份地图数据
+     * 功能概述：返回当前发布的Map结构数据，尚未计算时先做一次全量计算
+     * @return {Map<String, Object>} 返回省份地图数据
+     */
+    // 重写接口中的getProvinceMapData方法
+    @Override
+    // 获取省份地图数据方法
+    public Map<String, Object> getProvinceMapData() {
+        // 确保已经计算过
+        getProvinceMapPayload();
+        // 返回Map结构数据
+        return mapData;
+    }
+
+    /**
+     * 增量刷新
+     * 功能概述：景点签名变化时重新聚合景点，订单按水位线累加新增部分，
+     * 订单最大编号小于水位线（表被清空或回滚）时改为全量重算，有变化时重新发布
+     */
+    // 重写接口中的refreshIncremental方法
+    @Override
+    // 增量刷新方法，与全量重算互斥
+    public synchronized void refreshIncremental() {
+        // 尚未全量计算过时直接全量计算
+        if (!initialized) {
+            // 全量计算
+            rebuildAll();
+            // 直接返回
+            return;
+        }
+        // 是否有变化
+        boolean changed = false;
+        // 查询景点变更签名
+        String signature = provinceStatsMapper.getAttractionSignature();
+        // 签名变化时重新聚合景点
+        if (!Objects.equals(signature, attractionSignature)) {
+            // 重新聚合景点
+            aggregateAttractions();
+            // 保存签名
+            attractionSignature = signature;
+            // 标记有变化
+            changed = true;
+        }
+        // 查询旅游订单最大编号
+        long travelMax = provinceStatsMapper.getMaxTravelOrderId();
+        // 查询酒店订单最大编号
+        long hotelMax = provinceStatsMapper.getMaxHotelOrderId();
+        // 查询餐厅订单最大编号
+        long restaurantMax = provinceStatsMapper.getMaxRestaurantOrderId();
+        // 任一最大编号小于水位线说明有订单被删除到水位线以下，增量结果不可信
+        if (travelMax < travelWatermark || hotelMax < hotelWatermark || restaurantMax < restaurantWatermark) {
+            // 改为全量重算
+            rebuildAll();
+            // 直接返回
+            return;
+        }
+        // 有新的旅游订单
+        if (travelMax > travelWatermark) {
+            // 累加新增旅游订单
+            addOrders(provinceStatsMapper.countTravelOrdersByProvince(travelWatermark, travelMax), 0);
+            // 推进水位线
+            travelWatermark = travelMax;
+            // 标记有变化
+            changed = true;
+        }
+        // 有新的酒店订单
+        if (hotelMax > hotelWatermark) {
+            // 累加新增酒店订单
+            addOrders(provinceStatsMapper.countHotelOrdersByProvince(hotelWatermark, hotelMax), 1);
+            // 推进水位线
+            hotelWatermark = hotelMax;
+            // 标记有变化
+            changed = true;
+        }
+        // 有新的餐厅订单
+        if (restaurantMax > restaurantWatermark) {
+            // 累加新增餐厅订单
+            addOrders(provinceStatsMapper.countRestaurantOrdersByProvince(restaurantWatermark, restaurantMax), 2);
+            // 推进水位线
+            restaurantWatermark = restaurantMax;
+            // 标记有变化
+            changed = true;
+        }
+        // 有变化时重新发布
+        if (changed) {
+            // 重新序列化并发布
+            publish();
+        }
+    }
+
+    /**
+     * 全量重算
+     * 功能概述：清空所有累加值和水位线，依次统计省份列表、景点和全部订单后发布
+     */
+    // 重写接口中的rebuildAll方法
+    @Override
+    // 全量重算方法，与增量刷新互斥
+    public synchronized void rebuildAll() {
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 清空聚合数据
+        aggregates.clear();
+        // 确保所有省份都出现在结果中（没有景点的省份值为0）
+        for (String province : addressService.getProvinceNames()) {
+            // 按规范化名称创建聚合对象
+            aggregate(province);
+        }
+        // 记录景点签名（先取签名再聚合，期间的变更会在下次增量刷新时再聚合一次）
+        attractionSignature = provinceStatsMapper.getAttractionSignature();
+        // 聚合景点
+        aggregateAttractions();
+        // 查询旅游订单最大编号
+        travelWatermark = provinceStatsMapper.getMaxTravelOrderId();
+        // 统计全部旅游订单
+        addOrders(provinceStatsMapper.countTravelOrdersByProvince(0, travelWatermark), 0);
+        // 查询酒店订单最大编号
+        hotelWatermark = provinceStatsMapper.getMaxHotelOrderId();
+        // 统计全部酒店订单
+        addOrders(provinceStatsMapper.countHotelOrdersByProvince(0, hotelWatermark), 1);
+        // 查询餐厅订单最大编号
+        restaurantWatermark = provinceStatsMapper.getMaxRestaurantOrderId();
+        // 统计全部餐厅订单
+        addOrders(provinceStatsMapper.countRestaurantOrdersByProvince(0, restaurantWatermark), 2);
+        // 标记已完成全量计算
+        initialized = true;
+        // 重新序列化并发布
+        publish();
+        // 记录日志
+        logger.info("省份热力统计全量重算完成：{} 个省份，耗时 {} ms", aggregates.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 聚合景点
+     * 功能概述：清空各省份的景点统计后重新按省份聚合景点数量、城市数量和平均评分
+     */
+    // 聚合景点方法
+    private void aggregateAttractions() {
+        // 清空各省份的景点统计
+        for (ProvinceAggregate agg : aggregates.values()) {
+            // 景点数量清零
+            agg.attractionCount = 0;
+            // 城市数量清零
+            agg.cityCount = 0;
+            // 评分总和清零
+            agg.ratingSum = 0;
+        }
+        // 遍历聚合结果
+        for (Map<String, Object> row : provinceStatsMapper.aggregateAttractionsByProvince()) {
+            // 获取省份聚合对象
+            ProvinceAggregate agg = aggregate((String) row.get("province"));
+            // 省份名称为空时跳过
+            if (agg == null) {
+                // 继续下一行
+                continue;
+            }
+            // 景点数量
+            long count = toLong(row.get("attractionCount"));
+            // 累加景点数量（不同写法的同一省份会合并）
+            agg.attractionCount += count;
+            // 累加城市数量
+            agg.cityCount += toLong(row.get("cityCount"));
+            // 按景点数量加权累加评分
+            agg.ratingSum += toDouble(row.get("avgRating")) * count;
+        }
+    }
+
+    /**
+     * 累加订单数量
+     * 功能概述：把按省份分组的订单数量累加到对应类型的计数中
+     * @param {List<Map<String, Object>>} rows - 分组统计结果
+     * @param {int} kind - 订单类型，0=旅游，1=酒店，2=餐厅
+     */
+    // 累加订单数量方法
+    private void addOrders(List<Map<String, Object>> rows, int kind) {
+        // 遍历统计结果
+        for (Map<String, Object> row : rows) {
+            // 获取省份聚合对象
+            ProvinceAggregate agg = aggregate((String) row.get("province"));
+            // 省份名称为空时跳过
+            if (agg == null) {
+                // 继续下一行
+                continue;
+            }
+            // 订单数量
+            long count = toLong(row.get("orderCount"));
+            // 按类型累加
+            switch (kind) {
+                // 旅游订单
+                case 0 -> agg.travelOrderCount += count;
+                // 酒店订单
+                case 1 -> agg.hotelOrderCount += count;
+                // 餐厅订单
+                default -> agg.restaurantOrderCount += count;
+            }
+        }
+    }
+
+    /**
+     * 序列化并发布
+     * 功能概述：按省份名称组装ECharts所需的数据，value为景点数量，序列化为JSON字节数组并计算ETag，
+     * 内容与当前发布的完全相同时保留原对象，避免ETag和Last-Modified无意义地变化
+     */
+    // 序列化并发布方法
+    private void publish() {
+        // 省份数据列表
+        List<Map<String, Object>> provinces = new ArrayList<>();
+        // 最大景点数量
+        long maxValue = 0;
+        // 最大订单数量
+        long maxOrderCount = 0;
+        // 遍历省份聚合数据（TreeMap已按名称排序）
+        for (Map.Entry<String, ProvinceAggregate> entry : aggregates.entrySet()) {
+            // 聚合对象
+            ProvinceAggregate agg = entry.getValue();
+            // 订单总数
+            long orderCount = agg.travelOrderCount + agg.hotelOrderCount + agg.restaurantOrderCount;
+            // 创建省份数据项
+            Map<String, Object> item = new LinkedHashMap<>();
+            // 省份名称（与ECharts中国地图的名称一致）
+            item.put("name", entry.getKey());
+            // 热力值，取景点数量
+            item.put("value", agg.attractionCount);
+            // 景点数量
+            item.put("attractionCount", agg.attractionCount);
+            // 覆盖城市数量
+            item.put("cityCount", agg.cityCount);
+            // 平均评分，保留两位小数
+            item.put("avgRating", agg.attractionCount == 0 ? 0 : Math.round(agg.ratingSum / agg.attractionCount * 100) / 100.0);
+            // 订单总数
+            item.put("orderCount", orderCount);
+            // 旅游订单数量
+            item.put("travelOrderCount", agg.travelOrderCount);
+            // 酒店订单数量
+            item.put("hotelOrderCount", agg.hotelOrderCount);
+            // 餐厅订单数量
+            item.put("restaurantOrderCount", agg.restaurantOrderCount);
+            // 加入列表
+            provinces.add(item);
+            // 更新最大景点数量
+            maxValue = Math.max(maxValue, agg.attractionCount);
+            // 更新最大订单数量
+            maxOrderCount = Math.max(maxOrderCount, orderCount);
+        }
+        // 创建结果Map
+        Map<String, Object> data = new LinkedHashMap<>();
+        // 设置成功
+        data.put("success", true);
+        // 省份数据
+        data.put("provinces", provinces);
+        // 省份数量
+        data.put("total", provinces.size());
+        // 最大热力值，供前端visualMap设置上限
+        data.put("maxValue", maxValue);
+        // 最大订单数量
+        data.put("maxOrderCount", maxOrderCount);
+        // 使用try-catch捕获序列化异常
+        try {
+            // 序列化为字节数组
+            byte[] body = objectMapper.writeValueAsBytes(data);
+            // 读取当前发布的数据
+            JsonPayload current = payload;
+            // 内容没有变化时不重新发布
+            if (current != null && Arrays.equals(current.getBody(), body)) {
+                // 直接返回
+                return;
+            }
+            // 计算ETag
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            // 先发布Map结构数据
+            mapData = data;
+            // 再发布预序列化JSON
+            payload = new JsonPayload(body, etag, System.currentTimeMillis());
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录错误日志，继续使用上一次发布的数据
+            logger.error("省份热力统计序列化失败", e);
+        }
+    }
+
+    /**
+     * 获取或创建省份聚合对象
+     * 功能概述：按规范化后的省份名称获取聚合对象，不存在时创建
+     * @param {String} province - 省份名称
+     * @return {ProvinceAggregate} 返回聚合对象，名称为空时返回null
+     */
+    // 获取或创建省份聚合对象方法
+    private ProvinceAggregate aggregate(String province) {
+        // 规范化省份名称
+        String name = normalizeProvince(province);
+        // 名称为空时返回null
+        if (name.isEmpty()) {
+            // 返回null
+            return null;
+        }
+        // 获取或创建聚合对象
+        return aggregates.computeIfAbsent(name, x -> new ProvinceAggregate());
+    }
+
+    /**
+     * 规范化省份名称
+     * 功能概述：去掉"省"、"市"、"自治区"等后缀，使不同表中的写法与ECharts中国地图的名称一致
+     * @param {String} province - 省份名称
+     * @return {String} 返回规范化后的名称，为空时返回空字符串
+     */
+    // 规范化省份名称方法
+    static String normalizeProvince(String province) {
+        // 名称为空时返回空字符串
+        if (province == null) {
+            // 返回空字符串
+            return "";
+        }
+        // 去掉首尾空白
+        String name = province.trim();
+        // 遍历后缀
+        for (String suffix : PROVINCE_SUFFIXES) {
+            // 以该后缀结尾且去掉后仍有内容
+            if (name.length() > suffix.length() && name.endsWith(suffix)) {
+                // 去掉后缀并返回
+                return name.substring(0, name.length() - suffix.length());
+            }
+        }
+        // 返回名称
+        return name;
+    }
+
+    // 将查询结果中的数字转换为long
+    private static long toLong(Object value) {
+        // 为空时返回0，否则取long值
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    // 将查询结果中的数字转换为double
+    private static double toDouble(Object value) {
+        // 为空时返回0，否则取double值
+        return value instanceof Number ? ((Number) value).doubleValue() : 0D;
+    }
+
+    /**
+     * 省份聚合数据
+     * 功能概述：保存单个省份的景点和订单统计值，只在同步方法中修改
+     */
+    // 省份聚合数据类
+    private static final class ProvinceAggregate {
+        // 景点数量
+        private long attractionCount;
+        // 覆盖城市数量
+        private long cityCount;
+        // 评分总和（平均评分 × 景点数量）
+        private double ratingSum;
+        // 旅游订单数量
+        private long travelOrderCount;
+        // 酒店订单数量
+        private long hotelOrderCount;
+        // 餐厅订单数量
+        private long restaurantOrderCount;
+    }
+}
@@ -0,0 +1,834 @@
+/**
+ * 餐厅分面筛选服务实现类
+ * 功能概述：实现RestaurantFacetService接口，餐厅按默认顺序（评分、创建时间倒序）编号为0..n-1，
+ * 每个城市、省份、菜系、人均价格档和评分档各对应一个位图，筛选时同维度取并集、跨维度取交集，
+ * 结果位图按编号顺序遍历即为默认排序，目录为不可变快照，重建时整体替换，查询无需加锁也不访问数据库
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入目录数据变更事件
+import com.icss.xihu.cache.CatalogChangedEvent;
+// 导入读库查询注解
+import com.icss.xihu.config.ReadReplica;
+// 导入餐厅分面筛选配置类
+import com.icss.xihu.config.RestaurantFacetConfig;
+// 导入餐厅Mapper接口
+import com.icss.xihu.mapper.RestaurantMapper;
+// 导入价格区间实体类
+import com.icss.xihu.model.PriceRange;
+// 导入餐厅实体类
+import com.icss.xihu.model.Restaurant;
+// 导入餐厅分面筛选条件实体类
+import com.icss.xihu.model.RestaurantFacetQuery;
+// 导入餐厅分面筛选服务接口
+import com.icss.xihu.service.RestaurantFacetService;
+// 导入价格区间解析工具类
+import com.icss.xihu.util.PriceRangeParser;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的事件发布接口
+import org.springframework.context.ApplicationEventPublisher;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入LocalDateTime类
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Arrays工具类
+import java.util.Arrays;
+// 导入BitSet类，作为按餐厅编号稠密存储的位图
+import java.util.BitSet;
+// 导入Collections工具类
+import java.util.Collections;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Locale类
+import java.util.Locale;
+// 导入Map接口
+import java.util.Map;
+// 导入TreeMap类，使各维度取值按名称排序
+import java.util.TreeMap;
+
+/**
+ * 餐厅分面筛选服务实现类
+ * 功能概述：实现RestaurantFacetService接口，餐厅按默认顺序（评分、创建时间倒序）编号为0..n-1，
+ * 每个城市、省份、菜系、人均价格档和评分档各对应一个位图，筛选时同维度取并集、跨维度取交集，
+ * 结果位图按编号顺序遍历即为默认排序，目录为不可变快照，重建时整体替换，查询无需加锁也不访问数据库
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 目录类查询，不在读写事务中时走读库
+@ReadReplica
+// 餐厅分面筛选服务实现类，实现RestaurantFacetService接口
+public class RestaurantFacetServiceImpl implements RestaurantFacetService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantFacetServiceImpl.class);
+
+    // 维度：菜系
+    private static final int DIM_CATEGORY = 0;
+    // 维度：城市
+    private static final int DIM_CITY = 1;
+    // 维度：省份
+    private static final int DIM_PROVINCE = 2;
+    // 维度：人均价格
+    private static final int DIM_PRICE = 3;
+    // 维度：评分
+    private static final int DIM_RATING = 4;
+    // 维度数量
+    private static final int DIMENSIONS = 5;
+    // 评分分面展示的门槛
+    private static final double[] RATING_THRESHOLDS = {4.5, 4.0, 3.5, 3.0};
+
+    // 自动注入餐厅分面筛选配置
+    @Autowired
+    // 餐厅分面筛选配置对象
+    private RestaurantFacetConfig restaurantFacetConfig;
+
+    // 自动注入餐厅Mapper
+    @Autowired
+    // 餐厅Mapper对象，用于加载餐厅目录
+    private RestaurantMapper restaurantMapper;
+
+    // 自动注入事件发布器
+    @Autowired
+    // 事件发布器对象，目录重建后发布目录数据变更事件
+    private ApplicationEventPublisher eventPublisher;
+
+    // 当前目录快照，为null表示尚未构建
+    private volatile Catalog catalog;
+
+    /**
+     * 筛选餐厅并计算分面计数
+     * 功能概述：先为每个维度求出条件位图，结果为全部条件位图的交集；
+     * 某个维度的分面计数使用除该维度以外的条件交集，再与该维度每个取值的位图求交后计数
+     * @param {RestaurantFacetQuery} query - 筛选条件
+     * @return {Map<String, Object>} 返回筛选结果
+     */
+    // 重写接口中的search方法
+    @Override
+    // 筛选餐厅并计算分面计数方法
+    public Map<String, Object> search(RestaurantFacetQuery query) {
+        // 记录开始时间
+        long start = System.nanoTime();
+        // 读取当前目录，保证同一次查询使用同一份索引
+        Catalog current = getCatalog();
+        // 筛选条件为空时使用空条件
+        RestaurantFacetQuery q = query == null ? new RestaurantFacetQuery() : query;
+        // 各维度条件位图，null表示该维度不过滤
+        BitSet[] filters = buildFilters(current, q);
+        // 关键词位图
+        BitSet keywordBits = keywordBitmap(current, q.getKeyword());
+        // 结果位图
+        BitSet matched = intersect(current, filters, keywordBits, -1);
+        // 结果列表
+        List<Restaurant> restaurants = collect(current, matched, q);
+
+        // 分面计数
+        Map<String, Object> facets = new LinkedHashMap<>();
+        // 菜系分面
+        facets.put("categories", countValues(current.byCategory, intersect(current, filters, keywordBits, DIM_CATEGORY)));
+        // 城市分面
+        facets.put("cities", countValues(current.byCity, intersect(current, filters, keywordBits, DIM_CITY)));
+        // 省份分面
+        facets.put("provinces", countValues(current.byProvince, intersect(current, filters, keywordBits, DIM_PROVINCE)));
+        // 人均价格分面
+        facets.put("priceRanges", countPrice(current, intersect(current, filters, keywordBits, DIM_PRICE)));
+        // 评分分面
+        facets.put("ratings", countRating(current, intersect(current, filters, keywordBits, DIM_RATING)));
+
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 设置返回结果为成功
+        result.put("success", true);
+        // 餐厅列表
+        result.put("restaurants", restaurants);
+        // 满足条件的总数（不受返回数量上限影响）
+        result.put("total", matched.cardinality());
+        // 分面计数
+        result.put("facets", facets);
+        // 查询耗时（微秒）
+        result.put("tookMicros", (System.nanoTime() - start) / 1000L);
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 筛选餐厅
+     * 功能概述：只求结果位图并按排序方式输出，不计算分面计数
+     * @param {RestaurantFacetQuery} query - 筛选条件
+     * @return {List<Restaurant>} 返回餐厅列表
+     */
+    // 重写接口中的filter方法
+    @Override
+    // 筛选餐厅方法
+    public List<Restaurant> filter(RestaurantFacetQuery query) {
+        // 读取当前目录
+        Catalog current = getCatalog();
+        // 筛选条件为空时使用空条件
+        RestaurantFacetQuery q = query == null ? new RestaurantFacetQuery() : query;
+        // 求结果位图
+        BitSet matched = intersect(current, buildFilters(current, q), keywordBitmap(current, q.getKeyword()), -1);
+        // 按排序方式输出
+        return collect(current, matched, q);
+    }
+
+    /**
+     * 获取所有城市
+     * @return {List<String>} 返回城市名称列表（按名称排序）
+     */
+    // 重写接口中的getCities方法
+    @Override
+    // 获取所有城市方法
+    public List<String> getCities() {
+        // 返回城市位图的键
+        return new ArrayList<>(getCatalog().byCity.keySet());
+    }
+
+    /**
+     * 获取所有省份
+     * @return {List<String>} 返回省份名称列表（按名称排序）
+     */
+    // 重写接口中的getProvinces方法
+    @Override
+    // 获取所有省份方法
+    public List<String> getProvinces() {
+        // 返回省份位图的键
+        return new ArrayList<>(getCatalog().byProvince.keySet());
+    }
+
+    /**
+     * 获取餐厅人均价格
+     * 功能概述：从当前目录中按餐厅编号取出构建时已解析好的人均价格，O(1)查找，不访问数据库
+     * @param {Long} restaurantId - 餐厅ID
+     * @return {Integer} 返回人均价格（元），餐厅不在目录中或价格未知时返回null
+     */
+    // 重写接口中的getPerCapitaPrice方法
+    @Override
+    // 获取餐厅人均价格方法
+    public Integer getPerCapitaPrice(Long restaurantId) {
+        // 餐厅ID为空时返回null
+        if (restaurantId == null) {
+            // 返回null
+            return null;
+        }
+        // 读取当前目录
+        Catalog current = getCatalog();
+        // 查找餐厅编号
+        Integer doc = current.docById.get(restaurantId);
+        // 不在目录中或价格未知时返回null
+        if (doc == null || Double.isNaN(current.avgPrice[doc])) {
+            // 返回null
+            return null;
+        }
+        // 返回人均价格
+        return (int) current.avgPrice[doc];
+    }
+
+    /**
+     * 重建餐厅目录
+     * 功能概述：查询所有启用的餐厅（评分、创建时间倒序），构建位图后替换当前快照，
+     * 并发布餐厅目录变更事件，使由餐厅表生成的缓存响应重新生成
+     */
+    // 重写接口中的rebuild方法
+    @Override
+    // 重建餐厅目录方法，同一时间只允许一个线程重建
+    public synchronized void rebuild() {
+        // 记录开始时间
+        long start = System.nanoTime();
+        // 查询所有启用的餐厅
+        List<Restaurant> restaurants = restaurantMapper.findAllRestaurants();
+        // 构建目录
+        Catalog built = new Catalog(restaurants, restaurantFacetConfig.getPriceBuckets(), LocalDateTime.now());
+        // 发布前记录构建耗时（毫秒）
+        built.buildMs = (System.nanoTime() - start) / 1_000_000L;
+        // 整体替换快照
+        catalog = built;
+        // 记录日志
+        logger.info("餐厅筛选目录重建完成：餐厅 {} 家，城市 {} 个，省份 {} 个，菜系 {} 个，耗时 {} ms",
+                built.size, built.byCity.size(), built.byProvince.size(), built.byCategory.size(), built.buildMs);
+        // 发布餐厅目录变更事件
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.RESTAURANTS));
+    }
+
+    /**
+     * 获取索引统计信息
+     * @return {Map<String, Object>} 返回餐厅数量、各维度取值数量和最近一次重建时间
+     */
+    // 重写接口中的getIndexStats方法
+    @Override
+    // 获取索引统计信息方法
+    public Map<String, Object> getIndexStats() {
+        // 读取当前目录（未构建时不触发构建）
+        Catalog current = catalog;
+        // 创建结果Map
+        Map<String, Object> result = new LinkedHashMap<>();
+        // 是否已构建
+        result.put("built", current != null);
+        // 餐厅数量
+        result.put("restaurants", current == null ? 0 : current.size);
+        // 城市数量
+        result.put("cities", current == null ? 0 : current.byCity.size());
+        // 省份数量
+        result.put("provinces", current == null ? 0 : current.byProvince.size());
+        // 菜系数量
+        result.put("categories", current == null ? 0 : current.byCategory.size());
+        // 人均价格已知的餐厅数量
+        result.put("pricedRestaurants", current == null ? 0 : current.priceKnown.cardinality());
+        // 人均价格分桶边界
+        result.put("priceBuckets", restaurantFacetConfig.getPriceBuckets());
+        // 最近一次重建时间
+        result.put("builtAt", current == null ? null : current.builtAt);
+        // 最近一次重建耗时
+        result.put("buildMs", current == null ? 0 : current.buildMs);
+        // 返回结果
+        return result;
+    }
+
+    // 获取当前目录，尚未构建时同步构建一次，避免应用启动后的第一批请求拿到空结果
+    private Catalog getCatalog() {
+        // 读取当前目录
+        Catalog current = catalog;
+        // 已构建时直接返回
+        if (current != null) {
+            // 返回目录
+            return current;
+        }
+        // 加锁，与定时重建互斥
+        synchronized (this) {
+            // 再次检查，其他线程可能已构建完成
+            if (catalog == null) {
+                // 构建目录
+                rebuild();
+            }
+            // 返回目录
+            return catalog;
+        }
+    }
+
+    /**
+     * 求各维度的条件位图
+     * 功能概述：菜系、城市、省份按取值位图求并集；人均价格在有序价格数组上二分查找区间端点；
+     * 评分先并入完全落在区间内的分档位图，再逐个检查门槛所在分档中的餐厅
+     * @param {Catalog} current - 餐厅目录
+     * @param {RestaurantFacetQuery} q - 筛选条件
+     * @return {BitSet[]} 返回各维度的条件位图，null表示该维度不过滤
+     */
+    // 求各维度条件位图方法
+    static BitSet[] buildFilters(Catalog current, RestaurantFacetQuery q) {
+        // 各维度条件位图
+        BitSet[] filters = new BitSet[DIMENSIONS];
+        // 菜系条件
+        filters[DIM_CATEGORY] = union(current.byCategory, q.getCategories(), current.size);
+        // 城市条件
+        filters[DIM_CITY] = union(current.byCity, q.getCities(), current.size);
+        // 省份条件
+        filters[DIM_PROVINCE] = union(current.byProvince, q.getProvinces(), current.size);
+        // 人均价格区间
+        double[] range = PriceRangeParser.parseQuery(q.getPriceRange());
+        // 区间有效时求价格位图
+        if (range != null) {
+            // 价格条件
+            filters[DIM_PRICE] = current.priceBetween(range[0], range[1]);
+        }
+        // 最低评分不为空时求评分位图
+        if (q.getMinRating() != null) {
+            // 评分条件
+            filters[DIM_RATING] = current.ratingAtLeast(q.getMinRating());
+        }
+        // 返回各维度条件位图
+        return filters;
+    }
+
+    // 同一维度的多个取值位图求并集，取值为空时返回null（不过滤）
+    private static BitSet union(Map<String, BitSet> index, List<String> values, int size) {
+        // 没有取值时不过滤
+        if (values == null) {
+            // 返回null
+            return null;
+        }
+        // 并集位图
+        BitSet result = null;
+        // 遍历取值
+        for (String value : values) {
+            // 空白取值跳过（例如下拉框的"全部"选项）
+            if (value == null || value.isBlank()) {
+                // 继续下一个取值
+                continue;
+            }
+            // 首个有效取值时创建空位图
+            if (result == null) {
+                // 创建空位图
+                result = new BitSet(size);
+            }
+            // 查找取值位图
+            BitSet bits = index.get(value.trim());
+            // 存在时并入
+            if (bits != null) {
+                // 求并集
+                result.or(bits);
+            }
+        }
+        // 返回并集位图
+        return result;
+    }
+
+    // 关键词不为空时逐个匹配名称、描述和特色，返回匹配位图，否则返回null
+    private static BitSet keywordBitmap(Catalog current, String keyword) {
+        // 关键词为空时不过滤
+        if (keyword == null || keyword.isBlank()) {
+            // 返回null
+            return null;
+        }
+        // 统一为小写
+        String k = keyword.trim().toLowerCase(Locale.ROOT);
+        // 匹配位图
+        BitSet result = new BitSet(current.size);
+        // 遍历餐厅
+        for (int doc = 0; doc < current.size; doc++) {
+            // 文本包含关键词时置位
+            if (current.searchText[doc].contains(k)) {
+                // 置位
+                result.set(doc);
+            }
+        }
+        // 返回匹配位图
+        return result;
+    }
+
+    /**
+     * 条件位图求交集
+     * 功能概述：从全集开始依次与各维度条件位图和关键词位图求交，skip指定的维度不参与，用于计算该维度的分面
+     * @param {Catalog} current - 餐厅目录
+     * @param {BitSet[]} filters - 各维度条件位图
+     * @param {BitSet} keywordBits - 关键词位图
+     * @param {int} skip - 不参与求交的维度，-1表示全部参与
+     * @return {BitSet} 返回交集位图（新对象）
+     */
+    // 条件位图求交集方法
+    private static BitSet intersect(Catalog current, BitSet[] filters, BitSet keywordBits, int skip) {
+        // 从全集开始
+        BitSet result = (BitSet) current.all.clone();
+        // 遍历维度
+        for (int dim = 0; dim < DIMENSIONS; dim++) {
+            // 跳过指定维度和不过滤的维度
+            if (dim != skip && filters[dim] != null) {
+                // 求交集
+                result.and(filters[dim]);
+            }
+        }
+        // 关键词不为空时求交集
+        if (keywordBits != null) {
+            // 求交集
+            result.and(keywordBits);
+        }
+        // 返回交集位图
+        return result;
+    }
+
+    // 统计每个取值在基础位图中的数量，数量为0的取值不返回
+    private static Map<String, Integer> countValues(Map<String, BitSet> index, BitSet base) {
+        // 计数结果，保持取值的名称顺序
+        Map<String, Integer> result = new LinkedHashMap<>();
+        // 临时位图，避免每个取值都创建新对象
+        BitSet tmp = new BitSet();
+        // 遍历取值
+        for (Map.Entry<String, BitSet> entry : index.entrySet()) {
+            // 清空临时位图
+            tmp.clear();
+            // 复制取值位图
+            tmp.or(entry.getValue());
+            // 与基础位图求交
+            tmp.and(base);
+            // 交集数量
+            int count = tmp.cardinality();
+            // 数量大于0时返回
+            if (count > 0) {
+                // 放入结果
+                result.put(entry.getKey(), count);
+            }
+        }
+        // 返回计数结果
+        return result;
+    }
+
+    // 统计每个人均价格档在基础位图中的数量
+    private static Map<String, Integer> countPrice(Catalog current, BitSet base) {
+        // 计数结果，按价格档顺序
+        Map<String, Integer> result = new LinkedHashMap<>();
+        // 临时位图
+        BitSet tmp = new BitSet();
+        // 遍历价格档
+        for (int i = 0; i < current.priceBuckets.length; i++) {
+            // 清空临时位图
+            tmp.clear();
+            // 复制价格档位图
+            tmp.or(current.priceBuckets[i]);
+            // 与基础位图求交
+            tmp.and(base);
+            // 放入结果，键为可直接回传的区间文本
+            result.put(current.priceLabels[i], tmp.cardinality());
+        }
+        // 返回计数结果
+        return result;
+    }
+
+    // 统计评分不低于各门槛的数量
+    private static Map<String, Integer> countRating(Catalog current, BitSet base) {
+        // 计数结果，按门槛从高到低
+        Map<String, Integer> result = new LinkedHashMap<>();
+        // 遍历门槛
+        for (double threshold : RATING_THRESHOLDS) {
+            // 评分不低于门槛的位图
+            BitSet tmp = current.ratingAtLeast(threshold);
+            // 与基础位图求交
+            tmp.and(base);
+            // 放入结果，键为可直接回传的最低评分
+            result.put(String.valueOf(threshold), tmp.cardinality());
+        }
+        // 返回计数结果
+        return result;
+    }
+
+    /**
+     * 按排序方式输出结果
+     * 功能概述：默认排序直接按编号顺序遍历位图；按价格排序时遍历预先排好的编号数组，只输出位图中置位的餐厅，
+     * 价格未知的餐厅排在最后；输出数量不超过请求数量和配置上限
+     * @param {Catalog} current - 餐厅目录
+     * @param {BitSet} matched - 结果位图
+     * @param {RestaurantFacetQuery} q - 筛选条件
+     * @return {List<Restaurant>} 返回餐厅列表
+     */
+    // 按排序方式输出结果方法
+    private List<Restaurant> collect(Catalog current, BitSet matched, RestaurantFacetQuery q) {
+        // 配置的数量上限
+        int max = restaurantFacetConfig.getMaxLimit();
+        // 本次输出数量
+        int limit = q.getLimit() == null || q.getLimit() <= 0 ? max : Math.min(q.getLimit(), max);
+        // 结果列表
+        List<Restaurant> result = new ArrayList<>(Math.min(limit, matched.cardinality()));
+        // 排序方式
+        String sort = q.getSort();
+        // 按价格从低到高
+        if (RestaurantFacetQuery.SORT_PRICE_ASC.equals(sort) || RestaurantFacetQuery.SORT_PRICE_DESC.equals(sort)) {
+            // 使用的编号数组
+            int[] order = RestaurantFacetQuery.SORT_PRICE_ASC.equals(sort) ? current.byPriceAsc : current.byPriceDesc;
+            // 遍历编号数组
+            for (int i = 0; i < order.length && result.size() < limit; i++) {
+                // 位图中置位时输出
+                if (matched.get(order[i])) {
+                    // 加入结果
+                    result.add(current.docs[order[i]]);
+                }
+            }
+            // 返回结果
+            return result;
+        }
+        // 默认排序：按编号顺序遍历位图
+        for (int doc = matched.nextSetBit(0); doc >= 0 && result.size() < limit; doc = matched.nextSetBit(doc + 1)) {
+            // 加入结果
+            result.add(current.docs[doc]);
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 餐厅目录快照
+     * 功能概述：保存一次重建得到的餐厅数组和全部位图，餐厅编号即数组下标，创建后不再修改
+     */
+    // 餐厅目录快照类
+    static final class Catalog {
+        // 餐厅数量
+        private final int size;
+        // 餐厅数组（默认排序）
+        private final Restaurant[] docs;
+        // 小写的名称、描述和特色，用于关键词匹配
+        private final String[] searchText;
+        // 人均价格，未知时为NaN
+        private final double[] avgPrice;
+        // 餐厅ID到编号的映射
+        private final Map<Long, Integer> docById;
+        // 价格已知的餐厅数量，即byPriceAsc中价格已知部分的长度
+        private final int pricedCount;
+        // 按从低到高排列的人均价格，与byPriceAsc的前pricedCount项一一对应，用于二分查找价格区间
+        private final double[] sortedPrices;
+        // 评分，未知时为NaN
+        private final double[] rating;
+        // 全集位图
+        private final BitSet all;
+        // 菜系位图
+        private final Map<String, BitSet> byCategory = new TreeMap<>();
+        // 城市位图
+        private final Map<String, BitSet> byCity = new TreeMap<>();
+        // 省份位图
+        private final Map<String, BitSet> byProvince = new TreeMap<>();
+        // 人均价格分档边界
+        private final double[] priceBounds;
+        // 人均价格分档位图，第i档为[priceBounds[i-1], priceBounds[i])
+        private final BitSet[] priceBuckets;
+        // 人均价格分档文本
+        private final String[] priceLabels;
+        // 人均价格已知的位图
+        private final BitSet priceKnown;
+        // 评分分档位图，第i档为[i/10, (i+1)/10)
+        private final BitSet[] ratingBuckets = new BitSet[51];
+        // 按人均价格从低到高排列的编号（价格未知的在最后）
+        private final int[] byPriceAsc;
+        // 按人均价格从高到低排列的编号（价格未知的在最后）
+        private final int[] byPriceDesc;
+        // 构建时间
+        private final LocalDateTime builtAt;
+        // 构建耗时（毫秒），只在发布前赋值一次
+        private long buildMs;
+
+        // 构造方法，restaurants需已按默认顺序排列
+        Catalog(List<Restaurant> restaurants, int[] bounds, LocalDateTime builtAt) {
+            // 餐厅列表为空时使用空列表
+            List<Restaurant> list = restaurants == null ? Collections.emptyList() : restaurants;
+            // 餐厅数量
+            this.size = list.size();
+            // 餐厅数组
+            this.docs = list.toArray(new Restaurant[0]);
+            // 关键词文本
+            this.searchText = new String[size];
+            // 人均价格
+            this.avgPrice = new double[size];
+            // 餐厅ID到编号的映射
+            this.docById = new HashMap<>(size * 2);
+            // 评分
+            this.rating = new double[size];
+            // 全集位图
+            this.all = new BitSet(size);
+            // 全部置位
+            this.all.set(0, size);
+            // 分档边界排序去重
+            int[] sorted = bounds == null ? new int[0] : Arrays.stream(bounds).filter(b -> b > 0).sorted().distinct().toArray();
+            // 分档边界，末尾追加无穷大
+            this.priceBounds = new double[sorted.length + 1];
+            // 分档文本
+            this.priceLabels = new String[sorted.length + 1];
+            // 遍历边界
+            for (int i = 0; i <= sorted.length; i++) {
+                // 本档上限
+                this.priceBounds[i] = i < sorted.length ? sorted[i] : Double.POSITIVE_INFINITY;
+                // 本档下限
+                int lower = i == 0 ? 0 : sorted[i - 1];
+                // 本档文本
+                this.priceLabels[i] = i < sorted.length ? lower + "-" + sorted[i] : lower + "+";
+            }
+            // 价格档位图
+            this.priceBuckets = new BitSet[priceBounds.length];
+            // 初始化价格档位图
+            for (int i = 0; i < priceBuckets.length; i++) {
+                // 创建空位图
+                priceBuckets[i] = new BitSet(size);
+            }
+            // 初始化评分档位图
+            for (int i = 0; i < ratingBuckets.length; i++) {
+                // 创建空位图
+                ratingBuckets[i] = new BitSet(size);
+            }
+            // 价格已知位图
+            this.priceKnown = new BitSet(size);
+            // 遍历餐厅
+            for (int doc = 0; doc < size; doc++) {
+                // 当前餐厅
+                Restaurant r = docs[doc];
+                // 餐厅ID不为空时记录编号
+                if (r.getId() != null) {
+                    // 记录编号
+                    docById.put(r.getId(), doc);
+                }
+                // 关键词文本
+                searchText[doc] = (nvl(r.getName()) + "\n" + nvl(r.getDescription()) + "\n" + nvl(r.getFeatures())).toLowerCase(Locale.ROOT);
+                // 菜系位图
+                index(byCategory, r.getCategory(), doc);
+                // 城市位图
+                index(byCity, r.getCity(), doc);
+                // 省份位图
+                index(byProvince, r.getProvince(), doc);
+                // 人均价格，优先使用已回填的price_min、price_max，未回填时解析文本
+                avgPrice[doc] = perCapita(PriceRangeParser.of(r.getPriceMin(), r.getPriceMax(), r.getPriceRange()));
+                // 价格已知时放入价格档
+                if (!Double.isNaN(avgPrice[doc])) {
+                    // 价格已知
+                    priceKnown.set(doc);
+                    // 价格档位图
+                    priceBuckets[bucketOf(avgPrice[doc])].set(doc);
+                }
+                // 评分
+                rating[doc] = r.getRating() == null ? Double.NaN : r.getRating().doubleValue();
+                // 评分已知时放入评分档
+                if (!Double.isNaN(rating[doc])) {
+                    // 评分档位图
+                    ratingBuckets[ratingBucketOf(rating[doc])].set(doc);
+                }
+            }
+            // 按价格从低到高排列的编号
+            this.byPriceAsc = sortByPrice(true);
+            // 按价格从高到低排列的编号
+            this.byPriceDesc = sortByPrice(false);
+            // 价格已知的餐厅数量
+            this.pricedCount = priceKnown.cardinality();
+            // 有序价格数组
+            this.sortedPrices = new double[pricedCount];
+            // 按从低到高的编号顺序填充价格
+            for (int i = 0; i < pricedCount; i++) {
+                // 第i低的价格
+                sortedPrices[i] = avgPrice[byPriceAsc[i]];
+            }
+            // 构建时间
+            this.builtAt = builtAt;
+        }
+
+        // 求人均价格在[lo, hi)区间内的位图：在有序价格数组上二分查找两端，区间内的编号依次置位
+        BitSet priceBetween(double lo, double hi) {
+            // 结果位图
+            BitSet result = new BitSet(size);
+            // 第一个不低于下限的位置
+            int from = lowerBound(lo);
+            // 第一个不低于上限的位置
+            int to = lowerBound(hi);
+            // 遍历区间内的编号
+            for (int i = from; i < to; i++) {
+                // 置位
+                result.set(byPriceAsc[i]);
+            }
+            // 返回结果位图
+            return result;
+        }
+
+        // 有序价格数组中第一个不低于value的位置
+        private int lowerBound(double value) {
+            // 查找下界
+            int low = 0;
+            // 查找上界
+            int high = pricedCount;
+            // 二分查找
+            while (low < high) {
+                // 中间位置
+                int mid = (low + high) >>> 1;
+                // 中间价格低于value时在右半部分继续
+                if (sortedPrices[mid] < value) {
+                    // 移动下界
+                    low = mid + 1;
+                } else {
+                    // 移动上界
+                    high = mid;
+                }
+            }
+            // 返回位置
+            return low;
+        }
+
+        // 求评分不低于minRating的位图
+        BitSet ratingAtLeast(double minRating) {
+            // 结果位图
+            BitSet result = new BitSet(size);
+            // 门槛所在的档
+            int first = ratingBucketOf(minRating);
+            // 门槛以上的档整体并入
+            for (int i = first + 1; i < ratingBuckets.length; i++) {
+                // 求并集
+                result.or(ratingBuckets[i]);
+            }
+            // 门槛所在的档逐个检查
+            BitSet bucket = ratingBuckets[first];
+            // 遍历本档餐厅
+            for (int doc = bucket.nextSetBit(0); doc >= 0; doc = bucket.nextSetBit(doc + 1)) {
+                // 评分不低于门槛时置位
+                if (rating[doc] >= minRating - 1e-9) {
+                    // 置位
+                    result.set(doc);
+                }
+            }
+            // 返回结果位图
+            return result;
+        }
+
+        // 人均价格所在的档
+        private int bucketOf(double price) {
+            // 遍历分档上限
+            for (int i = 0; i < priceBounds.length; i++) {
+                // 小于上限时属于该档
+                if (price < priceBounds[i]) {
+                    // 返回档号
+                    return i;
+                }
+            }
+            // 返回最后一档
+            return priceBounds.length - 1;
+        }
+
+        // 评分所在的档（按0.1分档，限制在0到50之间）
+        private static int ratingBucketOf(double value) {
+            // 计算档号
+            int bucket = (int) Math.floor(value * 10 + 1e-9);
+            // 限制范围
+            return Math.max(0, Math.min(50, bucket));
+        }
+
+        // 按人均价格排列编号，价格未知的排在最后，价格相同时保持默认顺序
+        private int[] sortByPrice(boolean ascending) {
+            // 装箱后排序
+            Integer[] boxed = new Integer[size];
+            // 初始化编号
+            for (int i = 0; i < size; i++) {
+                // 编号
+                boxed[i] = i;
+            }
+            // 稳定排序
+            Arrays.sort(boxed, (a, b) -> {
+                // 价格a是否未知
+                boolean na = Double.isNaN(avgPrice[a]);
+                // 价格b是否未知
+                boolean nb = Double.isNaN(avgPrice[b]);
+                // 未知的排在最后
+                if (na || nb) {
+                    // 比较是否未知
+                    return Boolean.compare(na, nb);
+                }
+                // 按价格比较
+                return ascending ? Double.compare(avgPrice[a], avgPrice[b]) : Double.compare(avgPrice[b], avgPrice[a]);
+            });
+            // 拆箱
+            return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+        }
+
+        // 把餐厅编号放入取值对应的位图
+        private void index(Map<String, BitSet> map, String value, int doc) {
+            // 取值为空时不建立索引
+            if (value == null || value.isBlank()) {
+                // 直接返回
+                return;
+            }
+            // 放入位图
+            map.computeIfAbsent(value.trim(), x -> new BitSet(size)).set(doc);
+        }
+
+        // 空字符串替换null
+        private static String nvl(String value) {
+            // 为null时返回空字符串
+            return value == null ? "" : value;
+        }
+
+        // 价格区间的人均价格，无法得到时返回NaN
+        private static double perCapita(PriceRange range) {
+            // 人均价格
+            Integer price = range == null ? null : range.getPerCapita();
+            // 返回人均价格
+            return price == null ? Double.NaN : price;
+        }
+    }
+}
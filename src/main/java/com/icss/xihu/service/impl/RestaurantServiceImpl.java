@@ -5,8 +5,14 @@
 // 定义包路径，标识该类属于com.icss.xihu.service.impl包
 package com.icss.xihu.service.impl;
 
+// 导入读库查询注解
+import com.icss.xihu.config.ReadReplica;
+// 导入请求合并注解
+import com.icss.xihu.config.SingleFlight;
 // 导入餐厅Mapper接口
 import com.icss.xihu.mapper.RestaurantMapper;
+// 导入价格区间实体类
+import com.icss.xihu.model.PriceRange;
 // 导入餐厅实体类
 import com.icss.xihu.model.Restaurant;
 // 导入餐厅订单实体类
@@ -15,10 +21,18 @@ import com.icss.xihu.model.RestaurantOrder;
 import com.icss.xihu.model.RestaurantReview;
 // 导入餐厅菜单实体类
 import com.icss.xihu.model.RestaurantMenu;
+// 导入餐厅分面筛选条件实体类
+import com.icss.xihu.model.RestaurantFacetQuery;
+// 导入餐厅分面筛选服务接口
+import com.icss.xihu.service.RestaurantFacetService;
 // 导入餐厅服务接口
 import com.icss.xihu.service.RestaurantService;
+// 导入价格区间解析工具类
+import com.icss.xihu.util.PriceRangeParser;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring缓存注解
+import org.springframework.cache.annotation.Cacheable;
 // 导入Spring的服务注解，标识该类为服务层组件
 import org.springframework.stereotype.Service;
 
@@ -28,6 +42,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 // 导入DateTimeFormatter类，用于格式化日期和时间
 import java.time.format.DateTimeFormatter;
+// 导入Collections工具类
+import java.util.Collections;
 // 导入List集合接口
 import java.util.List;
 // 导入Map接口
@@ -49,6 +65,11 @@ public class RestaurantServiceImpl implements RestaurantService {
     // 餐厅Mapper对象，用于调用数据库操作方法
     private RestaurantMapper restaurantMapper;
 
+    // 自动注入餐厅分面筛选服务，Spring容器会自动查找并注入RestaurantFacetService的实现类
+    @Autowired
+    // 餐厅分面筛选服务对象，用于在内存位图上按城市、省份、价格、评分筛选餐厅
+    private RestaurantFacetService restaurantFacetService;
+
     /**
      * 查询所有餐厅
      * 功能概述：调用Mapper层方法，查询所有状态为启用的餐厅信息
@@ -56,6 +77,12 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的findAllRestaurants方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（restaurants）
+    @Cacheable(cacheNames = "restaurants", key = "'all'")
     // 查询所有餐厅方法，返回所有餐厅的列表
     public List<Restaurant> findAllRestaurants() {
         // 调用Mapper层的findAllRestaurants方法，查询所有餐厅信息并返回
@@ -70,6 +97,12 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantById方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（restaurants）
+    @Cacheable(cacheNames = "restaurants", key = "'id:' + #p0")
     // 根据ID获取餐厅方法，接收餐厅编号参数，返回餐厅对象
     public Restaurant getRestaurantById(Long id) {
         // 调用Mapper层的findRestaurantById方法，根据餐厅编号查询餐厅信息并返回
@@ -84,6 +117,10 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantsByCategory方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据菜系查询餐厅方法，接收菜系类型参数，返回该菜系下的所有餐厅列表
     public List<Restaurant> getRestaurantsByCategory(String category) {
         // 调用Mapper层的searchRestaurants方法，传入null作为关键词，传入category作为菜系类型，查询餐厅列表并返回
@@ -98,6 +135,10 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的searchRestaurants方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 搜索餐厅方法，接收搜索关键词参数，返回匹配的餐厅列表
     public List<Restaurant> searchRestaurants(String keyword) {
         // 调用Mapper层的searchRestaurants方法，传入keyword作为关键词，传入null作为菜系类型，查询餐厅列表并返回
@@ -106,58 +147,74 @@ public class RestaurantServiceImpl implements RestaurantService {
 
     /**
      * 根据城市查询餐厅
-     * 功能概述：调用Mapper层方法，根据城市名称查询该城市下的所有餐厅信息（当前实现为临时实现）
+     * 功能概述：调用餐厅分面筛选服务，在内存位图上查询该城市下的所有餐厅信息
      * @param {String} city - 城市名称
      * @return {List<Restaurant>} 返回该城市下的所有餐厅列表
      */
     // 重写接口中的getRestaurantsByCity方法
     @Override
-    // 根据城市查询餐厅方法，接收城市名称参数，返回该城市下的所有餐厅列表（当前实现为临时实现）
+    // 根据城市查询餐厅方法，接收城市名称参数，返回该城市下的所有餐厅列表
     public List<Restaurant> getRestaurantsByCity(String city) {
-        // 调用Mapper层的searchRestaurants方法，传入null作为关键词和菜系类型，查询餐厅列表并返回（临时实现）
-        return restaurantMapper.searchRestaurants(null, null);
+        // 创建筛选条件
+        RestaurantFacetQuery query = new RestaurantFacetQuery();
+        // 设置城市条件
+        query.setCities(Collections.singletonList(city));
+        // 调用餐厅分面筛选服务的filter方法，按城市筛选餐厅并返回
+        return restaurantFacetService.filter(query);
     }
 
     /**
      * 根据省份查询餐厅
-     * 功能概述：调用Mapper层方法，根据省份名称查询该省份下的所有餐厅信息（当前实现为临时实现）
+     * 功能概述：调用餐厅分面筛选服务，在内存位图上查询该省份下的所有餐厅信息
      * @param {String} province - 省份名称
      * @return {List<Restaurant>} 返回该省份下的所有餐厅列表
      */
     // 重写接口中的getRestaurantsByProvince方法
     @Override
-    // 根据省份查询餐厅方法，接收省份名称参数，返回该省份下的所有餐厅列表（当前实现为临时实现）
+    // 根据省份查询餐厅方法，接收省份名称参数，返回该省份下的所有餐厅列表
     public List<Restaurant> getRestaurantsByProvince(String province) {
-        // 调用Mapper层的searchRestaurants方法，传入null作为关键词和菜系类型，查询餐厅列表并返回（临时实现）
-        return restaurantMapper.searchRestaurants(null, null);
+        // 创建筛选条件
+        RestaurantFacetQuery query = new RestaurantFacetQuery();
+        // 设置省份条件
+        query.setProvinces(Collections.singletonList(province));
+        // 调用餐厅分面筛选服务的filter方法，按省份筛选餐厅并返回
+        return restaurantFacetService.filter(query);
     }
 
     /**
      * 根据价格范围查询餐厅
-     * 功能概述：调用Mapper层方法，根据价格范围查询匹配的餐厅信息（当前实现为临时实现）
-     * @param {String} priceRange - 价格范围
+     * 功能概述：调用餐厅分面筛选服务，查询人均价格落在区间内的餐厅信息
+     * @param {String} priceRange - 价格范围，如"50-100"（含下限不含上限）或"500+"
      * @return {List<Restaurant>} 返回匹配的餐厅列表
      */
     // 重写接口中的getRestaurantsByPriceRange方法
     @Override
-    // 根据价格范围查询餐厅方法，接收价格范围参数，返回匹配的餐厅列表（当前实现为临时实现）
+    // 根据价格范围查询餐厅方法，接收价格范围参数，返回匹配的餐厅列表
     public List<Restaurant> getRestaurantsByPriceRange(String priceRange) {
-        // 调用Mapper层的searchRestaurants方法，传入null作为关键词和菜系类型，查询餐厅列表并返回（临时实现）
-        return restaurantMapper.searchRestaurants(null, null);
+        // 创建筛选条件
+        RestaurantFacetQuery query = new RestaurantFacetQuery();
+        // 设置价格范围条件
+        query.setPriceRange(priceRange);
+        // 调用餐厅分面筛选服务的filter方法，按价格范围筛选餐厅并返回
+        return restaurantFacetService.filter(query);
     }
 
     /**
      * 根据评分查询餐厅
-     * 功能概述：调用Mapper层方法，根据最低评分查询评分大于等于该值的所有餐厅信息（当前实现为临时实现）
+     * 功能概述：调用餐厅分面筛选服务，查询评分大于等于该值的所有餐厅信息
      * @param {Double} minRating - 最低评分
      * @return {List<Restaurant>} 返回匹配的餐厅列表
      */
     // 重写接口中的getRestaurantsByRating方法
     @Override
-    // 根据评分查询餐厅方法，接收最低评分参数，返回匹配的餐厅列表（当前实现为临时实现）
+    // 根据评分查询餐厅方法，接收最低评分参数，返回匹配的餐厅列表
     public List<Restaurant> getRestaurantsByRating(Double minRating) {
-        // 调用Mapper层的searchRestaurants方法，传入null作为关键词和菜系类型，查询餐厅列表并返回（临时实现）
-        return restaurantMapper.searchRestaurants(null, null);
+        // 创建筛选条件
+        RestaurantFacetQuery query = new RestaurantFacetQuery();
+        // 设置最低评分条件
+        query.setMinRating(minRating);
+        // 调用餐厅分面筛选服务的filter方法，按最低评分筛选餐厅并返回
+        return restaurantFacetService.filter(query);
     }
 
     /**
@@ -167,6 +224,12 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getAllCategories方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 结果写入两级缓存（restaurants）
+    @Cacheable(cacheNames = "restaurants", key = "'categories'")
     // 获取所有菜系类型方法，返回所有菜系类型名称的列表
     public List<String> getAllCategories() {
         // 调用Mapper层的findAllCuisineTypes方法，查询所有菜系类型名称并返回
@@ -175,34 +238,28 @@ public class RestaurantServiceImpl implements RestaurantService {
 
     /**
      * 获取所有城市
-     * 功能概述：调用Mapper层方法，查询所有餐厅所在的不重复的城市名称
+     * 功能概述：从餐厅分面筛选服务的城市位图中获取所有不重复的城市名称，不再整表查询
      * @return {List<String>} 返回所有城市名称的列表
      */
     // 重写接口中的getAllCities方法
     @Override
     // 获取所有城市方法，返回所有城市名称的列表
     public List<String> getAllCities() {
-        // 调用Mapper层的searchRestaurants方法，查询所有餐厅信息，使用Stream API提取城市名称，去重后收集为列表并返回
-        return restaurantMapper.searchRestaurants(null, null).stream()
-                .map(Restaurant::getCity)  // 提取餐厅的城市名称
-                .distinct()                 // 去重
-                .collect(java.util.stream.Collectors.toList());  // 收集为列表
+        // 调用餐厅分面筛选服务的getCities方法，获取按名称排序的城市列表并返回
+        return restaurantFacetService.getCities();
     }
 
     /**
      * 获取所有省份
-     * 功能概述：调用Mapper层方法，查询所有餐厅所在的不重复的省份名称
+     * 功能概述：从餐厅分面筛选服务的省份位图中获取所有不重复的省份名称，不再整表查询
      * @return {List<String>} 返回所有省份名称的列表
      */
     // 重写接口中的getAllProvinces方法
     @Override
     // 获取所有省份方法，返回所有省份名称的列表
     public List<String> getAllProvinces() {
-        // 调用Mapper层的searchRestaurants方法，查询所有餐厅信息，使用Stream API提取省份名称，去重后收集为列表并返回
-        return restaurantMapper.searchRestaurants(null, null).stream()
-                .map(Restaurant::getProvince)  // 提取餐厅的省份名称
-                .distinct()                     // 去重
-                .collect(java.util.stream.Collectors.toList());  // 收集为列表
+        // 调用餐厅分面筛选服务的getProvinces方法，获取按名称排序的省份列表并返回
+        return restaurantFacetService.getProvinces();
     }
 
     /**
@@ -212,6 +269,10 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getCategoryStatistics方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取菜系统计方法，返回菜系统计结果列表
     public List<Map<String, Object>> getCategoryStatistics() {
         // 调用Mapper层的getCuisineCategoryCounts方法，统计各菜系类型的餐厅数量并返回
@@ -412,6 +473,8 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantReviews方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取餐厅评价列表方法，接收餐厅编号参数，返回该餐厅的所有评价列表
     public List<RestaurantReview> getRestaurantReviews(Long restaurantId) {
         // 调用Mapper层的findReviewsByRestaurantId方法，根据餐厅编号查询该餐厅的所有评价信息并返回
@@ -428,6 +491,8 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantReviewsWithPagination方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 分页获取餐厅评价列表方法，接收餐厅编号、页码和每页数量参数，返回该餐厅的评价列表
     public List<RestaurantReview> getRestaurantReviewsWithPagination(Long restaurantId, int page, int size) {
         // 计算偏移量（跳过的记录数）= (页码 - 1) × 每页数量
@@ -444,6 +509,8 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantRatingStats方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取餐厅评分统计方法，接收餐厅编号参数，返回评分统计结果
     public Map<String, Object> getRestaurantRatingStats(Long restaurantId) {
         // 创建结果Map对象，用于存储评分统计结果
@@ -468,6 +535,8 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantReviewCount方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取餐厅评价数量方法，接收餐厅编号参数，返回评价数量
     public int getRestaurantReviewCount(Long restaurantId) {
         // 调用Mapper层的getReviewCountByRestaurantId方法，根据餐厅编号统计该餐厅的评价数量并返回
@@ -494,7 +563,8 @@ public class RestaurantServiceImpl implements RestaurantService {
 
     /**
      * 计算预估金额
-     * 功能概述：根据餐厅编号和人数计算预估消费金额，解析餐厅的价格范围，计算人均价格，乘以人数得到总金额
+     * 功能概述：根据餐厅编号和人数计算预估消费金额，人均价格取自餐厅筛选目录中构建时已解析好的价格，
+     * 目录中没有该餐厅时才查询数据库并解析价格区间，人均价格未知时按默认人均100元计算
      * @param {Long} restaurantId - 餐厅编号
      * @param {Integer} peopleCount - 人数
      * @return {BigDecimal} 返回预估金额（元）
@@ -503,55 +573,27 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Override
     // 计算预估金额方法，接收餐厅编号和人数参数，返回预估金额
     public BigDecimal calculateEstimatedAmount(Long restaurantId, Integer peopleCount) {
-        // 获取餐厅信息
-        // 调用Mapper层的findRestaurantById方法，根据餐厅编号查询餐厅信息
-        Restaurant restaurant = restaurantMapper.findRestaurantById(restaurantId);
-        // 如果餐厅不存在，返回0
-        if (restaurant == null) {
-            return BigDecimal.ZERO;
-        }
-        
-        // 解析价格范围，计算人均价格
-        // 获取餐厅的价格范围字符串
-        String priceRange = restaurant.getPriceRange();
-        // 如果价格范围为空或空字符串，返回默认人均100元乘以人数
-        if (priceRange == null || priceRange.isEmpty()) {
-            return BigDecimal.valueOf(100); // 默认人均100元
-        }
-        
-        // 使用try-catch块捕获解析异常
-        try {
-            // 解析价格范围，如 "100-150元/人"
-            // 使用"-"分割价格范围字符串
-            String[] parts = priceRange.split("-");
-            // 如果分割后的数组长度大于等于2，说明有最低价和最高价
-            if (parts.length >= 2) {
-                // 提取最低价字符串，去除所有非数字字符
-                String minPriceStr = parts[0].replaceAll("[^0-9]", "");
-                // 提取最高价字符串，去除所有非数字字符
-                String maxPriceStr = parts[1].replaceAll("[^0-9]", "");
-                
-                // 将最低价字符串转换为整数
-                int minPrice = Integer.parseInt(minPriceStr);
-                // 将最高价字符串转换为整数
-                int maxPrice = Integer.parseInt(maxPriceStr);
-                // 计算平均价格 = (最低价 + 最高价) / 2
-                int avgPrice = (minPrice + maxPrice) / 2;
-                
-                // 返回平均价格乘以人数的总金额
-                return BigDecimal.valueOf(avgPrice * peopleCount);
-            }
-        } catch (Exception e) {
-            // 解析失败，使用默认价格
-        }
-        
-        // 如果 peopleCount 为 null，使用默认值 1
         // 如果人数为空或小于等于0，设置为默认值1人
-        if (peopleCount == null || peopleCount <= 0) {
-            peopleCount = 1;
+        int people = peopleCount == null || peopleCount <= 0 ? 1 : peopleCount;
+        // 从餐厅筛选目录中取人均价格，O(1)查找
+        Integer perCapita = restaurantFacetService.getPerCapitaPrice(restaurantId);
+        // 目录中没有该餐厅（例如刚新增、目录尚未重建）时查询数据库
+        if (perCapita == null) {
+            // 调用Mapper层的findRestaurantById方法，根据餐厅编号查询餐厅信息
+            Restaurant restaurant = restaurantMapper.findRestaurantById(restaurantId);
+            // 如果餐厅不存在，返回0
+            if (restaurant == null) {
+                return BigDecimal.ZERO;
+            }
+            // 优先使用price_min、price_max字段，未回填时解析价格范围文本
+            PriceRange range = PriceRangeParser.of(restaurant.getPriceMin(), restaurant.getPriceMax(), restaurant.getPriceRange());
+            // 人均价格
+            perCapita = range == null ? null : range.getPerCapita();
         }
-        // 返回默认人均100元乘以人数
-        return BigDecimal.valueOf(100 * peopleCount);
+        // 人均价格未知时使用默认人均100元
+        int price = perCapita == null ? 100 : perCapita;
+        // 返回人均价格乘以人数的总金额
+        return BigDecimal.valueOf((long) price * people);
     }
 
     /**
@@ -644,6 +686,10 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantMenu方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取餐厅菜单方法，接收餐厅编号参数，返回该餐厅的所有菜单列表
     public List<RestaurantMenu> getRestaurantMenu(Long restaurantId) {
         // 调用Mapper层的findMenuByRestaurantId方法，根据餐厅编号查询该餐厅的所有菜单信息并返回
@@ -659,6 +705,10 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantMenuByCategory方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据菜系获取餐厅菜单方法，接收餐厅编号和菜系类型参数，返回该餐厅指定菜系下的所有菜单列表
     public List<RestaurantMenu> getRestaurantMenuByCategory(Long restaurantId, String category) {
         // 调用Mapper层的findMenuByRestaurantIdAndCategory方法，根据餐厅编号和菜系类型查询该餐厅指定菜系下的所有菜单信息并返回
@@ -673,6 +723,10 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantMenuCategories方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取餐厅菜单菜系类型方法，接收餐厅编号参数，返回该餐厅菜单的所有菜系类型名称列表
     public List<String> getRestaurantMenuCategories(Long restaurantId) {
         // 调用Mapper层的findMenuCategoriesByRestaurantId方法，根据餐厅编号查询该餐厅菜单的所有菜系类型名称并返回
@@ -687,6 +741,10 @@ public class RestaurantServiceImpl implements RestaurantService {
      */
     // 重写接口中的getRestaurantSignatureMenu方法
     @Override
+    // 目录类查询，不在读写事务中时走读库
+    @ReadReplica
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取餐厅招牌菜方法，接收餐厅编号参数，返回该餐厅的所有招牌菜列表
     public List<RestaurantMenu> getRestaurantSignatureMenu(Long restaurantId) {
         // 调用Mapper层的findSignatureMenuByRestaurantId方法，根据餐厅编号查询该餐厅的所有招牌菜信息并返回
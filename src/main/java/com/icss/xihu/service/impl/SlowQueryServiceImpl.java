@@ -0,0 +1,432 @@
+/**
+ * 慢查询服务实现类
+ * 功能概述：实现SlowQueryService接口，使用定长环形缓冲区保存最近的慢查询，按语句ID保留最慢的一次记录，
+ * 并在单独的后台线程中使用相同的绑定参数执行EXPLAIN FORMAT=JSON采集执行计划，不阻塞业务请求
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入慢查询检测配置类
+import com.icss.xihu.config.SlowQueryConfig;
+// 导入慢查询记录实体类
+import com.icss.xihu.model.SlowQueryRecord;
+// 导入慢查询服务接口
+import com.icss.xihu.service.SlowQueryService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂类
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的JdbcTemplate类，用于执行EXPLAIN语句（不经过MyBatis，避免被慢查询拦截器重复拦截）
+import org.springframework.jdbc.core.JdbcTemplate;
+// 导入Spring的服务注解
+import org.springframework.stereotype.Service;
+
+// 导入Bean销毁前回调注解
+import jakarta.annotation.PreDestroy;
+
+// 导入LocalDateTime类，用于记录发生时间
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Comparator接口，用于排序
+import java.util.Comparator;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Locale类，用于SQL命令类型的大小写转换
+import java.util.Locale;
+// 导入Map接口
+import java.util.Map;
+// 导入ConcurrentHashMap类，用于线程安全地记录执行计划采集时间
+import java.util.concurrent.ConcurrentHashMap;
+// 导入LinkedBlockingQueue类，作为有界任务队列
+import java.util.concurrent.LinkedBlockingQueue;
+// 导入RejectedExecutionException类，任务队列满时抛出
+import java.util.concurrent.RejectedExecutionException;
+// 导入ThreadPoolExecutor类，用于执行异步EXPLAIN任务
+import java.util.concurrent.ThreadPoolExecutor;
+// 导入TimeUnit枚举
+import java.util.concurrent.TimeUnit;
+// 导入AtomicLong类，用于统计计数
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 慢查询服务实现类
+ * 功能概述：维护慢查询环形缓冲区和最慢语句排行，异步采集执行计划
+ */
+// 使用Spring的服务注解，标识该类为服务层组件
+@Service
+// 慢查询服务实现类，实现SlowQueryService接口
+public class SlowQueryServiceImpl implements SlowQueryService {
+
+    // 日志记录器
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryServiceImpl.class);
+
+    // 支持采集执行计划的SQL命令类型（MySQL的EXPLAIN不会真正执行这些语句）
+    private static final List<String> EXPLAINABLE_COMMANDS = List.of("SELECT", "UPDATE", "DELETE");
+
+    // 慢查询检测配置
+    private final SlowQueryConfig slowQueryConfig;
+    // JdbcTemplate对象，用于执行EXPLAIN语句
+    private final JdbcTemplate jdbcTemplate;
+    // 执行EXPLAIN的后台线程池（单线程、有界队列）
+    private final ThreadPoolExecutor explainExecutor;
+
+    // 最近慢查询环形缓冲区
+    private final SlowQueryRecord[] ring;
+    // 环形缓冲区下一个写入位置
+    private int ringNext = 0;
+    // 环形缓冲区当前已保存的记录数
+    private int ringSize = 0;
+    // 按语句ID保存的最慢记录
+    private final Map<String, SlowQueryRecord> worstByStatement = new HashMap<>();
+    // 每个语句ID最近一次提交执行计划采集的时间（毫秒时间戳）
+    private final Map<String, Long> lastExplainTime = new ConcurrentHashMap<>();
+
+    // 累计慢查询次数
+    private final AtomicLong totalSlowCount = new AtomicLong();
+    // 累计成功采集执行计划次数
+    private final AtomicLong explainCount = new AtomicLong();
+    // 累计采集执行计划失败次数
+    private final AtomicLong explainFailedCount = new AtomicLong();
+
+    /**
+     * 构造方法
+     * 功能概述：注入配置和JdbcTemplate，初始化环形缓冲区和执行计划采集线程池
+     * @param {SlowQueryConfig} slowQueryConfig - 慢查询检测配置
+     * @param {JdbcTemplate} jdbcTemplate - JdbcTemplate对象
+     */
+    // 使用构造方法注入依赖
+    @Autowired
+    // 构造方法，接收配置和JdbcTemplate
+    public SlowQueryServiceImpl(SlowQueryConfig slowQueryConfig, JdbcTemplate jdbcTemplate) {
+        // 保存慢查询检测配置
+        this.slowQueryConfig = slowQueryConfig;
+        // 保存JdbcTemplate对象
+        this.jdbcTemplate = jdbcTemplate;
+        // 按配置容量创建环形缓冲区，容量至少为1
+        this.ring = new SlowQueryRecord[Math.max(1, slowQueryConfig.getCapacity())];
+        // 创建单线程、有界队列的线程池，队列满时直接拒绝，由调用方标记为跳过
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, slowQueryConfig.getExplainQueueSize())),
+                runnable -> {
+                    // 创建执行计划采集线程
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    // 设置为守护线程，不阻止JVM退出
+                    thread.setDaemon(true);
+                    // 返回线程
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 重写接口中的isSlow方法
+    @Override
+    // 判断是否需要记录
+    public boolean isSlow(long elapsedMs) {
+        // 检测启用且耗时达到阈值时需要记录
+        return slowQueryConfig.isEnabled() && elapsedMs >= slowQueryConfig.getThresholdMs();
+    }
+
+    // 重写接口中的record方法
+    @Override
+    // 记录一次慢查询
+    public void record(String statementId, String commandType, String sql, List<Object> parameters, long elapsedMs) {
+        // 创建慢查询记录对象
+        SlowQueryRecord record = new SlowQueryRecord();
+        // 设置语句ID
+        record.setStatementId(statementId);
+        // 设置SQL命令类型
+        record.setCommandType(commandType);
+        // 设置SQL文本，压缩多余空白便于阅读
+        record.setSql(sql == null ? null : sql.replaceAll("\\s+", " ").trim());
+        // 设置绑定参数的类型形态（不保存参数值）
+        record.setParameters(toParameterShapes(parameters));
+        // 设置执行耗时
+        record.setElapsedMs(elapsedMs);
+        // 设置发生时间
+        record.setOccurTime(LocalDateTime.now());
+        // 默认执行计划状态为跳过，提交采集任务成功后改为等待采集
+        record.setPlanStatus(SlowQueryRecord.PLAN_SKIPPED);
+        // 累计慢查询次数
+        totalSlowCount.incrementAndGet();
+        // 输出慢查询警告日志
+        logger.warn("慢查询：{} 耗时 {} ms，阈值 {} ms", statementId, elapsedMs, slowQueryConfig.getThresholdMs());
+
+        // 判断是否需要为该语句采集执行计划
+        boolean needExplain = shouldExplain(statementId, commandType, record.getSql());
+        // 需要采集时先将状态置为等待采集，再放入缓冲区，保证读取到的状态一致
+        if (needExplain) {
+            // 设置执行计划状态为等待采集
+            record.setPlanStatus(SlowQueryRecord.PLAN_PENDING);
+        }
+
+        // 加锁写入环形缓冲区和最慢语句排行（只有慢路径会进入这里，竞争很小）
+        synchronized (this) {
+            // 写入环形缓冲区当前位置
+            ring[ringNext] = record;
+            // 写入位置后移，到末尾后回到开头
+            ringNext = (ringNext + 1) % ring.length;
+            // 更新已保存记录数，不超过容量
+            ringSize = Math.min(ringSize + 1, ring.length);
+            // 更新最慢语句排行
+            updateWorst(record);
+        }
+
+        // 需要采集执行计划时提交异步任务
+        if (needExplain) {
+            // 复制一份参数，避免业务线程后续修改参数对象
+            List<Object> boundValues = parameters == null ? new ArrayList<>() : new ArrayList<>(parameters);
+            // 尝试提交任务
+            try {
+                // 记录本次提交时间
+                lastExplainTime.put(statementId, System.currentTimeMillis());
+                // 提交异步EXPLAIN任务
+                explainExecutor.execute(() -> explain(record, boundValues));
+            // 队列已满时放弃采集
+            } catch (RejectedExecutionException e) {
+                // 加锁更新状态，保证管理接口可见
+                synchronized (this) {
+                    // 标记为跳过采集
+                    record.setPlanStatus(SlowQueryRecord.PLAN_SKIPPED);
+                }
+            }
+        }
+    }
+
+    /**
+     * 更新最慢语句排行
+     * 功能概述：同一语句只保留耗时最长的一次记录；超过保留数量时淘汰耗时最短的语句（调用方需持有锁）
+     * @param {SlowQueryRecord} record - 新的慢查询记录
+     */
+    // 更新最慢语句排行方法
+    private void updateWorst(SlowQueryRecord record) {
+        // 获取该语句当前的最慢记录
+        SlowQueryRecord current = worstByStatement.get(record.getStatementId());
+        // 当前没有记录或新记录更慢时替换
+        if (current == null || record.getElapsedMs() > current.getElapsedMs()) {
+            // 新记录没有执行计划但旧记录有时，沿用旧的执行计划，避免排行中丢失已采集的计划
+            if (current != null && !SlowQueryRecord.PLAN_PENDING.equals(record.getPlanStatus())
+                    && current.getPlan() != null) {
+                // 沿用旧执行计划
+                record.setPlan(current.getPlan());
+                // 沿用旧执行计划状态
+                record.setPlanStatus(current.getPlanStatus());
+            }
+            // 保存新记录
+            worstByStatement.put(record.getStatementId(), record);
+        }
+        // 超过保留数量时淘汰耗时最短的语句
+        if (worstByStatement.size() > Math.max(1, slowQueryConfig.getWorstSize())) {
+            // 查找耗时最短的语句ID
+            worstByStatement.values().stream()
+                    .min(Comparator.comparingLong(SlowQueryRecord::getElapsedMs))
+                    // 移除该语句
+                    .ifPresent(min -> worstByStatement.remove(min.getStatementId()));
+        }
+    }
+
+    /**
+     * 判断是否需要采集执行计划
+     * 功能概述：仅对SELECT/UPDATE/DELETE单条语句采集，且同一语句在间隔时间内只采集一次
+     * @param {String} statementId - 语句ID
+     * @param {String} commandType - SQL命令类型
+     * @param {String} sql - SQL文本
+     * @return {boolean} 需要采集返回true
+     */
+    // 判断是否需要采集执行计划方法
+    private boolean shouldExplain(String statementId, String commandType, String sql) {
+        // 未启用执行计划采集时不采集
+        if (!slowQueryConfig.isExplainEnabled() || sql == null || commandType == null) {
+            // 返回不采集
+            return false;
+        }
+        // 不支持的命令类型不采集
+        if (!EXPLAINABLE_COMMANDS.contains(commandType.toUpperCase(Locale.ROOT))) {
+            // 返回不采集
+            return false;
+        }
+        // 多语句（allowMultiQueries）无法整体EXPLAIN，不采集
+        String trimmed = sql.trim();
+        // 去掉末尾分号后仍包含分号说明是多条语句
+        if (trimmed.endsWith(";")) {
+            // 去掉末尾分号
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        // 仍包含分号时不采集
+        if (trimmed.contains(";")) {
+            // 返回不采集
+            return false;
+        }
+        // 获取该语句最近一次采集时间
+        Long last = lastExplainTime.get(statementId);
+        // 间隔时间内已采集过则不再采集
+        return last == null
+                || System.currentTimeMillis() - last >= slowQueryConfig.getExplainIntervalSeconds() * 1000L;
+    }
+
+    /**
+     * 采集执行计划
+     * 功能概述：在后台线程中使用相同的绑定参数执行EXPLAIN FORMAT=JSON，并把结果写回慢查询记录
+     * @param {SlowQueryRecord} record - 慢查询记录
+     * @param {List<Object>} boundValues - 绑定参数
+     */
+    // 采集执行计划方法
+    private void explain(SlowQueryRecord record, List<Object> boundValues) {
+        // 使用try-catch捕获异常，采集失败不影响业务
+        try {
+            // 执行EXPLAIN FORMAT=JSON，按顺序设置绑定参数，读取第一行第一列的JSON执行计划
+            String plan = jdbcTemplate.query("EXPLAIN FORMAT=JSON " + record.getSql(),
+                    ps -> {
+                        // 遍历绑定参数
+                        for (int i = 0; i < boundValues.size(); i++) {
+                            // 按占位符位置设置参数
+                            ps.setObject(i + 1, boundValues.get(i));
+                        }
+                    },
+                    rs -> rs.next() ? rs.getString(1) : null);
+            // 加锁写回执行计划，保证管理接口可见
+            synchronized (this) {
+                // 设置执行计划
+                record.setPlan(plan);
+                // 设置状态为已采集
+                record.setPlanStatus(SlowQueryRecord.PLAN_DONE);
+            }
+            // 累计采集成功次数
+            explainCount.incrementAndGet();
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 加锁写回失败状态
+            synchronized (this) {
+                // 记录失败原因
+                record.setPlan("EXPLAIN失败：" + e.getMessage());
+                // 设置状态为采集失败
+                record.setPlanStatus(SlowQueryRecord.PLAN_FAILED);
+            }
+            // 累计采集失败次数
+            explainFailedCount.incrementAndGet();
+            // 输出调试日志
+            logger.debug("采集执行计划失败：{}", record.getStatementId(), e);
+        }
+    }
+
+    /**
+     * 转换绑定参数为类型形态
+     * 功能概述：只保留参数的类型和长度（如String(11)、Integer、null），不保存参数值；
+     * 慢查询会通过管理接口输出，密码摘要、手机号等参数值不能进入记录
+     * @param {List<Object>} parameters - 绑定参数
+     * @return {List<String>} 返回参数类型形态列表
+     */
+    // 转换绑定参数为类型形态方法
+    private List<String> toParameterShapes(List<Object> parameters) {
+        // 创建结果列表
+        List<String> result = new ArrayList<>();
+        // 参数为空时返回空列表
+        if (parameters == null) {
+            // 返回空列表
+            return result;
+        }
+        // 遍历参数
+        for (Object value : parameters) {
+            // 空值
+            if (value == null) {
+                // 添加null
+                result.add("null");
+            // 字符串只保留长度
+            } else if (value instanceof CharSequence text) {
+                // 添加String(长度)
+                result.add("String(" + text.length() + ")");
+            // 其他类型只保留类型名
+            } else {
+                // 添加类型名
+                result.add(value.getClass().getSimpleName());
+            }
+        }
+        // 返回结果列表
+        return result;
+    }
+
+    // 重写接口中的getRecentSlowQueries方法
+    @Override
+    // 获取最近的慢查询
+    public synchronized List<SlowQueryRecord> getRecentSlowQueries() {
+        // 创建结果列表
+        List<SlowQueryRecord> result = new ArrayList<>(ringSize);
+        // 从最新写入的位置开始倒序读取
+        for (int i = 1; i <= ringSize; i++) {
+            // 计算环形缓冲区中的位置
+            int index = (ringNext - i + ring.length) % ring.length;
+            // 添加到结果列表
+            result.add(ring[index]);
+        }
+        // 返回结果列表
+        return result;
+    }
+
+    // 重写接口中的getWorstSlowQueries方法
+    @Override
+    // 获取最慢语句排行
+    public synchronized List<SlowQueryRecord> getWorstSlowQueries() {
+        // 复制最慢记录列表
+        List<SlowQueryRecord> result = new ArrayList<>(worstByStatement.values());
+        // 按耗时倒序排列
+        result.sort(Comparator.comparingLong(SlowQueryRecord::getElapsedMs).reversed());
+        // 返回结果列表
+        return result;
+    }
+
+    // 重写接口中的getSummary方法
+    @Override
+    // 获取慢查询统计概览
+    public Map<String, Object> getSummary() {
+        // 创建统计结果Map对象
+        Map<String, Object> summary = new HashMap<>();
+        // 是否启用
+        summary.put("enabled", slowQueryConfig.isEnabled());
+        // 慢查询阈值
+        summary.put("thresholdMs", slowQueryConfig.getThresholdMs());
+        // 环形缓冲区容量
+        summary.put("capacity", ring.length);
+        // 累计慢查询次数
+        summary.put("totalSlowCount", totalSlowCount.get());
+        // 累计采集执行计划次数
+        summary.put("explainCount", explainCount.get());
+        // 累计采集失败次数
+        summary.put("explainFailedCount", explainFailedCount.get());
+        // 等待采集的任务数
+        summary.put("explainQueueSize", explainExecutor.getQueue().size());
+        // 返回统计结果
+        return summary;
+    }
+
+    // 重写接口中的clear方法
+    @Override
+    // 清空慢查询记录
+    public synchronized void clear() {
+        // 清空环形缓冲区
+        java.util.Arrays.fill(ring, null);
+        // 重置写入位置
+        ringNext = 0;
+        // 重置记录数
+        ringSize = 0;
+        // 清空最慢语句排行
+        worstByStatement.clear();
+        // 清空执行计划采集时间
+        lastExplainTime.clear();
+    }
+
+    /**
+     * 关闭执行计划采集线程池
+     * 功能概述：应用关闭时停止后台线程
+     */
+    // Bean销毁前调用
+    @PreDestroy
+    // 关闭线程池方法
+    public void shutdown() {
+        // 立即关闭线程池，丢弃未执行的采集任务
+        explainExecutor.shutdownNow();
+    }
+}
@@ -5,21 +5,49 @@
 // 定义包路径，标识该类属于com.icss.xihu.service.impl包
 package com.icss.xihu.service.impl;
 
+// 导入Jackson的流式JSON写出器
+import com.fasterxml.jackson.core.JsonGenerator;
+// 导入Jackson的对象映射器
+import com.fasterxml.jackson.databind.ObjectMapper;
+// 导入读库查询注解
+import com.icss.xihu.config.ReadReplica;
+// 导入请求合并注解
+import com.icss.xihu.config.SingleFlight;
+// 导入旅游信息并行加载配置类
+import com.icss.xihu.config.TravelFanoutConfig;
 // 导入旅游Mapper接口
 import com.icss.xihu.mapper.TravelMapper;
+// 导入景点摘要记录
+import com.icss.xihu.model.AttractionSummary;
+// 导入地区景点响应记录
+import com.icss.xihu.model.RegionAttractions;
 // 导入旅游目的地实体类
 import com.icss.xihu.model.TravelDestination;
 // 导入旅游推荐实体类
 import com.icss.xihu.model.TravelRecommendation;
 // 导入旅游酒店实体类
 import com.icss.xihu.model.TravelHotel;
+// 导入地址服务接口
+import com.icss.xihu.service.AddressService;
+// 导入省份统计服务接口
+import com.icss.xihu.service.ProvinceStatsService;
 // 导入旅游服务接口
 import com.icss.xihu.service.TravelService;
+// 导入组合页面并行加载器
+import com.icss.xihu.util.CompositeLoader;
+// 导入Bean销毁前回调注解
+import jakarta.annotation.PreDestroy;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
 // 导入Spring的服务注解，标识该类为服务层组件
 import org.springframework.stereotype.Service;
 
+// 导入IO异常类
+import java.io.IOException;
+// 导入输出流类
+import java.io.OutputStream;
+// 导入IO异常的非受检包装类
+import java.io.UncheckedIOException;
 // 导入ArrayList类，用于创建列表
 import java.util.ArrayList;
 // 导入Collections类，用于集合操作
@@ -30,6 +58,16 @@ import java.util.HashMap;
 import java.util.List;
 // 导入Map接口
 import java.util.Map;
+// 导入CompletableFuture类
+import java.util.concurrent.CompletableFuture;
+// 导入ExecutorService接口
+import java.util.concurrent.ExecutorService;
+// 导入Executors工具类，用于创建虚拟线程执行器
+import java.util.concurrent.Executors;
+// 导入Semaphore类
+import java.util.concurrent.Semaphore;
+// 导入BiFunction函数式接口，用于按解析后的地区编号执行查询
+import java.util.function.BiFunction;
 // 导入Collectors类，用于Stream API的收集操作
 import java.util.stream.Collectors;
 
@@ -39,6 +77,8 @@ import java.util.stream.Collectors;
  */
 // 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
 @Service
+// 目录类查询，不在读写事务中时走读库
+@ReadReplica
 // 旅游服务实现类，实现TravelService接口
 public class TravelServiceImpl implements TravelService {
 
@@ -47,6 +87,32 @@ public class TravelServiceImpl implements TravelService {
     // 旅游Mapper对象，用于调用数据库操作方法
     private TravelMapper travelMapper;
 
+    // 自动注入省份统计服务，Spring容器会自动查找并注入ProvinceStatsService的实现类
+    @Autowired
+    // 省份统计服务对象，用于获取预先计算好的省份地图数据
+    private ProvinceStatsService provinceStatsService;
+
+    // 自动注入地址服务，Spring容器会自动查找并注入AddressService的实现类
+    @Autowired
+    // 地址服务对象，用于从内存地址层级树中获取省市列表并把名称解析为编号
+    private AddressService addressService;
+
+    // 自动注入旅游信息并行加载配置
+    @Autowired
+    // 旅游信息并行加载配置对象，提供分支超时时间和并发上限
+    private TravelFanoutConfig travelFanoutConfig;
+
+    // 自动注入Spring容器中的ObjectMapper，与接口返回的JSON格式保持一致
+    @Autowired
+    // JSON对象映射器，用于流式写出景点列表
+    private ObjectMapper objectMapper;
+
+    // 执行并行分支的虚拟线程执行器，每个分支一个虚拟线程
+    private final ExecutorService fanoutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 并行分支的全局并发许可，首次使用时按配置创建
+    private volatile Semaphore fanoutPermits;
+
     /**
      * 获取所有省份
      * 功能概述：调用Mapper层方法，查询所有旅游目的地的省份列表
@@ -54,6 +120,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getAllProvinces方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取所有省份方法，返回所有省份的列表
     public List<TravelDestination> getAllProvinces() {
         // 调用Mapper层的getAllProvinces方法，查询所有省份信息并返回
@@ -68,6 +136,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getCitiesByProvinceCode方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据省份编码获取城市列表方法，接收省份编码参数，返回该省份下的所有城市列表
     public List<TravelDestination> getCitiesByProvinceCode(String provinceCode) {
         // 调用Mapper层的getCitiesByProvinceCode方法，根据省份编码查询该省份下的所有城市信息并返回
@@ -82,6 +152,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getDestinationByCode方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据编码获取目的地信息方法，接收目的地编码参数，返回目的地对象
     public TravelDestination getDestinationByCode(String code) {
         // 调用Mapper层的getDestinationByCode方法，根据目的地编码查询目的地信息并返回
@@ -96,6 +168,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getTravelInfoByDestinationCode方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据目的地编码获取完整的旅游推荐信息方法，接收目的地编码参数，返回旅游推荐信息Map
     public Map<String, Object> getTravelInfoByDestinationCode(String destinationCode) {
         // 创建结果Map对象，用于存储旅游推荐信息
@@ -143,6 +217,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getRecommendationsByDestinationCode方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据目的地编码获取推荐信息方法，接收目的地编码参数，返回该目的地的所有推荐信息列表
     public List<TravelRecommendation> getRecommendationsByDestinationCode(String destinationCode) {
         // 调用Mapper层的getRecommendationsByDestinationCode方法，根据目的地编码查询该目的地的所有推荐信息并返回
@@ -158,6 +234,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getRecommendationsByDestinationAndCategory方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据目的地编码和分类获取推荐信息方法，接收目的地编码和分类参数，返回该目的地下指定分类的推荐信息列表
     public List<TravelRecommendation> getRecommendationsByDestinationAndCategory(String destinationCode, String category) {
         // 调用Mapper层的getRecommendationsByDestinationAndCategory方法，根据目的地编码和分类查询该目的地下指定分类的推荐信息并返回
@@ -171,6 +249,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getAllHotels方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取所有酒店列表方法，返回所有酒店的列表
     public List<TravelHotel> getAllHotels() {
         // 调用Mapper层的getAllHotels方法，查询所有酒店信息并返回
@@ -185,6 +265,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getTopHotels方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取推荐酒店方法，接收限制数量参数，返回推荐酒店列表
     public List<TravelHotel> getTopHotels(int limit) {
         // 调用Mapper层的getTopHotels方法，查询推荐酒店信息，限制返回数量，并返回
@@ -193,8 +275,8 @@ public class TravelServiceImpl implements TravelService {
 
     /**
      * 获取省份对应的地图数据（用于ECharts）
-     * 功能概述：调用Mapper层方法，查询所有省份信息，转换为ECharts所需的数据格式
-     * @return {Map<String, Object>} 返回地图数据Map（包含success、provinces、total等）
+     * 功能概述：返回省份统计服务在内存中维护的省份数据，value为景点数量，同时包含平均评分和订单量
+     * @return {Map<String, Object>} 返回地图数据Map（包含success、provinces、total、maxValue等）
      */
     // 重写接口中的getProvinceMapData方法
     @Override
@@ -202,37 +284,8 @@ public class TravelServiceImpl implements TravelService {
     public Map<String, Object> getProvinceMapData() {
         // 使用try-catch块捕获异常
         try {
-            // 调用Mapper层的getAllProvinces方法，查询所有省份信息
-            List<TravelDestination> provinces = travelMapper.getAllProvinces();
-            // 创建结果Map对象，用于存储地图数据
-            Map<String, Object> result = new HashMap<>();
-            
-            // 转换为ECharts所需的数据格式
-            // 使用Stream API，将省份信息转换为ECharts所需的数据格式
-            List<Map<String, Object>> mapData = provinces.stream().map(province -> {
-                // 创建省份数据项Map对象
-                Map<String, Object> item = new HashMap<>();
-                // 将省份名称放入数据项Map中，键为"name"
-                item.put("name", province.getName());
-                // 将省份编码放入数据项Map中，键为"code"
-                item.put("code", province.getCode());
-                // 将省份描述放入数据项Map中，键为"description"
-                item.put("description", province.getDescription());
-                // 将省份值放入数据项Map中，键为"value"，可以根据需要设置不同的值
-                item.put("value", 1); // 可以根据需要设置不同的值
-                // 返回数据项Map
-                return item;
-            }).collect(Collectors.toList());  // 收集为列表
-            
-            // 将成功标识放入结果Map中，键为"success"，值为true
-            result.put("success", true);
-            // 将省份数据放入结果Map中，键为"provinces"
-            result.put("provinces", mapData);
-            // 将省份总数放入结果Map中，键为"total"
-            result.put("total", provinces.size());
-            
-            // 返回结果Map
-            return result;
+            // 直接返回预先计算好的省份数据
+            return provinceStatsService.getProvinceMapData();
         } catch (Exception e) {
             // 如果发生异常，创建错误Map对象
             Map<String, Object> error = new HashMap<>();
@@ -250,21 +303,21 @@ public class TravelServiceImpl implements TravelService {
     }
 
     /**
-     * 从attractions表获取所有有景点的省份
-     * 功能概述：调用Mapper层方法，从景点表中查询所有不重复的省份名称
+     * 从address表获取所有省份
+     * 功能概述：从内存地址层级树中获取所有不重复的省份名称，不访问数据库
      * @return {List<String>} 返回所有省份名称的列表
      */
     // 重写接口中的getProvincesFromAddress方法
     @Override
     // 从address表获取所有省份方法，返回所有省份名称的列表
     public List<String> getProvincesFromAddress() {
-        // 调用Mapper层的getProvincesFromAddress方法，从address表中查询所有不重复的省份名称并返回
-        return travelMapper.getProvincesFromAddress();
+        // 调用地址服务的getProvinceNames方法，从内存地址层级树中获取所有省份名称并返回
+        return addressService.getProvinceNames();
     }
 
     /**
      * 从address表根据省份获取城市列表
-     * 功能概述：调用Mapper层方法，根据省份名称从address表中查询该省份下的所有不重复的城市名称
+     * 功能概述：从内存地址层级树中获取该省份下的所有不重复的城市名称，不访问数据库
      * @param {String} province - 省份名称
      * @return {List<String>} 返回该省份下的所有城市名称列表
      */
@@ -272,55 +325,82 @@ public class TravelServiceImpl implements TravelService {
     @Override
     // 从address表根据省份获取城市列表方法，接收省份名称参数，返回该省份下的所有城市名称列表
     public List<String> getCitiesFromAddressByProvince(String province) {
-        // 调用Mapper层的getCitiesFromAddressByProvince方法，根据省份名称从address表中查询该省份下的所有不重复的城市名称并返回
-        return travelMapper.getCitiesFromAddressByProvince(province);
+        // 调用地址服务的getCityNames方法，从内存地址层级树中获取该省份下的所有城市名称并返回
+        return addressService.getCityNames(province);
     }
 
     /**
      * 根据省份和城市获取完整的旅游信息（结合travel_destinations和address表）
-     * 功能概述：根据省份和城市名称获取完整的旅游信息，包括目的地信息、推荐信息（按分类分组）、景点信息、酒店信息
+     * 功能概述：根据省份和城市名称获取完整的旅游信息，包括目的地信息、推荐信息（按分类分组）、景点信息、酒店信息。
+     * 目的地查询、地区景点查询和推荐酒店查询同时开始；目的地查到后，推荐信息和目的地酒店再并行查询。
+     * 每个分支单独超时，超时或失败的分支使用空结果（酒店回退为推荐酒店），并在degraded中列出分支名称
      * @param {String} province - 省份名称
      * @param {String} city - 城市名称
-     * @return {Map<String, Object>} 返回旅游信息Map（包含目的地、景点、美食、交通、购物、酒店等）
+     * @return {Map<String, Object>} 返回旅游信息Map（包含目的地、景点、美食、交通、购物、酒店、degraded等）
      */
     // 重写接口中的getTravelInfoByLocation方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据省份和城市获取完整的旅游信息方法，接收省份和城市名称参数，返回旅游信息Map
     public Map<String, Object> getTravelInfoByLocation(String province, String city) {
         // 创建结果Map对象，用于存储旅游信息
         Map<String, Object> result = new HashMap<>();
-        
+        // 创建本次请求的并行加载器
+        CompositeLoader loader = new CompositeLoader(fanoutExecutor, getFanoutPermits(), travelFanoutConfig.getBranchTimeoutMs());
+
         // 使用try-catch块捕获异常
         try {
             // 1. 获取目的地信息（优先从city查找，如果没有则从province查找）
-            // 定义目的地对象变量
-            TravelDestination destination = null;
-            // 如果城市名称不为空，优先从城市名称查找目的地信息
-            if (city != null && !city.isEmpty()) {
-                // 调用Mapper层的getDestinationByCityName方法，根据城市名称查询目的地信息
-                destination = travelMapper.getDestinationByCityName(city);
-            }
-            // 如果目的地为空且省份名称不为空，从省份名称查找目的地信息
-            if (destination == null && province != null) {
-                // 调用Mapper层的getDestinationByProvinceName方法，根据省份名称查询目的地信息
-                destination = travelMapper.getDestinationByProvinceName(province);
-            }
-            
-            // 将目的地信息放入结果Map中，键为"destination"
-            result.put("destination", destination);
+            CompletableFuture<TravelDestination> destinationFuture = loader.fork("destination", () -> {
+                // 定义目的地对象变量
+                TravelDestination destination = null;
+                // 如果城市名称不为空，优先从城市名称查找目的地信息
+                if (city != null && !city.isEmpty()) {
+                    // 调用Mapper层的getDestinationByCityName方法，根据城市名称查询目的地信息
+                    destination = travelMapper.getDestinationByCityName(city);
+                }
+                // 如果目的地为空且省份名称不为空，从省份名称查找目的地信息
+                if (destination == null && province != null) {
+                    // 调用Mapper层的getDestinationByProvinceName方法，根据省份名称查询目的地信息
+                    destination = travelMapper.getDestinationByProvinceName(province);
+                }
+                // 返回目的地信息
+                return destination;
+            }, null);
 
-            // 2. 获取travel_recommendations表中的推荐信息
-            // 创建推荐信息列表
-            List<TravelRecommendation> recommendations = new ArrayList<>();
-            // 如果目的地不为空，根据目的地编码查询推荐信息
-            if (destination != null) {
-                // 调用Mapper层的getRecommendationsByDestinationCode方法，根据目的地编码查询该目的地的所有推荐信息
-                recommendations = travelMapper.getRecommendationsByDestinationCode(destination.getCode());
-            }
+            // 2. 获取address表中的景点信息，不依赖目的地，与目的地查询同时开始
+            // 在内存地址树中把省份和城市名称解析为编号后，调用Mapper层的getAttractionsFromAddress方法查询该地区的景点信息
+            CompletableFuture<List<AttractionSummary>> attractionsFuture = loader.fork("addressAttractions",
+                    () -> queryByRegion(province, city, travelMapper::getAttractionsFromAddress), Collections.emptyList());
+
+            // 3. 推荐酒店作为目的地酒店的后备，同时开始查询，避免目的地没有酒店时再串行查询一次
+            // 调用Mapper层的getTopHotels方法，查询推荐酒店列表，限制数量为6
+            CompletableFuture<List<TravelHotel>> topHotelsFuture = loader.fork("topHotels",
+                    () -> travelMapper.getTopHotels(6), Collections.emptyList());
+
+            // 4. 目的地查到后，并行获取travel_recommendations表中的推荐信息
+            CompletableFuture<List<TravelRecommendation>> recommendationsFuture = destinationFuture.thenCompose(destination ->
+                    destination == null
+                            ? CompletableFuture.completedFuture(Collections.<TravelRecommendation>emptyList())
+                            // 调用Mapper层的getRecommendationsByDestinationCode方法，根据目的地编码查询该目的地的所有推荐信息
+                            : loader.fork("recommendations",
+                                    () -> travelMapper.getRecommendationsByDestinationCode(destination.getCode()), Collections.emptyList()));
+
+            // 5. 目的地查到后，并行获取该目的地的酒店信息
+            CompletableFuture<List<TravelHotel>> hotelsFuture = destinationFuture.thenCompose(destination ->
+                    destination == null
+                            ? CompletableFuture.completedFuture(Collections.<TravelHotel>emptyList())
+                            // 调用Mapper层的getHotelsByDestinationCode方法，根据目的地编码查询该目的地的所有酒店信息
+                            : loader.fork("hotels",
+                                    () -> travelMapper.getHotelsByDestinationCode(destination.getCode()), Collections.emptyList()));
+
+            // 将目的地信息放入结果Map中，键为"destination"
+            result.put("destination", destinationFuture.join());
 
             // 按分类分组推荐信息
             // 使用Stream API，按推荐分类对推荐信息进行分组
-            Map<String, List<TravelRecommendation>> recommendationsByCategory = recommendations.stream()
+            Map<String, List<TravelRecommendation>> recommendationsByCategory = recommendationsFuture.join().stream()
                     .collect(Collectors.groupingBy(TravelRecommendation::getCategory));
 
             // 将景点推荐信息放入结果Map中，键为"attractions"，如果不存在则使用空列表
@@ -332,32 +412,27 @@ public class TravelServiceImpl implements TravelService {
             // 将购物推荐信息放入结果Map中，键为"shopping"，如果不存在则使用空列表
             result.put("shopping", recommendationsByCategory.getOrDefault("购物", new ArrayList<>()));
 
-            // 3. 获取address表中的景点信息
-            // 调用Mapper层的getAttractionsFromAddress方法，根据省份和城市名称从address表中查询该地区的景点信息
-            List<Map<String, Object>> addressAttractions = travelMapper.getAttractionsFromAddress(province, city);
             // 将景点信息放入结果Map中，键为"addressAttractions"
-            result.put("addressAttractions", addressAttractions);
-
-            // 4. 获取酒店信息
-            // 创建酒店列表
-            List<TravelHotel> hotels = new ArrayList<>();
-            // 如果目的地不为空，根据目的地编码查询酒店信息
-            if (destination != null) {
-                // 调用Mapper层的getHotelsByDestinationCode方法，根据目的地编码查询该目的地的所有酒店信息
-                hotels = travelMapper.getHotelsByDestinationCode(destination.getCode());
-            }
-            // 如果酒店列表为空，查询推荐酒店列表
-            if (hotels.isEmpty()) {
-                // 调用Mapper层的getTopHotels方法，查询推荐酒店列表，限制数量为6
-                hotels = travelMapper.getTopHotels(6);
+            result.put("addressAttractions", attractionsFuture.join());
+
+            // 获取目的地酒店信息
+            List<TravelHotel> hotels = hotelsFuture.join();
+            // 如果酒店列表为空，使用推荐酒店列表
+            if (hotels == null || hotels.isEmpty()) {
+                // 推荐酒店列表
+                hotels = topHotelsFuture.join();
             }
             // 将酒店信息放入结果Map中，键为"hotels"
             result.put("hotels", hotels);
 
+            // 使用了降级结果的分支
+            List<String> degraded = loader.getDegraded();
+            // 将降级分支放入结果Map中，键为"degraded"
+            result.put("degraded", degraded);
             // 将成功标识放入结果Map中，键为"success"，值为true
             result.put("success", true);
             // 将成功信息放入结果Map中，键为"message"
-            result.put("message", "获取旅游信息成功");
+            result.put("message", degraded.isEmpty() ? "获取旅游信息成功" : "获取旅游信息成功（部分内容加载超时）");
 
         } catch (Exception e) {
             // 如果发生异常，将成功标识放入结果Map中，键为"success"，值为false
@@ -380,65 +455,120 @@ public class TravelServiceImpl implements TravelService {
      * 根据省份获取该省份的所有景点信息
      * 功能概述：根据省份名称获取该省份的所有景点信息，包括省份信息、城市列表、景点信息、推荐信息
      * @param {String} province - 省份名称
-     * @return {Map<String, Object>} 返回景点信息Map（包含省份、城市、景点、推荐等）
+     * @return {RegionAttractions} 返回地区景点响应（包含省份、城市、景点、推荐等）
      */
     // 重写接口中的getAttractionsByProvince方法
     @Override
-    // 根据省份获取该省份的所有景点信息方法，接收省份名称参数，返回景点信息Map
-    public Map<String, Object> getAttractionsByProvince(String province) {
-        // 创建结果Map对象，用于存储景点信息
-        Map<String, Object> result = new HashMap<>();
-        
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 根据省份获取该省份的所有景点信息方法，接收省份名称参数，返回地区景点响应
+    public RegionAttractions getAttractionsByProvince(String province) {
         // 使用try-catch块捕获异常
         try {
             // 1. 获取省份信息
             // 调用Mapper层的getDestinationByProvinceName方法，根据省份名称查询省份信息
             TravelDestination provinceDestination = travelMapper.getDestinationByProvinceName(province);
-            // 将省份信息放入结果Map中，键为"province"
-            result.put("province", provinceDestination);
 
             // 2. 获取该省份下的所有城市
-            // 调用Mapper层的getCitiesFromAddressByProvince方法，根据省份名称从景点表中查询该省份下的所有不重复的城市名称
-            List<String> cities = travelMapper.getCitiesFromAddressByProvince(province);
-            // 将城市列表放入结果Map中，键为"cities"
-            result.put("cities", cities);
+            // 调用地址服务的getCityNames方法，从内存地址层级树中获取该省份下的所有不重复的城市名称
+            List<String> cities = addressService.getCityNames(province);
 
             // 3. 获取该省份的所有景点（从address表）
-            // 调用Mapper层的getAttractionsFromAddress方法，根据省份名称从address表中查询该省份的所有景点信息（城市为null）
-            List<Map<String, Object>> attractions = travelMapper.getAttractionsFromAddress(province, null);
-            // 将景点信息放入结果Map中，键为"attractions"
-            result.put("attractions", attractions);
+            // 在内存地址树中把省份名称解析为编号后，调用Mapper层的getAttractionsFromAddress方法查询该省份的所有景点信息（城市为null）
+            List<AttractionSummary> attractions = queryByRegion(province, null, travelMapper::getAttractionsFromAddress);
 
             // 4. 获取travel_recommendations表中的推荐（如果有的话）
-            // 创建推荐信息列表
-            List<TravelRecommendation> recommendations = new ArrayList<>();
-            // 如果省份信息不为空，根据省份编码和分类查询推荐信息
-            if (provinceDestination != null) {
-                // 调用Mapper层的getRecommendationsByDestinationAndCategory方法，根据省份编码和分类查询该省份的景点推荐信息
-                recommendations = travelMapper.getRecommendationsByDestinationAndCategory(
-                    provinceDestination.getCode(), "景点");
-            }
-            // 将推荐信息放入结果Map中，键为"recommendations"
-            result.put("recommendations", recommendations);
+            List<TravelRecommendation> recommendations = getProvinceRecommendations(provinceDestination);
 
-            // 将成功标识放入结果Map中，键为"success"，值为true
-            result.put("success", true);
-            // 将景点总数放入结果Map中，键为"total"
-            result.put("total", attractions.size());
+            // 返回成功结果，景点总数取景点列表大小
+            return RegionAttractions.ofProvince(provinceDestination, cities, attractions, recommendations);
 
         } catch (Exception e) {
-            // 如果发生异常，将成功标识放入结果Map中，键为"success"，值为false
-            result.put("success", false);
-            // 将错误信息放入结果Map中，键为"message"
-            result.put("message", "获取省份景点失败：" + e.getMessage());
-            // 将空列表放入结果Map中，键为"attractions"
-            result.put("attractions", new ArrayList<>());
-            // 将总数为0放入结果Map中，键为"total"
-            result.put("total", 0);
+            // 如果发生异常，返回失败结果（景点为空列表，总数为0）
+            return RegionAttractions.failure("获取省份景点失败：" + e.getMessage());
         }
+    }
 
-        // 返回结果Map
-        return result;
+    /**
+     * 以流式JSON写出省份的所有景点信息
+     * 功能概述：先查询省份信息、城市列表和推荐信息并写出，再用流式结果集逐行读取景点，每读一行写出一个元素，
+     * 最后写出success和total；景点开始写出之前出错时写出失败结果，之后出错时响应被截断，由客户端按缺少success处理
+     * @param {String} province - 省份名称
+     * @param {OutputStream} out - 响应输出流
+     */
+    // 重写接口中的writeAttractionsByProvince方法
+    @Override
+    // 以流式JSON写出省份景点方法
+    public void writeAttractionsByProvince(String province, OutputStream out) throws IOException {
+        // 省份信息
+        TravelDestination provinceDestination;
+        // 城市列表
+        List<String> cities;
+        // 推荐信息
+        List<TravelRecommendation> recommendations;
+        // 省份编号，null表示不按省份过滤
+        Long provinceId = null;
+        // 使用try-catch块捕获景点写出之前的异常
+        try {
+            // 查询省份信息
+            provinceDestination = travelMapper.getDestinationByProvinceName(province);
+            // 从内存地址层级树中获取城市列表
+            cities = addressService.getCityNames(province);
+            // 查询推荐信息
+            recommendations = getProvinceRecommendations(provinceDestination);
+            // 省份名称不为空时在内存地址树中解析编号
+            if (province != null && !province.isBlank()) {
+                // 查找省份编号
+                provinceId = addressService.findProvinceId(province);
+            }
+        } catch (Exception e) {
+            // 写出失败结果
+            objectMapper.writeValue(out, RegionAttractions.failure("获取省份景点失败：" + e.getMessage()));
+            // 直接返回
+            return;
+        }
+        // 省份名称不为空但不存在时不访问数据库
+        boolean unknownProvince = province != null && !province.isBlank() && provinceId == null;
+        // 创建流式JSON写出器
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 开始对象
+            generator.writeStartObject();
+            // 写出省份信息
+            generator.writeObjectField("province", provinceDestination);
+            // 写出城市列表
+            generator.writeObjectField("cities", cities);
+            // 写出推荐信息
+            generator.writeObjectField("recommendations", recommendations);
+            // 开始景点数组
+            generator.writeArrayFieldStart("attractions");
+            // 已写出的景点数量
+            int[] total = {0};
+            // 省份存在时逐行读取并写出
+            if (!unknownProvince) {
+                // 流式查询，每行映射后立即写出
+                travelMapper.streamAttractionsFromAddress(provinceId, null, context -> {
+                    // 使用try-catch把写出异常转换为非受检异常
+                    try {
+                        // 写出一个景点
+                        generator.writeObject(context.getResultObject());
+                        // 数量加1
+                        total[0]++;
+                    // 捕获IO异常（通常是客户端断开）
+                    } catch (IOException e) {
+                        // 抛出非受检异常，结束查询
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            // 结束景点数组
+            generator.writeEndArray();
+            // 写出成功标识
+            generator.writeBooleanField("success", true);
+            // 写出景点总数
+            generator.writeNumberField("total", total[0]);
+            // 结束对象
+            generator.writeEndObject();
+        }
     }
 
     /**
@@ -446,28 +576,23 @@ public class TravelServiceImpl implements TravelService {
      * 功能概述：根据省份和城市名称获取该地区的景点信息，包括城市信息、景点信息、推荐信息
      * @param {String} province - 省份名称
      * @param {String} city - 城市名称
-     * @return {Map<String, Object>} 返回景点信息Map（包含城市、景点、推荐等）
+     * @return {RegionAttractions} 返回地区景点响应（包含城市、景点、推荐等）
      */
     // 重写接口中的getAttractionsByProvinceAndCity方法
     @Override
-    // 根据省份和城市获取景点信息方法，接收省份和城市名称参数，返回景点信息Map
-    public Map<String, Object> getAttractionsByProvinceAndCity(String province, String city) {
-        // 创建结果Map对象，用于存储景点信息
-        Map<String, Object> result = new HashMap<>();
-        
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
+    // 根据省份和城市获取景点信息方法，接收省份和城市名称参数，返回地区景点响应
+    public RegionAttractions getAttractionsByProvinceAndCity(String province, String city) {
         // 使用try-catch块捕获异常
         try {
             // 1. 获取城市信息
             // 调用Mapper层的getDestinationByCityName方法，根据城市名称查询城市信息
             TravelDestination cityDestination = travelMapper.getDestinationByCityName(city);
-            // 将城市信息放入结果Map中，键为"city"
-            result.put("city", cityDestination);
 
             // 2. 获取该城市的景点（从address表）
-            // 调用Mapper层的getAttractionsFromAddress方法，根据省份和城市名称从address表中查询该地区的景点信息
-            List<Map<String, Object>> attractions = travelMapper.getAttractionsFromAddress(province, city);
-            // 将景点信息放入结果Map中，键为"attractions"
-            result.put("attractions", attractions);
+            // 在内存地址树中把省份和城市名称解析为编号后，调用Mapper层的getAttractionsFromAddress方法查询该地区的景点信息
+            List<AttractionSummary> attractions = queryByRegion(province, city, travelMapper::getAttractionsFromAddress);
 
             // 3. 获取travel_recommendations表中的推荐
             // 创建推荐信息列表
@@ -477,27 +602,14 @@ public class TravelServiceImpl implements TravelService {
                 // 调用Mapper层的getAttractionsByProvinceAndCity方法，根据省份和城市名称查询该地区的推荐信息
                 recommendations = travelMapper.getAttractionsByProvinceAndCity(province, city);
             }
-            // 将推荐信息放入结果Map中，键为"recommendations"
-            result.put("recommendations", recommendations);
 
-            // 将成功标识放入结果Map中，键为"success"，值为true
-            result.put("success", true);
-            // 将景点总数放入结果Map中，键为"total"
-            result.put("total", attractions.size());
+            // 返回成功结果，景点总数取景点列表大小
+            return RegionAttractions.ofCity(cityDestination, attractions, recommendations);
 
         } catch (Exception e) {
-            // 如果发生异常，将成功标识放入结果Map中，键为"success"，值为false
-            result.put("success", false);
-            // 将错误信息放入结果Map中，键为"message"
-            result.put("message", "获取城市景点失败：" + e.getMessage());
-            // 将空列表放入结果Map中，键为"attractions"
-            result.put("attractions", new ArrayList<>());
-            // 将总数为0放入结果Map中，键为"total"
-            result.put("total", 0);
+            // 如果发生异常，返回失败结果（景点为空列表，总数为0）
+            return RegionAttractions.failure("获取城市景点失败：" + e.getMessage());
         }
-
-        // 返回结果Map
-        return result;
     }
 
     /**
@@ -508,6 +620,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的searchAttractionsByKeyword方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 模糊搜索景点方法（根据关键词搜索），接收搜索关键词参数，返回搜索结果Map
     public Map<String, Object> searchAttractionsByKeyword(String keyword) {
         // 创建结果Map对象，用于存储搜索结果
@@ -530,8 +644,12 @@ public class TravelServiceImpl implements TravelService {
             }
 
             // 使用模糊搜索查询景点
-            // 调用Mapper层的searchAttractionsByKeyword方法，根据关键词从数据库中搜索匹配的景点信息
-            List<Map<String, Object>> attractions = travelMapper.searchAttractionsByKeyword(keyword.trim());
+            // 在内存地址树中查出名称包含关键词的省份和城市编号，代替SQL中对地区名称的LIKE匹配
+            List<Long> provinceIds = addressService.findRegionIdsContaining(keyword.trim(), 0);
+            // 名称包含关键词的城市编号
+            List<Long> cityIds = addressService.findRegionIdsContaining(keyword.trim(), 1);
+            // 调用Mapper层的searchAttractionsByKeyword方法，根据关键词和地区编号从数据库中搜索匹配的景点信息
+            List<Map<String, Object>> attractions = travelMapper.searchAttractionsByKeyword(keyword.trim(), provinceIds, cityIds);
             
             // 将成功标识放入结果Map中，键为"success"，值为true
             result.put("success", true);
@@ -569,6 +687,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的searchAttractionsByKeywordAndLocation方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 模糊搜索景点方法（根据关键词和地区搜索），接收搜索关键词、省份和城市名称参数，返回搜索结果Map
     public Map<String, Object> searchAttractionsByKeywordAndLocation(String keyword, String province, String city) {
         // 创建结果Map对象，用于存储搜索结果
@@ -577,12 +697,13 @@ public class TravelServiceImpl implements TravelService {
         // 使用try-catch块捕获异常
         try {
             // 使用组合条件搜索景点
-            // 调用Mapper层的searchAttractionsByKeywordAndLocation方法，根据关键词和地区从数据库中搜索匹配的景点信息
-            List<Map<String, Object>> attractions = travelMapper.searchAttractionsByKeywordAndLocation(
-                keyword != null ? keyword.trim() : null,  // 如果关键词不为空，去除空格，否则为null
-                province,                                 // 省份名称
-                city                                      // 城市名称
-            );
+            // 在内存地址树中把省份和城市名称解析为编号后，调用Mapper层的searchAttractionsByKeywordAndLocation方法搜索匹配的景点信息
+            List<Map<String, Object>> attractions = queryByRegion(province, city, (provinceId, cityIds) ->
+                travelMapper.searchAttractionsByKeywordAndLocation(
+                    keyword != null ? keyword.trim() : null,  // 如果关键词不为空，去除空格，否则为null
+                    provinceId,                               // 省份编号
+                    cityIds                                   // 城市编号列表
+                ));
             
             // 将成功标识放入结果Map中，键为"success"，值为true
             result.put("success", true);
@@ -622,6 +743,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getAllAttractions方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 获取所有景点数据方法（用于默认显示），接收查询数量限制参数，返回景点信息Map
     public Map<String, Object> getAllAttractions(Integer limit) {
         // 创建结果Map对象，用于存储景点信息
@@ -665,6 +788,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getAllProvincesAttractions方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 当选择"所有省份"时获取所有景点数据方法，接收查询数量限制参数，返回景点信息Map
     public Map<String, Object> getAllProvincesAttractions(Integer limit) {
         // 创建结果Map对象，用于存储景点信息
@@ -709,6 +834,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getProvinceAllCitiesAttractions方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 当选择某个省份但选择"所有城市"时获取该省份下所有景点方法，接收省份名称和查询数量限制参数，返回景点信息Map
     public Map<String, Object> getProvinceAllCitiesAttractions(String province, Integer limit) {
         // 创建结果Map对象，用于存储景点信息
@@ -717,8 +844,11 @@ public class TravelServiceImpl implements TravelService {
         // 使用try-catch块捕获异常
         try {
             // 获取指定省份下所有城市的景点数据
-            // 调用Mapper层的getProvinceAllCitiesAttractions方法，根据省份名称从数据库中查询该省份下的所有景点信息，限制返回数量
-            List<Map<String, Object>> attractions = travelMapper.getProvinceAllCitiesAttractions(province, limit);
+            // 在内存地址树中查找省份编号
+            Long provinceId = addressService.findProvinceId(province);
+            // 调用Mapper层的getProvinceAllCitiesAttractions方法，根据省份编号从数据库中查询该省份下的所有景点信息，限制返回数量（省份不存在时为空列表）
+            List<Map<String, Object>> attractions = provinceId == null ? new ArrayList<>()
+                    : travelMapper.getProvinceAllCitiesAttractions(provinceId, limit);
             
             // 将成功标识放入结果Map中，键为"success"，值为true
             result.put("success", true);
@@ -752,6 +882,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getAttractionById方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据景点ID获取景点详细信息方法，接收景点编号参数，返回景点信息Map
     public Map<String, Object> getAttractionById(Integer id) {
         // 创建结果Map对象，用于存储景点信息
@@ -807,6 +939,8 @@ public class TravelServiceImpl implements TravelService {
      */
     // 重写接口中的getAttractionByName方法
     @Override
+    // 相同参数的并发调用合并为一次查询
+    @SingleFlight
     // 根据景点名称获取景点详细信息方法，接收景点名称参数，返回景点信息Map
     public Map<String, Object> getAttractionByName(String name) {
         // 创建结果Map对象，用于存储景点信息
@@ -884,4 +1018,87 @@ public class TravelServiceImpl implements TravelService {
         // 返回结果Map
         return result;
     }
+
+    // 查询省份的景点推荐，省份信息为空时返回空列表
+    private List<TravelRecommendation> getProvinceRecommendations(TravelDestination provinceDestination) {
+        // 省份信息为空时返回空列表
+        if (provinceDestination == null) {
+            // 返回空列表
+            return new ArrayList<>();
+        }
+        // 调用Mapper层的getRecommendationsByDestinationAndCategory方法，根据省份编码和分类查询该省份的景点推荐信息
+        return travelMapper.getRecommendationsByDestinationAndCategory(provinceDestination.getCode(), "景点");
+    }
+
+    /**
+     * 按地区编号执行景点查询
+     * 功能概述：在内存地址层级树中把省份和城市名称解析为编号后执行查询，SQL只按province_id、city_id过滤；
+     * 名称为空表示不按该级过滤，名称不为空但不存在时与原先的名称匹配一致，直接返回空列表而不访问数据库
+     * @param {String} province - 省份名称
+     * @param {String} city - 城市名称
+     * @param {BiFunction<Long, List<Long>, List<T>>} query - 接收省份编号和城市编号列表的查询
+     * @return {List<T>} 返回查询结果
+     */
+    // 按地区编号执行景点查询方法
+    private <T> List<T> queryByRegion(String province, String city, BiFunction<Long, List<Long>, List<T>> query) {
+        // 省份编号，null表示不按省份过滤
+        Long provinceId = null;
+        // 省份名称不为空时解析省份编号
+        if (province != null && !province.isBlank()) {
+            // 在内存地址树中查找省份编号
+            provinceId = addressService.findProvinceId(province);
+            // 省份不存在时返回空列表
+            if (provinceId == null) {
+                // 返回空列表
+                return new ArrayList<>();
+            }
+        }
+        // 城市编号列表，null表示不按城市过滤
+        List<Long> cityIds = null;
+        // 城市名称不为空时解析城市编号
+        if (city != null && !city.isBlank()) {
+            // 在内存地址树中查找城市编号（指定省份时只在该省份下查找）
+            cityIds = addressService.findCityIds(provinceId, city);
+            // 城市不存在时返回空列表
+            if (cityIds.isEmpty()) {
+                // 返回空列表
+                return new ArrayList<>();
+            }
+        }
+        // 按编号执行查询
+        return query.apply(provinceId, cityIds);
+    }
+
+    // 获取并行分支的全局并发许可，首次调用时按配置创建
+    private Semaphore getFanoutPermits() {
+        // 读取当前许可
+        Semaphore permits = fanoutPermits;
+        // 尚未创建时加锁创建
+        if (permits == null) {
+            // 加锁，保证只创建一次
+            synchronized (this) {
+                // 再次检查
+                if (fanoutPermits == null) {
+                    // 按配置创建许可，至少为1
+                    fanoutPermits = new Semaphore(Math.max(1, travelFanoutConfig.getMaxConcurrentBranches()));
+                }
+                // 读取许可
+                permits = fanoutPermits;
+            }
+        }
+        // 返回许可
+        return permits;
+    }
+
+    /**
+     * 关闭虚拟线程执行器
+     * 功能概述：应用关闭时不再接受新的分支，已提交的分支继续执行完成
+     */
+    // 使用PreDestroy注解，在Bean销毁前调用
+    @PreDestroy
+    // 关闭虚拟线程执行器方法
+    public void shutdownFanoutExecutor() {
+        // 关闭执行器
+        fanoutExecutor.shutdown();
+    }
 }
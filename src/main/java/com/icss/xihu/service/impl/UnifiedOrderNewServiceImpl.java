@@ -1,14 +1,32 @@
 // 定义包路径，标识该类属于com.icss.xihu.service.impl包
 package com.icss.xihu.service.impl;
 
-// 导入所有Mapper接口
-import com.icss.xihu.mapper.*;
+// 导入读己之写跟踪器
+import com.icss.xihu.datasource.ReadYourWritesTracker;
+// 导入统一订单新Mapper接口
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+// 导入订单事件实体类
+import com.icss.xihu.model.OrderEvent;
+// 导入发件箱消息实体类
+import com.icss.xihu.model.OutboxMessage;
 // 导入统一订单新实体类
 import com.icss.xihu.model.UnifiedOrderNew;
+// 导入模块订单分发器
+import com.icss.xihu.order.ModuleOrderDispatcher;
+// 导入订单事件日志
+import com.icss.xihu.order.OrderEventJournal;
+// 导入订单过期登记存储
+import com.icss.xihu.order.OrderExpiryStore;
+// 导入统一订单发件箱
+import com.icss.xihu.order.OrderOutbox;
 // 导入统一订单新服务接口
 import com.icss.xihu.service.UnifiedOrderNewService;
+// 导入用户统计服务接口
+import com.icss.xihu.service.UserStatsService;
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的配置值注解
+import org.springframework.beans.factory.annotation.Value;
 // 导入Spring的服务注解
 import org.springframework.stereotype.Service;
 // 导入Spring的事务注解
@@ -18,14 +36,27 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 // 导入LocalDateTime类，用于处理日期时间
 import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入HashSet类
+import java.util.HashSet;
+// 导入LinkedHashMap类，保持结果字段顺序
+import java.util.LinkedHashMap;
+// 导入LinkedHashSet类，订单号去重并保持请求顺序
+import java.util.LinkedHashSet;
 // 导入List集合接口
 import java.util.List;
 // 导入Map接口
 import java.util.Map;
+// 导入Set接口
+import java.util.Set;
 
 /**
  * 重新设计的统一订单服务实现
- * 功能概述：实现统一订单相关的业务逻辑，包括订单创建、查询、支付、取消、删除等，确保各模块订单状态同步
+ * 功能概述：实现统一订单相关的业务逻辑，包括订单创建、查询、支付、取消、删除等，确保各模块订单状态同步；
+ * 是统一订单唯一的状态变更入口，旧版UnifiedOrderService委托给本实现，各模块订单由ModuleOrderDispatcher按类型同步
  */
 // 标识该类为Spring服务类，会被Spring容器扫描并注册为Bean
 @Service
@@ -37,30 +68,40 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
     // 统一订单新Mapper对象，用于调用数据库操作方法
     private UnifiedOrderNewMapper unifiedOrderNewMapper;
     
-    // 自动注入酒店订单Mapper，Spring容器会自动查找并注入HotelOrderMapper的实现类
+    // 自动注入读己之写跟踪器
     @Autowired
-    // 酒店订单Mapper对象，用于调用酒店订单相关的数据库操作方法
-    private HotelOrderMapper hotelOrderMapper;
-    
-    // 自动注入购物订单Mapper，Spring容器会自动查找并注入ShopOrderMapper的实现类
+    // 读己之写跟踪器对象，订单写入后一段时间内该订单和用户的查询固定走主库
+    private ReadYourWritesTracker readYourWrites;
+
+    // 自动注入模块订单分发器
     @Autowired
-    // 购物订单Mapper对象，用于调用购物订单相关的数据库操作方法
-    private ShopOrderMapper shopOrderMapper;
-    
-    // 自动注入旅游订单Mapper，Spring容器会自动查找并注入TravelOrderMapper的实现类
+    // 模块订单分发器对象，统一订单取消后按订单类型批量同步各模块订单，支付后的同步由发件箱处理
+    private ModuleOrderDispatcher moduleOrderDispatcher;
+
+    // 自动注入用户统计服务
     @Autowired
-    // 旅游订单Mapper对象，用于调用旅游订单相关的数据库操作方法
-    private TravelOrderMapper travelOrderMapper;
-    
-    // 自动注入缴费Mapper，Spring容器会自动查找并注入PaymentMapper的实现类
+    // 用户统计服务对象，订单新建和状态变化时在同一事务中累加用户订单统计
+    private UserStatsService userStatsService;
+
+    // 自动注入订单过期登记存储
     @Autowired
-    // 缴费Mapper对象，用于调用缴费相关的数据库操作方法
-    private PaymentMapper paymentMapper;
-    
-    // 自动注入餐厅Mapper，Spring容器会自动查找并注入RestaurantMapper的实现类
+    // 订单过期登记存储对象，待支付订单在创建时登记过期时间，支付或取消时删除登记
+    private OrderExpiryStore orderExpiryStore;
+
+    // 自动注入订单事件日志
+    @Autowired
+    // 订单事件日志对象，订单状态变化时在同一事务中追加事件，订单历史投影据此更新读模型
+    private OrderEventJournal orderEventJournal;
+
+    // 自动注入统一订单发件箱
     @Autowired
-    // 餐厅Mapper对象，用于调用餐厅订单相关的数据库操作方法
-    private RestaurantMapper restaurantMapper;
+    // 统一订单发件箱对象，支付时在同一事务中写入模块订单同步和支付通知消息，提交后由发件箱分发服务异步处理
+    private OrderOutbox orderOutbox;
+
+    // 从配置文件中读取一次批量操作的最大订单数，默认200
+    @Value("${order.bulk-max-size:200}")
+    // 批量操作最大订单数字段
+    private int bulkMaxSize;
 
     /**
      * 创建统一订单
@@ -102,6 +143,14 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
         int result = unifiedOrderNewMapper.insertOrder(order);
         // 判断订单是否创建成功（受影响行数大于0表示成功）
         if (result > 0) {
+            // 计入用户订单统计
+            userStatsService.orderCreated(userId, UnifiedOrderNew.STATUS_UNPAID);
+            // 登记过期时间，超过有效期仍未支付时自动取消
+            orderExpiryStore.schedule(orderNo);
+            // 追加下单事件
+            orderEventJournal.append(List.of(orderNo), OrderEvent.TYPE_CREATED);
+            // 记录写入，随后对该订单和该用户订单的查询走主库
+            readYourWrites.recordOrderWrite(orderNo, userId);
             // 返回订单号
             return orderNo;
         }
@@ -117,10 +166,12 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
      */
     // 重写接口中的getOrderByOrderNo方法
     @Override
+    // 只读事务，走读库（订单刚写入时走主库）
+    @Transactional(readOnly = true)
     // 根据订单号获取订单方法，接收统一订单号参数，返回订单对象
     public UnifiedOrderNew getOrderByOrderNo(String orderNo) {
         // 调用统一订单新Mapper的findByOrderNo方法，根据订单号查询订单信息并返回
-        return unifiedOrderNewMapper.findByOrderNo(orderNo);
+        return readYourWrites.readOrder(orderNo, () -> unifiedOrderNewMapper.findByOrderNo(orderNo));
     }
 
     /**
@@ -133,15 +184,18 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
      */
     // 重写接口中的getOrdersByUserId方法
     @Override
+    // 只读事务，走读库（用户刚写入订单时走主库）
+    @Transactional(readOnly = true)
     // 根据用户ID获取订单列表方法，接收用户编号、订单类型和支付状态参数，返回该用户的所有订单列表
     public List<UnifiedOrderNew> getOrdersByUserId(Integer userId, String orderType, Integer paymentStatus) {
         // 调用统一订单新Mapper的findByUserId方法，根据用户编号、订单类型和支付状态查询该用户的所有订单信息并返回
-        return unifiedOrderNewMapper.findByUserId(userId, orderType, paymentStatus);
+        return readYourWrites.readUser(userId, () -> unifiedOrderNewMapper.findByUserId(userId, orderType, paymentStatus));
     }
 
     /**
      * 处理支付
-     * 功能概述：处理订单支付，更新统一订单状态，同步更新各模块订单状态，确保数据一致性
+     * 功能概述：处理订单支付，更新统一订单状态，并在同一事务中向发件箱写入模块订单同步和支付通知消息，
+     * 提交后由发件箱分发服务异步处理，失败时按退避时间重试；发件箱表不可用时在本事务中直接同步模块订单
      */
     // 实现处理支付方法
     @Override
@@ -150,8 +204,8 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
     // 处理支付方法，接收订单号和支付方式参数
     public boolean processPayment(String orderNo, String paymentMethod) {
         // 1. 检查订单是否存在且可支付
-        // 调用统一订单新Mapper的findByOrderNo方法，根据订单号查询订单信息
-        UnifiedOrderNew order = unifiedOrderNewMapper.findByOrderNo(orderNo);
+        // 调用统一订单新Mapper的lockByOrderNo方法，根据订单号锁定订单，并发的支付和取消互斥
+        UnifiedOrderNew order = unifiedOrderNewMapper.lockByOrderNo(orderNo);
         // 判断订单是否存在且可以支付
         if (order == null || !order.canPay()) {
             // 如果订单不存在或不可支付，返回false
@@ -175,99 +229,25 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
             // 如果更新失败，返回false
             return false;
         }
+        // 计入用户订单统计：从待支付移到已支付
+        userStatsService.orderStatusChanged(order.getUserId(), order.getPaymentStatus(), UnifiedOrderNew.STATUS_PAID);
+        // 已支付的订单不再过期
+        orderExpiryStore.remove(List.of(orderNo));
+        // 记录写入，随后对该订单和该用户订单的查询走主库
+        readYourWrites.recordOrderWrite(orderNo, order.getUserId());
         
-        // 3. 根据订单类型更新各模块订单状态（关键：确保数据一致性）
-        // 调用updateModuleOrderPaymentStatus方法，同步更新各模块订单的支付状态
-        updateModuleOrderPaymentStatus(order, paymentMethod, paymentTime);
+        // 3. 向发件箱写入模块订单同步和支付通知消息，与支付状态一起提交（关键：确保数据一致性）
+        if (!orderOutbox.enqueue(orderNo, OutboxMessage.TYPE_MODULE_PAID, OutboxMessage.TYPE_PAYMENT_NOTICE)) {
+            // 发件箱表不可用时由模块订单分发器在本事务中直接同步
+            moduleOrderDispatcher.propagatePaid(List.of(order), paymentTime);
+        }
+        // 最后追加支付事件，事件编号分配到提交之间不再执行其他语句
+        orderEventJournal.append(List.of(orderNo), OrderEvent.TYPE_PAID);
         
         // 返回true表示支付成功
         return true;
     }
     
-    /**
-     * 更新各模块订单支付状态
-     * 功能概述：通过订单类型和模块订单ID定位并更新对应的模块订单支付状态，确保数据一致性
-     * @param order 统一订单对象（包含 orderType 和 moduleOrderId）
-     * @param paymentMethod 支付方式
-     * @param paymentTime 支付时间
-     */
-    // 私有方法，更新各模块订单支付状态
-    private void updateModuleOrderPaymentStatus(UnifiedOrderNew order, String paymentMethod, LocalDateTime paymentTime) {
-        // 判断模块订单ID是否为空
-        if (order.getModuleOrderId() == null) {
-            // 如果没有模块订单ID，说明该订单不关联具体业务订单（如直接创建的统一订单）
-            // 直接返回，不处理
-            return;
-        }
-        
-        // 获取模块订单ID
-        Integer moduleOrderId = order.getModuleOrderId();
-        // 获取订单类型
-        String orderType = order.getOrderType();
-        
-        // 使用try-catch捕获异常
-        try {
-            // 根据订单类型更新对应的模块订单状态
-            switch (orderType) {
-                // 酒店订单类型
-                case UnifiedOrderNew.TYPE_HOTEL:
-                    // 更新酒店订单状态：moduleOrderId 是酒店订单ID
-                    // 调用酒店订单Mapper的updateStatusByOrderNo方法，更新订单状态为已支付（1）
-                    hotelOrderMapper.updateStatusByOrderNo(moduleOrderId, 1);
-                    // 跳出switch语句
-                    break;
-                    
-                // 购物订单类型
-                case UnifiedOrderNew.TYPE_SHOPPING:
-                    // 更新购物订单状态：moduleOrderId 是购物订单ID
-                    // 调用购物订单Mapper的updateStatusById方法，更新订单状态为已支付（1）
-                    shopOrderMapper.updateStatusById(moduleOrderId, 1);
-                    // 跳出switch语句
-                    break;
-                    
-                // 旅游订单类型
-                case UnifiedOrderNew.TYPE_TRAVEL:
-                    // 更新旅游订单状态：moduleOrderId 是旅游订单ID
-                    // 调用旅游订单Mapper的updateStatusById方法，更新订单状态为已支付（1）
-                    travelOrderMapper.updateStatusById(moduleOrderId, 1);
-                    // 跳出switch语句
-                    break;
-                    
-                // 缴费订单类型
-                case UnifiedOrderNew.TYPE_PAYMENT:
-                    // 更新缴费账单状态：moduleOrderId 是缴费账单ID
-                    // 调用缴费Mapper的updatePaymentBillStatus方法，更新账单状态为已缴费（1），并设置支付时间
-                    paymentMapper.updatePaymentBillStatus(moduleOrderId, 1, paymentTime);
-                    // 跳出switch语句
-                    break;
-                    
-                // 美食订单类型
-                case UnifiedOrderNew.TYPE_FOOD:
-                    // 更新美食订单状态：moduleOrderId 是美食订单ID
-                    // RestaurantOrder 使用 Integer orderStatus，1=已支付
-                    // 调用餐厅Mapper的updateOrderStatus方法，更新订单状态为已支付（1）
-                    restaurantMapper.updateOrderStatus(moduleOrderId.longValue(), 1);
-                    // 跳出switch语句
-                    break;
-                    
-                // 默认情况
-                default:
-                    // 未知订单类型，不处理
-                    // 跳出switch语句
-                    break;
-            }
-        // 捕获所有异常
-        } catch (Exception e) {
-            // 记录日志，但不抛出异常，避免影响统一订单状态更新
-            // 打印错误信息到控制台
-            System.err.println("更新模块订单状态失败: orderType=" + orderType + ", moduleOrderId=" + moduleOrderId);
-            // 打印异常堆栈信息
-            e.printStackTrace();
-            // 注意：这里不抛出异常，因为统一订单已经更新成功
-            // 如果模块订单更新失败，需要后续通过补偿机制处理
-        }
-    }
-
     /**
      * 取消订单
      * 功能概述：取消订单，更新统一订单状态，同步取消各模块订单，确保数据一致性
@@ -279,8 +259,8 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
     // 取消订单方法，接收订单号和用户ID参数
     public boolean cancelOrder(String orderNo, Integer userId) {
         // 1. 检查订单是否存在且属于该用户
-        // 调用统一订单新Mapper的findByOrderNo方法，根据订单号查询订单信息
-        UnifiedOrderNew order = unifiedOrderNewMapper.findByOrderNo(orderNo);
+        // 调用统一订单新Mapper的lockByOrderNo方法，根据订单号锁定订单，并发的支付和取消互斥
+        UnifiedOrderNew order = unifiedOrderNewMapper.lockByOrderNo(orderNo);
         // 判断订单是否存在且属于该用户
         if (order == null || !order.getUserId().equals(userId)) {
             // 如果订单不存在或不属于该用户，返回false
@@ -302,91 +282,23 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
             // 如果取消失败，返回false
             return false;
         }
+        // 计入用户订单统计：从待支付移到已取消
+        userStatsService.orderStatusChanged(userId, order.getPaymentStatus(), UnifiedOrderNew.STATUS_CANCELLED);
+        // 已取消的订单不再过期
+        orderExpiryStore.remove(List.of(orderNo));
+        // 记录写入，随后对该订单和该用户订单的查询走主库
+        readYourWrites.recordOrderWrite(orderNo, userId);
         
         // 4. 同步取消各模块订单（确保数据一致性）
-        // 调用cancelModuleOrder方法，同步取消各模块订单
-        cancelModuleOrder(order);
+        // 由模块订单分发器交给该订单类型的适配器取消，失败时异常回滚整个取消
+        moduleOrderDispatcher.propagateCancelled(List.of(order));
+        // 最后追加取消事件，事件编号分配到提交之间不再执行其他语句
+        orderEventJournal.append(List.of(orderNo), OrderEvent.TYPE_CANCELLED);
         
         // 返回true表示取消成功
         return true;
     }
     
-    /**
-     * 取消各模块订单
-     * 功能概述：通过订单类型和模块订单ID定位并取消对应的模块订单，确保数据一致性
-     * @param order 统一订单对象（包含 orderType 和 moduleOrderId）
-     */
-    // 私有方法，取消各模块订单
-    private void cancelModuleOrder(UnifiedOrderNew order) {
-        // 判断模块订单ID是否为空
-        if (order.getModuleOrderId() == null) {
-            // 如果模块订单ID为空，直接返回，不处理
-            return;
-        }
-        
-        // 获取模块订单ID
-        Integer moduleOrderId = order.getModuleOrderId();
-        // 获取订单类型
-        String orderType = order.getOrderType();
-        
-        // 使用try-catch捕获异常
-        try {
-            // 根据订单类型取消对应的模块订单
-            switch (orderType) {
-                // 酒店订单类型
-                case UnifiedOrderNew.TYPE_HOTEL:
-                    // 取消酒店订单：moduleOrderId 是酒店订单ID
-                    // 调用酒店订单Mapper的updateStatusByOrderNo方法，更新订单状态为已取消（2）
-                    hotelOrderMapper.updateStatusByOrderNo(moduleOrderId, 2);
-                    // 跳出switch语句
-                    break;
-                    
-                // 购物订单类型
-                case UnifiedOrderNew.TYPE_SHOPPING:
-                    // 取消购物订单：moduleOrderId 是购物订单ID
-                    // 调用购物订单Mapper的updateStatusById方法，更新订单状态为已取消（2）
-                    shopOrderMapper.updateStatusById(moduleOrderId, 2);
-                    // 跳出switch语句
-                    break;
-                    
-                // 旅游订单类型
-                case UnifiedOrderNew.TYPE_TRAVEL:
-                    // 取消旅游订单：moduleOrderId 是旅游订单ID
-                    // 调用旅游订单Mapper的updateStatusById方法，更新订单状态为已取消（2）
-                    travelOrderMapper.updateStatusById(moduleOrderId, 2);
-                    // 跳出switch语句
-                    break;
-                    
-                // 缴费订单类型
-                case UnifiedOrderNew.TYPE_PAYMENT:
-                    // 缴费账单一般不支持取消，如果需要可以在这里处理
-                    // 跳出switch语句
-                    break;
-                    
-                // 美食订单类型
-                case UnifiedOrderNew.TYPE_FOOD:
-                    // 取消美食订单：moduleOrderId 是美食订单ID
-                    // RestaurantOrder 使用 Integer orderStatus，2=已取消
-                    // 调用餐厅Mapper的updateOrderStatus方法，更新订单状态为已取消（2）
-                    restaurantMapper.updateOrderStatus(moduleOrderId.longValue(), 2);
-                    // 跳出switch语句
-                    break;
-                    
-                // 默认情况
-                default:
-                    // 未知订单类型，不处理
-                    // 跳出switch语句
-                    break;
-            }
-        // 捕获所有异常
-        } catch (Exception e) {
-            // 打印错误信息到控制台
-            System.err.println("取消模块订单失败: orderType=" + orderType + ", moduleOrderId=" + moduleOrderId);
-            // 打印异常堆栈信息
-            e.printStackTrace();
-        }
-    }
-
     /**
      * 删除订单
      * 功能概述：根据订单号和用户编号从数据库中物理删除统一订单记录，检查订单是否存在、是否属于该用户、是否可以删除（使用事务管理）
@@ -401,8 +313,8 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
     // 删除订单方法，接收订单号和用户编号参数，返回是否删除成功
     public boolean deleteOrder(String orderNo, Integer userId) {
         // 检查订单是否存在且属于该用户
-        // 调用统一订单新Mapper的findByOrderNo方法，根据订单号查询订单信息
-        UnifiedOrderNew order = unifiedOrderNewMapper.findByOrderNo(orderNo);
+        // 调用统一订单新Mapper的lockByOrderNo方法，根据订单号锁定订单
+        UnifiedOrderNew order = unifiedOrderNewMapper.lockByOrderNo(orderNo);
         // 如果订单不存在或不属于该用户，返回false
         if (order == null || !order.getUserId().equals(userId)) {
             return false;
@@ -418,13 +330,268 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
         // 删除订单
         // 调用统一订单新Mapper的deleteOrder方法，根据订单号和用户编号物理删除订单记录，返回删除的记录数
         int result = unifiedOrderNewMapper.deleteOrder(orderNo, userId);
+        // 删除成功时计入用户订单统计
+        if (result > 0) {
+            // 从总数和所属状态中移出
+            userStatsService.orderDeleted(userId, order.getPaymentStatus());
+            // 最后追加删除事件，用户和状态取自已锁定的订单
+            orderEventJournal.appendDeleted(List.of(order));
+        }
+        // 记录写入，随后对该订单和该用户订单的查询走主库
+        readYourWrites.recordOrderWrite(orderNo, userId);
         // 如果删除记录数大于0，返回true表示删除成功，否则返回false
         return result > 0;
     }
 
+    /**
+     * 批量取消订单
+     * 功能概述：先不加锁筛出属于该用户的订单，再按主键锁定，不存在或不属于该用户的订单按"不存在或无权访问"返回；一条语句取消其中待支付的订单，
+     * 用户订单统计合并后一条语句累加，各模块订单按类型各一条语句同步，整批在一个事务中提交
+     * @param {List<String>} orderNos - 统一订单号列表
+     * @param {Integer} userId - 用户编号
+     * @return {List<Map<String, Object>>} 返回每个订单号的结果（orderNo、success、message）
+     */
+    // 重写接口中的cancelOrders方法
+    @Override
+    // 开启事务，整批取消的原子性
+    @Transactional
+    // 批量取消订单方法，接收订单号列表和用户编号参数，返回每个订单的结果
+    public List<Map<String, Object>> cancelOrders(List<String> orderNos, Integer userId) {
+        // 去重并校验数量
+        List<String> distinct = distinctOrderNos(orderNos);
+        // 只锁定属于该用户的订单
+        Map<String, UnifiedOrderNew> owned = lockOwnedOrders(distinct, userId);
+        // 可以取消的订单
+        List<UnifiedOrderNew> cancellable = new ArrayList<>();
+        for (UnifiedOrderNew order : owned.values()) {
+            if (order.canCancel()) {
+                cancellable.add(order);
+            }
+        }
+        // 有可以取消的订单时执行取消
+        if (!cancellable.isEmpty()) {
+            // 一条语句取消，订单已加锁，取消数与可取消数一致
+            unifiedOrderNewMapper.cancelOrders(orderNosOf(cancellable));
+            // 用户订单统计合并后一条语句累加
+            userStatsService.ordersStatusChanged(userId, statusesOf(cancellable), UnifiedOrderNew.STATUS_CANCELLED);
+            // 已取消的订单不再过期
+            orderExpiryStore.remove(orderNosOf(cancellable));
+            // 各模块订单按类型批量取消，失败时异常回滚整批取消
+            moduleOrderDispatcher.propagateCancelled(cancellable);
+            // 最后一条语句追加取消事件
+            orderEventJournal.append(orderNosOf(cancellable), OrderEvent.TYPE_CANCELLED);
+            // 记录写入，随后对这些订单和该用户订单的查询走主库
+            for (UnifiedOrderNew order : cancellable) {
+                readYourWrites.recordOrderWrite(order.getOrderNo(), userId);
+            }
+        }
+        // 已处理的订单号
+        Set<String> cancelledNos = new HashSet<>(orderNosOf(cancellable));
+        // 按请求顺序组装每个订单的结果
+        List<Map<String, Object>> outcomes = new ArrayList<>(distinct.size());
+        for (String orderNo : distinct) {
+            UnifiedOrderNew order = owned.get(orderNo);
+            if (order == null) {
+                outcomes.add(outcome(orderNo, false, "订单不存在或无权访问"));
+            } else if (cancelledNos.contains(orderNo)) {
+                outcomes.add(outcome(orderNo, true, "订单已取消"));
+            } else {
+                outcomes.add(outcome(orderNo, false, "订单当前状态不可取消"));
+            }
+        }
+        // 返回结果
+        return outcomes;
+    }
+
+    /**
+     * 批量删除订单
+     * 功能概述：先不加锁筛出属于该用户的订单，再按主键锁定，一条语句删除其中已取消的订单，用户订单统计合并后一条语句累加，整批在一个事务中提交
+     * @param {List<String>} orderNos - 统一订单号列表
+     * @param {Integer} userId - 用户编号
+     * @return {List<Map<String, Object>>} 返回每个订单号的结果（orderNo、success、message）
+     */
+    // 重写接口中的deleteOrders方法
+    @Override
+    // 开启事务，整批删除的原子性
+    @Transactional
+    // 批量删除订单方法，接收订单号列表和用户编号参数，返回每个订单的结果
+    public List<Map<String, Object>> deleteOrders(List<String> orderNos, Integer userId) {
+        // 去重并校验数量
+        List<String> distinct = distinctOrderNos(orderNos);
+        // 只锁定属于该用户的订单
+        Map<String, UnifiedOrderNew> owned = lockOwnedOrders(distinct, userId);
+        // 可以删除的订单
+        List<UnifiedOrderNew> deletable = new ArrayList<>();
+        for (UnifiedOrderNew order : owned.values()) {
+            if (order.canDelete()) {
+                deletable.add(order);
+            }
+        }
+        // 有可以删除的订单时执行删除
+        if (!deletable.isEmpty()) {
+            // 一条语句删除，订单已加锁，删除数与可删除数一致
+            unifiedOrderNewMapper.deleteOrders(orderNosOf(deletable), userId);
+            // 用户订单统计合并后一条语句累加
+            userStatsService.ordersDeleted(userId, statusesOf(deletable));
+            // 最后一条语句追加删除事件，用户和状态取自已锁定的订单
+            orderEventJournal.appendDeleted(deletable);
+            // 记录写入，随后对这些订单和该用户订单的查询走主库
+            for (UnifiedOrderNew order : deletable) {
+                readYourWrites.recordOrderWrite(order.getOrderNo(), userId);
+            }
+        }
+        // 已处理的订单号
+        Set<String> deletedNos = new HashSet<>(orderNosOf(deletable));
+        // 按请求顺序组装每个订单的结果
+        List<Map<String, Object>> outcomes = new ArrayList<>(distinct.size());
+        for (String orderNo : distinct) {
+            UnifiedOrderNew order = owned.get(orderNo);
+            if (order == null) {
+                outcomes.add(outcome(orderNo, false, "订单不存在或无权访问"));
+            } else if (deletedNos.contains(orderNo)) {
+                outcomes.add(outcome(orderNo, true, "订单已删除"));
+            } else {
+                outcomes.add(outcome(orderNo, false, "只有已取消的订单可以删除"));
+            }
+        }
+        // 返回结果
+        return outcomes;
+    }
+
+    /**
+     * 取消一批已过期的待支付订单
+     * 功能概述：一条IN查询锁定这批统一订单，再锁定其中已到过期时间的过期登记，加锁顺序与支付、取消一致；
+     * 一条语句取消仍待支付的订单，用户订单统计按用户合并累加，各模块订单按类型各一条语句取消，过期登记一条语句删除。
+     * 已支付或已取消的订单在支付、取消时已删除过期登记，不会被选中；多个实例同时处理同一批订单时由行锁串行，后到的找不到登记
+     * @param {List<String>} orderNos - 统一订单号列表
+     * @return {List<String>} 返回实际取消的订单号
+     */
+    // 重写接口中的expireOrders方法
+    @Override
+    // 开启事务，整批过期取消的原子性
+    @Transactional
+    // 取消过期订单方法，接收订单号列表参数，返回实际取消的订单号
+    public List<String> expireOrders(List<String> orderNos) {
+        // 没有订单时直接返回
+        if (orderNos == null || orderNos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // 先锁定统一订单，按订单号索引
+        Map<String, UnifiedOrderNew> locked = new HashMap<>();
+        for (UnifiedOrderNew order : unifiedOrderNewMapper.lockByOrderNos(orderNos)) {
+            locked.put(order.getOrderNo(), order);
+        }
+        // 再锁定按数据库当前时间已到过期时间的过期登记
+        List<String> dueNos = locked.isEmpty() ? new ArrayList<>()
+                : orderExpiryStore.lockExpired(new ArrayList<>(locked.keySet()));
+        // 仍待支付的过期订单
+        List<UnifiedOrderNew> expired = new ArrayList<>();
+        for (String orderNo : dueNos) {
+            UnifiedOrderNew order = locked.get(orderNo);
+            if (order != null && order.canCancel()) {
+                expired.add(order);
+            }
+        }
+        // 删除已到过期时间的登记（包括已离开待支付状态、残留的登记）
+        orderExpiryStore.remove(dueNos);
+        // 没有需要取消的订单时返回
+        if (expired.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // 一条语句取消，订单已加锁，取消数与过期数一致
+        List<String> expiredNos = orderNosOf(expired);
+        unifiedOrderNewMapper.cancelOrders(expiredNos);
+        // 按用户分组变化前的状态
+        Map<Integer, List<Integer>> statusesByUser = new HashMap<>();
+        for (UnifiedOrderNew order : expired) {
+            statusesByUser.computeIfAbsent(order.getUserId(), k -> new ArrayList<>()).add(order.getPaymentStatus());
+        }
+        // 用户订单统计按用户合并后累加
+        statusesByUser.forEach((userId, statuses) ->
+                userStatsService.ordersStatusChanged(userId, statuses, UnifiedOrderNew.STATUS_CANCELLED));
+        // 各模块订单按类型批量取消，释放模块订单占用的资源；失败时异常回滚本批，由时间轮下一次推进重试
+        moduleOrderDispatcher.propagateCancelled(expired);
+        // 最后一条语句追加取消事件
+        orderEventJournal.append(expiredNos, OrderEvent.TYPE_CANCELLED);
+        // 记录写入，随后对这些订单和用户订单的查询走主库
+        for (UnifiedOrderNew order : expired) {
+            readYourWrites.recordOrderWrite(order.getOrderNo(), order.getUserId());
+        }
+        // 返回实际取消的订单号
+        return expiredNos;
+    }
+
+    // 去掉空白和重复的订单号并保持请求顺序，超过批量上限时抛出异常
+    private List<String> distinctOrderNos(List<String> orderNos) {
+        // 去重后的订单号
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        if (orderNos != null) {
+            for (String orderNo : orderNos) {
+                if (orderNo != null && !orderNo.isBlank()) {
+                    distinct.add(orderNo.trim());
+                }
+            }
+        }
+        // 至少需要一个订单号
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("请选择订单");
+        }
+        // 超过批量上限时拒绝
+        if (distinct.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("一次最多处理" + bulkMaxSize + "个订单");
+        }
+        // 返回订单号列表
+        return new ArrayList<>(distinct);
+    }
+
+    // 先不加锁读出这批订单中属于该用户的主键，再只按这些主键加锁，其他用户的订单不会被锁定；按订单号索引
+    private Map<String, UnifiedOrderNew> lockOwnedOrders(List<String> orderNos, Integer userId) {
+        // 按订单号索引
+        Map<String, UnifiedOrderNew> owned = new HashMap<>();
+        // 属于该用户的订单主键
+        List<Integer> ids = unifiedOrderNewMapper.findOwnedIds(orderNos, userId);
+        // 没有属于该用户的订单时不加锁
+        if (ids.isEmpty()) {
+            return owned;
+        }
+        for (UnifiedOrderNew order : unifiedOrderNewMapper.lockByIdsAndUserId(ids, userId)) {
+            owned.put(order.getOrderNo(), order);
+        }
+        // 返回属于该用户的订单
+        return owned;
+    }
+
+    // 取出订单号
+    private List<String> orderNosOf(List<UnifiedOrderNew> orders) {
+        List<String> orderNos = new ArrayList<>(orders.size());
+        for (UnifiedOrderNew order : orders) {
+            orderNos.add(order.getOrderNo());
+        }
+        return orderNos;
+    }
+
+    // 取出变化前的状态
+    private List<Integer> statusesOf(List<UnifiedOrderNew> orders) {
+        List<Integer> statuses = new ArrayList<>(orders.size());
+        for (UnifiedOrderNew order : orders) {
+            statuses.add(order.getPaymentStatus());
+        }
+        return statuses;
+    }
+
+    // 单个订单的处理结果
+    private Map<String, Object> outcome(String orderNo, boolean success, String message) {
+        Map<String, Object> outcome = new LinkedHashMap<>();
+        outcome.put("orderNo", orderNo);
+        outcome.put("success", success);
+        outcome.put("message", message);
+        return outcome;
+    }
+
     /**
      * 获取订单统计
-     * 功能概述：调用Mapper层方法，根据用户编号统计该用户的订单信息（总订单数、待支付数、已支付数、已取消数等）
+     * 功能概述：从按用户汇总的统计表按主键读取一行（总订单数、待支付数、已支付数、已取消数等），不再对该用户的全部订单做汇总；
+     * 统计在订单写入的事务中累加，读主库，不受读库延迟影响；统计行不存在时需要在主库重建，因此不使用只读事务
      * @param {Integer} userId - 用户编号
      * @return {Map<String, Object>} 返回订单统计结果（包含总订单数、待支付数、已支付数、已取消数等）
      */
@@ -432,8 +599,8 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
     @Override
     // 获取订单统计方法，接收用户编号参数，返回订单统计结果
     public Map<String, Object> getOrderStats(Integer userId) {
-        // 调用统一订单新Mapper的getOrderStats方法，根据用户编号统计该用户的订单信息并返回
-        return unifiedOrderNewMapper.getOrderStats(userId);
+        // 调用用户统计服务读取该用户的订单统计并返回
+        return userStatsService.getOrderStats(userId);
     }
 
     /**
@@ -568,34 +735,52 @@ public class UnifiedOrderNewServiceImpl implements UnifiedOrderNewService {
     
     /**
      * 更新订单总金额
-     * 功能概述：调用Mapper层方法，根据订单号更新统一订单的总金额
+     * 功能概述：调用Mapper层方法，根据订单号更新统一订单的总金额，与修改事件在同一事务中提交
      * @param {String} orderNo - 统一订单号
      * @param {BigDecimal} totalAmount - 订单总金额
      * @return {boolean} 返回是否更新成功（true-成功，false-失败）
      */
     // 重写接口中的updateTotalAmount方法
     @Override
+    // 开启事务，金额和修改事件一起提交
+    @Transactional
     // 更新订单总金额方法，接收订单号和总金额参数，返回是否更新成功
     public boolean updateTotalAmount(String orderNo, BigDecimal totalAmount) {
         // 调用统一订单新Mapper的updateTotalAmount方法，根据订单号和总金额更新订单总金额，返回更新的记录数
         int result = unifiedOrderNewMapper.updateTotalAmount(orderNo, totalAmount);
+        // 订单仍在使用，延长过期时间
+        if (result > 0) {
+            orderExpiryStore.touch(orderNo);
+            // 追加修改事件，订单历史更新金额
+            orderEventJournal.append(List.of(orderNo), OrderEvent.TYPE_UPDATED);
+        }
+        // 记录写入，随后对该订单的查询走主库
+        readYourWrites.recordOrderWrite(orderNo, null);
         // 如果更新记录数大于0，返回true表示更新成功，否则返回false
         return result > 0;
     }
     
     /**
      * 更新模块订单ID
-     * 功能概述：调用Mapper层方法，根据订单号更新统一订单的模块订单编号
+     * 功能概述：调用Mapper层方法，根据订单号更新统一订单的模块订单编号，与修改事件在同一事务中提交
      * @param {String} orderNo - 统一订单号
      * @param {Integer} moduleOrderId - 模块订单编号
      * @return {boolean} 返回是否更新成功（true-成功，false-失败）
      */
     // 重写接口中的updateModuleOrderId方法
     @Override
+    // 开启事务，模块订单编号和修改事件一起提交
+    @Transactional
     // 更新模块订单ID方法，接收订单号和模块订单编号参数，返回是否更新成功
     public boolean updateModuleOrderId(String orderNo, Integer moduleOrderId) {
         // 调用统一订单新Mapper的updateModuleOrderId方法，根据订单号和模块订单编号更新订单的模块订单编号，返回更新的记录数
         int result = unifiedOrderNewMapper.updateModuleOrderId(orderNo, moduleOrderId);
+        // 追加修改事件，订单历史更新模块订单明细
+        if (result > 0) {
+            orderEventJournal.append(List.of(orderNo), OrderEvent.TYPE_UPDATED);
+        }
+        // 记录写入，随后对该订单的查询走主库
+        readYourWrites.recordOrderWrite(orderNo, null);
         // 如果更新记录数大于0，返回true表示更新成功，否则返回false
         return result > 0;
     }
@@ -0,0 +1,823 @@
+/**
+ * 用户统计服务实现类
+ * 功能概述：实现UserStatsService接口，缴费统计和订单统计保存在按用户汇总的计数表中，统计接口按主键读取一行；
+ * 账单新建、缴费、逾期以及订单新建、支付、取消、删除时，在业务事务中按增量累加，与明细同时提交或回滚；
+ * 统计行不存在时读取按明细汇总，不在读请求中写表；定期校对先为缺少统计行的用户补建，再按用户分段比较计数与明细，
+ * 修正因异常被吞掉、直接改库等原因产生的偏差；计数表不存在时统计接口退化为原来的汇总查询，增量不做任何操作
+ */
+// 定义包路径，标识该类属于com.icss.xihu.service.impl包
+package com.icss.xihu.service.impl;
+
+// 导入生活缴费Mapper接口
+import com.icss.xihu.mapper.PaymentMapper;
+// 导入统一订单新Mapper接口
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+// 导入用户统计Mapper接口
+import com.icss.xihu.mapper.UserStatsMapper;
+// 导入缴费账单实体类
+import com.icss.xihu.model.PaymentBill;
+// 导入用户缴费统计增量实体类
+import com.icss.xihu.model.PaymentStatsDelta;
+// 导入调度租约
+import com.icss.xihu.scheduling.SchedulerLease;
+// 导入调度租约管理器
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+// 导入用户统计服务接口
+import com.icss.xihu.service.UserStatsService;
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+// 导入Spring的自动注入注解
+import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的属性注入注解
+import org.springframework.beans.factory.annotation.Value;
+// 导入Spring的服务注解，标识该类为服务层组件
+import org.springframework.stereotype.Service;
+
+// 导入Bean初始化后回调注解
+import jakarta.annotation.PostConstruct;
+// 导入Bean销毁前回调注解
+import jakarta.annotation.PreDestroy;
+
+// 导入LocalDateTime类，用于表示日期和时间
+import java.time.LocalDateTime;
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Collection集合接口
+import java.util.Collection;
+// 导入LinkedHashMap类，保持插入顺序
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入TreeMap类，按用户编号排序
+import java.util.TreeMap;
+// 导入TreeSet类，按用户编号排序去重
+import java.util.TreeSet;
+// 导入执行器服务接口
+import java.util.concurrent.ExecutorService;
+// 导入执行器工具类
+import java.util.concurrent.Executors;
+// 导入任务被拒绝异常
+import java.util.concurrent.RejectedExecutionException;
+// 导入原子布尔类
+import java.util.concurrent.atomic.AtomicBoolean;
+// 导入高并发计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 用户统计服务实现类
+ * 功能概述：增量按用户编号排序后再累加，多个事务同时更新多个用户的统计行时加锁顺序一致；
+ * 重建用一条INSERT ... SELECT完成，对读到的明细行加共享锁，与修改明细的事务互斥，重建结果总是包含已提交的全部变化
+ */
+// 使用Spring的服务注解，标识该类为服务层组件，Spring容器会自动扫描并注册为Bean
+@Service
+// 用户统计服务实现类，实现UserStatsService接口
+public class UserStatsServiceImpl implements UserStatsService {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsServiceImpl.class);
+
+    // 校对的租约名称
+    private static final String LEASE_NAME = "user-stats-reconcile";
+    // 一条累加语句最多包含的用户数，每个用户7个参数
+    private static final int MAX_DELTAS_PER_STATEMENT = 1000;
+    // 校对每段最多的用户数上限
+    private static final int MAX_CHUNK_SIZE = 5000;
+
+    // 自动注入用户统计Mapper
+    @Autowired
+    // 用户统计Mapper对象
+    private UserStatsMapper userStatsMapper;
+
+    // 自动注入生活缴费Mapper
+    @Autowired
+    // 生活缴费Mapper对象，计数表不可用时使用原来的汇总查询
+    private PaymentMapper paymentMapper;
+
+    // 自动注入统一订单新Mapper
+    @Autowired
+    // 统一订单新Mapper对象，计数表不可用时使用原来的汇总查询
+    private UnifiedOrderNewMapper unifiedOrderNewMapper;
+
+    // 自动注入调度租约管理器
+    @Autowired
+    // 调度租约管理器对象，保证同一时刻只有一个实例在校对
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    // 校对每段的用户数，默认500
+    @Value("${user-stats.reconcile-chunk-size:500}")
+    // 每段用户数字段
+    private int chunkSize;
+
+    // 后台校对线程（单线程，守护线程，不阻止JVM退出）
+    private final ExecutorService reconcileExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        // 创建校对线程
+        Thread thread = new Thread(runnable, "user-stats-reconcile");
+        // 设置为守护线程
+        thread.setDaemon(true);
+        // 返回线程
+        return thread;
+    });
+
+    // 计数表是否可用
+    private volatile boolean available = false;
+    // 是否有校对在执行
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // 应用是否正在关闭，关闭时停止校对
+    private volatile boolean stopping = false;
+
+    // 统计行不存在、读取时按明细汇总的次数
+    private final LongAdder fallbacks = new LongAdder();
+    // 校对时补建的统计行数
+    private final LongAdder rebuilds = new LongAdder();
+    // 执行的累加语句数
+    private final LongAdder deltaStatements = new LongAdder();
+    // 作废的用户缴费统计数
+    private final LongAdder invalidations = new LongAdder();
+
+    // 当前（或最近一轮）校对的触发来源
+    private volatile String currentTrigger;
+    // 当前（或最近一轮）校对的开始时间
+    private volatile LocalDateTime currentStartTime;
+    // 当前（或最近一轮）校对已检查的统计行数
+    private final LongAdder currentChecked = new LongAdder();
+    // 当前（或最近一轮）校对已修正的统计行数
+    private final LongAdder currentRepaired = new LongAdder();
+    // 当前（或最近一轮）校对已补建的统计行数
+    private final LongAdder currentBuilt = new LongAdder();
+    // 上一轮校对的结果
+    private volatile Map<String, Object> lastResult;
+    // 上一次失败的错误信息
+    private volatile String lastError;
+
+    // 累计完成的校对轮数
+    private final LongAdder totalRuns = new LongAdder();
+    // 累计修正的统计行数
+    private final LongAdder totalRepaired = new LongAdder();
+
+    /**
+     * 检查计数表
+     * 功能概述：在应用启动时检查两张计数表是否存在，表由db/schema-user-stats.sql创建，应用运行时不修改表结构；
+     * 表不存在或检查失败时退化为原来的汇总查询
+     */
+    // Bean初始化后调用
+    @PostConstruct
+    // 检查计数表方法
+    public void init() {
+        // 使用try-catch捕获异常
+        try {
+            // 两张表都存在时标记可用
+            if (userStatsMapper.countTables() == 2) {
+                // 标记可用
+                available = true;
+            } else {
+                // 记录警告日志
+                logger.warn("缺少用户统计表，统计接口按明细汇总查询，请先执行 db/schema-user-stats.sql");
+            }
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 记录警告日志
+            logger.warn("检查用户统计表失败，统计接口按明细汇总查询：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取用户缴费统计
+     * 功能概述：按主键读取一行；统计行不存在时返回账单明细的汇总结果，不在读请求中写表，统计行由下一轮校对补建
+     * @param {Integer} userId - 用户编号
+     * @return {Map<String, Object>} 返回缴费统计
+     */
+    // 重写接口中的getPaymentStats方法
+    @Override
+    // 获取用户缴费统计方法
+    public Map<String, Object> getPaymentStats(Integer userId) {
+        // 计数表不可用时按明细汇总
+        if (!available) {
+            // 返回汇总结果
+            return paymentMapper.getPaymentStats(userId);
+        }
+        // 按主键读取
+        Map<String, Object> stats = userStatsMapper.findPaymentStats(userId);
+        // 统计行不存在时按明细汇总
+        if (stats == null) {
+            // 汇总次数加1
+            fallbacks.increment();
+            // 返回汇总结果
+            return paymentMapper.getPaymentStats(userId);
+        }
+        // 返回统计
+        return stats;
+    }
+
+    /**
+     * 获取用户订单统计
+     * 功能概述：按主键读取一行；统计行不存在时返回订单明细的汇总结果，不在读请求中写表，统计行由下一轮校对补建
+     * @param {Integer} userId - 用户编号
+     * @return {Map<String, Object>} 返回订单统计
+     */
+    // 重写接口中的getOrderStats方法
+    @Override
+    // 获取用户订单统计方法
+    public Map<String, Object> getOrderStats(Integer userId) {
+        // 计数表不可用时按明细汇总
+        if (!available) {
+            // 返回汇总结果
+            return unifiedOrderNewMapper.getOrderStats(userId);
+        }
+        // 按主键读取
+        Map<String, Object> stats = userStatsMapper.findOrderStats(userId);
+        // 统计行不存在时按明细汇总
+        if (stats == null) {
+            // 汇总次数加1
+            fallbacks.increment();
+            // 返回汇总结果
+            return unifiedOrderNewMapper.getOrderStats(userId);
+        }
+        // 返回统计
+        return stats;
+    }
+
+    /**
+     * 计入新建的账单
+     * 功能概述：每张账单计入总数和所属状态，按用户合并后累加
+     * @param {List<PaymentBill>} bills - 新建的账单
+     */
+    // 重写接口中的billsCreated方法
+    @Override
+    // 计入新建的账单方法
+    public void billsCreated(List<PaymentBill> bills) {
+        // 计数表不可用或没有账单时直接返回
+        if (!available || bills == null || bills.isEmpty()) {
+            // 返回
+            return;
+        }
+        // 按用户编号排序的增量
+        Map<Integer, PaymentStatsDelta> deltas = new TreeMap<>();
+        // 遍历账单
+        for (PaymentBill bill : bills) {
+            // 该用户的增量
+            PaymentStatsDelta delta = deltas.computeIfAbsent(bill.getUserId(), PaymentStatsDelta::new);
+            // 总数加1
+            delta.setTotalBills(delta.getTotalBills() + 1);
+            // 计入所属状态
+            delta.add(bill.getBillStatus(), bill.getBillAmount(), 1);
+        }
+        // 累加
+        applyPaymentDeltas(deltas);
+    }
+
+    /**
+     * 计入账单的状态变化
+     * 功能概述：每张账单从原状态移出、计入新状态，按用户合并后累加；状态未变的账单跳过
+     * @param {List<PaymentBill>} bills - 状态变化的账单
+     * @param {int} newStatus - 变化后的状态
+     */
+    // 重写接口中的billsChanged方法
+    @Override
+    // 计入账单的状态变化方法
+    public void billsChanged(List<PaymentBill> bills, int newStatus) {
+        // 计数表不可用或没有账单时直接返回
+        if (!available || bills == null || bills.isEmpty()) {
+            // 返回
+            return;
+        }
+        // 按用户编号排序的增量
+        Map<Integer, PaymentStatsDelta> deltas = new TreeMap<>();
+        // 遍历账单
+        for (PaymentBill bill : bills) {
+            // 状态未变时跳过
+            if (bill.getBillStatus() != null && bill.getBillStatus() == newStatus) {
+                // 继续下一张
+                continue;
+            }
+            // 该用户的增量
+            PaymentStatsDelta delta = deltas.computeIfAbsent(bill.getUserId(), PaymentStatsDelta::new);
+            // 从原状态移出
+            delta.add(bill.getBillStatus(), bill.getBillAmount(), -1);
+            // 计入新状态
+            delta.add(newStatus, bill.getBillAmount(), 1);
+        }
+        // 累加
+        applyPaymentDeltas(deltas);
+    }
+
+    /**
+     * 作废一批用户的缴费统计
+     * @param {Collection<Integer>} userIds - 用户编号
+     */
+    // 重写接口中的invalidatePaymentStats方法
+    @Override
+    // 作废一批用户的缴费统计方法
+    public void invalidatePaymentStats(Collection<Integer> userIds) {
+        // 计数表不可用或没有用户时直接返回
+        if (!available || userIds == null || userIds.isEmpty()) {
+            // 返回
+            return;
+        }
+        // 按用户编号排序去重
+        List<Integer> ids = new ArrayList<>(new TreeSet<>(userIds));
+        // 删除统计行
+        userStatsMapper.deletePaymentStats(ids);
+        // 累计作废数
+        invalidations.add(ids.size());
+    }
+
+    /**
+     * 计入新建的订单
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} status - 订单状态
+     */
+    // 重写接口中的orderCreated方法
+    @Override
+    // 计入新建的订单方法
+    public void orderCreated(Integer userId, Integer status) {
+        // 各项变化量
+        int[] delta = new int[5];
+        // 总数加1
+        delta[0] = 1;
+        // 计入所属状态
+        addOrderStatus(delta, status, 1);
+        // 累加
+        applyOrderDelta(userId, delta);
+    }
+
+    /**
+     * 计入订单的状态变化
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} fromStatus - 变化前的状态
+     * @param {Integer} toStatus - 变化后的状态
+     */
+    // 重写接口中的orderStatusChanged方法
+    @Override
+    // 计入订单的状态变化方法
+    public void orderStatusChanged(Integer userId, Integer fromStatus, Integer toStatus) {
+        // 状态未变时直接返回
+        if (fromStatus != null && fromStatus.equals(toStatus)) {
+            // 返回
+            return;
+        }
+        // 各项变化量
+        int[] delta = new int[5];
+        // 从原状态移出
+        addOrderStatus(delta, fromStatus, -1);
+        // 计入新状态
+        addOrderStatus(delta, toStatus, 1);
+        // 累加
+        applyOrderDelta(userId, delta);
+    }
+
+    /**
+     * 计入删除的订单
+     * @param {Integer} userId - 用户编号
+     * @param {Integer} status - 删除前的状态
+     */
+    // 重写接口中的orderDeleted方法
+    @Override
+    // 计入删除的订单方法
+    public void orderDeleted(Integer userId, Integer status) {
+        // 各项变化量
+        int[] delta = new int[5];
+        // 总数减1
+        delta[0] = -1;
+        // 从所属状态移出
+        addOrderStatus(delta, status, -1);
+        // 累加
+        applyOrderDelta(userId, delta);
+    }
+
+    /**
+     * 计入同一用户一批订单的状态变化
+     * @param {Integer} userId - 用户编号
+     * @param {List<Integer>} fromStatuses - 各订单变化前的状态
+     * @param {Integer} toStatus - 变化后的状态
+     */
+    // 重写接口中的ordersStatusChanged方法
+    @Override
+    // 计入一批订单的状态变化方法
+    public void ordersStatusChanged(Integer userId, List<Integer> fromStatuses, Integer toStatus) {
+        // 各项变化量
+        int[] delta = new int[5];
+        // 逐个订单从原状态移到新状态，状态未变的自然抵消
+        for (Integer fromStatus : fromStatuses) {
+            addOrderStatus(delta, fromStatus, -1);
+            addOrderStatus(delta, toStatus, 1);
+        }
+        // 合并后一条语句累加
+        applyOrderDelta(userId, delta);
+    }
+
+    /**
+     * 计入同一用户删除的一批订单
+     * @param {Integer} userId - 用户编号
+     * @param {List<Integer>} statuses - 各订单删除前的状态
+     */
+    // 重写接口中的ordersDeleted方法
+    @Override
+    // 计入删除的一批订单方法
+    public void ordersDeleted(Integer userId, List<Integer> statuses) {
+        // 各项变化量
+        int[] delta = new int[5];
+        // 总数减去删除的订单数
+        delta[0] = -statuses.size();
+        // 逐个订单从所属状态移出
+        for (Integer status : statuses) {
+            addOrderStatus(delta, status, -1);
+        }
+        // 合并后一条语句累加
+        applyOrderDelta(userId, delta);
+    }
+
+    /**
+     * 在后台启动一轮校对
+     * @param {String} trigger - 触发来源
+     * @return {boolean} 已启动返回true，已有校对在执行返回false
+     */
+    // 重写接口中的startReconcile方法
+    @Override
+    // 在后台启动校对方法
+    public boolean startReconcile(String trigger) {
+        // 已有校对在执行时不重复启动
+        if (!running.compareAndSet(false, true)) {
+            // 返回未启动
+            return false;
+        }
+        // 使用try-catch处理应用关闭后无法提交的情况
+        try {
+            // 提交到后台线程
+            reconcileExecutor.execute(() -> runReconcile(trigger));
+            // 返回已启动
+            return true;
+        // 捕获任务被拒绝异常
+        } catch (RejectedExecutionException e) {
+            // 释放执行标记
+            running.set(false);
+            // 返回未启动
+            return false;
+        }
+    }
+
+    /**
+     * 在当前线程执行一轮校对
+     * @param {String} trigger - 触发来源
+     * @return {Map<String, Object>} 返回检查的用户数、修正的用户数和耗时
+     */
+    // 重写接口中的reconcile方法
+    @Override
+    // 执行校对方法
+    public Map<String, Object> reconcile(String trigger) {
+        // 已有校对在执行时直接返回
+        if (!running.compareAndSet(false, true)) {
+            // 创建结果Map
+            Map<String, Object> result = new LinkedHashMap<>();
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置提示消息
+            result.put("message", "已有用户统计校对在执行");
+            // 返回结果
+            return result;
+        }
+        // 执行校对
+        return runReconcile(trigger);
+    }
+
+    /**
+     * 获取统计信息
+     * @return {Map<String, Object>} 返回统计表是否可用、重建次数、校对进度和上一轮校对结果
+     */
+    // 重写接口中的getStats方法
+    @Override
+    // 获取统计信息方法
+    public Map<String, Object> getStats() {
+        // 统计信息
+        Map<String, Object> stats = progress();
+        // 计数表是否可用
+        stats.put("available", available);
+        // 是否有校对在执行
+        stats.put("running", running.get());
+        // 每段用户数
+        stats.put("chunkSize", chunkSize);
+        // 统计行不存在、读取时按明细汇总的次数
+        stats.put("fallbacks", fallbacks.sum());
+        // 校对时补建的统计行数
+        stats.put("rebuilds", rebuilds.sum());
+        // 执行的累加语句数
+        stats.put("deltaStatements", deltaStatements.sum());
+        // 作废的用户缴费统计数
+        stats.put("invalidations", invalidations.sum());
+        // 累计完成的校对轮数
+        stats.put("totalRuns", totalRuns.sum());
+        // 累计修正的统计行数
+        stats.put("totalRepaired", totalRepaired.sum());
+        // 上一轮校对的结果
+        stats.put("lastResult", lastResult);
+        // 上一次失败的错误信息
+        stats.put("lastError", lastError);
+        // 返回统计信息
+        return stats;
+    }
+
+    /**
+     * 停止校对
+     * 功能概述：应用关闭时停止后台校对，当前段结束后退出
+     */
+    // Bean销毁前调用
+    @PreDestroy
+    // 停止校对方法
+    public void shutdown() {
+        // 标记正在关闭
+        stopping = true;
+        // 关闭后台线程
+        reconcileExecutor.shutdownNow();
+    }
+
+    // 执行一轮校对，调用前已设置执行标记，结束后释放
+    private Map<String, Object> runReconcile(String trigger) {
+        // 使用try-catch-finally记录失败并释放执行标记
+        try {
+            // 执行校对
+            Map<String, Object> result = doReconcile(trigger);
+            // 保存本轮结果
+            lastResult = result;
+            // 返回结果
+            return result;
+        // 捕获所有运行时异常
+        } catch (RuntimeException e) {
+            // 记录错误信息
+            lastError = LocalDateTime.now() + " " + e.getMessage();
+            // 记录错误日志，已修正的用户保留，下一轮重新检查
+            logger.error("用户统计校对失败（触发来源：{}，已修正 {} 个）", trigger, currentRepaired.sum(), e);
+            // 创建结果Map
+            Map<String, Object> result = progress();
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置错误消息
+            result.put("message", "用户统计校对失败：" + e.getMessage());
+            // 保存本轮结果
+            lastResult = result;
+            // 返回结果
+            return result;
+        } finally {
+            // 释放执行标记
+            running.set(false);
+        }
+    }
+
+    // 校对主体：取得租约后先校对缴费统计，再校对订单统计
+    private Map<String, Object> doReconcile(String trigger) {
+        // 计数表不可用时不校对
+        if (!available) {
+            // 创建结果Map
+            Map<String, Object> result = new LinkedHashMap<>();
+            // 设置返回结果为失败
+            result.put("success", false);
+            // 设置提示消息
+            result.put("message", "用户统计表不可用");
+            // 返回结果
+            return result;
+        }
+        // 记录开始时间
+        long start = System.currentTimeMillis();
+        // 重置本轮进度
+        currentTrigger = trigger;
+        // 记录开始时间
+        currentStartTime = LocalDateTime.now();
+        // 重置检查数
+        currentChecked.reset();
+        // 重置修正数
+        currentRepaired.reset();
+        // 重置补建数
+        currentBuilt.reset();
+        // 校对租约，租约表不可用时按单实例模式执行
+        SchedulerLease lease = null;
+        // 租约表可用时尝试获得
+        if (schedulerLeaseManager.isAvailable()) {
+            // 尝试获得租约
+            lease = schedulerLeaseManager.tryAcquire(LEASE_NAME);
+            // 被其他实例持有时不执行
+            if (lease == null) {
+                // 创建结果Map
+                Map<String, Object> result = progress();
+                // 设置返回结果为失败
+                result.put("success", false);
+                // 设置提示消息
+                result.put("message", "用户统计正在由其他实例校对");
+                // 返回结果
+                return result;
+            }
+        }
+        // 本轮是否完整执行
+        boolean completed;
+        // 使用try-finally保证释放租约
+        try {
+            // 补建并校对缴费统计，完成后补建并校对订单统计
+            completed = buildMissing(true, lease) && reconcileTable(true, lease)
+                    && buildMissing(false, lease) && reconcileTable(false, lease);
+        } finally {
+            // 持有租约时释放
+            if (lease != null) {
+                // 释放租约
+                schedulerLeaseManager.release(lease);
+            }
+        }
+        // 完成轮数加1
+        totalRuns.increment();
+        // 创建结果Map
+        Map<String, Object> result = progress();
+        // 设置返回结果
+        result.put("success", completed);
+        // 设置提示消息
+        result.put("message", completed ? "用户统计校对完成" : "用户统计校对中止，下一轮重新检查");
+        // 本轮耗时（毫秒）
+        result.put("elapsedMs", System.currentTimeMillis() - start);
+        // 记录日志
+        logger.info("用户统计校对结束（触发来源：{}）：补建 {} 行，检查 {} 行，修正 {} 行，耗时 {} ms",
+                trigger, currentBuilt.sum(), currentChecked.sum(), currentRepaired.sum(), System.currentTimeMillis() - start);
+        // 返回结果
+        return result;
+    }
+
+    // 按用户编号分段为有明细但没有统计行的用户补建统计行；应用关闭或失去租约时返回false
+    private boolean buildMissing(boolean payment, SchedulerLease lease) {
+        // 每段用户数
+        int limit = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        // 上一段最后一个用户编号
+        int afterUserId = 0;
+        // 逐段补建
+        while (true) {
+            // 应用关闭时停止
+            if (stopping) {
+                // 返回未完成
+                return false;
+            }
+            // 持有租约时每段续约，失去租约时停止
+            if (lease != null && !schedulerLeaseManager.renew(lease)) {
+                // 返回未完成
+                return false;
+            }
+            // 本段缺少统计行的用户
+            List<Integer> missing = payment
+                    ? userStatsMapper.findUsersMissingPaymentStats(afterUserId, limit)
+                    : userStatsMapper.findUsersMissingOrderStats(afterUserId, limit);
+            // 没有更多用户时结束
+            if (missing.isEmpty()) {
+                // 返回已完成
+                return true;
+            }
+            // 逐个重建，每个用户自动提交一次，共享锁只覆盖该用户的明细行
+            for (Integer userId : missing) {
+                // 按表重建
+                if (payment) {
+                    // 重建缴费统计
+                    userStatsMapper.rebuildPaymentStats(userId);
+                } else {
+                    // 重建订单统计
+                    userStatsMapper.rebuildOrderStats(userId);
+                }
+            }
+            // 累加补建数
+            currentBuilt.add(missing.size());
+            // 累计补建数
+            rebuilds.add(missing.size());
+            // 记录本段最后一个用户编号
+            afterUserId = missing.get(missing.size() - 1);
+        }
+    }
+
+    // 按用户编号分段校对一张计数表，不一致的用户从明细重建；应用关闭或失去租约时返回false
+    private boolean reconcileTable(boolean payment, SchedulerLease lease) {
+        // 每段用户数
+        int limit = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        // 上一段最后一个用户编号
+        int afterUserId = 0;
+        // 逐段校对
+        while (true) {
+            // 应用关闭时停止
+            if (stopping) {
+                // 返回未完成
+                return false;
+            }
+            // 持有租约时每段续约，失去租约时停止
+            if (lease != null && !schedulerLeaseManager.renew(lease)) {
+                // 返回未完成
+                return false;
+            }
+            // 本段的用户
+            List<Integer> userIds = payment
+                    ? userStatsMapper.findPaymentStatsUserIds(afterUserId, limit)
+                    : userStatsMapper.findOrderStatsUserIds(afterUserId, limit);
+            // 没有更多用户时结束
+            if (userIds.isEmpty()) {
+                // 返回已完成
+                return true;
+            }
+            // 不一致的用户
+            List<Integer> drifted = payment
+                    ? userStatsMapper.findPaymentStatsDrift(userIds)
+                    : userStatsMapper.findOrderStatsDrift(userIds);
+            // 逐个重建，每个用户自动提交一次；比较时恰好有事务提交造成的误判也只是多重建一次
+            for (Integer userId : drifted) {
+                // 按表重建
+                if (payment) {
+                    // 重建缴费统计
+                    userStatsMapper.rebuildPaymentStats(userId);
+                } else {
+                    // 重建订单统计
+                    userStatsMapper.rebuildOrderStats(userId);
+                }
+            }
+            // 累加检查数
+            currentChecked.add(userIds.size());
+            // 累加修正数
+            currentRepaired.add(drifted.size());
+            // 累计修正数
+            totalRepaired.add(drifted.size());
+            // 有修正时记录日志
+            if (!drifted.isEmpty()) {
+                // 记录警告日志
+                logger.warn("用户{}统计与明细不一致，已重建：{}", payment ? "缴费" : "订单", drifted);
+            }
+            // 记录本段最后一个用户编号
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+    }
+
+    // 按用户编号顺序分批执行缴费统计的累加语句，跳过没有变化的用户
+    private void applyPaymentDeltas(Map<Integer, PaymentStatsDelta> deltas) {
+        // 本条语句的增量
+        List<PaymentStatsDelta> batch = new ArrayList<>();
+        // 按用户编号顺序遍历
+        for (PaymentStatsDelta delta : deltas.values()) {
+            // 没有变化时跳过
+            if (delta.isEmpty()) {
+                // 继续下一个
+                continue;
+            }
+            // 加入本条语句
+            batch.add(delta);
+            // 达到上限时执行
+            if (batch.size() >= MAX_DELTAS_PER_STATEMENT) {
+                // 累加
+                userStatsMapper.applyPaymentDeltas(batch);
+                // 语句数加1
+                deltaStatements.increment();
+                // 开始下一条语句
+                batch = new ArrayList<>();
+            }
+        }
+        // 执行剩余的增量
+        if (!batch.isEmpty()) {
+            // 累加
+            userStatsMapper.applyPaymentDeltas(batch);
+            // 语句数加1
+            deltaStatements.increment();
+        }
+    }
+
+    // 计入订单状态：0待支付、1已支付、2已取消、3已完成，其他状态（如4已退款）只计入总数
+    private void addOrderStatus(int[] delta, Integer status, int sign) {
+        // 状态在0-3之间时计入对应的项
+        if (status != null && status >= 0 && status <= 3) {
+            // 对应项加上变化量
+            delta[status + 1] += sign;
+        }
+    }
+
+    // 执行订单统计的累加语句，计数表不可用或没有变化时跳过
+    private void applyOrderDelta(Integer userId, int[] delta) {
+        // 计数表不可用或用户为空时直接返回
+        if (!available || userId == null) {
+            // 返回
+            return;
+        }
+        // 没有变化时直接返回
+        if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0 && delta[3] == 0 && delta[4] == 0) {
+            // 返回
+            return;
+        }
+        // 累加
+        userStatsMapper.applyOrderDelta(userId, delta[0], delta[1], delta[2], delta[3], delta[4]);
+        // 语句数加1
+        deltaStatements.increment();
+    }
+
+    // 当前（或最近一轮）校对的进度
+    private Map<String, Object> progress() {
+        // 进度信息
+        Map<String, Object> progress = new LinkedHashMap<>();
+        // 触发来源
+        progress.put("trigger", currentTrigger);
+        // 开始时间
+        progress.put("startTime", currentStartTime == null ? null : currentStartTime.toString());
+        // 已检查的统计行数
+        progress.put("checked", currentChecked.sum());
+        // 已修正的统计行数
+        progress.put("repaired", currentRepaired.sum());
+        // 已补建的统计行数
+        progress.put("built", currentBuilt.sum());
+        // 返回进度信息
+        return progress;
+    }
+}
@@ -0,0 +1,65 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.BillDueWheelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 账单到期时间轮任务
+ * 功能概述：应用启动后先把停机期间已过到期时刻的待缴费账单更新为逾期，再装载未来若干天内到期的待缴费账单，
+ * 之后按tick-ms推进时间轮，在到期时刻把账单更新为逾期，并按reload-interval-ms定期装载，使进入装载范围的账单（包括账期生成的新账单）被登记
+ */
+@Component
+public class BillDueWheelTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(BillDueWheelTask.class);
+
+    @Autowired
+    private BillDueWheelService billDueWheelService;
+
+    /**
+     * 应用启动时装载即将到期的账单
+     * 功能概述：已过到期时刻的待缴费账单立即更新为逾期，再读取装载范围内的待缴费账单，范围查询落在(bill_status, due_date, id)索引上
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initBillDueWheel() {
+        try {
+            logger.info("应用启动：开始装载账单到期时间轮...");
+            logger.info("应用启动：账单到期时间轮装载完成：{}", billDueWheelService.reload());
+        } catch (Exception e) {
+            logger.error("应用启动：装载账单到期时间轮失败", e);
+        }
+    }
+
+    /**
+     * 推进时间轮
+     * 功能概述：按bill-due-wheel.tick-ms配置的间隔推进（默认1秒），没有到期账单时不访问数据库
+     */
+    @Scheduled(fixedDelayString = "${bill-due-wheel.tick-ms:1000}")
+    public void tick() {
+        try {
+            billDueWheelService.advance();
+        } catch (Exception e) {
+            logger.error("推进账单到期时间轮失败", e);
+        }
+    }
+
+    /**
+     * 定期装载即将到期的账单
+     * 功能概述：按bill-due-wheel.reload-interval-ms配置的间隔装载（默认10分钟），已登记的账单跳过
+     */
+    @Scheduled(initialDelayString = "${bill-due-wheel.reload-interval-ms:600000}",
+            fixedDelayString = "${bill-due-wheel.reload-interval-ms:600000}")
+    public void reloadBillDueWheel() {
+        try {
+            billDueWheelService.reload();
+        } catch (Exception e) {
+            logger.error("定期装载账单到期时间轮失败", e);
+        }
+    }
+}
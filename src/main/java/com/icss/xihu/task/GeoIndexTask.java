@@ -0,0 +1,51 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.GeoIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 地理位置索引定时任务
+ * 功能概述：应用启动后构建景点、酒店、餐厅的内存网格索引，并按配置的间隔定期重建，使新增或修改的坐标生效
+ */
+@Component
+public class GeoIndexTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoIndexTask.class);
+
+    @Autowired
+    private GeoIndexService geoIndexService;
+
+    /**
+     * 应用启动时构建索引
+     * 功能概述：在Spring应用完全启动后立即构建一次索引，构建完成前附近查询返回空结果
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initGeoIndex() {
+        try {
+            logger.info("应用启动：开始构建地理位置索引...");
+            geoIndexService.rebuild();
+        } catch (Exception e) {
+            logger.error("应用启动：构建地理位置索引失败", e);
+        }
+    }
+
+    /**
+     * 定期重建索引
+     * 功能概述：按geo-index.refresh-interval-ms配置的间隔重建索引（默认10分钟）
+     */
+    @Scheduled(initialDelayString = "${geo-index.refresh-interval-ms:600000}",
+            fixedDelayString = "${geo-index.refresh-interval-ms:600000}")
+    public void refreshGeoIndex() {
+        try {
+            geoIndexService.rebuild();
+        } catch (Exception e) {
+            logger.error("定期重建地理位置索引失败", e);
+        }
+    }
+}
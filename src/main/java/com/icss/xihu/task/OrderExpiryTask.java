@@ -0,0 +1,68 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.OrderExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单过期任务
+ * 功能概述：应用启动后补登记一次尚未登记的待支付订单，再装载即将过期的订单（重启前登记的订单从order_expiry表恢复），
+ * 之后按tick-ms推进时间轮，在过期时刻自动取消仍未支付的订单，并按reload-interval-ms定期装载，使进入装载范围的订单被登记；
+ * 定期装载只按索引读取order_expiry表，不再扫描统一订单表，在应用之外新建的订单在下一次启动或手动补登记时登记
+ */
+@Component
+public class OrderExpiryTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpiryTask.class);
+
+    @Autowired
+    private OrderExpiryService orderExpiryService;
+
+    /**
+     * 应用启动时装载即将过期的订单
+     * 功能概述：先补登记尚未登记的待支付订单（其他实例正在补登记时跳过），再读取装载范围内的过期登记，
+     * 停机期间已过期的订单在第一次推进时取消
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initOrderExpiry() {
+        try {
+            logger.info("应用启动：开始装载订单过期时间轮...");
+            logger.info("应用启动：订单过期补登记完成：{}", orderExpiryService.backfill());
+            logger.info("应用启动：订单过期时间轮装载完成：{}", orderExpiryService.reload());
+        } catch (Exception e) {
+            logger.error("应用启动：装载订单过期时间轮失败", e);
+        }
+    }
+
+    /**
+     * 推进时间轮
+     * 功能概述：按order-expiry.tick-ms配置的间隔推进（默认1秒），没有过期订单时不访问数据库
+     */
+    @Scheduled(fixedDelayString = "${order-expiry.tick-ms:1000}")
+    public void tick() {
+        try {
+            orderExpiryService.advance();
+        } catch (Exception e) {
+            logger.error("推进订单过期时间轮失败", e);
+        }
+    }
+
+    /**
+     * 定期装载即将过期的订单
+     * 功能概述：按order-expiry.reload-interval-ms配置的间隔装载（默认1分钟），已登记的订单跳过
+     */
+    @Scheduled(initialDelayString = "${order-expiry.reload-interval-ms:60000}",
+            fixedDelayString = "${order-expiry.reload-interval-ms:60000}")
+    public void reloadOrderExpiry() {
+        try {
+            orderExpiryService.reload();
+        } catch (Exception e) {
+            logger.error("定期装载订单过期时间轮失败", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.OrderHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单历史投影任务
+ * 功能概述：应用启动后为还没有订单历史的统一订单补投影，之后按poll-ms读取新的订单事件并更新订单历史读模型
+ */
+@Component
+public class OrderHistoryTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderHistoryTask.class);
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    /**
+     * 应用启动时补投影
+     * 功能概述：事件日志上线之前创建的订单没有事件，按统一订单主键分段投影，已有订单历史的订单跳过
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initOrderHistory() {
+        try {
+            logger.info("应用启动：开始补投影订单历史...");
+            logger.info("应用启动：订单历史补投影完成：{}", orderHistoryService.backfill());
+        } catch (Exception e) {
+            logger.error("应用启动：补投影订单历史失败", e);
+        }
+    }
+
+    /**
+     * 投影新事件
+     * 功能概述：按order-history.poll-ms配置的间隔执行（默认1秒），只有持有投影租约的实例投影，没有新事件和缺口时只执行一次按主键的查询
+     */
+    @Scheduled(fixedDelayString = "${order-history.poll-ms:1000}")
+    public void projectOrderHistory() {
+        try {
+            orderHistoryService.project();
+        } catch (Exception e) {
+            logger.error("投影订单历史失败", e);
+        }
+    }
+}
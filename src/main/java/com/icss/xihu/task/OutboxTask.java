@@ -0,0 +1,52 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 发件箱分发任务
+ * 功能概述：按tick-ms检查统一订单发件箱，支付提交后的模块订单同步和支付通知在下一次检查时交给各自类型的分发线程处理，
+ * 失败的消息按退避时间重试；每天清理过期的已完成消息
+ */
+@Component
+public class OutboxTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxTask.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * 分发到期的消息
+     * 功能概述：按outbox.tick-ms配置的间隔执行（默认200毫秒），没有新消息且未到扫描间隔时只读取内存中的标记；
+     * 只唤醒分发线程，不等待处理完成，逐条发送的短信不占用调度线程
+     */
+    @Scheduled(fixedDelayString = "${outbox.tick-ms:200}")
+    public void dispatchOutbox() {
+        try {
+            outboxService.dispatch();
+        } catch (Exception e) {
+            logger.error("分发发件箱消息失败", e);
+        }
+    }
+
+    /**
+     * 清理已完成的消息
+     * 执行频率：outbox.purge-cron配置（cron表达式：秒 分 时 日 月 周），默认每天凌晨4点15分
+     */
+    @Scheduled(cron = "${outbox.purge-cron:0 15 4 * * ?}") // 默认每天凌晨4点15分执行
+    public void purgeOutbox() {
+        try {
+            int purged = outboxService.purge();
+            if (purged > 0) {
+                logger.info("清理已完成的发件箱消息 {} 条", purged);
+            }
+        } catch (Exception e) {
+            logger.error("清理发件箱消息失败", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.icss.xihu.task;
 
-import com.icss.xihu.mapper.PaymentMapper;
+import com.icss.xihu.service.BillingCycleService;
+import com.icss.xihu.service.OverdueBillSweepService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,9 +10,14 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.YearMonth;
+
 /**
  * 生活缴费定时任务
- * 功能概述：定期自动更新过期账单状态，将状态为0（待缴费）且到期日期已过的账单更新为2（逾期）
+ * 功能概述：定期自动更新过期账单状态，将状态为0（待缴费）且到期日期已过的账单更新为2（逾期）；
+ * 更新由OverdueBillSweepService在后台线程中分批执行，任务本身立即返回；
+ * 多个实例部署时每个实例都会触发，各实例按调度租约领取不同的账单分片，同一分片不会被两个实例同时执行；
+ * 每月初由BillingCycleService为所有有效账户生成上个月的账单
  */
 @Component
 public class PaymentTask {
@@ -19,39 +25,54 @@ public class PaymentTask {
     private static final Logger logger = LoggerFactory.getLogger(PaymentTask.class);
     
     @Autowired
-    private PaymentMapper paymentMapper;
+    private OverdueBillSweepService overdueBillSweepService;
+    
+    @Autowired
+    private BillingCycleService billingCycleService;
     
     /**
-     * 应用启动时立即执行一次更新过期账单
-     * 功能概述：在Spring应用完全启动后立即执行，确保应用启动时过期账单状态是最新的
+     * 应用启动时在后台更新过期账单
+     * 功能概述：在Spring应用完全启动后启动一轮扫描，不等待扫描完成；上次未完成的扫描从检查点继续
      */
     @EventListener(ApplicationReadyEvent.class)
     public void initUpdateOverdueBills() {
         try {
-            logger.info("应用启动：开始执行初始更新过期账单状态任务...");
-            // 更新所有用户的过期账单（userId为null表示更新所有用户）
-            int updatedCount = paymentMapper.updateOverdueBills(null);
-            logger.info("应用启动：初始更新过期账单状态完成，共更新 {} 条账单", updatedCount);
+            boolean started = overdueBillSweepService.startSweep("startup");
+            logger.info("应用启动：{}", started ? "已在后台启动过期账单扫描" : "已有过期账单扫描在执行");
         } catch (Exception e) {
-            logger.error("应用启动：初始更新过期账单状态失败", e);
+            logger.error("应用启动：启动过期账单扫描失败", e);
         }
     }
     
     /**
      * 自动更新过期账单状态
-     * 功能概述：每天凌晨2点执行，将所有过期账单的状态从0（待缴费）更新为2（逾期）
-     * 执行频率：每天执行一次（cron表达式：秒 分 时 日 月 周）
+     * 功能概述：默认每天凌晨2点在后台启动一轮扫描，将所有过期账单的状态从0（待缴费）分批更新为2（逾期）
+     * 执行频率：overdue-sweep.cron配置（cron表达式：秒 分 时 日 月 周）
      */
-    @Scheduled(cron = "0 0 2 * * ?") // 每天凌晨2点执行
+    @Scheduled(cron = "${overdue-sweep.cron:0 0 2 * * ?}") // 默认每天凌晨2点执行
     public void updateOverdueBills() {
         try {
-            logger.info("开始执行自动更新过期账单状态任务...");
-            // 更新所有用户的过期账单（userId为null表示更新所有用户）
-            int updatedCount = paymentMapper.updateOverdueBills(null);
-            logger.info("自动更新过期账单状态完成，共更新 {} 条账单", updatedCount);
+            if (!overdueBillSweepService.startSweep("schedule")) {
+                logger.warn("上一轮过期账单扫描仍在执行，本次跳过");
+            }
         } catch (Exception e) {
-            logger.error("自动更新过期账单状态失败", e);
+            logger.error("启动过期账单扫描失败", e);
+        }
+    }
+    
+    /**
+     * 生成上个月的账单
+     * 功能概述：在后台为所有有效账户生成上个月的账单，已生成的账单不会重复生成
+     * 执行频率：billing-cycle.cron配置（cron表达式：秒 分 时 日 月 周），默认关闭（"-"），需要按月自动生成时配置如"0 0 1 1 * ?"
+     */
+    @Scheduled(cron = "${billing-cycle.cron:-}") // 默认关闭，可通过/admin/billingCycle/run手动执行
+    public void generateMonthlyBills() {
+        try {
+            if (!billingCycleService.startGeneration(YearMonth.now().minusMonths(1), "schedule")) {
+                logger.warn("上一轮账期账单生成仍在执行，本次跳过");
+            }
+        } catch (Exception e) {
+            logger.error("启动账期账单生成失败", e);
         }
     }
 }
-
@@ -0,0 +1,57 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.PriceIndexService;
+import com.icss.xihu.service.RestaurantFacetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 价格字段同步任务
+ * 功能概述：应用启动后把餐厅和景点的price_range文本解析回填到price_min、price_max字段，
+ * 之后按配置的间隔定期同步，使后台修改过的价格文本生效
+ */
+@Component
+public class PriceIndexTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceIndexTask.class);
+
+    @Autowired
+    private PriceIndexService priceIndexService;
+
+    @Autowired
+    private RestaurantFacetService restaurantFacetService;
+
+    /**
+     * 应用启动时同步价格字段
+     * 功能概述：启动时的数据修正（DatabaseChineseUpdater）已在此之前完成；同步后重建餐厅筛选目录，使其使用数值字段
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initPriceIndex() {
+        try {
+            logger.info("应用启动：开始同步价格字段...");
+            priceIndexService.syncPriceColumns();
+            restaurantFacetService.rebuild();
+        } catch (Exception e) {
+            logger.error("应用启动：同步价格字段失败", e);
+        }
+    }
+
+    /**
+     * 定期同步价格字段
+     * 功能概述：按price-index.refresh-interval-ms配置的间隔同步（默认1小时），只回填有变化的记录
+     */
+    @Scheduled(initialDelayString = "${price-index.refresh-interval-ms:3600000}",
+            fixedDelayString = "${price-index.refresh-interval-ms:3600000}")
+    public void refreshPriceIndex() {
+        try {
+            priceIndexService.syncPriceColumns();
+        } catch (Exception e) {
+            logger.error("定期同步价格字段失败", e);
+        }
+    }
+}
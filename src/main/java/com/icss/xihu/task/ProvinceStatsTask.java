@@ -0,0 +1,74 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.config.ProvinceStatsConfig;
+import com.icss.xihu.service.ProvinceStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 省份热力统计定时任务
+ * 功能概述：应用启动后全量计算一次省份统计，之后按间隔增量刷新新增订单和景点变更，并定期全量重算修正误差
+ */
+@Component
+public class ProvinceStatsTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProvinceStatsTask.class);
+
+    @Autowired
+    private ProvinceStatsService provinceStatsService;
+
+    @Autowired
+    private ProvinceStatsConfig provinceStatsConfig;
+
+    /**
+     * 应用启动时全量计算
+     * 功能概述：在Spring应用完全启动后预先计算并序列化省份数据，使首次打开地图无需等待
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initProvinceStats() {
+        try {
+            logger.info("应用启动：开始计算省份热力统计...");
+            provinceStatsService.rebuildAll();
+        } catch (Exception e) {
+            logger.error("应用启动：计算省份热力统计失败", e);
+        }
+    }
+
+    /**
+     * 增量刷新
+     * 功能概述：按province-stats.refresh-interval-ms配置的间隔（默认30秒）累加新增订单、检查景点变更
+     */
+    @Scheduled(initialDelayString = "${province-stats.refresh-interval-ms:30000}",
+            fixedDelayString = "${province-stats.refresh-interval-ms:30000}")
+    public void refreshProvinceStats() {
+        if (!provinceStatsConfig.isEnabled()) {
+            return;
+        }
+        try {
+            provinceStatsService.refreshIncremental();
+        } catch (Exception e) {
+            logger.error("增量刷新省份热力统计失败", e);
+        }
+    }
+
+    /**
+     * 定期全量重算
+     * 功能概述：按province-stats.full-refresh-cron配置的时间（默认每小时第5分钟）全量重算，修正订单删除等增量无法感知的变化
+     */
+    @Scheduled(cron = "${province-stats.full-refresh-cron:0 5 * * * ?}")
+    public void rebuildProvinceStats() {
+        if (!provinceStatsConfig.isEnabled()) {
+            return;
+        }
+        try {
+            provinceStatsService.rebuildAll();
+        } catch (Exception e) {
+            logger.error("全量重算省份热力统计失败", e);
+        }
+    }
+}
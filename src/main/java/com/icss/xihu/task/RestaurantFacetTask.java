@@ -0,0 +1,51 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.RestaurantFacetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 餐厅筛选目录定时任务
+ * 功能概述：应用启动后构建餐厅筛选位图，并按配置的间隔定期重建，使餐厅的新增、下架和评分变化生效
+ */
+@Component
+public class RestaurantFacetTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantFacetTask.class);
+
+    @Autowired
+    private RestaurantFacetService restaurantFacetService;
+
+    /**
+     * 应用启动时构建目录
+     * 功能概述：在Spring应用完全启动后立即构建一次，构建完成前的请求会同步等待首次构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initRestaurantFacet() {
+        try {
+            logger.info("应用启动：开始构建餐厅筛选目录...");
+            restaurantFacetService.rebuild();
+        } catch (Exception e) {
+            logger.error("应用启动：构建餐厅筛选目录失败", e);
+        }
+    }
+
+    /**
+     * 定期重建目录
+     * 功能概述：按restaurant-facet.refresh-interval-ms配置的间隔重建（默认5分钟）
+     */
+    @Scheduled(initialDelayString = "${restaurant-facet.refresh-interval-ms:300000}",
+            fixedDelayString = "${restaurant-facet.refresh-interval-ms:300000}")
+    public void refreshRestaurantFacet() {
+        try {
+            restaurantFacetService.rebuild();
+        } catch (Exception e) {
+            logger.error("定期重建餐厅筛选目录失败", e);
+        }
+    }
+}
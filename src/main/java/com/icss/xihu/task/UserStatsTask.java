@@ -0,0 +1,38 @@
+package com.icss.xihu.task;
+
+import com.icss.xihu.service.UserStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户统计校对定时任务
+ * 功能概述：用户缴费统计和订单统计在业务事务中按增量维护，定期比较计数与账单、订单明细，不一致的用户从明细重建；
+ * 校对由UserStatsService在后台线程中分段执行，任务本身立即返回；多个实例部署时由调度租约保证只有一个实例在校对
+ */
+@Component
+public class UserStatsTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsTask.class);
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    /**
+     * 校对用户统计
+     * 功能概述：默认每天凌晨3点30分在后台启动一轮校对
+     * 执行频率：user-stats.reconcile-cron配置（cron表达式：秒 分 时 日 月 周）
+     */
+    @Scheduled(cron = "${user-stats.reconcile-cron:0 30 3 * * ?}") // 默认每天凌晨3点30分执行
+    public void reconcileUserStats() {
+        try {
+            if (!userStatsService.startReconcile("schedule")) {
+                logger.warn("上一轮用户统计校对仍在执行，本次跳过");
+            }
+        } catch (Exception e) {
+            logger.error("启动用户统计校对失败", e);
+        }
+    }
+}
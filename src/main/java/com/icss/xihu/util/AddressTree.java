@@ -0,0 +1,486 @@
+// 定义包路径，标识该类属于com.icss.xihu.util包
+package com.icss.xihu.util;
+
+// 导入地址实体类
+import com.icss.xihu.model.Address;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Arrays工具类
+import java.util.Arrays;
+// 导入Collections工具类
+import java.util.Collections;
+// 导入Comparator比较器接口
+import java.util.Comparator;
+// 导入HashMap类
+import java.util.HashMap;
+// 导入LinkedHashSet类，保持插入顺序并去重
+import java.util.LinkedHashSet;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入Set集合接口
+import java.util.Set;
+// 导入TreeMap类，用于构建有序的前缀索引
+import java.util.TreeMap;
+
+/**
+ * 地址层级树
+ * 功能概述：把address表一次性加载为内存中的不可变树，提供名称→编号、编号→子节点的O(1)查找，
+ * 以及基于有序名称数组二分查找的前缀搜索，创建后不再修改，可被多个线程同时读取
+ */
+// 地址层级树类
+public final class AddressTree {
+
+    // 编号到节点的映射
+    private final Map<Long, Node> nodes;
+    // 省级节点列表（按扩展名称排序）
+    private final List<Node> provinces;
+    // 省份名称（扩展名称和全称）到编号的映射
+    private final Map<String, Long> provinceIdByName;
+    // 父节点编号到（子节点名称→子节点编号）的映射
+    private final Map<Long, Map<String, Long>> childIdByName;
+    // 名称到所有同名节点编号的映射（不区分层级）
+    private final Map<String, long[]> idsByName;
+    // 前缀索引：按字典序排列的名称
+    private final String[] prefixKeys;
+    // 前缀索引：与prefixKeys下标对应的节点编号
+    private final long[][] prefixIds;
+
+    /**
+     * 构造方法
+     * 功能概述：根据address表的全部记录构建树，名称为空的记录只保留编号和父子关系
+     * @param {List<Address>} rows - address表的全部记录
+     */
+    // 私有构造方法，通过build方法创建
+    private AddressTree(List<Address> rows) {
+        // 创建编号到节点的映射
+        Map<Long, Node> byId = new HashMap<>(rows.size() * 2);
+        // 遍历记录
+        for (Address row : rows) {
+            // 编号为空的记录跳过
+            if (row.getId() == null) {
+                // 继续下一条
+                continue;
+            }
+            // 创建节点
+            Node node = new Node(row.getId(), parseLong(row.getPid()), (int) parseLong(row.getDeep()),
+                    trim(row.getName()), trim(row.getExtName()));
+            // 放入映射
+            byId.put(node.id, node);
+        }
+        // 父节点编号到子节点列表的临时映射
+        Map<Long, List<Node>> childLists = new HashMap<>();
+        // 省级节点临时列表
+        List<Node> provinceList = new ArrayList<>();
+        // 遍历节点
+        for (Node node : byId.values()) {
+            // 深度为0的是省级节点
+            if (node.deep == 0) {
+                // 扩展名称不为空时加入省级列表
+                if (!node.extName.isEmpty()) {
+                    // 加入省级列表
+                    provinceList.add(node);
+                }
+            // 其他节点挂到父节点下
+            } else {
+                // 加入父节点的子节点列表
+                childLists.computeIfAbsent(node.pid, x -> new ArrayList<>()).add(node);
+            }
+        }
+        // 按扩展名称排序的比较器
+        Comparator<Node> byExtName = Comparator.comparing((Node n) -> n.extName).thenComparingLong(n -> n.id);
+        // 省级节点排序
+        provinceList.sort(byExtName);
+        // 父子名称映射
+        Map<Long, Map<String, Long>> childNames = new HashMap<>();
+        // 遍历子节点列表
+        for (Map.Entry<Long, List<Node>> entry : childLists.entrySet()) {
+            // 子节点排序
+            entry.getValue().sort(byExtName);
+            // 父节点
+            Node parent = byId.get(entry.getKey());
+            // 父节点存在时保存子节点数组
+            if (parent != null) {
+                // 保存子节点数组
+                parent.children = entry.getValue().toArray(new Node[0]);
+            }
+            // 子节点名称映射
+            Map<String, Long> names = new HashMap<>();
+            // 遍历子节点
+            for (Node child : entry.getValue()) {
+                // 扩展名称映射（同名时保留先出现的）
+                putName(names, child.extName, child.id);
+                // 全称映射
+                putName(names, child.name, child.id);
+            }
+            // 保存子节点名称映射
+            childNames.put(entry.getKey(), names);
+        }
+        // 省份名称映射
+        Map<String, Long> provinceNames = new HashMap<>();
+        // 遍历省级节点
+        for (Node province : provinceList) {
+            // 扩展名称映射
+            putName(provinceNames, province.extName, province.id);
+            // 全称映射
+            putName(provinceNames, province.name, province.id);
+        }
+        // 名称到编号集合的临时映射，TreeMap按字典序排列，同时作为前缀索引的来源
+        TreeMap<String, Set<Long>> names = new TreeMap<>();
+        // 遍历节点
+        for (Node node : byId.values()) {
+            // 扩展名称不为空时加入
+            if (!node.extName.isEmpty()) {
+                // 加入名称集合
+                names.computeIfAbsent(node.extName, x -> new LinkedHashSet<>()).add(node.id);
+            }
+            // 全称不为空时加入
+            if (!node.name.isEmpty()) {
+                // 加入名称集合
+                names.computeIfAbsent(node.name, x -> new LinkedHashSet<>()).add(node.id);
+            }
+        }
+        // 名称到编号数组的映射
+        Map<String, long[]> nameIds = new HashMap<>(names.size() * 2);
+        // 前缀索引名称数组
+        String[] keys = new String[names.size()];
+        // 前缀索引编号数组
+        long[][] ids = new long[names.size()][];
+        // 下标
+        int i = 0;
+        // 遍历有序名称
+        for (Map.Entry<String, Set<Long>> entry : names.entrySet()) {
+            // 转换为long数组
+            long[] arr = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            // 保存名称映射
+            nameIds.put(entry.getKey(), arr);
+            // 保存前缀索引名称
+            keys[i] = entry.getKey();
+            // 保存前缀索引编号
+            ids[i] = arr;
+            // 下标加一
+            i++;
+        }
+        // 保存编号映射
+        this.nodes = byId;
+        // 保存省级节点列表
+        this.provinces = Collections.unmodifiableList(provinceList);
+        // 保存省份名称映射
+        this.provinceIdByName = provinceNames;
+        // 保存子节点名称映射
+        this.childIdByName = childNames;
+        // 保存名称映射
+        this.idsByName = nameIds;
+        // 保存前缀索引名称
+        this.prefixKeys = keys;
+        // 保存前缀索引编号
+        this.prefixIds = ids;
+    }
+
+    /**
+     * 构建地址层级树
+     * 功能概述：根据address表的全部记录创建不可变的地址层级树
+     * @param {List<Address>} rows - address表的全部记录
+     * @return {AddressTree} 返回地址层级树
+     */
+    // 构建地址层级树方法
+    public static AddressTree build(List<Address> rows) {
+        // 创建并返回地址层级树
+        return new AddressTree(rows == null ? Collections.emptyList() : rows);
+    }
+
+    /**
+     * 获取节点总数
+     * @return {int} 返回节点总数
+     */
+    // 获取节点总数方法
+    public int size() {
+        // 返回节点总数
+        return nodes.size();
+    }
+
+    /**
+     * 根据编号获取节点
+     * @param {Long} id - 地址编号
+     * @return {Node} 返回节点，不存在时返回null
+     */
+    // 根据编号获取节点方法
+    public Node getNode(Long id) {
+        // 编号为空时返回null，否则查找节点
+        return id == null ? null : nodes.get(id);
+    }
+
+    /**
+     * 获取省级节点列表
+     * @return {List<Node>} 返回按扩展名称排序的省级节点列表（只读）
+     */
+    // 获取省级节点列表方法
+    public List<Node> getProvinces() {
+        // 返回省级节点列表
+        return provinces;
+    }
+
+    /**
+     * 获取子节点列表
+     * @param {Long} parentId - 父节点编号
+     * @return {List<Node>} 返回按扩展名称排序的子节点列表（只读），没有子节点时返回空列表
+     */
+    // 获取子节点列表方法
+    public List<Node> getChildren(Long parentId) {
+        // 查找父节点
+        Node parent = getNode(parentId);
+        // 父节点不存在或没有子节点时返回空列表
+        return parent == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(parent.children));
+    }
+
+    /**
+     * 根据省份名称查找省份编号
+     * 功能概述：同时支持扩展名称（如"浙江"）和全称（如"浙江省"）
+     * @param {String} province - 省份名称
+     * @return {Long} 返回省份编号，不存在时返回null
+     */
+    // 根据省份名称查找省份编号方法
+    public Long findProvinceId(String province) {
+        // 名称为空时返回null，否则查找编号
+        return province == null ? null : provinceIdByName.get(province.trim());
+    }
+
+    /**
+     * 根据父节点编号和名称查找子节点编号
+     * @param {Long} parentId - 父节点编号
+     * @param {String} name - 子节点名称（扩展名称或全称）
+     * @return {Long} 返回子节点编号，不存在时返回null
+     */
+    // 根据父节点编号和名称查找子节点编号方法
+    public Long findChildId(Long parentId, String name) {
+        // 获取子节点名称映射
+        Map<String, Long> names = parentId == null ? null : childIdByName.get(parentId);
+        // 映射不存在或名称为空时返回null，否则查找编号
+        return names == null || name == null ? null : names.get(name.trim());
+    }
+
+    /**
+     * 根据名称查找指定层级的所有节点编号
+     * 功能概述：不指定父节点时按名称精确匹配，用于只传城市名称的查询
+     * @param {String} name - 名称（扩展名称或全称）
+     * @param {int} deep - 层级，0=省，1=市，2=区县
+     * @return {List<Long>} 返回节点编号列表
+     */
+    // 根据名称查找指定层级的所有节点编号方法
+    public List<Long> findIdsByName(String name, int deep) {
+        // 结果列表
+        List<Long> result = new ArrayList<>();
+        // 查找同名节点
+        long[] ids = name == null ? null : idsByName.get(name.trim());
+        // 没有同名节点时返回空列表
+        if (ids == null) {
+            // 返回空列表
+            return result;
+        }
+        // 遍历同名节点
+        for (long id : ids) {
+            // 层级匹配时加入结果
+            if (nodes.get(id).deep == deep) {
+                // 加入结果
+                result.add(id);
+            }
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 查找名称包含关键词的节点编号
+     * 功能概述：在不超过指定层级的节点中查找扩展名称包含关键词的节点，用于替代SQL中对ext_name的LIKE匹配
+     * @param {String} keyword - 关键词
+     * @param {int} deep - 层级，0=省，1=市，2=区县
+     * @return {List<Long>} 返回节点编号列表
+     */
+    // 查找名称包含关键词的节点编号方法
+    public List<Long> findIdsContaining(String keyword, int deep) {
+        // 结果列表
+        List<Long> result = new ArrayList<>();
+        // 关键词为空时返回空列表
+        if (keyword == null || keyword.isBlank()) {
+            // 返回空列表
+            return result;
+        }
+        // 去掉首尾空白
+        String k = keyword.trim();
+        // 遍历节点
+        for (Node node : nodes.values()) {
+            // 层级匹配且扩展名称包含关键词时加入结果
+            if (node.deep == deep && node.extName.contains(k)) {
+                // 加入结果
+                result.add(node.id);
+            }
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 前缀搜索
+     * 功能概述：在有序名称数组中二分查找第一个不小于前缀的位置，向后扫描所有以该前缀开头的名称，
+     * 同一节点只返回一次，最多返回limit个
+     * @param {String} prefix - 名称前缀
+     * @param {int} limit - 最多返回数量
+     * @return {List<Node>} 返回匹配的节点列表（按名称字典序）
+     */
+    // 前缀搜索方法
+    public List<Node> searchByPrefix(String prefix, int limit) {
+        // 结果列表
+        List<Node> result = new ArrayList<>();
+        // 前缀为空时返回空列表
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            // 返回空列表
+            return result;
+        }
+        // 去掉首尾空白
+        String p = prefix.trim();
+        // 二分查找插入位置
+        int pos = Arrays.binarySearch(prefixKeys, p);
+        // 未找到时取插入点
+        if (pos < 0) {
+            // 插入点
+            pos = -pos - 1;
+        }
+        // 已加入的节点编号，避免扩展名称和全称重复命中
+        Set<Long> seen = new LinkedHashSet<>();
+        // 从插入点开始向后扫描
+        for (int i = pos; i < prefixKeys.length && prefixKeys[i].startsWith(p) && result.size() < limit; i++) {
+            // 遍历该名称对应的节点
+            for (long id : prefixIds[i]) {
+                // 未加入过且未达到上限时加入
+                if (result.size() < limit && seen.add(id)) {
+                    // 加入结果
+                    result.add(nodes.get(id));
+                }
+            }
+        }
+        // 返回结果
+        return result;
+    }
+
+    /**
+     * 获取节点的完整路径
+     * 功能概述：从节点向上追溯到省级，返回"省/市/区县"形式的扩展名称路径
+     * @param {Node} node - 节点
+     * @return {String} 返回完整路径
+     */
+    // 获取节点完整路径方法
+    public String getPath(Node node) {
+        // 路径名称列表
+        List<String> parts = new ArrayList<>();
+        // 当前节点
+        Node current = node;
+        // 向上追溯，最多10层，防止脏数据形成环
+        for (int i = 0; current != null && i < 10; i++) {
+            // 在列表头部插入名称
+            parts.add(0, current.extName.isEmpty() ? current.name : current.extName);
+            // 省级节点结束
+            if (current.deep == 0) {
+                // 结束追溯
+                break;
+            }
+            // 移动到父节点
+            current = nodes.get(current.pid);
+        }
+        // 拼接路径
+        return String.join("/", parts);
+    }
+
+    // 名称不为空且尚未存在时放入映射
+    private static void putName(Map<String, Long> map, String name, long id) {
+        // 名称不为空时放入
+        if (!name.isEmpty()) {
+            // 同名时保留先出现的
+            map.putIfAbsent(name, id);
+        }
+    }
+
+    // 把字符串解析为long，失败时返回0
+    private static long parseLong(String value) {
+        // 使用try-catch捕获异常
+        try {
+            // 为空时返回0，否则解析
+            return value == null || value.isBlank() ? 0L : Long.parseLong(value.trim());
+        // 捕获数字格式异常
+        } catch (NumberFormatException e) {
+            // 返回0
+            return 0L;
+        }
+    }
+
+    // 去掉首尾空白，为空时返回空字符串
+    private static String trim(String value) {
+        // 为空时返回空字符串，否则去掉首尾空白
+        return value == null ? "" : value.trim();
+    }
+
+    /**
+     * 地址节点
+     * 功能概述：保存address表一条记录的编号、父编号、层级、名称和排好序的子节点，创建后不再修改
+     */
+    // 地址节点类
+    public static final class Node {
+        // 地址编号
+        private final long id;
+        // 父级编号
+        private final long pid;
+        // 层级，0=省，1=市，2=区县
+        private final int deep;
+        // 全称
+        private final String name;
+        // 扩展名称（简称）
+        private final String extName;
+        // 子节点数组（按扩展名称排序），只在构建树时赋值一次
+        private Node[] children = new Node[0];
+
+        // 构造方法
+        private Node(long id, long pid, int deep, String name, String extName) {
+            // 保存地址编号
+            this.id = id;
+            // 保存父级编号
+            this.pid = pid;
+            // 保存层级
+            this.deep = deep;
+            // 保存全称
+            this.name = name;
+            // 保存扩展名称
+            this.extName = extName;
+        }
+
+        // 获取地址编号
+        public long getId() {
+            // 返回id字段的值
+            return id;
+        }
+
+        // 获取父级编号
+        public long getPid() {
+            // 返回pid字段的值
+            return pid;
+        }
+
+        // 获取层级
+        public int getDeep() {
+            // 返回deep字段的值
+            return deep;
+        }
+
+        // 获取全称
+        public String getName() {
+            // 返回name字段的值
+            return name;
+        }
+
+        // 获取扩展名称
+        public String getExtName() {
+            // 返回extName字段的值
+            return extName;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+// 定义包路径，标识该类属于com.icss.xihu.util包
+package com.icss.xihu.util;
+
+// 导入日志接口
+import org.slf4j.Logger;
+// 导入日志工厂
+import org.slf4j.LoggerFactory;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入Collections工具类
+import java.util.Collections;
+// 导入List集合接口
+import java.util.List;
+// 导入CompletableFuture类
+import java.util.concurrent.CompletableFuture;
+// 导入Executor接口
+import java.util.concurrent.Executor;
+// 导入Semaphore类，限制同时访问数据库的分支数量
+import java.util.concurrent.Semaphore;
+// 导入TimeUnit枚举
+import java.util.concurrent.TimeUnit;
+// 导入Supplier函数式接口
+import java.util.function.Supplier;
+
+/**
+ * 组合页面并行加载器
+ * 功能概述：一次页面请求创建一个实例，把相互独立的查询分支提交到虚拟线程上并行执行；
+ * 每个分支有独立的超时时间，超时或失败时使用降级值并记录分支名称，页面其余部分照常返回，
+ * 页面耗时取决于最慢的分支而不是各分支耗时之和
+ */
+// 组合页面并行加载器
+public class CompositeLoader {
+
+    // 日志对象
+    private static final Logger logger = LoggerFactory.getLogger(CompositeLoader.class);
+
+    // 执行分支的线程池（虚拟线程）
+    private final Executor executor;
+    // 全局并发许可，所有请求共享，避免并行分支占满数据库连接池
+    private final Semaphore permits;
+    // 单个分支的超时时间（毫秒）
+    private final long timeoutMs;
+    // 使用了降级值的分支名称
+    private final List<String> degraded = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * 构造方法
+     * @param {Executor} executor - 执行分支的线程池
+     * @param {Semaphore} permits - 全局并发许可
+     * @param {long} timeoutMs - 单个分支的超时时间（毫秒）
+     */
+    // 构造方法
+    public CompositeLoader(Executor executor, Semaphore permits, long timeoutMs) {
+        // 保存线程池
+        this.executor = executor;
+        // 保存并发许可
+        this.permits = permits;
+        // 保存超时时间
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 提交一个分支
+     * 功能概述：分支在虚拟线程上执行，先获取并发许可；超时或抛出异常时以fallback完成，并记录分支名称。
+     * 超时后分支本身不会被中断（JDBC查询无法安全中断），但等待许可期间已超时的分支不会再访问数据库
+     * @param {String} name - 分支名称，用于降级记录和日志
+     * @param {Supplier<T>} task - 分支任务
+     * @param {T} fallback - 降级值
+     * @return {CompletableFuture<T>} 返回分支结果，不会以异常完成
+     */
+    // 提交分支方法
+    public <T> CompletableFuture<T> fork(String name, Supplier<T> task, T fallback) {
+        // 分支结果
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // 在虚拟线程上执行
+        executor.execute(() -> run(name, task, future));
+        // 超时或失败时使用降级值
+        return future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    // 正常完成时直接返回（结果可以为null，例如目的地不存在）
+                    if (error == null) {
+                        // 返回结果
+                        return value;
+                    }
+                    // 记录降级分支
+                    degraded.add(name);
+                    // 记录警告日志
+                    logger.warn("分支 {} 使用降级结果：{}", name, rootMessage(error));
+                    // 返回降级值
+                    return fallback;
+                });
+    }
+
+    /**
+     * 获取使用了降级值的分支名称
+     * @return {List<String>} 返回分支名称列表（副本）
+     */
+    // 获取降级分支方法
+    public List<String> getDegraded() {
+        // 加锁复制，避免与仍在完成的分支并发修改
+        synchronized (degraded) {
+            // 返回副本
+            return new ArrayList<>(degraded);
+        }
+    }
+
+    // 获取许可后执行分支任务，并把结果写入future
+    private <T> void run(String name, Supplier<T> task, CompletableFuture<T> future) {
+        // 是否已获取许可
+        boolean acquired = false;
+        // 使用try-catch捕获异常
+        try {
+            // 等待许可，最多等待超时时间
+            acquired = permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+            // 未获取到许可或分支已超时时不再执行
+            if (!acquired || future.isDone()) {
+                // 以异常完成（已超时时不影响结果）
+                future.completeExceptionally(new IllegalStateException("等待并发许可超时"));
+                // 直接返回
+                return;
+            }
+            // 执行分支任务
+            future.complete(task.get());
+        // 捕获中断异常
+        } catch (InterruptedException e) {
+            // 恢复中断标志
+            Thread.currentThread().interrupt();
+            // 以异常完成
+            future.completeExceptionally(e);
+        // 捕获所有异常
+        } catch (Exception e) {
+            // 以异常完成
+            future.completeExceptionally(e);
+        } finally {
+            // 已获取许可时释放
+            if (acquired) {
+                // 释放许可
+                permits.release();
+            }
+        }
+    }
+
+    // 取异常链最内层的消息
+    private static String rootMessage(Throwable error) {
+        // 当前异常
+        Throwable t = error;
+        // 查找最内层异常
+        while (t.getCause() != null && t.getCause() != t) {
+            // 进入下一层
+            t = t.getCause();
+        }
+        // 返回类名和消息
+        return t.getClass().getSimpleName() + (t.getMessage() == null ? "" : "：" + t.getMessage());
+    }
+}
@@ -0,0 +1,83 @@
+// 定义包路径，标识该类属于com.icss.xihu.util包
+package com.icss.xihu.util;
+
+// 导入预序列化JSON响应实体类
+import com.icss.xihu.model.JsonPayload;
+// 导入HTTP缓存控制类
+import org.springframework.http.CacheControl;
+// 导入HTTP响应头常量
+import org.springframework.http.HttpHeaders;
+// 导入HTTP状态码枚举
+import org.springframework.http.HttpStatus;
+// 导入媒体类型类
+import org.springframework.http.MediaType;
+// 导入响应实体类
+import org.springframework.http.ResponseEntity;
+
+// 导入HTTP请求对象
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 条件请求响应工具类
+ * 功能概述：把预序列化JSON写成带ETag和Last-Modified的响应；请求带If-None-Match时按实体标签比较，
+ * 否则按If-Modified-Since比较生成时间，客户端缓存仍然有效时返回不带响应体的304
+ */
+// 条件请求响应工具类
+public class ConditionalResponses {
+
+    // 私有构造方法，工具类不允许实例化
+    private ConditionalResponses() {
+    }
+
+    /**
+     * 创建条件请求响应
+     * @param {HttpServletRequest} request - HTTP请求
+     * @param {JsonPayload} payload - 预序列化JSON
+     * @return {ResponseEntity<Object>} 客户端缓存有效时返回304，否则返回200和JSON字节
+     */
+    // 创建条件请求响应方法
+    public static ResponseEntity<Object> of(HttpServletRequest request, JsonPayload payload) {
+        // 客户端缓存仍然有效时返回304
+        if (isNotModified(request, payload)) {
+            // 返回304，只带ETag和Last-Modified
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(payload.getEtag())
+                    .lastModified(payload.getLastModified())
+                    .build();
+        }
+        // 返回200和JSON字节，要求客户端每次使用前重新验证
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(payload.getEtag())
+                .lastModified(payload.getLastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(payload.getBody());
+    }
+
+    // 判断客户端缓存是否仍然有效
+    private static boolean isNotModified(HttpServletRequest request, JsonPayload payload) {
+        // 读取If-None-Match请求头
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        // 带实体标签时只按实体标签判断（If-Modified-Since被忽略）
+        if (ifNoneMatch != null) {
+            // 比较实体标签
+            return payload.matches(ifNoneMatch);
+        }
+        // If-Modified-Since只对GET和HEAD请求有效
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            // 返回false
+            return false;
+        }
+        // 使用try-catch忽略格式错误的日期
+        try {
+            // 读取If-Modified-Since请求头（毫秒时间戳，未携带时为-1）
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            // 生成时间不晚于客户端持有的时间时未修改
+            return ifModifiedSince >= 0 && payload.getLastModified() / 1000 * 1000 <= ifModifiedSince;
+        // 捕获日期格式异常
+        } catch (IllegalArgumentException e) {
+            // 按未携带处理
+            return false;
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.icss.xihu.util;
 
 // 导入Spring的自动注入注解
 import org.springframework.beans.factory.annotation.Autowired;
+// 导入Spring的缓存接口
+import org.springframework.cache.Cache;
+// 导入Spring的缓存管理器接口
+import org.springframework.cache.CacheManager;
 // 导入Spring的JdbcTemplate类，用于执行SQL语句
 import org.springframework.jdbc.core.JdbcTemplate;
 // 导入Spring的组件注解，标识该类为Spring组件
@@ -25,6 +29,11 @@ public class DatabaseChineseUpdater {
     // JdbcTemplate对象，用于执行SQL语句
     private JdbcTemplate jdbcTemplate;
 
+    // 自动注入缓存管理器
+    @Autowired
+    // 缓存管理器对象，JdbcTemplate直接修改餐厅表后用于清空餐厅缓存
+    private CacheManager cacheManager;
+
     /**
      * 更新数据库为中文
      * 功能概述：在应用启动时自动执行，将数据库中的餐厅信息和菜单数据更新为中文
@@ -40,6 +49,9 @@ public class DatabaseChineseUpdater {
             // 调用updateRestaurantInfo方法，更新餐厅信息为中文
             updateRestaurantInfo();
             
+            // 餐厅表已被直接修改，清空餐厅缓存（两级，并通知其他节点）
+            evictRestaurantCache();
+            
             // 更新菜单数据为中文
             // 调用updateMenuToChinese方法，更新菜单数据为中文
             updateMenuToChinese();
@@ -185,4 +197,19 @@ public class DatabaseChineseUpdater {
             System.err.println("更新菜单数据失败: " + e.getMessage());
         }
     }
+
+    /**
+     * 清空餐厅缓存
+     * 功能概述：本类通过JdbcTemplate直接修改餐厅表，不经过带@CacheEvict的Mapper方法，这里显式清空"restaurants"缓存
+     */
+    // 清空餐厅缓存方法
+    private void evictRestaurantCache() {
+        // 获取餐厅缓存
+        Cache cache = cacheManager.getCache("restaurants");
+        // 缓存存在时清空
+        if (cache != null) {
+            // 清空缓存
+            cache.clear();
+        }
+    }
 }
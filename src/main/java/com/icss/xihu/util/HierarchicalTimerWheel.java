@@ -0,0 +1,217 @@
+// 定义包路径，标识该类属于com.icss.xihu.util包
+package com.icss.xihu.util;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入List集合接口
+import java.util.List;
+
+/**
+ * 分层时间轮
+ * 功能概述：按到期时间（毫秒时间戳）登记条目，推进时钟时取出已到期的条目；第一层每格一个tick，
+ * 每层的一整圈作为上一层的一格，超出当前各层范围的条目按需创建上一层存放，层数随最远的到期时间增长；
+ * 上层的格子转到时把其中的条目重新登记到下层，最终在第一层到期，登记和取出都与条目总数无关；
+ * 精度为一个tick，到期时间是tick整数倍时准点到期；非线程安全的部分都在同步方法中，可以多线程登记
+ * @param <T> 条目类型
+ */
+// 分层时间轮类
+public class HierarchicalTimerWheel<T> {
+
+    // 第一层
+    private final Level<T> root;
+    // 条目数
+    private int size;
+
+    /**
+     * 构造方法
+     * @param {long} tickMs - 第一层每格的毫秒数
+     * @param {int} wheelSize - 每层的格数
+     * @param {long} startMs - 起始时间（毫秒时间戳）
+     */
+    // 构造方法
+    public HierarchicalTimerWheel(long tickMs, int wheelSize, long startMs) {
+        // 参数校验
+        if (tickMs <= 0 || wheelSize <= 1) {
+            // 抛出非法参数异常
+            throw new IllegalArgumentException("tickMs必须大于0，wheelSize必须大于1");
+        }
+        // 创建第一层
+        this.root = new Level<>(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * 登记条目
+     * @param {long} expireAt - 到期时间（毫秒时间戳）
+     * @param {T} item - 条目
+     * @return {boolean} 登记成功返回true，已经到期（早于当前格的结束时间）返回false，由调用方立即处理
+     */
+    // 登记条目方法
+    public synchronized boolean add(long expireAt, T item) {
+        // 登记到合适的层
+        boolean added = root.add(new Entry<>(expireAt, item));
+        // 登记成功时计数
+        if (added) {
+            // 条目数加1
+            size++;
+        }
+        // 返回登记结果
+        return added;
+    }
+
+    /**
+     * 推进时钟
+     * 功能概述：逐格推进到指定时间，上层格子转到时把条目降到下层，返回第一层所有已到期的条目
+     * @param {long} nowMs - 当前时间（毫秒时间戳）
+     * @return {List<T>} 返回已到期的条目，按到期的格子先后排列
+     */
+    // 推进时钟方法
+    public synchronized List<T> advance(long nowMs) {
+        // 已到期的条目
+        List<T> expired = new ArrayList<>();
+        // 逐格推进第一层
+        while (root.currentTime + root.tickMs <= nowMs) {
+            // 第一层前进一格
+            root.currentTime += root.tickMs;
+            // 从第二层开始逐层检查是否跨过了本层的格子边界
+            for (Level<T> level = root.overflow; level != null; level = level.overflow) {
+                // 未跨过边界时，更上层也不会跨过
+                if (level.currentTime + level.tickMs > root.currentTime) {
+                    // 跳出循环
+                    break;
+                }
+                // 本层前进一格
+                level.currentTime += level.tickMs;
+                // 取出本层当前格的条目重新登记，按剩余时间落到下层或立即到期
+                for (Entry<T> entry : level.drain(level.currentTime)) {
+                    // 重新登记失败说明已到期
+                    if (!root.add(entry)) {
+                        // 加入到期列表
+                        expired.add(entry.item);
+                    }
+                }
+            }
+            // 取出第一层当前格的条目，全部到期
+            for (Entry<T> entry : root.drain(root.currentTime)) {
+                // 加入到期列表
+                expired.add(entry.item);
+            }
+        }
+        // 减去到期的条目数
+        size -= expired.size();
+        // 返回到期的条目
+        return expired;
+    }
+
+    /**
+     * 获取条目数
+     * @return {int} 返回尚未到期的条目数
+     */
+    // 获取条目数方法
+    public synchronized int size() {
+        // 返回条目数
+        return size;
+    }
+
+    /**
+     * 获取层数
+     * @return {int} 返回当前已创建的层数
+     */
+    // 获取层数方法
+    public synchronized int levels() {
+        // 层数
+        int levels = 0;
+        // 逐层计数
+        for (Level<T> level = root; level != null; level = level.overflow) {
+            // 层数加1
+            levels++;
+        }
+        // 返回层数
+        return levels;
+    }
+
+    // 时间轮中的条目
+    private record Entry<T>(long expireAt, T item) {
+    }
+
+    // 时间轮的一层
+    private static final class Level<T> {
+
+        // 每格的毫秒数
+        private final long tickMs;
+        // 格数
+        private final int wheelSize;
+        // 一整圈的毫秒数
+        private final long interval;
+        // 各格的条目
+        private final List<List<Entry<T>>> buckets;
+        // 当前格的起始时间，是tickMs的整数倍
+        private long currentTime;
+        // 上一层，按需创建
+        private Level<T> overflow;
+
+        // 构造方法
+        private Level(long tickMs, int wheelSize, long startMs) {
+            // 保存每格毫秒数
+            this.tickMs = tickMs;
+            // 保存格数
+            this.wheelSize = wheelSize;
+            // 计算一整圈的毫秒数
+            this.interval = tickMs * wheelSize;
+            // 当前时间向下对齐到格子边界
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+            // 创建各格
+            this.buckets = new ArrayList<>(wheelSize);
+            // 逐格初始化
+            for (int i = 0; i < wheelSize; i++) {
+                // 空格子
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        // 登记条目，早于当前格结束时间的条目视为已到期，返回false
+        private boolean add(Entry<T> entry) {
+            // 已到期
+            if (entry.expireAt < currentTime + tickMs) {
+                // 返回登记失败
+                return false;
+            }
+            // 在本层一整圈范围内
+            if (entry.expireAt < currentTime + interval) {
+                // 放入对应的格子
+                buckets.get(index(entry.expireAt)).add(entry);
+                // 返回登记成功
+                return true;
+            }
+            // 超出本层范围时创建上一层
+            if (overflow == null) {
+                // 上一层每格等于本层一整圈
+                overflow = new Level<>(interval, wheelSize, currentTime);
+            }
+            // 登记到上一层
+            return overflow.add(entry);
+        }
+
+        // 取出起始时间为指定时间的格子中的条目
+        private List<Entry<T>> drain(long slotTime) {
+            // 格子
+            List<Entry<T>> bucket = buckets.get(index(slotTime));
+            // 格子为空时返回空列表
+            if (bucket.isEmpty()) {
+                // 返回空列表
+                return List.of();
+            }
+            // 复制条目
+            List<Entry<T>> entries = new ArrayList<>(bucket);
+            // 清空格子
+            bucket.clear();
+            // 返回条目
+            return entries;
+        }
+
+        // 计算时间所在的格子下标
+        private int index(long timeMs) {
+            // 按格子序号取模
+            return (int) Math.floorMod(Math.floorDiv(timeMs, tickMs), (long) wheelSize);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+// 定义包路径，标识该类属于com.icss.xihu.util包
+package com.icss.xihu.util;
+
+// 导入价格区间实体类
+import com.icss.xihu.model.PriceRange;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入List集合接口
+import java.util.List;
+// 导入Matcher类
+import java.util.regex.Matcher;
+// 导入Pattern类
+import java.util.regex.Pattern;
+
+/**
+ * 价格区间解析工具类
+ * 功能概述：把餐厅、景点的price_range文本解析为最低价和最高价，支持"100-150元/人"、"人均50-100元"、"¥80"、
+ * "80元起"、"免费"等写法；只在数据加载或写入时调用，正则表达式预先编译
+ */
+// 价格区间解析工具类
+public final class PriceRangeParser {
+
+    // 数字模式，支持小数
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?");
+
+    // 私有构造方法，工具类不允许实例化
+    private PriceRangeParser() {
+    }
+
+    /**
+     * 解析价格区间文本
+     * 功能概述：提取文本中的数字，一个数字时最低价和最高价相同（带"起"字时没有最高价），
+     * 多个数字时取最小值和最大值；没有数字但包含"免费"时返回0-0
+     * @param {String} text - 价格区间文本
+     * @return {PriceRange} 返回价格区间，无法解析时返回null
+     */
+    // 解析价格区间文本方法
+    public static PriceRange parse(String text) {
+        // 文本为空时无法解析
+        if (text == null || text.isBlank()) {
+            // 返回null
+            return null;
+        }
+        // 提取所有数字
+        List<Integer> numbers = new ArrayList<>();
+        // 创建匹配器
+        Matcher matcher = NUMBER.matcher(text);
+        // 逐个查找数字
+        while (matcher.find()) {
+            // 四舍五入为整数元
+            numbers.add((int) Math.round(Double.parseDouble(matcher.group())));
+        }
+        // 没有数字时
+        if (numbers.isEmpty()) {
+            // 包含"免费"时返回0-0，否则无法解析
+            return text.contains("免费") ? new PriceRange(0, 0) : null;
+        }
+        // 只有一个数字时
+        if (numbers.size() == 1) {
+            // 价格
+            Integer price = numbers.get(0);
+            // "起"价没有最高价
+            return new PriceRange(price, text.contains("起") ? null : price);
+        }
+        // 最低价
+        int min = Integer.MAX_VALUE;
+        // 最高价
+        int max = Integer.MIN_VALUE;
+        // 遍历数字
+        for (int n : numbers) {
+            // 更新最低价
+            min = Math.min(min, n);
+            // 更新最高价
+            max = Math.max(max, n);
+        }
+        // 返回价格区间
+        return new PriceRange(min, max);
+    }
+
+    /**
+     * 获取价格区间
+     * 功能概述：已有price_min字段值时直接使用，否则解析文本，用于兼容尚未回填数值字段的数据
+     * @param {Integer} minPrice - 已保存的最低价
+     * @param {Integer} maxPrice - 已保存的最高价
+     * @param {String} text - 价格区间文本
+     * @return {PriceRange} 返回价格区间，无法得到时返回null
+     */
+    // 获取价格区间方法
+    public static PriceRange of(Integer minPrice, Integer maxPrice, String text) {
+        // 已有数值时直接使用
+        if (minPrice != null) {
+            // 返回价格区间
+            return new PriceRange(minPrice, maxPrice);
+        }
+        // 否则解析文本
+        return parse(text);
+    }
+
+    /**
+     * 解析价格区间筛选条件
+     * 功能概述：支持"50-100"（含下限不含上限）、"500+"、"-50"三种写法，忽略"人均"、"¥"、"元"等非数字字符
+     * @param {String} text - 区间文本
+     * @return {double[]} 返回[下限, 上限]，无法解析时返回null
+     */
+    // 解析价格区间筛选条件方法
+    public static double[] parseQuery(String text) {
+        // 文本为空时不过滤
+        if (text == null || text.isBlank()) {
+            // 返回null
+            return null;
+        }
+        // 去掉空白，统一全角连接符、破折号和波浪号
+        String t = text.trim().replace('－', '-').replace('–', '-').replace('—', '-').replace('~', '-').replace('～', '-');
+        // "500+"写法
+        if (t.endsWith("+")) {
+            // 下限
+            Double lo = parseNumber(t.substring(0, t.length() - 1));
+            // 返回区间
+            return lo == null ? null : new double[]{lo, Double.POSITIVE_INFINITY};
+        }
+        // 分隔符位置
+        int dash = t.indexOf('-');
+        // 没有分隔符时无法解析
+        if (dash < 0) {
+            // 返回null
+            return null;
+        }
+        // 下限（省略时为0）
+        Double lo = dash == 0 ? Double.valueOf(0) : parseNumber(t.substring(0, dash));
+        // 上限（省略时为无穷大）
+        Double hi = dash == t.length() - 1 ? Double.valueOf(Double.POSITIVE_INFINITY) : parseNumber(t.substring(dash + 1));
+        // 任一端无法解析或区间为空时返回null
+        if (lo == null || hi == null || hi <= lo) {
+            // 返回null
+            return null;
+        }
+        // 返回区间
+        return new double[]{lo, hi};
+    }
+
+    // 提取字符串中的数字部分，没有数字时返回null
+    private static Double parseNumber(String text) {
+        // 去掉非数字和小数点的字符
+        String digits = text.replaceAll("[^0-9.]", "");
+        // 使用try-catch捕获异常
+        try {
+            // 为空时返回null，否则解析
+            return digits.isEmpty() ? null : Double.valueOf(digits);
+        // 捕获数字格式异常
+        } catch (NumberFormatException e) {
+            // 返回null
+            return null;
+        }
+    }
+}
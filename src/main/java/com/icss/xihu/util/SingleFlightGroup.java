@@ -0,0 +1,145 @@
+// 定义包路径，标识该类属于com.icss.xihu.util包
+package com.icss.xihu.util;
+
+// 导入ArrayList类
+import java.util.ArrayList;
+// 导入LinkedHashMap类
+import java.util.LinkedHashMap;
+// 导入List集合接口
+import java.util.List;
+// 导入Map接口
+import java.util.Map;
+// 导入CompletableFuture类
+import java.util.concurrent.CompletableFuture;
+// 导入CompletionException类
+import java.util.concurrent.CompletionException;
+// 导入ConcurrentHashMap类
+import java.util.concurrent.ConcurrentHashMap;
+// 导入LongAdder类，高并发下的计数器
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 请求合并组
+ * 功能概述：按键合并并发的相同调用，第一个到达的调用（领头者）执行加载并把结果放入共享的future，
+ * 加载期间到达的相同键调用（跟随者）直接等待该future；加载结束后立即移除，不缓存结果，
+ * 因此数据库对同一个键在同一时刻只会看到一次查询，而结果的新鲜度与不合并时相同
+ */
+// 请求合并组
+public class SingleFlightGroup {
+
+    /**
+     * 加载函数
+     * 功能概述：允许抛出任意异常的加载函数，异常会原样传给领头者和所有跟随者
+     */
+    // 加载函数接口
+    @FunctionalInterface
+    public interface Loader {
+        // 执行加载
+        Object load() throws Throwable;
+    }
+
+    // 正在执行的加载，键为调用键，值为共享的结果
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    // 总调用次数
+    private final LongAdder calls = new LongAdder();
+    // 实际执行加载的次数
+    private final LongAdder executions = new LongAdder();
+    // 被合并（共享他人结果）的调用次数
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * 执行调用
+     * 功能概述：同一个键已有加载在执行时等待其结果，否则由当前线程执行加载；
+     * 跟随者拿到的List和Map结果是浅拷贝，避免调用方修改容器时相互影响
+     * @param {Object} key - 调用键，需正确实现equals和hashCode
+     * @param {Loader} loader - 加载函数
+     * @return {Object} 返回加载结果
+     * @throws Throwable 加载函数抛出的异常
+     */
+    // 执行调用方法
+    public Object execute(Object key, Loader loader) throws Throwable {
+        // 总调用次数加1
+        calls.increment();
+        // 当前调用的future
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        // 尝试登记为领头者
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        // 已有相同键的加载在执行时作为跟随者等待
+        if (existing != null) {
+            // 合并次数加1
+            coalesced.increment();
+            // 使用try-catch解包异常
+            try {
+                // 等待并拷贝结果
+                return copyForFollower(existing.join());
+            // 捕获完成异常
+            } catch (CompletionException e) {
+                // 抛出原始异常
+                throw e.getCause() == null ? e : e.getCause();
+            }
+        }
+        // 作为领头者执行加载
+        executions.increment();
+        // 使用try-catch-finally保证任何情况下都通知跟随者并移除登记
+        try {
+            // 执行加载
+            Object value = loader.load();
+            // 通知跟随者
+            mine.complete(value);
+            // 返回结果
+            return value;
+        // 捕获所有异常
+        } catch (Throwable t) {
+            // 把异常传给跟随者
+            mine.completeExceptionally(t);
+            // 抛出异常
+            throw t;
+        } finally {
+            // 移除登记，之后到达的调用重新执行加载
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 获取统计信息
+     * @return {Map<String, Object>} 返回调用次数、执行次数、合并次数、合并比例和当前正在执行的加载数
+     */
+    // 获取统计信息方法
+    public Map<String, Object> getStats() {
+        // 创建结果Map
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // 总调用次数
+        long total = calls.sum();
+        // 合并次数
+        long shared = coalesced.sum();
+        // 总调用次数
+        stats.put("calls", total);
+        // 实际执行次数
+        stats.put("executions", executions.sum());
+        // 合并次数
+        stats.put("coalesced", shared);
+        // 合并比例
+        stats.put("coalescedRatio", total == 0 ? 0.0 : Math.round(shared * 10000.0 / total) / 10000.0);
+        // 当前正在执行的加载数
+        stats.put("inFlight", inFlight.size());
+        // 返回统计信息
+        return stats;
+    }
+
+    // 跟随者的结果：List和Map浅拷贝，其他对象直接共享
+    @SuppressWarnings("unchecked")
+    private static Object copyForFollower(Object value) {
+        // List结果
+        if (value instanceof List) {
+            // 返回浅拷贝
+            return new ArrayList<>((List<Object>) value);
+        }
+        // Map结果
+        if (value instanceof Map) {
+            // 返回浅拷贝
+            return new LinkedHashMap<>((Map<Object, Object>) value);
+        }
+        // 其他结果直接返回
+        return value;
+    }
+}
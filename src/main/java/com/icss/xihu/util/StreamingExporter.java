@@ -0,0 +1,291 @@
+// 定义包路径，标识该类属于com.icss.xihu.util包
+package com.icss.xihu.util;
+
+// 导入Jackson的流式JSON写出器
+import com.fasterxml.jackson.core.JsonGenerator;
+// 导入Jackson的对象映射器
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 导入带缓冲的输出流
+import java.io.BufferedOutputStream;
+// 导入可关闭接口
+import java.io.Closeable;
+// 导入IO异常类
+import java.io.IOException;
+// 导入输出流类
+import java.io.OutputStream;
+// 导入BigDecimal类
+import java.math.BigDecimal;
+// 导入UTF-8字符集常量
+import java.nio.charset.StandardCharsets;
+// 导入List集合接口
+import java.util.List;
+// 导入Locale类
+import java.util.Locale;
+// 导入Function函数式接口
+import java.util.function.Function;
+
+/**
+ * 流式导出写出器
+ * 功能概述：把逐行到达的数据写成JSON数组、NDJSON（每行一个JSON对象）或CSV，每行写完即可丢弃，
+ * 内存占用只有一个缓冲区，与导出行数无关；每写出FLUSH_ROWS行刷新一次，响应以分块传输的方式陆续发给客户端；
+ * CSV按给定的列定义输出表头和字段，并写入UTF-8 BOM，便于Excel正确识别中文
+ */
+// 流式导出写出器类
+public class StreamingExporter<T> implements Closeable {
+
+    // 每写出多少行刷新一次输出流
+    private static final int FLUSH_ROWS = 500;
+    // 输出缓冲区大小（字节）
+    private static final int BUFFER_SIZE = 16 * 1024;
+    // UTF-8 BOM
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    // 换行符
+    private static final byte[] NEWLINE = {'\n'};
+
+    /**
+     * 导出格式
+     */
+    // 导出格式枚举
+    public enum Format {
+        // JSON数组
+        JSON("application/json", "json"),
+        // 每行一个JSON对象
+        NDJSON("application/x-ndjson", "ndjson"),
+        // 逗号分隔值
+        CSV("text/csv", "csv");
+
+        // 响应内容类型
+        private final String contentType;
+        // 文件扩展名
+        private final String extension;
+
+        // 构造方法
+        Format(String contentType, String extension) {
+            // 保存内容类型
+            this.contentType = contentType;
+            // 保存扩展名
+            this.extension = extension;
+        }
+
+        // 获取响应内容类型（带字符集）
+        public String getContentType() {
+            // 返回内容类型
+            return contentType + ";charset=UTF-8";
+        }
+
+        // 获取文件扩展名
+        public String getExtension() {
+            // 返回扩展名
+            return extension;
+        }
+
+        /**
+         * 解析导出格式
+         * @param {String} text - 格式名称，不区分大小写，为空时默认JSON
+         * @return {Format} 返回导出格式
+         * @throws IllegalArgumentException 格式名称无法识别时抛出
+         */
+        // 解析导出格式方法
+        public static Format parse(String text) {
+            // 为空时默认JSON
+            if (text == null || text.isBlank()) {
+                // 返回JSON
+                return JSON;
+            }
+            // 按名称查找
+            return Format.valueOf(text.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * CSV列定义
+     * @param {String} header - 表头
+     * @param {Function<T, ?>} getter - 取值函数
+     */
+    // CSV列定义记录
+    public record Column<T>(String header, Function<T, ?> getter) {
+    }
+
+    // 导出格式
+    private final Format format;
+    // 带缓冲的输出流
+    private final OutputStream out;
+    // JSON对象映射器
+    private final ObjectMapper objectMapper;
+    // CSV列定义
+    private final List<Column<T>> columns;
+    // JSON数组格式使用的写出器
+    private JsonGenerator generator;
+    // 已写出的行数
+    private long count;
+    // 是否已写出开头
+    private boolean started;
+
+    /**
+     * 构造方法
+     * @param {Format} format - 导出格式
+     * @param {OutputStream} target - 目标输出流（通常是响应输出流）
+     * @param {ObjectMapper} objectMapper - JSON对象映射器
+     * @param {List<Column<T>>} columns - CSV列定义，JSON和NDJSON格式不使用
+     */
+    // 构造方法
+    public StreamingExporter(Format format, OutputStream target, ObjectMapper objectMapper, List<Column<T>> columns) {
+        // 保存导出格式
+        this.format = format;
+        // 包装缓冲区
+        this.out = new BufferedOutputStream(target, BUFFER_SIZE);
+        // 保存对象映射器
+        this.objectMapper = objectMapper;
+        // 保存列定义
+        this.columns = columns;
+    }
+
+    /**
+     * 写出一行
+     * @param {T} row - 行数据
+     */
+    // 写出一行方法
+    public void write(T row) throws IOException {
+        // 首行之前写出开头
+        start();
+        // 按格式写出
+        switch (format) {
+            // JSON数组写出一个元素
+            case JSON -> generator.writeObject(row);
+            // NDJSON写出一个对象和换行
+            case NDJSON -> {
+                // 写出JSON对象
+                out.write(objectMapper.writeValueAsBytes(row));
+                // 写出换行
+                out.write(NEWLINE);
+            }
+            // CSV写出一行
+            case CSV -> writeCsvLine(row);
+        }
+        // 行数加1，达到刷新间隔时刷新
+        if (++count % FLUSH_ROWS == 0) {
+            // 刷新
+            flush();
+        }
+    }
+
+    /**
+     * 获取已写出的行数
+     * @return {long} 返回已写出的行数
+     */
+    // 获取已写出行数方法
+    public long getCount() {
+        // 返回行数
+        return count;
+    }
+
+    /**
+     * 写出结尾并刷新
+     * 功能概述：没有任何行时也写出完整的空结果（空数组或只有表头的CSV）；不关闭目标输出流，由容器负责
+     */
+    // 重写close方法
+    @Override
+    // 写出结尾方法
+    public void close() throws IOException {
+        // 确保已写出开头
+        start();
+        // JSON数组格式时结束数组
+        if (generator != null) {
+            // 结束数组
+            generator.writeEndArray();
+            // 关闭写出器（不关闭目标输出流）
+            generator.close();
+        }
+        // 刷新剩余内容
+        out.flush();
+    }
+
+    // 写出开头（只执行一次）
+    private void start() throws IOException {
+        // 已写出时跳过
+        if (started) {
+            // 直接返回
+            return;
+        }
+        // 标记已写出
+        started = true;
+        // JSON数组格式
+        if (format == Format.JSON) {
+            // 创建写出器，不随写出器关闭目标输出流
+            generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 开始数组
+            generator.writeStartArray();
+        // CSV格式
+        } else if (format == Format.CSV) {
+            // 写出BOM
+            out.write(UTF8_BOM);
+            // 表头
+            StringBuilder line = new StringBuilder();
+            // 遍历列
+            for (int i = 0; i < columns.size(); i++) {
+                // 非首列加逗号
+                if (i > 0) {
+                    // 分隔符
+                    line.append(',');
+                }
+                // 追加表头
+                appendCsvField(line, columns.get(i).header());
+            }
+            // 写出表头行
+            out.write(line.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // 刷新输出，JSON数组格式先刷新写出器内部缓冲
+    private void flush() throws IOException {
+        // JSON数组格式
+        if (generator != null) {
+            // 刷新写出器（同时刷新输出流）
+            generator.flush();
+        } else {
+            // 刷新输出流
+            out.flush();
+        }
+    }
+
+    // 写出CSV的一行
+    private void writeCsvLine(T row) throws IOException {
+        // 行内容
+        StringBuilder line = new StringBuilder();
+        // 遍历列
+        for (int i = 0; i < columns.size(); i++) {
+            // 非首列加逗号
+            if (i > 0) {
+                // 分隔符
+                line.append(',');
+            }
+            // 取值
+            Object value = columns.get(i).getter().apply(row);
+            // 空值输出空字段
+            if (value != null) {
+                // 金额使用不带指数的形式，其他值使用toString
+                appendCsvField(line, value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+            }
+        }
+        // 写出行
+        out.write(line.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 追加CSV字段，包含逗号、双引号或换行时加双引号并把双引号转义为两个
+    private static void appendCsvField(StringBuilder line, String value) {
+        // 是否需要加引号
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        // 不需要时直接追加
+        if (!quote) {
+            // 追加字段
+            line.append(value);
+            // 直接返回
+            return;
+        }
+        // 加引号并转义
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,41 @@
+-- 账期账单生成所需的(account_id, bill_period)唯一索引
+-- 功能概述：部署账期账单生成前由DBA审核后执行一次；应用运行时只检查索引是否存在，索引不存在时拒绝生成账单，不再自动修改表结构。
+-- 原AddPaymentBills工具为每个账户生成了3-5张其他缴费类型的账单，账期都是生成当天的"yyyy年MM月"，
+-- 这些库中同一账户同一账期有多张账单，直接建立唯一索引会失败。本脚本不删除任何账单：
+-- 每组保留一张（缴费类型与账户一致的优先，其次编号最小的），其余账单的账期改为"原账期-账单编号"，
+-- 原账期记录在payment_bills_period_fix表中，需要时可按该表恢复。
+-- 执行前先确认bill_period字段长度不少于20个字符（第0步），不足时先加宽字段
+
+-- 第0步：查看bill_period字段定义
+SELECT COLUMN_TYPE, IS_NULLABLE, COLUMN_COMMENT
+FROM information_schema.COLUMNS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'payment_bills' AND COLUMN_NAME = 'bill_period';
+
+-- 第1步：预览重复的账户账期
+SELECT account_id, bill_period, COUNT(*) AS bills
+FROM payment_bills
+GROUP BY account_id, bill_period
+HAVING COUNT(*) > 1;
+
+-- 第2步：记录需要改账期的账单及其原账期
+CREATE TABLE payment_bills_period_fix AS
+SELECT ranked.id, ranked.bill_period
+FROM (
+    SELECT b.id, b.bill_period,
+           ROW_NUMBER() OVER (PARTITION BY b.account_id, b.bill_period
+                              ORDER BY COALESCE(b.payment_type_id = a.payment_type_id, 0) DESC, b.id) AS rn
+    FROM payment_bills b
+    LEFT JOIN user_payment_accounts a ON a.id = b.account_id
+    WHERE b.bill_period IS NOT NULL
+) ranked
+WHERE ranked.rn > 1;
+
+-- 第3步：其余账单的账期加上账单编号后缀
+UPDATE payment_bills b
+JOIN payment_bills_period_fix f ON f.id = b.id
+SET b.bill_period = CONCAT(f.bill_period, '-', b.id);
+
+-- 第4步：建立唯一索引，使用在线DDL，建索引期间不阻塞读写
+ALTER TABLE payment_bills
+    ADD UNIQUE INDEX uk_payment_bills_account_period (account_id, bill_period),
+    ALGORITHM = INPLACE, LOCK = NONE;
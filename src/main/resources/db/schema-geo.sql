@@ -0,0 +1,14 @@
+-- 附近查询所需的酒店、餐厅坐标字段
+-- 功能概述：为hotel、restaurant表增加可为空的经纬度字段，部署附近查询功能前由DBA执行一次；
+-- 应用运行时只检查字段是否存在，不再自动修改表结构。没有坐标的酒店和餐厅不进入附近查询索引
+-- 已存在字段时对应语句会报"Duplicate column name"，可以忽略
+
+-- 酒店表增加经度、纬度字段
+ALTER TABLE hotel
+    ADD COLUMN longitude DECIMAL(10,6) NULL COMMENT '经度',
+    ADD COLUMN latitude DECIMAL(10,6) NULL COMMENT '纬度';
+
+-- 餐厅表增加经度、纬度字段
+ALTER TABLE restaurant
+    ADD COLUMN longitude DECIMAL(10,6) NULL COMMENT '经度',
+    ADD COLUMN latitude DECIMAL(10,6) NULL COMMENT '纬度';
@@ -0,0 +1,11 @@
+-- 待支付订单自动过期所需的过期登记表
+-- 功能概述：创建order_expiry表，部署订单自动过期功能前由DBA执行一次；应用运行时只检查表是否存在，不再自动建表。
+-- 没有该表时新建订单不登记过期时间，待支付订单不会自动过期
+
+-- 订单过期登记表，每个待支付的统一订单一行，按(expire_time, order_no)索引读取即将过期的订单
+CREATE TABLE IF NOT EXISTS order_expiry (
+    order_no VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '统一订单号',
+    expire_time DATETIME NOT NULL COMMENT '过期时间',
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '登记时间',
+    INDEX idx_order_expiry_time (expire_time, order_no)
+) COMMENT='待支付订单过期登记';
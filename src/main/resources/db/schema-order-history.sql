@@ -0,0 +1,35 @@
+-- 订单历史所需的订单事件表和订单历史读模型表
+-- 功能概述：创建order_event、order_history两张表，部署订单历史功能前由DBA执行一次；
+-- 应用运行时只检查表是否存在，不再自动建表。任一张表不存在时订单列表直接查询统一订单。
+-- 投影进度保存在task_checkpoint表中，该表由db/schema-overdue-sweep.sql创建
+
+-- 统一订单事件日志，只追加，订单状态变化时作为同一事务的最后一条语句写入
+CREATE TABLE IF NOT EXISTS order_event (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY COMMENT '事件编号',
+    order_no VARCHAR(64) NOT NULL COMMENT '统一订单号',
+    user_id INT NULL COMMENT '用户编号',
+    event_type VARCHAR(16) NOT NULL COMMENT '事件类型：CREATED、PAID、CANCELLED、DELETED、UPDATED',
+    payment_status INT NULL COMMENT '事件发生后的支付状态，删除事件为删除前的状态',
+    create_time DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '事件时间',
+    INDEX idx_order_event_user (user_id, id)
+) COMMENT='统一订单事件日志（只追加）';
+
+-- 订单历史读模型，由投影按事件写入，页面按(user_id, create_time)索引分页读取
+CREATE TABLE IF NOT EXISTS order_history (
+    order_no VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '统一订单号',
+    user_id INT NOT NULL COMMENT '用户编号',
+    order_type VARCHAR(20) NULL COMMENT '订单类型',
+    module_order_id INT NULL COMMENT '模块订单编号',
+    order_title VARCHAR(255) NULL COMMENT '订单标题',
+    order_description TEXT NULL COMMENT '订单描述',
+    total_amount DECIMAL(10,2) NULL COMMENT '订单总金额',
+    payment_status INT NOT NULL COMMENT '支付状态',
+    payment_method VARCHAR(50) NULL COMMENT '支付方式',
+    payment_time DATETIME NULL COMMENT '支付时间',
+    create_time DATETIME NULL COMMENT '下单时间',
+    module_detail TEXT NULL COMMENT '模块订单明细',
+    thumbnail VARCHAR(512) NULL COMMENT '缩略图地址',
+    last_event_id BIGINT NOT NULL DEFAULT 0 COMMENT '已投影的最后一个事件编号',
+    update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '投影时间',
+    INDEX idx_order_history_user (user_id, create_time, order_no)
+) COMMENT='订单历史读模型';
@@ -0,0 +1,21 @@
+-- 统一订单支付后续操作所需的发件箱表
+-- 功能概述：创建order_outbox表及按类型领取使用的(status, message_type, next_attempt_time, id)索引，
+-- 部署发件箱前由DBA执行一次；应用运行时只检查表是否存在，不再自动建表。
+-- 没有该表时不写入发件箱，支付后续操作在支付事务中直接执行
+
+-- 发件箱表，支付事务中写入，分发器按消息类型领取到期的待处理消息
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY COMMENT '消息编号',
+    message_key VARCHAR(128) NOT NULL COMMENT '幂等键：消息类型加订单号',
+    message_type VARCHAR(32) NOT NULL COMMENT '消息类型',
+    order_no VARCHAR(64) NOT NULL COMMENT '统一订单号',
+    status TINYINT NOT NULL DEFAULT 0 COMMENT '处理状态：0待处理，1已完成，2已放弃',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+    next_attempt_time DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '下一次处理时间，已完成的消息为完成时间',
+    claim_token VARCHAR(64) NULL COMMENT '领取令牌',
+    last_error VARCHAR(500) NULL COMMENT '上一次失败原因',
+    create_time DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '写入时间',
+    UNIQUE KEY uk_order_outbox_key (message_key),
+    INDEX idx_order_outbox_due (status, next_attempt_time, id),
+    INDEX idx_order_outbox_type_due (status, message_type, next_attempt_time, id)
+) COMMENT='统一订单支付后续操作发件箱';
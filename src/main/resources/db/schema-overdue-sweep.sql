@@ -0,0 +1,21 @@
+-- 逾期账单扫描所需的账单索引和批处理检查点表
+-- 功能概述：为payment_bills表增加(bill_status, due_date, id)联合索引，并创建task_checkpoint表，
+-- 部署逾期账单分批扫描前由DBA执行一次；应用运行时只检查索引和表是否存在，不再自动修改表结构。
+-- 没有索引时扫描仍然正确，只是更慢；没有检查点表时扫描进度只保存在内存中
+-- 已存在索引时对应语句会报"Duplicate key name"，可以忽略
+
+-- 账单表增加逾期扫描索引，使用在线DDL，建索引期间不阻塞读写
+ALTER TABLE payment_bills
+    ADD INDEX idx_payment_bills_status_due (bill_status, due_date, id),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- 分批执行的后台任务保存进度的检查点表，订单历史投影也使用该表
+CREATE TABLE IF NOT EXISTS task_checkpoint (
+    task_name VARCHAR(64) NOT NULL PRIMARY KEY COMMENT '任务名称',
+    run_key VARCHAR(64) NULL COMMENT '本轮批次标识',
+    cursor_value VARCHAR(255) NULL COMMENT '已处理到的位置',
+    processed BIGINT NOT NULL DEFAULT 0 COMMENT '本轮累计处理数',
+    finished TINYINT(1) NOT NULL DEFAULT 0 COMMENT '本轮是否已完成',
+    fencing_token BIGINT NOT NULL DEFAULT 0 COMMENT '写入者的围栏令牌',
+    update_time DATETIME NOT NULL COMMENT '更新时间'
+) COMMENT='批处理任务检查点';
@@ -0,0 +1,17 @@
+-- 价格区间查询所需的餐厅、景点价格数值字段
+-- 功能概述：为restaurant、attractions表增加可为空的price_min、price_max字段及(price_min, price_max)联合索引，
+-- 部署价格索引功能前由DBA执行一次；应用运行时只检查字段是否存在，不再自动修改表结构，
+-- 字段缺失的表不参与价格回填。字段值由应用定时从price_range文本解析回填
+-- 已存在字段时对应语句会报"Duplicate column name"，可以忽略
+
+-- 餐厅表增加最低价格、最高价格字段和价格索引
+ALTER TABLE restaurant
+    ADD COLUMN price_min INT NULL COMMENT '最低价格（元），由price_range解析',
+    ADD COLUMN price_max INT NULL COMMENT '最高价格（元），由price_range解析',
+    ADD INDEX idx_restaurant_price (price_min, price_max);
+
+-- 景点表增加最低价格、最高价格字段和价格索引
+ALTER TABLE attractions
+    ADD COLUMN price_min INT NULL COMMENT '最低价格（元），由price_range解析',
+    ADD COLUMN price_max INT NULL COMMENT '最高价格（元），由price_range解析',
+    ADD INDEX idx_attractions_price (price_min, price_max);
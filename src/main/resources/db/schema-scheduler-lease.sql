@@ -0,0 +1,12 @@
+-- 多实例定时任务使用的调度租约表
+-- 功能概述：创建scheduler_lease表，部署多实例前由DBA执行一次；应用运行时只检查表是否存在，不再自动建表。
+-- 没有该表时定时任务按单实例模式执行，每个实例都会运行全部任务和分片
+
+-- 调度租约表，过期时间按数据库时钟计算，围栏令牌每次获得租约时加1
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+    lease_name VARCHAR(128) NOT NULL PRIMARY KEY COMMENT '租约名称',
+    owner VARCHAR(128) NULL COMMENT '持有者（实例标识），为空表示未被持有',
+    fencing_token BIGINT NOT NULL DEFAULT 0 COMMENT '围栏令牌，每次获得租约时加1',
+    expires_at DATETIME(3) NULL COMMENT '过期时间（数据库时钟）',
+    update_time DATETIME(3) NOT NULL COMMENT '更新时间'
+) COMMENT='调度租约';
@@ -0,0 +1,26 @@
+-- 用户缴费统计和订单统计所需的计数表
+-- 功能概述：创建user_payment_stats、user_order_stats两张按用户汇总的计数表，部署统计功能前由DBA执行一次；
+-- 应用运行时只检查表是否存在，不再自动建表。任一张表不存在时统计接口按明细汇总查询
+
+-- 用户缴费统计表，每个用户一行，账单状态变化时在同一事务中累加
+CREATE TABLE IF NOT EXISTS user_payment_stats (
+    user_id INT NOT NULL PRIMARY KEY COMMENT '用户编号',
+    total_bills INT NOT NULL DEFAULT 0 COMMENT '账单总数',
+    unpaid_bills INT NOT NULL DEFAULT 0 COMMENT '待缴费账单数',
+    paid_bills INT NOT NULL DEFAULT 0 COMMENT '已缴费账单数',
+    overdue_bills INT NOT NULL DEFAULT 0 COMMENT '逾期账单数',
+    total_paid_amount DECIMAL(14,2) NOT NULL DEFAULT 0 COMMENT '已缴费金额',
+    total_unpaid_amount DECIMAL(14,2) NOT NULL DEFAULT 0 COMMENT '待缴费金额',
+    update_time DATETIME NOT NULL COMMENT '更新时间'
+) COMMENT='用户缴费统计';
+
+-- 用户订单统计表，每个用户一行，订单状态变化时在同一事务中累加
+CREATE TABLE IF NOT EXISTS user_order_stats (
+    user_id INT NOT NULL PRIMARY KEY COMMENT '用户编号',
+    total INT NOT NULL DEFAULT 0 COMMENT '订单总数',
+    unpaid INT NOT NULL DEFAULT 0 COMMENT '待支付订单数',
+    paid INT NOT NULL DEFAULT 0 COMMENT '已支付订单数',
+    cancelled INT NOT NULL DEFAULT 0 COMMENT '已取消订单数',
+    completed INT NOT NULL DEFAULT 0 COMMENT '已完成订单数',
+    update_time DATETIME NOT NULL COMMENT '更新时间'
+) COMMENT='用户订单统计';
@@ -0,0 +1,60 @@
+package com.icss.xihu.config;
+
+import com.icss.xihu.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 管理接口访问拦截器测试
+ * 功能概述：校验未登录返回401、非管理员返回403、配置中的管理员放行，未配置管理员时全部拒绝
+ */
+class AdminAccessInterceptorTest {
+
+    private static MockHttpServletRequest request(String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/slowQueries");
+        if (username != null) {
+            User user = new User();
+            user.setUsername(username);
+            request.getSession().setAttribute("user", user);
+        }
+        return request;
+    }
+
+    @Test
+    void anonymousRequestsAreRejectedWith401() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(new AdminAccessInterceptor("ops").preHandle(request(null), response, null));
+
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void usersOutsideTheAdminListAreRejectedWith403() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(new AdminAccessInterceptor("ops, audit").preHandle(request("alice"), response, null));
+
+        assertEquals(403, response.getStatus());
+        assertTrue(response.getContentAsString().contains("\"success\":false"));
+    }
+
+    @Test
+    void configuredAdminsPass() throws Exception {
+        assertTrue(new AdminAccessInterceptor("ops, audit").preHandle(request("audit"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void anEmptyAdminListDisablesTheRoutes() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(new AdminAccessInterceptor("").preHandle(request("ops"), response, null));
+
+        assertEquals(403, response.getStatus());
+    }
+}
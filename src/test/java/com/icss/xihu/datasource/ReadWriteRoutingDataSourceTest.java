@@ -0,0 +1,86 @@
+package com.icss.xihu.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 读写分离路由数据源测试
+ * 功能概述：校验目标数据源在afterPropertiesSet中登记后，不在事务中时按读库标记路由、读库之间轮询、读库故障回退到主库
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static Connection connection(String name) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> "toString".equals(method.getName()) ? name : null);
+    }
+
+    private static DataSource dataSource(Connection connection, boolean broken) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if ("getConnection".equals(method.getName())) {
+                        if (broken) {
+                            throw new SQLException("replica down");
+                        }
+                        return connection;
+                    }
+                    return "toString".equals(method.getName()) ? "ds:" + connection : null;
+                });
+    }
+
+    private static <T> T onReplica(SqlCall<T> call) throws SQLException {
+        boolean previous = RoutingContext.preferReplica();
+        try {
+            return call.run();
+        } finally {
+            RoutingContext.restoreReplicaPreferred(previous);
+        }
+    }
+
+    private interface SqlCall<T> {
+        T run() throws SQLException;
+    }
+
+    @Test
+    void routesUnmarkedQueriesToPrimaryAndCatalogQueriesAcrossReplicas() throws SQLException {
+        Connection primary = connection("primary");
+        Connection replica0 = connection("replica0");
+        Connection replica1 = connection("replica1");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource(primary, false),
+                List.of(dataSource(replica0, false), dataSource(replica1, false)));
+        routing.afterPropertiesSet();
+
+        assertSame(primary, routing.getConnection());
+        Connection first = onReplica(routing::getConnection);
+        Connection second = onReplica(routing::getConnection);
+        assertEquals(List.of(replica0, replica1), List.of(first, second));
+        assertSame(primary, routing.getConnection());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaFails() throws SQLException {
+        Connection primary = connection("primary");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource(primary, false),
+                List.of(dataSource(connection("replica0"), true)));
+        routing.afterPropertiesSet();
+
+        assertSame(primary, onReplica(routing::getConnection));
+        assertEquals(1L, routing.getStats().get("replicaFallbacks"));
+    }
+
+    @Test
+    void withoutReplicasEverythingGoesToPrimary() throws SQLException {
+        Connection primary = connection("primary");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource(primary, false), List.of());
+        routing.afterPropertiesSet();
+
+        assertSame(primary, onReplica(routing::getConnection));
+    }
+}
@@ -0,0 +1,91 @@
+package com.icss.xihu.order;
+
+import com.icss.xihu.model.UnifiedOrderNew;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 模块订单分发器测试
+ * 功能概述：校验按类型名称排序、模块订单ID去重升序分组；取消失败时异常抛给调用方的事务；支付失败的类型返回给发件箱重试
+ */
+@ExtendWith(MockitoExtension.class)
+class ModuleOrderDispatcherTest {
+
+    @Mock
+    private ModuleOrderAdapter hotel;
+
+    @Mock
+    private ModuleOrderAdapter food;
+
+    @Spy
+    private List<ModuleOrderAdapter> adapterList = new ArrayList<>();
+
+    @InjectMocks
+    private ModuleOrderDispatcher dispatcher;
+
+    private static UnifiedOrderNew order(String orderType, Integer moduleOrderId) {
+        UnifiedOrderNew order = new UnifiedOrderNew();
+        order.setOrderNo(orderType + moduleOrderId);
+        order.setOrderType(orderType);
+        order.setModuleOrderId(moduleOrderId);
+        return order;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(hotel.getOrderType()).thenReturn(UnifiedOrderNew.TYPE_HOTEL);
+        when(food.getOrderType()).thenReturn(UnifiedOrderNew.TYPE_FOOD);
+        adapterList.add(hotel);
+        adapterList.add(food);
+        dispatcher.init();
+    }
+
+    @Test
+    void cancellationGroupsByTypeInNameOrderWithSortedDistinctIds() {
+        dispatcher.propagateCancelled(List.of(order(UnifiedOrderNew.TYPE_HOTEL, 5), order(UnifiedOrderNew.TYPE_HOTEL, 3),
+                order(UnifiedOrderNew.TYPE_HOTEL, 5), order(UnifiedOrderNew.TYPE_FOOD, 2), order(UnifiedOrderNew.TYPE_TRAVEL, 9)));
+
+        InOrder order = inOrder(food, hotel);
+        order.verify(food).markCancelled(List.of(2));
+        order.verify(hotel).markCancelled(List.of(3, 5));
+    }
+
+    @Test
+    void aFailedCancellationPropagatesSoTheCallerRollsBack() {
+        when(food.markCancelled(anyList())).thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"));
+
+        assertThrows(CannotAcquireLockException.class, () -> dispatcher.propagateCancelled(
+                List.of(order(UnifiedOrderNew.TYPE_FOOD, 1), order(UnifiedOrderNew.TYPE_HOTEL, 2))));
+    }
+
+    @Test
+    void paidFailuresAreReturnedPerTypeAndOtherTypesStillRun() {
+        LocalDateTime paidAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(food.markPaid(anyList(), eq(paidAt))).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+        List<String> failed = dispatcher.propagatePaid(
+                List.of(order(UnifiedOrderNew.TYPE_FOOD, 1), order(UnifiedOrderNew.TYPE_HOTEL, 2)), paidAt);
+
+        assertEquals(List.of(UnifiedOrderNew.TYPE_FOOD), failed);
+        verify(hotel).markPaid(List.of(2), paidAt);
+    }
+}
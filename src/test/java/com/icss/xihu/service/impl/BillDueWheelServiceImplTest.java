@@ -0,0 +1,129 @@
+package com.icss.xihu.service.impl;
+
+import com.icss.xihu.mapper.PaymentMapper;
+import com.icss.xihu.model.PaymentBill;
+import com.icss.xihu.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 账单到期时间轮测试
+ * 功能概述：校验装载时先把已过到期时刻的待缴费账单分批更新为逾期，再登记装载范围内的账单；补齐失败时不影响装载
+ */
+@ExtendWith(MockitoExtension.class)
+class BillDueWheelServiceImplTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final List<PaymentBill> pastDue = List.of(bill(1, today.minusDays(3)), bill(2, today.minusDays(1)), bill(3, today.minusDays(1)));
+    private final List<PaymentBill> upcoming = List.of(bill(4, today), bill(5, today.plusDays(2)));
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @InjectMocks
+    private BillDueWheelServiceImpl wheel;
+
+    @Captor
+    private ArgumentCaptor<List<Integer>> overdueIds;
+
+    private boolean failUpdates;
+
+    private static PaymentBill bill(int id, LocalDate dueDate) {
+        PaymentBill bill = new PaymentBill();
+        bill.setId(id);
+        bill.setDueDate(dueDate);
+        bill.setBillStatus(0);
+        return bill;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(paymentMapper.findPendingBillChunk(any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            LocalDate from = invocation.getArgument(0);
+            LocalDate to = invocation.getArgument(1);
+            List<PaymentBill> result = new ArrayList<>();
+            for (PaymentBill bill : from == null ? pastDue : upcoming) {
+                if ((from == null || !bill.getDueDate().isBefore(from)) && !bill.getDueDate().isAfter(to)) {
+                    result.add(bill);
+                }
+            }
+            return invocation.getArgument(2) == null ? result : List.of();
+        });
+        when(paymentService.markBillsOverdue(anyList(), any(), anyString())).thenAnswer(invocation -> {
+            if (failUpdates) {
+                throw new IllegalStateException("db down");
+            }
+            List<PaymentBill> marked = new ArrayList<>();
+            for (Integer id : invocation.<List<Integer>>getArgument(0)) {
+                marked.add(bill(id, today.minusDays(1)));
+            }
+            return marked;
+        });
+        ReflectionTestUtils.setField(wheel, "horizonDays", 7);
+        ReflectionTestUtils.setField(wheel, "tickMs", 1000L);
+        ReflectionTestUtils.setField(wheel, "batchSize", 2);
+        wheel.init();
+    }
+
+    @Test
+    void reloadMarksPastDueBillsBeforeLoadingTheHorizon() {
+        Map<String, Object> result = wheel.reload();
+
+        assertEquals(3, result.get("caughtUp"));
+        assertEquals(2, result.get("added"));
+        verify(paymentService, times(2)).markBillsOverdue(overdueIds.capture(), eq(today), anyString());
+        assertEquals(List.of(List.of(1, 2), List.of(3)), overdueIds.getAllValues());
+        InOrder queries = inOrder(paymentMapper);
+        queries.verify(paymentMapper).findPendingBillChunk(isNull(), eq(today.minusDays(1)), isNull(), isNull(), anyInt());
+        queries.verify(paymentMapper).findPendingBillChunk(eq(today), any(), isNull(), isNull(), anyInt());
+        assertEquals(2, wheel.getStats().get("pending"));
+    }
+
+    @Test
+    void failedCatchUpStillLoadsTheHorizon() {
+        failUpdates = true;
+
+        Map<String, Object> result = wheel.reload();
+
+        assertEquals(0, result.get("caughtUp"));
+        assertEquals(2, result.get("added"));
+        verify(paymentService, times(1)).markBillsOverdue(anyList(), any(), anyString());
+        assertEquals(1L, wheel.getStats().get("failures"));
+    }
+
+    @Test
+    void reloadDoesNotRegisterTheSameBillTwice() {
+        wheel.reload();
+
+        assertEquals(0, wheel.reload().get("added"));
+        assertEquals(2L, wheel.getStats().get("scheduled"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.icss.xihu.service.impl;
+
+import com.icss.xihu.mapper.PaymentMapper;
+import com.icss.xihu.model.PaymentBill;
+import com.icss.xihu.model.UserPaymentAccount;
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+import com.icss.xihu.service.PaymentService;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 账期账单生成测试
+ * 功能概述：校验唯一索引不存在时拒绝生成、不修改表结构；写入时与其他来源的账单冲突时整批重新查询后只写入缺少的账单
+ */
+@ExtendWith(MockitoExtension.class)
+class BillingCycleServiceImplTest {
+
+    private final List<UserPaymentAccount> accounts = List.of(account(1, 11), account(2, 12), account(3, 13));
+    private final List<Integer> billed = new ArrayList<>();
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    @InjectMocks
+    private BillingCycleServiceImpl service;
+
+    @Captor
+    private ArgumentCaptor<List<PaymentBill>> writes;
+
+    private int duplicates;
+
+    private static UserPaymentAccount account(int id, int userId) {
+        UserPaymentAccount account = new UserPaymentAccount();
+        account.setId(id);
+        account.setUserId(userId);
+        account.setPaymentTypeId(1);
+        return account;
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "commitSize", 10);
+        ReflectionTestUtils.setField(service, "partitions", 1);
+        ReflectionTestUtils.setField(service, "dueDay", 20);
+    }
+
+    private void withUniqueIndex() {
+        when(paymentMapper.countIndex(anyString())).thenReturn(1);
+        doAnswer(invocation -> {
+            ResultHandler<UserPaymentAccount> handler = invocation.getArgument(0);
+            for (UserPaymentAccount account : accounts) {
+                handler.handleResult(context(account));
+            }
+            return null;
+        }).when(paymentMapper).streamActiveAccounts(any());
+        when(paymentMapper.findBilledAccountIds(anyString(), anyList())).thenAnswer(invocation -> new ArrayList<>(billed));
+        when(paymentService.createBills(anyList())).thenAnswer(invocation -> {
+            List<PaymentBill> bills = invocation.getArgument(0);
+            if (duplicates > 0) {
+                duplicates--;
+                billed.add(2);
+                throw new DuplicateKeyException("Duplicate entry for key 'uk_payment_bills_account_period'");
+            }
+            return bills.size();
+        });
+    }
+
+    private static ResultContext<UserPaymentAccount> context(UserPaymentAccount account) {
+        return new ResultContext<>() {
+            @Override
+            public UserPaymentAccount getResultObject() {
+                return account;
+            }
+
+            @Override
+            public int getResultCount() {
+                return account.getId();
+            }
+
+            @Override
+            public boolean isStopped() {
+                return false;
+            }
+
+            @Override
+            public void stop() {
+            }
+        };
+    }
+
+    @Test
+    void refusesToGenerateWithoutTheUniqueIndex() {
+        Map<String, Object> result = service.generate(YearMonth.of(2024, 1), "test");
+
+        assertFalse((Boolean) result.get("success"));
+        assertTrue(((String) result.get("message")).contains("db/schema-billing-cycle.sql"));
+        verify(paymentMapper, never()).streamActiveAccounts(any());
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void checksTheUniqueIndexOnceAndWritesOneBillPerAccount() {
+        withUniqueIndex();
+
+        Map<String, Object> first = service.generate(YearMonth.of(2024, 1), "test");
+        service.generate(YearMonth.of(2024, 2), "test");
+
+        assertTrue((Boolean) first.get("success"));
+        assertEquals(3L, first.get("inserted"));
+        verify(paymentMapper, times(1)).countIndex(anyString());
+        verify(paymentService, times(2)).createBills(writes.capture());
+        List<PaymentBill> bills = writes.getAllValues().get(0);
+        assertEquals(List.of(1, 2, 3), bills.stream().map(PaymentBill::getAccountId).toList());
+        assertEquals("BILL2024010000000001", bills.get(0).getBillNumber());
+        assertEquals("2024年01月", bills.get(0).getBillPeriod());
+    }
+
+    @Test
+    void duplicateKeyRequeriesTheBatchAndWritesOnlyMissingBills() {
+        withUniqueIndex();
+        duplicates = 1;
+
+        Map<String, Object> result = service.generate(YearMonth.of(2024, 1), "test");
+
+        assertTrue((Boolean) result.get("success"));
+        assertEquals(2L, result.get("inserted"));
+        assertEquals(1L, result.get("skipped"));
+        verify(paymentService, times(2)).createBills(writes.capture());
+        List<PaymentBill> retried = writes.getAllValues().get(1);
+        assertEquals(List.of(1, 3), retried.stream().map(PaymentBill::getAccountId).toList());
+    }
+
+    @Test
+    void repeatedDuplicateKeyAbortsTheRun() {
+        withUniqueIndex();
+        duplicates = 2;
+
+        Map<String, Object> result = service.generate(YearMonth.of(2024, 1), "test");
+
+        assertFalse((Boolean) result.get("success"));
+        assertEquals(0L, result.get("inserted"));
+    }
+}
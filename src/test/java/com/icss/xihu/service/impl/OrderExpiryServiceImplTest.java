@@ -0,0 +1,160 @@
+package com.icss.xihu.service.impl;
+
+import com.icss.xihu.mapper.OrderExpiryMapper;
+import com.icss.xihu.model.OrderExpiry;
+import com.icss.xihu.model.UnifiedOrderNew;
+import com.icss.xihu.order.OrderExpiryStore;
+import com.icss.xihu.scheduling.SchedulerLease;
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+import com.icss.xihu.service.UnifiedOrderNewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 订单过期时间轮测试
+ * 功能概述：校验装载按数据库时钟计算装载范围并把过期时间换算为本机时间；取消时不传本机时间；
+ * 定期装载不扫描统一订单表，补登记在租约下执行、被其他实例持有时跳过
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderExpiryServiceImplTest {
+
+    private final List<OrderExpiry> expiries = new ArrayList<>();
+    private final List<UnifiedOrderNew> unregistered = new ArrayList<>();
+    private final SchedulerLease lease = new SchedulerLease("order-expiry-backfill", "node-1", 5L);
+
+    @Mock
+    private OrderExpiryMapper orderExpiryMapper;
+
+    @Mock
+    private OrderExpiryStore orderExpiryStore;
+
+    @Mock
+    private UnifiedOrderNewService unifiedOrderNewService;
+
+    @Mock
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    @InjectMocks
+    private OrderExpiryServiceImpl service;
+
+    @Captor
+    private ArgumentCaptor<List<OrderExpiry>> batches;
+
+    private LocalDateTime dbNow;
+
+    private static UnifiedOrderNew order(int id, LocalDateTime updateTime) {
+        UnifiedOrderNew order = new UnifiedOrderNew();
+        order.setId(id);
+        order.setOrderNo("ORD" + id);
+        order.setUpdateTime(updateTime);
+        return order;
+    }
+
+    @BeforeEach
+    void setUp() {
+        dbNow = LocalDateTime.now().plusMinutes(10);
+        lenient().when(orderExpiryStore.isAvailable()).thenReturn(true);
+        lenient().when(orderExpiryStore.getTtlMinutes()).thenReturn(30);
+        lenient().when(orderExpiryMapper.currentTime()).thenAnswer(invocation -> dbNow);
+        lenient().when(orderExpiryMapper.findExpiringChunk(any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> invocation.getArgument(1) == null ? new ArrayList<>(expiries) : List.of());
+        lenient().when(schedulerLeaseManager.isAvailable()).thenReturn(true);
+        ReflectionTestUtils.setField(service, "horizonMinutes", 60);
+        ReflectionTestUtils.setField(service, "tickMs", 1000L);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        service.init();
+    }
+
+    @Test
+    void reloadUsesTheDatabaseClockForTheHorizonAndTheDeadlines() {
+        expiries.add(new OrderExpiry("ORD1", dbNow.minusMinutes(1)));
+        expiries.add(new OrderExpiry("ORD2", dbNow.plusMinutes(5)));
+
+        Map<String, Object> result = service.reload();
+
+        verify(orderExpiryMapper).findExpiringChunk(eq(dbNow.plusMinutes(60)), isNull(), isNull(), anyInt());
+        long offset = (Long) result.get("clockOffsetMs");
+        assertTrue(Math.abs(offset - 600_000) < 5_000, "offset " + offset);
+        Map<String, Object> stats = service.getStats();
+        assertEquals(1, stats.get("awaitingCancel"));
+        assertEquals(1, stats.get("pending"));
+        verify(orderExpiryMapper, never()).findUnregisteredUnpaidOrders(anyInt(), anyInt());
+    }
+
+    @Test
+    void advanceLeavesTheExpiryCheckToTheDatabase() {
+        expiries.add(new OrderExpiry("ORD1", dbNow.minusMinutes(1)));
+        when(unifiedOrderNewService.expireOrders(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        service.reload();
+
+        service.advance();
+
+        verify(unifiedOrderNewService, times(1)).expireOrders(List.of("ORD1"));
+    }
+
+    @Test
+    void backfillPagesUnderTheLeaseAndLetsTheDatabaseTimeOrdersWithoutTimestamps() {
+        for (int id = 1; id <= 1500; id++) {
+            unregistered.add(order(id, id == 7 ? null : dbNow.minusMinutes(2)));
+        }
+        when(schedulerLeaseManager.tryAcquire(anyString())).thenReturn(lease);
+        when(schedulerLeaseManager.renew(lease)).thenReturn(true);
+        when(orderExpiryMapper.findUnregisteredUnpaidOrders(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return unregistered.stream().filter(o -> o.getId() > afterId).limit(limit).toList();
+        });
+        when(orderExpiryMapper.insertBatch(anyList(), anyInt())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        Map<String, Object> result = service.backfill();
+
+        assertEquals(1500, result.get("backfilled"));
+        assertEquals(true, result.get("completed"));
+        verify(orderExpiryMapper, times(2)).findUnregisteredUnpaidOrders(anyInt(), anyInt());
+        verify(schedulerLeaseManager, times(2)).renew(lease);
+        verify(schedulerLeaseManager, times(1)).release(lease);
+        verify(orderExpiryMapper, atLeastOnce()).insertBatch(batches.capture(), eq(30));
+        List<OrderExpiry> batch = batches.getAllValues().get(0);
+        assertNull(batch.get(6).getExpireTime());
+        assertEquals(dbNow.plusMinutes(28), batch.get(0).getExpireTime());
+    }
+
+    @Test
+    void backfillIsSkippedWhileAnotherNodeHoldsTheLease() {
+        unregistered.add(order(1, dbNow));
+        when(schedulerLeaseManager.tryAcquire(anyString())).thenReturn(null);
+
+        Map<String, Object> result = service.backfill();
+
+        assertTrue(result.containsKey("skipped"));
+        verify(orderExpiryMapper, never()).findUnregisteredUnpaidOrders(anyInt(), anyInt());
+    }
+}
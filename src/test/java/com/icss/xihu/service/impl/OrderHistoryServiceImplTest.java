@@ -0,0 +1,242 @@
+package com.icss.xihu.service.impl;
+
+import com.icss.xihu.mapper.OrderEventMapper;
+import com.icss.xihu.mapper.OrderHistoryMapper;
+import com.icss.xihu.mapper.TaskCheckpointMapper;
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+import com.icss.xihu.model.OrderEvent;
+import com.icss.xihu.model.OrderHistory;
+import com.icss.xihu.model.TaskCheckpoint;
+import com.icss.xihu.model.UnifiedOrderNew;
+import com.icss.xihu.order.ModuleOrderDispatcher;
+import com.icss.xihu.order.OrderEventJournal;
+import com.icss.xihu.scheduling.SchedulerLease;
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 订单历史投影测试
+ * 功能概述：校验读取位置沿连续编号推进、不等待沉淀；缺口之后的事件未沉淀时不越过缺口；越过的缺口按主键复查，
+ * 晚提交的事件出现后补投影，检查点停在最小的未决缺口之前；检查点带着租约的围栏令牌保存；
+ * 租约被其他实例持有时不投影，令牌过期时放弃租约
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderHistoryServiceImplTest {
+
+    private final List<OrderEvent> log = new ArrayList<>();
+    private final Map<String, Long> projected = new HashMap<>();
+    private final List<TaskCheckpoint> saved = new ArrayList<>();
+    private final SchedulerLease lease = new SchedulerLease("order-history-projector", "node-1", 7L);
+
+    private int fenced;
+    private String storedCursor;
+
+    @Mock
+    private OrderEventMapper orderEventMapper;
+
+    @Mock
+    private OrderHistoryMapper orderHistoryMapper;
+
+    @Mock
+    private TaskCheckpointMapper taskCheckpointMapper;
+
+    @Mock
+    private UnifiedOrderNewMapper unifiedOrderNewMapper;
+
+    @Mock
+    private ModuleOrderDispatcher moduleOrderDispatcher;
+
+    @Mock
+    private OrderEventJournal orderEventJournal;
+
+    @Mock
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    @InjectMocks
+    private OrderHistoryServiceImpl service;
+
+    private void event(long id, String orderNo, boolean settled) {
+        OrderEvent event = new OrderEvent();
+        event.setId(id);
+        event.setOrderNo(orderNo);
+        event.setUserId(1);
+        event.setEventType(OrderEvent.TYPE_CREATED);
+        event.setSettled(settled);
+        log.add(event);
+        log.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        fenced = 1;
+        lenient().when(orderEventMapper.findAfter(anyLong(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.getArgument(2);
+            return log.stream().filter(e -> e.getId() > after).limit(limit).toList();
+        });
+        lenient().when(orderEventMapper.findByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return log.stream().filter(e -> ids.contains(e.getId())).toList();
+        });
+        lenient().when(orderHistoryMapper.upsertBatch(anyList())).thenAnswer(invocation -> {
+            List<OrderHistory> histories = invocation.getArgument(0);
+            for (OrderHistory history : histories) {
+                projected.merge(history.getOrderNo(), history.getLastEventId(), Math::max);
+            }
+            return histories.size();
+        });
+        lenient().when(taskCheckpointMapper.findByTaskName(anyString())).thenAnswer(invocation -> {
+            if (storedCursor == null) {
+                return null;
+            }
+            TaskCheckpoint checkpoint = new TaskCheckpoint();
+            checkpoint.setCursorValue(storedCursor);
+            return checkpoint;
+        });
+        lenient().when(taskCheckpointMapper.updateFenced(any())).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return fenced;
+        });
+        lenient().when(unifiedOrderNewMapper.findByOrderNos(anyList())).thenAnswer(invocation -> {
+            List<String> orderNos = invocation.getArgument(0);
+            return orderNos.stream().map(orderNo -> {
+                UnifiedOrderNew order = new UnifiedOrderNew();
+                order.setOrderNo(orderNo);
+                order.setUserId(1);
+                return order;
+            }).toList();
+        });
+        lenient().when(orderEventJournal.isAvailable()).thenReturn(true);
+        lenient().when(schedulerLeaseManager.isAvailable()).thenReturn(true);
+        lenient().when(schedulerLeaseManager.tryAcquire(anyString())).thenReturn(lease);
+        ReflectionTestUtils.setField(service, "available", true);
+        ReflectionTestUtils.setField(service, "checkpointAvailable", true);
+        ReflectionTestUtils.setField(service, "settleSeconds", 10);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "gapRetentionSeconds", 300);
+        ReflectionTestUtils.setField(service, "maxGaps", 100);
+        ReflectionTestUtils.setField(service, "leaseRenewMs", 10_000L);
+    }
+
+    @Test
+    void contiguousEventsAdvanceWithoutWaitingToSettle() {
+        event(1, "ORD1", false);
+        event(2, "ORD2", false);
+        event(3, "ORD1", false);
+
+        service.project();
+
+        assertEquals(3L, projected.get("ORD1"));
+        assertEquals(2L, projected.get("ORD2"));
+        assertEquals(3L, service.getStats().get("cursor"));
+        TaskCheckpoint last = saved.get(saved.size() - 1);
+        assertEquals("3", last.getCursorValue());
+        assertEquals(7L, last.getFencingToken());
+    }
+
+    @Test
+    void anUnsettledEventAfterAGapHoldsTheReadPosition() {
+        event(1, "ORD1", true);
+        event(3, "ORD3", false);
+
+        service.project();
+        service.project();
+
+        assertEquals(3L, projected.get("ORD3"));
+        Map<String, Object> stats = service.getStats();
+        assertEquals(1L, stats.get("cursor"));
+        assertEquals(1, stats.get("projectedAhead"));
+        verify(orderHistoryMapper, times(1)).upsertBatch(anyList());
+    }
+
+    @Test
+    void aLateCommitInsideASettledGapIsProjectedWhenItAppears() {
+        event(1, "ORD1", true);
+        event(3, "ORD3", true);
+
+        service.project();
+
+        Map<String, Object> stats = service.getStats();
+        assertEquals(3L, stats.get("cursor"));
+        assertEquals(1L, stats.get("watermark"));
+        assertEquals(1, stats.get("gaps"));
+        assertEquals("1", saved.get(saved.size() - 1).getCursorValue());
+
+        event(2, "ORD2", true);
+        service.project();
+
+        assertEquals(2L, projected.get("ORD2"));
+        verify(orderEventMapper, times(1)).findByIds(anyList());
+        verify(orderEventMapper).findByIds(List.of(2L));
+        stats = service.getStats();
+        assertEquals(3L, stats.get("watermark"));
+        assertEquals(0, stats.get("gaps"));
+        assertEquals(1L, stats.get("gapsFilled"));
+        assertEquals("3", saved.get(saved.size() - 1).getCursorValue());
+    }
+
+    @Test
+    void anotherNodeHoldingTheLeaseKeepsThisNodeIdleButFollowingTheCheckpoint() {
+        when(schedulerLeaseManager.tryAcquire(anyString())).thenReturn(null);
+        storedCursor = "42";
+        event(43, "ORD43", true);
+
+        assertEquals(0, service.project());
+
+        verify(orderEventMapper, never()).findAfter(anyLong(), anyInt(), anyInt());
+        assertEquals(0, saved.size());
+        assertEquals(42L, service.getStats().get("watermark"));
+        assertFalse((Boolean) service.getStats().get("leaseHeld"));
+    }
+
+    @Test
+    void acquiringTheLeaseResumesFromTheSavedCheckpoint() {
+        storedCursor = "2";
+        event(1, "ORD1", true);
+        event(2, "ORD2", true);
+        event(3, "ORD3", true);
+
+        service.project();
+
+        assertEquals(1, projected.size());
+        assertEquals(3L, projected.get("ORD3"));
+        verify(orderEventMapper).findAfter(eq(2L), anyInt(), anyInt());
+    }
+
+    @Test
+    void aCheckpointRejectedForAStaleTokenDropsTheLease() {
+        fenced = 0;
+        event(1, "ORD1", true);
+
+        service.project();
+
+        assertFalse((Boolean) service.getStats().get("leaseHeld"));
+        service.project();
+        verify(schedulerLeaseManager, times(2)).tryAcquire(anyString());
+    }
+}
@@ -0,0 +1,238 @@
+package com.icss.xihu.service.impl;
+
+import com.icss.xihu.mapper.OutboxMapper;
+import com.icss.xihu.model.OutboxMessage;
+import com.icss.xihu.order.OrderOutbox;
+import com.icss.xihu.order.OutboxHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 发件箱分发测试
+ * 功能概述：校验每个消息类型按自己处理器的批次领取；标记完成的行数不足时计入领取失效；失败的消息按领取令牌记录；
+ * 处理期间续约线程延长领取；逐条发送的短信不推迟模块订单同步
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    private final List<OutboxMessage> pending = new ArrayList<>();
+    private final Map<String, List<OutboxMessage>> claims = new HashMap<>();
+
+    private final OrderOutbox outbox = new OrderOutbox();
+    private int lostOnDone;
+
+    @Mock
+    private OutboxMapper outboxMapper;
+
+    @InjectMocks
+    private OutboxServiceImpl service;
+
+    @Captor
+    private ArgumentCaptor<String> claimTokens;
+
+    private static class FakeHandler implements OutboxHandler {
+
+        private final String messageType;
+        private final int batchSize;
+        private final Function<List<OutboxMessage>, Map<Long, String>> body;
+
+        FakeHandler(String messageType, int batchSize, Function<List<OutboxMessage>, Map<Long, String>> body) {
+            this.messageType = messageType;
+            this.batchSize = batchSize;
+            this.body = body;
+        }
+
+        @Override
+        public String getMessageType() {
+            return messageType;
+        }
+
+        @Override
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        @Override
+        public Map<Long, String> handle(List<OutboxMessage> messages) {
+            return body.apply(messages);
+        }
+    }
+
+    private void message(long id, String messageType) {
+        OutboxMessage message = new OutboxMessage(messageType, "ORD" + id);
+        message.setId(id);
+        message.setAttempts(0);
+        pending.add(message);
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(outboxMapper.claimDue(anyString(), anyString(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            synchronized (pending) {
+                String messageType = invocation.getArgument(1);
+                int limit = invocation.getArgument(3);
+                List<OutboxMessage> claimed = pending.stream()
+                        .filter(m -> m.getMessageType().equals(messageType))
+                        .limit(limit)
+                        .toList();
+                pending.removeAll(claimed);
+                claims.put(invocation.getArgument(0), claimed);
+                return claimed.size();
+            }
+        });
+        lenient().when(outboxMapper.findClaimed(anyString())).thenAnswer(invocation -> {
+            synchronized (pending) {
+                return new ArrayList<>(claims.get(invocation.<String>getArgument(0)));
+            }
+        });
+        lenient().when(outboxMapper.markDone(anyList(), anyString()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size() - lostOnDone);
+        lenient().when(outboxMapper.markFailed(any(), anyString(), anyLong(), any(), anyInt())).thenReturn(1);
+        lenient().when(outboxMapper.extendClaim(anyString(), anyInt())).thenReturn(1);
+        ReflectionTestUtils.setField(outbox, "available", true);
+        ReflectionTestUtils.setField(service, "orderOutbox", outbox);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 60);
+        ReflectionTestUtils.setField(service, "renewMs", 20L);
+        ReflectionTestUtils.setField(service, "maxAttempts", 10);
+        ReflectionTestUtils.setField(service, "backoffMs", 1000L);
+        ReflectionTestUtils.setField(service, "maxBackoffMs", 600_000L);
+        ReflectionTestUtils.setField(service, "scanIntervalMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private void handlers(OutboxHandler... handlers) {
+        ReflectionTestUtils.setField(service, "handlerList", List.of(handlers));
+        service.init();
+    }
+
+    @Test
+    void eachTypeIsClaimedWithItsOwnBatchSize() {
+        handlers(new FakeHandler(OutboxMessage.TYPE_MODULE_PAID, 100, m -> Map.of()),
+                new FakeHandler(OutboxMessage.TYPE_PAYMENT_NOTICE, 2, m -> Map.of()));
+        for (long id = 1; id <= 5; id++) {
+            message(id, OutboxMessage.TYPE_PAYMENT_NOTICE);
+        }
+        message(6, OutboxMessage.TYPE_MODULE_PAID);
+
+        assertEquals(5, service.dispatch(OutboxMessage.TYPE_PAYMENT_NOTICE));
+
+        verify(outboxMapper, times(3)).claimDue(anyString(), anyString(), anyInt(), anyInt());
+        verify(outboxMapper, times(3)).claimDue(anyString(), eq(OutboxMessage.TYPE_PAYMENT_NOTICE), eq(60), eq(2));
+        assertEquals(1, pending.size());
+        assertEquals(5L, service.getStats().get("succeeded"));
+    }
+
+    @Test
+    void aShortMarkDoneCountIsReportedAsStale() {
+        handlers(new FakeHandler(OutboxMessage.TYPE_MODULE_PAID, 100, m -> Map.of()));
+        message(1, OutboxMessage.TYPE_MODULE_PAID);
+        message(2, OutboxMessage.TYPE_MODULE_PAID);
+        lostOnDone = 1;
+
+        service.dispatch(OutboxMessage.TYPE_MODULE_PAID);
+
+        Map<String, Object> stats = service.getStats();
+        assertEquals(1L, stats.get("succeeded"));
+        assertEquals(1L, stats.get("staleClaims"));
+    }
+
+    @Test
+    void failuresAreRecordedUnderTheClaimToken() {
+        handlers(new FakeHandler(OutboxMessage.TYPE_MODULE_PAID, 100, m -> Map.of(2L, "boom")));
+        message(1, OutboxMessage.TYPE_MODULE_PAID);
+        message(2, OutboxMessage.TYPE_MODULE_PAID);
+
+        service.dispatch(OutboxMessage.TYPE_MODULE_PAID);
+
+        verify(outboxMapper).claimDue(claimTokens.capture(), anyString(), anyInt(), anyInt());
+        String claimToken = claimTokens.getValue();
+        verify(outboxMapper).markDone(List.of(1L), claimToken);
+        verify(outboxMapper).markFailed(eq(2L), eq(claimToken), anyLong(), any(), eq(10));
+        assertEquals(1L, service.getStats().get("failed"));
+    }
+
+    @Test
+    void theClaimIsExtendedWhileASlowHandlerRuns() throws InterruptedException {
+        CountDownLatch extended = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            extended.countDown();
+            return 1;
+        }).when(outboxMapper).extendClaim(anyString(), anyInt());
+        handlers(new FakeHandler(OutboxMessage.TYPE_PAYMENT_NOTICE, 10, m -> {
+            try {
+                assertTrue(extended.await(5, TimeUnit.SECONDS), "claim not extended");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of();
+        }));
+        message(1, OutboxMessage.TYPE_PAYMENT_NOTICE);
+
+        service.dispatch(OutboxMessage.TYPE_PAYMENT_NOTICE);
+
+        verify(outboxMapper).claimDue(claimTokens.capture(), anyString(), anyInt(), anyInt());
+        verify(outboxMapper, atLeastOnce()).extendClaim(claimTokens.getValue(), 60);
+        assertEquals(0, service.getStats().get("activeClaims"));
+    }
+
+    @Test
+    void aSlowNoticeDoesNotHoldBackModuleOrders() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch modulePaid = new CountDownLatch(1);
+        handlers(new FakeHandler(OutboxMessage.TYPE_MODULE_PAID, 100, m -> {
+                    modulePaid.countDown();
+                    return Map.of();
+                }),
+                new FakeHandler(OutboxMessage.TYPE_PAYMENT_NOTICE, 10, m -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Map.of();
+                }));
+        message(1, OutboxMessage.TYPE_PAYMENT_NOTICE);
+        message(2, OutboxMessage.TYPE_MODULE_PAID);
+        ((AtomicBoolean) ReflectionTestUtils.getField(outbox, "signal")).set(true);
+
+        assertEquals(2, service.dispatch());
+
+        assertTrue(modulePaid.await(5, TimeUnit.SECONDS), "module orders waited for the notice");
+        release.countDown();
+    }
+}
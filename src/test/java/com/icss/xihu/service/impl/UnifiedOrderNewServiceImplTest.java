@@ -0,0 +1,162 @@
+package com.icss.xihu.service.impl;
+
+import com.icss.xihu.datasource.ReadYourWritesTracker;
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+import com.icss.xihu.model.UnifiedOrderNew;
+import com.icss.xihu.order.ModuleOrderDispatcher;
+import com.icss.xihu.order.OrderEventJournal;
+import com.icss.xihu.order.OrderExpiryStore;
+import com.icss.xihu.order.OrderOutbox;
+import com.icss.xihu.service.UserStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 统一订单批量取消、删除测试
+ * 功能概述：校验只对属于该用户的订单主键加锁；每个订单号按请求顺序返回"不存在或无权访问"、成功或状态不允许；
+ * 没有属于该用户的订单时不加锁；模块订单取消失败时异常抛出，整批取消回滚
+ */
+@ExtendWith(MockitoExtension.class)
+class UnifiedOrderNewServiceImplTest {
+
+    private static final Integer USER_ID = 7;
+
+    @Mock
+    private UnifiedOrderNewMapper unifiedOrderNewMapper;
+
+    @Mock
+    private ReadYourWritesTracker readYourWrites;
+
+    @Mock
+    private ModuleOrderDispatcher moduleOrderDispatcher;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private OrderExpiryStore orderExpiryStore;
+
+    @Mock
+    private OrderEventJournal orderEventJournal;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @InjectMocks
+    private UnifiedOrderNewServiceImpl service;
+
+    private static UnifiedOrderNew order(int id, String orderNo, int paymentStatus) {
+        UnifiedOrderNew order = new UnifiedOrderNew();
+        order.setId(id);
+        order.setOrderNo(orderNo);
+        order.setUserId(USER_ID);
+        order.setPaymentStatus(paymentStatus);
+        return order;
+    }
+
+    private static void assertOutcome(Map<String, Object> outcome, String orderNo, boolean success, String message) {
+        assertEquals(orderNo, outcome.get("orderNo"));
+        assertEquals(success, outcome.get("success"));
+        assertEquals(message, outcome.get("message"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "bulkMaxSize", 200);
+    }
+
+    @Test
+    void cancelLocksOnlyOwnedIdsAndReportsEachOrderInRequestOrder() {
+        List<String> requested = List.of("ORD3", "OTHER", "ORD1", "ORD1", "ORD2");
+        List<String> distinct = List.of("ORD3", "OTHER", "ORD1", "ORD2");
+        when(unifiedOrderNewMapper.findOwnedIds(distinct, USER_ID)).thenReturn(List.of(1, 2, 3));
+        when(unifiedOrderNewMapper.lockByIdsAndUserId(List.of(1, 2, 3), USER_ID)).thenReturn(List.of(
+                order(1, "ORD1", UnifiedOrderNew.STATUS_UNPAID),
+                order(2, "ORD2", UnifiedOrderNew.STATUS_PAID),
+                order(3, "ORD3", UnifiedOrderNew.STATUS_UNPAID)));
+
+        List<Map<String, Object>> outcomes = service.cancelOrders(requested, USER_ID);
+
+        assertEquals(4, outcomes.size());
+        assertOutcome(outcomes.get(0), "ORD3", true, "订单已取消");
+        assertOutcome(outcomes.get(1), "OTHER", false, "订单不存在或无权访问");
+        assertOutcome(outcomes.get(2), "ORD1", true, "订单已取消");
+        assertOutcome(outcomes.get(3), "ORD2", false, "订单当前状态不可取消");
+        verify(unifiedOrderNewMapper).cancelOrders(anyList());
+        verify(userStatsService).ordersStatusChanged(USER_ID,
+                List.of(UnifiedOrderNew.STATUS_UNPAID, UnifiedOrderNew.STATUS_UNPAID), UnifiedOrderNew.STATUS_CANCELLED);
+        verify(moduleOrderDispatcher).propagateCancelled(anyList());
+    }
+
+    @Test
+    void nothingIsLockedWhenNoRequestedOrderBelongsToTheUser() {
+        when(unifiedOrderNewMapper.findOwnedIds(List.of("OTHER1", "OTHER2"), USER_ID)).thenReturn(List.of());
+
+        List<Map<String, Object>> outcomes = service.cancelOrders(List.of("OTHER1", "OTHER2"), USER_ID);
+
+        assertOutcome(outcomes.get(0), "OTHER1", false, "订单不存在或无权访问");
+        assertOutcome(outcomes.get(1), "OTHER2", false, "订单不存在或无权访问");
+        verify(unifiedOrderNewMapper, never()).lockByIdsAndUserId(anyList(), any());
+        verify(unifiedOrderNewMapper, never()).cancelOrders(anyList());
+        verifyNoInteractions(moduleOrderDispatcher, userStatsService, orderEventJournal);
+    }
+
+    @Test
+    void aModuleCancelFailureIsThrownSoTheBatchRollsBack() {
+        when(unifiedOrderNewMapper.findOwnedIds(List.of("ORD1"), USER_ID)).thenReturn(List.of(1));
+        when(unifiedOrderNewMapper.lockByIdsAndUserId(List.of(1), USER_ID))
+                .thenReturn(List.of(order(1, "ORD1", UnifiedOrderNew.STATUS_UNPAID)));
+        doThrow(new CannotAcquireLockException("lock wait timeout"))
+                .when(moduleOrderDispatcher).propagateCancelled(anyList());
+
+        assertThrows(CannotAcquireLockException.class, () -> service.cancelOrders(List.of("ORD1"), USER_ID));
+
+        verify(orderEventJournal, never()).append(anyList(), any());
+    }
+
+    @Test
+    void deleteRemovesOnlyCancelledOrdersAndReportsTheRest() {
+        List<String> requested = List.of("ORD1", "ORD2", "GONE");
+        when(unifiedOrderNewMapper.findOwnedIds(requested, USER_ID)).thenReturn(List.of(1, 2));
+        when(unifiedOrderNewMapper.lockByIdsAndUserId(List.of(1, 2), USER_ID)).thenReturn(List.of(
+                order(1, "ORD1", UnifiedOrderNew.STATUS_CANCELLED),
+                order(2, "ORD2", UnifiedOrderNew.STATUS_UNPAID)));
+
+        List<Map<String, Object>> outcomes = service.deleteOrders(requested, USER_ID);
+
+        assertOutcome(outcomes.get(0), "ORD1", true, "订单已删除");
+        assertOutcome(outcomes.get(1), "ORD2", false, "只有已取消的订单可以删除");
+        assertOutcome(outcomes.get(2), "GONE", false, "订单不存在或无权访问");
+        verify(unifiedOrderNewMapper).deleteOrders(List.of("ORD1"), USER_ID);
+        verify(userStatsService).ordersDeleted(USER_ID, List.of(UnifiedOrderNew.STATUS_CANCELLED));
+    }
+
+    @Test
+    void tooManyOrdersAreRejectedBeforeAnyQuery() {
+        ReflectionTestUtils.setField(service, "bulkMaxSize", 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.cancelOrders(List.of("ORD1", "ORD2", "ORD3"), USER_ID));
+
+        verifyNoInteractions(unifiedOrderNewMapper);
+    }
+}
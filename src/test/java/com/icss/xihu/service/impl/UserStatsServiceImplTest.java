@@ -0,0 +1,262 @@
+package com.icss.xihu.service.impl;
+
+import com.icss.xihu.mapper.PaymentMapper;
+import com.icss.xihu.mapper.UnifiedOrderNewMapper;
+import com.icss.xihu.mapper.UserStatsMapper;
+import com.icss.xihu.model.PaymentBill;
+import com.icss.xihu.model.PaymentStatsDelta;
+import com.icss.xihu.scheduling.SchedulerLease;
+import com.icss.xihu.scheduling.SchedulerLeaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户统计增量测试
+ * 功能概述：桩Mapper在内存中按增量累加统计行，校验账单新建、缴费、逾期以及订单新建、支付、取消、删除、批量变化后的计数；
+ * 校验增量按用户编号顺序写入；校验统计行不存在时读取返回明细汇总且不写表；
+ * 校验校对先补建缺少统计行的用户，再按用户分段检查、只重建有偏差的用户，租约丢失时中止
+ */
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceImplTest {
+
+    private final Map<Integer, PaymentStatsDelta> paymentRows = new TreeMap<>();
+    private final Map<Integer, int[]> orderRows = new TreeMap<>();
+    private final List<Integer> appliedOrder = new ArrayList<>();
+    private final SchedulerLease lease = new SchedulerLease("user-stats-reconcile", "node-1", 3L);
+
+    @Mock
+    private UserStatsMapper userStatsMapper;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private UnifiedOrderNewMapper unifiedOrderNewMapper;
+
+    @Mock
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    @InjectMocks
+    private UserStatsServiceImpl stats;
+
+    private static PaymentBill bill(int userId, int status, String amount) {
+        PaymentBill bill = new PaymentBill();
+        bill.setUserId(userId);
+        bill.setBillStatus(status);
+        bill.setBillAmount(new BigDecimal(amount));
+        return bill;
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userStatsMapper.applyPaymentDeltas(anyList())).thenAnswer(invocation -> {
+            List<PaymentStatsDelta> deltas = invocation.getArgument(0);
+            for (PaymentStatsDelta delta : deltas) {
+                appliedOrder.add(delta.getUserId());
+                PaymentStatsDelta row = paymentRows.computeIfAbsent(delta.getUserId(), PaymentStatsDelta::new);
+                row.setTotalBills(row.getTotalBills() + delta.getTotalBills());
+                row.setUnpaidBills(row.getUnpaidBills() + delta.getUnpaidBills());
+                row.setPaidBills(row.getPaidBills() + delta.getPaidBills());
+                row.setOverdueBills(row.getOverdueBills() + delta.getOverdueBills());
+                row.setPaidAmount(row.getPaidAmount().add(delta.getPaidAmount()));
+                row.setUnpaidAmount(row.getUnpaidAmount().add(delta.getUnpaidAmount()));
+            }
+            return deltas.size();
+        });
+        lenient().when(userStatsMapper.applyOrderDelta(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    int[] row = orderRows.computeIfAbsent(invocation.getArgument(0), k -> new int[5]);
+                    for (int i = 0; i < 5; i++) {
+                        row[i] += invocation.<Integer>getArgument(i + 1);
+                    }
+                    return 1;
+                });
+        ReflectionTestUtils.setField(stats, "available", true);
+        ReflectionTestUtils.setField(stats, "chunkSize", 2);
+    }
+
+    private void assertPayment(int userId, int total, int unpaid, int paid, int overdue, String paidAmount, String unpaidAmount) {
+        PaymentStatsDelta row = paymentRows.get(userId);
+        assertEquals(total, row.getTotalBills(), "totalBills");
+        assertEquals(unpaid, row.getUnpaidBills(), "unpaidBills");
+        assertEquals(paid, row.getPaidBills(), "paidBills");
+        assertEquals(overdue, row.getOverdueBills(), "overdueBills");
+        assertEquals(0, new BigDecimal(paidAmount).compareTo(row.getPaidAmount()), "paidAmount");
+        assertEquals(0, new BigDecimal(unpaidAmount).compareTo(row.getUnpaidAmount()), "unpaidAmount");
+    }
+
+    private void holdLease(boolean renewed) {
+        when(schedulerLeaseManager.isAvailable()).thenReturn(true);
+        when(schedulerLeaseManager.tryAcquire(anyString())).thenReturn(lease);
+        when(schedulerLeaseManager.renew(lease)).thenReturn(renewed);
+    }
+
+    @Test
+    void billTransitionsMoveCountsAndAmountsBetweenStatuses() {
+        PaymentBill water = bill(1, 0, "100.00");
+        PaymentBill power = bill(1, 0, "50.50");
+        PaymentBill gas = bill(2, 0, "30.00");
+        stats.billsCreated(List.of(water, power, gas));
+        assertPayment(1, 2, 2, 0, 0, "0", "150.50");
+        assertPayment(2, 1, 1, 0, 0, "0", "30.00");
+
+        stats.billsChanged(List.of(water), 1);
+        assertPayment(1, 2, 1, 1, 0, "100.00", "50.50");
+
+        stats.billsChanged(List.of(power, gas), 2);
+        assertPayment(1, 2, 0, 1, 1, "100.00", "0");
+        assertPayment(2, 1, 0, 0, 1, "0", "0");
+
+        stats.billsChanged(List.of(bill(1, 2, "50.50")), 1);
+        assertPayment(1, 2, 0, 2, 0, "150.50", "0");
+    }
+
+    @Test
+    void billsAlreadyInTheTargetStatusAreSkipped() {
+        stats.billsChanged(List.of(bill(1, 1, "10.00")), 1);
+        stats.billsChanged(List.of(), 1);
+
+        verify(userStatsMapper, never()).applyPaymentDeltas(anyList());
+    }
+
+    @Test
+    void paymentDeltasAreWrittenInUserOrder() {
+        stats.billsCreated(List.of(bill(9, 0, "1.00"), bill(3, 0, "1.00"), bill(5, 0, "1.00"), bill(3, 0, "2.00")));
+
+        assertEquals(List.of(3, 5, 9), appliedOrder);
+        verify(userStatsMapper, times(1)).applyPaymentDeltas(anyList());
+        assertPayment(3, 2, 2, 0, 0, "0", "3.00");
+    }
+
+    @Test
+    void orderTransitionsKeepTotalsConsistent() {
+        stats.orderCreated(7, 0);
+        stats.orderCreated(7, 0);
+        stats.orderCreated(7, 0);
+        stats.orderCreated(7, 0);
+        assertArrayEquals(new int[]{4, 4, 0, 0, 0}, orderRows.get(7));
+
+        stats.orderStatusChanged(7, 0, 1);
+        stats.orderStatusChanged(7, 0, 2);
+        assertArrayEquals(new int[]{4, 2, 1, 1, 0}, orderRows.get(7));
+
+        stats.orderDeleted(7, 2);
+        assertArrayEquals(new int[]{3, 2, 1, 0, 0}, orderRows.get(7));
+
+        stats.ordersStatusChanged(7, List.of(0, 0), 2);
+        assertArrayEquals(new int[]{3, 0, 1, 2, 0}, orderRows.get(7));
+
+        stats.ordersDeleted(7, List.of(1, 2));
+        assertArrayEquals(new int[]{1, 0, 0, 1, 0}, orderRows.get(7));
+    }
+
+    @Test
+    void unchangedOrderStatusWritesNothing() {
+        stats.orderStatusChanged(7, 1, 1);
+        stats.ordersStatusChanged(7, List.of(), 2);
+
+        verify(userStatsMapper, never()).applyOrderDelta(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void deltasAreIgnoredWhenTheStatsTablesAreUnavailable() {
+        ReflectionTestUtils.setField(stats, "available", false);
+
+        stats.billsCreated(List.of(bill(1, 0, "1.00")));
+        stats.orderCreated(1, 0);
+
+        verifyNoInteractions(userStatsMapper);
+    }
+
+    @Test
+    void aMissingStatsRowIsAnsweredFromTheDetailRowsWithoutWriting() {
+        Map<String, Object> paymentTotals = Map.of("totalBills", 3);
+        Map<String, Object> orderTotals = Map.of("total", 2);
+        when(userStatsMapper.findPaymentStats(5)).thenReturn(null);
+        when(userStatsMapper.findOrderStats(5)).thenReturn(null);
+        when(paymentMapper.getPaymentStats(5)).thenReturn(paymentTotals);
+        when(unifiedOrderNewMapper.getOrderStats(5)).thenReturn(orderTotals);
+
+        assertEquals(paymentTotals, stats.getPaymentStats(5));
+        assertEquals(orderTotals, stats.getOrderStats(5));
+
+        verify(userStatsMapper, never()).rebuildPaymentStats(any());
+        verify(userStatsMapper, never()).rebuildOrderStats(any());
+        assertEquals(2L, stats.getStats().get("fallbacks"));
+    }
+
+    @Test
+    void reconcileBuildsMissingRowsThenRebuildsOnlyDriftedOnes() {
+        List<Integer> users = List.of(1, 2, 3, 4, 5);
+        holdLease(true);
+        when(userStatsMapper.findUsersMissingPaymentStats(anyInt(), anyInt()))
+                .thenAnswer(invocation -> page(List.of(6), invocation.getArgument(0), invocation.getArgument(1)));
+        when(userStatsMapper.findUsersMissingOrderStats(anyInt(), anyInt())).thenReturn(List.of());
+        when(userStatsMapper.findPaymentStatsUserIds(anyInt(), anyInt()))
+                .thenAnswer(invocation -> page(users, invocation.getArgument(0), invocation.getArgument(1)));
+        when(userStatsMapper.findOrderStatsUserIds(anyInt(), anyInt()))
+                .thenAnswer(invocation -> page(List.of(2, 8), invocation.getArgument(0), invocation.getArgument(1)));
+        when(userStatsMapper.findPaymentStatsDrift(anyList()))
+                .thenAnswer(invocation -> invocation.<List<Integer>>getArgument(0).contains(4) ? List.of(4) : List.of());
+        when(userStatsMapper.findOrderStatsDrift(anyList()))
+                .thenAnswer(invocation -> invocation.<List<Integer>>getArgument(0).contains(8) ? List.of(8) : List.of());
+
+        Map<String, Object> result = stats.reconcile("test");
+
+        assertTrue((Boolean) result.get("success"));
+        assertEquals(7L, result.get("checked"));
+        assertEquals(2L, result.get("repaired"));
+        assertEquals(1L, result.get("built"));
+        InOrder rebuilds = inOrder(userStatsMapper);
+        rebuilds.verify(userStatsMapper).rebuildPaymentStats(6);
+        rebuilds.verify(userStatsMapper).rebuildPaymentStats(4);
+        verify(userStatsMapper, times(2)).rebuildPaymentStats(any());
+        verify(userStatsMapper).rebuildOrderStats(8);
+        verify(userStatsMapper, times(4)).findPaymentStatsUserIds(anyInt(), anyInt());
+        verify(schedulerLeaseManager).release(lease);
+    }
+
+    @Test
+    void reconcileStopsWhenTheLeaseIsLost() {
+        holdLease(false);
+
+        Map<String, Object> result = stats.reconcile("test");
+
+        assertFalse((Boolean) result.get("success"));
+        verify(userStatsMapper, never()).findUsersMissingPaymentStats(anyInt(), anyInt());
+        verify(userStatsMapper, never()).findPaymentStatsUserIds(anyInt(), anyInt());
+        verify(schedulerLeaseManager).release(lease);
+    }
+
+    private static List<Integer> page(List<Integer> users, int afterUserId, int limit) {
+        return users.stream().filter(id -> id > afterUserId).limit(limit).toList();
+    }
+}
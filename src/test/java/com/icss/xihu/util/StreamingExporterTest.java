@@ -0,0 +1,79 @@
+package com.icss.xihu.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 流式导出写出器测试
+ * 功能概述：校验三种格式的输出内容、空结果、CSV转义和格式名称解析
+ */
+class StreamingExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final List<StreamingExporter.Column<Map<String, Object>>> COLUMNS = List.of(
+            new StreamingExporter.Column<>("名称", row -> row.get("name")),
+            new StreamingExporter.Column<>("金额", row -> row.get("amount")));
+
+    private String export(StreamingExporter.Format format, List<Map<String, Object>> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingExporter<Map<String, Object>> exporter = new StreamingExporter<>(format, out, objectMapper, COLUMNS)) {
+            for (Map<String, Object> row : rows) {
+                exporter.write(row);
+            }
+            assertEquals(rows.size(), exporter.getCount());
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void jsonWritesOneArray() throws IOException {
+        String json = export(StreamingExporter.Format.JSON, List.of(Map.of("name", "西湖"), Map.of("name", "灵隐寺")));
+        assertEquals("[{\"name\":\"西湖\"},{\"name\":\"灵隐寺\"}]", json);
+    }
+
+    @Test
+    void emptyResultIsStillComplete() throws IOException {
+        assertEquals("[]", export(StreamingExporter.Format.JSON, List.of()));
+        assertEquals("", export(StreamingExporter.Format.NDJSON, List.of()));
+        assertEquals("\uFEFF名称,金额\n", export(StreamingExporter.Format.CSV, List.of()));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        String ndjson = export(StreamingExporter.Format.NDJSON, List.of(Map.of("name", "a"), Map.of("name", "b")));
+        assertEquals("{\"name\":\"a\"}\n{\"name\":\"b\"}\n", ndjson);
+    }
+
+    @Test
+    void csvStartsWithBomAndEscapesFields() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingExporter<Map<String, Object>> exporter =
+                     new StreamingExporter<>(StreamingExporter.Format.CSV, out, objectMapper, COLUMNS)) {
+            exporter.write(Map.of("name", "他说\"好\",再来", "amount", new BigDecimal("1E+2")));
+            exporter.write(Map.of("name", "无金额"));
+        }
+        byte[] bytes = out.toByteArray();
+        assertArrayEquals(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, Arrays.copyOf(bytes, 3));
+        assertEquals("\uFEFF名称,金额\n\"他说\"\"好\"\",再来\",100\n无金额,\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parseFormat() {
+        assertEquals(StreamingExporter.Format.JSON, StreamingExporter.Format.parse(null));
+        assertEquals(StreamingExporter.Format.CSV, StreamingExporter.Format.parse(" csv "));
+        assertThrows(IllegalArgumentException.class, () -> StreamingExporter.Format.parse("xml"));
+    }
+}